@@ -0,0 +1,394 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * This class logs data to a file without doing any file I/O on the main robot thread
+ *
+ * Each scan the main thread only copies the primitive values of RobotData into a preallocated
+ * 	slot of a single-producer / single-consumer ring buffer.
+ * A background writer thread wakes up periodically, drains all available records in one batch,
+ * 	encodes them (TSV or binary, see LogRecordEncoder) and writes the file one time per batch.
+ *
+ * If the writer falls a full ring buffer behind (ex: the USB stick stalls) new records are dropped
+ * 	(and counted) instead of blocking the main thread.
+ *
+ * Events (see LogEventChannel) are queued in their own ring buffer and written by the same thread before each batch.
+ *
+ * Extra sinks (see LogSink, ex: live telemetry) get every record from the writer thread before it is written to the file,
+ * 	each through its own LogSinkChannel, so the main thread still publishes each scan 1 time & a slow sink
+ * 	only holds up itself (the file is not waiting on it unless the sink's policy is BLOCK).
+ */
+public class AsyncDataLogger extends DataLogger
+{
+	private LogSchema _schema;
+	private LogRingBuffer _ringBuffer;
+	private Thread _writerThread;
+	private volatile boolean _isStopRequested;
+	private final ArrayList<LogSink> _sinks = new ArrayList<LogSink>();
+	private LogSinkChannel[] _sinkChannels = new LogSinkChannel[0];
+
+	// writer thread working variables
+	private final LogBatchWriter _batchWriter;
+	private volatile long _writtenRecordCount;
+	private volatile long _writtenBatchCount;
+	private volatile int _largestBatchSize;
+	private volatile long _writeErrorCount;
+
+	// constructor, open a new timestamped log file in the target directory
+	public AsyncDataLogger(String parentFolder, String fileSuffix, LogRecordEncoder encoder) throws IOException
+	{
+		this(parentFolder, fileSuffix, encoder, null);
+	}
+
+	// constructor, open a new timestamped log file in the staging folder (see LogStagingArea) or in the target directory if it is null
+	//	(a staged log is 1 file, mapped segments are only used on the USB stick)
+	public AsyncDataLogger(String parentFolder, String fileSuffix, LogRecordEncoder encoder, LogStagingArea stagingArea) throws IOException
+	{
+		super(parentFolder, fileSuffix, buildFileExtension(encoder), stagingArea);
+
+		LogOutput output;
+		if (stagingArea != null)
+		{
+			output = stagingArea.OpenLogOutput(LogFilePathName);
+		}
+		else if (RobotMap.IS_MAPPED_LOG_SEGMENTS_ENABLED)
+		{
+			output = new MappedSegmentLogOutput(LogFilePathName, RobotMap.LOG_SEGMENT_SIZE);
+		}
+		else
+		{
+			output = new FileLogOutput(LogFilePathName);
+		}
+		output = AddFraming(output);
+		if (RobotMap.IS_LOG_COMPRESSION_ENABLED)
+		{
+			output = new CompressedLogOutput(output, RobotMap.LOG_COMPRESSION_BLOCK_SIZE, RobotMap.LOG_COMPRESSION_LEVEL);
+		}
+		_batchWriter = new LogBatchWriter(encoder, output, RobotMap.LOG_WRITER_BUFFER_SIZE);
+	}
+
+	// compressed logs get an extra extension (ex: .tsv.z)
+	private static String buildFileExtension(LogRecordEncoder encoder)
+	{
+		if (RobotMap.IS_LOG_COMPRESSION_ENABLED)
+		{
+			return encoder.GetFileExtension() + CompressedLogOutput.FILE_EXTENSION;
+		}
+		return AddFramingExtension(encoder.GetFileExtension());
+	}
+
+	// send every record to an extra sink too (must be called before WriteHeader)
+	public void AddSink(LogSink sink)
+	{
+		_sinks.add(sink);
+	}
+
+	// build the schema, size the ring buffer and start the writer thread (which writes the header)
+	@Override
+	public void WriteHeader(RobotData dataToLog)
+	{
+		if (_writerThread != null)
+		{
+			return;
+		}
+
+		_schema = BuildLogSchema(dataToLog);
+		try
+		{
+			_batchWriter.SetIndexWriter(CreateIndexWriter(_schema));
+			OpenEventChannel();
+		}
+		catch (IOException e)
+		{
+			onWriteError(e);
+		}
+		_batchWriter.SetSamplingPolicy(BuildSamplingPolicy(dataToLog), RobotMap.LOG_DELTA_KEYFRAME_INTERVAL);
+		StartStatistics(_schema);
+		_batchWriter.SetStatistics(GetStatistics());
+
+		_ringBuffer = new LogRingBuffer(RobotMap.LOG_RING_BUFFER_CAPACITY, _schema.GetColumnCount());
+
+		_sinkChannels = new LogSinkChannel[_sinks.size()];
+		for (int sinkIndex = 0; sinkIndex < _sinkChannels.length; sinkIndex++)
+		{
+			_sinkChannels[sinkIndex] = new LogSinkChannel(_sinks.get(sinkIndex), _schema, RobotMap.LOG_SINK_RING_BUFFER_CAPACITY);
+			_sinkChannels[sinkIndex].Start();
+		}
+
+		_writerThread = new Thread(new Runnable()
+								{
+									public void run()
+									{
+										runWriter();
+									}
+								});
+		_writerThread.setName("Async Data Logger Thread");
+		_writerThread.setDaemon(true);
+		_writerThread.start();
+	}
+
+	// copy this scan's values into the ring buffer, never blocks
+	@Override
+	public void WriteData(RobotData dataToLog)
+	{
+		if (_ringBuffer == null)
+		{
+			return;
+		}
+
+		LogRecord record = _ringBuffer.TryClaim();
+		if (record == null)
+		{
+			// writer is behind, this scan is counted as dropped
+			return;
+		}
+
+		CaptureLogRecord(dataToLog, record);
+
+		_ringBuffer.Publish();
+	}
+
+	// stop the writer thread, it drains what is left and closes the files as it exits
+	//	(if it is stuck in a write, ex: a stalled USB stick, it still owns the files & closes them when the write returns)
+	@Override
+	public void close()
+	{
+		_isStopRequested = true;
+
+		if (_writerThread == null)
+		{
+			// the writer thread was never started, nothing else is using the files
+			closeLogFiles();
+			return;
+		}
+
+		try
+		{
+			_writerThread.join(RobotMap.LOG_WRITER_STOP_TIMEOUT_MSECS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		if (_writerThread.isAlive())
+		{
+			DriverStation.reportError("Log writer did not stop within " + RobotMap.LOG_WRITER_STOP_TIMEOUT_MSECS
+										+ " msecs, " + this.LogFilePathName + " is closed when its last write returns | ", false);
+		}
+		else
+		{
+			DriverStation.reportError("Logging stopped: Written= " + _writtenRecordCount
+										+ " Dropped= " + GetDroppedRecordCount()
+										+ " QueueHighWaterMark= " + GetQueueHighWaterMark()
+										+ " LargestBatch= " + _largestBatchSize
+										+ " SampledValues= " + Math.round(_batchWriter.GetSampledValuePercent()) + "%"
+										+ " Events= " + GetWrittenEventCount()
+										+ " DroppedEvents= " + GetDroppedEventCount()
+										+ " WriteErrors= " + _writeErrorCount + " | ", false);
+		}
+
+		// the writer thread has handed the sinks everything it wrote
+		for (LogSinkChannel sinkChannel : _sinkChannels)
+		{
+			sinkChannel.Stop(RobotMap.LOG_WRITER_STOP_TIMEOUT_MSECS);
+			DriverStation.reportError(sinkChannel.BuildSummary() + " | ", false);
+		}
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetDroppedRecordCount()
+	{
+		return (_ringBuffer != null) ? _ringBuffer.GetDroppedRecordCount() : 0;
+	}
+
+	public int GetQueueHighWaterMark()
+	{
+		return (_ringBuffer != null) ? _ringBuffer.GetHighWaterMark() : 0;
+	}
+
+	public long GetWrittenRecordCount()
+	{
+		return _writtenRecordCount;
+	}
+
+	public long GetWrittenBatchCount()
+	{
+		return _writtenBatchCount;
+	}
+
+	public long GetWriteErrorCount()
+	{
+		return _writeErrorCount;
+	}
+
+	public long GetBytesWritten()
+	{
+		return _batchWriter.GetBytesWritten();
+	}
+
+	public long GetWrittenEventCount()
+	{
+		return (GetEventChannel() != null) ? GetEventChannel().GetWrittenEventCount() : 0;
+	}
+
+	public long GetDroppedEventCount()
+	{
+		return (GetEventChannel() != null) ? GetEventChannel().GetDroppedEventCount() : 0;
+	}
+
+	// the extra sinks (empty before WriteHeader)
+	public LogSinkChannel[] GetSinkChannels()
+	{
+		return _sinkChannels;
+	}
+
+	// =====================================
+	// writer thread
+	// =====================================
+	private void runWriter()
+	{
+		try
+		{
+			try
+			{
+				_batchWriter.WriteHeader(_schema);
+				_batchWriter.Flush();
+			}
+			catch (IOException e)
+			{
+				onWriteError(e);
+			}
+
+			while (!_isStopRequested)
+			{
+				drainBatch();
+
+				try
+				{
+					Thread.sleep(RobotMap.LOG_WRITER_IDLE_SLEEP_MSECS);
+				}
+				catch (InterruptedException e)
+				{
+					break;
+				}
+			}
+
+			// write anything published before the stop request
+			while (drainBatch() > 0) {}
+		}
+		finally
+		{
+			// the files, the event channel & the statistics belong to this thread, so it is the one that closes them
+			closeLogFiles();
+		}
+	}
+
+	// close the log & its side-car files, then name / flush them (see FinishLogFiles)
+	private void closeLogFiles()
+	{
+		try
+		{
+			_batchWriter.Close();
+		}
+		catch (IOException e)
+		{
+			DriverStation.reportError("Error closing log file: " + e.getMessage() + " | ", false);
+		}
+		CloseEventChannel();
+		WriteSummary();
+		FinishLogFiles();
+	}
+
+	// write all available records, writing the file one time at the end, returns the # of records written
+	private int drainBatch()
+	{
+		drainEvents();
+
+		int availableCount = _ringBuffer.GetAvailableCount();
+		if (availableCount == 0)
+		{
+			return 0;
+		}
+
+		// the sinks get their copies 1st, a stalled file does not delay them
+		if (_sinkChannels.length > 0)
+		{
+			for (int offset = 0; offset < availableCount; offset++)
+			{
+				LogRecord record = _ringBuffer.Peek(offset);
+				for (LogSinkChannel sinkChannel : _sinkChannels)
+				{
+					sinkChannel.Offer(record);
+				}
+			}
+			for (LogSinkChannel sinkChannel : _sinkChannels)
+			{
+				sinkChannel.Signal();
+			}
+		}
+
+		try
+		{
+			for (int offset = 0; offset < availableCount; offset++)
+			{
+				_batchWriter.WriteRecord(_ringBuffer.Peek(offset));
+			}
+			_batchWriter.Flush();
+		}
+		catch (IOException e)
+		{
+			onWriteError(e);
+		}
+		finally
+		{
+			// the slots are always given back, otherwise a dead USB stick would stall the ring
+			_ringBuffer.Release(availableCount);
+		}
+
+		_writtenRecordCount += availableCount;
+		_writtenBatchCount++;
+		if (availableCount > _largestBatchSize)
+		{
+			_largestBatchSize = availableCount;
+		}
+
+		return availableCount;
+	}
+
+	// write the events queued since the last batch to the event log
+	private void drainEvents()
+	{
+		if (GetEventChannel() == null)
+		{
+			return;
+		}
+
+		try
+		{
+			GetEventChannel().Drain();
+		}
+		catch (IOException e)
+		{
+			onWriteError(e);
+		}
+	}
+
+	// only report the 1st error so a failed USB stick does not flood the driver station
+	private void onWriteError(IOException e)
+	{
+		_writeErrorCount++;
+		if (_writeErrorCount == 1)
+		{
+			DriverStation.reportError("Error writing log file: " + e.getMessage() + " | ", false);
+		}
+	}
+}
@@ -0,0 +1,433 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This class encodes log records in a compact binary columnar format
+ *
+ * All values are little-endian.
+ *
+ * File Header (written 1 time)
+ * 	byte[8]		magic					"4028LOG\0"
+ * 	u16			format version
+ * 	u16			flags					bit 0 = delta encoded, other bits reserved (0)
+ * 	i32			column count
+ * 	i32			record size				# of bytes in each fixed width record (not counting the tag)
+ * 	per column:
+ * 		u16		name length, then UTF-8 name bytes
+ * 		u8		column type				(LogSchema.Column_Type ordinal)
+ * 		i32		offset					byte offset of the column inside a record
+ *
+ * Entries (repeated until end of file)
+ * 	'R'	+ record bytes					one scan, fixed width
+ * 	'S'	+ i32 id + u16 len + UTF-8		defines a string, ENUM & TEXT columns hold string ids (-1 = null)
+ *
+ * Delta encoded files use these entries instead of 'R'
+ * 	'K'	+ record bytes					keyframe, one full scan, fixed width
+ * 	'D'	+ changed mask + values			one scan, only the columns that changed since the previous scan
+ * 										mask is 1 bit per column (bit 0 of byte 0 = column 0), the values of the
+ * 										changed columns follow in column order using their normal width
+ * 	A keyframe is written every N scans and the string dictionary is cleared at each keyframe,
+ * 		so decoding can start at any keyframe.
+ *
+ * When a LogSampler is set (delta encoded files only) a 'D' entry also leaves out the columns the sampler did not pick,
+ * 	readers hold their last value until the next entry that has them. Keyframes always have every column.
+ *
+ * A string definition is always written before the 1st record that uses it.
+ * When the dictionary fills up it is cleared and ids are handed out again from 0,
+ * 	readers simply replace the old value for a redefined id.
+ */
+public class BinaryLogEncoder implements LogRecordEncoder
+{
+	public static final byte[] MAGIC = { '4', '0', '2', '8', 'L', 'O', 'G', 0 };
+	public static final int FORMAT_VERSION = 1;
+
+	public static final byte RECORD_TAG = 'R';
+	public static final byte STRING_TAG = 'S';
+	public static final byte KEYFRAME_TAG = 'K';
+	public static final byte DELTA_TAG = 'D';
+
+	public static final int FLAG_DELTA_ENCODED = 0x0001;
+
+	public static final int NULL_STRING_ID = -1;
+
+	private LogSchema.Column_Type[] _columnTypes;
+	private int[] _columnWidths;
+	private int _recordSize;
+
+	// delta encoding (keyframe interval 0 = every record is written in full)
+	private final int _keyframeInterval;
+	private int _recordsSinceKeyframe;
+	private boolean _isPreviousRecordValid;
+	private long[] _previousValues;
+	private byte[] _changedMask;
+	private LogSampler _sampler;
+
+	// string dictionary
+	private final HashMap<String, Integer> _stringIds = new HashMap<String, Integer>();
+	private int[] _refIds;
+	private String[] _newStrings;
+	private byte[][] _newStringBytes;
+
+	// constructor, every record is written in full
+	public BinaryLogEncoder()
+	{
+		this(0);
+	}
+
+	// constructor, only changed columns are written with a full keyframe every keyframeInterval records
+	public BinaryLogEncoder(int keyframeInterval)
+	{
+		_keyframeInterval = keyframeInterval;
+	}
+
+	// # of bytes used by a value of each column type inside a record
+	public static int GetColumnWidth(LogSchema.Column_Type columnType)
+	{
+		switch (columnType)
+		{
+			case BOOLEAN:
+				return 1;
+
+			case INT:
+			case FLOAT:
+			case ENUM:
+			case TEXT:
+				return 4;
+
+			case LONG:
+			case DOUBLE:
+			case DATE:
+			default:
+				return 8;
+		}
+	}
+
+	@Override
+	public String GetFileExtension()
+	{
+		return ".bin";
+	}
+
+	@Override
+	public boolean EncodeHeader(LogSchema schema, ByteBuffer buffer)
+	{
+		int columnCount = schema.GetColumnCount();
+
+		// calc the size of the header
+		byte[][] columnNameBytes = new byte[columnCount][];
+		int headerSize = MAGIC.length + 2 + 2 + 4 + 4;
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			columnNameBytes[columnIndex] = schema.GetColumnName(columnIndex).getBytes(StandardCharsets.UTF_8);
+			headerSize += 2 + columnNameBytes[columnIndex].length + 1 + 4;
+		}
+
+		if (buffer.remaining() < headerSize)
+		{
+			return false;
+		}
+
+		// calc the fixed record layout
+		_columnTypes = new LogSchema.Column_Type[columnCount];
+		_columnWidths = new int[columnCount];
+		int[] columnOffsets = new int[columnCount];
+		_recordSize = 0;
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			_columnTypes[columnIndex] = schema.GetColumnType(columnIndex);
+			_columnWidths[columnIndex] = GetColumnWidth(_columnTypes[columnIndex]);
+			columnOffsets[columnIndex] = _recordSize;
+			_recordSize += _columnWidths[columnIndex];
+		}
+		_refIds = new int[columnCount];
+		_newStrings = new String[columnCount];
+		_newStringBytes = new byte[columnCount][];
+		_stringIds.clear();
+
+		_previousValues = new long[columnCount];
+		_changedMask = new byte[GetChangedMaskSize(columnCount)];
+		_isPreviousRecordValid = false;
+
+		// write the header
+		ByteOrder originalOrder = buffer.order();
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.put(MAGIC);
+		buffer.putShort((short)FORMAT_VERSION);
+		buffer.putShort((short)(IsDeltaEncoded() ? FLAG_DELTA_ENCODED : 0));
+		buffer.putInt(columnCount);
+		buffer.putInt(_recordSize);
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			buffer.putShort((short)columnNameBytes[columnIndex].length);
+			buffer.put(columnNameBytes[columnIndex]);
+			buffer.put((byte)_columnTypes[columnIndex].ordinal());
+			buffer.putInt(columnOffsets[columnIndex]);
+		}
+
+		buffer.order(originalOrder);
+		return true;
+	}
+
+	@Override
+	public boolean EncodeRecord(LogRecord record, ByteBuffer buffer)
+	{
+		int columnCount = _columnTypes.length;
+
+		boolean isDictionaryFull = _stringIds.size() + columnCount > RobotMap.LOG_MAX_STRING_DICTIONARY_SIZE;
+
+		// when columns are sampled a reader can hold a string id the encoder no longer writes,
+		//	so a new dictionary has to start with a keyframe
+		boolean isKeyframe = IsDeltaEncoded() && (!_isPreviousRecordValid || _recordsSinceKeyframe >= _keyframeInterval
+													|| (isDictionaryFull && _sampler != null));
+		boolean isDelta = IsDeltaEncoded() && !isKeyframe;
+
+		// make room in the dictionary if this record could overflow it,
+		//	keyframes also start a new dictionary so they do not depend on anything written before them
+		if (isKeyframe || isDictionaryFull)
+		{
+			_stringIds.clear();
+		}
+
+		// 1st pass: resolve string ids & calc the space needed for any new string definitions
+		int requiredSize = 0;
+		int nextStringId = _stringIds.size();
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			_newStrings[columnIndex] = null;
+			_newStringBytes[columnIndex] = null;
+
+			LogSchema.Column_Type columnType = _columnTypes[columnIndex];
+			if ((columnType != LogSchema.Column_Type.ENUM && columnType != LogSchema.Column_Type.TEXT)
+					|| !isColumnSampled(columnIndex, isDelta))
+			{
+				continue;
+			}
+
+			Object ref = record.GetRef(columnIndex);
+			if (ref == null)
+			{
+				_refIds[columnIndex] = NULL_STRING_ID;
+				continue;
+			}
+
+			String value = ref.toString();
+			Integer stringId = _stringIds.get(value);
+			if (stringId == null)
+			{
+				// the same new string could be used by more than 1 column in this record
+				stringId = findPendingStringId(value, columnIndex);
+			}
+
+			if (stringId != null)
+			{
+				_refIds[columnIndex] = stringId;
+			}
+			else
+			{
+				byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+				if (valueBytes.length > 0xFFFF)
+				{
+					valueBytes = truncate(valueBytes, 0xFFFF);
+				}
+				_newStrings[columnIndex] = value;
+				_newStringBytes[columnIndex] = valueBytes;
+				_refIds[columnIndex] = nextStringId++;
+				requiredSize += 1 + 4 + 2 + valueBytes.length;
+			}
+		}
+
+		// compare to the previous record & calc the space needed for the record itself
+		if (isDelta)
+		{
+			requiredSize += 1 + _changedMask.length + calcChangedValues(record);
+		}
+		else
+		{
+			requiredSize += 1 + _recordSize;
+		}
+
+		if (buffer.remaining() < requiredSize)
+		{
+			return false;
+		}
+
+		ByteOrder originalOrder = buffer.order();
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		// 2nd pass: write any new string definitions
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			byte[] valueBytes = _newStringBytes[columnIndex];
+			if (valueBytes != null)
+			{
+				buffer.put(STRING_TAG);
+				buffer.putInt(_refIds[columnIndex]);
+				buffer.putShort((short)valueBytes.length);
+				buffer.put(valueBytes);
+
+				_stringIds.put(_newStrings[columnIndex], _refIds[columnIndex]);
+				_newStrings[columnIndex] = null;
+				_newStringBytes[columnIndex] = null;
+			}
+		}
+
+		// 3rd pass: write the record
+		if (isDelta)
+		{
+			buffer.put(DELTA_TAG);
+			buffer.put(_changedMask);
+			for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+			{
+				if ((_changedMask[columnIndex >> 3] & (1 << (columnIndex & 7))) != 0)
+				{
+					putValue(record, columnIndex, buffer);
+				}
+			}
+		}
+		else
+		{
+			buffer.put(IsDeltaEncoded() ? KEYFRAME_TAG : RECORD_TAG);
+			for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+			{
+				putValue(record, columnIndex, buffer);
+			}
+		}
+
+		buffer.order(originalOrder);
+
+		// remember the values written for the next delta
+		if (IsDeltaEncoded())
+		{
+			for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+			{
+				if (!isDelta || (_changedMask[columnIndex >> 3] & (1 << (columnIndex & 7))) != 0)
+				{
+					_previousValues[columnIndex] = getComparableValue(record, columnIndex);
+				}
+			}
+			_recordsSinceKeyframe = isKeyframe ? 1 : _recordsSinceKeyframe + 1;
+		}
+		_isPreviousRecordValid = true;
+
+		return true;
+	}
+
+	@Override
+	public boolean IsNextRecordSeekable()
+	{
+		// keyframes start a new string dictionary, without delta encoding the dictionary
+		//	builds up over the whole file so only the 1st record can be decoded on its own
+		return !_isPreviousRecordValid || (IsDeltaEncoded() && _recordsSinceKeyframe >= _keyframeInterval);
+	}
+
+	@Override
+	public void SetSampler(LogSampler sampler)
+	{
+		_sampler = sampler;
+	}
+
+	public boolean IsDeltaEncoded()
+	{
+		return _keyframeInterval > 0;
+	}
+
+	// # of bytes in the changed column mask of a delta entry
+	public static int GetChangedMaskSize(int columnCount)
+	{
+		return (columnCount + 7) / 8;
+	}
+
+	// build the changed column mask, returns the # of bytes used by the changed values
+	private int calcChangedValues(LogRecord record)
+	{
+		int changedSize = 0;
+		Arrays.fill(_changedMask, (byte)0);
+
+		int columnCount = _columnTypes.length;
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			if (isColumnSampled(columnIndex, true) && getComparableValue(record, columnIndex) != _previousValues[columnIndex])
+			{
+				_changedMask[columnIndex >> 3] |= (byte)(1 << (columnIndex & 7));
+				changedSize += _columnWidths[columnIndex];
+			}
+		}
+
+		return changedSize;
+	}
+
+	// only delta entries can leave a column out
+	private boolean isColumnSampled(int columnIndex, boolean isDelta)
+	{
+		return !isDelta || _sampler == null || _sampler.IsColumnSampled(columnIndex);
+	}
+
+	// the raw value of a column as it is written (string ids for ENUM & TEXT columns)
+	private long getComparableValue(LogRecord record, int columnIndex)
+	{
+		switch (_columnTypes[columnIndex])
+		{
+			case ENUM:
+			case TEXT:
+				return _refIds[columnIndex];
+
+			default:
+				return record.GetLong(columnIndex);
+		}
+	}
+
+	private void putValue(LogRecord record, int columnIndex, ByteBuffer buffer)
+	{
+		switch (_columnTypes[columnIndex])
+		{
+			case BOOLEAN:
+				buffer.put((byte)record.GetLong(columnIndex));
+				break;
+
+			case INT:
+			case FLOAT:
+				buffer.putInt((int)record.GetLong(columnIndex));
+				break;
+
+			case ENUM:
+			case TEXT:
+				buffer.putInt(_refIds[columnIndex]);
+				break;
+
+			case LONG:
+			case DOUBLE:
+			case DATE:
+			default:
+				buffer.putLong(record.GetLong(columnIndex));
+				break;
+		}
+	}
+
+	// see if an earlier column in the current record is already defining this string
+	private Integer findPendingStringId(String value, int beforeColumnIndex)
+	{
+		for (int columnIndex = 0; columnIndex < beforeColumnIndex; columnIndex++)
+		{
+			if (_newStrings[columnIndex] != null && _newStrings[columnIndex].equals(value))
+			{
+				return _refIds[columnIndex];
+			}
+		}
+		return null;
+	}
+
+	private static byte[] truncate(byte[] source, int length)
+	{
+		byte[] target = new byte[length];
+		System.arraycopy(source, 0, target, 0, length);
+		return target;
+	}
+}
@@ -0,0 +1,258 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * This class reads a log file written by BinaryLogEncoder
+ *
+ * 	ENUM & TEXT columns are returned as Strings in LogRecord.Refs
+ * 	Delta encoded files are returned as full records (each delta is applied on top of the previous record)
+ * 	A truncated last entry (ex: power lost while writing) is treated as the end of the file
+ */
+public class BinaryLogReader
+{
+	private InputStream _inputStream;
+	private final LogSchema _schema;
+	private final int[] _columnOffsets;
+	private final int[] _columnWidths;
+	private final boolean _isDeltaEncoded;
+	private final byte[] _changedMask;
+	private boolean _isRecordValid;
+	private final int _recordSize;
+	private final byte[] _recordBytes;
+	private final ByteBuffer _recordBuffer;
+	private final HashMap<Integer, String> _strings = new HashMap<Integer, String>();
+	private long _recordCount;
+
+	// constructor, opens the file and reads the header
+	public BinaryLogReader(String filePathName) throws IOException
+	{
+		this(new BufferedInputStream(new FileInputStream(filePathName), 64 * 1024));
+	}
+
+	// constructor, reads the header from the stream
+	public BinaryLogReader(InputStream inputStream) throws IOException
+	{
+		_inputStream = inputStream;
+
+		byte[] magic = readBytes(BinaryLogEncoder.MAGIC.length);
+		if (!Arrays.equals(magic, BinaryLogEncoder.MAGIC))
+		{
+			throw new IOException("Not a binary log file (bad magic number)");
+		}
+
+		ByteBuffer fixedHeader = readBuffer(2 + 2 + 4 + 4);
+		int formatVersion = fixedHeader.getShort() & 0xFFFF;
+		int flags = fixedHeader.getShort() & 0xFFFF;
+		int columnCount = fixedHeader.getInt();
+		_recordSize = fixedHeader.getInt();
+
+		if (formatVersion != BinaryLogEncoder.FORMAT_VERSION)
+		{
+			throw new IOException("Unsupported binary log format version: " + formatVersion);
+		}
+		if ((flags & ~BinaryLogEncoder.FLAG_DELTA_ENCODED) != 0)
+		{
+			throw new IOException("Unsupported binary log flags: " + flags);
+		}
+		_isDeltaEncoded = (flags & BinaryLogEncoder.FLAG_DELTA_ENCODED) != 0;
+
+		LogSchema.Column_Type[] columnTypes = LogSchema.Column_Type.values();
+		_schema = new LogSchema();
+		_columnOffsets = new int[columnCount];
+		_columnWidths = new int[columnCount];
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			int nameLength = readBuffer(2).getShort() & 0xFFFF;
+			String columnName = new String(readBytes(nameLength), StandardCharsets.UTF_8);
+			ByteBuffer columnInfo = readBuffer(1 + 4);
+			int columnTypeOrdinal = columnInfo.get() & 0xFF;
+			_columnOffsets[columnIndex] = columnInfo.getInt();
+
+			if (columnTypeOrdinal >= columnTypes.length)
+			{
+				throw new IOException("Unknown column type " + columnTypeOrdinal + " for column " + columnName);
+			}
+			_schema.AddColumn(columnName, columnTypes[columnTypeOrdinal]);
+			_columnWidths[columnIndex] = BinaryLogEncoder.GetColumnWidth(columnTypes[columnTypeOrdinal]);
+		}
+		_changedMask = new byte[BinaryLogEncoder.GetChangedMaskSize(columnCount)];
+
+		_recordBytes = new byte[_recordSize];
+		_recordBuffer = ByteBuffer.wrap(_recordBytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public LogSchema GetSchema()
+	{
+		return _schema;
+	}
+
+	public long GetRecordCount()
+	{
+		return _recordCount;
+	}
+
+	public boolean IsDeltaEncoded()
+	{
+		return _isDeltaEncoded;
+	}
+
+	// continue reading from another stream of the same log that is positioned at a record a reader can start from
+	//	(see LogIndex), the current stream is closed
+	public void ContinueFrom(InputStream inputStream) throws IOException
+	{
+		_inputStream.close();
+		_inputStream = inputStream;
+		_strings.clear();
+		_isRecordValid = false;
+	}
+
+	// read the next record, returns false at the end of the file
+	public boolean ReadRecord(LogRecord record) throws IOException
+	{
+		try
+		{
+			while (true)
+			{
+				int tag = _inputStream.read();
+				if (tag < 0)
+				{
+					return false;
+				}
+
+				if (tag == BinaryLogEncoder.STRING_TAG)
+				{
+					ByteBuffer stringInfo = readBuffer(4 + 2);
+					int stringId = stringInfo.getInt();
+					int stringLength = stringInfo.getShort() & 0xFFFF;
+					_strings.put(stringId, new String(readBytes(stringLength), StandardCharsets.UTF_8));
+				}
+				else if (tag == BinaryLogEncoder.RECORD_TAG || tag == BinaryLogEncoder.KEYFRAME_TAG)
+				{
+					readFully(_recordBytes, _recordSize);
+					_isRecordValid = true;
+					decodeRecord(record);
+					_recordCount++;
+					return true;
+				}
+				else if (tag == BinaryLogEncoder.DELTA_TAG && _isDeltaEncoded)
+				{
+					if (!_isRecordValid)
+					{
+						throw new IOException("Corrupt binary log, delta record before the 1st keyframe");
+					}
+					readDelta();
+					decodeRecord(record);
+					_recordCount++;
+					return true;
+				}
+				else
+				{
+					throw new IOException("Corrupt binary log, unknown entry tag " + tag + " after record " + _recordCount);
+				}
+			}
+		}
+		catch (EOFException e)
+		{
+			// partially written last entry
+			return false;
+		}
+	}
+
+	public void Close() throws IOException
+	{
+		_inputStream.close();
+	}
+
+	// apply the changed values of a delta entry on top of the previous record bytes
+	private void readDelta() throws IOException
+	{
+		readFully(_changedMask, _changedMask.length);
+
+		for (int columnIndex = 0; columnIndex < _columnOffsets.length; columnIndex++)
+		{
+			if ((_changedMask[columnIndex >> 3] & (1 << (columnIndex & 7))) != 0)
+			{
+				readFully(_recordBytes, _columnOffsets[columnIndex], _columnWidths[columnIndex]);
+			}
+		}
+	}
+
+	// unpack the fixed width record bytes into a LogRecord
+	private void decodeRecord(LogRecord record)
+	{
+		record.Reset();
+
+		int columnCount = _schema.GetColumnCount();
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			int offset = _columnOffsets[columnIndex];
+
+			switch (_schema.GetColumnType(columnIndex))
+			{
+				case BOOLEAN:
+					record.PutBoolean(_recordBuffer.get(offset) != 0);
+					break;
+
+				case INT:
+				case FLOAT:
+					// float bits are stored as an int, same as LogRecord
+					record.PutInt(_recordBuffer.getInt(offset));
+					break;
+
+				case ENUM:
+				case TEXT:
+					int stringId = _recordBuffer.getInt(offset);
+					record.PutText((stringId == BinaryLogEncoder.NULL_STRING_ID) ? null : _strings.get(stringId));
+					break;
+
+				case LONG:
+				case DOUBLE:
+				case DATE:
+				default:
+					record.PutLong(_recordBuffer.getLong(offset));
+					break;
+			}
+		}
+	}
+
+	private ByteBuffer readBuffer(int length) throws IOException
+	{
+		return ByteBuffer.wrap(readBytes(length)).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private byte[] readBytes(int length) throws IOException
+	{
+		byte[] bytes = new byte[length];
+		readFully(bytes, length);
+		return bytes;
+	}
+
+	private void readFully(byte[] bytes, int length) throws IOException
+	{
+		readFully(bytes, 0, length);
+	}
+
+	private void readFully(byte[] bytes, int offset, int length) throws IOException
+	{
+		int totalRead = 0;
+		while (totalRead < length)
+		{
+			int bytesRead = _inputStream.read(bytes, offset + totalRead, length - totalRead);
+			if (bytesRead < 0)
+			{
+				throw new EOFException();
+			}
+			totalRead += bytesRead;
+		}
+	}
+}
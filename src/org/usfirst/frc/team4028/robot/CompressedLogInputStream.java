@@ -0,0 +1,257 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * This class reads a file written by CompressedLogOutput and returns the original (uncompressed) log bytes
+ *
+ * 	Reading stops at the index or at the end of the file,
+ * 	a truncated last block (ex: power lost while writing) is treated as the end of the file
+ */
+public class CompressedLogInputStream extends InputStream
+{
+	private final InputStream _inputStream;
+	private final Inflater _inflater = new Inflater(true);
+	private final ByteBuffer _blockHeader;
+
+	private final byte[] _block;
+	private int _blockLength;
+	private int _blockPosition;
+	private byte[] _compressedBlock = new byte[0];
+	private boolean _isEndOfData;
+
+	// constructor, reads the file header from the stream
+	public CompressedLogInputStream(InputStream inputStream) throws IOException
+	{
+		_inputStream = inputStream;
+
+		ByteBuffer fileHeader = ByteBuffer.wrap(readBytes(CompressedLogOutput.FILE_HEADER_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+		byte[] magic = new byte[CompressedLogOutput.MAGIC.length];
+		fileHeader.get(magic);
+		if (!Arrays.equals(magic, CompressedLogOutput.MAGIC))
+		{
+			throw new IOException("Not a compressed log file (bad magic number)");
+		}
+
+		int formatVersion = fileHeader.getShort() & 0xFFFF;
+		fileHeader.getShort();		// flags
+		int blockSize = fileHeader.getInt();
+
+		if (formatVersion != CompressedLogOutput.FORMAT_VERSION)
+		{
+			throw new IOException("Unsupported compressed log format version: " + formatVersion);
+		}
+
+		_block = new byte[blockSize];
+		_blockHeader = ByteBuffer.allocate(CompressedLogOutput.BLOCK_HEADER_SIZE - 1).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	// true if the stream starts with the compressed log magic number (the stream must support mark / reset)
+	public static boolean IsCompressed(InputStream inputStream) throws IOException
+	{
+		byte[] magic = new byte[CompressedLogOutput.MAGIC.length];
+
+		inputStream.mark(magic.length);
+		try
+		{
+			int totalRead = 0;
+			while (totalRead < magic.length)
+			{
+				int bytesRead = inputStream.read(magic, totalRead, magic.length - totalRead);
+				if (bytesRead < 0)
+				{
+					return false;
+				}
+				totalRead += bytesRead;
+			}
+			return Arrays.equals(magic, CompressedLogOutput.MAGIC);
+		}
+		finally
+		{
+			inputStream.reset();
+		}
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		if (!fillBlock())
+		{
+			return -1;
+		}
+		return _block[_blockPosition++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException
+	{
+		if (length == 0)
+		{
+			return 0;
+		}
+		if (!fillBlock())
+		{
+			return -1;
+		}
+
+		int chunkLength = Math.min(length, _blockLength - _blockPosition);
+		System.arraycopy(_block, _blockPosition, bytes, offset, chunkLength);
+		_blockPosition += chunkLength;
+		return chunkLength;
+	}
+
+	// skip whole blocks without decompressing them, so jumping to an offset from a LogIndex is fast
+	@Override
+	public long skip(long count) throws IOException
+	{
+		long skippedCount = 0;
+		while (skippedCount < count)
+		{
+			if (_blockPosition < _blockLength)
+			{
+				int chunkLength = (int)Math.min(count - skippedCount, _blockLength - _blockPosition);
+				_blockPosition += chunkLength;
+				skippedCount += chunkLength;
+			}
+			else if (_isEndOfData || !readBlock(count - skippedCount))
+			{
+				_isEndOfData = true;
+				break;
+			}
+		}
+		return skippedCount;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		_inflater.end();
+		_inputStream.close();
+	}
+
+	// make sure there are unread bytes in the current block, returns false at the end of the data
+	private boolean fillBlock() throws IOException
+	{
+		while (_blockPosition >= _blockLength)
+		{
+			if (_isEndOfData || !readBlock(0))
+			{
+				_isEndOfData = true;
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// read & decompress the next block, returns false at the index or the end of the file
+	//	if the whole block is within skipCount bytes it is passed over without decompressing it (its bytes are only counted)
+	private boolean readBlock(long skipCount) throws IOException
+	{
+		int tag = _inputStream.read();
+		if (tag < 0 || tag == CompressedLogOutput.INDEX_TAG)
+		{
+			return false;
+		}
+		if (tag != CompressedLogOutput.BLOCK_TAG)
+		{
+			throw new IOException("Corrupt compressed log, unknown entry tag " + tag);
+		}
+
+		try
+		{
+			_blockHeader.clear();
+			readFully(_blockHeader.array(), _blockHeader.capacity());
+			int compressedLength = _blockHeader.getInt();
+			int uncompressedLength = _blockHeader.getInt();
+
+			if (uncompressedLength > _block.length || compressedLength < 0)
+			{
+				throw new IOException("Corrupt compressed log, bad block length " + uncompressedLength);
+			}
+			if (uncompressedLength <= skipCount)
+			{
+				skipFully(compressedLength);
+				_blockLength = uncompressedLength;
+				_blockPosition = 0;
+				return true;
+			}
+
+			if (_compressedBlock.length < compressedLength)
+			{
+				_compressedBlock = new byte[compressedLength];
+			}
+			readFully(_compressedBlock, compressedLength);
+
+			_inflater.reset();
+			_inflater.setInput(_compressedBlock, 0, compressedLength);
+			_blockLength = 0;
+			while (_blockLength < uncompressedLength && !_inflater.finished())
+			{
+				int inflatedLength = _inflater.inflate(_block, _blockLength, uncompressedLength - _blockLength);
+				if (inflatedLength == 0 && (_inflater.needsInput() || _inflater.needsDictionary()))
+				{
+					throw new IOException("Corrupt compressed log, block is shorter than expected");
+				}
+				_blockLength += inflatedLength;
+			}
+			_blockPosition = 0;
+			return true;
+		}
+		catch (EOFException e)
+		{
+			// partially written last block
+			return false;
+		}
+		catch (DataFormatException e)
+		{
+			throw new IOException("Corrupt compressed log, " + e.getMessage());
+		}
+	}
+
+	private void skipFully(long length) throws IOException
+	{
+		long totalSkipped = 0;
+		while (totalSkipped < length)
+		{
+			long skipped = _inputStream.skip(length - totalSkipped);
+			if (skipped <= 0)
+			{
+				// skip() can return 0 without being at the end of the stream, read 1 byte to find out
+				if (_inputStream.read() < 0)
+				{
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			totalSkipped += skipped;
+		}
+	}
+
+	private byte[] readBytes(int length) throws IOException
+	{
+		byte[] bytes = new byte[length];
+		readFully(bytes, length);
+		return bytes;
+	}
+
+	private void readFully(byte[] bytes, int length) throws IOException
+	{
+		int totalRead = 0;
+		while (totalRead < length)
+		{
+			int bytesRead = _inputStream.read(bytes, totalRead, length - totalRead);
+			if (bytesRead < 0)
+			{
+				throw new EOFException();
+			}
+			totalRead += bytesRead;
+		}
+	}
+}
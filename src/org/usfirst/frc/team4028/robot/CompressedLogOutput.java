@@ -0,0 +1,284 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * This class compresses encoded log bytes in fixed size blocks (using Deflate) before passing them to another LogOutput
+ *
+ * All values are little-endian.
+ *
+ * File Header (written 1 time)
+ * 	byte[8]		magic					"4028LZB\0"
+ * 	u16			format version
+ * 	u16			flags					(reserved, 0)
+ * 	i32			block size				# of uncompressed bytes in each block (the last block can be shorter)
+ *
+ * Blocks (repeated)
+ * 	u8			tag						'B'
+ * 	i32			compressed length
+ * 	i32			uncompressed length
+ * 	i64			first timestamp			FPGA time (microsecs) of the 1st record that starts in this block (Long.MIN_VALUE = none)
+ * 	i32			first record offset		offset of that record inside the uncompressed block (-1 = none)
+ * 	byte[]		raw Deflate data
+ *
+ * Index (written 1 time when the file is closed, missing if power was lost)
+ * 	u8			tag						'I'
+ * 	i32			entry count
+ * 	per block:
+ * 		i64		first timestamp
+ * 		i64		file offset				byte offset of the block's tag in the file
+ * 	i64			index file offset		byte offset of the index tag in the file
+ * 	byte[4]		index magic				"LZBI"
+ *
+ * Each block is self contained (the Deflater is reset between blocks), so decoding can start at any block.
+ * Compression runs on the log writer thread.
+ */
+public class CompressedLogOutput implements IndexedLogOutput
+{
+	public static final byte[] MAGIC = { '4', '0', '2', '8', 'L', 'Z', 'B', 0 };
+	public static final byte[] INDEX_MAGIC = { 'L', 'Z', 'B', 'I' };
+	public static final int FORMAT_VERSION = 1;
+	public static final String FILE_EXTENSION = ".z";
+
+	public static final byte BLOCK_TAG = 'B';
+	public static final byte INDEX_TAG = 'I';
+
+	public static final int FILE_HEADER_SIZE = 8 + 2 + 2 + 4;
+	public static final int BLOCK_HEADER_SIZE = 1 + 4 + 4 + 8 + 4;
+	public static final int INDEX_ENTRY_SIZE = 8 + 8;
+	public static final int INDEX_FOOTER_SIZE = 8 + 4;
+
+	public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+	private final LogOutput _output;
+	private final Deflater _deflater;
+	private final int _blockSize;
+
+	// uncompressed bytes of the current block
+	private final byte[] _block;
+	private int _blockLength;
+	private long _blockCount;
+
+	private final byte[] _compressedBlock;
+	private final ByteBuffer _writeBuffer;
+	private long _fileOffset;
+
+	// 1st record of each block not written yet (records are indexed before their bytes arrive)
+	private long[] _pendingBlockNumbers = new long[8];
+	private long[] _pendingTimestamps = new long[8];
+	private int[] _pendingOffsets = new int[8];
+	private int _pendingCount;
+
+	// index of the blocks already written
+	private long[] _indexTimestamps = new long[256];
+	private long[] _indexFileOffsets = new long[256];
+
+	private boolean _isClosed;
+
+	// constructor, writes the file header
+	public CompressedLogOutput(LogOutput output, int blockSize, int compressionLevel) throws IOException
+	{
+		_output = output;
+		_deflater = new Deflater(compressionLevel, true);
+		_blockSize = blockSize;
+		_block = new byte[blockSize];
+
+		// worst case size of Deflate output for data that does not compress
+		_compressedBlock = new byte[blockSize + (blockSize >> 3) + 64];
+		_writeBuffer = ByteBuffer.allocateDirect(BLOCK_HEADER_SIZE + _compressedBlock.length).order(ByteOrder.LITTLE_ENDIAN);
+
+		_writeBuffer.put(MAGIC);
+		_writeBuffer.putShort((short)FORMAT_VERSION);
+		_writeBuffer.putShort((short)0);
+		_writeBuffer.putInt(blockSize);
+		writeBuffer();
+	}
+
+	@Override
+	public void IndexRecord(long streamOffset, long fpgaTimeMicroSecs)
+	{
+		long blockNumber = streamOffset / _blockSize;
+
+		// only the 1st record that starts in each block is kept
+		if ((_pendingCount > 0 && _pendingBlockNumbers[_pendingCount - 1] >= blockNumber) || blockNumber < _blockCount)
+		{
+			return;
+		}
+
+		if (_pendingCount == _pendingBlockNumbers.length)
+		{
+			_pendingBlockNumbers = Arrays.copyOf(_pendingBlockNumbers, _pendingCount * 2);
+			_pendingTimestamps = Arrays.copyOf(_pendingTimestamps, _pendingCount * 2);
+			_pendingOffsets = Arrays.copyOf(_pendingOffsets, _pendingCount * 2);
+		}
+		_pendingBlockNumbers[_pendingCount] = blockNumber;
+		_pendingTimestamps[_pendingCount] = fpgaTimeMicroSecs;
+		_pendingOffsets[_pendingCount] = (int)(streamOffset % _blockSize);
+		_pendingCount++;
+	}
+
+	@Override
+	public void Write(ByteBuffer source) throws IOException
+	{
+		while (source.hasRemaining())
+		{
+			int chunkLength = Math.min(source.remaining(), _blockSize - _blockLength);
+			source.get(_block, _blockLength, chunkLength);
+			_blockLength += chunkLength;
+
+			if (_blockLength == _blockSize)
+			{
+				writeBlock();
+			}
+		}
+	}
+
+	@Override
+	public void Flush() throws IOException
+	{
+		// a partial block is held until it fills (compressing small blocks would hurt the ratio)
+		_output.Flush();
+	}
+
+	@Override
+	public void Close() throws IOException
+	{
+		if (_isClosed)
+		{
+			return;
+		}
+		_isClosed = true;
+
+		try
+		{
+			if (_blockLength > 0)
+			{
+				writeBlock();
+			}
+			writeIndex();
+		}
+		finally
+		{
+			_deflater.end();
+			_output.Close();
+		}
+	}
+
+	@Override
+	public long GetBytesWritten()
+	{
+		return _output.GetBytesWritten();
+	}
+
+	public long GetBlockCount()
+	{
+		return _blockCount;
+	}
+
+	// compress the current block and write it with its header
+	private void writeBlock() throws IOException
+	{
+		_deflater.reset();
+		_deflater.setInput(_block, 0, _blockLength);
+		_deflater.finish();
+
+		int compressedLength = 0;
+		while (!_deflater.finished())
+		{
+			compressedLength += _deflater.deflate(_compressedBlock, compressedLength, _compressedBlock.length - compressedLength);
+		}
+
+		// find the 1st record that starts in this block
+		long firstTimestamp = NO_TIMESTAMP;
+		int firstRecordOffset = -1;
+		int consumedCount = 0;
+		while (consumedCount < _pendingCount && _pendingBlockNumbers[consumedCount] <= _blockCount)
+		{
+			if (_pendingBlockNumbers[consumedCount] == _blockCount)
+			{
+				firstTimestamp = _pendingTimestamps[consumedCount];
+				firstRecordOffset = _pendingOffsets[consumedCount];
+			}
+			consumedCount++;
+		}
+		removePending(consumedCount);
+
+		addIndexEntry(firstTimestamp, _fileOffset);
+
+		_writeBuffer.put(BLOCK_TAG);
+		_writeBuffer.putInt(compressedLength);
+		_writeBuffer.putInt(_blockLength);
+		_writeBuffer.putLong(firstTimestamp);
+		_writeBuffer.putInt(firstRecordOffset);
+		_writeBuffer.put(_compressedBlock, 0, compressedLength);
+		writeBuffer();
+
+		_blockLength = 0;
+		_blockCount++;
+	}
+
+	// write the index of all blocks (lets readers jump to a time without reading the whole file)
+	private void writeIndex() throws IOException
+	{
+		long indexFileOffset = _fileOffset;
+		int entryCount = (int)_blockCount;
+
+		_writeBuffer.put(INDEX_TAG);
+		_writeBuffer.putInt(entryCount);
+		for (int entryIndex = 0; entryIndex < entryCount; entryIndex++)
+		{
+			if (_writeBuffer.remaining() < INDEX_ENTRY_SIZE + INDEX_FOOTER_SIZE)
+			{
+				writeBuffer();
+			}
+			_writeBuffer.putLong(_indexTimestamps[entryIndex]);
+			_writeBuffer.putLong(_indexFileOffsets[entryIndex]);
+		}
+		_writeBuffer.putLong(indexFileOffset);
+		_writeBuffer.put(INDEX_MAGIC);
+		writeBuffer();
+	}
+
+	private void addIndexEntry(long firstTimestamp, long fileOffset)
+	{
+		int entryIndex = (int)_blockCount;
+		if (entryIndex == _indexTimestamps.length)
+		{
+			_indexTimestamps = Arrays.copyOf(_indexTimestamps, entryIndex * 2);
+			_indexFileOffsets = Arrays.copyOf(_indexFileOffsets, entryIndex * 2);
+		}
+		_indexTimestamps[entryIndex] = firstTimestamp;
+		_indexFileOffsets[entryIndex] = fileOffset;
+	}
+
+	private void removePending(int count)
+	{
+		if (count == 0)
+		{
+			return;
+		}
+
+		_pendingCount -= count;
+		System.arraycopy(_pendingBlockNumbers, count, _pendingBlockNumbers, 0, _pendingCount);
+		System.arraycopy(_pendingTimestamps, count, _pendingTimestamps, 0, _pendingCount);
+		System.arraycopy(_pendingOffsets, count, _pendingOffsets, 0, _pendingCount);
+	}
+
+	private void writeBuffer() throws IOException
+	{
+		_writeBuffer.flip();
+		_fileOffset += _writeBuffer.remaining();
+		try
+		{
+			_output.Write(_writeBuffer);
+		}
+		finally
+		{
+			_writeBuffer.clear();
+		}
+	}
+}
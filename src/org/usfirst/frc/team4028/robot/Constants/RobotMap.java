@@ -19,6 +19,14 @@ public class RobotMap
 	public static final int VISION_PC_PORT = 5806;  // Allowed to use 5800-5810
 	public static final int CAMERA_SWAP_PORT = 5807;
 	public static final String VISION_PC_IP_ADDRESS = "10.40.28.10";  // "10.40.28.78";
+	public static final int VISION_CONNECT_TIMEOUT_MSECS = 250;		// a connect not done in this time is a failed attempt (the vision PC is on the same switch)
+	public static final int VISION_READ_TIMEOUT_MSECS = 250;		// no answer in this time => the request is written again
+	public static final int VISION_MAX_CONSECUTIVE_READ_TIMEOUTS = 4;	// this many read timeouts in a row => the connection is dropped & made again
+	public static final int VISION_MIN_BACKOFF_MSECS = 50;			// wait before the 1st reconnect, doubled after each failed attempt
+	public static final int VISION_MAX_BACKOFF_MSECS = 400;			// longest wait between 2 connect attempts (keeps recovery well under 1 sec)
+	public static final int VISION_RECEIVE_BUFFER_SIZE = 1024;		// bytes, must hold at least 1 whole line of vision data
+	public static final boolean IS_VISION_BINARY_PROTOCOL_ENABLED = true;	// offer the binary protocol (v2) to the vision PC, it falls back to text if it does not know it
+	public static final int VISION_HANDSHAKE_TIMEOUT_MSECS = 250;	// no answer to the hello in this time => text protocol
 	
 	// define constants for array values of vision data
 	public static final int IS_VALID_DATA_ARRAY_POSITION = 0;
@@ -303,6 +311,95 @@ public class RobotMap
 	// this is where the USB stick is mounted on the RoboRIO filesystem.  You can confirm by logging into the RoboRIO using WinSCP
 	public static final String LOG_FILE_PATH = "/media/sda1/logging";
 	
+	// when enabled the file I/O is done on a background thread, the main thread only copies each scan into a ring buffer
+	public static final boolean IS_ASYNC_LOGGING_ENABLED = true;
+	public static final int LOG_RING_BUFFER_CAPACITY = 1024;		// must be a power of 2, 1024 scans ~ 20 secs @ 50 scans/sec
+	public static final int LOG_WRITER_IDLE_SLEEP_MSECS = 250;		// writer wakes up 4x/sec and writes everything queued as 1 batch
+	public static final int LOG_WRITER_STOP_TIMEOUT_MSECS = 2000;
+	public static final int LOG_WRITER_BUFFER_SIZE = 64 * 1024;		// bytes, encoded records are written to the file in chunks up to this size
+	
+	// extra log sinks (see LogSink), each has its own ring buffer & thread fed by the log writer thread
+	public static final int LOG_SINK_RING_BUFFER_CAPACITY = 256;	// must be a power of 2, records a sink can fall behind before its backpressure policy applies
+	public static final int LOG_SINK_SAMPLE_STRIDE = 5;				// a SAMPLE sink more than half full only gets 1 of every N records
+	
+	// live telemetry: every logged scan is also sent as TSV lines in UDP datagrams (ex: to a laptop on the driver station)
+	public static final boolean IS_LOG_TELEMETRY_ENABLED = false;
+	public static final String LOG_TELEMETRY_HOST_ADDRESS = "10.40.28.5";
+	public static final int LOG_TELEMETRY_PORT = 5808;  				// Allowed to use 5800-5810
+	public static final int LOG_TELEMETRY_DATAGRAM_SIZE = 8 * 1024;		// bytes, whole records only (a record never spans 2 datagrams)
+	public static final int LOG_TELEMETRY_HEADER_INTERVAL = 250;		// records, the header line is sent again so a late listener can decode
+	
+	// when enabled (and async logging is enabled) logs are written in the compact binary format (.bin) instead of TSV,
+	//	use LogFileConverter to turn a .bin file back into a .tsv file
+	public static final boolean IS_BINARY_LOG_FORMAT_ENABLED = false;
+	public static final int LOG_MAX_STRING_DICTIONARY_SIZE = 4096;
+	
+	// when enabled (and the binary format is enabled) each scan only writes the values that changed since the previous scan,
+	//	with a full keyframe every N scans so a file can be decoded starting at any keyframe
+	public static final boolean IS_DELTA_LOG_ENCODING_ENABLED = true;
+	public static final int LOG_DELTA_KEYFRAME_INTERVAL = 250;		// scans, 250 scans ~ 5 secs @ 50 scans/sec (also the full row interval of sampled logs)
+	
+	// when enabled each column is written at the rate set in RobotData.DescribeLogSampling (every scan, every N msecs or
+	//	only when it changes), values left out are empty in a TSV log and readers hold the last value written
+	public static final boolean IS_LOG_SAMPLING_ENABLED = true;
+	public static final int LOG_SLOW_SAMPLE_PERIOD_MSECS = 100;		// 10 samples/sec for slow diagnostic values
+	
+	// when enabled (and async logging is enabled) logs are written into preallocated, memory mapped segment files
+	//	a new segment is started each time one fills up, the segments are listed in a .manifest file next to them
+	public static final boolean IS_MAPPED_LOG_SEGMENTS_ENABLED = true;
+	public static final int LOG_SEGMENT_SIZE = 16 * 1024 * 1024;	// bytes, ~ 1 full match of TSV data per segment
+	
+	// when enabled (and async logging is enabled) the log is Deflate compressed in fixed size blocks on the writer thread (.z),
+	//	each block records the FPGA time of its 1st record, use LogFileConverter to get a plain .tsv back
+	//	(up to 1 block of the newest data is held in memory until the block fills or logging stops)
+	public static final boolean IS_LOG_COMPRESSION_ENABLED = false;
+	public static final int LOG_COMPRESSION_BLOCK_SIZE = 64 * 1024;	// bytes of uncompressed log data per block
+	public static final int LOG_COMPRESSION_LEVEL = 1;				// 1 (fastest) .. 9 (smallest), see java.util.zip.Deflater
+	
+	// when enabled a small side-car index (.idx) is written next to each log, it maps FPGA time & state changes
+	//	to offsets in the log so LogQueryTool can jump straight to them
+	public static final boolean IS_LOG_INDEX_ENABLED = true;
+	public static final int LOG_INDEX_INTERVAL_MSECS = 1000;		// FPGA time between time entries in the index
+	
+	// when enabled every write to the log file is framed with a length & CRC32C, so a write torn by a brown out or a pulled
+	//	USB stick is detected and everything before it can still be read (use LogRecoveryTool to salvage a damaged log)
+	//	a framed TSV log is no longer plain text so it is written as .tsvf (use LogFileConverter to get a .tsv)
+	public static final boolean IS_LOG_FRAMING_ENABLED = true;
+	public static final int LOG_FRAME_MAX_PAYLOAD_SIZE = 64 * 1024;	// bytes of log data per frame (1 frame per batch when smaller)
+	
+	// when enabled state machine changes & driver station messages are written to an event log (.events) next to each log,
+	//	with the FPGA time they happened (use LogQueryTool --events / --between to read it)
+	public static final boolean IS_LOG_EVENTS_ENABLED = true;
+	public static final int LOG_EVENT_RING_BUFFER_CAPACITY = 1024;	// must be a power of 2
+	public static final int LOG_EVENT_WRITER_BUFFER_SIZE = 16 * 1024;	// bytes
+	
+	// when enabled the last few secs of data are always kept in memory (even without a USB stick) and written to a file
+	//	when the tilt safety engages, homing times out, vision disconnects or a scan is late (see FlightRecorder)
+	public static final boolean IS_FLIGHT_RECORDER_ENABLED = true;
+	public static final int FLIGHT_RECORDER_CAPACITY = 750;				// scans, 750 scans = 15 secs @ 50 scans/sec (~ 2.4 KB per scan)
+	public static final int FLIGHT_RECORDER_POST_TRIGGER_SCANS = 100;	// scans still recorded after a trigger, 100 scans = 2 secs
+	public static final int FLIGHT_RECORDER_LOOP_OVERRUN_MSECS = 40;		// time between 2 scans that counts as an overrun (normal = 20)
+	public static final String FLIGHT_RECORDER_RAM_DISK_PATH = "/tmp";	// dumps go here when the USB stick is missing (lost at power off)
+	
+	// RAM disk staging (while enabled logs are written to RAM, while disabled they are moved to the USB stick, see LogStagingArea)
+	public static final boolean IS_LOG_RAM_STAGING_ENABLED = true;
+	public static final String LOG_RAM_STAGING_PATH = "/tmp/logstaging";		// tmpfs on the roboRIO, lost at power off
+	public static final long LOG_RAM_STAGING_MAX_BYTES = 48L * 1024 * 1024;		// all staged files together, ~ 3 matches of TSV data
+	public static final long LOG_RAM_STAGING_MIN_FREE_BYTES = 32L * 1024 * 1024;	// RAM disk space always left for the rest of the system
+	public static final long LOG_RAM_STAGING_MIN_SESSION_BYTES = 4L * 1024 * 1024;	// with less room than this a session logs straight to the USB stick
+	public static final int LOG_RAM_STAGING_FLUSH_CHUNK_SIZE = 256 * 1024;		// bytes copied between 2 checks for a new session
+	public static final boolean IS_LOG_WARM_STANDBY_ENABLED = true;				// open the next log while disabled, starting a mode hands it over
+	
+	// per column summary (min / max / mean / std dev / percentiles) written next to the log when it is closed
+	public static final boolean IS_LOG_SUMMARY_ENABLED = true;
+	public static final double[] LOG_SUMMARY_PERCENTILES = { 50.0, 90.0, 99.0 };	// estimated with a StreamingQuantile per column
+	
+	// high rate sampler (shooter, turret & slider while aiming & shooting, written to *_highrate.tsv)
+	public static final boolean IS_HIGH_RATE_SAMPLER_ENABLED = true;
+	public static final int HIGH_RATE_SAMPLE_PERIOD_MICROSECS = 2000;		// 2000 uSec = 500 Hz (1000 .. 5000 = 1 kHz .. 200 Hz)
+	public static final int HIGH_RATE_SAMPLER_CAPACITY = 8192;				// samples per sequence, 8192 = 16 secs @ 500 Hz (~ 320 KB)
+	public static final double HIGH_RATE_SAMPLER_MAX_DUTY_CYCLE = 0.05;		// max share of the period spent reading, the period is stretched above it
+	
 	// ======================================
 	// define constants for usb cameras
 	// ======================================
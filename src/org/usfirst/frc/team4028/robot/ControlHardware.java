@@ -0,0 +1,60 @@
+package org.usfirst.frc.team4028.robot;
+
+import edu.wpi.first.wpilibj.DoubleSolenoid.Value;
+
+/**
+ * This interface is everything outside of RobotData that the ControlLogic reads from or writes to
+ *
+ * 	On the robot it is implemented by Robot (real devices, wall clock, driver station),
+ * 	during a log replay by LogReplayEngine (values from the log, the log's FPGA clock, no devices).
+ */
+public interface ControlHardware
+{
+	// =====================================
+	// Closed loop axes
+	// =====================================
+	TalonAxis GetInfeedTiltMtr();
+
+	TalonAxis GetTurretMtr();
+
+	TalonAxis GetSliderMtr();
+
+	TalonAxis GetShooterMasterMtr();
+
+	// =====================================
+	// Sensors
+	// =====================================
+	boolean IsTurretHomeLimitSwitchClosed();
+
+	boolean IsTurretApproachingHomeLimitSwitchClosed();
+
+	double GetRawAccelX();
+
+	double GetRawAccelY();
+
+	// last data received from the vision PC (can be null)
+	VisionSnapshot GetVisionData();
+
+	// =====================================
+	// Outputs not carried in OutputData
+	// =====================================
+	void SetPumaBackSolenoid(Value position);
+
+	void SwitchCamera(String cameraName);
+
+	// brake mode on all 6 drive motors
+	void EnableDriveBrakeMode(boolean isEnabled);
+
+	// =====================================
+	// Clock & messages
+	// =====================================
+	long GetTimeMSecs();
+
+	void Sleep(long msecs) throws InterruptedException;
+
+	// write a message to the driver station
+	void ReportError(String message);
+
+	// record an event (see LogEventCatalog) in the event log, text can be null
+	void RecordEvent(int eventId, double value, String text);
+}
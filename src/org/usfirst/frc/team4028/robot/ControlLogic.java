@@ -0,0 +1,2983 @@
+package org.usfirst.frc.team4028.robot;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+import org.usfirst.frc.team4028.robot.RobotData.And1_Servo_Dir_State;
+import org.usfirst.frc.team4028.robot.RobotData.Auto_Aim_And_Shoot_State;
+import org.usfirst.frc.team4028.robot.RobotData.Auton_Shoot_Ball_State;
+import org.usfirst.frc.team4028.robot.RobotData.Cross_Defense_Auto_Aim_And_Shoot_State;
+import org.usfirst.frc.team4028.robot.RobotData.Cross_Defense_Auton_State;
+import org.usfirst.frc.team4028.robot.RobotData.Infeed_Tilt_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.InputData;
+import org.usfirst.frc.team4028.robot.RobotData.OutputData;
+import org.usfirst.frc.team4028.robot.RobotData.Shooter_Target_Speed;
+import org.usfirst.frc.team4028.robot.RobotData.Slider_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.Teleop_Elevator_State;
+import org.usfirst.frc.team4028.robot.RobotData.Turret_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.WorkingData;
+
+import edu.wpi.first.wpilibj.CANTalon;
+import edu.wpi.first.wpilibj.CANTalon.TalonControlMode;
+import edu.wpi.first.wpilibj.DoubleSolenoid.Value;
+
+/**
+ * This class holds the decision logic of the robot (auton modes, telop, auto aim & the axis zeroing state machines)
+ *
+ * 	It only reads & writes RobotData and talks to everything else through ControlHardware,
+ * 	that way the same code runs on the robot (see Robot) and against a recorded log (see LogReplayEngine).
+ *
+ * 	Each scan:	Robot reads the inputs into InputData -> ControlLogic calcs WorkingData & OutputData -> Robot pushes OutputData to the devices
+ */
+public class ControlLogic
+{
+	// ===========================================================
+	//   Devices
+	// ===========================================================
+	private final ControlHardware _hardware;
+	private final TalonAxis _infeedTiltMtr;
+	private final TalonAxis _turretMtr;
+	private final TalonAxis _sliderMtr;
+	private final TalonAxis _shooterMasterMtr;
+
+	// ===========================================================
+	//   Working variables (retained between scans)
+	// ===========================================================
+	RobotData _robotLiveData;
+	
+	double _sliderAutonPosition = 0.0;
+	double _turretAutonPosition = 0.0;
+	boolean _isTurretAxisZeroedYet = false;
+	boolean _isInfeedTiltAxisZeroedYet = false;
+	boolean _isSliderAxisZeroedYet = false;
+	int _autonShooterWheelTargetRPM = 0;
+	double _autonTargetDriveTimeMSecs = 0;
+	double _autonTargetDriveThrottlePercent = 0;
+	boolean  _isAutonAutoShooterEnabled = false;
+	
+	boolean _isInfeedPeriodZeroMode = false;
+	boolean _isInfeedTiltAxisZeroTimedOut = false;
+	
+	boolean _isSliderAxisZeroTimedOut = false;
+	
+	Slider_Zero_State _sliderZeroState;
+	long _sliderZeroStartTime;
+	Infeed_Tilt_Zero_State _infeedTiltZeroState;
+	long _infeedTiltZeroStartTime;
+	Turret_Zero_State _turretZeroState;
+	long _turretZeroStartTime;
+	Cross_Defense_Auton_State _crossDefenseAutonState;
+	long _crossDefenseAutonStartTime;
+	Auto_Aim_And_Shoot_State _autoAimAndShootState;
+	Cross_Defense_Auto_Aim_And_Shoot_State _crossDefenseAutoAimAndShootState;
+	And1_Servo_Dir_State _and1ServoDirState;
+	
+	boolean _isClimbEnabled = false;
+	boolean _isShooterinAltMode = false;
+	
+	double _currentTurretVBusCmdBias = 0;
+	double _turretEncoderLastScanPosition;
+	
+	String _currentCameraName = RobotMap.SHOOTER_CAMERA_NAME;
+	
+	// last state of each state machine recorded in the event log (see RecordStateChanges)
+	Enum<?>[] _lastRecordedStates = new Enum<?>[9];
+
+	public ControlLogic(ControlHardware hardware)
+	{
+		_hardware = hardware;
+		_infeedTiltMtr = hardware.GetInfeedTiltMtr();
+		_turretMtr = hardware.GetTurretMtr();
+		_sliderMtr = hardware.GetSliderMtr();
+		_shooterMasterMtr = hardware.GetShooterMasterMtr();
+	}
+
+	// ========================================================================
+	// Autonomous
+	// ========================================================================
+
+	// setup the initial auton state, called 1x after the auton chooser values are read into InputData
+    public void AutonomousInit(RobotData robotLiveData)
+    {
+    	_robotLiveData = robotLiveData;
+    	
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	// Set desired initial (default) solenoid positions
+    	outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION;
+    	outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
+    	outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_IN;
+    	
+    	// init some working variables
+    	_isInfeedPeriodZeroMode = false;
+    	
+    	// write out the selected Auton Mode
+    	_hardware.ReportError("AutonModeRequested: [" + inputDataValues.AutonModeRequested.toString() + "]");
+   	
+    	// decide what to do based on the selected Auton Mode
+    	switch(inputDataValues.AutonModeRequested)
+    	{
+    		case DO_NOTHING:
+    			break;
+    			
+    		case ZERO_ALL_AXIS:
+    			// in this auton mode we just sit still and zero all the axis to save time in telop
+    			if (!_isTurretAxisZeroedYet)
+    	    	{
+    	    		ZeroTurretAxis(_robotLiveData);
+    	    	}
+    	    	
+    	    	if (!_isInfeedTiltAxisZeroedYet)
+    	    	{
+    	    		_infeedTiltZeroStartTime = _hardware.GetTimeMSecs();
+    	    		_infeedTiltZeroState = Infeed_Tilt_Zero_State.TILT_TO_HOME;
+    	    		ZeroInfeedTiltAxisReEntrant(_robotLiveData);
+    	    	}
+    	    	
+    	    	if (!_isSliderAxisZeroedYet)
+    	    	{
+    	    		_sliderZeroStartTime = _hardware.GetTimeMSecs();
+    	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
+    	    		//ZeroSliderAxisReEntrant(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
+    	    		ZeroSliderAxis(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
+    	    	}
+    			break;
+    			
+    		case SHOOT_BALL:
+    			// in this auton mode we are positioned in the front left spybot posiiton and we just shot the ball into the side goal
+    	    	_hardware.ReportError("PumaAutonPositionRequested: [" + inputDataValues.AutonPumaBackPositionRequested.toString() + "]");
+    	    	_hardware.ReportError("SliderAutonPositionRequested: [" + inputDataValues.AutonSliderPositionRequested.toString() + "]");
+    	    	_hardware.ReportError("ShooterWheelRPMRequested: [" + inputDataValues.AutonShooterWheelRPMRequested.toString() + "]");
+    	    	
+    	    	// position the slider
+    	    	switch(inputDataValues.AutonSliderPositionRequested)
+    	    	{
+    	    	    case CLICKS_24:
+    	    	     	 _sliderAutonPosition = 24;
+    	    	     	 break;
+    	    	     
+    	    	    case CLICKS_30:
+    	    	    	 _sliderAutonPosition = 30;
+    	    	    	 break;
+    	    	    	 
+    	    	    case CLICKS_34:
+    	    	    	 _sliderAutonPosition = 34;
+    	    	    	 break;
+    	    	    	
+    				default:
+    					_sliderAutonPosition = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+    					break;
+    	    	}
+    	    
+    	    	// set the desired target shooter speed
+    	    	switch(inputDataValues.AutonShooterWheelRPMRequested)
+    	    	{
+    	    		case RPM_3500:
+    	    			_autonShooterWheelTargetRPM = 3500;
+    	    			break;
+    	    			
+    	    		case RPM_3250:
+    	    			_autonShooterWheelTargetRPM = 3250;
+    	    			break;
+    	    			
+    	    		case RPM_3000:
+    	    			_autonShooterWheelTargetRPM = 3000;
+    	    			break;
+    	    			
+    	    		case RPM_2750:
+    	    			_autonShooterWheelTargetRPM = 2750;
+    	    			break;
+    	    			
+    	    		case RPM_2500:
+    	    			_autonShooterWheelTargetRPM = 2500;
+    	    			break;
+    	    	}
+    	    	
+    	    	// zero the slider and send to the requested position
+    	    	if (!_isSliderAxisZeroedYet)
+    	    	{
+    	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
+    	    		ZeroSliderAxisReEntrant(_robotLiveData);
+    	    	}
+    	    	
+    	    	// set the requested position of the back pumas
+    	    	Value PumaBackSolenoidPosition;
+    	    	switch(inputDataValues.AutonPumaBackPositionRequested)
+    	    	{
+    	    	    case PUMA_BACK_DOWN:
+    	    	    	PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    	    	     	 break;
+    	    	     
+    	    	    case PUMA_BACK_UP:
+    	    	    	PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    	    	    	 break;
+    	    	    	
+    				default:
+    					PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
+    					break;
+    	    	}
+    	    	
+    	    	_hardware.SetPumaBackSolenoid(PumaBackSolenoidPosition);
+    	    	
+    	    	workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.INFEED_1;
+    	    	_hardware.ReportError("ChangingAutonModeTo: INFEED_1");
+    	    	
+    			break;
+    			
+    		case DRIVE_FWD:
+    	    	_hardware.ReportError("DriveTimeInSecs: [" + inputDataValues.AutonDriveTimeInSecsRequested.toString() + "]");
+    	    	_hardware.ReportError("DriveThrottlePercent: [" + inputDataValues.AutonDriveThrottlePercentRequested.toString() + "]");
+    	    	
+    	    	// determine the requested drive time
+    			switch(inputDataValues.AutonDriveTimeInSecsRequested)
+    	    	{
+    	    		case SECS_1:
+    	    			_autonTargetDriveTimeMSecs = 1 * 1000;
+    	    			break;
+    	    			
+    	    		case SECS_2:
+    	    			_autonTargetDriveTimeMSecs = 2 * 1000;
+    	    			break;	
+    	    			
+    	    		case SECS_3:
+    	    			_autonTargetDriveTimeMSecs = 3 * 1000;
+    	    			break;
+    	    			
+    	    		case SECS_4:
+    	    			_autonTargetDriveTimeMSecs = 4 * 1000;
+    	    			break;
+    	    			
+    	    		case SECS_5:
+    	    			_autonTargetDriveTimeMSecs = 5 * 1000;
+    	    			break;
+    	    			
+    	    		case SECS_6:
+    	    			_autonTargetDriveTimeMSecs = 6 * 1000;
+    	    			break;
+    	    			
+    	    		case SECS_7:
+    	    			_autonTargetDriveTimeMSecs = 7 * 1000;
+    	    			break;
+    	    			
+    	    		case SECS_8:
+    	    			_autonTargetDriveTimeMSecs = 8 * 1000;
+    	    			break;
+    	    			
+    	    		case SECS_9:
+    	    			_autonTargetDriveTimeMSecs = 9 * 1000;
+    	    			break;
+    	    	}
+    			
+    			// determine the requested drive throttle 
+    			switch(inputDataValues.AutonDriveThrottlePercentRequested)
+    	    	{
+    	    		case PERCENT_10:
+    	    			_autonTargetDriveThrottlePercent = 0.10;
+    	    			break;
+    	    			
+    	    		case PERCENT_20:
+    	    			_autonTargetDriveThrottlePercent = 0.20;
+    	    			break;
+    	    			
+    	    		case PERCENT_30:
+    	    			_autonTargetDriveThrottlePercent = 0.30;
+    	    			break;
+    	    			
+    	    		case PERCENT_40:
+    	    			_autonTargetDriveThrottlePercent = 0.40;
+    	    			break;
+    	    			
+    	    		case PERCENT_50:
+    	    			_autonTargetDriveThrottlePercent = 0.50;
+    	    			break;
+    	    			
+    	    		case PERCENT_60:
+    	    			_autonTargetDriveThrottlePercent = 0.60;
+    	    			break;
+    	    		
+    	    		case PERCENT_70:
+    	    			_autonTargetDriveThrottlePercent = 0.70;
+    	    			break;
+    	    			
+    	    		case PERCENT_80:
+    	    			_autonTargetDriveThrottlePercent = 0.80;
+    	    			break;
+    	    			
+    	    		case PERCENT_90:
+    	    			_autonTargetDriveThrottlePercent = 0.90;
+    	    			break;
+    	    	}
+    			    			
+    			// puma up to cross defenses
+    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
+    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    			// low gear to cross defenses
+    			
+    			workingDataValues.AutonDriveFwdStartTime = _hardware.GetTimeMSecs();
+    			
+    			
+    			break;
+    		
+    		case CROSS_DEFENSE:
+    	    	_hardware.ReportError("CrossDefenseType: [" + inputDataValues.AutonCrossDefenseTypeRequested.toString() + "]");
+    	    	
+    	    	// determine the requested drive throttle 
+    			switch(inputDataValues.AutonCrossDefenseTypeRequested)
+    	    	{
+    				case MOAT:
+    					_autonTargetDriveTimeMSecs = 3 * 1000;
+    					_autonTargetDriveThrottlePercent = 0.65;
+    					break;
+    					
+    				case RAMPARTS:
+    					_autonTargetDriveTimeMSecs = 5.75 * 1000;
+    					_autonTargetDriveThrottlePercent = 0.40;
+    					break;
+    					
+    				case ROCKWALL:
+    					_autonTargetDriveTimeMSecs = 5.25 * 1000;
+    					_autonTargetDriveThrottlePercent = 0.40;
+    					break;
+    					
+    				case ROUGH_TERRAIN:
+    					_autonTargetDriveTimeMSecs = 5 * 1000;
+    					_autonTargetDriveThrottlePercent = 0.40;
+    					break;    				
+    	    	}
+    			
+    	    	// determine the requested auto shooter mode
+    			switch(inputDataValues.AutonCrossDefensePosition)
+    	    	{
+    				case ZERO:
+    					_turretAutonPosition = 0.0;
+    					break;
+    					
+    				case TWO:
+    					_turretAutonPosition = 0.18;
+    					break;
+    					
+    				case THREE:
+    					_turretAutonPosition = -0.13;
+    					break;
+    					
+    				case FOUR:
+    					_turretAutonPosition = -0.55;
+    					break;
+    					
+    				case FIVE:
+    					_turretAutonPosition = -1.0;
+    					break;
+    	    	}
+    			
+    			_hardware.ReportError("DriveTimeInSecs: [" + _autonTargetDriveTimeMSecs + "]");
+    	    	_hardware.ReportError("DriveThrottlePercent: [" + _autonTargetDriveThrottlePercent + "]");
+    	    	_hardware.ReportError("CrossDefensePosition: [" + inputDataValues.AutonCrossDefensePosition.toString() + "]");
+    			
+    			// puma up to cross defenses
+    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
+    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    			
+    			// perimeter expansion should be out the entire match
+    			//outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_IN;
+    			
+    			workingDataValues.AutonDriveFwdStartTime = _hardware.GetTimeMSecs();
+    			
+    			_sliderZeroStartTime = _hardware.GetTimeMSecs();
+	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
+	    		
+	    		_turretZeroStartTime = _hardware.GetTimeMSecs();
+	    		_turretZeroState = Turret_Zero_State.BEFORE_APPROACHING_SWITCH;
+	    		
+	    		//_crossDefenseAutonState = Cross_Defense_Auton_State.DRIVE_AND_ZERO;
+	    		_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.ZERO_AXES_AND_DRIVE;
+	    		_hardware.ReportError("Changing Auton State To: ZERO_AXES_AND_DRIVE | ");
+    	    	break;
+    			
+    		case AIM_AND_SHOOT:
+    			// puma up to cross defenses
+    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
+    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    			
+    			// perimeter expansion should be out the entire match
+    			//outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_IN;
+    			
+    			workingDataValues.AutonDriveFwdStartTime = _hardware.GetTimeMSecs();
+    			
+    			_sliderZeroStartTime = _hardware.GetTimeMSecs();
+	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
+	    		
+	    		_turretZeroStartTime = _hardware.GetTimeMSecs();
+	    		_turretZeroState = Turret_Zero_State.BEFORE_APPROACHING_SWITCH;
+    			
+    	    	_autoAimAndShootState = RobotData.Auto_Aim_And_Shoot_State.ZERO_AXES;
+    	    	_hardware.ReportError("Changing Auton State To: ZERO_AXES | ");
+    	    	
+    			break;
+    	    	
+    		default:
+    			break;
+    	}
+    }
+
+	// call the appropriate auton mode method, called every scan after the inputs are updated
+    public void AutonomousPeriodic()
+    {
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	
+    	switch(inputDataValues.AutonModeRequested)
+    	{
+    		case DO_NOTHING:
+    			autonomousDoNothing();
+    			break;
+    			
+    	    case ZERO_ALL_AXIS:
+    	     	autonomousZeroAllAxis();
+    	     	break;
+    	     	
+    	    case SHOOT_BALL:
+    	    	autonomousShootBall();
+    	    	break;
+    	    	
+    	    case DRIVE_FWD:
+    	    	autonomousDriveFwd();
+    	    	break;
+    	    	
+    	    case CROSS_DEFENSE:
+    	    	autonomousCrossDefense3();
+    	    	break;
+    	    
+    	    case AIM_AND_SHOOT:
+    	    	AimAndShoot();
+    	    	break;
+    	    	
+			default:
+				break;
+    	}
+    }
+
+    // this auton mode just does nothing
+    public void autonomousDoNothing()
+    {
+    }
+    
+    // this auton mode sits still and zeros all axes
+    public void autonomousZeroAllAxis()
+    {
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	if(!_isSliderAxisZeroedYet)
+    	{
+    		ZeroSliderAxisReEntrant(_robotLiveData);
+    	}
+    	else
+    	{
+    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+    	}
+    	
+    	if(!_isInfeedTiltAxisZeroedYet)
+    	{
+    		ZeroInfeedTiltAxisReEntrant(_robotLiveData);
+    	}
+    }
+    
+    // this auton mode supports shooting the ball usally from the spybot position
+    public void autonomousShootBall()
+    {
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	if(!_isSliderAxisZeroedYet)
+    	{
+    		//ZeroSliderAxisReEntrant(_robotLiveData, _sliderAutonPosition);
+    		ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
+    	}
+    	
+    	// Step 1: Infeed Until Limit Switch Is Hit
+    	// Step 2: Set Slider Position
+    	// Step 3: Set Puma Back Position
+    	// Step 4: Start Shooter and wait for 3600 RPM
+    	// Step 5: Shoot (drive infeed up)
+    	switch (workingDataValues.AutonShootBallState)
+    	{
+    		case INFEED_1:
+    			if (!inputDataValues.IsBallInPosition)
+        		{
+        			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+        			_hardware.ReportError("Ball not in position");
+        		}
+        		else if(inputDataValues.IsBallInPosition)
+        		{
+        			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
+        			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.ADJUST_SLIDER_2;
+        			_hardware.ReportError("ChangingAutonModeTo: ADJUST_SLIDER_2");
+        		}
+    			
+    			outputDataValues.ShooterMtrCurrentVelocityCmd = _autonShooterWheelTargetRPM;
+    			outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
+    			workingDataValues.AutonShooterStartTime = _hardware.GetTimeMSecs();
+    			break;
+    			
+    		case ADJUST_SLIDER_2:	
+				if(_isSliderAxisZeroedYet && (Math.abs(_sliderAutonPosition - inputDataValues.SliderCurrentPosition) < 2))
+				{
+					workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.CHANGE_PUMA_3;
+					_hardware.ReportError("ChangingAutonModeTo: CHANGE_PUMA_3");
+				}
+				else
+				{
+					_hardware.ReportError("Slider position not reached");
+				}
+    			break;
+    			
+    		case CHANGE_PUMA_3:
+    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.START_SHOOTER_4;
+    			_hardware.ReportError("ChangingAutonModeTo: START_SHOOTER_4");
+    			break;
+    			
+    		case START_SHOOTER_4:
+    			
+    			long elapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.AutonShooterStartTime);
+    			
+    			//workingDataValues.AutonShooterStartTime = _hardware.GetTimeMSecs();
+    			if (inputDataValues.ShooterActualSpeed > (_autonShooterWheelTargetRPM * 0.95))
+    			{
+    				workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.SHOOT_5;
+    				_hardware.ReportError("Shooter reached target speed");
+    				_hardware.ReportError("ChangingAutonModeTo: SHOOT_5");
+    				_hardware.ReportError("Shooter motor speed: " + inputDataValues.ShooterActualSpeed);
+    			}
+    			else if (elapsedTime  >= RobotMap.SHOOTER_AUTON_START_MAX_TIME)
+	    		{
+	    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.SHOOT_5;
+	    			_hardware.ReportError("Shooter Timeout: waiting for target speed");
+	    			_hardware.ReportError("ChangingAutonModeTo: SHOOT_5");
+	    			_hardware.ReportError("Shooter motor speed: " + inputDataValues.ShooterActualSpeed);
+	    		}
+    			break;
+    		
+    		case SHOOT_5:
+    			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+    			_hardware.ReportError("ChangingAutonModeTo: WAIT_FOR_BALL_TO_SHOOT_6");
+    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.WAIT_FOR_BALL_TO_SHOOT_6;
+    			workingDataValues.AutonShooterStartTime = _hardware.GetTimeMSecs();
+    			break;
+    		
+    		case WAIT_FOR_BALL_TO_SHOOT_6:
+    			long shooterElapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.AutonShooterStartTime);
+    			if (shooterElapsedTime  >= RobotMap.SHOOTER_AUTON_RUN_MAX_TIME)
+	    		{
+    				workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.STOP_SHOOTER_7;
+    				_hardware.ReportError("ChangingAutonModeTo: STOP_SHOOTER_7");
+	    		}
+    			break;
+    		
+    		case STOP_SHOOTER_7:
+    			outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
+    			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
+    			outputDataValues.KickerMtrVelocityCmd = 0.0;
+    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.AUTON_FINISHED_10;
+    			_hardware.ReportError("ChangingAutonModeTo: AUTON_FINISHED_10");
+    			break;
+    			
+    		case AUTON_FINISHED_10:
+    			break;
+    			
+    		default:
+    			break;
+    	}
+    }
+    
+    // This Auton mode supports driving formward usually across the defenses
+    public void autonomousDriveFwd()
+    {
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	long driveFwdElapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.AutonDriveFwdStartTime);
+		if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
+    	{
+    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
+    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+    	}
+    	else
+    	{
+        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
+        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+    	}
+    }
+    
+    // This Auton mode supports drive across the defenses and just maybe shootng the ball
+    public void autonomousCrossDefense()
+    {
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	VisionSnapshot visionData = _hardware.GetVisionData();
+    	/*
+    	if(!_isSliderAxisZeroedYet)
+    	{
+    		ZeroSliderAxisReEntrant(_robotLiveData);
+    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
+    	}
+    	else
+    	{
+    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+    	}
+    	
+    	if (!_isTurretAxisZeroedYet)
+    	{
+    		ZeroTurretAxisReEntrant(_robotLiveData);
+    	}
+    
+    	
+    	// how long have we been driving
+    	long driveFwdElapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.AutonDriveFwdStartTime);
+    	
+		if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
+    	{
+    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
+    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+    	}
+    	else
+    	{
+        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
+        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+        	
+    		// drive to default position
+	    	outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(_turretAutonPosition);
+	    	_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
+	    	_hardware.ReportError("Turret target position: " + Double.toString(_turretAutonPosition));
+	    	
+	    	long startTime = _hardware.GetTimeMSecs();
+	    	long elapsedTime = 0L;
+	    	long maxTimeInMSec = 5000; // 5 secs
+	    	
+	    	// wait until we get close to the target
+	    	while((Math.abs(_turretMtr.getClosedLoopError()) > 400) && !isTimeout)
+	    	{	
+	        	elapsedTime = (_hardware.GetTimeMSecs() - startTime);
+	    		
+	    		if (elapsedTime  >= maxTimeInMSec)
+	    		{
+	    			isTimeout = true;
+	    		}
+	    	}
+	    	
+	    	// now move to regular gains after the big move
+	    	if (Math.abs(_turretMtr.getClosedLoopError()) < 400)
+	    	{
+	    		_turretMtr.setPID(RobotMap.TURRET_FAST_KP, RobotMap.TURRET_FAST_KI, RobotMap.TURRET_FAST_KD, RobotMap.TURRET_FAST_KF, RobotMap.TURRET_FAST_IZONE, RobotMap.TURRET_FAST_RAMPRATE, RobotMap.TURRET_FAST_PROFILE);
+	    		_turretMtr.setProfile(RobotMap.TURRET_FAST_PROFILE);
+	    		_hardware.ReportError("Fast turret profile set");
+	    	}
+    	}
+    	*/
+    	long driveFwdElapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.AutonDriveFwdStartTime);
+    	
+		switch (_crossDefenseAutonState)
+		{
+			case DRIVE_AND_ZERO:
+				// Zero the slider and turret axis
+				if(!_isSliderAxisZeroedYet)
+		    	{
+		    		ZeroSliderAxisReEntrant(_robotLiveData);
+		    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
+		    	}
+		    	else
+		    	{
+		    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+		    	}
+		    	
+		    	if (!_isTurretAxisZeroedYet)
+		    	{
+		    		ZeroTurretAxisReEntrant(_robotLiveData);
+		    	}
+		    	
+		    	// drive forward for the set time and speed selected on the dashboard
+		    	if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
+		    	{
+		    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
+		    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+		    	}
+		    	else
+		    	{
+		        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
+		        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+		    	}
+		    	
+		    	// if both axis are zeroed and we've moved for the set time, go to the next state
+		    	if (_isSliderAxisZeroedYet && _isTurretAxisZeroedYet && (driveFwdElapsedTime  >= _autonTargetDriveTimeMSecs))
+    			{
+		    		_crossDefenseAutonState = Cross_Defense_Auton_State.COARSE_TURRET_TO_TARGET;
+		    		_hardware.ReportError("Changing Auton State To: COARSE_TURRET_TO_TARGET");
+    			}
+    			
+				break;
+				
+			case COARSE_TURRET_TO_TARGET:
+				// Drive the turret to a preset position based on the location of the defense to get us close enough to ensure valid vision data
+				outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(_turretAutonPosition);
+		    	_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
+		    	_hardware.ReportError("Turret target position: " + Double.toString(_turretAutonPosition));
+		    	
+		    	// Make sure ball goes up to the limit switch
+    			if (!inputDataValues.IsBallInPosition)
+        		{
+        			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+        			_hardware.ReportError("Ball not in position");
+        		}
+        		else if(inputDataValues.IsBallInPosition)
+        		{
+        			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
+        			_hardware.ReportError("Ball in position");
+        		}
+    			
+    			// if the ball is on the limit switch and the turret is within the deadband, move to the next state
+    			if (inputDataValues.IsBallInPosition && (Math.abs(_turretMtr.getClosedLoopError()) < RobotMap.TURRET_AUTON_MAX_CLOSED_LOOP_ERROR))
+    			{
+    				_turretMtr.setPID(RobotMap.TURRET_MEDIUM_KP, RobotMap.TURRET_MEDIUM_KI, RobotMap.TURRET_MEDIUM_KD, RobotMap.TURRET_MEDIUM_KF, RobotMap.TURRET_MEDIUM_IZONE, RobotMap.TURRET_MEDIUM_RAMPRATE, RobotMap.TURRET_MEDIUM_PROFILE);
+		    		_turretMtr.setProfile(RobotMap.TURRET_MEDIUM_PROFILE);
+		    		_hardware.ReportError("Fast turret profile set");
+    				
+    				_crossDefenseAutonState = Cross_Defense_Auton_State.FINE_TURRET_TO_TARGET;
+    				_hardware.ReportError("Changing Auton State To: FINE_TURRET_TO_TARGET");
+    			}
+				break;
+				
+			case FINE_TURRET_TO_TARGET:
+				if (visionData != null && visionData.IsValidData){
+					outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(inputDataValues.TurretEncoderCurrentPosition
+																+ ((RobotMap.TURRET_GEAR_RATIO * inputDataValues.DesiredTurretTurnInDegrees)/360.0));
+					_hardware.ReportError("Desired Turret Turn: " + Double.toString(inputDataValues.DesiredTurretTurnInDegrees));
+					_hardware.ReportError("Turret Target Position Cmd: " + Double.toString(outputDataValues.TurretTargetPositionCmd));
+					
+					if (Math.abs(visionData.DesiredTurretTurnInDegrees) < RobotMap.TURRET_AUTON_MAX_ADJUSTABLE_ERROR_IN_DEGREES)
+					{
+						_crossDefenseAutonState = Cross_Defense_Auton_State.SHOOT;
+						_hardware.ReportError("Changing Auton State To: SHOOT");
+					}
+				}
+				else 
+				{
+					_hardware.ReportError("Not recieving valid vision data");
+				}
+				break;
+				
+			case SHOOT:
+				outputDataValues.ShooterMtrCurrentVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
+				outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
+				
+				if (inputDataValues.ShooterActualSpeed > (RobotMap.SHOOTER_TARGET_MOTOR_RPM * 0.95))
+				{
+					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+				}
+				break;
+				
+			case TIMEOUT:
+				_hardware.ReportError("Cross Defense Auton Timed Out");
+				break;	
+		}	
+    }
+    
+    public void autonomousCrossDefense2()
+    {
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+
+    	
+    	if(!_isSliderAxisZeroedYet)
+    	{
+    		ZeroSliderAxisReEntrant(_robotLiveData);
+    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
+    	}
+    	else
+    	{
+    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+    	}
+    	
+    	if (!_isTurretAxisZeroedYet)
+    	{
+    		ZeroTurretAxisReEntrant(_robotLiveData);
+    	}
+    
+    	
+    	// how long have we been driving
+    	long driveFwdElapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.AutonDriveFwdStartTime);
+    	
+		if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
+    	{
+    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
+    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+    	}
+    	else
+    	{
+        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
+        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+        	
+    		// drive to default position
+	    	outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(_turretAutonPosition);
+	    	_hardware.ReportError("Turret target position: " + Double.toString(_turretAutonPosition));
+	    	
+	    	double turretPositionErrorInRotations = outputDataValues.TurretTargetPositionCmd - _turretMtr.getPosition(); 
+	    	_hardware.ReportError("Turret Position Error: " + Double.toString(turretPositionErrorInRotations) + "| ");
+	    	if (Math.abs(turretPositionErrorInRotations) > 0.5)
+			{
+				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+				{
+					// switch to % VBUS Mode
+    				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+    				_hardware.ReportError("Turret changing to PercentVBus mode");
+				}
+				
+				if (turretPositionErrorInRotations > 0)
+				{
+    				outputDataValues.TurretVelocityCmd = 0.10;
+    				//_hardware.ReportError("Turret Speed at 10% | ");
+				}
+				else
+				{
+    				outputDataValues.TurretVelocityCmd = -0.10;
+    				//_hardware.ReportError("Turret Speed at -10% | ");
+				}    					
+			}
+			else
+			{
+				//_autoAimAndShootState = Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET;
+				_hardware.ReportError("Switching to coarse adjustmennt");
+				outputDataValues.TurretVelocityCmd = 0.0;
+			}
+	    	
+	    	if (_hardware.GetVisionData() != null)
+	    	{
+	    		_hardware.ReportError("Desired Turret Turn: " + Double.toString(inputDataValues.DesiredTurretTurnInDegrees));
+	    	}
+    	}
+    }
+    
+    public void autonomousCrossDefense3()
+    {
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	VisionSnapshot visionData = _hardware.GetVisionData();
+    	    	
+    	switch (_crossDefenseAutoAimAndShootState)
+    	{
+	    	case ZERO_AXES_AND_DRIVE:
+	    		
+	    		// zero the Slider Axis
+    	    	if(!_isSliderAxisZeroedYet)
+    	    	{
+    	    		ZeroSliderAxisReEntrant(_robotLiveData);
+    	    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
+    	    	}
+    	    	else
+    	    	{
+    	    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+    	    	}
+    	    	
+    	    	// Zero the Turret
+    	    	if (!_isTurretAxisZeroedYet)
+    	    	{
+    	    		ZeroTurretAxisReEntrant(_robotLiveData);
+    	    	}
+    	    	
+    	    	// how long have we been driving
+    	    	long driveFwdElapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.AutonDriveFwdStartTime);
+    	    	
+    	    	if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
+    	    	{
+    	    		// drive forward
+    	    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
+    	    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+    	    	}
+    	    	else
+    	    	{
+    	    		// stop driving
+    	        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
+    	        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
+    	    	}
+    	    	
+    	    	// how far is the slider from the desired location?
+    	    	double sliderPositionError = Math.abs(outputDataValues.SliderTargetPositionCmd - _sliderMtr.getPosition());
+    	    	
+    	    	// check the exit conditions for this state
+    	    	if(_isSliderAxisZeroedYet 
+    	    			&& _isTurretAxisZeroedYet 
+    	    			&& (sliderPositionError < 1.0) 
+    	    			&& (driveFwdElapsedTime  >= _autonTargetDriveTimeMSecs)
+    	    			&& (outputDataValues.SliderTargetPositionCmd == RobotMap.SLIDER_DEFAULT_TARGET_POSITION))
+    	    	{
+    	    		_hardware.ReportError("Changing Auton State To: GROSS_TURRET_TO_TARGET | ");
+    	    		_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.GROSS_TURRET_TO_TARGET;
+    	    		
+    	    		//_hardware.ReportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ");
+    				//_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
+    	    	}
+    			break;
+    			
+    		case GROSS_TURRET_TO_TARGET:
+    			
+    			/*
+    			     				case ZERO:
+    					_turretAutonPosition = 0.0;
+    					break;
+    					
+    				case TWO:
+    					_turretAutonPosition = 0.18;
+    					break;
+    					
+    				case THREE:
+    					_turretAutonPosition = -0.13;
+    					break;
+    					
+    				case FOUR:
+    					_turretAutonPosition = -0.55;
+    					break;
+    					
+    				case FIVE:
+    					_turretAutonPosition = -1.0;
+    					break;
+    			*/
+    			
+    			// how far is the turrent from the desired location?
+    			double turretPositionErrorInRotations = CalcTurretTargetPosition(_turretAutonPosition) - _turretMtr.getPosition(); 
+    			
+    			if (Math.abs(turretPositionErrorInRotations) > 0.25)
+    			{
+    				if ((inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
+    						&& (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS))
+    				{
+	    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+	    				{
+	    					// switch to % VBUS Mode
+	        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+	        				_hardware.ReportError("Turret changing to PercentVBus mode");
+	    				}
+	    				
+	    				if (turretPositionErrorInRotations > 0)
+	    				{
+	        				outputDataValues.TurretVelocityCmd = 0.12;
+	        				//_hardware.ReportError("Turret Speed at 10% | ");
+	    				}
+	    				else
+	    				{
+	        				outputDataValues.TurretVelocityCmd = -0.12;
+	        				//_hardware.ReportError("Turret Speed at -10% | ");
+	    				}  
+    				}
+    				else
+    				{
+    					outputDataValues.TurretVelocityCmd = 0.0;
+    					_hardware.ReportError("Turret soft limit reached in auton");
+    				}
+    			}
+    			else
+    			{
+    				_hardware.ReportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ");
+    				_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
+    			}
+    			break;
+    			
+    		case COARSE_TURRET_TO_TARGET:
+    			if (visionData != null && visionData.IsValidData == true){
+    				outputDataValues.TurretVelocityCmd = 0.0;
+    				
+	    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_COARSE_ADJUST_DEADBAND) // Originally was 10
+	    			{
+	    				if ((inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
+	    						&& (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS))
+	    				{
+		    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+		    				{
+		    					// switch to % VBUS Mode
+		        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+		        				_hardware.ReportError("Turret changing to PercentVBus mode");
+		    				}
+		    				
+		    				if (visionData.DesiredTurretTurnInDegrees > 0)
+		    				{
+			    				outputDataValues.TurretVelocityCmd = RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
+			    				//_hardware.ReportError("Turret Speed at 10% | ");
+		    				}
+		    				else
+		    				{
+			    				outputDataValues.TurretVelocityCmd = -1.0 * RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
+			    				//_hardware.ReportError("Turret Speed at -10% | ");
+		    				} 
+	    				}
+	    				else
+	    				{
+	    					outputDataValues.TurretVelocityCmd = 0.0;
+	    					_hardware.ReportError("Turret soft limit reached in auton");
+	    				}
+	    			}
+	    			else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 0.0)
+	    			{
+	    				_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET;
+	    				_currentTurretVBusCmdBias = 0;
+	    				//outputDataValues.TurretVelocityCmd = 0.0;
+						_hardware.ReportError("Changing Auton State To: FINE_TURRET_TO_TARGET | ");
+	    			}
+	    			else
+	    			{
+	    				_hardware.ReportError("Coarse Vision Data looks invalid" );
+	    			}
+    			}
+    			else
+    			{
+    				_hardware.ReportError("Vision Data looks invalid");
+    			}
+    			//_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    			//_hardware.ReportError("Turret Velocity Cmd: " + Double.toString(outputDataValues.TurretVelocityCmd) + "| ");
+    			break;
+    			
+    		case FINE_TURRET_TO_TARGET:
+    			
+    			_hardware.ReportError("TopVisionCmd= " + visionData.DesiredTurretTurnInDegrees + " | ");
+    			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0; // in case we looped back from shoot mode
+    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_FINE_ADJUST_DEADBAND) // Originally was 1.5
+    			{
+    				if ((inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
+    						&& (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS))
+    				{
+	    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+	    				{
+	    					// switch to % VBUS Mode
+	        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+	        				_hardware.ReportError("Turret changing to PercentVBus mode");
+	    				}
+	    				
+	    				// calc new bias if we have not moved
+	    				if((_turretEncoderLastScanPosition != 0)
+	    						&& (_turretEncoderLastScanPosition == inputDataValues.TurretEncoderCurrentPosition))
+	    				{
+	    					// if we have not moved since last scan, bump bias
+	    					if (_currentTurretVBusCmdBias < RobotMap.TURRET_VBUS_CMD_MAX_BUMP)
+	    					{
+		    					_currentTurretVBusCmdBias = (_currentTurretVBusCmdBias + RobotMap.TURRET_VBUS_CMD_BUMP);
+		    					_hardware.ReportError("Fine adjustment vbus cmd increased");
+	    					}
+	    					else 
+	    					{
+	    						_hardware.ReportError("Fine adjustment vbus cmd maxed out");
+	    					}
+	    				}
+	    				else 
+	    				{
+	    					_currentTurretVBusCmdBias = 0.0;
+	    					_hardware.ReportError("V bus cmd bias reset");
+	    				}
+	    				
+	    				// decide what direction turn
+	    				if (visionData.DesiredTurretTurnInDegrees > 0)
+	    				{
+		    				outputDataValues.TurretVelocityCmd = (RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED + _currentTurretVBusCmdBias) ;
+		    				//_hardware.ReportError("Turret Speed at 5% | ");
+	    				}
+	    				else
+	    				{
+		    				outputDataValues.TurretVelocityCmd = -1.0 * (RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED + _currentTurretVBusCmdBias);
+		    				//_hardware.ReportError("Turret Speed at -5% | ");
+	    				}
+	    				
+	    				_turretEncoderLastScanPosition = inputDataValues.TurretEncoderCurrentPosition;
+    				}
+    				else
+    				{
+    					outputDataValues.TurretVelocityCmd = 0.0;
+    					_hardware.ReportError("Turret soft limit reached in auton");
+    				}
+    			}
+    			else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 0.0)
+    			{
+    	    		// switch to PID Position Mode
+    	    		
+    	    		// stop driving the axis
+    	    		outputDataValues.TurretVelocityCmd = 0;
+    		    	//_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    	    		
+    		    	// now switch to position loop mode
+    		    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+    		    	outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
+    		    	_hardware.ReportError("Turret changing to Position mode | ");
+    		    	
+    		    	try {
+    		    		 //sleep a little to let the zero occur
+    					_hardware.Sleep(1);
+    				} catch (InterruptedException e) {
+    					 //TODO Auto-generated catch block
+    					e.printStackTrace();
+    				}
+    				
+    		    	_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.SHOOT;
+					_hardware.ReportError("Changing Auton State To: SHOOT | ");
+					_hardware.ReportError("VisionCmd= " + visionData.DesiredTurretTurnInDegrees + " | ");
+					_hardware.ReportError("VisionCmd= " + visionData.IsValidData + " | ");
+    			}
+    			else
+    			{
+    				_hardware.ReportError("Fine Vision Data looks invalid" );
+    			}
+    			_hardware.ReportError("Turret Velocity Cmd: " + Double.toString(outputDataValues.TurretVelocityCmd) + "| ");
+    			//_turretMtr.set(outputDataValues.TurretVelocityCmd);
+				break;
+    			
+    		case SHOOT:
+				// wait until we reach 95% of target wheel speed
+    			if (Math.abs(_hardware.GetRawAccelX()) > 0.0)
+    			{
+    				_hardware.ReportError("AccelX= " + _hardware.GetRawAccelX() + " | ");
+    			}
+    			if (Math.abs(_hardware.GetRawAccelY()) > 0.0)
+    			{
+    				_hardware.ReportError("AccelY= " + _hardware.GetRawAccelY() + " | ");
+    			}
+    			
+				if (inputDataValues.ShooterActualSpeed > (RobotMap.SHOOTER_TARGET_MOTOR_RPM * 0.95))
+				{
+					// start the infeed to drive the ball up into the shooter
+					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+				}
+				// drive both sets of wheels
+    			outputDataValues.ShooterMtrCurrentVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
+				outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
+    			break;
+    			
+    		case TIMEOUT:
+    			_hardware.ReportError("Error... Auto Aim and Shoot sequence timed out | ");
+    			break;
+    	}
+    }
+
+	// ========================================================================
+	// Telop
+	// ========================================================================
+
+	// setup the initial telop values (motor cmds, solenoid defaults, toggles & elevator state)
+    public void TeleopInit(RobotData robotLiveData)
+    {
+    	_robotLiveData = robotLiveData;
+    	
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	// set motors to 0 position/velocity command 
+    	outputDataValues.ArcadeDriveThrottleAdjCmd = 0.0;
+    	outputDataValues.ArcadeDriveTurnAdjCmd = 0.0;
+    	outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
+    	outputDataValues.InfeedTiltMtrVelocityCmd = 0.0;
+    	outputDataValues.CupidServoPositionCmd = 0.0;
+    	    	
+    	outputDataValues.KickerMtrVelocityCmd = 0.0;
+    	outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
+    	outputDataValues.ShooterMtrTargetVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
+    	outputDataValues.SliderVelocityCmd = 0.0;
+    	    	
+    	// init the drive speed scaling factor to 70%
+    	workingDataValues.DriveSpeedScalingFactor = 0.7;
+
+    	// set our desired default state for the puma solenoids
+    	outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
+    	outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    	outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_OUT;
+    	
+    	// set initial state of "pressed last scan" working values to be false
+    	workingDataValues.IsPumaFrontToggleBtnPressedLastScan = false;
+    	workingDataValues.IsPumaBackToggleBtnPressedLastScan = false;
+    	
+    	inputDataValues.IsInfeedAcquireBtnPressed = false;
+    	inputDataValues.IsInfeedReleaseBtnPressed = false;
+    	workingDataValues.IsTurretEncoderDegreesTargetYet = false;
+    	workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
+    	_hardware.ReportError("Elevator switching to HONOR_INFEED_TRIGGERS state");
+    	
+    	_isInfeedPeriodZeroMode = false;
+    	
+    	_and1ServoDirState = And1_Servo_Dir_State.UNDEFINED;
+    	
+    	workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2800;
+    	outputDataValues.ShooterMtrAltTargetVelocityCmd = 2800;
+    	
+    	workingDataValues.IsShooterAltModeEnabledLastScan = false;
+    }
+
+	// zero the absolute position axes that have not been zeroed yet (blocking)
+    public void TeleopZeroAxes()
+    {
+    	//get local references to make variable references shorter
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	if (!_isTurretAxisZeroedYet)
+    	{
+    		ZeroTurretAxis(_robotLiveData);
+    	}
+    	else
+    	{
+    		outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
+    	}
+    	
+    	if (!_isInfeedTiltAxisZeroedYet)
+    	{
+    		ZeroInfeedTiltAxis(_robotLiveData);
+    	}
+    	else 
+    	{
+    		outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
+    	}
+    	
+    	if (!_isSliderAxisZeroedYet)
+    	{
+    		ZeroSliderAxis(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
+    	}
+    	else
+    	{
+    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+    	}
+    }
+
+	// calc the new telop working & output values, called every scan after the inputs are updated
+    public void TeleopPeriodic()
+    {
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	outputDataValues.DriversStationMsg = "";    
+    	
+    	// =====================================
+    	// === Step 2.1: Calc New Drive Motor Speeds ===
+    	// =====================================
+    	// set the drive speed scale factor (currently we support 0.7 & 1.0)
+    	// 	notes: 	this is a toggle,  the previous value is retained between scans
+    	//			need to de-bounce key press since the scan rate is so fast 
+    	if(inputDataValues.IsScaleDriveSpeedUpBtnPressed 
+    			&& inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	{
+    		// Don't change scale factor if both buttons are pressed
+    	}
+    	else if(inputDataValues.IsScaleDriveSpeedUpBtnPressed 
+    			&& !inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	{
+    		// scale up
+    		workingDataValues.DriveSpeedScalingFactor = 1;
+    	}
+    	else if(!inputDataValues.IsScaleDriveSpeedUpBtnPressed
+    			&& inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	{
+    		// scale down
+    		workingDataValues.DriveSpeedScalingFactor = 0.65;
+    	}
+    	else if(!inputDataValues.IsScaleDriveSpeedUpBtnPressed 
+    			&& !inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	{
+    		// if neither button is pressed do nothing
+    	}
+    	
+    	// =====================================
+    	// This code block implements a Robot Chassis "tilt safety" feature
+    	//		if the chassis tilt angle as measured by the NavX sensor exceeds a threshhold, override the operator input to prevent tipping 
+    	// =====================================
+    	double tiltSafetyScalingFactor = 1.0;
+    	double kissCamSpeedReductionFactor = 1.0;
+    	
+    	if (_currentCameraName == RobotMap.CUPID_CAMERA_NAME)
+    	{
+    		kissCamSpeedReductionFactor = 0.5;
+    	}
+    	else
+    	{
+    		kissCamSpeedReductionFactor = 1.0;
+    	}
+    	
+    	if(inputDataValues.NavxIsConnected)
+    	{
+    		// based on direction
+    		if (inputDataValues.ArcadeDriveThrottleRawCmd < 0.0)
+    		{
+    			// "fwd" direction is towards the flyer 
+    			if (inputDataValues.NavxRoll >= RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_CUTOFF)
+    			{
+    				tiltSafetyScalingFactor = -0.4;
+    				_hardware.ReportError("Fwd Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
+    											+ " Exceeds Cutoff: " + String.format("%.1f", RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_CUTOFF) 
+    											+ " Safety Engaged|");
+    				workingDataValues.IsFwdDriveTiltSafetyEngagedLastScan = true;
+    			}
+    			else if (inputDataValues.NavxRoll >= RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_REENABLE && workingDataValues.IsFwdDriveTiltSafetyEngagedLastScan)
+    			{
+    				tiltSafetyScalingFactor = 0.0;
+    				_hardware.ReportError("Fwd Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
+												+ " Exceeds Reenable: " + String.format("%.1f", RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_REENABLE) 
+												+ " Safety Still Engaged|");
+    			}
+    			else
+    			{
+    				workingDataValues.IsFwdDriveTiltSafetyEngagedLastScan = false;
+    			}
+    		}
+    		else if (inputDataValues.ArcadeDriveThrottleRawCmd > 0.0)
+    		{
+    			// "rev" direction is opposite the flyer 
+    			if (inputDataValues.NavxRoll <= RobotMap.ROBOT_REV_DRIVE_MAX_TILT_CUTOFF)
+    			{
+    				tiltSafetyScalingFactor = -0.4;
+    				_hardware.ReportError("Rev Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
+    											+ " Exceeds Cutoff: " + String.format("%.1f", RobotMap.ROBOT_REV_DRIVE_MAX_TILT_CUTOFF) 
+    											+ " Safety Engaged|");
+    				
+    				workingDataValues.IsRevDriveTiltSafetyEngagedLastScan = true;
+    			}
+    			else if (inputDataValues.NavxRoll <= RobotMap.ROBOT_REV_DRIVE_MAX_TILT_REENABLE && workingDataValues.IsRevDriveTiltSafetyEngagedLastScan)
+    			{
+    				tiltSafetyScalingFactor = 0.0;
+    				_hardware.ReportError("Rev Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
+												+ " Exceeds Reenable: " + String.format("%.1f", RobotMap.ROBOT_REV_DRIVE_MAX_TILT_REENABLE) 
+												+ " Safety Still Engaged|");
+    			}
+    			else
+    			{
+    				workingDataValues.IsRevDriveTiltSafetyEngagedLastScan = false;
+    			}
+    		}
+    	}
+    	
+    	outputDataValues.ArcadeDriveThrottleAdjCmd 
+    			= inputDataValues.ArcadeDriveThrottleRawCmd * workingDataValues.DriveSpeedScalingFactor
+    				* tiltSafetyScalingFactor * kissCamSpeedReductionFactor; 
+    	if (!_isClimbEnabled){
+	    	outputDataValues.ArcadeDriveTurnAdjCmd 
+	    			= inputDataValues.ArcadeDriveTurnRawCmd * workingDataValues.DriveSpeedScalingFactor * tiltSafetyScalingFactor * 0.6;
+    	}
+
+    	// =====================================
+    	// Step 2.2:  Infeed Tilt (Tilt the infeed up and down)
+    	// =====================================    	
+    	if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.Position)
+    	{
+    		if (_isInfeedPeriodZeroMode && !_isInfeedTiltAxisZeroedYet)
+    		{
+    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
+    		}
+    		else if (_isInfeedPeriodZeroMode && _isInfeedTiltAxisZeroedYet)
+    		{
+    			_infeedTiltMtr.set(RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS);
+    			_isInfeedPeriodZeroMode = false;
+    			_hardware.ReportError("Infeed Tilt encoder rezeroed");
+    		}
+    		else if (inputDataValues.IsInfeedTiltDeployBtnPressed && !inputDataValues.IsInfeedTiltStoreBtnPressed)
+    		{
+    			// rotate down;
+    			outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_DEPLOYED_POSITION_CMD;
+    		}
+    		else if (!inputDataValues.IsInfeedTiltDeployBtnPressed && inputDataValues.IsInfeedTiltStoreBtnPressed && !workingDataValues.IsInfeedTiltStoreBtnPressedLastScan)
+    		{
+    			// rotate up
+    			//outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
+    			
+    			// special zero mode in periodic
+    			_isInfeedPeriodZeroMode = true;
+    			_isInfeedTiltAxisZeroedYet = false;
+    			_infeedTiltZeroState = Infeed_Tilt_Zero_State.TILT_TO_HOME;
+    			_infeedTiltZeroStartTime = _hardware.GetTimeMSecs();
+    			
+    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
+    			//outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS;
+    		}
+    		else if (inputDataValues.IsInfeedTiltFixedBtnPressed && !workingDataValues.IsInfeedTiltFixedBtnPressedLastScan)
+    		{
+    			//outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_FIXED_POSITION_CMD;
+    			// No longer required with smaller infeed (originally used as a counterweight)
+    		}
+    		else if (!inputDataValues.IsInfeedTiltDeployBtnPressed && !inputDataValues.IsInfeedTiltStoreBtnPressed)
+    		{
+    			if ((inputDataValues.InfeedTiltUpCmd > 0.1) && (inputDataValues.InfeedTiltDownCmd < 0.1))		// remember, "up" on the joystick is a - value, (we use .1 as joystick deadband)
+    			{
+    				outputDataValues.InfeedTiltTargetPositionInRotationsCmd = outputDataValues.InfeedTiltTargetPositionInRotationsCmd + 0.01;
+    				
+    				// If the position is greater than 90 degrees = 0.25 rotations, prevent infeed from continuing to drive up
+    				if (outputDataValues.InfeedTiltTargetPositionInRotationsCmd > RobotMap.INFEED_TILT_STORED_POSITION_CMD)
+    				{
+    					_hardware.ReportError("Upper Soft Limit Reached");
+    					outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
+    				}
+    			}
+    			else if ((inputDataValues.InfeedTiltUpCmd < 0.1) && (inputDataValues.InfeedTiltDownCmd > 0.1))	// remember, "down" on the joystick is a + value, (we use .1 as joystick deadband)
+    			{
+    				outputDataValues.InfeedTiltTargetPositionInRotationsCmd = outputDataValues.InfeedTiltTargetPositionInRotationsCmd - 0.01;
+    				
+    				// If the position is less than 0 degrees = -0.13 rotations, prevent infeed from continuing to drive down
+    				if (outputDataValues.InfeedTiltTargetPositionInRotationsCmd < RobotMap.INFEED_TILT_LOWER_LIMIT_PUMA_UP)
+    				{
+    					_hardware.ReportError("Lower Soft Limit Reached");
+    					outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_LOWER_LIMIT_PUMA_UP;
+    				}
+    			}
+    			else
+    			{
+    				// else we are within the joystick deadband, so do nothing
+    			}
+    		}
+    	}
+    	else if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
+    	{
+    		if (_isInfeedPeriodZeroMode && !_isInfeedTiltAxisZeroTimedOut)
+    		{
+    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
+    		}
+    		else if (_isInfeedPeriodZeroMode && _isInfeedTiltAxisZeroTimedOut && inputDataValues.IsInfeedTiltStoreBtnPressed)
+    		{
+    			// if infeed fails to zero (ex. if ball was in the elevator) restart the zero function 
+    			
+    			// special zero mode in periodic
+    			_isInfeedPeriodZeroMode = true;
+    			_isInfeedTiltAxisZeroedYet = false;
+    			_isInfeedTiltAxisZeroTimedOut = false;
+    			_infeedTiltZeroState = Infeed_Tilt_Zero_State.TILT_TO_HOME;
+    			_infeedTiltZeroStartTime = _hardware.GetTimeMSecs();
+    			
+    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
+    			
+    		}
+    		else
+    		{
+    			// we determined that 9% will roughly hold the axis at its current position when the axis is near flat
+        		outputDataValues.InfeedTiltMtrVelocityCmd = 0.09;
+    		}
+    	}
+    	
+    	// =====================================
+    	// Step 2.3 Infeed Acquisition 
+    	// =====================================
+    	// Run infeed motors based on command from acquire and release buttons
+    	if(inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
+    	{
+    		// do nothing if both buttons are pressed
+    	}
+    	
+    	// implement state machine for the the elevator controls
+    	switch (workingDataValues.TeleopElevatorState)
+    	{    			
+    		case HONOR_INFEED_TRIGGERS:
+    			
+    			if (inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+    				if(inputDataValues.IsBallInPosition)
+    				{
+    					// stop infeed
+	        			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
+	        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.ON_BALL_IN_POSITION_SWITCH;
+	        			_hardware.ReportError("Elevator switching to ON_BALL_IN_POSITION_SWITCH state");
+    				}
+    				else
+    				{
+	    				// drive infeed at full speed fwd
+	        			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+    				}
+    			}
+    			else if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+    				// drive infeed at full speed reverse
+        			outputDataValues.InfeedAcqMtrVelocityCmd = -1.0;
+    			}
+    			else
+    			{
+    				// stop infeed
+    				outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
+    			}
+    			break;
+    			
+    		case ON_BALL_IN_POSITION_SWITCH:
+    			workingDataValues.InfeedPauseOnBallInPositionSwitchStartTime = _hardware.GetTimeMSecs();
+    			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.IN_DELAY_PERIOD;
+    			_hardware.ReportError("Elevator switching to IN_DELAY_PERIOD state");
+    			break;
+    				
+    		case IN_DELAY_PERIOD:
+    			if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+    				// drive infeed at full speed reverse
+        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
+        			_hardware.ReportError("Elevator switching to INFEED_TRIGGER_PRESSED state");
+    			}
+    			else
+    			{
+    				// see how long we have been paused
+    				long elapsedTime = (_hardware.GetTimeMSecs() - workingDataValues.InfeedPauseOnBallInPositionSwitchStartTime);
+    				
+    				if(elapsedTime > 1000)	// we always want to pause the infeed for 1 sec
+    				{
+    					workingDataValues.TeleopElevatorState = Teleop_Elevator_State.POST_DELAY_TRIGGER_RELEASED;
+    	    			_hardware.ReportError("Elevator switching to POST_DELAY_TRIGGER_RELEASED state");
+    				}
+    				else if (inputDataValues.IsElevatorTimerOverrideBtnPressed)
+    				{
+    					workingDataValues.TeleopElevatorState = Teleop_Elevator_State.POST_DELAY_TRIGGER_RELEASED;
+    	    			_hardware.ReportError("Elevator switching to POST_DELAY_TRIGGER_RELEASED state");
+    				}
+    			}
+    			break;
+    			
+    		case POST_DELAY_TRIGGER_RELEASED:
+    			if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
+        			_hardware.ReportError("Elevator switching to HONOR_INFEED_TRIGGERS state");
+    			}
+    			else if (!inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+    				workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS_AFTER_SWITCH;
+        			_hardware.ReportError("Elevator switching to HONOR_INFEED_TRIGGERS_AFTER_SWITCH state");
+    			}
+    			break;
+    			
+    		case HONOR_INFEED_TRIGGERS_AFTER_SWITCH:
+    			if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
+        			_hardware.ReportError("Elevator switching to HONOR_INFEED_TRIGGERS state");
+    			}
+    			else if (inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+    				if(!inputDataValues.IsBallInPosition)
+    				{
+    					workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
+            			_hardware.ReportError("Elevator switching to HONOR_INFEED_TRIGGERS state");
+    				}
+    				else
+    				{
+    					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+    				}
+    			}
+    			else if (!inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
+    			{
+    				outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
+    			}
+    			break;
+    	}
+    	    	
+    	// =====================================
+    	// Step 2.4: Turret 
+    	// =====================================
+    	
+    	// Determine what mode we shoudl be in %VBus or PID Position
+    	if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.Position
+    			&& ((inputDataValues.TurretCCWRawVelocityCmd > 0.1) || (inputDataValues.TurretCWRawVelocityCmd > 0.1)))
+    	{
+    		// switch to % VBUS Mode
+    		_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+    		_hardware.ReportError("Turret changing to PercentVBus mode");
+    	}
+    	else if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus 
+    			&& ((inputDataValues.TurretCCWRawVelocityCmd < 0.1) && (inputDataValues.TurretCWRawVelocityCmd < 0.1)))
+    	{
+    		// switch to PID Position Mode
+    		
+    		// stop driving the axis
+    		outputDataValues.TurretVelocityCmd = 0;
+	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    		
+	    	// now switch to position loop mode
+	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+	    	outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
+	    	_hardware.ReportError("Turret changing to Position mode");
+	    	
+	    	try {
+	    		// sleep a little to let the zero occur
+				_hardware.Sleep(1);
+			} catch (InterruptedException e) {
+				// TODO Auto-generated catch block
+				e.printStackTrace();
+			}
+	    	
+    	}
+    	
+    	if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
+    	{	
+    		// we are using a 5% deadband on the joysticks
+    		if ((inputDataValues.TurretCCWRawVelocityCmd > 0.05) && (inputDataValues.TurretCWRawVelocityCmd < 0.05))
+    		{
+    			//outputDataValues.TurretVelocityCmd = -(Math.pow(inputDataValues.TurretCCWRawVelocityCmd, 3) * RobotMap.TURRET_PERCENTVBUS_SCALING_FACTOR);
+    			if (inputDataValues.TurretCCWRawVelocityCmd <= 0.45)
+    			{
+    				outputDataValues.TurretVelocityCmd = -0.05;
+    				_hardware.ReportError("Turret Speed at -5%");
+    			}
+    			else if (inputDataValues.TurretCCWRawVelocityCmd <= 0.90)
+    			{
+    				outputDataValues.TurretVelocityCmd = -0.10;
+    				_hardware.ReportError("Turret Speed at -10%");
+    			}
+    			else
+    			{
+    				outputDataValues.TurretVelocityCmd = -0.20;
+    				_hardware.ReportError("Turret Speed at -20%");
+    			}
+    			
+    			// enforce (-) soft limit
+    			if (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS){
+    				outputDataValues.TurretVelocityCmd = 0.0;
+    			}
+    		}
+    		else if ((inputDataValues.TurretCCWRawVelocityCmd < 0.05) && (inputDataValues.TurretCWRawVelocityCmd > 0.05))
+    		{
+    			//outputDataValues.TurretVelocityCmd = (Math.pow(inputDataValues.TurretCWRawVelocityCmd, 3) * RobotMap.TURRET_PERCENTVBUS_SCALING_FACTOR);
+    			if (inputDataValues.TurretCWRawVelocityCmd <= 0.45)
+    			{
+    				outputDataValues.TurretVelocityCmd = 0.05;
+    				_hardware.ReportError("Turret Speed at 5%");
+    			}
+    			else if (inputDataValues.TurretCWRawVelocityCmd <= 0.90)
+    			{
+    				outputDataValues.TurretVelocityCmd = 0.10;
+    				_hardware.ReportError("Turret Speed at 10%");
+    			}
+    			else
+    			{
+    				outputDataValues.TurretVelocityCmd = 0.20;
+    				_hardware.ReportError("Turret Speed at 20%");
+    			}
+    			
+    			// enforce (+) soft limit
+    			if (inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS){
+    				outputDataValues.TurretVelocityCmd = 0.0;
+    			}
+    		}
+    	}
+    	else if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.Position)
+    	{
+    		/*
+			if (inputDataValues.IsShooterSpeedUpBtnPressed 
+					&& !workingDataValues.IsTurretCWButtonPressedLastScan
+					&& !inputDataValues.IsShooterSpeedDownBtnPressed)		
+			{
+				double NewTurretTargetPositionCmd = outputDataValues.TurretTargetPositionCmd + 0.06;
+				outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(NewTurretTargetPositionCmd);
+			}
+			else if (!inputDataValues.IsShooterSpeedUpBtnPressed 
+					&& !workingDataValues.IsTurretCCWButtonPressedLastScan
+					&& inputDataValues.IsShooterSpeedDownBtnPressed)	
+			{
+				double NewTurretTargetPositionCmd = outputDataValues.TurretTargetPositionCmd - 0.06;
+				outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(NewTurretTargetPositionCmd);
+			}
+			*/
+    	}	
+    	
+    	// ============================
+    	// 2.4.1 Turret Aiming
+    	// ============================
+    	/*
+    	if (inputDataValues.IsAutoAimBtnPressed)
+    	{
+    		if (visionData.IsValidData){
+				outputDataValues.TurretVelocityCmd = 0.0;
+				
+				if  (Math.abs(visionData.DesiredTurretTurnInDegrees) > 12.5)
+				{
+					if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+    				{
+    					// switch to % VBUS Mode
+        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+        				_hardware.ReportError("Turret changing to PercentVBus mode");
+    				}
+    				
+    				if (visionData.DesiredTurretTurnInDegrees > 0)
+    				{
+	    				outputDataValues.TurretVelocityCmd = 0.33;
+	    				//_hardware.ReportError("Turret Speed at 10% | ");
+    				}
+    				else
+    				{
+	    				outputDataValues.TurretVelocityCmd = -0.33;
+	    				//_hardware.ReportError("Turret Speed at -10% | ");
+    				}  
+				}
+				else if  (Math.abs(visionData.DesiredTurretTurnInDegrees) > 4.0)
+				{
+					if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+    				{
+    					// switch to % VBUS Mode
+        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+        				_hardware.ReportError("Turret changing to PercentVBus mode");
+    				}
+    				
+    				if (visionData.DesiredTurretTurnInDegrees > 0)
+    				{
+	    				outputDataValues.TurretVelocityCmd = 0.15;
+	    				//_hardware.ReportError("Turret Speed at 10% | ");
+    				}
+    				else
+    				{
+	    				outputDataValues.TurretVelocityCmd = -0.15;
+	    				//_hardware.ReportError("Turret Speed at -10% | ");
+    				}  
+				}
+				else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 1.75)
+    			{
+    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+    				{
+    					// switch to % VBUS Mode
+        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+        				_hardware.ReportError("Turret changing to PercentVBus mode");
+    				}
+    				
+    				if (visionData.DesiredTurretTurnInDegrees > 0)
+    				{
+	    				outputDataValues.TurretVelocityCmd = 0.095;
+	    				//_hardware.ReportError("Turret Speed at 10% | ");
+    				}
+    				else
+    				{
+	    				outputDataValues.TurretVelocityCmd = -0.095;
+	    				//_hardware.ReportError("Turret Speed at -10% | ");
+    				}    					
+    			}
+				else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 1)
+    			{
+    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+    				{
+    					// switch to % VBUS Mode
+        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+        				_hardware.ReportError("Turret changing to PercentVBus mode");
+    				}
+    				
+    				if (visionData.DesiredTurretTurnInDegrees > 0)
+    				{
+	    				outputDataValues.TurretVelocityCmd = 0.08;
+	    				//_hardware.ReportError("Turret Speed at 10% | ");
+    				}
+    				else
+    				{
+	    				outputDataValues.TurretVelocityCmd = -0.08;
+	    				//_hardware.ReportError("Turret Speed at -10% | ");
+    				}    					
+    			}
+    			else
+    			{
+    				_hardware.ReportError("Turret has auto aimed" );
+    			}
+			}
+			else
+			{
+				_hardware.ReportError("Vision Data looks invalid");
+			}
+    	}
+    	/*
+    	if (visionData.DesiredTurretTurnInDegrees > 0.5)
+    	{
+    		outputDataValues.TurretVelocityCmd = 0.07 + (visionData.DesiredTurretTurnInDegrees/120.0);
+    	}
+    	else if (visionData.DesiredTurretTurnInDegrees < -0.5)
+    	{
+    		outputDataValues.TurretVelocityCmd = -0.07 + (visionData.DesiredTurretTurnInDegrees/120.0);	
+    	}
+    	else
+    	{
+    		_hardware.ReportError("Turret has auto aimed");
+    	}
+    	*/
+    	    	
+    	// ============================
+    	// Step 2.5: Slider
+    	// ============================
+    	if (inputDataValues.IsShooterAltModeEnableBtnPressed && !workingDataValues.IsShooterAltModeEnableBtnPressedLastScan)
+    	{
+    		if (_isShooterinAltMode)
+    		{
+    			_isShooterinAltMode = false;
+    			_hardware.ReportError("Shooter in stock mode");
+    		}
+    		else if (!_isShooterinAltMode)
+    		{
+    			_isShooterinAltMode = true;
+    			_hardware.ReportError("Shooter in alt mode");
+    		}
+    	}
+    	
+    	if (_sliderMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
+    	{
+    		if ((inputDataValues.IsSliderFwdBtnPressed == true) && (!inputDataValues.IsSliderRevBtnPressed == false))
+    		{
+    			outputDataValues.SliderVelocityCmd = 0.1;
+    		}
+    		else if ((!inputDataValues.IsSliderFwdBtnPressed == false) && (inputDataValues.IsSliderRevBtnPressed == true))
+    		{
+    			outputDataValues.SliderVelocityCmd = -0.1;
+    		}
+    		else
+    		{
+    			outputDataValues.SliderVelocityCmd = 0.0;
+    		}
+    	}
+    	else if (_sliderMtr.getControlMode() == CANTalon.TalonControlMode.Position)
+    	{
+    		if (!_isShooterinAltMode)
+    		{
+	    		if ((inputDataValues.IsSliderFwdBtnPressed == true) && (inputDataValues.IsSliderRevBtnPressed == false))
+	    		{
+	    			if (!workingDataValues.IsSliderFwdBtnPressedLastScan)	// debounce keypress
+	    			{
+	    				double newSliderTargetPosition = inputDataValues.SliderCurrentPosition + 2.0;
+	    				outputDataValues.SliderTargetPositionCmd = CalcSliderTargetPositionCmd(newSliderTargetPosition);
+	    				_hardware.ReportError(String.format("..Info: New Forward Target Slider Position: {0}", newSliderTargetPosition));
+	    			}
+	    		}
+	    		else if ((inputDataValues.IsSliderFwdBtnPressed == false) && (inputDataValues.IsSliderRevBtnPressed == true))
+	    		{
+	    			if (!workingDataValues.IsSliderRevBtnPressedLastScan)	// debounce keypress
+	    			{
+	    				double newSliderTargetPosition = inputDataValues.SliderCurrentPosition - 2.0;
+	    				outputDataValues.SliderTargetPositionCmd = CalcSliderTargetPositionCmd(newSliderTargetPosition);
+	    				_hardware.ReportError(String.format("..Info: New Reverse Target Slider Position: {0}", newSliderTargetPosition));
+	    			}
+	    		}
+	    		else if (workingDataValues.IsShooterAltModeEnabledLastScan)
+	    		{
+	    			workingDataValues.IsShooterAltModeEnabledLastScan = false;
+	    			outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+	    		}
+    		}
+    		else
+    		{
+    			outputDataValues.SliderTargetPositionCmd = 0.0;
+    			workingDataValues.IsShooterAltModeEnabledLastScan = true;
+    		}
+    			
+    	}
+    	    	
+    	// ============================
+    	//  Step 2.6: Shooter 
+    	// ============================
+    	
+    	if (inputDataValues.IsShooterTargetSpeedToggleBtnPressed && !workingDataValues.IsShooterTargetSpeedToggleBtnPressedLastScan)
+    	{
+    		switch (workingDataValues.ShooterTargetSpeed)
+    		{
+    			case UNDEFINED:
+    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2800;
+    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2800;
+    				break;
+    				
+    			case _2700:
+    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2800;
+    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2800;
+    				break;
+    				
+    			case _2800:
+    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2900;
+    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2900;
+    				break;
+    				
+    			case _2900:
+    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._3000;
+    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 3000;
+    				break;
+    				
+    			case _3000:
+    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2700;
+    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2700;
+    				break;
+    		}
+    	}
+    	
+    	
+    	if (inputDataValues.ShooterRawVelocityCmd < -0.1)
+    	{    	
+    		if (_shooterMasterMtr.getControlMode() == CANTalon.TalonControlMode.Speed)
+    		{
+    			if (!_isShooterinAltMode)
+    			{
+    				
+    				outputDataValues.ShooterMtrTargetVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
+    				outputDataValues.ShooterMtrCurrentVelocityCmd = outputDataValues.ShooterMtrTargetVelocityCmd;
+    			}
+    			else
+    			{
+    				outputDataValues.ShooterMtrCurrentVelocityCmd = outputDataValues.ShooterMtrAltTargetVelocityCmd;
+    			}
+    		}
+    		else if (_shooterMasterMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
+    		{
+    			outputDataValues.ShooterMtrCurrentVelocityCmd = workingDataValues.DriveSpeedScalingFactor;
+    		}
+    	}
+    	else
+    	{
+    		outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
+    	}
+    	
+    	// ============================
+    	// Step 2.7: Kicker
+    	// ============================
+    	if (outputDataValues.ShooterMtrCurrentVelocityCmd > 0.1)
+    	{
+    		outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
+    	}
+    	else if (inputDataValues.ShooterRawVelocityCmd > 0.1)
+    	{
+    		outputDataValues.KickerMtrVelocityCmd = -1.0;
+    	}
+    	else 
+    	{
+    		outputDataValues.KickerMtrVelocityCmd = 0.0;
+    	}
+    	
+    	// ===========================
+    	// Step 2.8: Camera
+    	// ===========================
+    	if (inputDataValues.IsCameraSwitchBtnPressed 
+    			&& !workingDataValues.IsCameraSwitchBtnPressedLastScan)
+    	{
+    		if (_currentCameraName == RobotMap.SHOOTER_CAMERA_NAME)
+			{
+    			_currentCameraName = RobotMap.INFEED_CAMERA_NAME;
+    			_hardware.ReportError("..Switching to Infeed Camera");
+			}
+    		else if (_currentCameraName == RobotMap.INFEED_CAMERA_NAME)
+    		{
+    			_currentCameraName = RobotMap.SHOOTER_CAMERA_NAME;
+    			_hardware.ReportError("..Switching to Shooter Camera");
+    		}
+    		else
+    		{
+    			_currentCameraName = RobotMap.SHOOTER_CAMERA_NAME;
+    			_hardware.ReportError("..Switching to Shooter Camera");
+    		}
+    		
+    		_hardware.SwitchCamera(_currentCameraName);
+    		
+    		_hardware.EnableDriveBrakeMode(false);
+    	}
+    	else if (inputDataValues.IsCupidCameraBtnPressed
+    			&& !workingDataValues.IsCupidSwitchBtnPressedLastScan)
+    	{
+    		_currentCameraName = RobotMap.CUPID_CAMERA_NAME;
+    		_hardware.ReportError("..Switching to Cupid Camera");
+    		
+    		_hardware.SwitchCamera(_currentCameraName);
+    		
+    		_hardware.ReportError("..Switching to Break Mode");
+    		_hardware.EnableDriveBrakeMode(true);
+    	}
+    	  
+    	
+    	
+    	// ===========================
+    	// Step 2.9. Climbing
+    	// ===========================
+    	if (inputDataValues.IsClimbEnabledBtnPressed)
+    	{
+    		_isClimbEnabled = true;
+    	}
+    	else
+    	{
+    		_isClimbEnabled = false;
+    	}
+    	
+    	if (_isClimbEnabled)
+    	{
+	    	if (inputDataValues.WinchRawCmd > 0.1)
+	    	{
+	    		outputDataValues.WinchVelocityCmd = -1.0 * inputDataValues.WinchRawCmd;
+	    	}
+	    	else if (inputDataValues.WinchRawCmd < -0.1)
+	    	{
+	    		outputDataValues.WinchVelocityCmd = -1.0 * inputDataValues.WinchRawCmd;
+	    	}
+	    	else
+	    	{
+	    		outputDataValues.WinchVelocityCmd = 0.0;
+	    	}
+    	}
+    	else
+    	{
+    		outputDataValues.WinchVelocityCmd = 0.0;
+    	}
+    	
+    	// ===========================
+    	// Step 2.10. Cupid
+    	// ===========================
+    	if (inputDataValues.IsCupidToggleBtnPressed && !workingDataValues.IsCupidToggleBtnPressedLastScan)
+    	{
+    		if (outputDataValues.CupidServoPositionCmd == 1.0)
+    		{
+    			outputDataValues.CupidServoPositionCmd = 0.0;
+    		}
+    		else if (outputDataValues.CupidServoPositionCmd == 0.0)
+    		{
+    			outputDataValues.CupidServoPositionCmd = 1.0;
+    		}
+    	}
+    	
+    	// ===========================
+    	// Step 2.11 And1 (Defensive Shield)
+    	// ===========================
+    	//_hardware.ReportError("And1 position: " + outputDataValues.And1ServoPositionCmd);
+    	if (inputDataValues.And1RawCmd > 0.1)
+    	{
+    		outputDataValues.And1ServoPositionCmd = 1.0;
+    	}
+    	else if (inputDataValues.And1RawCmd < -0.1)
+    	{
+    		outputDataValues.And1ServoPositionCmd = 0.0;
+    	}
+    	else
+    	{
+    	}
+    	
+    	// =====================================
+    	// Step 3: Push the target Outputs out to the physical devices
+    	// =====================================
+    	
+    	// ==========================
+    	// 3.1 Handle Puma Front and Back Solenoids
+    	//		Solenoids work like a toggle, the current value is retained until it is changed
+    	// ==========================
+    	if (!workingDataValues.IsPumaBothToggleBtnPressedLastScan && inputDataValues.IsPumaBothToggleBtnPressed)
+    	{
+    		if ((outputDataValues.PumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION) 
+    				|| (outputDataValues.PumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_UP_POSITION))
+    		{
+    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION;
+    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
+    		}
+    		else
+    		{
+    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
+    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    		}
+    	}
+    	
+    	if (!workingDataValues.IsPumaFrontToggleBtnPressedLastScan && inputDataValues.IsPumaFrontToggleBtnPressed)
+    	{
+    		if (outputDataValues.PumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION)
+    		{
+    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION;
+    		}
+    		else
+    		{
+    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
+    		}
+    	}
+    	
+    	if (!workingDataValues.IsPumaBackToggleBtnPressedLastScan && inputDataValues.IsPumaBackToggleBtnPressed)
+    	{
+    		if (outputDataValues.PumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_UP_POSITION)
+    		{
+    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
+    		}
+    		else
+    		{
+    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    		}
+    	}
+    }
+
+	// remember the toggle buttons for the next scan, called at the very end of each telop scan
+    public void SaveLastScanValues()
+    {
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	
+    	// ==========================
+    	workingDataValues.IsPumaFrontToggleBtnPressedLastScan = inputDataValues.IsPumaFrontToggleBtnPressed;
+    	workingDataValues.IsPumaBackToggleBtnPressedLastScan = inputDataValues.IsPumaBackToggleBtnPressed;
+    	workingDataValues.IsPumaBothToggleBtnPressedLastScan = inputDataValues.IsPumaBothToggleBtnPressed;
+    	workingDataValues.IsSliderFwdBtnPressedLastScan = inputDataValues.IsSliderFwdBtnPressed;
+    	workingDataValues.IsSliderRevBtnPressedLastScan = inputDataValues.IsSliderRevBtnPressed;
+    	workingDataValues.IsInfeedTiltStoreBtnPressedLastScan = inputDataValues.IsInfeedTiltStoreBtnPressed;
+    	workingDataValues.IsInfeedTiltFixedBtnPressedLastScan = inputDataValues.IsInfeedTiltFixedBtnPressed;
+    	workingDataValues.IsInfeedAcquireBtnPressedLastScan = inputDataValues.IsInfeedAcquireBtnPressed;
+    	workingDataValues.IsCameraSwitchBtnPressedLastScan =  inputDataValues.IsCameraSwitchBtnPressed;
+    	workingDataValues.IsCupidSwitchBtnPressedLastScan = inputDataValues.IsCupidCameraBtnPressed;
+    	workingDataValues.IsBallInPositionLastScan = inputDataValues.IsBallInPosition;
+    	workingDataValues.IsShooterTargetSpeedToggleBtnPressedLastScan = inputDataValues.IsShooterTargetSpeedToggleBtnPressed;
+    	workingDataValues.IsCupidToggleBtnPressedLastScan = inputDataValues.IsCupidToggleBtnPressed;
+    	workingDataValues.IsShooterAltModeEnableBtnPressedLastScan = inputDataValues.IsShooterAltModeEnableBtnPressed;
+    }
+
+    // ==========  Absolute Axis Homing Logic ==============================================
+    
+    // caluclate the appropriate # of leadscrew rotations
+    private double CalcSliderTargetPositionCmd(double targetPositionFromHomeInRotations)
+    {
+    	// Notes:
+    	//	The encoder is directly coupled to the leadscrew
+    	//		leadscrew pitch : 16 rev / inch
+    	//		quad encoder	: 1024 pulses / rev x 4 = 4096 counts / rev
+    	//	We setup the TALON is use API Unit Scaling by using the ConfigEncoderCodesPerRev in the axis home method
+    	
+    	// protect the axis by enforcing guard rails on what can be requested
+    	if(targetPositionFromHomeInRotations > RobotMap.SLIDER_FWD_MAX_TRAVEL_IN_ROTATIONS)
+    	{
+    		targetPositionFromHomeInRotations = RobotMap.SLIDER_FWD_MAX_TRAVEL_IN_ROTATIONS;
+    		_hardware.ReportError("Slider already at forward limit");
+    	}
+    	else if (targetPositionFromHomeInRotations < RobotMap.SLIDER_REV_MAX_TRAVEL_IN_ROTATIONS)
+    	{
+    		targetPositionFromHomeInRotations = RobotMap.SLIDER_REV_MAX_TRAVEL_IN_ROTATIONS;
+    		_hardware.ReportError("Slider already at reverse limit");
+    	}
+    	
+    	double sliderTargetPositionCmd = targetPositionFromHomeInRotations;
+    	    	
+    	return sliderTargetPositionCmd;
+    }
+    
+    private double CalcTurretTargetPosition(double TurretAngleInRotations)
+    {
+    	//double TurretPositionInEncoderCounts = (TurretAngleInRotations * 360)/ RobotMap.TURRET_TRAVEL_DEGREES_PER_COUNT;
+    	//return TurretPositionInEncoderCounts;
+    	if (TurretAngleInRotations > RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS)
+    	{
+    		TurretAngleInRotations = RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS;
+    		_hardware.ReportError("Turret already at forward limit");
+    	}
+    	else if (TurretAngleInRotations < RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
+    	{
+    		TurretAngleInRotations = RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS;
+    		_hardware.ReportError("Turret already at reverse limit");
+    	}
+    	
+    	double turretSetPositionInRotations = TurretAngleInRotations;
+    	
+    	return turretSetPositionInRotations;
+    }
+    
+    // This method Zeros (ie Homes) the Infeed Tilt Axis
+	private void ZeroInfeedTiltAxis(RobotData p_robotLiveData) 
+	{
+		//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	boolean isTimeout = false; //control whether we want this method to run at startup
+    	boolean isOnHomeSwitch = !_infeedTiltMtr.isFwdLimitSwitchClosed();	// switch is normally closed
+    	
+    	// zero the current encoder reading
+    	_infeedTiltMtr.setPosition(0);	
+    	
+    	// if we are not already on the up limit switch
+    	if(!isOnHomeSwitch)
+    	{
+	    	// start out in %VBUS mode
+	    	_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+	    	
+	    	// drive the axis up at 19%
+	    	outputDataValues.InfeedTiltMtrVelocityCmd = 0.35;
+	    	_infeedTiltMtr.set(outputDataValues.InfeedTiltMtrVelocityCmd);
+	    	
+	    	long startTime = _hardware.GetTimeMSecs();
+	    	long elapsedTime = 0L;
+	    	long maxTimeInMSec = 10000; // 10 secs
+	    	
+	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
+	    	while(!isOnHomeSwitch && !isTimeout)
+	    	{	
+	        	elapsedTime = (_hardware.GetTimeMSecs() - startTime);
+	    		
+	    		if (elapsedTime  >= maxTimeInMSec)
+	    		{
+	    			isTimeout = true;
+	    			_isInfeedTiltAxisZeroTimedOut = true;
+	    		}
+	    		isOnHomeSwitch = !_infeedTiltMtr.isFwdLimitSwitchClosed();	// switch is normally closed
+	    	}
+    	}
+    	
+    	// we are on the UP Limit Switch (and we did not timeout)
+    	if(!isTimeout)
+    	{
+	    	_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+	    	_isInfeedTiltAxisZeroTimedOut = false;
+	    	// once we hit the home switch, reset the encoder	- this is at approx 106deg
+	    	
+	    	_infeedTiltMtr.setPosition(RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS);	
+	    	//_infeedTiltMtr.setEncPosition(newPosition);
+	    	try {
+	    		// sleep a little to let the zero occur
+				_hardware.Sleep(100);
+			} catch (InterruptedException e) {
+				// TODO Auto-generated catch block
+				e.printStackTrace();
+			}
+	    
+	    	// setup the PID Loop
+	    	_infeedTiltMtr.setPID(RobotMap.INFEED_TILT_KP, RobotMap.INFEED_TILT_KI, RobotMap.INFEED_TILT_KD, RobotMap.INFEED_TILT_KF, RobotMap.INFEED_TILT_IZONE, RobotMap.INFEED_TILT_RAMPRATE, RobotMap.INFEED_TILT_PROFILE);
+	    	_infeedTiltMtr.setProfile(RobotMap.INFEED_TILT_PROFILE);
+	    	_infeedTiltMtr.setCloseLoopRampRate(RobotMap.INFEED_TILT_RAMPRATE);
+	    	_infeedTiltMtr.setVoltageRampRate(5);
+	    	
+	    	// write to the operator's console log window
+	    	_hardware.ReportError("..Infeed Tilt Axis Zeroed, Chging to Position Ctrl Mode.");
+	    	
+	    	outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
+	    	
+	    	// finally mark the axis as zeroed
+	    	_isInfeedTiltAxisZeroedYet = true;
+    	}
+    	else
+    	{
+    		// write to the operator's console log window
+	    	_hardware.ReportError("..ERROR: Timeout in Infeed Tilt Axis Zero procedure.");
+    	}
+	}
+	
+	private void ZeroInfeedTiltAxisReEntrant(RobotData p_robotLiveData) 
+	{
+		//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	boolean isTimeout = false; //control whether we want this method to run at startup
+    	boolean isOnHomeSwitch = !_infeedTiltMtr.isFwdLimitSwitchClosed();	// switch is normally closed
+    	
+    	// zero the current encoder reading
+    	//_infeedTiltMtr.setPosition(0);	
+    	
+    	switch (_infeedTiltZeroState)
+    	{
+    		case TILT_TO_HOME:
+    			if(!isOnHomeSwitch)
+    	    	{
+    		    	long elapsedTime = (_hardware.GetTimeMSecs() - _infeedTiltZeroStartTime);
+    		    	long maxTimeInMSec = 8000; // 10 secs
+    		    	
+    		    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
+    		    	if (elapsedTime  >= maxTimeInMSec)	   
+    		    	{
+			    		_infeedTiltZeroState = Infeed_Tilt_Zero_State.TIMEOUT;
+    		    	}
+    		    	else
+    		    	{
+    		    		// start out in %VBUS mode
+    		    		if (_infeedTiltMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus)
+    		    		{
+    		    			_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+    		    		}
+    		    		// drive the axis up at 19%
+        		    	outputDataValues.InfeedTiltMtrVelocityCmd = 0.6;
+    		    	}
+    	    	}
+    			else 
+    			{
+    				_infeedTiltZeroState = Infeed_Tilt_Zero_State.ON_HOME;
+    			}
+    			break;
+    		
+    		case ON_HOME:
+    			_isInfeedTiltAxisZeroTimedOut = false;
+    			outputDataValues.InfeedTiltMtrVelocityCmd = 0.0;
+    			_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+    	    	
+    	    	// once we hit the home switch, reset the encoder	- this is at approx 106deg
+    	    	_infeedTiltMtr.setPosition(RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS);	
+    	    	//_infeedTiltMtr.setEncPosition(newPosition);
+    	    	try {
+    	    		// sleep a little to let the zero occur
+    				_hardware.Sleep(1);
+    			} catch (InterruptedException e) {
+    				// TODO Auto-generated catch block
+    				e.printStackTrace();
+    			}
+    	    
+    	    	// setup the PID Loop
+    	    	_infeedTiltMtr.setPID(RobotMap.INFEED_TILT_KP, RobotMap.INFEED_TILT_KI, RobotMap.INFEED_TILT_KD, RobotMap.INFEED_TILT_KF, RobotMap.INFEED_TILT_IZONE, RobotMap.INFEED_TILT_RAMPRATE, RobotMap.INFEED_TILT_PROFILE);
+    	    	_infeedTiltMtr.setProfile(RobotMap.INFEED_TILT_PROFILE);
+    	    	_infeedTiltMtr.setCloseLoopRampRate(RobotMap.INFEED_TILT_RAMPRATE);
+    	    	_infeedTiltMtr.setVoltageRampRate(5);
+    	    	
+    	    	// write to the operator's console log window
+    	    	_hardware.ReportError("..Infeed Tilt Axis Zeroed, Chging to Position Ctrl Mode.");
+    	    	
+    	    	_infeedTiltZeroState = Infeed_Tilt_Zero_State.GO_TO_REQUESTED_POSITION;
+    			break;
+    			
+    		case GO_TO_REQUESTED_POSITION:
+    			outputDataValues.InfeedTiltTargetPositionInRotationsCmd = (RobotMap.INFEED_TILT_STORED_POSITION_CMD);
+    	    	// finally mark the axis as zeroed
+    	    	_isInfeedTiltAxisZeroedYet = true;
+    			break;
+    			
+    		case TIMEOUT:
+    			_isInfeedTiltAxisZeroTimedOut = true;
+    			_hardware.ReportError("Infeed Tilt Zero procedure timed out");
+    			outputDataValues.InfeedTiltMtrVelocityCmd = 0.0;
+    			break;	
+    	}
+	}
+
+    // This method Zeros (ie Homes) the Slider Axis
+    private void ZeroSliderAxis(RobotData p_robotLiveData, double DesiredSliderPositionAfterZero) 
+    {
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	boolean isTimeout = false; //control whether we want this method to run at startup
+    	boolean isOnHomeSwitch = !_sliderMtr.isRevLimitSwitchClosed();	// switch is normally closed
+    	
+    	// zero the current encoder reading
+    	//_sliderMtr.setPosition(0);	
+    	
+    	// if we are not already on the up limit switch
+    	if(!isOnHomeSwitch)
+    	{
+	    	// start out in %VBUS mode
+	    	_sliderMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+	    	
+	    	// drive the axis down at 5%
+	    	outputDataValues.SliderVelocityCmd = -0.60;
+	    	_sliderMtr.set(outputDataValues.SliderVelocityCmd);
+	    	
+	    	long startTime = _hardware.GetTimeMSecs();
+	    	long elapsedTime = 0L;
+	    	long maxTimeInMSec = 10000; // 10 secs
+	    	
+	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
+	    	while(!isOnHomeSwitch && !isTimeout)
+	    	{	
+	        	elapsedTime = (_hardware.GetTimeMSecs() - startTime);
+	    		
+	    		if (elapsedTime  >= maxTimeInMSec)
+	    		{
+	    			isTimeout = true;
+	    		}
+	    		
+	    		isOnHomeSwitch = !_sliderMtr.isRevLimitSwitchClosed();	// switch is normally closed
+	    	}
+    	}
+    	
+    	if(!isTimeout)
+    	{
+    		
+	    	_sliderMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+	    	
+	    	// once we hit it reset the encoder	- this is at approx 90deg
+	    	double SliderHomePosition = 0;
+	    	
+	    	_sliderMtr.setPosition(SliderHomePosition);	
+	    	//_infeedTiltMtr.setEncPosition(newPosition);
+	    	try {
+	    		// sleep a little to let the zero occur
+				_hardware.Sleep(100);
+			} catch (InterruptedException e) {
+				// TODO Auto-generated catch block
+				e.printStackTrace();
+			}
+	    	
+	    	// setup the PID Loop
+	    	_sliderMtr.setPID(RobotMap.SLIDER_KP, RobotMap.SLIDER_KI, RobotMap.SLIDER_KD, RobotMap.SLIDER_KF, RobotMap.SLIDER_IZONE, RobotMap.SLIDER_RAMPRATE, RobotMap.SLIDER_PROFILE);
+	    	_sliderMtr.setProfile(RobotMap.SLIDER_PROFILE);
+	    	// write to the operator's console log window
+	    	_hardware.ReportError("..Slider Axis Zeroed, Chging to Position Ctrl Mode.");
+	    		    	
+	    	outputDataValues.SliderTargetPositionCmd = DesiredSliderPositionAfterZero;
+	    	_sliderMtr.set(outputDataValues.SliderTargetPositionCmd);
+	    	// finally mark the axis as zeroed
+	    	_isSliderAxisZeroedYet = true;
+    	}
+    	else
+    	{
+    		// write to the operator's console log window
+	    	_hardware.ReportError("..ERROR: Timeout in Slider Axis Zero procedure.");
+    	}
+    	
+	}
+	
+ // This method Zeros (ie Homes) the Slider Axis
+    private void ZeroSliderAxisReEntrant(RobotData p_robotLiveData) 
+    {
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	boolean isOnHomeSwitch = !_sliderMtr.isRevLimitSwitchClosed();	// switch is normally closed
+    	
+    	// zero the current encoder reading
+    	//_sliderMtr.setPosition(0);	
+    	
+    	// if we are not already on the up limit switch
+    	switch (_sliderZeroState)
+    	{
+    		case DRIVE_TO_HOME:
+    			if(!isOnHomeSwitch)
+    	    	{
+    		    	// start out in %VBUS mode
+    		    	
+    		    	long elapsedTime = (_hardware.GetTimeMSecs() - _sliderZeroStartTime);
+    		    	long maxTimeInMSec = 10000; // 10 secs
+    		    	
+    		    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max	
+    		    	if (elapsedTime  >= maxTimeInMSec)
+    		    	{
+    		    		_sliderZeroState = Slider_Zero_State.TIMEOUT;
+    		    	}
+    		    	else 
+    		    	{
+    		    		if (_sliderMtr.getControlMode() != TalonControlMode.PercentVbus)
+    		    		{
+    		    			_sliderMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+    		    		}
+    		    		// drive the axis down at 60%
+        		    	outputDataValues.SliderVelocityCmd = -0.60;
+    		    	}
+    	    	}
+    			else 
+    			{
+    				_sliderZeroState = Slider_Zero_State.ON_HOME;
+    			}
+    			break;
+    		
+    		case ON_HOME:
+    			outputDataValues.SliderVelocityCmd = 0.0;
+    			_sliderMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+    	    	
+    	    	// once we hit it reset the encoder	- this is at approx 90deg
+    	    	double SliderHomePosition = 0;
+    	    	
+    	    	_sliderMtr.setPosition(SliderHomePosition);	
+    	    	//_infeedTiltMtr.setEncPosition(newPosition);
+    	    	try {
+    	    		// sleep a little to let the zero occur
+    				_hardware.Sleep(1);
+    			} catch (InterruptedException e) {
+    				// TODO Auto-generated catch block
+    				e.printStackTrace();
+    			}
+    	    	
+    	    	// setup the PID Loop
+    	    	_sliderMtr.setPID(RobotMap.SLIDER_KP, RobotMap.SLIDER_KI, RobotMap.SLIDER_KD, RobotMap.SLIDER_KF, RobotMap.SLIDER_IZONE, RobotMap.SLIDER_RAMPRATE, RobotMap.SLIDER_PROFILE);
+    	    	_sliderMtr.setProfile(RobotMap.SLIDER_PROFILE);
+    	    	// write to the operator's console log window
+    	    	
+    	    	_isSliderAxisZeroedYet = true;
+    	    	
+    	    	_hardware.ReportError("..Slider Axis Zeroed, Chging to Position Ctrl Mode.");
+    			break;
+    			
+    		case TIMEOUT:
+    			_isSliderAxisZeroTimedOut = true;
+    			_hardware.ReportError("Slider Axis Zero procedure timed out");
+    			outputDataValues.SliderVelocityCmd = 0.0;
+    			break;	
+    			
+    	
+    	}
+	}
+    
+	// This method Zeros (ie Homes) the Turret Axis
+	private void ZeroTurretAxis(RobotData p_robotLiveData) 
+	{
+		//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	boolean isTimeout = false; //control whether we want this method to run at startup
+    	boolean isOnApproachingHomeSwitch = _hardware.IsTurretApproachingHomeLimitSwitchClosed();
+    	
+    	// zero the current encoder reading
+    	//_turretMtr.setPosition(0);	
+    	
+    	// if we are not already on the up limit switch
+    	if(!isOnApproachingHomeSwitch)
+    	{
+	    	// start out in %VBUS mode
+    		_hardware.ReportError("..Turret Chg to %VBus Mode.");
+	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+	    	
+	    	// drive the axis up at 15%
+	    	outputDataValues.TurretVelocityCmd = 0.15;
+	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
+	    	
+	    	long startTime = _hardware.GetTimeMSecs();
+	    	long elapsedTime = 0L;
+	    	long maxTimeInMSec = 9000; // 9 secs
+	    	
+	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
+	    	while(!isOnApproachingHomeSwitch && !isTimeout)
+	    	{	
+	        	elapsedTime = (_hardware.GetTimeMSecs() - startTime);
+	    		
+	    		if (elapsedTime  >= maxTimeInMSec)
+	    		{
+	    			isTimeout = true;
+	    		}
+	    		isOnApproachingHomeSwitch = _hardware.IsTurretApproachingHomeLimitSwitchClosed();	// switch is normally closed
+	    	}
+    	}
+    	
+    	boolean isOnHomeSwitch = _hardware.IsTurretHomeLimitSwitchClosed();	// switches are normally closed
+    	
+    	if(!isTimeout)
+    	{
+    		long startTime = _hardware.GetTimeMSecs();
+	    	long elapsedTime = 0L;
+	    	long maxTimeInMSec = 5000; // 5 secs
+	    	
+	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
+	    	while(!isOnHomeSwitch && !isTimeout)
+	    	{	
+	        	elapsedTime = (_hardware.GetTimeMSecs() - startTime);
+	    		
+	    		if (elapsedTime  >= maxTimeInMSec)
+	    		{
+	    			isTimeout = true;
+	    		}
+	    		isOnHomeSwitch = _hardware.IsTurretHomeLimitSwitchClosed();	// switch is normally closed
+	    	}
+    	}
+    	
+    	// we are on the ZERO Limit Switch (and we did not timeout)
+    	if(!isTimeout)
+    	{
+    		// stop driving the axis
+    		outputDataValues.TurretVelocityCmd = 0;
+	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    		
+	    	// now switch to position loop mode
+	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+	    	
+	    	// once we hit it reset the encoder
+	    	double homePosition = 0;
+	    	_turretMtr.setPosition(homePosition);	
+
+	    	try {
+	    		// sleep a little to let the zero occur
+				_hardware.Sleep(100);
+			} catch (InterruptedException e) {
+				// TODO Auto-generated catch block
+				e.printStackTrace();
+			}
+	    	
+	    	// setup the PID Loop
+	    	_turretMtr.setPID(RobotMap.TURRET_SLOW_KP, RobotMap.TURRET_SLOW_KI, RobotMap.TURRET_SLOW_KD, RobotMap.TURRET_SLOW_KF, RobotMap.TURRET_SLOW_IZONE, RobotMap.TURRET_SLOW_RAMPRATE, RobotMap.TURRET_SLOW_PROFILE);
+	    	_turretMtr.setProfile(RobotMap.TURRET_SLOW_PROFILE);
+	    	
+	    	// write to the operator's console log window
+	    	_hardware.ReportError("..Turret Axis Zeroed, Chg to Positon Ctrl Mode.");
+	    	
+	    	// drive to default position
+	    	outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(RobotMap.TURRET_DEFAULT_POSITION_IN_ROTATIONS);
+	    	_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
+	    	
+	    	long startTime = _hardware.GetTimeMSecs();
+	    	long elapsedTime = 0L;
+	    	long maxTimeInMSec = 5000; // 5 secs
+	    	
+	    	// wait until we get close to the target
+	    	while((Math.abs(_turretMtr.getClosedLoopError()) > 400) && !isTimeout)
+	    	{	
+	        	elapsedTime = (_hardware.GetTimeMSecs() - startTime);
+	    		
+	    		if (elapsedTime  >= maxTimeInMSec)
+	    		{
+	    			isTimeout = true;
+	    		}
+	    	}
+	    	
+	    	// now move to regular gains after the big move
+	    	_turretMtr.setPID(RobotMap.TURRET_FAST_KP, RobotMap.TURRET_FAST_KI, RobotMap.TURRET_FAST_KD, RobotMap.TURRET_FAST_KF, RobotMap.TURRET_FAST_IZONE, RobotMap.TURRET_FAST_RAMPRATE, RobotMap.TURRET_FAST_PROFILE);
+	    	_turretMtr.setProfile(RobotMap.TURRET_FAST_PROFILE);
+	    	
+	    	// finally mark the axis as zeroed
+	    	_isTurretAxisZeroedYet = true;
+    	}
+    	else
+    	{
+    		// write to the operator's console log window
+	    	_hardware.ReportError("..ERROR: Timeout in Turret Axis Zero procedure.");
+    	}
+	}
+	
+	private void ZeroTurretAxisReEntrant(RobotData p_robotLiveData)
+	{
+		//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	boolean isTimeout = false; //control whether we want this method to run at startup
+    	boolean isOnApproachingHomeSwitch = _hardware.IsTurretApproachingHomeLimitSwitchClosed();
+    	boolean isOnHomeSwitch = _hardware.IsTurretHomeLimitSwitchClosed();	// switches are normally closed
+    	
+    	switch (_turretZeroState)
+    	{
+    		case BEFORE_APPROACHING_SWITCH:
+    	    	// start out in %VBUS mode
+	    		_hardware.ReportError("..Turret Chg to %VBus Mode.");
+		    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+		    	
+		    	// drive the axis up at 15%
+		    	outputDataValues.TurretVelocityCmd = 0.15;
+		    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    			
+    			if(!isOnApproachingHomeSwitch)
+    	    	{	    	
+    		    	long elapsedTime = 0L;
+    		    	long maxTimeInMSec = 8000; // 8 secs
+    		    	
+    		    	// if we are not on the limit switch, drive up until we hit it but only wait for 5 secs max
+		        	elapsedTime = (_hardware.GetTimeMSecs() - _turretZeroStartTime);
+		    		
+		    		if (elapsedTime  >= maxTimeInMSec)
+		    		{
+		    			_turretZeroState = Turret_Zero_State.TIMEOUT;
+		    		}
+    	    	}
+    			else
+    			{
+    				_turretZeroState = Turret_Zero_State.ON_APPROACHING_SWITCH;
+    				_hardware.ReportError("Turret Zero State: ON_APPROACHING_SWITCH");
+    			}
+    			break;
+    		
+    		case ON_APPROACHING_SWITCH:
+    			_turretZeroStartTime = _hardware.GetTimeMSecs();
+    			_turretZeroState = Turret_Zero_State.BEFORE_HOME_SWITCH;
+    			_hardware.ReportError("Turret Approaching Switch hit");
+    			break;
+    			
+    		case BEFORE_HOME_SWITCH:
+    	    	long elapsedTime = 0L;
+    	    	long maxTimeInMSec = 5000; // 5 secs
+    	    	
+    	    	// if we are not on the limit switch, drive up until we hit it but only wait for 5 secs max
+    	    	if(!isOnHomeSwitch)
+    	    	{
+    	        	elapsedTime = (_hardware.GetTimeMSecs() - _turretZeroStartTime);
+    	    		if (elapsedTime  >= maxTimeInMSec)
+    	    		{
+    	    			_turretZeroState = Turret_Zero_State.TIMEOUT;
+    	    		}
+
+    	    	}
+    	    	else
+    	    	{
+    	    		_turretZeroState = Turret_Zero_State.ON_HOME_SWITCH;
+    	    		_hardware.ReportError("Turret Zero State: ON_HOME_SWITCH");
+    	    	}
+    			break;
+    			
+    		case ON_HOME_SWITCH:
+    			// stop driving the axis
+        		outputDataValues.TurretVelocityCmd = 0;
+    	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
+        		
+    	    	// now switch to position loop mode
+    	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+    	    	
+    	    	// once we hit it reset the encoder
+    	    	double homePosition = 0;
+    	    	_turretMtr.setPosition(homePosition);	
+
+    	    	try {
+    	    		// sleep a little to let the zero occur
+    				_hardware.Sleep(1);
+    			} catch (InterruptedException e) {
+    				// TODO Auto-generated catch block
+    				e.printStackTrace();
+    			}
+    	    	
+    	    	// setup the PID Loop
+    	    	_turretMtr.setPID(RobotMap.TURRET_SLOW_KP, RobotMap.TURRET_SLOW_KI, RobotMap.TURRET_SLOW_KD, RobotMap.TURRET_SLOW_KF, RobotMap.TURRET_SLOW_IZONE, RobotMap.TURRET_SLOW_RAMPRATE, RobotMap.TURRET_SLOW_PROFILE);
+    	    	_turretMtr.setProfile(RobotMap.TURRET_SLOW_PROFILE);
+    	    	_hardware.ReportError("Turret set to Slow Profile");
+    	    	
+    	    	// write to the operator's console log window
+    	    	_hardware.ReportError("..Turret Axis Zeroed, Chg to Positon Ctrl Mode.");
+    	    	
+    	    	// finally mark the axis as zeroed
+    	    	_isTurretAxisZeroedYet = true;
+    			break;
+    			
+    		case TIMEOUT:
+    			_hardware.ReportError("Turret Axis Zero timed out");
+    			outputDataValues.TurretVelocityCmd = 0.0;
+		    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    			break;
+    	}
+    	
+	}
+
+	// ========================================================================
+	// Test
+	// ========================================================================
+
+	// setup the initial test mode values & zero the turret and slider
+	public void TestInit(RobotData robotLiveData)
+	{
+    	_robotLiveData = robotLiveData;
+    	
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	
+    	// set defaults for initial motor speeds
+    	outputDataValues.KickerMtrVelocityCmd = 0.0;
+    	outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
+    	outputDataValues.SliderVelocityCmd = 0.0;
+    	
+    	// Set desired initial (default) solenoid positions
+    	// puma up to cross defenses
+		outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
+		outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
+    	
+    	// zero turret
+    	if (!_isTurretAxisZeroedYet)
+    	{
+    		ZeroTurretAxis(_robotLiveData);
+    	}
+    	
+    	// zero slider
+    	if (!_isSliderAxisZeroedYet)
+    	{
+    		_sliderZeroStartTime = _hardware.GetTimeMSecs();
+    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
+    		//ZeroSliderAxisReEntrant(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
+    		ZeroSliderAxis(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
+    	}
+    	
+    	_autoAimAndShootState = RobotData.Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
+    	_hardware.ReportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ");
+	}
+
+    // this is the heart of this function
+    //	this method implements a state machine
+    public void AimAndShoot()
+    {
+    	//get local references to make variable references shorter
+    	InputData inputDataValues = _robotLiveData.InputDataValues;
+    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
+    	VisionSnapshot visionData = _hardware.GetVisionData();
+    	    
+    	if (visionData == null || !visionData.IsValidData)
+    	{
+    		_hardware.ReportError("Error... No valid vision data to use. | "); 
+    		return;
+    	}
+    	
+    	//	coarse	5 => soft limit		%VBus	.1%
+    	//	fine	0 => 5				%VBus	.05%
+    	//	shoot						PID Position
+    	
+    	switch (_autoAimAndShootState)
+    	{
+    		case ZERO_AXES:
+    	    	if(!_isSliderAxisZeroedYet)
+    	    	{
+    	    		ZeroSliderAxisReEntrant(_robotLiveData);
+    	    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
+    	    	}
+    	    	else
+    	    	{
+    	    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
+    	    	}
+    	    	
+    	    	if (!_isTurretAxisZeroedYet)
+    	    	{
+    	    		ZeroTurretAxisReEntrant(_robotLiveData);
+    	    	}
+    	    	
+    	    	double sliderPositionError = Math.abs(outputDataValues.SliderTargetPositionCmd - _sliderMtr.getPosition());
+    	    	if (_isSliderAxisZeroedYet && _isTurretAxisZeroedYet && (sliderPositionError < 1.0) && (outputDataValues.SliderTargetPositionCmd == RobotMap.SLIDER_DEFAULT_TARGET_POSITION))
+    	    	{
+    	    		_hardware.ReportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ");
+    	    		_autoAimAndShootState = Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
+    	    	}
+    			break;
+    			
+    		case COARSE_TURRET_TO_TARGET:
+
+    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_COARSE_ADJUST_DEADBAND)
+    			{
+    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+    				{
+    					// switch to % VBUS Mode
+        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+        				_hardware.ReportError("Turret changing to PercentVBus mode");
+    				}
+    				
+    				if (visionData.DesiredTurretTurnInDegrees > 0)
+    				{
+	    				outputDataValues.TurretVelocityCmd = RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
+	    				//_hardware.ReportError("Turret Speed at 10% | ");
+    				}
+    				else
+    				{
+	    				outputDataValues.TurretVelocityCmd = -1.0 * RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
+	    				//_hardware.ReportError("Turret Speed at -10% | ");
+    				}    					
+    			}
+    			else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 0)
+    			{
+    				_autoAimAndShootState = Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET;
+					_hardware.ReportError("Changing Auton State To: FINE_TURRET_TO_TARGET | ");
+    			}
+    			else
+    			{
+    				_hardware.ReportError("Coarse Vision Data looks invalid" );
+    			}
+    			break;
+    			
+    		case FINE_TURRET_TO_TARGET:
+
+    			_hardware.ReportError("Vision: " + visionData.DesiredTurretTurnInDegrees + " | ");
+    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_FINE_ADJUST_DEADBAND)
+    			{
+    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
+    				{
+    					// switch to % VBUS Mode
+        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
+        				_hardware.ReportError("Turret changing to PercentVBus mode");
+    				}
+    				
+    				if (visionData.DesiredTurretTurnInDegrees > 0)
+    				{
+	    				outputDataValues.TurretVelocityCmd = RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED;
+	    				_hardware.ReportError("Turret Speed at 10% | ");
+    				}
+    				else
+    				{
+	    				outputDataValues.TurretVelocityCmd = -1.0 * RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED;
+	    				_hardware.ReportError("Turret Speed at -10% | ");
+    				}    					
+    			}
+    			else if(Math.abs(visionData.DesiredTurretTurnInDegrees) > 0)
+    			{
+    	    		// switch to PID Position Mode
+    	    		
+    	    		// stop driving the axis
+    	    		outputDataValues.TurretVelocityCmd = 0;
+    		    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    	    		
+    		    	// now switch to position loop mode
+    		    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
+    		    	outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
+    		    	_hardware.ReportError("Turret changing to Position mode | ");
+    		    	
+    		    	try {
+    		    		// sleep a little to let the zero occur
+    					_hardware.Sleep(1);
+    				} catch (InterruptedException e) {
+    					// TODO Auto-generated catch block
+    					e.printStackTrace();
+    				}
+    				
+    				_autoAimAndShootState = Auto_Aim_And_Shoot_State.SHOOT;
+					_hardware.ReportError("Changing Auton State To: SHOOT | ");
+    			}
+    			else
+    			{
+    				_hardware.ReportError("Fine Vision Data looks invalid" );
+    			}
+    			
+				break;
+    			
+    		case SHOOT:
+				// wait until we reach 95% of target wheel speed
+				if (inputDataValues.ShooterActualSpeed > (RobotMap.SHOOTER_TARGET_MOTOR_RPM * 0.95))
+				{
+					// start the infeed to drive the ball up into the shooter
+					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
+					//_hardware.ReportError("Ready to Shoot | ");
+				}
+				
+				// drive both sets of wheels
+    			outputDataValues.ShooterMtrCurrentVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
+				outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
+    			break;
+    			
+    		case TIMEOUT:
+    			_hardware.ReportError("Error... Auto Aim and Shoot sequence timed out | ");
+    			break;
+    	}
+    }
+
+	// ========================================================================
+	// Event log
+	// ========================================================================
+
+	// record each state machine that moved to a new state since the last call, called at the end of every scan
+	//	(event = the new state, value = its ordinal, text = the state it left)
+	public void RecordStateChanges()
+	{
+		WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+		
+		recordStateChange(0, LogEventCatalog.AUTON_SHOOT_BALL_STATE, workingDataValues.AutonShootBallState);
+		recordStateChange(1, LogEventCatalog.SLIDER_ZERO_STATE, _sliderZeroState);
+		recordStateChange(2, LogEventCatalog.INFEED_TILT_ZERO_STATE, _infeedTiltZeroState);
+		recordStateChange(3, LogEventCatalog.TELEOP_ELEVATOR_STATE, workingDataValues.TeleopElevatorState);
+		recordStateChange(4, LogEventCatalog.TURRET_ZERO_STATE, _turretZeroState);
+		recordStateChange(5, LogEventCatalog.CROSS_DEFENSE_AUTON_STATE, _crossDefenseAutonState);
+		recordStateChange(6, LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, _autoAimAndShootState);
+		recordStateChange(7, LogEventCatalog.CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE, _crossDefenseAutoAimAndShootState);
+		recordStateChange(8, LogEventCatalog.AND1_SERVO_DIR_STATE, _and1ServoDirState);
+	}
+	
+	private void recordStateChange(int stateMachineIndex, int firstEventId, Enum<?> state)
+	{
+		Enum<?> lastState = _lastRecordedStates[stateMachineIndex];
+		if (state != null && state != lastState)
+		{
+			_hardware.RecordEvent(LogEventCatalog.GetStateEventId(firstEventId, state), state.ordinal(),
+									(lastState != null) ? lastState.name() : null);
+		}
+		_lastRecordedStates[stateMachineIndex] = state;
+	}
+
+	// ========================================================================
+	// State shown on the dashboard
+	// ========================================================================
+	public boolean IsInfeedTiltAxisZeroedYet()
+	{
+		return _isInfeedTiltAxisZeroedYet;
+	}
+
+	public boolean IsSliderAxisZeroedYet()
+	{
+		return _isSliderAxisZeroedYet;
+	}
+
+	public boolean IsTurretAxisZeroedYet()
+	{
+		return _isTurretAxisZeroedYet;
+	}
+
+	public boolean IsShooterInAltMode()
+	{
+		return _isShooterinAltMode;
+	}
+
+	public String GetCurrentCameraName()
+	{
+		return _currentCameraName;
+	}
+
+	// mark all of the absolute position axes as zeroed (or not), used when a replay starts in the middle of a match
+	public void SetAxesZeroed(boolean isZeroed)
+	{
+		_isInfeedTiltAxisZeroedYet = isZeroed;
+		_isSliderAxisZeroedYet = isZeroed;
+		_isTurretAxisZeroedYet = isZeroed;
+	}
+}
@@ -0,0 +1,92 @@
+package org.usfirst.frc.team4028.robot;
+
+/**
+ * This class calculates CRC32C (Castagnoli) checksums
+ *
+ * 	java.util.zip.CRC32C was only added in Java 9, the roboRIO runs Java 8.
+ * 	Uses 8 lookup tables (slicing-by-8) so 8 bytes are processed per loop instead of 1.
+ *
+ * 	Usage is the same as java.util.zip.CRC32: start with 0 and pass the result of each Update to the next one.
+ */
+public final class Crc32c
+{
+	// reflected form of the Castagnoli polynomial 0x1EDC6F41
+	private static final int POLYNOMIAL = 0x82F63B78;
+
+	private static final int[][] TABLES = buildTables();
+
+	private Crc32c()
+	{
+	}
+
+	// checksum of a byte range
+	public static int Compute(byte[] bytes, int offset, int length)
+	{
+		return Update(0, bytes, offset, length);
+	}
+
+	// continue a checksum with more bytes
+	public static int Update(int crc, byte[] bytes, int offset, int length)
+	{
+		int[] t0 = TABLES[0], t1 = TABLES[1], t2 = TABLES[2], t3 = TABLES[3];
+		int[] t4 = TABLES[4], t5 = TABLES[5], t6 = TABLES[6], t7 = TABLES[7];
+
+		int c = ~crc;
+		int index = offset;
+		int end = offset + length;
+
+		while (end - index >= 8)
+		{
+			c ^= (bytes[index] & 0xFF)
+					| ((bytes[index + 1] & 0xFF) << 8)
+					| ((bytes[index + 2] & 0xFF) << 16)
+					| ((bytes[index + 3] & 0xFF) << 24);
+
+			c = t7[c & 0xFF]
+					^ t6[(c >>> 8) & 0xFF]
+					^ t5[(c >>> 16) & 0xFF]
+					^ t4[c >>> 24]
+					^ t3[bytes[index + 4] & 0xFF]
+					^ t2[bytes[index + 5] & 0xFF]
+					^ t1[bytes[index + 6] & 0xFF]
+					^ t0[bytes[index + 7] & 0xFF];
+			index += 8;
+		}
+
+		while (index < end)
+		{
+			c = (c >>> 8) ^ t0[(c ^ bytes[index]) & 0xFF];
+			index++;
+		}
+
+		return ~c;
+	}
+
+	// TABLES[0] is the normal byte-at-a-time table, TABLES[n] is the CRC of a byte followed by n zero bytes
+	private static int[][] buildTables()
+	{
+		int[][] tables = new int[8][256];
+
+		for (int value = 0; value < 256; value++)
+		{
+			int c = value;
+			for (int bit = 0; bit < 8; bit++)
+			{
+				c = ((c & 1) != 0) ? (c >>> 1) ^ POLYNOMIAL : (c >>> 1);
+			}
+			tables[0][value] = c;
+		}
+
+		for (int value = 0; value < 256; value++)
+		{
+			int c = tables[0][value];
+			for (int tableIndex = 1; tableIndex < 8; tableIndex++)
+			{
+				c = (c >>> 8) ^ tables[0][c & 0xFF];
+				tables[tableIndex][value] = c;
+			}
+		}
+
+		return tables;
+	}
+}
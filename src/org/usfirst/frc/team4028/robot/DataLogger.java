@@ -1,15 +1,14 @@
 package org.usfirst.frc.team4028.robot;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+import edu.wpi.first.wpilibj.DriverStation;
 
 /**
  * 
@@ -23,52 +22,384 @@ import java.util.concurrent.TimeUnit;
  */
 public class DataLogger 
 {
-    private PrintWriter _writer;
+	// fixed columns written ahead of the RobotData columns
+	public static final String START_DELTA_COLUMN_NAME = "StartDeltaMicroSecs";
+	public static final String LAST_SCAN_DELTA_COLUMN_NAME = "LastScanDeltaMicroSecs";
+	
+	// the same column in logs written before the deltas were in microsecs
+	public static final String LEGACY_START_DELTA_MS_COLUMN_NAME = "StartDeltaMS";
+	
+	// file suffix of a warm standby log (opened while disabled, renamed to <time>_<mode> when it is closed, see Start)
+	public static final String STANDBY_FILE_SUFFIX = "standby";
+	
+    private LogBatchWriter _batchWriter;
+    private LogRecord _record;
+    private long _writeErrorCount;
+    private LogEventChannel _eventChannel;
+    private LogStatistics _statistics;
+    private LogStagingArea _stagingArea;
+    private String _parentFolder;
+    private String _fileExtension;
+    private boolean _isStandby;
+    private String _startedLogFilePathName;
 
     // constructor, open a new timestamped log file in the target directory
     public DataLogger(String parentFolder, String fileSuffix) throws IOException 
+    {
+    	this(parentFolder, fileSuffix, (LogStagingArea)null);
+    }
+    
+    // constructor, open a new timestamped log file in the staging folder (see LogStagingArea) or in the target directory if it is null
+    public DataLogger(String parentFolder, String fileSuffix, LogStagingArea stagingArea) throws IOException 
+    {
+    	this(parentFolder, fileSuffix, AddFramingExtension(TsvLogEncoder.FILE_EXTENSION), stagingArea);
+    	
+    	// each scan is formatted into a reused buffer, no Strings are built
+    	LogOutput output = (stagingArea != null) ? stagingArea.OpenLogOutput(this.LogFilePathName) : new FileLogOutput(this.LogFilePathName);
+    	_batchWriter = new LogBatchWriter(new TsvLogEncoder(), AddFraming(output), RobotMap.LOG_WRITER_BUFFER_SIZE);
+    }
+    
+    // constructor used by subclasses that open their own output file (in the staging folder if stagingArea is not null)
+    protected DataLogger(String parentFolder, String fileSuffix, String fileExtension, LogStagingArea stagingArea)
+    {
+    	_stagingArea = stagingArea;
+    	_parentFolder = (stagingArea != null) ? stagingArea.GetStagingFolderPath() : parentFolder;
+    	_fileExtension = fileExtension;
+    	_isStandby = fileSuffix.equals(STANDBY_FILE_SUFFIX);
+    	
+    	this.LoggingStartedMicroSecs = MonotonicClock.GetMicroSecs();
+    	this.LogFilePathName = BuildLogFilePathName(_parentFolder, fileSuffix, fileExtension);
+    }
+    
+    // build a new timestamped file path name in the target directory
+    //	(this is the only wall time in a log, every row is timed by the monotonic deltas from it)
+    protected static String BuildLogFilePathName(String parentFolder, String fileSuffix, String fileExtension)
+    {
+    	return BuildLogFilePathName(parentFolder, fileSuffix, fileExtension, System.currentTimeMillis());
+    }
+    
+    // build a timestamped file path name for a wall time (epoch millisecs)
+    protected static String BuildLogFilePathName(String parentFolder, String fileSuffix, String fileExtension, long wallTimeMSecs)
     {
     	SimpleDateFormat outputFormatter = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS");
 		outputFormatter.setTimeZone(TimeZone.getTimeZone("US/Eastern")); 
-		String newDateString = outputFormatter.format(new Date());
+		String newDateString = outputFormatter.format(new Date(wallTimeMSecs));
     	
     	// build the new filename
-    	String fileName = newDateString + "_" + fileSuffix + ".tsv";
+    	String fileName = newDateString + "_" + fileSuffix + fileExtension;
     	// build the full file path name
-    	this.LogFilePathName = parentFolder + File.separator + fileName;
+    	return parentFolder + File.separator + fileName;
+    }
+    
+    // the 1st of the folders that exists (ex: the USB stick, then the RAM disk), null if none of them exist
+    protected static String FindFirstFolder(String[] folderPaths)
+    {
+    	for (String folderPath : folderPaths)
+    	{
+    		if (new File(folderPath).isDirectory())
+    		{
+    			return folderPath;
+    		}
+    	}
+    	return null;
+    }
+    
+    // frame everything written to the device with a length & CRC32C (see FramedLogOutput) if framing is turned on
+    protected static LogOutput AddFraming(LogOutput deviceOutput) throws IOException
+    {
+    	if (!RobotMap.IS_LOG_FRAMING_ENABLED)
+    	{
+    		return deviceOutput;
+    	}
+    	return new FramedLogOutput(deviceOutput, RobotMap.LOG_FRAME_MAX_PAYLOAD_SIZE);
+    }
+    
+    // the extension of a file written through AddFraming (a framed TSV log gets .tsvf, so a .tsv file is always plain text
+    //	a spreadsheet can open, LogFileConverter turns a .tsvf back into a .tsv)
+    protected static String AddFramingExtension(String fileExtension)
+    {
+    	if (RobotMap.IS_LOG_FRAMING_ENABLED && fileExtension.equals(TsvLogEncoder.FILE_EXTENSION))
+    	{
+    		return TsvLogEncoder.FRAMED_FILE_EXTENSION;
+    	}
+    	return fileExtension;
+    }
+    
+    // build the list of columns written to the file (the columns are the same for every RobotData, null is allowed)
+    protected static LogSchema BuildLogSchema(RobotData dataToLog)
+    {
+    	if (dataToLog == null)
+    	{
+    		dataToLog = new RobotData();
+    	}
+    	
+    	LogSchema schema = new LogSchema();
+    	schema.AddColumn(START_DELTA_COLUMN_NAME, LogSchema.Column_Type.LONG);
+    	schema.AddColumn(LAST_SCAN_DELTA_COLUMN_NAME, LogSchema.Column_Type.LONG);
+    	dataToLog.DescribeLogColumns(schema);
+    	return schema;
+    }
+    
+    // build the per column sampling policy, returns null if sampling is turned off (every column is written every scan)
+    protected static LogSamplingPolicy BuildSamplingPolicy(RobotData dataToLog)
+    {
+    	if (!RobotMap.IS_LOG_SAMPLING_ENABLED)
+    	{
+    		return null;
+    	}
+    	if (dataToLog == null)
+    	{
+    		dataToLog = new RobotData();
+    	}
+    	
+    	LogSamplingPolicy policy = new LogSamplingPolicy();
+    	dataToLog.DescribeLogSampling(policy);
+    	return policy;
+    }
+    
+    // create the side-car index (see LogIndexWriter) for a log, returns null if indexing is turned off
+    protected LogIndexWriter CreateIndexWriter(LogSchema schema) throws IOException
+    {
+    	if (!RobotMap.IS_LOG_INDEX_ENABLED)
+    	{
+    		return null;
+    	}
+    	return new LogIndexWriter(LogIndex.BuildIndexFilePathName(this.LogFilePathName), schema, RobotMap.LOG_INDEX_INTERVAL_MSECS);
+    }
+    
+    // open the event log (see LogEventChannel) next to the log, does nothing if events are turned off
+    protected void OpenEventChannel() throws IOException
+    {
+    	if (RobotMap.IS_LOG_EVENTS_ENABLED)
+    	{
+    		_eventChannel = new LogEventChannel(this.LogFilePathName, RobotMap.LOG_EVENT_RING_BUFFER_CAPACITY, RobotMap.LOG_EVENT_WRITER_BUFFER_SIZE);
+    	}
+    }
+    
+    // the event log, null if events are turned off
+    protected LogEventChannel GetEventChannel()
+    {
+    	return _eventChannel;
+    }
+    
+    protected void CloseEventChannel()
+    {
+    	if (_eventChannel != null)
+    	{
+    		try
+    		{
+    			_eventChannel.Close();
+    		}
+    		catch (IOException e)
+    		{
+    			DriverStation.reportError("Error closing event log file: " + e.getMessage() + " | ", false);
+    		}
+    	}
+    }
+    
+    // start the running statistics (see LogStatistics) of the log, does nothing if the summary is turned off
+    protected void StartStatistics(LogSchema schema)
+    {
+    	if (RobotMap.IS_LOG_SUMMARY_ENABLED)
+    	{
+    		_statistics = new LogStatistics(schema, RobotMap.LOG_SUMMARY_PERCENTILES);
+    	}
+    }
+    
+    // the running statistics, null if the summary is turned off
+    protected LogStatistics GetStatistics()
+    {
+    	return _statistics;
+    }
+    
+    // write the summary file next to the log & report the loop timing to the driver station
+    protected void WriteSummary()
+    {
+    	if (_statistics == null)
+    	{
+    		return;
+    	}
     	
-        _writer = new PrintWriter(new BufferedWriter(new FileWriter(this.LogFilePathName, true)));
+    	String summaryFilePathName = LogStatistics.BuildSummaryFilePathName(this.LogFilePathName);
+    	try
+    	{
+    		_statistics.WriteSummary(summaryFilePathName);
+    		DriverStation.reportError("Log summary: " + _statistics.BuildColumnSummary(LAST_SCAN_DELTA_COLUMN_NAME) 
+    									+ ", " + _statistics.GetColumnCount() + " columns in " + summaryFilePathName + " | ", false);
+    	}
+    	catch (IOException e)
+    	{
+    		DriverStation.reportError("Error writing log summary file: " + e.getMessage() + " | ", false);
+    	}
+    }
+    
+    // copy this scan's values into a record (same column order as BuildLogSchema)
+    protected static void CaptureLogRecord(RobotData dataToLog, LogRecord record)
+    {
+    	long nowMicroSecs = MonotonicClock.GetMicroSecs();
+    	record.PutLong(nowMicroSecs - dataToLog.WorkingDataValues.LoggingStartedMicroSecs);
+    	record.PutLong(nowMicroSecs - dataToLog.WorkingDataValues.LastScanMicroSecs);
+    	dataToLog.CaptureLogRecord(record);
     }
 
     // Property containing Full PathName to log file
     public String LogFilePathName; 
     
-    // Write a string to the file
-    public void WriteData(String textToLog) 
-    {        
-        _writer.print("StartDetaMS" + "\t" + "LastScanDeltaMS" + "\t" +textToLog);
-        _writer.flush();
+    // Property containing the MonotonicClock time the log file was opened (or the standby log was started)
+    public long LoggingStartedMicroSecs;
+    
+    // hand a warm standby log (opened & header written while disabled) over to a mode, only sets a few fields
+    //	the files are renamed to <start time>_<mode> when the log is closed
+    public void Start(String mode)
+    {
+    	this.LoggingStartedMicroSecs = MonotonicClock.GetMicroSecs();
+    	if (_isStandby)
+    	{
+    		_startedLogFilePathName = BuildLogFilePathName(_parentFolder, mode, _fileExtension);
+    	}
+    }
+    
+    // the path name the log file has once it is closed (a started standby log is renamed after its mode, see Start)
+    public String GetFinalLogFilePathName()
+    {
+    	return (_startedLogFilePathName != null) ? _startedLogFilePathName : this.LogFilePathName;
+    }
+    
+    // Write the column header line to the file
+    public void WriteHeader(RobotData dataToLog)
+    {
+    	LogSchema schema = BuildLogSchema(dataToLog);
+    	_record = new LogRecord(schema.GetColumnCount());
+    	
+    	try
+    	{
+    		_batchWriter.SetIndexWriter(CreateIndexWriter(schema));
+    		_batchWriter.SetSamplingPolicy(BuildSamplingPolicy(dataToLog), RobotMap.LOG_DELTA_KEYFRAME_INTERVAL);
+    		StartStatistics(schema);
+    		_batchWriter.SetStatistics(GetStatistics());
+    		_batchWriter.WriteHeader(schema);
+    		_batchWriter.Flush();
+    		OpenEventChannel();
+    	}
+    	catch (IOException e)
+    	{
+    		onWriteError(e);
+    	}
     }
 
     // Write a structured data object to the log file
     public void WriteData(RobotData dataToLog) 
     {
-    	TimeUnit timeUnit = TimeUnit.MILLISECONDS;
-       	Date now = new Date();
-       	
-    	long startDeltaDiffInMillies = now.getTime() - dataToLog.WorkingDataValues.LoggingStartedDT.getTime();
-        long startDeltaTimestamp = timeUnit.convert(startDeltaDiffInMillies,TimeUnit.MILLISECONDS);
-        
-    	long lastScanDeltaDiffInMillies = now.getTime() - dataToLog.WorkingDataValues.LastScanDT.getTime();
-        long lastScanDeltaTimestamp = timeUnit.convert(lastScanDeltaDiffInMillies,TimeUnit.MILLISECONDS);
-        
-        _writer.print(startDeltaTimestamp + "\t" + lastScanDeltaTimestamp + "\t" + dataToLog.BuildTSVData());
-        _writer.flush();
+    	if (_record == null)
+    	{
+    		return;
+    	}
+    	
+    	_record.Reset();
+    	CaptureLogRecord(dataToLog, _record);
+    	
+    	try
+    	{
+    		_batchWriter.WriteRecord(_record);
+    		_batchWriter.Flush();
+    		if (_eventChannel != null)
+    		{
+    			_eventChannel.Drain();
+    		}
+    	}
+    	catch (IOException e)
+    	{
+    		onWriteError(e);
+    	}
+    }
+    
+    // Record an event (see LogEventCatalog) in the event log with the current FPGA time, only call from the main robot thread
+    public void RecordEvent(int eventId, double value, String text)
+    {
+    	if (_eventChannel != null)
+    	{
+    		_eventChannel.Record(MonotonicClock.GetMicroSecs(), eventId, value, text);
+    	}
     }
     
     // close the file
     public void close() 
     {
-    	_writer.close();
+    	CloseEventChannel();
+    	
+    	if (_batchWriter != null)
+    	{
+    		try
+    		{
+    			_batchWriter.Close();
+    		}
+    		catch (IOException e)
+    		{
+    			DriverStation.reportError("Error closing log file: " + e.getMessage() + " | ", false);
+    		}
+    	}
+    	
+    	WriteSummary();
+    	FinishLogFiles();
+    }
+    
+    // called after the log & its side-car files are closed: names a started standby log after its mode,
+    //	deletes a standby log that was never started & lets the staging area flush the files
+    protected void FinishLogFiles()
+    {
+    	if (_isStandby)
+    	{
+    		String[] sideCarExtensions = { "", LogIndexWriter.FILE_EXTENSION, LogEventChannel.FILE_EXTENSION, LogStatistics.FILE_EXTENSION };
+    		String startedLogFilePathName = _startedLogFilePathName;
+    		for (String sideCarExtension : sideCarExtensions)
+    		{
+    			finishLogFile(this.LogFilePathName + sideCarExtension, startedLogFilePathName, sideCarExtension);
+    			if (_stagingArea != null)
+    			{
+    				// a log that spilled over is on the USB stick
+    				finishLogFile(_stagingArea.GetTargetFilePathName(this.LogFilePathName + sideCarExtension), 
+    								(startedLogFilePathName != null) ? _stagingArea.GetTargetFilePathName(startedLogFilePathName) : null, 
+    								sideCarExtension);
+    			}
+    		}
+    		if (startedLogFilePathName != null)
+    		{
+    			this.LogFilePathName = startedLogFilePathName;
+    		}
+    	}
+    	
+    	if (_stagingArea != null)
+    	{
+    		_stagingArea.RequestFlush();
+    	}
+    }
+    
+    // rename 1 file of a standby log (or delete it if the log was never started), does nothing if the file does not exist
+    private static void finishLogFile(String filePathName, String startedLogFilePathName, String sideCarExtension)
+    {
+    	File file = new File(filePathName);
+    	if (!file.exists())
+    	{
+    		return;
+    	}
+    	
+    	if (startedLogFilePathName == null)
+    	{
+    		file.delete();
+    	}
+    	else if (!file.renameTo(new File(startedLogFilePathName + sideCarExtension)))
+    	{
+    		DriverStation.reportError("Error renaming standby log file " + filePathName + " | ", false);
+    	}
+    }
+    
+    // only report the 1st error so a failed USB stick does not flood the driver station
+    private void onWriteError(IOException e)
+    {
+    	_writeErrorCount++;
+    	if (_writeErrorCount == 1)
+    	{
+    		DriverStation.reportError("Error writing log file: " + e.getMessage() + " | ", false);
+    	}
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This class writes encoded log bytes to a file using a FileChannel
+ */
+public class FileLogOutput implements LogOutput
+{
+	private final FileOutputStream _fileStream;
+	private final FileChannel _fileChannel;
+	private long _bytesWritten;
+
+	// constructor, opens the file in append mode
+	public FileLogOutput(String filePathName) throws IOException
+	{
+		this(filePathName, true);
+	}
+
+	// constructor
+	public FileLogOutput(String filePathName, boolean isAppend) throws IOException
+	{
+		_fileStream = new FileOutputStream(filePathName, isAppend);
+		_fileChannel = _fileStream.getChannel();
+	}
+
+	@Override
+	public void Write(ByteBuffer source) throws IOException
+	{
+		while (source.hasRemaining())
+		{
+			_bytesWritten += _fileChannel.write(source);
+		}
+	}
+
+	@Override
+	public void Flush() throws IOException
+	{
+		// FileChannel does not buffer, bytes are already handed to the OS
+	}
+
+	@Override
+	public void Close() throws IOException
+	{
+		_fileChannel.close();
+		_fileStream.close();
+	}
+
+	@Override
+	public long GetBytesWritten()
+	{
+		return _bytesWritten;
+	}
+}
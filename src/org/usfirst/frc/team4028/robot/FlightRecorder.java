@@ -0,0 +1,307 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+import org.usfirst.frc.team4028.robot.RobotData.Infeed_Tilt_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.Slider_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.Turret_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.WorkingData;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * This class keeps the last few seconds of RobotData in memory and writes them to a file when something goes wrong
+ *
+ * 	It runs whether or not the USB stick is there (the data logger only runs when it is).
+ * 	Every scan is copied into the next slot of a fixed size circular buffer of LogRecords, the same primitive copy
+ * 	the data logger makes, so nothing is allocated while recording and the memory used is set when it is built
+ * 	(capacity x columns, see GetMemoryBytes).
+ *
+ * 	Triggers
+ * 		TILT_SAFETY			the fwd or rev drive tilt safety engages
+ * 		HOMING_TIMEOUT		a turret, slider or infeed tilt zero state machine times out (see OnEvent)
+ * 		VISION_DISCONNECT	the vision server stops answering (see SetVisionConnected)
+ * 		LOOP_OVERRUN		a scan starts more than RobotMap.FLIGHT_RECORDER_LOOP_OVERRUN_MSECS after the last one
+ *
+ * 	After a trigger it keeps recording for postTriggerScanCount scans (so the dump shows what happened next),
+ * 	then the buffer is frozen and a background thread writes it oldest scan first to a TSV log
+ * 	(ex: 20161018_143000_123_telop_TILT_SAFETY.tsv) on the USB stick, or on the RAM disk if the stick is missing.
+ * 	Scans are not recorded while the dump is written and triggers are ignored (and counted) until it is done.
+ *
+ * 	Dumps have the same columns as the data log, so LogQueryTool, LogFileConverter & LogReplayEngine can read them.
+ *
+ * 	Only used on the main robot thread (except the dump thread, which only reads the frozen buffer).
+ */
+public class FlightRecorder
+{
+	// define the reasons for a dump
+	public enum Trigger_Type
+	{
+		TILT_SAFETY,
+		HOMING_TIMEOUT,
+		VISION_DISCONNECT,
+		LOOP_OVERRUN
+	}
+
+	// zero state machine states that trigger a dump, see OnEvent
+	private static final int SLIDER_ZERO_TIMEOUT_EVENT_ID
+			= LogEventCatalog.GetStateEventId(LogEventCatalog.SLIDER_ZERO_STATE, Slider_Zero_State.TIMEOUT);
+	private static final int INFEED_TILT_ZERO_TIMEOUT_EVENT_ID
+			= LogEventCatalog.GetStateEventId(LogEventCatalog.INFEED_TILT_ZERO_STATE, Infeed_Tilt_Zero_State.TIMEOUT);
+	private static final int TURRET_ZERO_TIMEOUT_EVENT_ID
+			= LogEventCatalog.GetStateEventId(LogEventCatalog.TURRET_ZERO_STATE, Turret_Zero_State.TIMEOUT);
+
+	private final LogSchema _schema;
+	private final LogRecord[] _records;
+	private final int _timestampColumnIndex;
+	private final int _postTriggerScanCount;
+	private final String[] _dumpFolderPaths;
+
+	// circular buffer position
+	private int _nextRecordIndex;
+	private int _recordCount;
+
+	// trigger state
+	private String _mode = "";
+	private Trigger_Type _pendingTrigger;
+	private int _postTriggerScansLeft;
+	private boolean _isTiltSafetyEngagedLastScan;
+	private boolean _isVisionConnectedLastScan;
+	private long _lastScanFPGATimeMicroSecs;
+
+	// set while the dump thread owns the buffer
+	private volatile boolean _isDumping;
+
+	// counters
+	private volatile long _dumpCount;
+	private long _ignoredTriggerCount;
+	private long _skippedScanCount;
+
+	// constructor, preallocates all of the records (dumps go to the 1st dump folder that exists)
+	public FlightRecorder(LogSchema schema, int capacity, int postTriggerScanCount, String[] dumpFolderPaths)
+	{
+		_schema = schema;
+		_timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+		_postTriggerScanCount = Math.min(postTriggerScanCount, capacity - 1);
+		_dumpFolderPaths = dumpFolderPaths;
+
+		_records = new LogRecord[capacity];
+		for (int recordIndex = 0; recordIndex < capacity; recordIndex++)
+		{
+			_records[recordIndex] = new LogRecord(schema.GetColumnCount());
+		}
+	}
+
+	// start recording a new mode (auton / telop / test), the mode is part of the dump file names
+	public void Start(String mode)
+	{
+		_mode = mode;
+
+		// the 1st scan of a mode is late by design (disabled -> enabled), it is not an overrun
+		_lastScanFPGATimeMicroSecs = 0;
+	}
+
+	// =====================================
+	// Recording (main robot thread, call 1 time per scan after the control logic ran)
+	// =====================================
+	public void Record(RobotData data)
+	{
+		if (_isDumping)
+		{
+			_skippedScanCount++;
+			
+			// the gap left by the dump is not an overrun
+			_lastScanFPGATimeMicroSecs = 0;
+			return;
+		}
+
+		LogRecord record = _records[_nextRecordIndex];
+		record.Reset();
+		DataLogger.CaptureLogRecord(data, record);
+
+		_nextRecordIndex = (_nextRecordIndex + 1) % _records.length;
+		if (_recordCount < _records.length)
+		{
+			_recordCount++;
+		}
+
+		checkRecordTriggers(data, record);
+
+		if (_pendingTrigger != null)
+		{
+			_postTriggerScansLeft--;
+			if (_postTriggerScansLeft <= 0)
+			{
+				startDump();
+			}
+		}
+	}
+
+	// =====================================
+	// Triggers
+	// =====================================
+
+	// dump the buffer after the post trigger scans, returns false if a dump is already pending or being written
+	public boolean Trigger(Trigger_Type triggerType)
+	{
+		if (_pendingTrigger != null || _isDumping)
+		{
+			_ignoredTriggerCount++;
+			return false;
+		}
+
+		_pendingTrigger = triggerType;
+		_postTriggerScansLeft = _postTriggerScanCount;
+		return true;
+	}
+
+	// called for each event sent to the event log (see LogEventCatalog), triggers on a homing timeout
+	public void OnEvent(int eventId)
+	{
+		if (eventId == SLIDER_ZERO_TIMEOUT_EVENT_ID
+				|| eventId == INFEED_TILT_ZERO_TIMEOUT_EVENT_ID
+				|| eventId == TURRET_ZERO_TIMEOUT_EVENT_ID)
+		{
+			Trigger(Trigger_Type.HOMING_TIMEOUT);
+		}
+	}
+
+	// called every scan with the state of the vision server connection, triggers when it is lost
+	public void SetVisionConnected(boolean isVisionConnected)
+	{
+		if (_isVisionConnectedLastScan && !isVisionConnected)
+		{
+			Trigger(Trigger_Type.VISION_DISCONNECT);
+		}
+		_isVisionConnectedLastScan = isVisionConnected;
+	}
+
+	// triggers read from the scan just recorded
+	private void checkRecordTriggers(RobotData data, LogRecord record)
+	{
+		WorkingData workingDataValues = data.WorkingDataValues;
+		boolean isTiltSafetyEngaged = workingDataValues.IsFwdDriveTiltSafetyEngagedLastScan
+										|| workingDataValues.IsRevDriveTiltSafetyEngagedLastScan;
+		if (isTiltSafetyEngaged && !_isTiltSafetyEngagedLastScan)
+		{
+			Trigger(Trigger_Type.TILT_SAFETY);
+		}
+		_isTiltSafetyEngagedLastScan = isTiltSafetyEngaged;
+
+		if (_timestampColumnIndex >= 0)
+		{
+			long fpgaTimeMicroSecs = record.GetLong(_timestampColumnIndex);
+			if (_lastScanFPGATimeMicroSecs > 0
+					&& fpgaTimeMicroSecs - _lastScanFPGATimeMicroSecs > RobotMap.FLIGHT_RECORDER_LOOP_OVERRUN_MSECS * 1000L)
+			{
+				Trigger(Trigger_Type.LOOP_OVERRUN);
+			}
+			_lastScanFPGATimeMicroSecs = fpgaTimeMicroSecs;
+		}
+	}
+
+	// =====================================
+	// Dump (background thread)
+	// =====================================
+
+	// freeze the buffer & write it on a background thread
+	private void startDump()
+	{
+		final Trigger_Type triggerType = _pendingTrigger;
+		final String mode = _mode;
+		final int recordCount = _recordCount;
+		final int firstRecordIndex = (_nextRecordIndex - recordCount + _records.length) % _records.length;
+
+		_pendingTrigger = null;
+		_isDumping = true;
+
+		Thread dumpThread = new Thread(new Runnable()
+								{
+									public void run()
+									{
+										try
+										{
+											writeDump(triggerType, mode, firstRecordIndex, recordCount);
+										}
+										finally
+										{
+											// start over with an empty buffer, so the next dump does not repeat this one
+											_recordCount = 0;
+											_isDumping = false;
+										}
+									}
+								});
+		dumpThread.setName("Flight Recorder Dump Thread");
+		dumpThread.setDaemon(true);
+		dumpThread.start();
+	}
+
+	private void writeDump(Trigger_Type triggerType, String mode, int firstRecordIndex, int recordCount)
+	{
+		String dumpFolderPath = DataLogger.FindFirstFolder(_dumpFolderPaths);
+		if (dumpFolderPath == null)
+		{
+			DriverStation.reportError("Flight recorder: no folder to write the " + triggerType + " dump to | ", false);
+			return;
+		}
+
+		String dumpFilePathName = DataLogger.BuildLogFilePathName(dumpFolderPath, mode + "_" + triggerType,
+																		DataLogger.AddFramingExtension(TsvLogEncoder.FILE_EXTENSION));
+		try
+		{
+			LogBatchWriter batchWriter = new LogBatchWriter(new TsvLogEncoder(),
+															DataLogger.AddFraming(new FileLogOutput(dumpFilePathName)),
+															RobotMap.LOG_WRITER_BUFFER_SIZE);
+			try
+			{
+				batchWriter.WriteHeader(_schema);
+				for (int offset = 0; offset < recordCount; offset++)
+				{
+					batchWriter.WriteRecord(_records[(firstRecordIndex + offset) % _records.length]);
+				}
+			}
+			finally
+			{
+				batchWriter.Close();
+			}
+
+			_dumpCount++;
+			DriverStation.reportError("Flight recorder: " + triggerType + ", wrote " + recordCount + " scans to " + dumpFilePathName + " | ", false);
+		}
+		catch (IOException e)
+		{
+			DriverStation.reportError("Error writing flight recorder dump: " + e.getMessage() + " | ", false);
+		}
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public int GetCapacity()
+	{
+		return _records.length;
+	}
+
+	// approximate heap used by the records (8 bytes per value + 1 reference per column, + array headers)
+	public long GetMemoryBytes()
+	{
+		long bytesPerRecord = _schema.GetColumnCount() * (8L + 8L) + 3 * 16L;
+		return bytesPerRecord * _records.length;
+	}
+
+	public long GetDumpCount()
+	{
+		return _dumpCount;
+	}
+
+	public long GetIgnoredTriggerCount()
+	{
+		return _ignoredTriggerCount;
+	}
+
+	public long GetSkippedScanCount()
+	{
+		return _skippedScanCount;
+	}
+}
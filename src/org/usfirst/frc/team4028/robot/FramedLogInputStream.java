@@ -0,0 +1,283 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * This class reads a file written by FramedLogOutput and returns the original log bytes
+ *
+ * 	Every frame is checked (tag, sequence #, length & CRC32C) before any of its bytes are returned.
+ * 	Reading stops in front of the 1st frame that fails a check (a torn write), everything before it is returned.
+ * 	Why reading stopped is kept (see IsTorn / GetStopReason) for the recovery tool.
+ */
+public class FramedLogInputStream extends InputStream
+{
+	private final InputStream _inputStream;
+	private final int _maxPayloadLength;
+	private final byte[] _frameHeader = new byte[FramedLogOutput.FRAME_HEADER_SIZE - 1];
+	private final ByteBuffer _frameHeaderBuffer = ByteBuffer.wrap(_frameHeader).order(ByteOrder.LITTLE_ENDIAN);
+
+	private final byte[] _payload;
+	private int _payloadLength;
+	private int _payloadPosition;
+	private boolean _isEndOfData;
+
+	private int _frameCount;
+	private long _fileOffset;
+	private long _payloadBytesRead;
+
+	// why reading stopped (null = end of file right after a good frame)
+	private String _stopReason;
+	private long _stopFileOffset = -1;
+	private boolean _isAtUnwrittenSpace;
+
+	// constructor, reads & checks the file header from the stream
+	public FramedLogInputStream(InputStream inputStream) throws IOException
+	{
+		_inputStream = inputStream;
+
+		byte[] fileHeader = new byte[FramedLogOutput.FILE_HEADER_SIZE];
+		readFully(fileHeader, fileHeader.length);
+		ByteBuffer fileHeaderBuffer = ByteBuffer.wrap(fileHeader).order(ByteOrder.LITTLE_ENDIAN);
+
+		byte[] magic = new byte[FramedLogOutput.MAGIC.length];
+		fileHeaderBuffer.get(magic);
+		if (!Arrays.equals(magic, FramedLogOutput.MAGIC))
+		{
+			throw new IOException("Not a framed log file (bad magic number)");
+		}
+
+		int formatVersion = fileHeaderBuffer.getShort() & 0xFFFF;
+		fileHeaderBuffer.getShort();		// flags
+		_maxPayloadLength = fileHeaderBuffer.getInt();
+		int headerCrc = fileHeaderBuffer.getInt();
+
+		if (headerCrc != Crc32c.Compute(fileHeader, 0, FramedLogOutput.FILE_HEADER_SIZE - 4))
+		{
+			throw new IOException("Corrupt framed log file header (bad CRC)");
+		}
+		if (formatVersion != FramedLogOutput.FORMAT_VERSION)
+		{
+			throw new IOException("Unsupported framed log format version: " + formatVersion);
+		}
+
+		_payload = new byte[_maxPayloadLength];
+		_fileOffset = FramedLogOutput.FILE_HEADER_SIZE;
+	}
+
+	// true if the stream starts with the framed log magic number (the stream must support mark / reset)
+	public static boolean IsFramed(InputStream inputStream) throws IOException
+	{
+		byte[] magic = new byte[FramedLogOutput.MAGIC.length];
+
+		inputStream.mark(magic.length);
+		try
+		{
+			int totalRead = 0;
+			while (totalRead < magic.length)
+			{
+				int bytesRead = inputStream.read(magic, totalRead, magic.length - totalRead);
+				if (bytesRead < 0)
+				{
+					return false;
+				}
+				totalRead += bytesRead;
+			}
+			return Arrays.equals(magic, FramedLogOutput.MAGIC);
+		}
+		finally
+		{
+			inputStream.reset();
+		}
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		if (!fillFrame())
+		{
+			return -1;
+		}
+		return _payload[_payloadPosition++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException
+	{
+		if (length == 0)
+		{
+			return 0;
+		}
+		if (!fillFrame())
+		{
+			return -1;
+		}
+
+		int chunkLength = Math.min(length, _payloadLength - _payloadPosition);
+		System.arraycopy(_payload, _payloadPosition, bytes, offset, chunkLength);
+		_payloadPosition += chunkLength;
+		return chunkLength;
+	}
+
+	// every frame still has to be read to check it, but its bytes are not copied out
+	@Override
+	public long skip(long count) throws IOException
+	{
+		long skippedCount = 0;
+		while (skippedCount < count && fillFrame())
+		{
+			int chunkLength = (int)Math.min(count - skippedCount, _payloadLength - _payloadPosition);
+			_payloadPosition += chunkLength;
+			skippedCount += chunkLength;
+		}
+		return skippedCount;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		_inputStream.close();
+	}
+
+	// =====================================
+	// Recovery info
+	// =====================================
+	// # of good frames read so far
+	public int GetFrameCount()
+	{
+		return _frameCount;
+	}
+
+	// # of log bytes in the good frames read so far
+	public long GetPayloadBytesRead()
+	{
+		return _payloadBytesRead;
+	}
+
+	// true if reading stopped at a bad frame instead of the end of the file
+	public boolean IsTorn()
+	{
+		return _stopReason != null;
+	}
+
+	public String GetStopReason()
+	{
+		return _stopReason;
+	}
+
+	// byte offset in the file of the 1st bad frame (-1 = none)
+	public long GetStopFileOffset()
+	{
+		return _stopFileOffset;
+	}
+
+	// true if reading stopped at a 0 byte where a frame tag should be (the rest of the file may never have been written)
+	public boolean IsAtUnwrittenSpace()
+	{
+		return _isAtUnwrittenSpace;
+	}
+
+	// make sure there are unread bytes in the current frame, returns false at the end of the good data
+	private boolean fillFrame() throws IOException
+	{
+		while (_payloadPosition >= _payloadLength)
+		{
+			if (_isEndOfData || !readFrame())
+			{
+				_isEndOfData = true;
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// read & check the next frame, returns false at the end of the file or at the 1st bad frame
+	private boolean readFrame() throws IOException
+	{
+		int tag = _inputStream.read();
+		if (tag < 0)
+		{
+			return false;
+		}
+		if (tag != FramedLogOutput.FRAME_TAG)
+		{
+			// 0 = preallocated space (ex: a mapped segment) that was never written
+			_isAtUnwrittenSpace = (tag == 0);
+			return stop(_isAtUnwrittenSpace ? "unwritten space" : "bad frame tag " + tag);
+		}
+
+		try
+		{
+			readFully(_frameHeader, _frameHeader.length);
+		}
+		catch (EOFException e)
+		{
+			return stop("truncated frame header");
+		}
+
+		_frameHeaderBuffer.clear();
+		int sequenceNumber = _frameHeaderBuffer.getInt();
+		int payloadLength = _frameHeaderBuffer.getInt();
+		int frameCrc = _frameHeaderBuffer.getInt();
+
+		if (sequenceNumber != _frameCount)
+		{
+			return stop("frame sequence # " + sequenceNumber + " (expected " + _frameCount + ")");
+		}
+		if (payloadLength <= 0 || payloadLength > _maxPayloadLength)
+		{
+			return stop("bad frame length " + payloadLength);
+		}
+
+		try
+		{
+			readFully(_payload, payloadLength);
+		}
+		catch (EOFException e)
+		{
+			return stop("truncated frame");
+		}
+
+		int crc = Crc32c.Compute(_frameHeader, 0, 4 + 4);
+		crc = Crc32c.Update(crc, _payload, 0, payloadLength);
+		if (crc != frameCrc)
+		{
+			return stop("bad frame CRC");
+		}
+
+		_fileOffset += FramedLogOutput.FRAME_HEADER_SIZE + payloadLength;
+		_payloadBytesRead += payloadLength;
+		_payloadLength = payloadLength;
+		_payloadPosition = 0;
+		_frameCount++;
+		return true;
+	}
+
+	// remember why & where reading stopped, always returns false
+	private boolean stop(String reason)
+	{
+		_stopReason = reason;
+		_stopFileOffset = _fileOffset;
+		_payloadLength = 0;
+		_payloadPosition = 0;
+		return false;
+	}
+
+	private void readFully(byte[] bytes, int length) throws IOException
+	{
+		int totalRead = 0;
+		while (totalRead < length)
+		{
+			int bytesRead = _inputStream.read(bytes, totalRead, length - totalRead);
+			if (bytesRead < 0)
+			{
+				throw new EOFException();
+			}
+			totalRead += bytesRead;
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This class splits encoded log bytes into frames protected by a length & CRC32C before passing them to another LogOutput
+ *
+ * All values are little-endian.
+ *
+ * File Header (written 1 time)
+ * 	byte[8]		magic					"4028CRC\0"
+ * 	u16			format version
+ * 	u16			flags					(reserved, 0)
+ * 	i32			max payload length		frames never hold more log bytes than this
+ * 	i32			header CRC32C			of the 16 bytes above
+ *
+ * Frames (repeated)
+ * 	u8			tag						'F'
+ * 	i32			sequence #				0, 1, 2, ...
+ * 	i32			payload length
+ * 	i32			CRC32C					of the sequence #, the payload length & the payload
+ * 	byte[]		payload					the next log bytes
+ *
+ * A frame is written each time the output is flushed (normally 1 time per batch) or when the max payload
+ * 	length is reached, so records can be split across frames and the payloads of all frames form the original log.
+ * A torn write (power lost, USB stick pulled) leaves a last frame that is short, has a bad CRC or is followed
+ * 	by unwritten (zero) space, FramedLogInputStream stops cleanly in front of it.
+ *
+ * This output should sit directly on top of the device (below compression) so every byte in the file is checked.
+ */
+public class FramedLogOutput implements LogOutput
+{
+	public static final byte[] MAGIC = { '4', '0', '2', '8', 'C', 'R', 'C', 0 };
+	public static final int FORMAT_VERSION = 1;
+
+	public static final byte FRAME_TAG = 'F';
+
+	public static final int FILE_HEADER_SIZE = 8 + 2 + 2 + 4 + 4;
+	public static final int FRAME_HEADER_SIZE = 1 + 4 + 4 + 4;
+
+	private final LogOutput _output;
+	private final int _maxPayloadLength;
+
+	// log bytes of the current frame
+	private final byte[] _payload;
+	private int _payloadLength;
+	private int _frameCount;
+
+	private final byte[] _frameHeader = new byte[FRAME_HEADER_SIZE];
+	private final ByteBuffer _frameHeaderBuffer = ByteBuffer.wrap(_frameHeader).order(ByteOrder.LITTLE_ENDIAN);
+	private final ByteBuffer _writeBuffer;
+
+	private boolean _isClosed;
+
+	// constructor, writes the file header
+	public FramedLogOutput(LogOutput output, int maxPayloadLength) throws IOException
+	{
+		_output = output;
+		_maxPayloadLength = maxPayloadLength;
+		_payload = new byte[maxPayloadLength];
+		_writeBuffer = ByteBuffer.allocateDirect(FRAME_HEADER_SIZE + maxPayloadLength).order(ByteOrder.LITTLE_ENDIAN);
+
+		byte[] fileHeader = new byte[FILE_HEADER_SIZE];
+		ByteBuffer fileHeaderBuffer = ByteBuffer.wrap(fileHeader).order(ByteOrder.LITTLE_ENDIAN);
+		fileHeaderBuffer.put(MAGIC);
+		fileHeaderBuffer.putShort((short)FORMAT_VERSION);
+		fileHeaderBuffer.putShort((short)0);
+		fileHeaderBuffer.putInt(maxPayloadLength);
+		fileHeaderBuffer.putInt(Crc32c.Compute(fileHeader, 0, FILE_HEADER_SIZE - 4));
+
+		_writeBuffer.put(fileHeader);
+		writeBuffer();
+	}
+
+	@Override
+	public void Write(ByteBuffer source) throws IOException
+	{
+		while (source.hasRemaining())
+		{
+			int chunkLength = Math.min(source.remaining(), _maxPayloadLength - _payloadLength);
+			source.get(_payload, _payloadLength, chunkLength);
+			_payloadLength += chunkLength;
+
+			if (_payloadLength == _maxPayloadLength)
+			{
+				writeFrame();
+			}
+		}
+	}
+
+	@Override
+	public void Flush() throws IOException
+	{
+		if (_payloadLength > 0)
+		{
+			writeFrame();
+		}
+		_output.Flush();
+	}
+
+	@Override
+	public void Close() throws IOException
+	{
+		if (_isClosed)
+		{
+			return;
+		}
+		_isClosed = true;
+
+		try
+		{
+			Flush();
+		}
+		finally
+		{
+			_output.Close();
+		}
+	}
+
+	@Override
+	public long GetBytesWritten()
+	{
+		return _output.GetBytesWritten();
+	}
+
+	public int GetFrameCount()
+	{
+		return _frameCount;
+	}
+
+	// write the current payload as 1 frame (header & payload in a single write to the device)
+	private void writeFrame() throws IOException
+	{
+		_frameHeaderBuffer.clear();
+		_frameHeaderBuffer.put(FRAME_TAG);
+		_frameHeaderBuffer.putInt(_frameCount);
+		_frameHeaderBuffer.putInt(_payloadLength);
+
+		// the tag is not covered, a wrong tag is caught by the reader on its own
+		int crc = Crc32c.Compute(_frameHeader, 1, 4 + 4);
+		crc = Crc32c.Update(crc, _payload, 0, _payloadLength);
+		_frameHeaderBuffer.putInt(crc);
+
+		_writeBuffer.put(_frameHeader);
+		_writeBuffer.put(_payload, 0, _payloadLength);
+		writeBuffer();
+
+		_payloadLength = 0;
+		_frameCount++;
+	}
+
+	private void writeBuffer() throws IOException
+	{
+		_writeBuffer.flip();
+		try
+		{
+			_output.Write(_writeBuffer);
+		}
+		finally
+		{
+			_writeBuffer.clear();
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package org.usfirst.frc.team4028.robot;
+
+/**
+ * This interface is the set of values read by the HighRateSampler
+ *
+ * 	On the robot it reads the Talons directly (see Robot), ReadSample is called on the sampler thread
+ * 	so it must only read devices that are safe to read from any thread & must not allocate.
+ */
+public interface HighRateSampleSource
+{
+	// names of the values, in the order ReadSample writes them (ex: "ShooterActualSpeed")
+	String[] GetChannelNames();
+
+	// read 1 value per channel into values[offset .. offset + channel count - 1]
+	void ReadSample(double[] values, int offset);
+}
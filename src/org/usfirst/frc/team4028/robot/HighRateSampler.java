@@ -0,0 +1,329 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * This class samples a few values (ex: shooter speed & turret position) much faster than the 50 scans/sec of the
+ * 	main loop, but only while selected state machine states are active (ex: the aim & shoot states)
+ *
+ * 	A background thread reads the HighRateSampleSource every period (200 Hz .. 1 kHz) into preallocated primitive
+ * 	arrays (capacity x channels), nothing is allocated or written while sampling. When the states end (or the buffer
+ * 	fills up) the sequence is written to its own TSV log (ex: 20161018_143000_123_auton_highrate.tsv) with the columns
+ * 		InputData:FPGATimeMicroSecs		HighRate:<channel> ...
+ * 	so it lines up with the data log & the event log (see LogQueryTool --between).
+ *
+ * 	The states are followed through the event log ids (see LogEventCatalog & OnEvent), the main thread only
+ * 	sets a flag & wakes the sampler up.
+ *
+ * 	Overhead is measured & bounded:
+ * 		- the time spent reading each sample is measured, if the average goes over maxDutyCycle of the period
+ * 		  the period is stretched (so the sampler can never use more than maxDutyCycle of a core)
+ * 		- a late sample is not caught up, the samples missed are counted instead
+ * 		- the thread runs below the main thread's priority & parks (no CPU) between sequences
+ * 	The stats of each sequence are sent to the driver station when it is written.
+ *
+ * 	Note: the Talons only send new values on the CAN bus at their status frame rate,
+ * 	sampling faster than that reads the same value more than 1 time.
+ */
+public class HighRateSampler
+{
+	public static final String FILE_SUFFIX = "_highrate";
+	public static final String COLUMN_NAME_PREFIX = "HighRate:";
+
+	private final HighRateSampleSource _source;
+	private final int _channelCount;
+	private final LogSchema _schema;
+	private final long _periodNanoSecs;
+	private final double _maxDutyCycle;
+	private final String[] _outputFolderPaths;
+
+	// preallocated samples (only used on the sampler thread)
+	private final long[] _sampleMicroSecs;
+	private final double[] _sampleValues;	// capacity x channel count
+	private final LogRecord _record;
+
+	// selected & followed states, by event id (set up before Start)
+	private final boolean[] _isSelectedStateEvent;
+	private final boolean[] _isFollowedStateEvent;
+
+	// written by the main thread
+	private Thread _samplerThread;
+	private volatile String _mode = "";
+	private volatile boolean _isSamplingRequested;
+	private volatile int _requestedSequenceId;
+	private volatile boolean _isStopRequested;
+
+	// sampler thread working values
+	private int _sampledSequenceId;
+	private int _sampleCount;
+	private long _sequenceMissedSampleCount;
+	private long _sequenceReadNanoSecs;
+	private long _sequenceMaxReadNanoSecs;
+	private long _sequenceStretchedSampleCount;
+	private long _sequenceDurationNanoSecs;
+
+	// counters (written by the sampler thread)
+	private volatile long _writtenSequenceCount;
+	private volatile long _missedSampleCount;
+	private volatile long _stretchedSampleCount;
+
+	// constructor, preallocates all of the samples
+	public HighRateSampler(HighRateSampleSource source, int capacity, int periodMicroSecs, double maxDutyCycle, String[] outputFolderPaths)
+	{
+		_source = source;
+		_periodNanoSecs = periodMicroSecs * 1000L;
+		_maxDutyCycle = maxDutyCycle;
+		_outputFolderPaths = outputFolderPaths;
+
+		String[] channelNames = source.GetChannelNames();
+		_channelCount = channelNames.length;
+		_schema = new LogSchema();
+		_schema.AddColumn(LogSchema.TIMESTAMP_COLUMN_NAME, LogSchema.Column_Type.LONG);
+		for (String channelName : channelNames)
+		{
+			_schema.AddColumn(COLUMN_NAME_PREFIX + channelName, LogSchema.Column_Type.DOUBLE);
+		}
+
+		_sampleMicroSecs = new long[capacity];
+		_sampleValues = new double[capacity * _channelCount];
+		_record = new LogRecord(_schema.GetColumnCount());
+
+		_isSelectedStateEvent = new boolean[LogEventCatalog.GetEventCount()];
+		_isFollowedStateEvent = new boolean[LogEventCatalog.GetEventCount()];
+	}
+
+	// sample while this state is active (stateMachineEventId is the state machine's id, ex: LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE)
+	//	any other state of the same state machine ends the sequence
+	public void SelectState(int stateMachineEventId, Enum<?> state)
+	{
+		for (Enum<?> otherState : state.getDeclaringClass().getEnumConstants())
+		{
+			_isFollowedStateEvent[LogEventCatalog.GetStateEventId(stateMachineEventId, otherState)] = true;
+		}
+		_isSelectedStateEvent[LogEventCatalog.GetStateEventId(stateMachineEventId, state)] = true;
+	}
+
+	// approximate heap used by the samples
+	public long GetMemoryBytes()
+	{
+		return _sampleMicroSecs.length * (8L + 8L * _channelCount);
+	}
+
+	// =====================================
+	// Main robot thread
+	// =====================================
+
+	// start following the states for a new mode (auton / telop / test), the mode is part of the file names
+	public void Start(String mode)
+	{
+		_mode = mode;
+		if (_samplerThread != null)
+		{
+			return;
+		}
+
+		_samplerThread = new Thread(new Runnable()
+								{
+									public void run()
+									{
+										runSampler();
+									}
+								});
+		_samplerThread.setName("High Rate Sampler Thread");
+		_samplerThread.setDaemon(true);
+		_samplerThread.setPriority(Thread.NORM_PRIORITY - 1);
+		_samplerThread.start();
+	}
+
+	// called for each event sent to the event log (see LogEventCatalog), starts or ends a sequence
+	public void OnEvent(int eventId)
+	{
+		if (_isSelectedStateEvent[eventId])
+		{
+			if (!_isSamplingRequested)
+			{
+				_requestedSequenceId++;
+				_isSamplingRequested = true;
+				LockSupport.unpark(_samplerThread);
+			}
+		}
+		else if (_isFollowedStateEvent[eventId])
+		{
+			_isSamplingRequested = false;
+		}
+	}
+
+	// end the current sequence (ex: the robot was disabled in the middle of a shot)
+	public void StopSampling()
+	{
+		_isSamplingRequested = false;
+	}
+
+	// =====================================
+	// Sampler thread
+	// =====================================
+	private void runSampler()
+	{
+		while (!_isStopRequested)
+		{
+			// 1 sequence per request, a sequence that filled the buffer waits for the next request
+			int requestedSequenceId = _requestedSequenceId;
+			if (!_isSamplingRequested || requestedSequenceId == _sampledSequenceId)
+			{
+				LockSupport.park(this);
+				continue;
+			}
+
+			_sampledSequenceId = requestedSequenceId;
+			sampleSequence();
+			writeSequence();
+		}
+	}
+
+	private void sampleSequence()
+	{
+		int capacity = _sampleMicroSecs.length;
+		long periodNanoSecs = _periodNanoSecs;
+
+		_sampleCount = 0;
+		_sequenceMissedSampleCount = 0;
+		_sequenceReadNanoSecs = 0;
+		_sequenceMaxReadNanoSecs = 0;
+		_sequenceStretchedSampleCount = 0;
+
+		long startNanoSecs = System.nanoTime();
+		long nextSampleNanoSecs = startNanoSecs;
+		while (_isSamplingRequested && !_isStopRequested && _sampleCount < capacity)
+		{
+			long readStartNanoSecs = System.nanoTime();
+			_sampleMicroSecs[_sampleCount] = MonotonicClock.GetMicroSecs();
+			_source.ReadSample(_sampleValues, _sampleCount * _channelCount);
+			_sampleCount++;
+
+			long readNanoSecs = System.nanoTime() - readStartNanoSecs;
+			_sequenceReadNanoSecs += readNanoSecs;
+			if (readNanoSecs > _sequenceMaxReadNanoSecs)
+			{
+				_sequenceMaxReadNanoSecs = readNanoSecs;
+			}
+
+			// keep the average time spent reading under the duty cycle limit
+			//	(from the average, so a slow 1st read does not slow down the whole sequence)
+			long minPeriodNanoSecs = (long)((_sequenceReadNanoSecs / _sampleCount) / _maxDutyCycle);
+			periodNanoSecs = Math.max(_periodNanoSecs, minPeriodNanoSecs);
+			if (periodNanoSecs > _periodNanoSecs)
+			{
+				_sequenceStretchedSampleCount++;
+			}
+
+			// a late sample is not caught up (that would read back to back), the samples skipped are counted
+			nextSampleNanoSecs += periodNanoSecs;
+			long lateNanoSecs = System.nanoTime() - nextSampleNanoSecs;
+			if (lateNanoSecs > 0)
+			{
+				long skippedSampleCount = lateNanoSecs / periodNanoSecs + 1;
+				_sequenceMissedSampleCount += skippedSampleCount;
+				nextSampleNanoSecs += skippedSampleCount * periodNanoSecs;
+			}
+
+			long waitNanoSecs;
+			while ((waitNanoSecs = nextSampleNanoSecs - System.nanoTime()) > 0 && _isSamplingRequested)
+			{
+				LockSupport.parkNanos(this, waitNanoSecs);
+			}
+		}
+
+		_sequenceDurationNanoSecs = System.nanoTime() - startNanoSecs;
+		_missedSampleCount += _sequenceMissedSampleCount;
+		_stretchedSampleCount += _sequenceStretchedSampleCount;
+	}
+
+	private void writeSequence()
+	{
+		if (_sampleCount == 0)
+		{
+			return;
+		}
+
+		String outputFolderPath = DataLogger.FindFirstFolder(_outputFolderPaths);
+		if (outputFolderPath == null)
+		{
+			return;
+		}
+
+		String filePathName = DataLogger.BuildLogFilePathName(outputFolderPath, _mode + FILE_SUFFIX,
+																	DataLogger.AddFramingExtension(TsvLogEncoder.FILE_EXTENSION));
+		try
+		{
+			LogBatchWriter batchWriter = new LogBatchWriter(new TsvLogEncoder(),
+															DataLogger.AddFraming(new FileLogOutput(filePathName)),
+															RobotMap.LOG_WRITER_BUFFER_SIZE);
+			try
+			{
+				batchWriter.WriteHeader(_schema);
+				for (int sampleIndex = 0; sampleIndex < _sampleCount; sampleIndex++)
+				{
+					_record.Reset();
+					_record.PutLong(_sampleMicroSecs[sampleIndex]);
+					int valueIndex = sampleIndex * _channelCount;
+					for (int channelIndex = 0; channelIndex < _channelCount; channelIndex++)
+					{
+						_record.PutDouble(_sampleValues[valueIndex + channelIndex]);
+					}
+					batchWriter.WriteRecord(_record);
+				}
+			}
+			finally
+			{
+				batchWriter.Close();
+			}
+
+			_writtenSequenceCount++;
+			DriverStation.reportError(buildSequenceReport() + " " + filePathName + " | ", false);
+		}
+		catch (IOException e)
+		{
+			DriverStation.reportError("Error writing high rate samples: " + e.getMessage() + " | ", false);
+		}
+	}
+
+	// ex: "High rate sampler: 812 samples in 1.63 secs (499 Hz), read avg 38 uSec max 210 uSec, duty 1.9%, missed 3, stretched 0"
+	private String buildSequenceReport()
+	{
+		double durationSecs = _sequenceDurationNanoSecs / 1.0e9;
+		double dutyCyclePercent = (_sequenceDurationNanoSecs > 0) ? 100.0 * _sequenceReadNanoSecs / _sequenceDurationNanoSecs : 0;
+		return String.format("High rate sampler: %d samples in %.2f secs (%.0f Hz), read avg %.0f uSec max %.0f uSec, duty %.1f%%, missed %d, stretched %d",
+								_sampleCount,
+								durationSecs,
+								_sampleCount / durationSecs,
+								_sequenceReadNanoSecs / 1000.0 / _sampleCount,
+								_sequenceMaxReadNanoSecs / 1000.0,
+								dutyCyclePercent,
+								_sequenceMissedSampleCount,
+								_sequenceStretchedSampleCount);
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetWrittenSequenceCount()
+	{
+		return _writtenSequenceCount;
+	}
+
+	public long GetMissedSampleCount()
+	{
+		return _missedSampleCount;
+	}
+
+	// # of samples taken with a stretched period, to stay under the duty cycle limit
+	public long GetStretchedSampleCount()
+	{
+		return _stretchedSampleCount;
+	}
+}
@@ -0,0 +1,12 @@
+package org.usfirst.frc.team4028.robot;
+
+/**
+ * This interface is implemented by log outputs that build a time index of the records they hold
+ *
+ * LogBatchWriter calls IndexRecord before each record is encoded.
+ */
+public interface IndexedLogOutput extends LogOutput
+{
+	// streamOffset = # of (uncompressed) bytes in the log before this record
+	void IndexRecord(long streamOffset, long fpgaTimeMicroSecs);
+}
@@ -0,0 +1,647 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+import org.usfirst.frc.team4028.robot.LogQueryTool.IntervalSummary;
+import org.usfirst.frc.team4028.robot.RobotData.Auto_Aim_And_Shoot_State;
+import org.usfirst.frc.team4028.robot.RobotData.Cross_Defense_Auto_Aim_And_Shoot_State;
+import org.usfirst.frc.team4028.robot.RobotData.Infeed_Tilt_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.Slider_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.Turret_Zero_State;
+
+/**
+ * This is a command line tool (run on a laptop) that works out the KPIs of every match log in a folder
+ * 	and writes them as 1 report, 1 row per log plus a row for all of them together.
+ *
+ * 	usage:	java -cp FRCUserProgram.jar org.usfirst.frc.team4028.robot.LogAnalyticsTool <folder> [--mode <auton | telop | test>] [--threads <n>] [--out report.tsv]
+ *
+ * 	KPIs (per log)
+ * 		loop period & jitter	avg / std dev / p99 / max of the time between 2 scans (FPGA time), # of overruns
+ * 		time to shot			from GROSS_TURRET_TO_TARGET to SHOOT of the auto aim state machines (event log)
+ * 		shooter recovery		from the wheel dropping under 95% of its speed cmd (ex: a ball went through) to back over it
+ * 		homing					from the 1st state to ON_HOME(_SWITCH) of the turret, slider & infeed tilt zero state machines
+ * 								(event log), TIMEOUTs are counted instead
+ * 		vision uptime			% of the scans with vision data less than VISION_STALE_MSECS old
+ *
+ * 	Logs are split across all of the cores with fork / join (1 log per task), each log (& its event log) is streamed
+ * 	1 record at a time with a fixed amount of state per log, so a folder of any size can be read.
+ * 	Only logs named *_<mode>.<ext> are read (flight recorder dumps & high rate samples are skipped).
+ *
+ * 	The "ALL" row adds up the counts & times of every log, its p99 is the worst p99 of the logs.
+ */
+public class LogAnalyticsTool
+{
+	private static final String[] MODES = { "auton", "telop", "test" };
+	private static final double SHOOTER_AT_SPEED_PERCENT = 0.95;	// same test as the control logic
+	private static final long VISION_STALE_MSECS = 1000;
+	private static final String ALL_LOGS_NAME = "ALL";
+
+	// event names of the state changes the KPIs are timed from / to
+	private static final String[] SHOT_START_EVENT_NAMES = {
+			stateEventName(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.GROSS_TURRET_TO_TARGET),
+			stateEventName(LogEventCatalog.CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE, Cross_Defense_Auto_Aim_And_Shoot_State.GROSS_TURRET_TO_TARGET) };
+	private static final String[] SHOT_EVENT_NAMES = {
+			stateEventName(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.SHOOT),
+			stateEventName(LogEventCatalog.CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE, Cross_Defense_Auto_Aim_And_Shoot_State.SHOOT) };
+
+	private static final String[] HOMING_NAMES = { "Turret", "Slider", "InfeedTilt" };
+	private static final String[] HOMING_START_EVENT_NAMES = {
+			stateEventName(LogEventCatalog.TURRET_ZERO_STATE, Turret_Zero_State.BEFORE_APPROACHING_SWITCH),
+			stateEventName(LogEventCatalog.SLIDER_ZERO_STATE, Slider_Zero_State.DRIVE_TO_HOME),
+			stateEventName(LogEventCatalog.INFEED_TILT_ZERO_STATE, Infeed_Tilt_Zero_State.TILT_TO_HOME) };
+	private static final String[] HOMING_DONE_EVENT_NAMES = {
+			stateEventName(LogEventCatalog.TURRET_ZERO_STATE, Turret_Zero_State.ON_HOME_SWITCH),
+			stateEventName(LogEventCatalog.SLIDER_ZERO_STATE, Slider_Zero_State.ON_HOME),
+			stateEventName(LogEventCatalog.INFEED_TILT_ZERO_STATE, Infeed_Tilt_Zero_State.ON_HOME) };
+	private static final String[] HOMING_TIMEOUT_EVENT_NAMES = {
+			stateEventName(LogEventCatalog.TURRET_ZERO_STATE, Turret_Zero_State.TIMEOUT),
+			stateEventName(LogEventCatalog.SLIDER_ZERO_STATE, Slider_Zero_State.TIMEOUT),
+			stateEventName(LogEventCatalog.INFEED_TILT_ZERO_STATE, Infeed_Tilt_Zero_State.TIMEOUT) };
+
+	// the KPIs of 1 log (or of all of them)
+	public static class MatchKpis
+	{
+		public String LogFileName;
+		public String Mode;
+		public String ErrorMessage;
+		public long BytesRead;
+
+		public long ScanCount;
+		public long FirstFPGATimeMicroSecs;
+		public long LastFPGATimeMicroSecs;
+
+		// loop period (Welford's running variance)
+		public long LoopPeriodCount;
+		public double LoopPeriodMeanMicroSecs;
+		public double LoopPeriodSumOfSquaredDeltas;
+		public double LoopPeriodP99MicroSecs = Double.NaN;
+		public long LoopPeriodMaxMicroSecs;
+		public long LoopOverrunCount;
+
+		public final IntervalSummary TimeToShot = new IntervalSummary();
+		public final IntervalSummary ShooterRecovery = new IntervalSummary();
+		public final IntervalSummary[] Homing = { new IntervalSummary(), new IntervalSummary(), new IntervalSummary() };
+		public long HomingTimeoutCount;
+		public boolean IsEventLogRead;
+
+		public long VisionUpScanCount;
+		public long VisionCheckedScanCount;
+
+		void AddLoopPeriod(long periodMicroSecs)
+		{
+			LoopPeriodCount++;
+			double delta = periodMicroSecs - LoopPeriodMeanMicroSecs;
+			LoopPeriodMeanMicroSecs += delta / LoopPeriodCount;
+			LoopPeriodSumOfSquaredDeltas += delta * (periodMicroSecs - LoopPeriodMeanMicroSecs);
+			LoopPeriodMaxMicroSecs = Math.max(LoopPeriodMaxMicroSecs, periodMicroSecs);
+			if (periodMicroSecs > RobotMap.FLIGHT_RECORDER_LOOP_OVERRUN_MSECS * 1000L)
+			{
+				LoopOverrunCount++;
+			}
+		}
+
+		// add the KPIs of another log (Chan's parallel variance for the loop period)
+		void Add(MatchKpis other)
+		{
+			if (other.ErrorMessage != null)
+			{
+				return;
+			}
+
+			BytesRead += other.BytesRead;
+			ScanCount += other.ScanCount;
+			// the duration of the ALL row is the total of the logs
+			LastFPGATimeMicroSecs += other.LastFPGATimeMicroSecs - other.FirstFPGATimeMicroSecs;
+
+			if (other.LoopPeriodCount > 0)
+			{
+				long totalCount = LoopPeriodCount + other.LoopPeriodCount;
+				double delta = other.LoopPeriodMeanMicroSecs - LoopPeriodMeanMicroSecs;
+				LoopPeriodMeanMicroSecs += delta * other.LoopPeriodCount / totalCount;
+				LoopPeriodSumOfSquaredDeltas += other.LoopPeriodSumOfSquaredDeltas
+												+ delta * delta * LoopPeriodCount * other.LoopPeriodCount / totalCount;
+				LoopPeriodCount = totalCount;
+				LoopPeriodMaxMicroSecs = Math.max(LoopPeriodMaxMicroSecs, other.LoopPeriodMaxMicroSecs);
+				LoopPeriodP99MicroSecs = Double.isNaN(LoopPeriodP99MicroSecs) ? other.LoopPeriodP99MicroSecs
+												: Math.max(LoopPeriodP99MicroSecs, other.LoopPeriodP99MicroSecs);
+			}
+			LoopOverrunCount += other.LoopOverrunCount;
+
+			addIntervals(TimeToShot, other.TimeToShot);
+			addIntervals(ShooterRecovery, other.ShooterRecovery);
+			for (int homingIndex = 0; homingIndex < Homing.length; homingIndex++)
+			{
+				addIntervals(Homing[homingIndex], other.Homing[homingIndex]);
+			}
+			HomingTimeoutCount += other.HomingTimeoutCount;
+			IsEventLogRead |= other.IsEventLogRead;
+
+			VisionUpScanCount += other.VisionUpScanCount;
+			VisionCheckedScanCount += other.VisionCheckedScanCount;
+		}
+
+		double GetLoopJitterMicroSecs()
+		{
+			return (LoopPeriodCount > 1) ? Math.sqrt(LoopPeriodSumOfSquaredDeltas / (LoopPeriodCount - 1)) : Double.NaN;
+		}
+
+		private static void addIntervals(IntervalSummary total, IntervalSummary other)
+		{
+			if (other.Count == 0)
+			{
+				return;
+			}
+			total.Count += other.Count;
+			total.TotalMicroSecs += other.TotalMicroSecs;
+			total.MinMicroSecs = Math.min(total.MinMicroSecs, other.MinMicroSecs);
+			total.MaxMicroSecs = Math.max(total.MaxMicroSecs, other.MaxMicroSecs);
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		String folderPathName = null;
+		String mode = null;
+		String outputFilePathName = null;
+		int threadCount = Runtime.getRuntime().availableProcessors();
+
+		try
+		{
+			for (int argIndex = 0; argIndex < args.length; argIndex++)
+			{
+				String arg = args[argIndex];
+				if (arg.equals("--mode"))
+				{
+					mode = args[++argIndex];
+				}
+				else if (arg.equals("--threads"))
+				{
+					threadCount = Integer.parseInt(args[++argIndex]);
+				}
+				else if (arg.equals("--out"))
+				{
+					outputFilePathName = args[++argIndex];
+				}
+				else if (folderPathName == null)
+				{
+					folderPathName = arg;
+				}
+				else
+				{
+					throw new IllegalArgumentException(arg);
+				}
+			}
+		}
+		catch (RuntimeException e)
+		{
+			folderPathName = null;
+		}
+
+		if (folderPathName == null || !new File(folderPathName).isDirectory() || threadCount < 1)
+		{
+			System.err.println("usage: LogAnalyticsTool <folder> [--mode <auton | telop | test>] [--threads <n>] [--out report.tsv]");
+			System.exit(1);
+		}
+
+		List<String> logFilePathNames = FindMatchLogFiles(folderPathName, mode);
+
+		long startMSecs = System.currentTimeMillis();
+		MatchKpis[] results = AnalyzeLogs(logFilePathNames, threadCount);
+		long elapsedMSecs = System.currentTimeMillis() - startMSecs;
+
+		Writer writer = new BufferedWriter((outputFilePathName != null) ? new FileWriter(outputFilePathName) : new OutputStreamWriter(System.out));
+		long bytesRead = 0;
+		try
+		{
+			bytesRead = WriteReport(results, writer);
+		}
+		finally
+		{
+			writer.flush();
+			if (outputFilePathName != null)
+			{
+				writer.close();
+			}
+		}
+
+		System.err.println(String.format("Analyzed %d log files (%.1f MB) in %d msecs on %d threads",
+											results.length, bytesRead / (1024.0 * 1024.0), elapsedMSecs, threadCount));
+	}
+
+	// the match logs in a folder, named *_<mode>.<ext> (all of the modes when mode is null)
+	public static List<String> FindMatchLogFiles(String folderPathName, String mode)
+	{
+		List<String> matchLogFilePathNames = new ArrayList<String>();
+		for (String logFilePathName : LogQueryTool.FindLogFiles(folderPathName))
+		{
+			if (getMode(logFilePathName) != null && (mode == null || mode.equals(getMode(logFilePathName))))
+			{
+				matchLogFilePathNames.add(logFilePathName);
+			}
+		}
+		return matchLogFilePathNames;
+	}
+
+	// work out the KPIs of each log on a fork / join pool, the results are in the same order as the logs
+	public static MatchKpis[] AnalyzeLogs(List<String> logFilePathNames, int threadCount)
+	{
+		MatchKpis[] results = new MatchKpis[logFilePathNames.size()];
+		if (results.length == 0)
+		{
+			return results;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threadCount);
+		try
+		{
+			pool.invoke(new AnalyzeLogsTask(logFilePathNames, results, 0, results.length));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		return results;
+	}
+
+	// splits the logs in half until each task has 1 log
+	private static class AnalyzeLogsTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final List<String> _logFilePathNames;
+		private final MatchKpis[] _results;
+		private final int _fromIndex;
+		private final int _toIndex;
+
+		AnalyzeLogsTask(List<String> logFilePathNames, MatchKpis[] results, int fromIndex, int toIndex)
+		{
+			_logFilePathNames = logFilePathNames;
+			_results = results;
+			_fromIndex = fromIndex;
+			_toIndex = toIndex;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (_toIndex - _fromIndex == 1)
+			{
+				_results[_fromIndex] = AnalyzeLog(_logFilePathNames.get(_fromIndex));
+				return;
+			}
+
+			int middleIndex = (_fromIndex + _toIndex) >>> 1;
+			invokeAll(new AnalyzeLogsTask(_logFilePathNames, _results, _fromIndex, middleIndex),
+						new AnalyzeLogsTask(_logFilePathNames, _results, middleIndex, _toIndex));
+		}
+	}
+
+	// work out the KPIs of 1 log & its event log (an unreadable log returns its error message instead)
+	public static MatchKpis AnalyzeLog(String logFilePathName)
+	{
+		MatchKpis kpis = new MatchKpis();
+		kpis.LogFileName = new File(logFilePathName).getName();
+		kpis.Mode = getMode(logFilePathName);
+		try
+		{
+			analyzeDataLog(logFilePathName, kpis);
+			analyzeEventLog(logFilePathName, kpis);
+		}
+		catch (IOException e)
+		{
+			kpis.ErrorMessage = e.toString();
+		}
+		catch (RuntimeException e)
+		{
+			kpis.ErrorMessage = e.toString();
+		}
+		return kpis;
+	}
+
+	// loop period, shooter recovery & vision uptime, 1 record at a time
+	private static void analyzeDataLog(String logFilePathName, MatchKpis kpis) throws IOException
+	{
+		InputStream inputStream = LogQueryTool.OpenLog(logFilePathName);
+		BinaryLogReader binaryReader = null;
+		TsvLogReader tsvReader = null;
+		LogSchema schema;
+		if (LogFileConverter.IsBinaryLog(inputStream))
+		{
+			binaryReader = new BinaryLogReader(inputStream);
+			schema = binaryReader.GetSchema();
+		}
+		else
+		{
+			tsvReader = new TsvLogReader(inputStream, DataLogger.BuildLogSchema(new RobotData()));
+			schema = tsvReader.GetSchema();
+		}
+
+		try
+		{
+			int timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+			int shooterSpeedColumnIndex = schema.GetColumnIndex("InputData:ShooterActualSpeed");
+			int shooterSpeedCmdColumnIndex = schema.GetColumnIndex("OutputData:ShooterMtrCurrentVelocityCmd");
+			int visionDataDTColumnIndex = schema.GetColumnIndex("InputData:LastVisionDataRecievedDT");
+			if (timestampColumnIndex < 0)
+			{
+				throw new IOException("no " + LogSchema.TIMESTAMP_COLUMN_NAME + " column");
+			}
+
+			StreamingQuantile loopPeriodP99 = new StreamingQuantile(0.99);
+			long lastFPGATimeMicroSecs = 0;
+
+			boolean isShooterAtSpeed = false;
+			double lastShooterSpeedCmd = 0;
+			long shooterDipStartMicroSecs = -1;
+
+			long lastVisionDataMSecs = LogRecord.NULL_DATE;
+			long visionDataChangedMicroSecs = -1;
+
+			LogRecord record = new LogRecord(schema.GetColumnCount());
+			while ((binaryReader != null) ? binaryReader.ReadRecord(record) : tsvReader.ReadRecord(record))
+			{
+				long fpgaTimeMicroSecs = record.GetLong(timestampColumnIndex);
+
+				// loop period
+				if (kpis.ScanCount == 0)
+				{
+					kpis.FirstFPGATimeMicroSecs = fpgaTimeMicroSecs;
+				}
+				else
+				{
+					long periodMicroSecs = fpgaTimeMicroSecs - lastFPGATimeMicroSecs;
+					kpis.AddLoopPeriod(periodMicroSecs);
+					loopPeriodP99.Add(periodMicroSecs);
+				}
+				kpis.ScanCount++;
+				kpis.LastFPGATimeMicroSecs = fpgaTimeMicroSecs;
+				lastFPGATimeMicroSecs = fpgaTimeMicroSecs;
+
+				// shooter recovery (timed from the 1st scan under speed, to the 1st scan back at speed with the same cmd)
+				if (shooterSpeedColumnIndex >= 0 && shooterSpeedCmdColumnIndex >= 0)
+				{
+					double shooterSpeedCmd = getNumber(record, schema, shooterSpeedCmdColumnIndex);
+					boolean isAtSpeed = shooterSpeedCmd > 0
+										&& getNumber(record, schema, shooterSpeedColumnIndex) > shooterSpeedCmd * SHOOTER_AT_SPEED_PERCENT;
+					if (shooterSpeedCmd != lastShooterSpeedCmd)
+					{
+						shooterDipStartMicroSecs = -1;
+					}
+					else if (isShooterAtSpeed && !isAtSpeed)
+					{
+						shooterDipStartMicroSecs = fpgaTimeMicroSecs;
+					}
+					else if (!isShooterAtSpeed && isAtSpeed && shooterDipStartMicroSecs >= 0)
+					{
+						kpis.ShooterRecovery.Add(fpgaTimeMicroSecs - shooterDipStartMicroSecs);
+						shooterDipStartMicroSecs = -1;
+					}
+					isShooterAtSpeed = isAtSpeed;
+					lastShooterSpeedCmd = shooterSpeedCmd;
+				}
+
+				// vision uptime
+				if (visionDataDTColumnIndex >= 0)
+				{
+					long visionDataMSecs = record.GetLong(visionDataDTColumnIndex);
+					if (visionDataMSecs != lastVisionDataMSecs && visionDataMSecs != LogRecord.NULL_DATE)
+					{
+						visionDataChangedMicroSecs = fpgaTimeMicroSecs;
+					}
+					lastVisionDataMSecs = visionDataMSecs;
+
+					kpis.VisionCheckedScanCount++;
+					if (visionDataChangedMicroSecs >= 0 && fpgaTimeMicroSecs - visionDataChangedMicroSecs <= VISION_STALE_MSECS * 1000)
+					{
+						kpis.VisionUpScanCount++;
+					}
+				}
+			}
+
+			kpis.LoopPeriodP99MicroSecs = loopPeriodP99.GetValue();
+			kpis.BytesRead += new File(logFilePathName).length();
+		}
+		finally
+		{
+			if (binaryReader != null)
+			{
+				binaryReader.Close();
+			}
+			else
+			{
+				tsvReader.Close();
+			}
+		}
+	}
+
+	// time to shot & homing, from the state changes in the event log (skipped if the log does not have one)
+	private static void analyzeEventLog(String logFilePathName, MatchKpis kpis) throws IOException
+	{
+		String eventFilePathName = LogEventChannel.BuildEventFilePathName(logFilePathName);
+		if (!new File(eventFilePathName).exists())
+		{
+			return;
+		}
+
+		TsvLogReader reader = new TsvLogReader(LogFileConverter.OpenLogInputStream(eventFilePathName), LogEventChannel.BuildSchema());
+		try
+		{
+			LogSchema schema = reader.GetSchema();
+			int timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+			int eventColumnIndex = schema.GetColumnIndex(LogEventChannel.EVENT_COLUMN_NAME);
+
+			long shotStartMicroSecs = -1;
+			long[] homingStartMicroSecs = { -1, -1, -1 };
+
+			LogRecord record = new LogRecord(schema.GetColumnCount());
+			while (reader.ReadRecord(record))
+			{
+				String event = (String)record.GetRef(eventColumnIndex);
+				long fpgaTimeMicroSecs = record.GetLong(timestampColumnIndex);
+
+				if (isOneOf(event, SHOT_START_EVENT_NAMES))
+				{
+					shotStartMicroSecs = fpgaTimeMicroSecs;
+				}
+				else if (isOneOf(event, SHOT_EVENT_NAMES) && shotStartMicroSecs >= 0)
+				{
+					kpis.TimeToShot.Add(fpgaTimeMicroSecs - shotStartMicroSecs);
+					shotStartMicroSecs = -1;
+				}
+
+				for (int homingIndex = 0; homingIndex < HOMING_NAMES.length; homingIndex++)
+				{
+					if (HOMING_START_EVENT_NAMES[homingIndex].equals(event))
+					{
+						homingStartMicroSecs[homingIndex] = fpgaTimeMicroSecs;
+					}
+					else if (HOMING_DONE_EVENT_NAMES[homingIndex].equals(event) && homingStartMicroSecs[homingIndex] >= 0)
+					{
+						kpis.Homing[homingIndex].Add(fpgaTimeMicroSecs - homingStartMicroSecs[homingIndex]);
+						homingStartMicroSecs[homingIndex] = -1;
+					}
+					else if (HOMING_TIMEOUT_EVENT_NAMES[homingIndex].equals(event))
+					{
+						kpis.HomingTimeoutCount++;
+						homingStartMicroSecs[homingIndex] = -1;
+					}
+				}
+			}
+			kpis.IsEventLogRead = true;
+			kpis.BytesRead += new File(eventFilePathName).length();
+		}
+		finally
+		{
+			reader.Close();
+		}
+	}
+
+	// write 1 row per log + the ALL row, returns the # of bytes read
+	public static long WriteReport(MatchKpis[] results, Writer writer) throws IOException
+	{
+		writer.write("LogFile\tMode\tScans\tDurationSecs"
+						+ "\tLoopPeriodAvgMSecs\tLoopJitterMSecs\tLoopPeriodP99MSecs\tLoopPeriodMaxMSecs\tLoopOverruns"
+						+ "\tShots\tTimeToShotAvgSecs\tTimeToShotMaxSecs"
+						+ "\tShooterRecoveries\tShooterRecoveryAvgSecs\tShooterRecoveryMaxSecs");
+		for (String homingName : HOMING_NAMES)
+		{
+			writer.write("\t" + homingName + "HomingAvgSecs");
+		}
+		writer.write("\tHomingTimeouts\tVisionUptimePercent\tError\n");
+
+		MatchKpis allKpis = new MatchKpis();
+		allKpis.LogFileName = ALL_LOGS_NAME;
+		allKpis.Mode = "";
+		for (MatchKpis kpis : results)
+		{
+			writeRow(kpis, writer);
+			allKpis.Add(kpis);
+		}
+		writeRow(allKpis, writer);
+		return allKpis.BytesRead;
+	}
+
+	private static void writeRow(MatchKpis kpis, Writer writer) throws IOException
+	{
+		StringBuilder row = new StringBuilder();
+		row.append(kpis.LogFileName).append('\t').append(kpis.Mode);
+		if (kpis.ErrorMessage != null)
+		{
+			for (int columnIndex = 0; columnIndex < 16 + HOMING_NAMES.length; columnIndex++)
+			{
+				row.append('\t');
+			}
+			row.append(kpis.ErrorMessage).append('\n');
+			writer.write(row.toString());
+			return;
+		}
+
+		row.append('\t').append(kpis.ScanCount);
+		row.append('\t').append(formatSecs(kpis.LastFPGATimeMicroSecs - kpis.FirstFPGATimeMicroSecs));
+
+		boolean hasLoopPeriod = kpis.LoopPeriodCount > 0;
+		row.append('\t').append(hasLoopPeriod ? formatMSecs(kpis.LoopPeriodMeanMicroSecs) : "");
+		row.append('\t').append(formatMSecs(kpis.GetLoopJitterMicroSecs()));
+		row.append('\t').append(formatMSecs(kpis.LoopPeriodP99MicroSecs));
+		row.append('\t').append(hasLoopPeriod ? formatMSecs(kpis.LoopPeriodMaxMicroSecs) : "");
+		row.append('\t').append(kpis.LoopOverrunCount);
+
+		appendIntervals(row, kpis.TimeToShot, kpis.IsEventLogRead);
+		appendIntervals(row, kpis.ShooterRecovery, true);
+		for (IntervalSummary homing : kpis.Homing)
+		{
+			row.append('\t').append((homing.Count > 0) ? formatSecs(homing.TotalMicroSecs / homing.Count) : "");
+		}
+		row.append('\t').append(kpis.IsEventLogRead ? Long.toString(kpis.HomingTimeoutCount) : "");
+
+		row.append('\t').append((kpis.VisionCheckedScanCount > 0)
+									? String.format("%.1f", 100.0 * kpis.VisionUpScanCount / kpis.VisionCheckedScanCount) : "");
+		row.append('\t').append('\n');
+		writer.write(row.toString());
+	}
+
+	// count, avg & max (the count is left empty if the log they come from was not read)
+	private static void appendIntervals(StringBuilder row, IntervalSummary intervals, boolean isRead)
+	{
+		row.append('\t').append(isRead ? Long.toString(intervals.Count) : "");
+		row.append('\t').append((intervals.Count > 0) ? formatSecs(intervals.TotalMicroSecs / intervals.Count) : "");
+		row.append('\t').append((intervals.Count > 0) ? formatSecs(intervals.MaxMicroSecs) : "");
+	}
+
+	// the mode at the end of a log file name (ex: 20161018_143000_123_telop.tsv.z -> telop), null if it is not a match log
+	private static String getMode(String logFilePathName)
+	{
+		String fileName = new File(logFilePathName).getName();
+		int dotIndex = fileName.indexOf('.');
+		String baseName = (dotIndex >= 0) ? fileName.substring(0, dotIndex) : fileName;
+		for (String mode : MODES)
+		{
+			if (baseName.endsWith("_" + mode))
+			{
+				return mode;
+			}
+		}
+		return null;
+	}
+
+	private static String stateEventName(int stateMachineEventId, Enum<?> state)
+	{
+		return LogEventCatalog.GetEventName(LogEventCatalog.GetStateEventId(stateMachineEventId, state));
+	}
+
+	private static boolean isOneOf(String event, String[] eventNames)
+	{
+		for (String eventName : eventNames)
+		{
+			if (eventName.equals(event))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// a numeric column as a double (TSV columns not in the current schema are read as TEXT)
+	private static double getNumber(LogRecord record, LogSchema schema, int columnIndex)
+	{
+		switch (schema.GetColumnType(columnIndex))
+		{
+			case INT:
+				return record.GetInt(columnIndex);
+
+			case LONG:
+				return record.GetLong(columnIndex);
+
+			case FLOAT:
+				return record.GetFloat(columnIndex);
+
+			case DOUBLE:
+				return record.GetDouble(columnIndex);
+
+			default:
+				Object value = record.GetRef(columnIndex);
+				return (value != null) ? Double.parseDouble(value.toString()) : Double.NaN;
+		}
+	}
+
+	private static String formatSecs(long microSecs)
+	{
+		return String.format("%.3f", microSecs / 1000000.0);
+	}
+
+	private static String formatMSecs(double microSecs)
+	{
+		return Double.isNaN(microSecs) ? "" : String.format("%.2f", microSecs / 1000.0);
+	}
+}
@@ -0,0 +1,180 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class encodes log records into a reusable buffer and writes the buffer to a LogOutput in large chunks
+ *
+ * 	The buffer is only written when it is full or when Flush() is called (normally 1 time per batch)
+ * 	If the output is an IndexedLogOutput it is told where each record starts & its timestamp
+ * 	If an index writer is set it is told where each record starts (see LogIndexWriter)
+ * 	If a sampling policy is set each record is sampled (see LogSampler) before it is encoded
+ * 	If statistics are set each record is added to them (see LogStatistics), before sampling so every value counts
+ */
+public class LogBatchWriter
+{
+	private final LogRecordEncoder _encoder;
+	private final LogOutput _output;
+	private ByteBuffer _buffer;
+	private long _bytesHandedToOutput;
+
+	// time index support
+	private final IndexedLogOutput _indexedOutput;
+	private int _timestampColumnIndex = -1;
+	private LogIndexWriter _indexWriter;
+
+	// per column sampling
+	private LogSamplingPolicy _samplingPolicy;
+	private int _fullRecordInterval;
+	private LogSampler _sampler;
+
+	// per column summary
+	private LogStatistics _statistics;
+
+	// constructor
+	public LogBatchWriter(LogRecordEncoder encoder, LogOutput output, int bufferSize)
+	{
+		_encoder = encoder;
+		_output = output;
+		_buffer = ByteBuffer.allocateDirect(bufferSize);
+		_indexedOutput = (output instanceof IndexedLogOutput) ? (IndexedLogOutput)output : null;
+	}
+
+	// write a side-car index while writing the log (must be set before the 1st record)
+	public void SetIndexWriter(LogIndexWriter indexWriter)
+	{
+		_indexWriter = indexWriter;
+	}
+
+	// only write the columns picked by a sampling policy, with every column every fullRecordInterval records
+	//	(must be set before the header, null = write every column)
+	public void SetSamplingPolicy(LogSamplingPolicy samplingPolicy, int fullRecordInterval)
+	{
+		_samplingPolicy = samplingPolicy;
+		_fullRecordInterval = fullRecordInterval;
+	}
+
+	// keep running statistics of the records written (must be set before the 1st record, null = no statistics)
+	public void SetStatistics(LogStatistics statistics)
+	{
+		_statistics = statistics;
+	}
+
+	public void WriteHeader(LogSchema schema) throws IOException
+	{
+		_timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+
+		if (_samplingPolicy != null)
+		{
+			_sampler = new LogSampler(schema, _samplingPolicy, _fullRecordInterval);
+			_encoder.SetSampler(_sampler);
+		}
+
+		while (!_encoder.EncodeHeader(schema, _buffer))
+		{
+			makeRoom();
+		}
+	}
+
+	public void WriteRecord(LogRecord record) throws IOException
+	{
+		long streamOffset = _bytesHandedToOutput + _buffer.position();
+		if (_indexedOutput != null && _timestampColumnIndex >= 0)
+		{
+			_indexedOutput.IndexRecord(streamOffset, record.GetLong(_timestampColumnIndex));
+		}
+		if (_indexWriter != null)
+		{
+			_indexWriter.IndexRecord(streamOffset, record, _encoder.IsNextRecordSeekable());
+		}
+		if (_statistics != null)
+		{
+			_statistics.AddRecord(record);
+		}
+		if (_sampler != null)
+		{
+			_sampler.SampleRecord(record);
+		}
+
+		while (!_encoder.EncodeRecord(record, _buffer))
+		{
+			makeRoom();
+		}
+	}
+
+	// write everything buffered so far to the output
+	public void Flush() throws IOException
+	{
+		writeBuffer();
+		_output.Flush();
+		if (_indexWriter != null)
+		{
+			_indexWriter.Flush();
+		}
+	}
+
+	public void Close() throws IOException
+	{
+		try
+		{
+			Flush();
+		}
+		finally
+		{
+			try
+			{
+				_output.Close();
+			}
+			finally
+			{
+				if (_indexWriter != null)
+				{
+					_indexWriter.Close();
+				}
+			}
+		}
+	}
+
+	public long GetBytesWritten()
+	{
+		return _output.GetBytesWritten();
+	}
+
+	// % of the values that were written (100 when every column is written)
+	public double GetSampledValuePercent()
+	{
+		if (_sampler == null || _sampler.GetTotalValueCount() == 0)
+		{
+			return 100.0;
+		}
+		return 100.0 * _sampler.GetSampledValueCount() / _sampler.GetTotalValueCount();
+	}
+
+	// empty the buffer, or if it is already empty (an entry bigger than the buffer) double its size
+	private void makeRoom() throws IOException
+	{
+		if (_buffer.position() > 0)
+		{
+			writeBuffer();
+		}
+		else
+		{
+			_buffer = ByteBuffer.allocateDirect(_buffer.capacity() * 2);
+		}
+	}
+
+	private void writeBuffer() throws IOException
+	{
+		_buffer.flip();
+		_bytesHandedToOutput += _buffer.remaining();
+		try
+		{
+			_output.Write(_buffer);
+		}
+		finally
+		{
+			_buffer.clear();
+		}
+	}
+}
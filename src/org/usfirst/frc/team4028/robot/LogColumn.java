@@ -0,0 +1,26 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation changes how a field of RobotData.InputData / WorkingData / OutputData is logged
+ *
+ * 	Every field of those classes is a log column by default (named "<Class>:<Field>", in declaration order),
+ * 	this annotation is only needed for the exceptions:
+ * 		@LogColumn(isLogged = false)									field is not logged (ex: logger bookkeeping)
+ * 		@LogColumn(describedBy = "GetPumaFrontSolenoidPositionDesc")	field is logged as the TEXT returned by
+ * 																		that static RobotData method
+ *
+ * 	It is read from the source by RobotDataCodecGenerator, nothing reads it at runtime.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface LogColumn
+{
+	boolean isLogged() default true;
+
+	String describedBy() default "";
+}
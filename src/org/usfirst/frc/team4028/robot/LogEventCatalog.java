@@ -0,0 +1,83 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.usfirst.frc.team4028.robot.RobotData.And1_Servo_Dir_State;
+import org.usfirst.frc.team4028.robot.RobotData.Auto_Aim_And_Shoot_State;
+import org.usfirst.frc.team4028.robot.RobotData.Auton_Shoot_Ball_State;
+import org.usfirst.frc.team4028.robot.RobotData.Cross_Defense_Auto_Aim_And_Shoot_State;
+import org.usfirst.frc.team4028.robot.RobotData.Cross_Defense_Auton_State;
+import org.usfirst.frc.team4028.robot.RobotData.Infeed_Tilt_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.Slider_Zero_State;
+import org.usfirst.frc.team4028.robot.RobotData.Teleop_Elevator_State;
+import org.usfirst.frc.team4028.robot.RobotData.Turret_Zero_State;
+
+/**
+ * This class assigns the ids of the events written to the event log (see LogEventChannel)
+ *
+ * 	Every event is declared here 1 time and its name is interned when the class loads, so recording an event
+ * 	only passes an int around. Ids are only valid while the robot program runs, the event log holds the names.
+ *
+ * 	A state machine gets 1 event per state (ex: "Turret_Zero_State:ON_HOME_SWITCH"),
+ * 	the id of a state is the state machine's 1st id + the state's ordinal (see GetStateEventId).
+ */
+public final class LogEventCatalog
+{
+	// declared before the ids so it exists when they are assigned
+	private static final List<String> _eventNames = new ArrayList<String>();
+
+	// =====================================
+	// State machines
+	// =====================================
+	public static final int AUTON_SHOOT_BALL_STATE = addStates(Auton_Shoot_Ball_State.class);
+	public static final int SLIDER_ZERO_STATE = addStates(Slider_Zero_State.class);
+	public static final int INFEED_TILT_ZERO_STATE = addStates(Infeed_Tilt_Zero_State.class);
+	public static final int TELEOP_ELEVATOR_STATE = addStates(Teleop_Elevator_State.class);
+	public static final int TURRET_ZERO_STATE = addStates(Turret_Zero_State.class);
+	public static final int CROSS_DEFENSE_AUTON_STATE = addStates(Cross_Defense_Auton_State.class);
+	public static final int AUTO_AIM_AND_SHOOT_STATE = addStates(Auto_Aim_And_Shoot_State.class);
+	public static final int CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE = addStates(Cross_Defense_Auto_Aim_And_Shoot_State.class);
+	public static final int AND1_SERVO_DIR_STATE = addStates(And1_Servo_Dir_State.class);
+
+	// =====================================
+	// Other events
+	// =====================================
+	public static final int DRIVER_STATION_MSG = addEvent("DriverStationMsg");
+
+	private LogEventCatalog()
+	{
+	}
+
+	public static String GetEventName(int eventId)
+	{
+		return _eventNames.get(eventId);
+	}
+
+	public static int GetEventCount()
+	{
+		return _eventNames.size();
+	}
+
+	// id of 1 state of a state machine (firstEventId is the state machine's id, ex: TURRET_ZERO_STATE)
+	public static int GetStateEventId(int firstEventId, Enum<?> state)
+	{
+		return firstEventId + state.ordinal();
+	}
+
+	private static int addEvent(String eventName)
+	{
+		_eventNames.add(eventName);
+		return _eventNames.size() - 1;
+	}
+
+	private static <E extends Enum<E>> int addStates(Class<E> stateType)
+	{
+		int firstEventId = _eventNames.size();
+		for (E state : stateType.getEnumConstants())
+		{
+			addEvent(stateType.getSimpleName() + ":" + state.name());
+		}
+		return firstEventId;
+	}
+}
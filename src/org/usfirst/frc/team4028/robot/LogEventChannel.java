@@ -0,0 +1,134 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+
+/**
+ * This class writes the event log that goes with a data log: state machine changes & driver station messages,
+ * 	each with the FPGA time it happened (not just the scan it showed up in)
+ *
+ * 	Events go to a side-car TSV file next to the log (ex: 20161018_143000_123_telop.tsv.events) with the columns
+ * 		InputData:FPGATimeMicroSecs		Event		Value		Text
+ * 	so it can be read like any other log (see LogQueryTool --events / --between).
+ *
+ * 	Recording an event (main robot thread) claims a preallocated slot of a ring buffer and stores the time,
+ * 	the interned event name (see LogEventCatalog), the value & the text reference in it, nothing is formatted.
+ * 	The data log's writer drains the events (see Drain) when it writes its own records.
+ * 	If the writer falls a full ring buffer behind new events are dropped (and counted).
+ */
+public class LogEventChannel
+{
+	public static final String FILE_EXTENSION = ".events";
+
+	public static final String EVENT_COLUMN_NAME = "Event";
+	public static final String VALUE_COLUMN_NAME = "Value";
+	public static final String TEXT_COLUMN_NAME = "Text";
+
+	private final LogSchema _schema;
+	private final LogRingBuffer _ringBuffer;
+	private final LogBatchWriter _batchWriter;
+	private boolean _isHeaderWritten;
+	private long _writtenEventCount;
+
+	// constructor, opens the event file of a log (capacity must be a power of 2)
+	public LogEventChannel(String logFilePathName, int capacity, int bufferSize) throws IOException
+	{
+		_schema = BuildSchema();
+		_ringBuffer = new LogRingBuffer(capacity, _schema.GetColumnCount());
+		_batchWriter = new LogBatchWriter(new TsvLogEncoder(),
+											DataLogger.AddFraming(new FileLogOutput(BuildEventFilePathName(logFilePathName))),
+											bufferSize);
+	}
+
+	// ex: 20161018_143000_123_telop.tsv -> 20161018_143000_123_telop.tsv.events
+	public static String BuildEventFilePathName(String logFilePathName)
+	{
+		return logFilePathName + FILE_EXTENSION;
+	}
+
+	public static LogSchema BuildSchema()
+	{
+		LogSchema schema = new LogSchema();
+		schema.AddColumn(LogSchema.TIMESTAMP_COLUMN_NAME, LogSchema.Column_Type.LONG);
+		schema.AddColumn(EVENT_COLUMN_NAME, LogSchema.Column_Type.TEXT);
+		schema.AddColumn(VALUE_COLUMN_NAME, LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn(TEXT_COLUMN_NAME, LogSchema.Column_Type.TEXT);
+		return schema;
+	}
+
+	// =====================================
+	// Producer side (main robot thread)
+	// =====================================
+
+	// queue 1 event, never blocks (text can be null)
+	public void Record(long fpgaTimeMicroSecs, int eventId, double value, String text)
+	{
+		LogRecord record = _ringBuffer.TryClaim();
+		if (record == null)
+		{
+			// writer is behind, this event is counted as dropped
+			return;
+		}
+
+		record.PutLong(fpgaTimeMicroSecs);
+		record.PutText(LogEventCatalog.GetEventName(eventId));
+		record.PutDouble(value);
+		record.PutText(text);
+
+		_ringBuffer.Publish();
+	}
+
+	// =====================================
+	// Consumer side (log writer)
+	// =====================================
+
+	// write all queued events, writing the file one time at the end, returns the # of events written
+	public int Drain() throws IOException
+	{
+		if (!_isHeaderWritten)
+		{
+			_isHeaderWritten = true;
+			_batchWriter.WriteHeader(_schema);
+		}
+
+		int availableCount = _ringBuffer.GetAvailableCount();
+		if (availableCount == 0)
+		{
+			return 0;
+		}
+
+		try
+		{
+			for (int offset = 0; offset < availableCount; offset++)
+			{
+				_batchWriter.WriteRecord(_ringBuffer.Peek(offset));
+			}
+			_batchWriter.Flush();
+		}
+		finally
+		{
+			// the slots are always given back, otherwise a dead USB stick would stall the ring
+			_ringBuffer.Release(availableCount);
+		}
+
+		_writtenEventCount += availableCount;
+		return availableCount;
+	}
+
+	public void Close() throws IOException
+	{
+		_batchWriter.Close();
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetWrittenEventCount()
+	{
+		return _writtenEventCount;
+	}
+
+	public long GetDroppedEventCount()
+	{
+		return _ringBuffer.GetDroppedRecordCount();
+	}
+}
@@ -0,0 +1,188 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * This is a command line tool (run on a laptop) that converts a binary log file back into a TSV file
+ *
+ * 	usage:	java -cp FRCUserProgram.jar org.usfirst.frc.team4028.robot.LogFileConverter input.bin|input.tsvf [output.tsv]
+ *
+ * 	input can also be the .manifest file of a segmented log, the segments are read in order as 1 file
+ * 	compressed logs (.z) are decompressed, a compressed TSV log is simply written back out as plain TSV
+ * 	framed logs (see FramedLogOutput) are converted up to their 1st bad frame, a framed TSV log is written back out as plain TSV
+ */
+public class LogFileConverter
+{
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("usage: LogFileConverter input.bin|input.tsvf|input.z|input.manifest [output.tsv]");
+			System.exit(1);
+		}
+
+		String inputFilePathName = args[0];
+		String outputFilePathName = (args.length > 1) ? args[1] : BuildOutputFilePathName(inputFilePathName);
+
+		long recordCount = ConvertToTSV(inputFilePathName, outputFilePathName);
+
+		System.out.println("Converted " + recordCount + " records to " + outputFilePathName);
+	}
+
+	// convert a binary log file to a TSV log file, returns the # of records converted
+	public static long ConvertToTSV(String inputFilePathName, String outputFilePathName) throws IOException
+	{
+		InputStream inputStream = OpenLogInputStream(inputFilePathName);
+		if (!IsBinaryLog(inputStream))
+		{
+			return copyTSV(inputStream, outputFilePathName);
+		}
+
+		BinaryLogReader reader = new BinaryLogReader(inputStream);
+		try
+		{
+			LogSchema schema = reader.GetSchema();
+			LogRecord record = new LogRecord(schema.GetColumnCount());
+
+			LogBatchWriter writer = new LogBatchWriter(new TsvLogEncoder(), new FileLogOutput(outputFilePathName, false), 256 * 1024);
+			try
+			{
+				writer.WriteHeader(schema);
+				while (reader.ReadRecord(record))
+				{
+					writer.WriteRecord(record);
+				}
+			}
+			finally
+			{
+				writer.Close();
+			}
+
+			return reader.GetRecordCount();
+		}
+		finally
+		{
+			reader.Close();
+		}
+	}
+
+	// build the default output file name (never the same as an existing file, ex: segment 0 of a TSV log)
+	public static String BuildOutputFilePathName(String inputFilePathName)
+	{
+		String baseFilePathName = inputFilePathName;
+		if (baseFilePathName.endsWith(CompressedLogOutput.FILE_EXTENSION))
+		{
+			baseFilePathName = baseFilePathName.substring(0, baseFilePathName.length() - CompressedLogOutput.FILE_EXTENSION.length());
+		}
+
+		String outputFilePathName = ReplaceExtension(baseFilePathName, TsvLogEncoder.FILE_EXTENSION);
+		if (new File(outputFilePathName).exists())
+		{
+			outputFilePathName = ReplaceExtension(baseFilePathName, "_converted" + TsvLogEncoder.FILE_EXTENSION);
+		}
+		return outputFilePathName;
+	}
+
+	// open a log file for reading, segmented (.manifest), framed & compressed logs are returned as 1 plain stream of log bytes
+	//	(a framed log ends in front of its 1st bad frame)
+	public static InputStream OpenLogInputStream(String inputFilePathName) throws IOException
+	{
+		InputStream inputStream;
+		if (inputFilePathName.endsWith(LogSegmentManifest.FILE_EXTENSION))
+		{
+			inputStream = LogSegmentManifest.Read(inputFilePathName).OpenInputStream();
+		}
+		else
+		{
+			inputStream = new FileInputStream(inputFilePathName);
+		}
+		inputStream = new BufferedInputStream(inputStream, 64 * 1024);
+
+		if (FramedLogInputStream.IsFramed(inputStream))
+		{
+			inputStream = new BufferedInputStream(new FramedLogInputStream(inputStream), 64 * 1024);
+		}
+		if (CompressedLogInputStream.IsCompressed(inputStream))
+		{
+			inputStream = new BufferedInputStream(new CompressedLogInputStream(inputStream), 64 * 1024);
+		}
+		return inputStream;
+	}
+
+	// peek at the start of the stream for the binary log magic number (the stream must support mark / reset)
+	public static boolean IsBinaryLog(InputStream inputStream) throws IOException
+	{
+		byte[] magic = new byte[BinaryLogEncoder.MAGIC.length];
+
+		inputStream.mark(magic.length);
+		int totalRead = 0;
+		while (totalRead < magic.length)
+		{
+			int bytesRead = inputStream.read(magic, totalRead, magic.length - totalRead);
+			if (bytesRead < 0)
+			{
+				break;
+			}
+			totalRead += bytesRead;
+		}
+		inputStream.reset();
+
+		return Arrays.equals(magic, BinaryLogEncoder.MAGIC);
+	}
+
+	// write a TSV log back out as is, returns the # of records (lines after the header)
+	private static long copyTSV(InputStream inputStream, String outputFilePathName) throws IOException
+	{
+		long lineCount = 0;
+		try
+		{
+			OutputStream outputStream = new FileOutputStream(outputFilePathName);
+			try
+			{
+				byte[] chunk = new byte[64 * 1024];
+				int bytesRead;
+				while ((bytesRead = inputStream.read(chunk)) > 0)
+				{
+					outputStream.write(chunk, 0, bytesRead);
+					for (int index = 0; index < bytesRead; index++)
+					{
+						if (chunk[index] == '\n')
+						{
+							lineCount++;
+						}
+					}
+				}
+			}
+			finally
+			{
+				outputStream.close();
+			}
+		}
+		finally
+		{
+			inputStream.close();
+		}
+
+		return Math.max(lineCount - 1, 0);
+	}
+
+	// replace (or add) the file extension
+	public static String ReplaceExtension(String filePathName, String newExtension)
+	{
+		int dotIndex = filePathName.lastIndexOf('.');
+		int separatorIndex = Math.max(filePathName.lastIndexOf('/'), filePathName.lastIndexOf('\\'));
+
+		if (dotIndex > separatorIndex)
+		{
+			return filePathName.substring(0, dotIndex) + newExtension;
+		}
+		return filePathName + newExtension;
+	}
+}
@@ -0,0 +1,143 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class reads a side-car index written by LogIndexWriter
+ *
+ * 	If a log has no index (or it was cut short) the missing part simply maps to offset 0 / the last entry,
+ * 	so queries still work, they just read more of the log.
+ */
+public class LogIndex
+{
+	// one state change
+	public static class StateChange
+	{
+		public final String ColumnName;
+		public final String Value;
+		public final long FPGATimeMicroSecs;
+		public final long Offset;
+
+		StateChange(String columnName, String value, long fpgaTimeMicroSecs, long offset)
+		{
+			ColumnName = columnName;
+			Value = value;
+			FPGATimeMicroSecs = fpgaTimeMicroSecs;
+			Offset = offset;
+		}
+	}
+
+	private long[] _entryTimes = new long[256];
+	private long[] _entryOffsets = new long[256];
+	private int _entryCount;
+	private final List<StateChange> _stateChanges = new ArrayList<StateChange>();
+
+	// build the index file path name for a log file
+	public static String BuildIndexFilePathName(String logFilePathName)
+	{
+		return logFilePathName + LogIndexWriter.FILE_EXTENSION;
+	}
+
+	// read the index of a log, returns an empty index if the log does not have one
+	public static LogIndex Read(String logFilePathName) throws IOException
+	{
+		LogIndex index = new LogIndex();
+
+		File indexFile = new File(BuildIndexFilePathName(logFilePathName));
+		if (!indexFile.exists())
+		{
+			return index;
+		}
+
+		BufferedReader reader = new BufferedReader(new FileReader(indexFile));
+		try
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				String[] fields = line.split("\t");
+				try
+				{
+					if (fields[0].equals(LogIndexWriter.TIME_ENTRY_TAG) && fields.length == 3)
+					{
+						index.addEntry(Long.parseLong(fields[1]), Long.parseLong(fields[2]));
+					}
+					else if (fields[0].equals(LogIndexWriter.STATE_ENTRY_TAG) && fields.length == 5)
+					{
+						index._stateChanges.add(new StateChange(fields[1], fields[2], Long.parseLong(fields[3]), Long.parseLong(fields[4])));
+					}
+				}
+				catch (NumberFormatException e)
+				{
+					// partially written last line
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+
+		return index;
+	}
+
+	public int GetEntryCount()
+	{
+		return _entryCount;
+	}
+
+	public List<StateChange> GetStateChanges()
+	{
+		return _stateChanges;
+	}
+
+	// find the offset to start reading at to see every record at or after this time
+	public long FindOffset(long fpgaTimeMicroSecs)
+	{
+		// entries are in time order, use the last one at or before the time
+		long offset = 0;
+		for (int entryIndex = 0; entryIndex < _entryCount && _entryTimes[entryIndex] <= fpgaTimeMicroSecs; entryIndex++)
+		{
+			offset = _entryOffsets[entryIndex];
+		}
+		return offset;
+	}
+
+	// find all changes of a state column to a value (a null value matches every change of the column)
+	public List<StateChange> FindStateChanges(String columnName, String value)
+	{
+		List<StateChange> matches = new ArrayList<StateChange>();
+		for (StateChange stateChange : _stateChanges)
+		{
+			if (matchesColumnName(stateChange.ColumnName, columnName) && (value == null || stateChange.Value.equals(value)))
+			{
+				matches.add(stateChange);
+			}
+		}
+		return matches;
+	}
+
+	// a column can be given with or without its section prefix (ex: AutonShootBallState or WorkingData:AutonShootBallState)
+	private static boolean matchesColumnName(String indexColumnName, String columnName)
+	{
+		return indexColumnName.equals(columnName) || indexColumnName.endsWith(":" + columnName);
+	}
+
+	private void addEntry(long fpgaTimeMicroSecs, long offset)
+	{
+		if (_entryCount == _entryTimes.length)
+		{
+			_entryTimes = Arrays.copyOf(_entryTimes, _entryCount * 2);
+			_entryOffsets = Arrays.copyOf(_entryOffsets, _entryCount * 2);
+		}
+		_entryTimes[_entryCount] = fpgaTimeMicroSecs;
+		_entryOffsets[_entryCount] = offset;
+		_entryCount++;
+	}
+}
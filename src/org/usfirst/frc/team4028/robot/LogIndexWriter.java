@@ -0,0 +1,122 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * This class writes a small side-car index file next to a log file (ex: 20161018_143000_123_telop.tsv.idx)
+ *
+ * 	The index maps FPGA time & state changes to offsets in the log so a reader can skip straight to them
+ * 	(see LogIndex & LogQueryTool). Offsets are counted in uncompressed log bytes from the start of the log.
+ *
+ * 	Index lines (tab separated):
+ * 		T	<FPGA time (microsecs)>	<offset>										every LOG_INDEX_INTERVAL_MSECS
+ * 		S	<column name>	<new value>	<FPGA time (microsecs)>	<offset>			each time an ENUM column changes
+ *
+ * 	The offset is always where a reader can start decoding (ex: the last keyframe of a delta encoded binary log),
+ * 	so it can be a little before the time it is listed with.
+ */
+public class LogIndexWriter
+{
+	public static final String FILE_EXTENSION = ".idx";
+
+	public static final String TIME_ENTRY_TAG = "T";
+	public static final String STATE_ENTRY_TAG = "S";
+
+	private final BufferedWriter _writer;
+	private final long _intervalMicroSecs;
+
+	private final int _timestampColumnIndex;
+	private final int[] _stateColumnIndexes;
+	private final String[] _stateColumnNames;
+	private final Object[] _previousStates;
+
+	private long _lastSeekableOffset;
+	private long _nextTimeEntryMicroSecs = Long.MIN_VALUE;
+	private boolean _isFirstRecord = true;
+
+	// constructor, creates the index file
+	public LogIndexWriter(String indexFilePathName, LogSchema schema, int intervalMSecs) throws IOException
+	{
+		_intervalMicroSecs = intervalMSecs * 1000L;
+		_timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+
+		// every ENUM column holds a state (auton / shooter / turret state machines ...)
+		int stateColumnCount = 0;
+		for (int columnIndex = 0; columnIndex < schema.GetColumnCount(); columnIndex++)
+		{
+			if (schema.GetColumnType(columnIndex) == LogSchema.Column_Type.ENUM)
+			{
+				stateColumnCount++;
+			}
+		}
+
+		_stateColumnIndexes = new int[stateColumnCount];
+		_stateColumnNames = new String[stateColumnCount];
+		_previousStates = new Object[stateColumnCount];
+		int stateIndex = 0;
+		for (int columnIndex = 0; columnIndex < schema.GetColumnCount(); columnIndex++)
+		{
+			if (schema.GetColumnType(columnIndex) == LogSchema.Column_Type.ENUM)
+			{
+				_stateColumnIndexes[stateIndex] = columnIndex;
+				_stateColumnNames[stateIndex] = schema.GetColumnName(columnIndex);
+				stateIndex++;
+			}
+		}
+
+		_writer = new BufferedWriter(new FileWriter(indexFilePathName, false));
+		_writer.write("# log index\ttime entries every " + intervalMSecs + " msecs\n");
+	}
+
+	// called before each record is encoded, streamOffset = # of (uncompressed) bytes in the log before this record
+	public void IndexRecord(long streamOffset, LogRecord record, boolean isSeekable) throws IOException
+	{
+		if (_timestampColumnIndex < 0)
+		{
+			return;
+		}
+
+		if (isSeekable)
+		{
+			_lastSeekableOffset = streamOffset;
+		}
+		long fpgaTimeMicroSecs = record.GetLong(_timestampColumnIndex);
+
+		// time entries are only written at records a reader can start from
+		//	(a jump back in time, ex: the 32 bit FPGA microsec clock rolling over, also starts a new entry)
+		if (isSeekable && (fpgaTimeMicroSecs >= _nextTimeEntryMicroSecs || fpgaTimeMicroSecs < _nextTimeEntryMicroSecs - 2 * _intervalMicroSecs))
+		{
+			_writer.write(TIME_ENTRY_TAG + "\t" + fpgaTimeMicroSecs + "\t" + streamOffset + "\n");
+			_nextTimeEntryMicroSecs = fpgaTimeMicroSecs + _intervalMicroSecs;
+		}
+
+		for (int stateIndex = 0; stateIndex < _stateColumnIndexes.length; stateIndex++)
+		{
+			Object state = record.GetRef(_stateColumnIndexes[stateIndex]);
+			if (_isFirstRecord || !equals(state, _previousStates[stateIndex]))
+			{
+				_writer.write(STATE_ENTRY_TAG + "\t" + _stateColumnNames[stateIndex] + "\t" + state
+								+ "\t" + fpgaTimeMicroSecs + "\t" + _lastSeekableOffset + "\n");
+				_previousStates[stateIndex] = state;
+			}
+		}
+		_isFirstRecord = false;
+	}
+
+	public void Flush() throws IOException
+	{
+		_writer.flush();
+	}
+
+	public void Close() throws IOException
+	{
+		_writer.close();
+	}
+
+	private static boolean equals(Object value1, Object value2)
+	{
+		return (value1 == value2) || (value1 != null && value1.equals(value2));
+	}
+}
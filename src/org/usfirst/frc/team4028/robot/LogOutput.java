@@ -0,0 +1,24 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * This interface is implemented by each place encoded log bytes can be written to
+ *
+ * Outputs are only used on the log writer thread.
+ */
+public interface LogOutput
+{
+	// write all of the remaining bytes in the buffer
+	void Write(ByteBuffer source) throws IOException;
+
+	// push any bytes held by this output to the underlying device
+	void Flush() throws IOException;
+
+	// flush & release the underlying device
+	void Close() throws IOException;
+
+	// total # of bytes written to the underlying device
+	long GetBytesWritten();
+}
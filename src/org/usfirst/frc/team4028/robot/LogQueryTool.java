@@ -0,0 +1,706 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This is a command line tool (run on a laptop) that pulls a time range or the rows around a state change
+ * 	out of one log file or a whole folder of log files, using the side-car index (see LogIndexWriter) to skip
+ * 	straight to the right place instead of reading every file from the start.
+ *
+ * 	usage:	java -cp FRCUserProgram.jar org.usfirst.frc.team4028.robot.LogQueryTool <log file | folder> <query> [--out output.tsv]
+ *
+ * 	queries:
+ * 		--time <from secs> <to secs>									rows with an FPGA time in the range
+ * 		--state <column> [<value>] [--before <secs>] [--after <secs>]	rows around each change of a state column (to a value)
+ * 		--events [<event>]												the rows of the event log (see LogEventChannel), all of them or 1 event
+ * 		--between <from event> <to event>								the time from each <from event> to the next <to event>
+ *
+ * 	ex:		LogQueryTool /logs --state AutonShootBallState SHOOT_BALL --before 0.5 --after 2
+ * 			LogQueryTool /logs --between Cross_Defense_Auton_State:COARSE_TURRET_TO_TARGET Cross_Defense_Auton_State:SHOOT
+ *
+ * 	An event can be given by its full name (ex: Turret_Zero_State:ON_HOME_SWITCH), by the part after the ':'
+ * 	(ex: ON_HOME_SWITCH, it then matches every state machine that has that state) or as a prefix ending in '*'.
+ *
+ * 	The output is TSV (binary & compressed logs are converted), when a folder is queried the 1st column is the log file name.
+ * 	Values left out of a sampled log (see LogSampler) are filled in with the last value, so every output row is complete.
+ */
+public class LogQueryTool
+{
+	private static final double DEFAULT_BEFORE_SECS = 1.0;
+	private static final double DEFAULT_AFTER_SECS = 3.0;
+	private static final String EVENT_WILDCARD = "*";
+	private static final String[] LOG_FILE_EXTENSIONS = { TsvLogEncoder.FILE_EXTENSION, TsvLogEncoder.FRAMED_FILE_EXTENSION, ".bin", TsvLogEncoder.FILE_EXTENSION + CompressedLogOutput.FILE_EXTENSION, ".bin" + CompressedLogOutput.FILE_EXTENSION };
+
+	// where extracted rows go, the header is only written before the 1st row of each log file
+	public static class RowOutput
+	{
+		private final OutputStream _outputStream;
+		private String _rowPrefix;
+		private boolean _isHeaderWritten;
+
+		public RowOutput(OutputStream outputStream)
+		{
+			_outputStream = outputStream;
+		}
+
+		// start the rows of the next log file, a non null prefix is written as an extra 1st column
+		public void StartLogFile(String rowPrefix)
+		{
+			_rowPrefix = rowPrefix;
+			_isHeaderWritten = false;
+		}
+	}
+
+	// the min / avg / max of the times found by a --between query
+	public static class IntervalSummary
+	{
+		public long Count;
+		public long MinMicroSecs = Long.MAX_VALUE;
+		public long MaxMicroSecs = Long.MIN_VALUE;
+		public long TotalMicroSecs;
+
+		void Add(long elapsedMicroSecs)
+		{
+			Count++;
+			MinMicroSecs = Math.min(MinMicroSecs, elapsedMicroSecs);
+			MaxMicroSecs = Math.max(MaxMicroSecs, elapsedMicroSecs);
+			TotalMicroSecs += elapsedMicroSecs;
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		String target = null;
+		String outputFilePathName = null;
+		String stateColumnName = null;
+		String stateValue = null;
+		double fromSecs = Double.NaN;
+		double toSecs = Double.NaN;
+		double beforeSecs = DEFAULT_BEFORE_SECS;
+		double afterSecs = DEFAULT_AFTER_SECS;
+		boolean isEventQuery = false;
+		String eventName = null;
+		String toEventName = null;
+
+		try
+		{
+			for (int argIndex = 0; argIndex < args.length; argIndex++)
+			{
+				String arg = args[argIndex];
+				if (arg.equals("--time"))
+				{
+					fromSecs = Double.parseDouble(args[++argIndex]);
+					toSecs = Double.parseDouble(args[++argIndex]);
+				}
+				else if (arg.equals("--state"))
+				{
+					stateColumnName = args[++argIndex];
+					if (argIndex + 1 < args.length && !args[argIndex + 1].startsWith("--"))
+					{
+						stateValue = args[++argIndex];
+					}
+				}
+				else if (arg.equals("--events"))
+				{
+					isEventQuery = true;
+					if (argIndex + 1 < args.length && !args[argIndex + 1].startsWith("--"))
+					{
+						eventName = args[++argIndex];
+					}
+				}
+				else if (arg.equals("--between"))
+				{
+					isEventQuery = true;
+					eventName = args[++argIndex];
+					toEventName = args[++argIndex];
+				}
+				else if (arg.equals("--before"))
+				{
+					beforeSecs = Double.parseDouble(args[++argIndex]);
+				}
+				else if (arg.equals("--after"))
+				{
+					afterSecs = Double.parseDouble(args[++argIndex]);
+				}
+				else if (arg.equals("--out"))
+				{
+					outputFilePathName = args[++argIndex];
+				}
+				else if (target == null)
+				{
+					target = arg;
+				}
+				else
+				{
+					throw new IllegalArgumentException(arg);
+				}
+			}
+		}
+		catch (RuntimeException e)
+		{
+			target = null;
+		}
+
+		if (target == null || (stateColumnName == null && Double.isNaN(fromSecs) && !isEventQuery))
+		{
+			System.err.println("usage: LogQueryTool <log file | folder> --time <from secs> <to secs> [--out output.tsv]");
+			System.err.println("       LogQueryTool <log file | folder> --state <column> [<value>] [--before <secs>] [--after <secs>] [--out output.tsv]");
+			System.err.println("       LogQueryTool <log file | folder> --events [<event>] [--out output.tsv]");
+			System.err.println("       LogQueryTool <log file | folder> --between <from event> <to event> [--out output.tsv]");
+			System.exit(1);
+		}
+
+		boolean isFolder = new File(target).isDirectory();
+		List<String> logFilePathNames = isFolder ? FindLogFiles(target) : Arrays.asList(target);
+
+		OutputStream outputStream = (outputFilePathName != null) ? new FileOutputStream(outputFilePathName) : System.out;
+		outputStream = new BufferedOutputStream(outputStream, 64 * 1024);
+		RowOutput rowOutput = new RowOutput(outputStream);
+		IntervalSummary intervalSummary = new IntervalSummary();
+
+		long startMSecs = System.currentTimeMillis();
+		long rowCount = 0;
+		try
+		{
+			for (String logFilePathName : logFilePathNames)
+			{
+				rowOutput.StartLogFile(isFolder ? new File(logFilePathName).getName() : null);
+
+				if (toEventName != null)
+				{
+					rowCount += ExtractEventIntervals(logFilePathName, eventName, toEventName, rowOutput, intervalSummary);
+				}
+				else if (isEventQuery)
+				{
+					rowCount += ExtractEvents(logFilePathName, eventName, rowOutput);
+				}
+				else if (stateColumnName != null)
+				{
+					rowCount += ExtractStateChanges(logFilePathName, stateColumnName, stateValue,
+													toMicroSecs(beforeSecs), toMicroSecs(afterSecs), rowOutput);
+				}
+				else
+				{
+					rowCount += ExtractRange(logFilePathName, toMicroSecs(fromSecs), toMicroSecs(toSecs), rowOutput);
+				}
+			}
+		}
+		finally
+		{
+			outputStream.flush();
+			if (outputFilePathName != null)
+			{
+				outputStream.close();
+			}
+		}
+
+		System.err.println("Extracted " + rowCount + " rows from " + logFilePathNames.size() + " log files in "
+							+ (System.currentTimeMillis() - startMSecs) + " msecs");
+		if (intervalSummary.Count > 0)
+		{
+			System.err.println(eventName + " -> " + toEventName + ": " + intervalSummary.Count + " times"
+								+ ", min= " + toSecs(intervalSummary.MinMicroSecs) + " secs"
+								+ ", avg= " + toSecs(intervalSummary.TotalMicroSecs / intervalSummary.Count) + " secs"
+								+ ", max= " + toSecs(intervalSummary.MaxMicroSecs) + " secs");
+		}
+	}
+
+	// list the log files in a folder (segment files of a segmented log & side-car files are skipped)
+	public static List<String> FindLogFiles(String folderPathName)
+	{
+		List<String> logFilePathNames = new ArrayList<String>();
+
+		File[] files = new File(folderPathName).listFiles();
+		if (files == null)
+		{
+			return logFilePathNames;
+		}
+		Arrays.sort(files);
+
+		for (File file : files)
+		{
+			String fileName = file.getName();
+			if (file.isFile() && isLogFileName(fileName) && !isLaterSegment(file))
+			{
+				logFilePathNames.add(file.getPath());
+			}
+		}
+		return logFilePathNames;
+	}
+
+	// write the rows around each change of a state column, returns the # of rows written
+	public static long ExtractStateChanges(String logFilePathName, String columnName, String value,
+											long beforeMicroSecs, long afterMicroSecs, RowOutput rowOutput) throws IOException
+	{
+		LogIndex index = LogIndex.Read(logFilePathName);
+		List<LogIndex.StateChange> stateChanges = index.FindStateChanges(columnName, value);
+
+		// merge overlapping ranges so no row is written twice
+		long rowCount = 0;
+		long rangeFromMicroSecs = 0;
+		long rangeToMicroSecs = 0;
+		boolean isRangeOpen = false;
+		for (LogIndex.StateChange stateChange : stateChanges)
+		{
+			long fromMicroSecs = stateChange.FPGATimeMicroSecs - beforeMicroSecs;
+			long toMicroSecs = stateChange.FPGATimeMicroSecs + afterMicroSecs;
+
+			if (isRangeOpen && fromMicroSecs <= rangeToMicroSecs)
+			{
+				rangeToMicroSecs = Math.max(rangeToMicroSecs, toMicroSecs);
+				continue;
+			}
+			if (isRangeOpen)
+			{
+				rowCount += extractRange(logFilePathName, index, rangeFromMicroSecs, rangeToMicroSecs, rowOutput);
+			}
+			rangeFromMicroSecs = fromMicroSecs;
+			rangeToMicroSecs = toMicroSecs;
+			isRangeOpen = true;
+		}
+		if (isRangeOpen)
+		{
+			rowCount += extractRange(logFilePathName, index, rangeFromMicroSecs, rangeToMicroSecs, rowOutput);
+		}
+
+		return rowCount;
+	}
+
+	// write the rows of the event log of a log (all events or only the ones that match eventName), returns the # of rows written
+	public static long ExtractEvents(String logFilePathName, String eventName, RowOutput rowOutput) throws IOException
+	{
+		TsvLogReader reader = openEventLog(logFilePathName);
+		if (reader == null)
+		{
+			return 0;
+		}
+
+		long rowCount = 0;
+		try
+		{
+			LogSchema schema = reader.GetSchema();
+			int eventColumnIndex = schema.GetColumnIndex(LogEventChannel.EVENT_COLUMN_NAME);
+
+			TsvLogEncoder encoder = new TsvLogEncoder();
+			ByteBuffer rowBuffer = ByteBuffer.allocate(64 * 1024);
+
+			LogRecord record = new LogRecord(schema.GetColumnCount());
+			while (reader.ReadRecord(record))
+			{
+				if (isEventMatch((String)record.GetRef(eventColumnIndex), eventName))
+				{
+					if (!rowOutput._isHeaderWritten)
+					{
+						encoder.EncodeHeader(schema, rowBuffer);
+						writeRow(rowBuffer, (rowOutput._rowPrefix != null) ? "LogFile" : null, rowOutput._outputStream);
+						rowOutput._isHeaderWritten = true;
+					}
+					while (!encoder.EncodeRecord(record, rowBuffer))
+					{
+						rowBuffer = ByteBuffer.allocate(rowBuffer.capacity() * 2);
+					}
+					writeRow(rowBuffer, rowOutput._rowPrefix, rowOutput._outputStream);
+					rowCount++;
+				}
+			}
+		}
+		finally
+		{
+			reader.Close();
+		}
+		return rowCount;
+	}
+
+	// write the time from each fromEventName to the next toEventName (a 2nd from event before the to event is ignored),
+	//	returns the # of rows written
+	public static long ExtractEventIntervals(String logFilePathName, String fromEventName, String toEventName,
+												RowOutput rowOutput, IntervalSummary summary) throws IOException
+	{
+		TsvLogReader reader = openEventLog(logFilePathName);
+		if (reader == null)
+		{
+			return 0;
+		}
+
+		long rowCount = 0;
+		try
+		{
+			LogSchema schema = reader.GetSchema();
+			int timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+			int eventColumnIndex = schema.GetColumnIndex(LogEventChannel.EVENT_COLUMN_NAME);
+
+			String fromEvent = null;
+			long fromMicroSecs = 0;
+			LogRecord record = new LogRecord(schema.GetColumnCount());
+			while (reader.ReadRecord(record))
+			{
+				String event = (String)record.GetRef(eventColumnIndex);
+				long fpgaTimeMicroSecs = record.GetLong(timestampColumnIndex);
+
+				if (fromEvent != null && isEventMatch(event, toEventName))
+				{
+					if (!rowOutput._isHeaderWritten)
+					{
+						writeLine("FromEvent\tFrom:" + LogSchema.TIMESTAMP_COLUMN_NAME + "\tToEvent\tTo:" + LogSchema.TIMESTAMP_COLUMN_NAME + "\tElapsedSecs",
+									(rowOutput._rowPrefix != null) ? "LogFile" : null, rowOutput._outputStream);
+						rowOutput._isHeaderWritten = true;
+					}
+					writeLine(fromEvent + "\t" + fromMicroSecs + "\t" + event + "\t" + fpgaTimeMicroSecs + "\t" + toSecs(fpgaTimeMicroSecs - fromMicroSecs),
+								rowOutput._rowPrefix, rowOutput._outputStream);
+					summary.Add(fpgaTimeMicroSecs - fromMicroSecs);
+					rowCount++;
+					fromEvent = null;
+				}
+				else if (fromEvent == null && isEventMatch(event, fromEventName))
+				{
+					fromEvent = event;
+					fromMicroSecs = fpgaTimeMicroSecs;
+				}
+			}
+		}
+		finally
+		{
+			reader.Close();
+		}
+		return rowCount;
+	}
+
+	// write the rows between 2 FPGA times, returns the # of rows written
+	public static long ExtractRange(String logFilePathName, long fromMicroSecs, long toMicroSecs, RowOutput rowOutput) throws IOException
+	{
+		return extractRange(logFilePathName, LogIndex.Read(logFilePathName), fromMicroSecs, toMicroSecs, rowOutput);
+	}
+
+	private static long extractRange(String logFilePathName, LogIndex index, long fromMicroSecs, long toMicroSecs,
+										RowOutput rowOutput) throws IOException
+	{
+		long startOffset = index.FindOffset(fromMicroSecs);
+
+		InputStream headerStream = OpenLog(logFilePathName);
+		if (LogFileConverter.IsBinaryLog(headerStream))
+		{
+			return extractBinaryRange(logFilePathName, headerStream, startOffset, fromMicroSecs, toMicroSecs, rowOutput);
+		}
+		return extractTSVRange(logFilePathName, headerStream, startOffset, fromMicroSecs, toMicroSecs, rowOutput);
+	}
+
+	private static long extractTSVRange(String logFilePathName, InputStream headerStream, long startOffset,
+										long fromMicroSecs, long toMicroSecs, RowOutput rowOutput) throws IOException
+	{
+		// the header line is always read from the start of the log
+		BufferedReader reader = new BufferedReader(new InputStreamReader(headerStream, StandardCharsets.ISO_8859_1), 64 * 1024);
+		long rowCount = 0;
+		try
+		{
+			String header = reader.readLine();
+			if (header == null)
+			{
+				return 0;
+			}
+			int timestampColumnIndex = Arrays.asList(header.split("\t")).indexOf(LogSchema.TIMESTAMP_COLUMN_NAME);
+			if (timestampColumnIndex < 0)
+			{
+				System.err.println(logFilePathName + ": no " + LogSchema.TIMESTAMP_COLUMN_NAME + " column, skipped");
+				return 0;
+			}
+
+			if (startOffset > 0)
+			{
+				reader.close();
+				InputStream dataStream = OpenLog(logFilePathName);
+				skipFully(dataStream, startOffset);
+				reader = new BufferedReader(new InputStreamReader(dataStream, StandardCharsets.ISO_8859_1), 64 * 1024);
+			}
+
+			String[] heldFields = new String[header.split("\t", -1).length];
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				line = fillHeldFields(line, heldFields);
+
+				long fpgaTimeMicroSecs;
+				try
+				{
+					fpgaTimeMicroSecs = Long.parseLong(getField(line, timestampColumnIndex));
+				}
+				catch (NumberFormatException e)
+				{
+					// partially written last line
+					continue;
+				}
+
+				if (fpgaTimeMicroSecs > toMicroSecs)
+				{
+					break;
+				}
+				if (fpgaTimeMicroSecs >= fromMicroSecs)
+				{
+					if (!rowOutput._isHeaderWritten)
+					{
+						writeLine(header, (rowOutput._rowPrefix != null) ? "LogFile" : null, rowOutput._outputStream);
+						rowOutput._isHeaderWritten = true;
+					}
+					writeLine(line, rowOutput._rowPrefix, rowOutput._outputStream);
+					rowCount++;
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+		return rowCount;
+	}
+
+	private static long extractBinaryRange(String logFilePathName, InputStream headerStream, long startOffset,
+											long fromMicroSecs, long toMicroSecs, RowOutput rowOutput) throws IOException
+	{
+		// the header is always read from the start of the log, then the reader jumps to the start offset
+		BinaryLogReader reader = new BinaryLogReader(headerStream);
+		long rowCount = 0;
+		try
+		{
+			LogSchema schema = reader.GetSchema();
+			int timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+			if (timestampColumnIndex < 0)
+			{
+				System.err.println(logFilePathName + ": no " + LogSchema.TIMESTAMP_COLUMN_NAME + " column, skipped");
+				return 0;
+			}
+
+			if (startOffset > 0)
+			{
+				InputStream dataStream = OpenLog(logFilePathName);
+				skipFully(dataStream, startOffset);
+				reader.ContinueFrom(dataStream);
+			}
+
+			TsvLogEncoder encoder = new TsvLogEncoder();
+			ByteBuffer rowBuffer = ByteBuffer.allocate(64 * 1024);
+			while (!encoder.EncodeHeader(schema, rowBuffer))
+			{
+				rowBuffer = ByteBuffer.allocate(rowBuffer.capacity() * 2);
+			}
+			if (!rowOutput._isHeaderWritten)
+			{
+				writeRow(rowBuffer, (rowOutput._rowPrefix != null) ? "LogFile" : null, rowOutput._outputStream);
+				rowOutput._isHeaderWritten = true;
+			}
+			rowBuffer.clear();
+
+			LogRecord record = new LogRecord(schema.GetColumnCount());
+			while (reader.ReadRecord(record))
+			{
+				long fpgaTimeMicroSecs = record.GetLong(timestampColumnIndex);
+				if (fpgaTimeMicroSecs > toMicroSecs)
+				{
+					break;
+				}
+				if (fpgaTimeMicroSecs >= fromMicroSecs)
+				{
+					while (!encoder.EncodeRecord(record, rowBuffer))
+					{
+						rowBuffer = ByteBuffer.allocate(rowBuffer.capacity() * 2);
+					}
+					writeRow(rowBuffer, rowOutput._rowPrefix, rowOutput._outputStream);
+					rowCount++;
+				}
+			}
+		}
+		finally
+		{
+			reader.Close();
+		}
+		return rowCount;
+	}
+
+	// open a log as 1 plain stream, segmented logs are read through their manifest
+	public static InputStream OpenLog(String logFilePathName) throws IOException
+	{
+		String manifestFilePathName = LogSegmentManifest.BuildManifestFilePathName(logFilePathName);
+		if (new File(manifestFilePathName).exists())
+		{
+			return LogFileConverter.OpenLogInputStream(manifestFilePathName);
+		}
+		return LogFileConverter.OpenLogInputStream(logFilePathName);
+	}
+
+	// open the event log of a log, returns null if the log does not have one
+	private static TsvLogReader openEventLog(String logFilePathName) throws IOException
+	{
+		String eventFilePathName = LogEventChannel.BuildEventFilePathName(logFilePathName);
+		if (!new File(eventFilePathName).exists())
+		{
+			System.err.println(logFilePathName + ": no event log, skipped");
+			return null;
+		}
+		return new TsvLogReader(LogFileConverter.OpenLogInputStream(eventFilePathName), LogEventChannel.BuildSchema());
+	}
+
+	// true if the event has the full name, the name after the ':' or starts with the prefix before a '*' (a null pattern matches every event)
+	private static boolean isEventMatch(String eventName, String pattern)
+	{
+		if (pattern == null)
+		{
+			return true;
+		}
+		if (eventName == null)
+		{
+			return false;
+		}
+		if (pattern.endsWith(EVENT_WILDCARD))
+		{
+			return eventName.startsWith(pattern.substring(0, pattern.length() - EVENT_WILDCARD.length()));
+		}
+		return eventName.equals(pattern) || eventName.endsWith(":" + pattern);
+	}
+
+	private static boolean isLogFileName(String fileName)
+	{
+		for (String extension : LOG_FILE_EXTENSIONS)
+		{
+			if (fileName.endsWith(extension))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// true for segment 1, 2, ... of a segmented log (ex: 20161018_143000_123_telop_001.tsv)
+	private static boolean isLaterSegment(File file)
+	{
+		String fileName = file.getName();
+		int dotIndex = fileName.lastIndexOf('.');
+		if (dotIndex < 4 || !fileName.substring(dotIndex - 4, dotIndex).matches("_[0-9]{3}"))
+		{
+			return false;
+		}
+
+		String logFileName = fileName.substring(0, dotIndex - 4) + fileName.substring(dotIndex);
+		return new File(LogSegmentManifest.BuildManifestFilePathName(new File(file.getParentFile(), logFileName).getPath())).exists();
+	}
+
+	// fill the empty fields of a sampled row with the last value of each column (rows that are already full are returned as is)
+	private static String fillHeldFields(String line, String[] heldFields)
+	{
+		String[] fields = line.split("\t", -1);
+		if (fields.length != heldFields.length)
+		{
+			// partially written last line
+			return line;
+		}
+
+		boolean isFilled = false;
+		for (int fieldIndex = 0; fieldIndex < fields.length; fieldIndex++)
+		{
+			if (fields[fieldIndex].isEmpty())
+			{
+				if (heldFields[fieldIndex] != null)
+				{
+					fields[fieldIndex] = heldFields[fieldIndex];
+					isFilled = true;
+				}
+			}
+			else
+			{
+				heldFields[fieldIndex] = fields[fieldIndex];
+			}
+		}
+
+		if (!isFilled)
+		{
+			return line;
+		}
+
+		StringBuilder sb = new StringBuilder(line.length() * 2);
+		for (int fieldIndex = 0; fieldIndex < fields.length; fieldIndex++)
+		{
+			if (fieldIndex > 0)
+			{
+				sb.append('\t');
+			}
+			sb.append(fields[fieldIndex]);
+		}
+		return sb.toString();
+	}
+
+	private static String getField(String line, int fieldIndex)
+	{
+		int fieldStart = 0;
+		for (int index = 0; index < fieldIndex; index++)
+		{
+			fieldStart = line.indexOf('\t', fieldStart) + 1;
+			if (fieldStart == 0)
+			{
+				return "";
+			}
+		}
+		int fieldEnd = line.indexOf('\t', fieldStart);
+		return (fieldEnd < 0) ? line.substring(fieldStart) : line.substring(fieldStart, fieldEnd);
+	}
+
+	private static void writeLine(String line, String rowPrefix, OutputStream outputStream) throws IOException
+	{
+		if (rowPrefix != null)
+		{
+			outputStream.write(rowPrefix.getBytes(StandardCharsets.ISO_8859_1));
+			outputStream.write('\t');
+		}
+		outputStream.write(line.getBytes(StandardCharsets.ISO_8859_1));
+		outputStream.write('\n');
+	}
+
+	// write an encoded TSV row (already ends with a line feed) and empty the buffer
+	private static void writeRow(ByteBuffer rowBuffer, String rowPrefix, OutputStream outputStream) throws IOException
+	{
+		if (rowPrefix != null)
+		{
+			outputStream.write(rowPrefix.getBytes(StandardCharsets.ISO_8859_1));
+			outputStream.write('\t');
+		}
+		outputStream.write(rowBuffer.array(), 0, rowBuffer.position());
+		rowBuffer.clear();
+	}
+
+	private static void skipFully(InputStream inputStream, long length) throws IOException
+	{
+		long totalSkipped = 0;
+		while (totalSkipped < length)
+		{
+			long skipped = inputStream.skip(length - totalSkipped);
+			if (skipped <= 0)
+			{
+				// skip() can return 0 without being at the end of the stream, read 1 byte to find out
+				if (inputStream.read() < 0)
+				{
+					return;
+				}
+				skipped = 1;
+			}
+			totalSkipped += skipped;
+		}
+	}
+
+	private static long toMicroSecs(double secs)
+	{
+		return Math.round(secs * 1000000.0);
+	}
+
+	private static String toSecs(long microSecs)
+	{
+		return String.format("%.6f", microSecs / 1000000.0);
+	}
+}
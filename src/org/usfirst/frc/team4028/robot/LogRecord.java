@@ -0,0 +1,126 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.util.Date;
+
+/**
+ * This class holds a primitive copy of one scan's worth of logged values
+ *
+ * Records are preallocated (one per ring buffer slot) and reused for the life of the logger,
+ * 	so copying a scan into a record never creates garbage on the main robot thread.
+ *
+ * Primitive values are stored as raw bits in Values[], references to immutable objects
+ * 	(enum constants & Strings) are stored in Refs[]. The matching LogSchema describes how to read each column.
+ */
+public class LogRecord
+{
+	// value used in a DATE column when the Date is null
+	public static final long NULL_DATE = Long.MIN_VALUE;
+
+	public final long[] Values;
+	public final Object[] Refs;
+
+	private int _cursor;
+
+	// constructor
+	public LogRecord(int columnCount)
+	{
+		Values = new long[columnCount];
+		Refs = new Object[columnCount];
+	}
+
+	// start filling the record again from the 1st column
+	public void Reset()
+	{
+		_cursor = 0;
+	}
+
+	// number of columns written since the last reset
+	public int GetColumnCount()
+	{
+		return _cursor;
+	}
+
+	// make this record a copy of another record with the same schema
+	public void CopyFrom(LogRecord source)
+	{
+		System.arraycopy(source.Values, 0, Values, 0, Values.length);
+		System.arraycopy(source.Refs, 0, Refs, 0, Refs.length);
+		_cursor = source._cursor;
+	}
+
+	// =====================================
+	// Put methods (called on the producer thread, in the same order as the schema)
+	// =====================================
+	public void PutBoolean(boolean value)
+	{
+		Values[_cursor++] = value ? 1L : 0L;
+	}
+
+	public void PutInt(int value)
+	{
+		Values[_cursor++] = value;
+	}
+
+	public void PutLong(long value)
+	{
+		Values[_cursor++] = value;
+	}
+
+	public void PutFloat(float value)
+	{
+		Values[_cursor++] = Float.floatToRawIntBits(value);
+	}
+
+	public void PutDouble(double value)
+	{
+		Values[_cursor++] = Double.doubleToRawLongBits(value);
+	}
+
+	public void PutEnum(Enum<?> value)
+	{
+		Refs[_cursor++] = value;
+	}
+
+	public void PutText(String value)
+	{
+		Refs[_cursor++] = value;
+	}
+
+	public void PutDate(Date value)
+	{
+		Values[_cursor++] = (value != null) ? value.getTime() : NULL_DATE;
+	}
+
+	// =====================================
+	// Get methods (called on the consumer thread)
+	// =====================================
+	public boolean GetBoolean(int columnIndex)
+	{
+		return Values[columnIndex] != 0L;
+	}
+
+	public int GetInt(int columnIndex)
+	{
+		return (int)Values[columnIndex];
+	}
+
+	public long GetLong(int columnIndex)
+	{
+		return Values[columnIndex];
+	}
+
+	public float GetFloat(int columnIndex)
+	{
+		return Float.intBitsToFloat((int)Values[columnIndex]);
+	}
+
+	public double GetDouble(int columnIndex)
+	{
+		return Double.longBitsToDouble(Values[columnIndex]);
+	}
+
+	public Object GetRef(int columnIndex)
+	{
+		return Refs[columnIndex];
+	}
+}
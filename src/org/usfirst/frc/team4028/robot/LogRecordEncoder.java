@@ -0,0 +1,29 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This interface is implemented by each supported log file format
+ *
+ * Encoders are only used on the log writer thread.
+ * Both encode methods are "all or nothing": if the buffer does not have enough room they
+ * 	write nothing, leave their internal state unchanged and return false so the caller can
+ * 	empty (or grow) the buffer and try again.
+ */
+public interface LogRecordEncoder
+{
+	// file extension (including the ".") used for files in this format
+	String GetFileExtension();
+
+	// write the one-time file header
+	boolean EncodeHeader(LogSchema schema, ByteBuffer buffer);
+
+	// write one record
+	boolean EncodeRecord(LogRecord record, ByteBuffer buffer);
+
+	// true if a reader could start decoding at the next record (given only the file header)
+	boolean IsNextRecordSeekable();
+
+	// leave out the columns the sampler did not pick for the current record (null = write every column)
+	void SetSampler(LogSampler sampler);
+}
@@ -0,0 +1,342 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * This is a command line tool (run on a laptop) that salvages the good records of a damaged log file
+ * 	(ex: the robot browned out or the USB stick was pulled while logging)
+ *
+ * 	usage:	java -cp FRCUserProgram.jar org.usfirst.frc.team4028.robot.LogRecoveryTool input.tsv|input.tsvf|input.bin|input.z|input.manifest [output]
+ *
+ * 	Framed logs (see FramedLogOutput) are read up to the 1st frame that fails its CRC32C check,
+ * 	then every complete record in those bytes is written to a plain (unframed, uncompressed) log
+ * 	in the same format (ex: 20161018_143000_123_telop_recovered.tsv).
+ * 	Older unframed logs are read up to the 1st incomplete or unreadable record.
+ *
+ * 	exit code: 0 = nothing was lost, 1 = the log was damaged (the good records were still written), 2 = bad usage
+ */
+public class LogRecoveryTool
+{
+	private static final String RECOVERED_FILE_NAME_SUFFIX = "_recovered";
+
+	// what was found in 1 log
+	public static class RecoveryReport
+	{
+		public String OutputFilePathName;
+		public boolean IsFramed;
+		public int GoodFrameCount;
+		public long RecoveredLogBytes;
+		public long RecoveredRecordCount;
+		public String StopReason;				// null = the log ended cleanly
+		public long StopFileOffset = -1;
+		public boolean IsAtUnwrittenSpace;		// a framed log stopped at a 0 byte where the next frame would start
+		public long BytesAfterStop;				// bytes in the file after the damage that could not be used
+		public long NonZeroBytesAfterStop;		// (unwritten preallocated space is all zeros)
+
+		// false if the log ended cleanly or where nothing more was written (ex: power lost between 2 batches)
+		public boolean IsDamaged()
+		{
+			return StopReason != null && !(IsAtUnwrittenSpace && NonZeroBytesAfterStop == 0);
+		}
+	}
+
+	public static void main(String[] args)
+	{
+		if (args.length < 1 || args.length > 2)
+		{
+			System.err.println("usage: LogRecoveryTool input.tsv|input.tsvf|input.bin|input.z|input.manifest [output]");
+			System.exit(2);
+		}
+
+		try
+		{
+			RecoveryReport report = Recover(args[0], (args.length > 1) ? args[1] : null);
+			PrintReport(args[0], report);
+			System.exit(report.IsDamaged() ? 1 : 0);
+		}
+		catch (IOException e)
+		{
+			System.err.println(args[0] + ": " + e.getMessage());
+			System.exit(2);
+		}
+	}
+
+	// copy every complete record of a log to a new plain log file (null output = default name next to the input)
+	public static RecoveryReport Recover(String inputFilePathName, String outputFilePathName) throws IOException
+	{
+		RecoveryReport report = new RecoveryReport();
+
+		// the device stream is kept so the bytes after the damage can be counted
+		InputStream deviceStream;
+		if (inputFilePathName.endsWith(LogSegmentManifest.FILE_EXTENSION))
+		{
+			deviceStream = LogSegmentManifest.Read(inputFilePathName).OpenInputStream();
+		}
+		else
+		{
+			deviceStream = new FileInputStream(inputFilePathName);
+		}
+		deviceStream = new BufferedInputStream(deviceStream, 64 * 1024);
+
+		try
+		{
+			FramedLogInputStream framedStream = null;
+			InputStream inputStream = deviceStream;
+			if (FramedLogInputStream.IsFramed(inputStream))
+			{
+				framedStream = new FramedLogInputStream(inputStream);
+				inputStream = new BufferedInputStream(framedStream, 64 * 1024);
+			}
+			if (CompressedLogInputStream.IsCompressed(inputStream))
+			{
+				inputStream = new BufferedInputStream(new CompressedLogInputStream(inputStream), 64 * 1024);
+			}
+
+			boolean isBinary = LogFileConverter.IsBinaryLog(inputStream);
+			if (outputFilePathName == null)
+			{
+				outputFilePathName = BuildOutputFilePathName(inputFilePathName, isBinary ? ".bin" : TsvLogEncoder.FILE_EXTENSION);
+			}
+			report.OutputFilePathName = outputFilePathName;
+
+			if (isBinary)
+			{
+				recoverBinary(inputStream, outputFilePathName, report);
+			}
+			else
+			{
+				recoverTSV(inputStream, outputFilePathName, report);
+			}
+
+			if (framedStream != null)
+			{
+				report.IsFramed = true;
+				report.GoodFrameCount = framedStream.GetFrameCount();
+				report.RecoveredLogBytes = framedStream.GetPayloadBytesRead();
+				if (framedStream.IsTorn())
+				{
+					// the frame check is the real cause when the decoder also ran out in the middle of a record
+					report.StopReason = framedStream.GetStopReason();
+					report.StopFileOffset = framedStream.GetStopFileOffset();
+					report.IsAtUnwrittenSpace = framedStream.IsAtUnwrittenSpace();
+				}
+			}
+
+			if (report.StopReason != null)
+			{
+				countBytesAfterStop(deviceStream, report);
+			}
+		}
+		finally
+		{
+			deviceStream.close();
+		}
+
+		return report;
+	}
+
+	public static void PrintReport(String inputFilePathName, RecoveryReport report)
+	{
+		System.out.println(inputFilePathName);
+		if (report.IsFramed)
+		{
+			System.out.println("  good frames:        " + report.GoodFrameCount + " (" + report.RecoveredLogBytes + " log bytes)");
+		}
+		else
+		{
+			System.out.println("  not framed, records were checked 1 by 1");
+		}
+		System.out.println("  records recovered:  " + report.RecoveredRecordCount + " -> " + report.OutputFilePathName);
+
+		if (report.StopReason == null)
+		{
+			System.out.println("  the log ended cleanly");
+		}
+		else if (!report.IsDamaged())
+		{
+			System.out.println("  the log ended at unwritten space (" + report.BytesAfterStop + " zero bytes), nothing was lost");
+		}
+		else
+		{
+			System.out.println("  DAMAGED: " + report.StopReason
+								+ ((report.StopFileOffset >= 0) ? " at file offset " + report.StopFileOffset : "")
+								+ ((report.BytesAfterStop > 0) ? ", " + report.BytesAfterStop + " bytes after it ("
+																	+ report.NonZeroBytesAfterStop + " non zero) could not be used" : ""));
+		}
+	}
+
+	// ex: 20161018_143000_123_telop.tsvf -> 20161018_143000_123_telop_recovered.tsv
+	public static String BuildOutputFilePathName(String inputFilePathName, String fileExtension)
+	{
+		String baseFilePathName = inputFilePathName;
+		if (baseFilePathName.endsWith(CompressedLogOutput.FILE_EXTENSION))
+		{
+			baseFilePathName = baseFilePathName.substring(0, baseFilePathName.length() - CompressedLogOutput.FILE_EXTENSION.length());
+		}
+		return LogFileConverter.ReplaceExtension(baseFilePathName, RECOVERED_FILE_NAME_SUFFIX + fileExtension);
+	}
+
+	// re-encode every record the reader can decode (delta entries are written back out as full records)
+	private static void recoverBinary(InputStream inputStream, String outputFilePathName, RecoveryReport report) throws IOException
+	{
+		BinaryLogReader reader = new BinaryLogReader(inputStream);
+		LogRecord record = new LogRecord(reader.GetSchema().GetColumnCount());
+
+		LogBatchWriter writer = new LogBatchWriter(new BinaryLogEncoder(), new FileLogOutput(outputFilePathName, false), 256 * 1024);
+		try
+		{
+			writer.WriteHeader(reader.GetSchema());
+			while (true)
+			{
+				try
+				{
+					if (!reader.ReadRecord(record))
+					{
+						break;
+					}
+				}
+				catch (IOException e)
+				{
+					// only possible in an unframed log, framed logs stop before the bad bytes
+					report.StopReason = e.getMessage();
+					break;
+				}
+				writer.WriteRecord(record);
+			}
+		}
+		finally
+		{
+			writer.Close();
+		}
+
+		report.RecoveredRecordCount = reader.GetRecordCount();
+	}
+
+	// copy the header & every line that ends with a line break and has 1 value per column
+	private static void recoverTSV(InputStream inputStream, String outputFilePathName, RecoveryReport report) throws IOException
+	{
+		OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(outputFilePathName), 64 * 1024);
+		try
+		{
+			LineReader lineReader = new LineReader(inputStream);
+			if (!lineReader.ReadLine())
+			{
+				report.StopReason = "no complete header line";
+				return;
+			}
+			int tabCount = lineReader.CountTabs();
+			lineReader.WriteLine(outputStream);
+
+			while (lineReader.ReadLine())
+			{
+				if (lineReader.CountTabs() != tabCount)
+				{
+					report.StopReason = "bad line after record " + report.RecoveredRecordCount;
+					return;
+				}
+				lineReader.WriteLine(outputStream);
+				report.RecoveredRecordCount++;
+			}
+
+			if (lineReader.GetPartialLength() > 0)
+			{
+				report.StopReason = "incomplete line after record " + report.RecoveredRecordCount;
+			}
+		}
+		finally
+		{
+			outputStream.close();
+		}
+	}
+
+	// reads '\n' terminated lines as raw bytes, a last line without its line break is never returned
+	private static class LineReader
+	{
+		private final InputStream _inputStream;
+		private byte[] _line = new byte[4096];
+		private int _lineLength;
+		private boolean _isEndOfData;
+
+		LineReader(InputStream inputStream)
+		{
+			_inputStream = inputStream;
+		}
+
+		// read the next complete line (without its line break), returns false at the end of the data
+		boolean ReadLine() throws IOException
+		{
+			_lineLength = 0;
+			while (!_isEndOfData)
+			{
+				int b = _inputStream.read();
+				if (b < 0)
+				{
+					_isEndOfData = true;
+				}
+				else if (b == '\n')
+				{
+					return true;
+				}
+				else
+				{
+					if (_lineLength == _line.length)
+					{
+						_line = Arrays.copyOf(_line, _lineLength * 2);
+					}
+					_line[_lineLength++] = (byte)b;
+				}
+			}
+			return false;
+		}
+
+		// # of bytes of the unterminated line left at the end of the data
+		int GetPartialLength()
+		{
+			return _isEndOfData ? _lineLength : 0;
+		}
+
+		int CountTabs()
+		{
+			int tabCount = 0;
+			for (int index = 0; index < _lineLength; index++)
+			{
+				if (_line[index] == '\t')
+				{
+					tabCount++;
+				}
+			}
+			return tabCount;
+		}
+
+		void WriteLine(OutputStream outputStream) throws IOException
+		{
+			outputStream.write(_line, 0, _lineLength);
+			outputStream.write('\n');
+		}
+	}
+
+	// read what is left of the file after the damage
+	private static void countBytesAfterStop(InputStream deviceStream, RecoveryReport report) throws IOException
+	{
+		byte[] chunk = new byte[64 * 1024];
+		int bytesRead;
+		while ((bytesRead = deviceStream.read(chunk)) > 0)
+		{
+			report.BytesAfterStop += bytesRead;
+			for (int index = 0; index < bytesRead; index++)
+			{
+				if (chunk[index] != 0)
+				{
+					report.NonZeroBytesAfterStop++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,742 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.usfirst.frc.team4028.robot.RobotData.InputData;
+
+import edu.wpi.first.wpilibj.CANTalon.TalonControlMode;
+import edu.wpi.first.wpilibj.DoubleSolenoid.Value;
+
+/**
+ * This is a command line tool (run on a laptop) that replays a recorded log through the ControlLogic
+ *
+ * 	usage:	java -cp FRCUserProgram.jar org.usfirst.frc.team4028.robot.LogReplayEngine log.tsv|log.tsvf|log.bin|log.z|log.manifest
+ * 					[--mode auton|telop] [--zeroed true|false] [--tolerance 0.00001] [--verbose]
+ *
+ * 	Each logged scan's InputData is loaded back into RobotData, the same decision code the robot ran
+ * 	(autonomousPeriodic / teleopPeriodic / AimAndShoot, see ControlLogic) is called and the OutputData it calculates
+ * 	is compared to the OutputData in the log. There is no robot, no driver station and no waiting between scans,
+ * 	so a whole match replays in well under a second and the CPU time of each scan is measured.
+ *
+ * 	How the devices are replayed:
+ * 		clock				the logged FPGA time of each scan (a sleep or a busy wait inside a scan moves it forward)
+ * 		axis positions		the logged encoder positions & limit switches, the closed loop error is always 0 (it is not logged)
+ * 		vision				the logged vision values of each scan
+ * 		solenoids, camera	ignored (the logged OutputData is what we compare)
+ *
+ * 	The mode defaults to the log file suffix (_auton / _telop). Auton starts with the axes NOT zeroed, telop starts with them zeroed
+ * 	(the normal match sequence), use --zeroed to override. The blocking zero routines only finish in a replay if the
+ * 	logged switches already show the axis at home, so replay a log from the match sequence it was recorded in.
+ *
+ * 	The exit code is 0 when every scan matches, 1 when there are differences
+ */
+public class LogReplayEngine
+{
+	public enum Replay_Mode
+	{
+		AUTON,
+		TELOP
+	}
+
+	private static final double DEFAULT_TOLERANCE = 0.00001;		// TSV logs only keep 6 digits after the decimal point (inputs & outputs are both rounded)
+	private static final int MAX_VERBOSE_MISMATCHES = 50;
+
+	// after this many clock reads inside 1 scan the replay clock moves forward 1 mSec per read (so busy waits time out)
+	private static final int MAX_CLOCK_READS_PER_SCAN = 1000;
+
+	private final Replay_Mode _replayMode;
+	private final boolean _isAxesZeroed;
+	private final double _tolerance;
+	private final boolean _isVerbose;
+	private final PrintStream _printStream;
+
+	private final LogSchema _schema;
+	private final int _inputFirstColumnIndex;
+	private final int _startDeltaColumnIndex;
+	private int _legacyStartDeltaFileColumnIndex;
+	private final List<Integer> _outputColumnIndexes = new ArrayList<Integer>();
+
+	private final ReplayHardware _hardware = new ReplayHardware();
+	private RobotData _replayData;
+	private ControlLogic _controlLogic;
+
+	// results
+	private long _scanCount;
+	private long _mismatchedScanCount;
+	private long[] _columnMismatchCounts;
+	private long[] _columnFirstMismatchScan;
+	private long _verboseMismatchCount;
+	private long _totalScanNanoSecs;
+	private long _maxScanNanoSecs;
+	private long _replayNanoSecs;
+
+	// constructor
+	public LogReplayEngine(Replay_Mode replayMode, boolean isAxesZeroed, double tolerance, boolean isVerbose, PrintStream printStream)
+	{
+		_replayMode = replayMode;
+		_isAxesZeroed = isAxesZeroed;
+		_tolerance = tolerance;
+		_isVerbose = isVerbose;
+		_printStream = printStream;
+
+		_schema = DataLogger.BuildLogSchema(new RobotData());
+		_inputFirstColumnIndex = _schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+		_startDeltaColumnIndex = _schema.GetColumnIndex(DataLogger.START_DELTA_COLUMN_NAME);
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		String logFilePathName = null;
+		Replay_Mode replayMode = null;
+		Boolean isAxesZeroed = null;
+		double tolerance = DEFAULT_TOLERANCE;
+		boolean isVerbose = false;
+
+		try
+		{
+			for (int argIndex = 0; argIndex < args.length; argIndex++)
+			{
+				if (args[argIndex].equals("--mode"))
+				{
+					replayMode = Replay_Mode.valueOf(args[++argIndex].toUpperCase());
+				}
+				else if (args[argIndex].equals("--zeroed"))
+				{
+					isAxesZeroed = Boolean.parseBoolean(args[++argIndex]);
+				}
+				else if (args[argIndex].equals("--tolerance"))
+				{
+					tolerance = Double.parseDouble(args[++argIndex]);
+				}
+				else if (args[argIndex].equals("--verbose"))
+				{
+					isVerbose = true;
+				}
+				else if (logFilePathName == null && !args[argIndex].startsWith("--"))
+				{
+					logFilePathName = args[argIndex];
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown option " + args[argIndex]);
+				}
+			}
+			if (logFilePathName == null)
+			{
+				throw new IllegalArgumentException("No log file");
+			}
+			if (replayMode == null)
+			{
+				replayMode = GetReplayModeFromFileName(logFilePathName);
+			}
+			if (replayMode == null)
+			{
+				throw new IllegalArgumentException("Can not tell the mode from the file name, use --mode auton|telop");
+			}
+		}
+		catch (RuntimeException e)
+		{
+			System.err.println(e.getMessage());
+			System.err.println("usage: LogReplayEngine log.tsv|log.tsvf|log.bin|log.z|log.manifest [--mode auton|telop] [--zeroed true|false] [--tolerance x] [--verbose]");
+			System.exit(2);
+			return;
+		}
+
+		boolean isZeroed = (isAxesZeroed != null) ? isAxesZeroed : (replayMode == Replay_Mode.TELOP);
+		LogReplayEngine replayEngine = new LogReplayEngine(replayMode, isZeroed, tolerance, isVerbose, System.out);
+
+		replayEngine.Replay(logFilePathName);
+		replayEngine.PrintReport();
+
+		System.exit((replayEngine.GetMismatchedScanCount() == 0) ? 0 : 1);
+	}
+
+	// the mode a log was recorded in, from the file name suffix (see Robot.setupLogging), null if it is not known
+	public static Replay_Mode GetReplayModeFromFileName(String logFilePathName)
+	{
+		String fileName = new File(logFilePathName).getName();
+		if (fileName.contains("_auton"))
+		{
+			return Replay_Mode.AUTON;
+		}
+		else if (fileName.contains("_telop"))
+		{
+			return Replay_Mode.TELOP;
+		}
+		return null;
+	}
+
+	// replay every scan in a log file, returns the # of scans replayed
+	public long Replay(String logFilePathName) throws IOException
+	{
+		InputStream inputStream = LogFileConverter.OpenLogInputStream(logFilePathName);
+		BinaryLogReader binaryReader = null;
+		TsvLogReader tsvReader = null;
+		LogSchema fileSchema;
+
+		if (LogFileConverter.IsBinaryLog(inputStream))
+		{
+			binaryReader = new BinaryLogReader(inputStream);
+			fileSchema = binaryReader.GetSchema();
+		}
+		else
+		{
+			tsvReader = new TsvLogReader(inputStream, _schema);
+			fileSchema = tsvReader.GetSchema();
+		}
+
+		try
+		{
+			int[] columnMap = buildColumnMap(fileSchema);
+
+			LogRecord fileRecord = new LogRecord(fileSchema.GetColumnCount());
+			LogRecord loggedRecord = new LogRecord(_schema.GetColumnCount());
+			LogRecord replayRecord = new LogRecord(_schema.GetColumnCount());
+			initMissingColumns(loggedRecord);
+
+			long replayStartNanoSecs = System.nanoTime();
+			while ((binaryReader != null) ? binaryReader.ReadRecord(fileRecord) : tsvReader.ReadRecord(fileRecord))
+			{
+				mapRecord(fileRecord, columnMap, loggedRecord);
+				replayScan(loggedRecord, replayRecord);
+			}
+			_replayNanoSecs = System.nanoTime() - replayStartNanoSecs;
+		}
+		finally
+		{
+			if (binaryReader != null)
+			{
+				binaryReader.Close();
+			}
+			else
+			{
+				tsvReader.Close();
+			}
+		}
+
+		return _scanCount;
+	}
+
+	public long GetScanCount()
+	{
+		return _scanCount;
+	}
+
+	public long GetMismatchedScanCount()
+	{
+		return _mismatchedScanCount;
+	}
+
+	// write a summary of the replay
+	public void PrintReport()
+	{
+		_printStream.println("Replayed " + _scanCount + " scans (" + _replayMode + ", axes " + (_isAxesZeroed ? "zeroed" : "not zeroed") + ")");
+
+		if (_scanCount > 0)
+		{
+			_printStream.println(String.format("Decision code: %.1f uSec / scan avg, %.1f uSec max, whole replay %.0f scans / sec",
+					_totalScanNanoSecs / 1000.0 / _scanCount,
+					_maxScanNanoSecs / 1000.0,
+					_scanCount / (_replayNanoSecs / 1.0E9)));
+		}
+		_printStream.println("Driver station messages: " + _hardware._messageCount);
+
+		if (_mismatchedScanCount == 0)
+		{
+			_printStream.println("OutputData matches the log on every scan");
+			return;
+		}
+
+		_printStream.println("OutputData differs from the log on " + _mismatchedScanCount + " scans");
+		_printStream.println("column\tmismatched scans\tfirst mismatched scan");
+		for (int outputColumnIndex = 0; outputColumnIndex < _outputColumnIndexes.size(); outputColumnIndex++)
+		{
+			if (_columnMismatchCounts[outputColumnIndex] > 0)
+			{
+				_printStream.println(_schema.GetColumnName(_outputColumnIndexes.get(outputColumnIndex))
+						+ "\t" + _columnMismatchCounts[outputColumnIndex]
+						+ "\t" + _columnFirstMismatchScan[outputColumnIndex]);
+			}
+		}
+	}
+
+	// map each column in the file to the same column in the current schema (by name), -1 if it no longer exists
+	//	only OutputData columns that are in the file are compared
+	private int[] buildColumnMap(LogSchema fileSchema)
+	{
+		int[] columnMap = new int[fileSchema.GetColumnCount()];
+		for (int fileColumnIndex = 0; fileColumnIndex < columnMap.length; fileColumnIndex++)
+		{
+			String columnName = fileSchema.GetColumnName(fileColumnIndex);
+			int columnIndex = _schema.GetColumnIndex(columnName);
+
+			if (columnIndex >= 0 && fileSchema.GetColumnType(fileColumnIndex) != _schema.GetColumnType(columnIndex))
+			{
+				_printStream.println("Skipping column " + columnName + ", its type has changed since the log was recorded");
+				columnIndex = -1;
+			}
+			columnMap[fileColumnIndex] = columnIndex;
+
+			if (columnIndex >= 0 && columnName.startsWith("OutputData:"))
+			{
+				_outputColumnIndexes.add(columnIndex);
+			}
+		}
+
+		if (_isVerbose)
+		{
+			for (int columnIndex = 0; columnIndex < _schema.GetColumnCount(); columnIndex++)
+			{
+				if (fileSchema.GetColumnIndex(_schema.GetColumnName(columnIndex)) < 0)
+				{
+					_printStream.println("Column " + _schema.GetColumnName(columnIndex) + " is not in the log, using its default value");
+				}
+			}
+		}
+
+		_legacyStartDeltaFileColumnIndex = fileSchema.GetColumnIndex(DataLogger.LEGACY_START_DELTA_MS_COLUMN_NAME);
+
+		_columnMismatchCounts = new long[_outputColumnIndexes.size()];
+		_columnFirstMismatchScan = new long[_outputColumnIndexes.size()];
+		return columnMap;
+	}
+
+	// columns that are not in the file keep their default value for the whole replay
+	private void initMissingColumns(LogRecord loggedRecord)
+	{
+		for (int columnIndex = 0; columnIndex < _schema.GetColumnCount(); columnIndex++)
+		{
+			if (_schema.GetColumnType(columnIndex) == LogSchema.Column_Type.DATE)
+			{
+				loggedRecord.Values[columnIndex] = LogRecord.NULL_DATE;
+			}
+		}
+	}
+
+	private void mapRecord(LogRecord fileRecord, int[] columnMap, LogRecord loggedRecord)
+	{
+		for (int fileColumnIndex = 0; fileColumnIndex < columnMap.length; fileColumnIndex++)
+		{
+			int columnIndex = columnMap[fileColumnIndex];
+			if (columnIndex >= 0)
+			{
+				loggedRecord.Values[columnIndex] = fileRecord.Values[fileColumnIndex];
+				loggedRecord.Refs[columnIndex] = fileRecord.Refs[fileColumnIndex];
+			}
+		}
+
+		// older logs have the delta in msecs
+		if (_legacyStartDeltaFileColumnIndex >= 0)
+		{
+			loggedRecord.Values[_startDeltaColumnIndex] = fileRecord.Values[_legacyStartDeltaFileColumnIndex] * 1000;
+		}
+	}
+
+	// run the decision code for 1 logged scan and compare its outputs to the logged outputs
+	private void replayScan(LogRecord loggedRecord, LogRecord replayRecord)
+	{
+		boolean isFirstScan = (_controlLogic == null);
+		if (isFirstScan)
+		{
+			_replayData = new RobotData();
+		}
+
+		InputData inputDataValues = _replayData.InputDataValues;
+		inputDataValues.LoadLogRecord(loggedRecord, _inputFirstColumnIndex);
+
+		if (isFirstScan)
+		{
+			// the mode was entered StartDeltaMicroSecs before the 1st scan was logged
+			long startDeltaMicroSecs = (_startDeltaColumnIndex >= 0) ? loggedRecord.GetLong(_startDeltaColumnIndex) : 0;
+			_hardware.StartScan(inputDataValues, (inputDataValues.FPGATimeMicroSecs - startDeltaMicroSecs) / 1000);
+			initControlLogic();
+		}
+
+		_hardware.StartScan(inputDataValues, inputDataValues.FPGATimeMicroSecs / 1000);
+
+		long scanStartNanoSecs = System.nanoTime();
+		if (_replayMode == Replay_Mode.AUTON)
+		{
+			_controlLogic.AutonomousPeriodic();
+		}
+		else
+		{
+			_controlLogic.TeleopPeriodic();
+		}
+		long scanNanoSecs = System.nanoTime() - scanStartNanoSecs;
+		_controlLogic.RecordStateChanges();
+
+		_totalScanNanoSecs += scanNanoSecs;
+		_maxScanNanoSecs = Math.max(_maxScanNanoSecs, scanNanoSecs);
+
+		// capture the replayed values with the same layout as the logged record (the DataLogger columns are not compared)
+		replayRecord.Reset();
+		for (int columnIndex = 0; columnIndex < _inputFirstColumnIndex; columnIndex++)
+		{
+			replayRecord.PutLong(0);
+		}
+		_replayData.CaptureLogRecord(replayRecord);
+
+		compareOutputs(loggedRecord, replayRecord);
+
+		if (_replayMode == Replay_Mode.TELOP)
+		{
+			_controlLogic.SaveLastScanValues();
+		}
+		_scanCount++;
+	}
+
+	// do what Robot does when the mode is entered (the hardware pushes are not needed)
+	private void initControlLogic()
+	{
+		_controlLogic = new ControlLogic(_hardware);
+		_controlLogic.SetAxesZeroed(_isAxesZeroed);
+
+		// a zeroed axis runs in position mode, otherwise it is still in the %VBus mode set in robotInit
+		TalonControlMode axisControlMode = _isAxesZeroed ? TalonControlMode.Position : TalonControlMode.PercentVbus;
+		_hardware._infeedTiltAxis.changeControlMode(axisControlMode);
+		_hardware._turretAxis.changeControlMode(axisControlMode);
+		_hardware._sliderAxis.changeControlMode(axisControlMode);
+		_hardware._shooterMasterAxis.changeControlMode(TalonControlMode.Speed);
+
+		if (_replayMode == Replay_Mode.AUTON)
+		{
+			_controlLogic.AutonomousInit(_replayData);
+		}
+		else
+		{
+			_controlLogic.TeleopInit(_replayData);
+			_controlLogic.TeleopZeroAxes();
+		}
+	}
+
+	private void compareOutputs(LogRecord loggedRecord, LogRecord replayRecord)
+	{
+		boolean isScanMismatched = false;
+
+		for (int outputColumnIndex = 0; outputColumnIndex < _outputColumnIndexes.size(); outputColumnIndex++)
+		{
+			int columnIndex = _outputColumnIndexes.get(outputColumnIndex);
+			if (isSameValue(columnIndex, loggedRecord, replayRecord))
+			{
+				continue;
+			}
+
+			isScanMismatched = true;
+			if (_columnMismatchCounts[outputColumnIndex]++ == 0)
+			{
+				_columnFirstMismatchScan[outputColumnIndex] = _scanCount;
+			}
+
+			if (_isVerbose && _verboseMismatchCount++ < MAX_VERBOSE_MISMATCHES)
+			{
+				_printStream.println("scan " + _scanCount + "\t" + _schema.GetColumnName(columnIndex)
+						+ "\tlogged: " + formatValue(columnIndex, loggedRecord)
+						+ "\treplayed: " + formatValue(columnIndex, replayRecord));
+			}
+		}
+
+		if (isScanMismatched)
+		{
+			_mismatchedScanCount++;
+		}
+	}
+
+	private boolean isSameValue(int columnIndex, LogRecord loggedRecord, LogRecord replayRecord)
+	{
+		switch (_schema.GetColumnType(columnIndex))
+		{
+			case FLOAT:
+				return isSameDecimal(loggedRecord.GetFloat(columnIndex), replayRecord.GetFloat(columnIndex));
+
+			case DOUBLE:
+				return isSameDecimal(loggedRecord.GetDouble(columnIndex), replayRecord.GetDouble(columnIndex));
+
+			case ENUM:
+			case TEXT:
+				// logged values are read back as Strings
+				Object loggedRef = loggedRecord.GetRef(columnIndex);
+				Object replayRef = replayRecord.GetRef(columnIndex);
+				return (loggedRef == null) ? (replayRef == null) : (replayRef != null && loggedRef.toString().equals(replayRef.toString()));
+
+			default:
+				return loggedRecord.Values[columnIndex] == replayRecord.Values[columnIndex];
+		}
+	}
+
+	private boolean isSameDecimal(double loggedValue, double replayValue)
+	{
+		if (Double.isNaN(loggedValue) || Double.isNaN(replayValue))
+		{
+			return Double.isNaN(loggedValue) && Double.isNaN(replayValue);
+		}
+		return loggedValue == replayValue || Math.abs(loggedValue - replayValue) <= _tolerance;
+	}
+
+	private String formatValue(int columnIndex, LogRecord record)
+	{
+		switch (_schema.GetColumnType(columnIndex))
+		{
+			case BOOLEAN:
+				return Boolean.toString(record.GetBoolean(columnIndex));
+
+			case FLOAT:
+				return Float.toString(record.GetFloat(columnIndex));
+
+			case DOUBLE:
+				return Double.toString(record.GetDouble(columnIndex));
+
+			case ENUM:
+			case TEXT:
+				return String.valueOf(record.GetRef(columnIndex));
+
+			default:
+				return Long.toString(record.GetLong(columnIndex));
+		}
+	}
+
+	// ========================================================================
+	// The devices as seen by the ControlLogic during a replay (values come from the log)
+	// ========================================================================
+	private class ReplayHardware implements ControlHardware
+	{
+		private final ReplayAxis _infeedTiltAxis = new ReplayAxis();
+		private final ReplayAxis _turretAxis = new ReplayAxis();
+		private final ReplayAxis _sliderAxis = new ReplayAxis();
+		private final ReplayAxis _shooterMasterAxis = new ReplayAxis();
+
+		private final VisionData _visionData = new VisionData();
+		private VisionSnapshot _visionSnapshot;
+		private boolean _isTurretHomeLimitSwitchClosed;
+		private boolean _isTurretApproachingHomeLimitSwitchClosed;
+
+		private long _scanTimeMSecs;
+		private long _scanExtraMSecs;
+		private int _scanClockReadCount;
+		private long _messageCount;
+
+		// load the sensor values of the next scan
+		void StartScan(InputData inputDataValues, long scanTimeMSecs)
+		{
+			_scanTimeMSecs = scanTimeMSecs;
+			_scanExtraMSecs = 0;
+			_scanClockReadCount = 0;
+
+			_infeedTiltAxis.LoadPosition(inputDataValues.InfeedTiltEncoderCurrentCount, !inputDataValues.IsInfeedTiltAxisOnUpLimitSwitch, false);
+			_turretAxis.LoadPosition(inputDataValues.TurretEncoderCurrentPosition, false, false);
+			_sliderAxis.LoadPosition(inputDataValues.SliderCurrentPosition, false, !inputDataValues.IsSliderAxisOnHomeLimitSwitch);
+			_isTurretHomeLimitSwitchClosed = inputDataValues.IsTurretHomeLimitSwitchClosed;
+			_isTurretApproachingHomeLimitSwitchClosed = inputDataValues.IsTurretApproachingHomeLimitSwitchClosed;
+
+			// the vision client has no data until the 1st message from the vision PC arrives
+			boolean isVisionDataReceived = inputDataValues.IsValidData || inputDataValues.LastVisionDataRecievedDT != null;
+			_visionData.IsValidData = inputDataValues.IsValidData;
+			_visionData.DistanceToTarget = inputDataValues.DistanceToTarget;
+			_visionData.EffectiveTargetWidth = inputDataValues.EffectiveTargetWidth;
+			_visionData.DesiredSliderPosition = inputDataValues.DesiredSliderPosition;
+			_visionData.DesiredTurretTurnInDegrees = inputDataValues.DesiredTurretTurnInDegrees;
+			_visionData.IsValidShot = inputDataValues.IsValidShot;
+			// (the monotonic receive time is not logged, the replayed control logic does not use it)
+			_visionSnapshot = isVisionDataReceived
+								? new VisionSnapshot(_visionData, 0, (inputDataValues.LastVisionDataRecievedDT != null) ? inputDataValues.LastVisionDataRecievedDT.getTime() : 0)
+								: null;
+		}
+
+		@Override
+		public TalonAxis GetInfeedTiltMtr()
+		{
+			return _infeedTiltAxis;
+		}
+
+		@Override
+		public TalonAxis GetTurretMtr()
+		{
+			return _turretAxis;
+		}
+
+		@Override
+		public TalonAxis GetSliderMtr()
+		{
+			return _sliderAxis;
+		}
+
+		@Override
+		public TalonAxis GetShooterMasterMtr()
+		{
+			return _shooterMasterAxis;
+		}
+
+		@Override
+		public boolean IsTurretHomeLimitSwitchClosed()
+		{
+			return _isTurretHomeLimitSwitchClosed;
+		}
+
+		@Override
+		public boolean IsTurretApproachingHomeLimitSwitchClosed()
+		{
+			return _isTurretApproachingHomeLimitSwitchClosed;
+		}
+
+		// the raw navX acceleration is not logged (it is only used in driver station messages)
+		@Override
+		public double GetRawAccelX()
+		{
+			return 0.0;
+		}
+
+		@Override
+		public double GetRawAccelY()
+		{
+			return 0.0;
+		}
+
+		@Override
+		public VisionSnapshot GetVisionData()
+		{
+			return _visionSnapshot;
+		}
+
+		@Override
+		public void SetPumaBackSolenoid(Value position)
+		{
+		}
+
+		@Override
+		public void SwitchCamera(String cameraName)
+		{
+		}
+
+		@Override
+		public void EnableDriveBrakeMode(boolean isEnabled)
+		{
+		}
+
+		@Override
+		public long GetTimeMSecs()
+		{
+			if (++_scanClockReadCount > MAX_CLOCK_READS_PER_SCAN)
+			{
+				_scanExtraMSecs++;
+			}
+			return _scanTimeMSecs + _scanExtraMSecs;
+		}
+
+		@Override
+		public void Sleep(long msecs)
+		{
+			_scanExtraMSecs += msecs;
+		}
+
+		@Override
+		public void ReportError(String message)
+		{
+			_messageCount++;
+			if (_isVerbose)
+			{
+				_printStream.println("scan " + _scanCount + "\tmsg: " + message);
+			}
+		}
+
+		@Override
+		public void RecordEvent(int eventId, double value, String text)
+		{
+			if (_isVerbose && eventId != LogEventCatalog.DRIVER_STATION_MSG)
+			{
+				_printStream.println("scan " + _scanCount + "\tevent: " + LogEventCatalog.GetEventName(eventId)
+										+ ((text != null) ? " (from " + text + ")" : ""));
+			}
+		}
+	}
+
+	// ========================================================================
+	// A TalonAxis that remembers its control mode & returns the logged position
+	// ========================================================================
+	private static class ReplayAxis implements TalonAxis
+	{
+		private TalonControlMode _controlMode = TalonControlMode.PercentVbus;
+		private double _position;
+		private boolean _isFwdLimitSwitchClosed;
+		private boolean _isRevLimitSwitchClosed;
+
+		void LoadPosition(double position, boolean isFwdLimitSwitchClosed, boolean isRevLimitSwitchClosed)
+		{
+			_position = position;
+			_isFwdLimitSwitchClosed = isFwdLimitSwitchClosed;
+			_isRevLimitSwitchClosed = isRevLimitSwitchClosed;
+		}
+
+		@Override
+		public TalonControlMode getControlMode()
+		{
+			return _controlMode;
+		}
+
+		@Override
+		public void changeControlMode(TalonControlMode controlMode)
+		{
+			_controlMode = controlMode;
+		}
+
+		@Override
+		public void set(double outputValue)
+		{
+		}
+
+		@Override
+		public double getPosition()
+		{
+			return _position;
+		}
+
+		// re-zeroing the encoder changes the position until the next logged scan
+		@Override
+		public void setPosition(double position)
+		{
+			_position = position;
+		}
+
+		@Override
+		public int getClosedLoopError()
+		{
+			return 0;
+		}
+
+		@Override
+		public void setPID(double p, double i, double d, double f, int izone, double closeLoopRampRate, int profile)
+		{
+		}
+
+		@Override
+		public void setProfile(int profile)
+		{
+		}
+
+		@Override
+		public void setCloseLoopRampRate(double rampRate)
+		{
+		}
+
+		@Override
+		public void setVoltageRampRate(double rampRate)
+		{
+		}
+
+		@Override
+		public boolean isFwdLimitSwitchClosed()
+		{
+			return _isFwdLimitSwitchClosed;
+		}
+
+		@Override
+		public boolean isRevLimitSwitchClosed()
+		{
+			return _isRevLimitSwitchClosed;
+		}
+	}
+}
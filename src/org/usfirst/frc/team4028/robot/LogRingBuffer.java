@@ -0,0 +1,173 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a bounded, preallocated single-producer / single-consumer ring buffer of LogRecords
+ *
+ * 	Producer	(main robot thread) 	TryClaim() -> fill record -> Publish()
+ * 	Consumer	(log writer thread)		GetAvailableCount() -> Peek(n) -> Release(count)
+ *
+ * The producer never blocks, if the buffer is full the record is dropped and counted.
+ * No locks are used, each side only writes its own sequence counter.
+ *
+ * A buffer can also drop its oldest record instead (ClaimOverwritingOldest), the consumer must then use TryTake:
+ * 	the producer takes a slot back with a compare & set on the consumer's sequence before it writes it,
+ * 	so a copy the consumer made of a slot that was taken back is thrown away, never returned half written.
+ */
+public class LogRingBuffer
+{
+	private final LogRecord[] _slots;
+	private final int _mask;
+
+	// sequence of the next slot the producer will publish (only written by the producer)
+	private final AtomicLong _head = new AtomicLong(0);
+	// sequence of the next slot the consumer will read (only written by the consumer)
+	private final AtomicLong _tail = new AtomicLong(0);
+
+	// producer side working values
+	private long _producerHead;
+	private long _cachedTail;
+
+	// counters (written by the producer, read by anyone)
+	private final AtomicLong _droppedRecordCount = new AtomicLong(0);
+	private volatile int _highWaterMark;
+
+	// constructor, capacity must be a power of 2
+	public LogRingBuffer(int capacity, int columnCount)
+	{
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+		{
+			throw new IllegalArgumentException("Ring buffer capacity must be a power of 2: " + capacity);
+		}
+
+		_slots = new LogRecord[capacity];
+		for (int slotIndex = 0; slotIndex < capacity; slotIndex++)
+		{
+			_slots[slotIndex] = new LogRecord(columnCount);
+		}
+		_mask = capacity - 1;
+	}
+
+	public int GetCapacity()
+	{
+		return _slots.length;
+	}
+
+	// =====================================
+	// Producer side
+	// =====================================
+
+	// returns the next free record or null (and counts a drop) if the consumer has fallen a full buffer behind
+	public LogRecord TryClaim()
+	{
+		if (_producerHead - _cachedTail >= _slots.length)
+		{
+			_cachedTail = _tail.get();
+			if (_producerHead - _cachedTail >= _slots.length)
+			{
+				_droppedRecordCount.lazySet(_droppedRecordCount.get() + 1);
+				return null;
+			}
+		}
+
+		LogRecord record = _slots[(int)_producerHead & _mask];
+		record.Reset();
+		return record;
+	}
+
+	// returns the next free record, if the consumer has fallen a full buffer behind its oldest record is dropped (and counted)
+	public LogRecord ClaimOverwritingOldest()
+	{
+		long tail = _tail.get();
+		while (_producerHead - tail >= _slots.length)
+		{
+			if (_tail.compareAndSet(tail, tail + 1))
+			{
+				_droppedRecordCount.lazySet(_droppedRecordCount.get() + 1);
+			}
+			tail = _tail.get();
+		}
+		_cachedTail = tail;
+
+		LogRecord record = _slots[(int)_producerHead & _mask];
+		record.Reset();
+		return record;
+	}
+
+	// true if TryClaim would return a record right now (a full buffer is not counted as a drop)
+	public boolean HasRoom()
+	{
+		_cachedTail = _tail.get();
+		return _producerHead - _cachedTail < _slots.length;
+	}
+
+	// make the last claimed record visible to the consumer
+	public void Publish()
+	{
+		_producerHead++;
+		_head.lazySet(_producerHead);
+
+		int depth = (int)(_producerHead - _tail.get());
+		if (depth > _highWaterMark)
+		{
+			_highWaterMark = depth;
+		}
+	}
+
+	// =====================================
+	// Consumer side
+	// =====================================
+
+	// number of published records not yet released
+	public int GetAvailableCount()
+	{
+		return (int)(_head.get() - _tail.get());
+	}
+
+	// get the record "offset" slots past the consumer's current position
+	public LogRecord Peek(int offset)
+	{
+		return _slots[(int)(_tail.get() + offset) & _mask];
+	}
+
+	// give "count" records back to the producer
+	public void Release(int count)
+	{
+		_tail.lazySet(_tail.get() + count);
+	}
+
+	// copy the oldest published record into target & give its slot back, returns false if there is none
+	//	(the only consumer method that is safe with ClaimOverwritingOldest)
+	public boolean TryTake(LogRecord target)
+	{
+		while (true)
+		{
+			long tail = _tail.get();
+			if (_head.get() == tail)
+			{
+				return false;
+			}
+
+			target.CopyFrom(_slots[(int)tail & _mask]);
+			if (_tail.compareAndSet(tail, tail + 1))
+			{
+				return true;
+			}
+			// the producer took the slot back while it was copied, try the next oldest
+		}
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetDroppedRecordCount()
+	{
+		return _droppedRecordCount.get();
+	}
+
+	public int GetHighWaterMark()
+	{
+		return _highWaterMark;
+	}
+}
@@ -0,0 +1,179 @@
+package org.usfirst.frc.team4028.robot;
+
+import org.usfirst.frc.team4028.robot.LogSamplingPolicy.Sample_Mode;
+
+/**
+ * This class applies a LogSamplingPolicy to the records written to a log
+ *
+ * 	It decides, record by record, which columns are written. The encoders leave the other columns out
+ * 	(TSV writes an empty value, the binary delta format leaves them out of the changed mask) and readers
+ * 	hold the last value written, so slow or unchanged columns cost almost nothing.
+ *
+ * 	Every fullRecordInterval records every column is written, so a reader can start at that record (see LogIndexWriter).
+ *
+ * 	Only used on the log writer thread.
+ */
+public class LogSampler
+{
+	private static final long NEVER_SAMPLED = Long.MIN_VALUE;
+
+	private final int _columnCount;
+	private final int _timestampColumnIndex;
+	private final int _fullRecordInterval;
+
+	// per column
+	private final Sample_Mode[] _columnSampleModes;
+	private final int[] _columnStreamIndexes;
+	private final boolean[] _isRefColumn;
+	private final boolean[] _isColumnSampled;
+	private final long[] _lastValues;
+	private final Object[] _lastRefs;
+
+	// per stream (1 per policy rule)
+	private final long[] _streamPeriodMicroSecs;
+	private final long[] _streamLastSampleMicroSecs;
+	private final boolean[] _isStreamDue;
+
+	private long _recordCount;
+	private boolean _isFullRecord;
+
+	private long _sampledValueCount;
+	private long _totalValueCount;
+
+	// constructor
+	public LogSampler(LogSchema schema, LogSamplingPolicy policy, int fullRecordInterval)
+	{
+		_columnCount = schema.GetColumnCount();
+		_timestampColumnIndex = schema.GetColumnIndex(LogSchema.TIMESTAMP_COLUMN_NAME);
+		_fullRecordInterval = fullRecordInterval;
+
+		_columnSampleModes = new Sample_Mode[_columnCount];
+		_columnStreamIndexes = new int[_columnCount];
+		_isRefColumn = new boolean[_columnCount];
+		_isColumnSampled = new boolean[_columnCount];
+		_lastValues = new long[_columnCount];
+		_lastRefs = new Object[_columnCount];
+
+		int streamCount = policy.GetRuleCount();
+		_streamPeriodMicroSecs = new long[streamCount];
+		_streamLastSampleMicroSecs = new long[streamCount];
+		_isStreamDue = new boolean[streamCount];
+		for (int streamIndex = 0; streamIndex < streamCount; streamIndex++)
+		{
+			_streamPeriodMicroSecs[streamIndex] = policy.GetRulePeriodMSecs(streamIndex) * 1000L;
+			_streamLastSampleMicroSecs[streamIndex] = NEVER_SAMPLED;
+		}
+
+		for (int columnIndex = 0; columnIndex < _columnCount; columnIndex++)
+		{
+			int streamIndex = (columnIndex == _timestampColumnIndex) ? -1 : policy.FindRuleIndex(schema.GetColumnName(columnIndex));
+			Sample_Mode sampleMode = (streamIndex >= 0) ? policy.GetRuleSampleMode(streamIndex) : Sample_Mode.EVERY_SCAN;
+
+			// periodic sampling needs the FPGA time of each record
+			if (sampleMode == Sample_Mode.PERIODIC && _timestampColumnIndex < 0)
+			{
+				sampleMode = Sample_Mode.EVERY_SCAN;
+			}
+
+			_columnSampleModes[columnIndex] = sampleMode;
+			_columnStreamIndexes[columnIndex] = streamIndex;
+
+			LogSchema.Column_Type columnType = schema.GetColumnType(columnIndex);
+			_isRefColumn[columnIndex] = (columnType == LogSchema.Column_Type.ENUM || columnType == LogSchema.Column_Type.TEXT);
+		}
+	}
+
+	// decide which columns of this record are written (call 1 time per record, before it is encoded)
+	public void SampleRecord(LogRecord record)
+	{
+		_isFullRecord = IsNextRecordFull();
+		_recordCount++;
+
+		long fpgaTimeMicroSecs = (_timestampColumnIndex >= 0) ? record.GetLong(_timestampColumnIndex) : 0;
+
+		// a periodic stream is due when its period has passed since its last sample
+		for (int streamIndex = 0; streamIndex < _isStreamDue.length; streamIndex++)
+		{
+			long lastSampleMicroSecs = _streamLastSampleMicroSecs[streamIndex];
+			_isStreamDue[streamIndex] = _isFullRecord
+										|| lastSampleMicroSecs == NEVER_SAMPLED
+										|| fpgaTimeMicroSecs - lastSampleMicroSecs >= _streamPeriodMicroSecs[streamIndex];
+			if (_isStreamDue[streamIndex])
+			{
+				_streamLastSampleMicroSecs[streamIndex] = fpgaTimeMicroSecs;
+			}
+		}
+
+		for (int columnIndex = 0; columnIndex < _columnCount; columnIndex++)
+		{
+			boolean isSampled;
+			switch (_columnSampleModes[columnIndex])
+			{
+				case PERIODIC:
+					isSampled = _isStreamDue[_columnStreamIndexes[columnIndex]];
+					break;
+
+				case ON_CHANGE:
+					isSampled = _isFullRecord || isChanged(record, columnIndex);
+					break;
+
+				case EVERY_SCAN:
+				default:
+					isSampled = true;
+					break;
+			}
+
+			_isColumnSampled[columnIndex] = isSampled;
+			if (isSampled)
+			{
+				_lastValues[columnIndex] = record.Values[columnIndex];
+				_lastRefs[columnIndex] = record.Refs[columnIndex];
+				_sampledValueCount++;
+			}
+		}
+		_totalValueCount += _columnCount;
+	}
+
+	// true if the column is written in the current record
+	public boolean IsColumnSampled(int columnIndex)
+	{
+		return _isColumnSampled[columnIndex];
+	}
+
+	// true if every column is written in the current record
+	public boolean IsFullRecord()
+	{
+		return _isFullRecord;
+	}
+
+	// true if every column will be written in the next record
+	public boolean IsNextRecordFull()
+	{
+		return _recordCount == 0 || (_fullRecordInterval > 0 && _recordCount % _fullRecordInterval == 0);
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetSampledValueCount()
+	{
+		return _sampledValueCount;
+	}
+
+	public long GetTotalValueCount()
+	{
+		return _totalValueCount;
+	}
+
+	// true if the value is different from the last value written
+	private boolean isChanged(LogRecord record, int columnIndex)
+	{
+		if (_isRefColumn[columnIndex])
+		{
+			Object ref = record.Refs[columnIndex];
+			Object lastRef = _lastRefs[columnIndex];
+			return (ref == null) ? lastRef != null : !ref.equals(lastRef);
+		}
+		return record.Values[columnIndex] != _lastValues[columnIndex];
+	}
+}
@@ -0,0 +1,94 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.util.ArrayList;
+
+/**
+ * This class declares how often each log column is sampled
+ *
+ * 	Rules are matched against column names in the order they were added, the 1st match wins.
+ * 	A pattern is either a full column name (ex: "InputData:ShooterCurrentBusVoltage") or a
+ * 	prefix ending in '*' for a group of columns (ex: "InputData:Auton*").
+ * 	Columns that do not match any rule (and the timestamp column) are sampled every scan.
+ *
+ * 	Each rule is one stream of the log: its columns are sampled together, at the rule's own rate.
+ */
+public class LogSamplingPolicy
+{
+	// define the different ways a column can be sampled
+	public enum Sample_Mode
+	{
+		EVERY_SCAN,
+		PERIODIC,		// every N msecs of FPGA time (the newest value at that time)
+		ON_CHANGE		// only when the value is different from the last value written (nothing is lost)
+	}
+
+	private static final String GROUP_WILDCARD = "*";
+
+	private final ArrayList<String> _patterns = new ArrayList<String>();
+	private final ArrayList<Sample_Mode> _sampleModes = new ArrayList<Sample_Mode>();
+	private final ArrayList<Integer> _periodMSecs = new ArrayList<Integer>();
+
+	// =====================================
+	// Declare rules
+	// =====================================
+	public void EveryScan(String columnPattern)
+	{
+		addRule(columnPattern, Sample_Mode.EVERY_SCAN, 0);
+	}
+
+	public void Periodic(String columnPattern, int periodMSecs)
+	{
+		addRule(columnPattern, Sample_Mode.PERIODIC, periodMSecs);
+	}
+
+	public void OnChange(String columnPattern)
+	{
+		addRule(columnPattern, Sample_Mode.ON_CHANGE, 0);
+	}
+
+	// =====================================
+	// Look up rules
+	// =====================================
+	public int GetRuleCount()
+	{
+		return _patterns.size();
+	}
+
+	public String GetRulePattern(int ruleIndex)
+	{
+		return _patterns.get(ruleIndex);
+	}
+
+	public Sample_Mode GetRuleSampleMode(int ruleIndex)
+	{
+		return _sampleModes.get(ruleIndex);
+	}
+
+	public int GetRulePeriodMSecs(int ruleIndex)
+	{
+		return _periodMSecs.get(ruleIndex);
+	}
+
+	// find the 1st rule that matches a column, returns -1 if none do
+	public int FindRuleIndex(String columnName)
+	{
+		for (int ruleIndex = 0; ruleIndex < _patterns.size(); ruleIndex++)
+		{
+			String pattern = _patterns.get(ruleIndex);
+			if (pattern.endsWith(GROUP_WILDCARD)
+					? columnName.startsWith(pattern.substring(0, pattern.length() - GROUP_WILDCARD.length()))
+					: columnName.equals(pattern))
+			{
+				return ruleIndex;
+			}
+		}
+		return -1;
+	}
+
+	private void addRule(String columnPattern, Sample_Mode sampleMode, int periodMSecs)
+	{
+		_patterns.add(columnPattern);
+		_sampleModes.add(sampleMode);
+		_periodMSecs.add(periodMSecs);
+	}
+}
@@ -0,0 +1,77 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.util.ArrayList;
+
+/**
+ * This class describes the columns (name & type) of a log record
+ *
+ * It is built one time when logging starts and is then used by the background
+ * 	log writer to know how to format each value held in a LogRecord
+ */
+public class LogSchema
+{
+	// define the different kinds of values a column can hold
+	public enum Column_Type
+	{
+		BOOLEAN,
+		INT,
+		LONG,
+		FLOAT,
+		DOUBLE,
+		ENUM,		// reference to an enum constant (null allowed)
+		TEXT,		// reference to an immutable String (null allowed)
+		DATE		// java.util.Date stored as epoch millisecs
+	}
+
+	// column used to index log files by time
+	public static final String TIMESTAMP_COLUMN_NAME = "InputData:FPGATimeMicroSecs";
+
+	private final ArrayList<String> _columnNames = new ArrayList<String>();
+	private final ArrayList<Column_Type> _columnTypes = new ArrayList<Column_Type>();
+
+	// add a new column to the end of the schema
+	public void AddColumn(String columnName, Column_Type columnType)
+	{
+		_columnNames.add(columnName);
+		_columnTypes.add(columnType);
+	}
+
+	public int GetColumnCount()
+	{
+		return _columnNames.size();
+	}
+
+	public String GetColumnName(int columnIndex)
+	{
+		return _columnNames.get(columnIndex);
+	}
+
+	public Column_Type GetColumnType(int columnIndex)
+	{
+		return _columnTypes.get(columnIndex);
+	}
+
+	// find a column by name, returns -1 if it is not in the schema
+	public int GetColumnIndex(String columnName)
+	{
+		return _columnNames.indexOf(columnName);
+	}
+
+	// build a TSV (Tab Separated Value) string for the header
+	public String BuildTSVHeader()
+	{
+		StringBuilder sb = new StringBuilder();
+
+		for (int columnIndex = 0; columnIndex < _columnNames.size(); columnIndex++)
+		{
+			if (columnIndex > 0)
+			{
+				sb.append('\t');
+			}
+			sb.append(_columnNames.get(columnIndex));
+		}
+		sb.append('\n');
+
+		return sb.toString();
+	}
+}
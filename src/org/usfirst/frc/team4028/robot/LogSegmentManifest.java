@@ -0,0 +1,302 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads & writes the manifest that lists the segment files of one log
+ *
+ * 	The manifest is a small text file next to the segments (ex: 20161018_143000_123_auton.manifest)
+ * 	Segment 0 uses the log file name as is, later segments add _001, _002, ... before the extension
+ *
+ * 	Manifest lines:		<segment file name> TAB <# of bytes used>
+ * 	A segment is listed with a length of -1 when it is opened and listed again with its real length when it is closed,
+ * 	the last line for a segment wins. If the robot lost power before a segment was closed
+ * 	the preallocated (zero filled) tail of that segment is trimmed off when it is read.
+ */
+public class LogSegmentManifest
+{
+	public static final String FILE_EXTENSION = ".manifest";
+	public static final long UNKNOWN_LENGTH = -1;
+
+	private static final String COMMENT_PREFIX = "#";
+	private static final int TRIM_CHUNK_SIZE = 64 * 1024;
+
+	private final List<String> _segmentFilePathNames = new ArrayList<String>();
+	private final List<Long> _segmentLengths = new ArrayList<Long>();
+
+	// build the manifest file path name for a log file
+	public static String BuildManifestFilePathName(String logFilePathName)
+	{
+		return LogFileConverter.ReplaceExtension(logFilePathName, FILE_EXTENSION);
+	}
+
+	// build the file path name of a segment (segment 0 is the log file itself)
+	public static String BuildSegmentFilePathName(String logFilePathName, int segmentIndex)
+	{
+		if (segmentIndex == 0)
+		{
+			return logFilePathName;
+		}
+
+		int dotIndex = logFilePathName.lastIndexOf('.');
+		int separatorIndex = Math.max(logFilePathName.lastIndexOf('/'), logFilePathName.lastIndexOf('\\'));
+		String segmentSuffix = String.format("_%03d", segmentIndex);
+
+		if (dotIndex > separatorIndex)
+		{
+			return logFilePathName.substring(0, dotIndex) + segmentSuffix + logFilePathName.substring(dotIndex);
+		}
+		return logFilePathName + segmentSuffix;
+	}
+
+	// add a line to the manifest (creates the manifest when the 1st segment is opened)
+	public static void AppendSegment(String manifestFilePathName, String segmentFilePathName, long usedLength) throws IOException
+	{
+		boolean isNewManifest = !new File(manifestFilePathName).exists();
+
+		FileWriter writer = new FileWriter(manifestFilePathName, true);
+		try
+		{
+			if (isNewManifest)
+			{
+				writer.write(COMMENT_PREFIX + " segment file\tbytes used\n");
+			}
+			writer.write(new File(segmentFilePathName).getName() + "\t" + usedLength + "\n");
+		}
+		finally
+		{
+			writer.close();
+		}
+	}
+
+	// read a manifest
+	public static LogSegmentManifest Read(String manifestFilePathName) throws IOException
+	{
+		LogSegmentManifest manifest = new LogSegmentManifest();
+		File parentFolder = new File(manifestFilePathName).getAbsoluteFile().getParentFile();
+
+		BufferedReader reader = new BufferedReader(new FileReader(manifestFilePathName));
+		try
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.isEmpty() || line.startsWith(COMMENT_PREFIX))
+				{
+					continue;
+				}
+
+				String[] fields = line.split("\t");
+				if (fields.length != 2)
+				{
+					throw new IOException("Bad segment manifest line: " + line);
+				}
+
+				String segmentFilePathName = new File(parentFolder, fields[0]).getPath();
+				long usedLength = Long.parseLong(fields[1].trim());
+
+				int segmentIndex = manifest._segmentFilePathNames.indexOf(segmentFilePathName);
+				if (segmentIndex < 0)
+				{
+					manifest._segmentFilePathNames.add(segmentFilePathName);
+					manifest._segmentLengths.add(usedLength);
+				}
+				else
+				{
+					manifest._segmentLengths.set(segmentIndex, usedLength);
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+
+		// segments that were never closed
+		for (int segmentIndex = 0; segmentIndex < manifest._segmentLengths.size(); segmentIndex++)
+		{
+			if (manifest._segmentLengths.get(segmentIndex) == UNKNOWN_LENGTH)
+			{
+				manifest._segmentLengths.set(segmentIndex, findUsedLength(manifest._segmentFilePathNames.get(segmentIndex)));
+			}
+		}
+
+		return manifest;
+	}
+
+	public int GetSegmentCount()
+	{
+		return _segmentFilePathNames.size();
+	}
+
+	public String GetSegmentFilePathName(int segmentIndex)
+	{
+		return _segmentFilePathNames.get(segmentIndex);
+	}
+
+	public long GetSegmentLength(int segmentIndex)
+	{
+		return _segmentLengths.get(segmentIndex);
+	}
+
+	// open all of the segments (in order) as one continuous stream
+	public InputStream OpenInputStream() throws IOException
+	{
+		return new SegmentedInputStream();
+	}
+
+	// find the end of the data in a segment that was not closed (the preallocated tail is all zeros)
+	private static long findUsedLength(String segmentFilePathName) throws IOException
+	{
+		RandomAccessFile segmentFile = new RandomAccessFile(segmentFilePathName, "r");
+		try
+		{
+			byte[] chunk = new byte[TRIM_CHUNK_SIZE];
+			long chunkEnd = segmentFile.length();
+
+			while (chunkEnd > 0)
+			{
+				int chunkLength = (int)Math.min(chunk.length, chunkEnd);
+				segmentFile.seek(chunkEnd - chunkLength);
+				segmentFile.readFully(chunk, 0, chunkLength);
+
+				for (int index = chunkLength - 1; index >= 0; index--)
+				{
+					if (chunk[index] != 0)
+					{
+						return chunkEnd - chunkLength + index + 1;
+					}
+				}
+				chunkEnd -= chunkLength;
+			}
+			return 0;
+		}
+		finally
+		{
+			segmentFile.close();
+		}
+	}
+
+	// returns the used part of each segment file in order, segments are opened 1 at a time
+	//	(skip() seeks inside a segment or passes over whole segments without reading them)
+	private class SegmentedInputStream extends InputStream
+	{
+		private int _segmentIndex = -1;
+		private FileInputStream _segmentStream;
+		private long _remainingLength;
+
+		@Override
+		public int read() throws IOException
+		{
+			if (!nextSegmentIfEmpty())
+			{
+				return -1;
+			}
+
+			int value = _segmentStream.read();
+			if (value < 0)
+			{
+				throw new EOFException("Log segment is shorter than listed in the manifest");
+			}
+			_remainingLength--;
+			return value;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException
+		{
+			if (length == 0)
+			{
+				return 0;
+			}
+			if (!nextSegmentIfEmpty())
+			{
+				return -1;
+			}
+
+			int bytesRead = _segmentStream.read(bytes, offset, (int)Math.min(length, _remainingLength));
+			if (bytesRead < 0)
+			{
+				throw new EOFException("Log segment is shorter than listed in the manifest");
+			}
+			_remainingLength -= bytesRead;
+			return bytesRead;
+		}
+
+		@Override
+		public long skip(long count) throws IOException
+		{
+			long skippedCount = 0;
+			while (skippedCount < count)
+			{
+				// whole segments that are not open yet are passed over without opening them
+				if (_remainingLength == 0 && _segmentIndex + 1 < _segmentLengths.size()
+						&& _segmentLengths.get(_segmentIndex + 1) <= count - skippedCount)
+				{
+					closeSegment();
+					_segmentIndex++;
+					skippedCount += _segmentLengths.get(_segmentIndex);
+					continue;
+				}
+
+				if (!nextSegmentIfEmpty())
+				{
+					break;
+				}
+
+				long skipped = _segmentStream.skip(Math.min(count - skippedCount, _remainingLength));
+				if (skipped <= 0)
+				{
+					break;
+				}
+				_remainingLength -= skipped;
+				skippedCount += skipped;
+			}
+			return skippedCount;
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			closeSegment();
+			_segmentIndex = _segmentLengths.size();
+		}
+
+		// open the next segment if the current one is used up, returns false after the last segment
+		private boolean nextSegmentIfEmpty() throws IOException
+		{
+			while (_remainingLength == 0)
+			{
+				closeSegment();
+				if (_segmentIndex + 1 >= _segmentLengths.size())
+				{
+					return false;
+				}
+				_segmentIndex++;
+				_segmentStream = new FileInputStream(_segmentFilePathNames.get(_segmentIndex));
+				_remainingLength = _segmentLengths.get(_segmentIndex);
+			}
+			return true;
+		}
+
+		private void closeSegment() throws IOException
+		{
+			if (_segmentStream != null)
+			{
+				_segmentStream.close();
+				_segmentStream = null;
+			}
+			_remainingLength = 0;
+		}
+	}
+}
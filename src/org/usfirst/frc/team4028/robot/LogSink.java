@@ -0,0 +1,39 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+
+/**
+ * This interface is implemented by each extra place the logged scans are sent to, besides the log file
+ * 	(ex: a live telemetry stream, see UdpTelemetrySink & AsyncDataLogger.AddSink)
+ *
+ * Each sink runs on its own thread with its own ring buffer (see LogSinkChannel), so a slow sink only holds up itself.
+ * 	All methods are only called on that thread, Open first & Close last.
+ */
+public interface LogSink
+{
+	// what happens to new records when a sink's ring buffer is full (it has fallen behind)
+	enum Backpressure_Policy
+	{
+		BLOCK,			// never loses a record: the log writer thread waits for room (the main thread never waits,
+						//	once the main ring buffer fills whole scans are dropped for the file & every sink)
+		DROP_NEWEST,	// new records are dropped until the sink catches up (keeps the oldest data)
+		DROP_OLDEST,	// the oldest unread record is dropped to make room (keeps the latest data, best for live displays)
+		SAMPLE			// when more than half full only 1 of every RobotMap.LOG_SINK_SAMPLE_STRIDE records is kept, when full = DROP_NEWEST
+	}
+
+	// short name used in thread names & driver station messages (ex: "telemetry")
+	String GetName();
+
+	Backpressure_Policy GetBackpressurePolicy();
+
+	// called 1 time before the 1st record
+	void Open(LogSchema schema) throws IOException;
+
+	// write (or queue) one record, the record is only valid during the call
+	void Write(LogRecord record) throws IOException;
+
+	// push anything queued, called after each batch of records
+	void Flush() throws IOException;
+
+	void Close() throws IOException;
+}
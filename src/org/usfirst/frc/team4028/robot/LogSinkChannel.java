@@ -0,0 +1,264 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * This class connects one LogSink to the log writer thread
+ *
+ * 	Offer	(log writer thread)		applies the sink's backpressure policy & copies the record into the channel's ring buffer
+ * 	Sink	(channel's own thread)	takes the records out of the ring buffer & writes them to the sink
+ *
+ * 	The main robot thread still publishes each scan 1 time (into the AsyncDataLogger ring buffer),
+ * 	the copies for the sinks are made on the log writer thread.
+ *
+ * 	Only a BLOCK sink can hold up the log writer thread, every other policy drops records (counted) instead.
+ * 	Sink errors are counted & the 1st one is reported, the sink keeps getting records (ex: a network link that comes back).
+ */
+public class LogSinkChannel
+{
+	private static final long BLOCK_WAIT_NANOS = 1000000L;		// 1 msec between 2 checks for room
+
+	private final LogSink _sink;
+	private final LogSink.Backpressure_Policy _policy;
+	private final LogSchema _schema;
+	private final LogRingBuffer _ringBuffer;
+	private Thread _sinkThread;
+	private volatile boolean _isStopRequested;
+
+	// log writer thread working variables
+	private long _offeredRecordCount;
+
+	// sink thread working variables
+	private final LogRecord _record;
+
+	// counters
+	private volatile long _sampledOutRecordCount;
+	private volatile long _writtenRecordCount;
+	private volatile long _writeErrorCount;
+
+	// constructor, capacity must be a power of 2
+	public LogSinkChannel(LogSink sink, LogSchema schema, int capacity)
+	{
+		_sink = sink;
+		_policy = sink.GetBackpressurePolicy();
+		_schema = schema;
+		_ringBuffer = new LogRingBuffer(capacity, schema.GetColumnCount());
+		_record = new LogRecord(schema.GetColumnCount());
+	}
+
+	public String GetName()
+	{
+		return _sink.GetName();
+	}
+
+	// start the sink thread (which opens the sink)
+	public void Start()
+	{
+		_sinkThread = new Thread(new Runnable()
+								{
+									public void run()
+									{
+										runSink();
+									}
+								});
+		_sinkThread.setName("Log Sink Thread: " + _sink.GetName());
+		_sinkThread.setDaemon(true);
+		_sinkThread.start();
+	}
+
+	// =====================================
+	// log writer thread side
+	// =====================================
+
+	// hand one record to the sink (a copy is queued), called for every record in the order they were logged
+	public void Offer(LogRecord record)
+	{
+		_offeredRecordCount++;
+
+		LogRecord target;
+		switch (_policy)
+		{
+			case BLOCK:
+				while (!_ringBuffer.HasRoom() && !_isStopRequested && _sinkThread.isAlive())
+				{
+					LockSupport.unpark(_sinkThread);
+					LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+				}
+				target = _ringBuffer.TryClaim();
+				break;
+
+			case DROP_OLDEST:
+				target = _ringBuffer.ClaimOverwritingOldest();
+				break;
+
+			case SAMPLE:
+				if (_ringBuffer.GetAvailableCount() * 2 >= _ringBuffer.GetCapacity()
+						&& (_offeredRecordCount % RobotMap.LOG_SINK_SAMPLE_STRIDE) != 0)
+				{
+					_sampledOutRecordCount++;
+					return;
+				}
+				target = _ringBuffer.TryClaim();
+				break;
+
+			default:
+				target = _ringBuffer.TryClaim();
+				break;
+		}
+
+		if (target == null)
+		{
+			// full, this record is counted as dropped
+			return;
+		}
+
+		target.CopyFrom(record);
+		_ringBuffer.Publish();
+	}
+
+	// wake the sink thread up, called after each batch
+	public void Signal()
+	{
+		LockSupport.unpark(_sinkThread);
+	}
+
+	// stop the sink thread (after it writes what is left) & close the sink
+	public void Stop(long timeoutMSecs)
+	{
+		_isStopRequested = true;
+		if (_sinkThread == null)
+		{
+			return;
+		}
+
+		LockSupport.unpark(_sinkThread);
+		try
+		{
+			_sinkThread.join(timeoutMSecs);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetWrittenRecordCount()
+	{
+		return _writtenRecordCount;
+	}
+
+	// records the backpressure policy dropped (full ring buffer)
+	public long GetDroppedRecordCount()
+	{
+		return _ringBuffer.GetDroppedRecordCount();
+	}
+
+	// records a SAMPLE sink left out
+	public long GetSampledOutRecordCount()
+	{
+		return _sampledOutRecordCount;
+	}
+
+	public int GetQueueHighWaterMark()
+	{
+		return _ringBuffer.GetHighWaterMark();
+	}
+
+	public long GetWriteErrorCount()
+	{
+		return _writeErrorCount;
+	}
+
+	// one line summary for the driver station
+	public String BuildSummary()
+	{
+		return "Sink " + _sink.GetName() + " (" + _policy + "): Written= " + _writtenRecordCount
+				+ " Dropped= " + GetDroppedRecordCount()
+				+ " SampledOut= " + _sampledOutRecordCount
+				+ " QueueHighWaterMark= " + GetQueueHighWaterMark()
+				+ " WriteErrors= " + _writeErrorCount;
+	}
+
+	// =====================================
+	// sink thread
+	// =====================================
+	private void runSink()
+	{
+		try
+		{
+			_sink.Open(_schema);
+		}
+		catch (IOException e)
+		{
+			onWriteError(e);
+		}
+
+		while (!_isStopRequested)
+		{
+			drain();
+			LockSupport.parkNanos(RobotMap.LOG_WRITER_IDLE_SLEEP_MSECS * 1000000L);
+		}
+
+		// write anything queued before the stop request
+		drain();
+
+		try
+		{
+			_sink.Close();
+		}
+		catch (IOException e)
+		{
+			onWriteError(e);
+		}
+	}
+
+	// write all queued records & flush the sink
+	private void drain()
+	{
+		int count = 0;
+		while (_ringBuffer.TryTake(_record))
+		{
+			try
+			{
+				_sink.Write(_record);
+			}
+			catch (IOException e)
+			{
+				onWriteError(e);
+			}
+			count++;
+		}
+		if (count == 0)
+		{
+			return;
+		}
+
+		try
+		{
+			_sink.Flush();
+		}
+		catch (IOException e)
+		{
+			onWriteError(e);
+		}
+		_writtenRecordCount += count;
+	}
+
+	// only report the 1st error so a dead link does not flood the driver station
+	private void onWriteError(IOException e)
+	{
+		_writeErrorCount++;
+		if (_writeErrorCount == 1)
+		{
+			DriverStation.reportError("Error writing log sink " + _sink.GetName() + ": " + e.getMessage() + " | ", false);
+		}
+	}
+}
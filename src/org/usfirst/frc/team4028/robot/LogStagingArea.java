@@ -0,0 +1,294 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * This class is a folder on the RAM disk (tmpfs) where the active logging session is written, instead of the USB stick
+ *
+ * 	Writes to the USB stick can stall for a long time, writes to RAM do not. While the robot is enabled
+ * 	every log file of the session (the log & its side-car files) goes to the staging folder, while it is disabled
+ * 	a background thread moves the staged files to the USB stick (see StartFlush).
+ *
+ * 	Space accounting
+ * 		- all of the staged files together may use up to maxBytes
+ * 		- the RAM disk always keeps minFreeBytes free for the rest of the system
+ * 		- a session only starts staging if it has at least RobotMap.LOG_RAM_STAGING_MIN_SESSION_BYTES of room,
+ * 		  otherwise it logs straight to the USB stick (ex: the last match was not flushed yet)
+ * 		- a log that outgrows its room spills over to the USB stick (see StagedLogOutput)
+ *
+ * 	Open warm standby logs (*_standby.*, see DataLogger.Start) are not flushed, they are renamed when they are closed.
+ *
+ * 	Flushing copies each file to <name>.part on the USB stick, renames it & deletes the staged file, so a flush that
+ * 	is cut short (the robot is enabled or loses power) never leaves a half copied log under its real name.
+ * 	It stops between 2 chunks as soon as a new session starts & picks up where it left off on the next disable.
+ *
+ * 	Note: the RAM disk is lost at power off, a log that was not flushed by then is lost.
+ *
+ * 	HasRoomForSession, OpenLogOutput, StopFlush & StartFlush are called from the main robot thread.
+ */
+public class LogStagingArea
+{
+	public static final String PART_FILE_EXTENSION = ".part";
+
+	private final String _stagingFolderPath;
+	private final String _targetFolderPath;
+	private final long _maxBytes;
+	private final long _minFreeBytes;
+
+	private Thread _flushThread;
+	private volatile boolean _isFlushStopRequested;
+	private volatile boolean _isFlushNeeded;
+
+	// counters
+	private volatile long _flushedFileCount;
+	private volatile long _flushedBytes;
+	private volatile long _flushErrorCount;
+
+	// constructor, files already in the staging folder (ex: the robot code restarted) are flushed on the next disable
+	//	(standby logs left by the last run were never started & are deleted)
+	public LogStagingArea(String stagingFolderPath, String targetFolderPath, long maxBytes, long minFreeBytes)
+	{
+		_stagingFolderPath = stagingFolderPath;
+		_targetFolderPath = targetFolderPath;
+		_maxBytes = maxBytes;
+		_minFreeBytes = minFreeBytes;
+		_isFlushNeeded = true;
+
+		for (File file : listStagedFiles())
+		{
+			if (isStandbyFile(file))
+			{
+				file.delete();
+			}
+		}
+	}
+
+	public String GetStagingFolderPath()
+	{
+		return _stagingFolderPath;
+	}
+
+	// true if there is enough room to stage a new log
+	public boolean HasRoomForSession()
+	{
+		File stagingFolder = new File(_stagingFolderPath);
+		if (!stagingFolder.isDirectory() && !stagingFolder.mkdirs())
+		{
+			return false;
+		}
+
+		long freeBytes = GetFreeBytes();
+		if (freeBytes < RobotMap.LOG_RAM_STAGING_MIN_SESSION_BYTES)
+		{
+			DriverStation.reportError("Log staging: only " + (freeBytes / 1024) + " KB free, logging straight to the USB stick | ", false);
+			return false;
+		}
+		return true;
+	}
+
+	// open the device output of a log in the staging folder, it may use all of the room that is left
+	public LogOutput OpenLogOutput(String logFilePathName) throws IOException
+	{
+		return new StagedLogOutput(logFilePathName, GetTargetFilePathName(logFilePathName), GetFreeBytes());
+	}
+
+	// where a staged file goes on the USB stick
+	public String GetTargetFilePathName(String stagedFilePathName)
+	{
+		return _targetFolderPath + File.separator + new File(stagedFilePathName).getName();
+	}
+
+	// the room left: the budget not used by the staged files or the free RAM disk space (less the reserve), whichever is smaller
+	public long GetFreeBytes()
+	{
+		long budgetLeftBytes = _maxBytes - GetStagedBytes();
+		long usableBytes = new File(_stagingFolderPath).getUsableSpace() - _minFreeBytes;
+		return Math.max(0, Math.min(budgetLeftBytes, usableBytes));
+	}
+
+	// the size of all of the files in the staging folder
+	public long GetStagedBytes()
+	{
+		long stagedBytes = 0;
+		for (File file : listStagedFiles())
+		{
+			stagedBytes += file.length();
+		}
+		return stagedBytes;
+	}
+
+	// =====================================
+	// Flush (background thread)
+	// =====================================
+
+	// a log was closed, its files are flushed by the next StartFlush
+	public void RequestFlush()
+	{
+		_isFlushNeeded = true;
+	}
+
+	// start moving the staged files to the USB stick, call while disabled
+	//	(does nothing if a flush is running, there is nothing to flush or the USB stick is missing)
+	public void StartFlush()
+	{
+		if (!_isFlushNeeded || (_flushThread != null && _flushThread.isAlive()) || !new File(_targetFolderPath).isDirectory())
+		{
+			return;
+		}
+
+		_isFlushNeeded = false;
+		_isFlushStopRequested = false;
+		_flushThread = new Thread(new Runnable()
+								{
+									public void run()
+									{
+										runFlush();
+									}
+								});
+		_flushThread.setName("Log Staging Flush Thread");
+		_flushThread.setDaemon(true);
+		_flushThread.start();
+	}
+
+	public boolean IsFlushRunning()
+	{
+		return _flushThread != null && _flushThread.isAlive();
+	}
+
+	// stop a running flush between 2 chunks (ex: the robot is enabled), it starts over on the next StartFlush
+	public void StopFlush()
+	{
+		_isFlushStopRequested = true;
+	}
+
+	private void runFlush()
+	{
+		long startMSecs = System.currentTimeMillis();
+		long fileCount = 0;
+		long byteCount = 0;
+
+		File[] stagedFiles = listStagedFiles();
+		Arrays.sort(stagedFiles);
+		for (File stagedFile : stagedFiles)
+		{
+			if (isStandbyFile(stagedFile))
+			{
+				continue;
+			}
+
+			try
+			{
+				long length = stagedFile.length();
+				if (_isFlushStopRequested || !flushFile(stagedFile))
+				{
+					_isFlushNeeded = true;
+					break;
+				}
+				fileCount++;
+				byteCount += length;
+			}
+			catch (IOException e)
+			{
+				_flushErrorCount++;
+				_isFlushNeeded = true;
+				DriverStation.reportError("Error flushing staged log " + stagedFile.getName() + ": " + e.getMessage() + " | ", false);
+				break;
+			}
+		}
+
+		_flushedFileCount += fileCount;
+		_flushedBytes += byteCount;
+		if (fileCount > 0)
+		{
+			DriverStation.reportError("Log staging: moved " + fileCount + " files (" + (byteCount / 1024) + " KB) to "
+										+ _targetFolderPath + " in " + (System.currentTimeMillis() - startMSecs) + " msecs | ", false);
+		}
+	}
+
+	// copy 1 file to <name>.part in chunks, rename it & delete the staged file, returns false if the flush was stopped
+	private boolean flushFile(File stagedFile) throws IOException
+	{
+		File targetFile = new File(_targetFolderPath, stagedFile.getName());
+		File partFile = new File(_targetFolderPath, stagedFile.getName() + PART_FILE_EXTENSION);
+
+		FileInputStream inputStream = new FileInputStream(stagedFile);
+		try
+		{
+			FileOutputStream outputStream = new FileOutputStream(partFile, false);
+			try
+			{
+				FileChannel inputChannel = inputStream.getChannel();
+				FileChannel outputChannel = outputStream.getChannel();
+				long length = inputChannel.size();
+				long position = 0;
+				while (position < length)
+				{
+					if (_isFlushStopRequested)
+					{
+						return false;
+					}
+					position += inputChannel.transferTo(position, Math.min(RobotMap.LOG_RAM_STAGING_FLUSH_CHUNK_SIZE, length - position), outputChannel);
+				}
+				outputStream.getFD().sync();
+			}
+			finally
+			{
+				outputStream.close();
+			}
+		}
+		finally
+		{
+			inputStream.close();
+		}
+
+		if (targetFile.exists() && !targetFile.delete())
+		{
+			throw new IOException("could not replace " + targetFile.getPath());
+		}
+		if (!partFile.renameTo(targetFile))
+		{
+			throw new IOException("could not rename " + partFile.getPath());
+		}
+		stagedFile.delete();
+		return true;
+	}
+
+	// a file of an open warm standby log (ex: 20161018_143000_123_standby.tsv.idx)
+	private static boolean isStandbyFile(File file)
+	{
+		return file.getName().contains("_" + DataLogger.STANDBY_FILE_SUFFIX + ".");
+	}
+
+	private File[] listStagedFiles()
+	{
+		File[] files = new File(_stagingFolderPath).listFiles();
+		return (files != null) ? files : new File[0];
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetFlushedFileCount()
+	{
+		return _flushedFileCount;
+	}
+
+	public long GetFlushedBytes()
+	{
+		return _flushedBytes;
+	}
+
+	public long GetFlushErrorCount()
+	{
+		return _flushErrorCount;
+	}
+}
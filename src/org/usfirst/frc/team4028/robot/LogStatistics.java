@@ -0,0 +1,240 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * This class keeps running statistics of every numeric column of a log while it is written,
+ * 	and writes them to a small summary file next to the log when it is closed (ex: 20161018_143000_123_telop.tsv.summary)
+ *
+ * 	Each INT / LONG / FLOAT / DOUBLE column gets its count, min, max, mean & standard deviation
+ * 	(Welford's running variance) plus a StreamingQuantile per percentile (see RobotMap.LOG_SUMMARY_PERCENTILES).
+ * 	Memory per column is fixed, so a full match costs the same as 1 scan. NaN values (ex: no vision data yet) are skipped.
+ *
+ * 	Summary lines (tab separated, 1 per column, in log column order):
+ * 		Column	Count	Min	Max	Mean	StdDev	P50	P90	P99
+ *
+ * 	Only used by the thread that writes the log (see LogBatchWriter.SetStatistics).
+ */
+public class LogStatistics
+{
+	public static final String FILE_EXTENSION = ".summary";
+
+	private final double[] _percentiles;
+	private final ColumnStatistics[] _columns;
+
+	// constructor, percentiles are 0 .. 100 (ex: 99.0)
+	public LogStatistics(LogSchema schema, double[] percentiles)
+	{
+		_percentiles = percentiles;
+
+		ArrayList<ColumnStatistics> columns = new ArrayList<ColumnStatistics>();
+		for (int columnIndex = 0; columnIndex < schema.GetColumnCount(); columnIndex++)
+		{
+			switch (schema.GetColumnType(columnIndex))
+			{
+				case INT:
+				case LONG:
+				case FLOAT:
+				case DOUBLE:
+					columns.add(new ColumnStatistics(schema.GetColumnName(columnIndex), columnIndex, schema.GetColumnType(columnIndex), percentiles));
+					break;
+
+				default:
+					break;
+			}
+		}
+		_columns = columns.toArray(new ColumnStatistics[columns.size()]);
+	}
+
+	// the summary file that goes with a log
+	public static String BuildSummaryFilePathName(String logFilePathName)
+	{
+		return logFilePathName + FILE_EXTENSION;
+	}
+
+	// add the numeric values of 1 record
+	public void AddRecord(LogRecord record)
+	{
+		for (ColumnStatistics column : _columns)
+		{
+			column.Add(record);
+		}
+	}
+
+	public int GetColumnCount()
+	{
+		return _columns.length;
+	}
+
+	// one line summary of a column for the driver station (ex: "LastScanDeltaMicroSecs mean 20012 p99 21890 max 35012"), null if it is not a numeric column
+	public String BuildColumnSummary(String columnName)
+	{
+		for (ColumnStatistics column : _columns)
+		{
+			if (column.Name.equals(columnName))
+			{
+				StringBuilder summary = new StringBuilder(columnName);
+				summary.append(" mean ").append(formatValue(column.GetMean()));
+				for (int percentileIndex = 0; percentileIndex < _percentiles.length; percentileIndex++)
+				{
+					summary.append(" p").append(formatPercentile(_percentiles[percentileIndex]))
+							.append(" ").append(formatValue(column.Quantiles[percentileIndex].GetValue()));
+				}
+				summary.append(" max ").append(formatValue(column.Max));
+				return summary.toString();
+			}
+		}
+		return null;
+	}
+
+	// write the summary file
+	public void WriteSummary(String summaryFilePathName) throws IOException
+	{
+		BufferedWriter writer = new BufferedWriter(new FileWriter(summaryFilePathName, false));
+		try
+		{
+			writer.write("Column\tCount\tMin\tMax\tMean\tStdDev");
+			for (double percentile : _percentiles)
+			{
+				writer.write("\tP" + formatPercentile(percentile));
+			}
+			writer.newLine();
+
+			for (ColumnStatistics column : _columns)
+			{
+				writer.write(column.Name);
+				writer.write("\t" + column.Count);
+				writer.write("\t" + formatValue(column.Min));
+				writer.write("\t" + formatValue(column.Max));
+				writer.write("\t" + formatValue(column.GetMean()));
+				writer.write("\t" + formatValue(column.GetStdDev()));
+				for (StreamingQuantile quantile : column.Quantiles)
+				{
+					writer.write("\t" + formatValue(quantile.GetValue()));
+				}
+				writer.newLine();
+			}
+		}
+		finally
+		{
+			writer.close();
+		}
+	}
+
+	// ex: 99.0 => "99", 99.9 => "99.9"
+	private static String formatPercentile(double percentile)
+	{
+		if (percentile == Math.rint(percentile))
+		{
+			return Long.toString((long)percentile);
+		}
+		return Double.toString(percentile);
+	}
+
+	// empty for a column that never had a value
+	private static String formatValue(double value)
+	{
+		if (Double.isNaN(value))
+		{
+			return "";
+		}
+		if (value == Math.rint(value) && Math.abs(value) < 1.0e15)
+		{
+			return Long.toString((long)value);
+		}
+		return String.format("%.4f", value);
+	}
+
+	// =====================================
+	// running statistics of 1 column
+	// =====================================
+	private static class ColumnStatistics
+	{
+		final String Name;
+		final int ColumnIndex;
+		final LogSchema.Column_Type ColumnType;
+		final StreamingQuantile[] Quantiles;
+
+		long Count;
+		double Min = Double.NaN;
+		double Max = Double.NaN;
+		double Mean;
+		double SumOfSquaredDeltas;		// Welford's M2
+
+		ColumnStatistics(String name, int columnIndex, LogSchema.Column_Type columnType, double[] percentiles)
+		{
+			Name = name;
+			ColumnIndex = columnIndex;
+			ColumnType = columnType;
+			Quantiles = new StreamingQuantile[percentiles.length];
+			for (int percentileIndex = 0; percentileIndex < percentiles.length; percentileIndex++)
+			{
+				Quantiles[percentileIndex] = new StreamingQuantile(percentiles[percentileIndex] / 100.0);
+			}
+		}
+
+		void Add(LogRecord record)
+		{
+			double value;
+			switch (ColumnType)
+			{
+				case INT:
+					value = record.GetInt(ColumnIndex);
+					break;
+
+				case LONG:
+					value = record.GetLong(ColumnIndex);
+					break;
+
+				case FLOAT:
+					value = record.GetFloat(ColumnIndex);
+					break;
+
+				default:
+					value = record.GetDouble(ColumnIndex);
+					break;
+			}
+			if (Double.isNaN(value))
+			{
+				return;
+			}
+
+			if (Count == 0 || value < Min)
+			{
+				Min = value;
+			}
+			if (Count == 0 || value > Max)
+			{
+				Max = value;
+			}
+
+			Count++;
+			double delta = value - Mean;
+			Mean += delta / Count;
+			SumOfSquaredDeltas += delta * (value - Mean);
+
+			for (StreamingQuantile quantile : Quantiles)
+			{
+				quantile.Add(value);
+			}
+		}
+
+		double GetMean()
+		{
+			return (Count > 0) ? Mean : Double.NaN;
+		}
+
+		// sample standard deviation
+		double GetStdDev()
+		{
+			if (Count == 0)
+			{
+				return Double.NaN;
+			}
+			return (Count > 1) ? Math.sqrt(SumOfSquaredDeltas / (Count - 1)) : 0;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This class writes encoded log bytes into preallocated, fixed size segment files through a memory map
+ *
+ * 	Each segment is created at its full size up front, so the file system only allocates space
+ * 	1 time per segment instead of growing the file (and updating the FAT) on every write.
+ * 	When a segment fills up the next one is started (records can be split across 2 segments),
+ * 	the segments are listed in a LogSegmentManifest so readers can stitch them back together.
+ *
+ * 	On close the last segment is truncated to the # of bytes actually used.
+ */
+public class MappedSegmentLogOutput implements LogOutput
+{
+	private final String _logFilePathName;
+	private final String _manifestFilePathName;
+	private final int _segmentSize;
+
+	private int _segmentIndex = -1;
+	private String _segmentFilePathName;
+	private RandomAccessFile _segmentFile;
+	private FileChannel _segmentChannel;
+	private MappedByteBuffer _segmentBuffer;
+	private long _bytesWritten;
+
+	// constructor, creates the 1st segment
+	public MappedSegmentLogOutput(String logFilePathName, int segmentSize) throws IOException
+	{
+		_logFilePathName = logFilePathName;
+		_manifestFilePathName = LogSegmentManifest.BuildManifestFilePathName(logFilePathName);
+		_segmentSize = segmentSize;
+
+		openNextSegment();
+	}
+
+	@Override
+	public void Write(ByteBuffer source) throws IOException
+	{
+		while (source.hasRemaining())
+		{
+			if (_segmentBuffer == null)
+			{
+				throw new IOException("Log segment " + _segmentFilePathName + " is closed");
+			}
+
+			if (!_segmentBuffer.hasRemaining())
+			{
+				closeSegment(_segmentSize);
+				openNextSegment();
+			}
+
+			// copy as much as fits into the current segment
+			int chunkLength = Math.min(source.remaining(), _segmentBuffer.remaining());
+			int sourceLimit = source.limit();
+			source.limit(source.position() + chunkLength);
+			_segmentBuffer.put(source);
+			source.limit(sourceLimit);
+
+			_bytesWritten += chunkLength;
+		}
+	}
+
+	@Override
+	public void Flush() throws IOException
+	{
+		// the mapped pages are already owned by the OS, it writes them back to the USB stick on its own schedule
+	}
+
+	@Override
+	public void Close() throws IOException
+	{
+		if (_segmentBuffer != null)
+		{
+			closeSegment(_segmentBuffer.position());
+		}
+	}
+
+	@Override
+	public long GetBytesWritten()
+	{
+		return _bytesWritten;
+	}
+
+	public String GetManifestFilePathName()
+	{
+		return _manifestFilePathName;
+	}
+
+	public int GetSegmentCount()
+	{
+		return _segmentIndex + 1;
+	}
+
+	// create, size & map the next segment file
+	private void openNextSegment() throws IOException
+	{
+		_segmentIndex++;
+		_segmentFilePathName = LogSegmentManifest.BuildSegmentFilePathName(_logFilePathName, _segmentIndex);
+
+		_segmentFile = new RandomAccessFile(_segmentFilePathName, "rw");
+		_segmentFile.setLength(_segmentSize);
+		_segmentChannel = _segmentFile.getChannel();
+		_segmentBuffer = _segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, _segmentSize);
+
+		LogSegmentManifest.AppendSegment(_manifestFilePathName, _segmentFilePathName, LogSegmentManifest.UNKNOWN_LENGTH);
+	}
+
+	// write back the mapped pages, trim the unused tail & record the final length in the manifest
+	private void closeSegment(int usedLength) throws IOException
+	{
+		try
+		{
+			_segmentBuffer.force();
+
+			// Java 8 has no public way to unmap, the mapping is released when the buffer is garbage collected
+			_segmentBuffer = null;
+			if (usedLength < _segmentSize)
+			{
+				_segmentChannel.truncate(usedLength);
+			}
+		}
+		finally
+		{
+			_segmentChannel.close();
+			_segmentFile.close();
+		}
+
+		LogSegmentManifest.AppendSegment(_manifestFilePathName, _segmentFilePathName, usedLength);
+	}
+}
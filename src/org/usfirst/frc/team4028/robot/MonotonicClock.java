@@ -0,0 +1,77 @@
+package org.usfirst.frc.team4028.robot;
+
+import edu.wpi.first.wpilibj.Utility;
+
+/**
+ * This class is the time source for the data logger & the scan bookkeeping
+ *
+ * 	Times are microseconds on a monotonic clock, so only the difference between 2 readings means anything.
+ * 	Unlike new Date() / System.currentTimeMillis() it never jumps when the wall clock is set
+ * 	(ex: the roboRIO clock is synced when the driver station connects) and reading it does not allocate.
+ *
+ * 	On the robot it reads the FPGA clock (see UseFPGAClock), so its readings line up with InputData.FPGATimeMicroSecs.
+ * 	Off the robot (laptop tools, log replay) it reads System.nanoTime().
+ *
+ * 	Wall time is only read 1 time per log file (the file name, see DataLogger).
+ */
+public final class MonotonicClock
+{
+	private static final long FPGA_COUNTER_RANGE = 1L << 32;
+
+	private static boolean _isFPGAClockEnabled;
+
+	// FPGA counter wraps seen so far (the counter may only be 32 bits wide, it would wrap every ~71.6 minutes)
+	private static long _lastFPGAMicroSecs;
+	private static long _fpgaWrapOffsetMicroSecs;
+
+	private MonotonicClock()
+	{
+	}
+
+	// read the FPGA clock from now on, call 1 time at startup before the clock is read (it needs the robot's native libraries)
+	public static synchronized void UseFPGAClock()
+	{
+		_isFPGAClockEnabled = true;
+		startFPGAWraps(Utility.getFPGATime());
+	}
+
+	public static long GetMicroSecs()
+	{
+		if (_isFPGAClockEnabled)
+		{
+			return getFPGAMicroSecs();
+		}
+		return System.nanoTime() / 1000L;
+	}
+
+	public static long GetElapsedMicroSecs(long startMicroSecs)
+	{
+		return GetMicroSecs() - startMicroSecs;
+	}
+
+	// the FPGA counter extended to 64 bits
+	private static long getFPGAMicroSecs()
+	{
+		return extendFPGAMicroSecs(Utility.getFPGATime());
+	}
+
+	// forget the wraps seen so far, the counter now reads fpgaMicroSecs
+	//	(package private so the tests can start the counter anywhere)
+	static synchronized void startFPGAWraps(long fpgaMicroSecs)
+	{
+		_lastFPGAMicroSecs = fpgaMicroSecs;
+		_fpgaWrapOffsetMicroSecs = 0;
+	}
+
+	// extend a raw FPGA counter reading to 64 bits, a 32 bit counter that went backwards has wrapped
+	//	(package private so the tests can feed it counter readings around a wrap)
+	static synchronized long extendFPGAMicroSecs(long fpgaMicroSecs)
+	{
+		if (fpgaMicroSecs < _lastFPGAMicroSecs && _lastFPGAMicroSecs < FPGA_COUNTER_RANGE)
+		{
+			_fpgaWrapOffsetMicroSecs += FPGA_COUNTER_RANGE;
+		}
+		_lastFPGAMicroSecs = fpgaMicroSecs;
+		return fpgaMicroSecs + _fpgaWrapOffsetMicroSecs;
+	}
+}
\ No newline at end of file
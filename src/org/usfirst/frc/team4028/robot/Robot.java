@@ -19,20 +19,13 @@ import java.util.Date;
 import java.util.TimeZone;
 
 import org.usfirst.frc.team4028.robot.Constants.RobotMap;
-import org.usfirst.frc.team4028.robot.RobotData.And1_Servo_Dir_State;
-import org.usfirst.frc.team4028.robot.RobotData.Auto_Aim_And_Shoot_State;
 import org.usfirst.frc.team4028.robot.RobotData.AutonMode;
+import org.usfirst.frc.team4028.robot.RobotData.Auto_Aim_And_Shoot_State;
 import org.usfirst.frc.team4028.robot.RobotData.Auton_Drive_Throttle_Percent;
 import org.usfirst.frc.team4028.robot.RobotData.Auton_Shoot_Ball_State;
 import org.usfirst.frc.team4028.robot.RobotData.Cross_Defense_Auto_Aim_And_Shoot_State;
-import org.usfirst.frc.team4028.robot.RobotData.Cross_Defense_Auton_State;
-import org.usfirst.frc.team4028.robot.RobotData.Infeed_Tilt_Zero_State;
 import org.usfirst.frc.team4028.robot.RobotData.InputData;
 import org.usfirst.frc.team4028.robot.RobotData.OutputData;
-import org.usfirst.frc.team4028.robot.RobotData.Shooter_Target_Speed;
-import org.usfirst.frc.team4028.robot.RobotData.Slider_Zero_State;
-import org.usfirst.frc.team4028.robot.RobotData.Teleop_Elevator_State;
-import org.usfirst.frc.team4028.robot.RobotData.Turret_Zero_State;
 import org.usfirst.frc.team4028.robot.RobotData.WorkingData;
 
 import edu.wpi.first.wpilibj.CANTalon;
@@ -51,7 +44,6 @@ import edu.wpi.first.wpilibj.PowerDistributionPanel;
 import edu.wpi.first.wpilibj.Servo;
 import edu.wpi.first.wpilibj.SerialPort;
 import edu.wpi.first.wpilibj.RobotDrive;
-import edu.wpi.first.wpilibj.Utility;
 import edu.wpi.first.wpilibj.VictorSP;
 import edu.wpi.first.wpilibj.livewindow.LiveWindow;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
@@ -124,7 +116,6 @@ public class Robot extends IterativeRobot
 	
 	// Camera
 	DynamicCameraServer server;
-	private String _currentCameraName;
 	
 	// Vision Server Client
 	private VisionClient _visionClient;
@@ -148,6 +139,19 @@ public class Robot extends IterativeRobot
 	// Wrapper around data logging (if it is enabled)
 	DataLogger _dataLogger;
 	
+	// Log opened while disabled & handed over to the next mode (if it is enabled)
+	DataLogger _standbyDataLogger;
+	boolean _isStandbyLoggerNeeded = true;		// tried once per disable (at robot start & after each mode)
+	
+	// RAM disk folder the logs are written to while enabled & moved to the USB stick from while disabled (if it is enabled)
+	LogStagingArea _logStagingArea;
+	
+	// Keeps the last few secs of data in memory, written to a file when something goes wrong (if it is enabled)
+	FlightRecorder _flightRecorder;
+	
+	// Samples the shooter, turret & slider quickly while aiming & shooting (if it is enabled)
+	HighRateSampler _highRateSampler;
+	
 	// Smart Dashboard chooser
 	SendableChooser autonModeChooser;
 	SendableChooser autonPumaBackPositionChooser;
@@ -158,38 +162,8 @@ public class Robot extends IterativeRobot
 	SendableChooser autonCrossDefenseTypeChooser;
 	SendableChooser autonCrossDefensePositionChooser;
 	
-	double _sliderAutonPosition = 0.0;
-	double _turretAutonPosition = 0.0;
-	boolean _isTurretAxisZeroedYet = false;
-	boolean _isInfeedTiltAxisZeroedYet = false;
-	boolean _isSliderAxisZeroedYet = false;
-	int _autonShooterWheelTargetRPM = 0;
-	double _autonTargetDriveTimeMSecs = 0;
-	double _autonTargetDriveThrottlePercent = 0;
-	boolean  _isAutonAutoShooterEnabled = false;
-	
-	boolean _isInfeedPeriodZeroMode = false;
-	boolean _isInfeedTiltAxisZeroTimedOut = false;
-	
-	boolean _isSliderAxisZeroTimedOut = false;
-	
-	Slider_Zero_State _sliderZeroState;
-	long _sliderZeroStartTime;
-	Infeed_Tilt_Zero_State _infeedTiltZeroState;
-	long _infeedTiltZeroStartTime;
-	Turret_Zero_State _turretZeroState;
-	long _turretZeroStartTime;
-	Cross_Defense_Auton_State _crossDefenseAutonState;
-	long _crossDefenseAutonStartTime;
-	Auto_Aim_And_Shoot_State _autoAimAndShootState;
-	Cross_Defense_Auto_Aim_And_Shoot_State _crossDefenseAutoAimAndShootState;
-	And1_Servo_Dir_State _and1ServoDirState;
-	
-	boolean _isClimbEnabled = false;
-	boolean _isShooterinAltMode = false;
-	
-	double _currentTurretVBusCmdBias = 0;
-	double _turretEncoderLastScanPosition;
+	// the decision logic (auton modes, telop & axis zeroing), it talks to the devices through RobotHardware
+	ControlLogic _controlLogic;
 	
     /*****************************************************************************************************
      * This function is run when the robot is first started up.
@@ -204,6 +178,11 @@ public class Robot extends IterativeRobot
      *****************************************************************************************************/
     public void robotInit() 
     {    	
+    	// ===================
+    	// time source for the scan bookkeeping & the data logger
+    	// ===================
+    	MonotonicClock.UseFPGAClock();
+    	
     	// ===================
     	// Left Drive Motors, Tandem Pair, looking out motor shaft: CW = Drive FWD
     	// ===================
@@ -361,11 +340,9 @@ public class Robot extends IterativeRobot
     	_perimeterExpansionSolenoid = new DoubleSolenoid(RobotMap.CAN_ADDR_PCM, RobotMap.PCM_PORT_PERIMETER_EXPANSION_EXTEND, RobotMap.PCM_PORT_PERIMETER_EXPANSION_RETRACT);
     	
     	//===================
-    	// Default all Absolute Position Axes to NOT ZEROED
+    	// Control Logic (all Absolute Position Axes start NOT ZEROED)
     	//===================
-    	_isTurretAxisZeroedYet = false;
-    	_isInfeedTiltAxisZeroedYet = false;
-    	_isSliderAxisZeroedYet = false;
+    	_controlLogic = new ControlLogic(new RobotHardware());
     	
     	// ==================
     	// Servo
@@ -389,8 +366,7 @@ public class Robot extends IterativeRobot
     	//===================
         server = DynamicCameraServer.getInstance();
         server.setQuality(25);
-        _currentCameraName = RobotMap.SHOOTER_CAMERA_NAME;
-        server.startAutomaticCapture(_currentCameraName);
+        server.startAutomaticCapture(_controlLogic.GetCurrentCameraName());
     	
         //===================
         // Smart DashBoard User Input
@@ -527,6 +503,57 @@ public class Robot extends IterativeRobot
      	_visionLiveData = new VisionData();
      	_visionClient = VisionClient.getInstance();
      	_visionClient.startPolling();
+     	
+    	//===================
+    	// Log Staging (logs are written to RAM & moved to the USB stick while disabled)
+    	//===================
+    	if (RobotMap.IS_LOG_RAM_STAGING_ENABLED)
+    	{
+    		_logStagingArea = new LogStagingArea(RobotMap.LOG_RAM_STAGING_PATH, 
+    												RobotMap.LOG_FILE_PATH, 
+    												RobotMap.LOG_RAM_STAGING_MAX_BYTES, 
+    												RobotMap.LOG_RAM_STAGING_MIN_FREE_BYTES);
+    	}
+    	
+    	//===================
+    	// Flight Recorder (always on, it does not need the USB stick)
+    	//===================
+    	if (RobotMap.IS_FLIGHT_RECORDER_ENABLED)
+    	{
+    		_flightRecorder = new FlightRecorder(DataLogger.BuildLogSchema(new RobotData()),
+    												RobotMap.FLIGHT_RECORDER_CAPACITY,
+    												RobotMap.FLIGHT_RECORDER_POST_TRIGGER_SCANS,
+    												new String[] { RobotMap.LOG_FILE_PATH, RobotMap.FLIGHT_RECORDER_RAM_DISK_PATH });
+    		DriverStation.reportError("Flight recorder: " + _flightRecorder.GetCapacity() + " scans, ~" 
+    									+ (_flightRecorder.GetMemoryBytes() / 1024) + " KB | ", false);
+    	}
+    	
+    	//===================
+    	// High Rate Sampler (only samples during the aim & shoot states)
+    	//===================
+    	if (RobotMap.IS_HIGH_RATE_SAMPLER_ENABLED)
+    	{
+    		_highRateSampler = new HighRateSampler(new ShooterSampleSource(),
+    												RobotMap.HIGH_RATE_SAMPLER_CAPACITY,
+    												RobotMap.HIGH_RATE_SAMPLE_PERIOD_MICROSECS,
+    												RobotMap.HIGH_RATE_SAMPLER_MAX_DUTY_CYCLE,
+    												new String[] { RobotMap.LOG_FILE_PATH, RobotMap.FLIGHT_RECORDER_RAM_DISK_PATH });
+    		
+    		_highRateSampler.SelectState(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.GROSS_TURRET_TO_TARGET);
+    		_highRateSampler.SelectState(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET);
+    		_highRateSampler.SelectState(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET);
+    		_highRateSampler.SelectState(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.SHOOT);
+    		_highRateSampler.SelectState(LogEventCatalog.CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE, Cross_Defense_Auto_Aim_And_Shoot_State.GROSS_TURRET_TO_TARGET);
+    		_highRateSampler.SelectState(LogEventCatalog.CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE, Cross_Defense_Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET);
+    		_highRateSampler.SelectState(LogEventCatalog.CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE, Cross_Defense_Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET);
+    		_highRateSampler.SelectState(LogEventCatalog.CROSS_DEFENSE_AUTO_AIM_AND_SHOOT_STATE, Cross_Defense_Auto_Aim_And_Shoot_State.SHOOT);
+    		_highRateSampler.SelectState(LogEventCatalog.AUTON_SHOOT_BALL_STATE, Auton_Shoot_Ball_State.START_SHOOTER_4);
+    		_highRateSampler.SelectState(LogEventCatalog.AUTON_SHOOT_BALL_STATE, Auton_Shoot_Ball_State.SHOOT_5);
+    		_highRateSampler.SelectState(LogEventCatalog.AUTON_SHOOT_BALL_STATE, Auton_Shoot_Ball_State.WAIT_FOR_BALL_TO_SHOOT_6);
+    		
+    		DriverStation.reportError("High rate sampler: every " + RobotMap.HIGH_RATE_SAMPLE_PERIOD_MICROSECS + " uSec, ~" 
+    									+ (_highRateSampler.GetMemoryBytes() / 1024) + " KB | ", false);
+    	}
     }
         
     // ========================================================================
@@ -541,16 +568,6 @@ public class Robot extends IterativeRobot
     	
     	//get local references to make variable references shorter
     	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	// Set desired initial (default) solenoid positions
-    	outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION;
-    	outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
-    	outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_IN;
-    	
-    	// init some working variables
-    	_isInfeedPeriodZeroMode = false;
     	
     	// get user input values from the Smart Dashboard
     	inputDataValues.AutonModeRequested = (RobotData.AutonMode) autonModeChooser.getSelected();
@@ -562,315 +579,13 @@ public class Robot extends IterativeRobot
     	inputDataValues.AutonCrossDefenseTypeRequested = (RobotData.Auton_Cross_Defense_Type) autonCrossDefenseTypeChooser.getSelected();
     	inputDataValues.AutonCrossDefensePosition = (RobotData.Auton_Cross_Defense_Position) autonCrossDefensePositionChooser.getSelected();
     	
-    	// write out the selected Auton Mode
-    	DriverStation.reportError("AutonModeRequested: [" + inputDataValues.AutonModeRequested.toString() + "]", false);
-   	
-    	// decide what to do based on the selected Auton Mode
-    	switch(inputDataValues.AutonModeRequested)
-    	{
-    		case DO_NOTHING:
-    			break;
-    			
-    		case ZERO_ALL_AXIS:
-    			// in this auton mode we just sit still and zero all the axis to save time in telop
-    			if (!_isTurretAxisZeroedYet)
-    	    	{
-    	    		ZeroTurretAxis(_robotLiveData);
-    	    	}
-    	    	
-    	    	if (!_isInfeedTiltAxisZeroedYet)
-    	    	{
-    	    		_infeedTiltZeroStartTime = System.currentTimeMillis();
-    	    		_infeedTiltZeroState = Infeed_Tilt_Zero_State.TILT_TO_HOME;
-    	    		ZeroInfeedTiltAxisReEntrant(_robotLiveData);
-    	    	}
-    	    	
-    	    	if (!_isSliderAxisZeroedYet)
-    	    	{
-    	    		_sliderZeroStartTime = System.currentTimeMillis();
-    	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
-    	    		//ZeroSliderAxisReEntrant(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
-    	    		ZeroSliderAxis(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
-    	    	}
-    			break;
-    			
-    		case SHOOT_BALL:
-    			// in this auton mode we are positioned in the front left spybot posiiton and we just shot the ball into the side goal
-    	    	DriverStation.reportError("PumaAutonPositionRequested: [" + inputDataValues.AutonPumaBackPositionRequested.toString() + "]", false);
-    	    	DriverStation.reportError("SliderAutonPositionRequested: [" + inputDataValues.AutonSliderPositionRequested.toString() + "]", false);
-    	    	DriverStation.reportError("ShooterWheelRPMRequested: [" + inputDataValues.AutonShooterWheelRPMRequested.toString() + "]", false);
-    	    	
-    	    	// position the slider
-    	    	switch(inputDataValues.AutonSliderPositionRequested)
-    	    	{
-    	    	    case CLICKS_24:
-    	    	     	 _sliderAutonPosition = 24;
-    	    	     	 break;
-    	    	     
-    	    	    case CLICKS_30:
-    	    	    	 _sliderAutonPosition = 30;
-    	    	    	 break;
-    	    	    	 
-    	    	    case CLICKS_34:
-    	    	    	 _sliderAutonPosition = 34;
-    	    	    	 break;
-    	    	    	
-    				default:
-    					_sliderAutonPosition = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-    					break;
-    	    	}
-    	    
-    	    	// set the desired target shooter speed
-    	    	switch(inputDataValues.AutonShooterWheelRPMRequested)
-    	    	{
-    	    		case RPM_3500:
-    	    			_autonShooterWheelTargetRPM = 3500;
-    	    			break;
-    	    			
-    	    		case RPM_3250:
-    	    			_autonShooterWheelTargetRPM = 3250;
-    	    			break;
-    	    			
-    	    		case RPM_3000:
-    	    			_autonShooterWheelTargetRPM = 3000;
-    	    			break;
-    	    			
-    	    		case RPM_2750:
-    	    			_autonShooterWheelTargetRPM = 2750;
-    	    			break;
-    	    			
-    	    		case RPM_2500:
-    	    			_autonShooterWheelTargetRPM = 2500;
-    	    			break;
-    	    	}
-    	    	
-    	    	// zero the slider and send to the requested position
-    	    	if (!_isSliderAxisZeroedYet)
-    	    	{
-    	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
-    	    		ZeroSliderAxisReEntrant(_robotLiveData);
-    	    	}
-    	    	
-    	    	// set the requested position of the back pumas
-    	    	Value PumaBackSolenoidPosition;
-    	    	switch(inputDataValues.AutonPumaBackPositionRequested)
-    	    	{
-    	    	    case PUMA_BACK_DOWN:
-    	    	    	PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    	    	     	 break;
-    	    	     
-    	    	    case PUMA_BACK_UP:
-    	    	    	PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    	    	    	 break;
-    	    	    	
-    				default:
-    					PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
-    					break;
-    	    	}
-    	    	
-    	    	_pumaBackSolenoid.set(PumaBackSolenoidPosition);
-    	    	
-    	    	workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.INFEED_1;
-    	    	DriverStation.reportError("ChangingAutonModeTo: INFEED_1", false);
-    	    	
-    			break;
-    			
-    		case DRIVE_FWD:
-    	    	DriverStation.reportError("DriveTimeInSecs: [" + inputDataValues.AutonDriveTimeInSecsRequested.toString() + "]", false);
-    	    	DriverStation.reportError("DriveThrottlePercent: [" + inputDataValues.AutonDriveThrottlePercentRequested.toString() + "]", false);
-    	    	
-    	    	// determine the requested drive time
-    			switch(inputDataValues.AutonDriveTimeInSecsRequested)
-    	    	{
-    	    		case SECS_1:
-    	    			_autonTargetDriveTimeMSecs = 1 * 1000;
-    	    			break;
-    	    			
-    	    		case SECS_2:
-    	    			_autonTargetDriveTimeMSecs = 2 * 1000;
-    	    			break;	
-    	    			
-    	    		case SECS_3:
-    	    			_autonTargetDriveTimeMSecs = 3 * 1000;
-    	    			break;
-    	    			
-    	    		case SECS_4:
-    	    			_autonTargetDriveTimeMSecs = 4 * 1000;
-    	    			break;
-    	    			
-    	    		case SECS_5:
-    	    			_autonTargetDriveTimeMSecs = 5 * 1000;
-    	    			break;
-    	    			
-    	    		case SECS_6:
-    	    			_autonTargetDriveTimeMSecs = 6 * 1000;
-    	    			break;
-    	    			
-    	    		case SECS_7:
-    	    			_autonTargetDriveTimeMSecs = 7 * 1000;
-    	    			break;
-    	    			
-    	    		case SECS_8:
-    	    			_autonTargetDriveTimeMSecs = 8 * 1000;
-    	    			break;
-    	    			
-    	    		case SECS_9:
-    	    			_autonTargetDriveTimeMSecs = 9 * 1000;
-    	    			break;
-    	    	}
-    			
-    			// determine the requested drive throttle 
-    			switch(inputDataValues.AutonDriveThrottlePercentRequested)
-    	    	{
-    	    		case PERCENT_10:
-    	    			_autonTargetDriveThrottlePercent = 0.10;
-    	    			break;
-    	    			
-    	    		case PERCENT_20:
-    	    			_autonTargetDriveThrottlePercent = 0.20;
-    	    			break;
-    	    			
-    	    		case PERCENT_30:
-    	    			_autonTargetDriveThrottlePercent = 0.30;
-    	    			break;
-    	    			
-    	    		case PERCENT_40:
-    	    			_autonTargetDriveThrottlePercent = 0.40;
-    	    			break;
-    	    			
-    	    		case PERCENT_50:
-    	    			_autonTargetDriveThrottlePercent = 0.50;
-    	    			break;
-    	    			
-    	    		case PERCENT_60:
-    	    			_autonTargetDriveThrottlePercent = 0.60;
-    	    			break;
-    	    		
-    	    		case PERCENT_70:
-    	    			_autonTargetDriveThrottlePercent = 0.70;
-    	    			break;
-    	    			
-    	    		case PERCENT_80:
-    	    			_autonTargetDriveThrottlePercent = 0.80;
-    	    			break;
-    	    			
-    	    		case PERCENT_90:
-    	    			_autonTargetDriveThrottlePercent = 0.90;
-    	    			break;
-    	    	}
-    			    			
-    			// puma up to cross defenses
-    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
-    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    			// low gear to cross defenses
-    			
-    			workingDataValues.AutonDriveFwdStartTime = new Date().getTime();
-    			
-    			
-    			break;
-    		
-    		case CROSS_DEFENSE:
-    	    	DriverStation.reportError("CrossDefenseType: [" + inputDataValues.AutonCrossDefenseTypeRequested.toString() + "]", false);
-    	    	
-    	    	// determine the requested drive throttle 
-    			switch(inputDataValues.AutonCrossDefenseTypeRequested)
-    	    	{
-    				case MOAT:
-    					_autonTargetDriveTimeMSecs = 3 * 1000;
-    					_autonTargetDriveThrottlePercent = 0.65;
-    					break;
-    					
-    				case RAMPARTS:
-    					_autonTargetDriveTimeMSecs = 5.75 * 1000;
-    					_autonTargetDriveThrottlePercent = 0.40;
-    					break;
-    					
-    				case ROCKWALL:
-    					_autonTargetDriveTimeMSecs = 5.25 * 1000;
-    					_autonTargetDriveThrottlePercent = 0.40;
-    					break;
-    					
-    				case ROUGH_TERRAIN:
-    					_autonTargetDriveTimeMSecs = 5 * 1000;
-    					_autonTargetDriveThrottlePercent = 0.40;
-    					break;    				
-    	    	}
-    			
-    	    	// determine the requested auto shooter mode
-    			switch(inputDataValues.AutonCrossDefensePosition)
-    	    	{
-    				case ZERO:
-    					_turretAutonPosition = 0.0;
-    					break;
-    					
-    				case TWO:
-    					_turretAutonPosition = 0.18;
-    					break;
-    					
-    				case THREE:
-    					_turretAutonPosition = -0.13;
-    					break;
-    					
-    				case FOUR:
-    					_turretAutonPosition = -0.55;
-    					break;
-    					
-    				case FIVE:
-    					_turretAutonPosition = -1.0;
-    					break;
-    	    	}
-    			
-    			DriverStation.reportError("DriveTimeInSecs: [" + _autonTargetDriveTimeMSecs + "]", false);
-    	    	DriverStation.reportError("DriveThrottlePercent: [" + _autonTargetDriveThrottlePercent + "]", false);
-    	    	DriverStation.reportError("CrossDefensePosition: [" + inputDataValues.AutonCrossDefensePosition.toString() + "]", false);
-    			
-    			// puma up to cross defenses
-    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
-    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    			
-    			// perimeter expansion should be out the entire match
-    			//outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_IN;
-    			
-    			workingDataValues.AutonDriveFwdStartTime = new Date().getTime();
-    			
-    			_sliderZeroStartTime = System.currentTimeMillis();
-	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
-	    		
-	    		_turretZeroStartTime = System.currentTimeMillis();
-	    		_turretZeroState = Turret_Zero_State.BEFORE_APPROACHING_SWITCH;
-	    		
-	    		//_crossDefenseAutonState = Cross_Defense_Auton_State.DRIVE_AND_ZERO;
-	    		_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.ZERO_AXES_AND_DRIVE;
-	    		DriverStation.reportError("Changing Auton State To: ZERO_AXES_AND_DRIVE | ", false);
-    	    	break;
-    			
-    		case AIM_AND_SHOOT:
-    			// puma up to cross defenses
-    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
-    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    			
-    			// perimeter expansion should be out the entire match
-    			//outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_IN;
-    			
-    			workingDataValues.AutonDriveFwdStartTime = new Date().getTime();
-    			
-    			_sliderZeroStartTime = System.currentTimeMillis();
-	    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
-	    		
-	    		_turretZeroStartTime = System.currentTimeMillis();
-	    		_turretZeroState = Turret_Zero_State.BEFORE_APPROACHING_SWITCH;
-    			
-    	    	_autoAimAndShootState = RobotData.Auto_Aim_And_Shoot_State.ZERO_AXES;
-    	    	DriverStation.reportError("Changing Auton State To: ZERO_AXES | ", false);
-    	    	
-    			break;
-    	    	
-    		default:
-    			break;
-    	}
+    	// setup the initial auton state (solenoid defaults & the settings of the selected auton mode)
+    	_controlLogic.AutonomousInit(_robotLiveData);
     	
     	// Optionally Setup logging to a usb stick
     	setupLogging("auton");
+    	startFlightRecorder("auton");
+    	startHighRateSampler("auton");
     }
 
 	// ========================================================================
@@ -890,35 +605,8 @@ public class Robot extends IterativeRobot
     	// ===============================
     	// Step 2: call the appropriate auton mode method
     	// ===============================
-    	switch(inputDataValues.AutonModeRequested)
-    	{
-    		case DO_NOTHING:
-    			autonomousDoNothing();
-    			break;
-    			
-    	    case ZERO_ALL_AXIS:
-    	     	autonomousZeroAllAxis();
-    	     	break;
-    	     	
-    	    case SHOOT_BALL:
-    	    	autonomousShootBall();
-    	    	break;
-    	    	
-    	    case DRIVE_FWD:
-    	    	autonomousDriveFwd();
-    	    	break;
-    	    	
-    	    case CROSS_DEFENSE:
-    	    	autonomousCrossDefense3();
-    	    	break;
-    	    
-    	    case AIM_AND_SHOOT:
-    	    	AimAndShoot();
-    	    	break;
-    	    	
-			default:
-				break;
-    	}
+    	_controlLogic.AutonomousPeriodic();
+    	_controlLogic.RecordStateChanges();
     	
     	// ===============================
     	// Step 3: Set outputs
@@ -1050,8 +738,8 @@ public class Robot extends IterativeRobot
     	// ==============================
     	UpdateDashboard(_robotLiveData);
     	
-    	// set last scan DT
-    	workingDataValues.LastScanDT = new Date();
+    	// set last scan time
+    	workingDataValues.LastScanMicroSecs = MonotonicClock.GetMicroSecs();
     	
     	// optionally send messages to the driver station
     	if ((outputDataValues.DriversStationMsg != null) && (outputDataValues.DriversStationMsg.length() > 0))
@@ -1068,706 +756,10 @@ public class Robot extends IterativeRobot
     		_dataLogger.WriteData(_robotLiveData);
     	}
     	
-    }
-        
-    // this auton mode just does nothing
-    public void autonomousDoNothing()
-    {
-    }
-    
-    // this auton mode sits still and zeros all axes
-    public void autonomousZeroAllAxis()
-    {
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	if(!_isSliderAxisZeroedYet)
-    	{
-    		ZeroSliderAxisReEntrant(_robotLiveData);
-    	}
-    	else
-    	{
-    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-    	}
-    	
-    	if(!_isInfeedTiltAxisZeroedYet)
-    	{
-    		ZeroInfeedTiltAxisReEntrant(_robotLiveData);
-    	}
-    }
-    
-    // this auton mode supports shooting the ball usally from the spybot position
-    public void autonomousShootBall()
-    {
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	if(!_isSliderAxisZeroedYet)
-    	{
-    		//ZeroSliderAxisReEntrant(_robotLiveData, _sliderAutonPosition);
-    		ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
-    	}
-    	
-    	// Step 1: Infeed Until Limit Switch Is Hit
-    	// Step 2: Set Slider Position
-    	// Step 3: Set Puma Back Position
-    	// Step 4: Start Shooter and wait for 3600 RPM
-    	// Step 5: Shoot (drive infeed up)
-    	switch (workingDataValues.AutonShootBallState)
-    	{
-    		case INFEED_1:
-    			if (!inputDataValues.IsBallInPosition)
-        		{
-        			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-        			DriverStation.reportError("Ball not in position", false);
-        		}
-        		else if(inputDataValues.IsBallInPosition)
-        		{
-        			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
-        			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.ADJUST_SLIDER_2;
-        			DriverStation.reportError("ChangingAutonModeTo: ADJUST_SLIDER_2", false);
-        		}
-    			
-    			outputDataValues.ShooterMtrCurrentVelocityCmd = _autonShooterWheelTargetRPM;
-    			outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
-    			workingDataValues.AutonShooterStartTime = new Date().getTime();
-    			break;
-    			
-    		case ADJUST_SLIDER_2:	
-				if(_isSliderAxisZeroedYet && (Math.abs(_sliderAutonPosition - inputDataValues.SliderCurrentPosition) < 2))
-				{
-					workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.CHANGE_PUMA_3;
-					DriverStation.reportError("ChangingAutonModeTo: CHANGE_PUMA_3", false);
-				}
-				else
-				{
-					DriverStation.reportError("Slider position not reached", false);
-				}
-    			break;
-    			
-    		case CHANGE_PUMA_3:
-    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.START_SHOOTER_4;
-    			DriverStation.reportError("ChangingAutonModeTo: START_SHOOTER_4", false);
-    			break;
-    			
-    		case START_SHOOTER_4:
-    			
-    			long elapsedTime = (new Date().getTime() - workingDataValues.AutonShooterStartTime);
-    			
-    			//workingDataValues.AutonShooterStartTime = new Date().getTime();
-    			if (inputDataValues.ShooterActualSpeed > (_autonShooterWheelTargetRPM * 0.95))
-    			{
-    				workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.SHOOT_5;
-    				DriverStation.reportError("Shooter reached target speed", false);
-    				DriverStation.reportError("ChangingAutonModeTo: SHOOT_5", false);
-    				DriverStation.reportError("Shooter motor speed: " + inputDataValues.ShooterActualSpeed, false);
-    			}
-    			else if (elapsedTime  >= RobotMap.SHOOTER_AUTON_START_MAX_TIME)
-	    		{
-	    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.SHOOT_5;
-	    			DriverStation.reportError("Shooter Timeout: waiting for target speed", false);
-	    			DriverStation.reportError("ChangingAutonModeTo: SHOOT_5", false);
-	    			DriverStation.reportError("Shooter motor speed: " + inputDataValues.ShooterActualSpeed, false);
-	    		}
-    			break;
-    		
-    		case SHOOT_5:
-    			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-    			DriverStation.reportError("ChangingAutonModeTo: WAIT_FOR_BALL_TO_SHOOT_6", false);
-    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.WAIT_FOR_BALL_TO_SHOOT_6;
-    			workingDataValues.AutonShooterStartTime = new Date().getTime();
-    			break;
-    		
-    		case WAIT_FOR_BALL_TO_SHOOT_6:
-    			long shooterElapsedTime = (new Date().getTime() - workingDataValues.AutonShooterStartTime);
-    			if (shooterElapsedTime  >= RobotMap.SHOOTER_AUTON_RUN_MAX_TIME)
-	    		{
-    				workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.STOP_SHOOTER_7;
-    				DriverStation.reportError("ChangingAutonModeTo: STOP_SHOOTER_7", false);
-	    		}
-    			break;
-    		
-    		case STOP_SHOOTER_7:
-    			outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
-    			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
-    			outputDataValues.KickerMtrVelocityCmd = 0.0;
-    			workingDataValues.AutonShootBallState = Auton_Shoot_Ball_State.AUTON_FINISHED_10;
-    			DriverStation.reportError("ChangingAutonModeTo: AUTON_FINISHED_10", false);
-    			break;
-    			
-    		case AUTON_FINISHED_10:
-    			break;
-    			
-    		default:
-    			break;
-    	}
-    }
-    
-    // This Auton mode supports driving formward usually across the defenses
-    public void autonomousDriveFwd()
-    {
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	long driveFwdElapsedTime = (new Date().getTime() - workingDataValues.AutonDriveFwdStartTime);
-		if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
-    	{
-    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
-    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-    	}
-    	else
-    	{
-        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
-        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-    	}
-    }
-    
-    // This Auton mode supports drive across the defenses and just maybe shootng the ball
-    public void autonomousCrossDefense()
-    {
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	VisionData visionData = _visionClient.GetVisionData();
-    	/*
-    	if(!_isSliderAxisZeroedYet)
-    	{
-    		ZeroSliderAxisReEntrant(_robotLiveData);
-    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
-    	}
-    	else
-    	{
-    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-    	}
-    	
-    	if (!_isTurretAxisZeroedYet)
-    	{
-    		ZeroTurretAxisReEntrant(_robotLiveData);
-    	}
-    
-    	
-    	// how long have we been driving
-    	long driveFwdElapsedTime = (new Date().getTime() - workingDataValues.AutonDriveFwdStartTime);
-    	
-		if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
-    	{
-    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
-    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-    	}
-    	else
-    	{
-        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
-        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-        	
-    		// drive to default position
-	    	outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(_turretAutonPosition);
-	    	_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
-	    	DriverStation.reportError("Turret target position: " + Double.toString(_turretAutonPosition), false);
-	    	
-	    	long startTime = System.currentTimeMillis();
-	    	long elapsedTime = 0L;
-	    	long maxTimeInMSec = 5000; // 5 secs
-	    	
-	    	// wait until we get close to the target
-	    	while((Math.abs(_turretMtr.getClosedLoopError()) > 400) && !isTimeout)
-	    	{	
-	        	elapsedTime = (new Date().getTime() - startTime);
-	    		
-	    		if (elapsedTime  >= maxTimeInMSec)
-	    		{
-	    			isTimeout = true;
-	    		}
-	    	}
-	    	
-	    	// now move to regular gains after the big move
-	    	if (Math.abs(_turretMtr.getClosedLoopError()) < 400)
-	    	{
-	    		_turretMtr.setPID(RobotMap.TURRET_FAST_KP, RobotMap.TURRET_FAST_KI, RobotMap.TURRET_FAST_KD, RobotMap.TURRET_FAST_KF, RobotMap.TURRET_FAST_IZONE, RobotMap.TURRET_FAST_RAMPRATE, RobotMap.TURRET_FAST_PROFILE);
-	    		_turretMtr.setProfile(RobotMap.TURRET_FAST_PROFILE);
-	    		DriverStation.reportError("Fast turret profile set", false);
-	    	}
-    	}
-    	*/
-    	long driveFwdElapsedTime = (new Date().getTime() - workingDataValues.AutonDriveFwdStartTime);
-    	
-		switch (_crossDefenseAutonState)
-		{
-			case DRIVE_AND_ZERO:
-				// Zero the slider and turret axis
-				if(!_isSliderAxisZeroedYet)
-		    	{
-		    		ZeroSliderAxisReEntrant(_robotLiveData);
-		    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
-		    	}
-		    	else
-		    	{
-		    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-		    	}
-		    	
-		    	if (!_isTurretAxisZeroedYet)
-		    	{
-		    		ZeroTurretAxisReEntrant(_robotLiveData);
-		    	}
-		    	
-		    	// drive forward for the set time and speed selected on the dashboard
-		    	if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
-		    	{
-		    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
-		    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-		    	}
-		    	else
-		    	{
-		        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
-		        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-		    	}
-		    	
-		    	// if both axis are zeroed and we've moved for the set time, go to the next state
-		    	if (_isSliderAxisZeroedYet && _isTurretAxisZeroedYet && (driveFwdElapsedTime  >= _autonTargetDriveTimeMSecs))
-    			{
-		    		_crossDefenseAutonState = Cross_Defense_Auton_State.COARSE_TURRET_TO_TARGET;
-		    		DriverStation.reportError("Changing Auton State To: COARSE_TURRET_TO_TARGET", false);
-    			}
-    			
-				break;
-				
-			case COARSE_TURRET_TO_TARGET:
-				// Drive the turret to a preset position based on the location of the defense to get us close enough to ensure valid vision data
-				outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(_turretAutonPosition);
-		    	_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
-		    	DriverStation.reportError("Turret target position: " + Double.toString(_turretAutonPosition), false);
-		    	
-		    	// Make sure ball goes up to the limit switch
-    			if (!inputDataValues.IsBallInPosition)
-        		{
-        			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-        			DriverStation.reportError("Ball not in position", false);
-        		}
-        		else if(inputDataValues.IsBallInPosition)
-        		{
-        			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
-        			DriverStation.reportError("Ball in position", false);
-        		}
-    			
-    			// if the ball is on the limit switch and the turret is within the deadband, move to the next state
-    			if (inputDataValues.IsBallInPosition && (Math.abs(_turretMtr.getClosedLoopError()) < RobotMap.TURRET_AUTON_MAX_CLOSED_LOOP_ERROR))
-    			{
-    				_turretMtr.setPID(RobotMap.TURRET_MEDIUM_KP, RobotMap.TURRET_MEDIUM_KI, RobotMap.TURRET_MEDIUM_KD, RobotMap.TURRET_MEDIUM_KF, RobotMap.TURRET_MEDIUM_IZONE, RobotMap.TURRET_MEDIUM_RAMPRATE, RobotMap.TURRET_MEDIUM_PROFILE);
-		    		_turretMtr.setProfile(RobotMap.TURRET_MEDIUM_PROFILE);
-		    		DriverStation.reportError("Fast turret profile set", false);
-    				
-    				_crossDefenseAutonState = Cross_Defense_Auton_State.FINE_TURRET_TO_TARGET;
-    				DriverStation.reportError("Changing Auton State To: FINE_TURRET_TO_TARGET", false);
-    			}
-				break;
-				
-			case FINE_TURRET_TO_TARGET:
-				if (visionData != null){
-					outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(inputDataValues.TurretEncoderCurrentPosition
-																+ ((RobotMap.TURRET_GEAR_RATIO * inputDataValues.DesiredTurretTurnInDegrees)/360.0));
-					DriverStation.reportError("Desired Turret Turn: " + Double.toString(inputDataValues.DesiredTurretTurnInDegrees), false);
-					DriverStation.reportError("Turret Target Position Cmd: " + Double.toString(outputDataValues.TurretTargetPositionCmd), false);
-					
-					if (Math.abs(visionData.DesiredTurretTurnInDegrees) < RobotMap.TURRET_AUTON_MAX_ADJUSTABLE_ERROR_IN_DEGREES)
-					{
-						_crossDefenseAutonState = Cross_Defense_Auton_State.SHOOT;
-						DriverStation.reportError("Changing Auton State To: SHOOT", false);
-					}
-				}
-				else 
-				{
-					DriverStation.reportError("Not recieving valid vision data", false);
-				}
-				break;
-				
-			case SHOOT:
-				outputDataValues.ShooterMtrCurrentVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
-				outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
-				
-				if (inputDataValues.ShooterActualSpeed > (RobotMap.SHOOTER_TARGET_MOTOR_RPM * 0.95))
-				{
-					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-				}
-				break;
-				
-			case TIMEOUT:
-				DriverStation.reportError("Cross Defense Auton Timed Out", false);
-				break;	
-		}	
-    }
-    
-    public void autonomousCrossDefense2()
-    {
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-
-    	
-    	if(!_isSliderAxisZeroedYet)
-    	{
-    		ZeroSliderAxisReEntrant(_robotLiveData);
-    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
-    	}
-    	else
-    	{
-    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-    	}
-    	
-    	if (!_isTurretAxisZeroedYet)
-    	{
-    		ZeroTurretAxisReEntrant(_robotLiveData);
-    	}
-    
-    	
-    	// how long have we been driving
-    	long driveFwdElapsedTime = (new Date().getTime() - workingDataValues.AutonDriveFwdStartTime);
-    	
-		if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
-    	{
-    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
-    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-    	}
-    	else
-    	{
-        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
-        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-        	
-    		// drive to default position
-	    	outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(_turretAutonPosition);
-	    	DriverStation.reportError("Turret target position: " + Double.toString(_turretAutonPosition), false);
-	    	
-	    	double turretPositionErrorInRotations = outputDataValues.TurretTargetPositionCmd - _turretMtr.getPosition(); 
-	    	DriverStation.reportError("Turret Position Error: " + Double.toString(turretPositionErrorInRotations) + "| ", false);
-	    	if (Math.abs(turretPositionErrorInRotations) > 0.5)
-			{
-				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-				{
-					// switch to % VBUS Mode
-    				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-    				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-				}
-				
-				if (turretPositionErrorInRotations > 0)
-				{
-    				outputDataValues.TurretVelocityCmd = 0.10;
-    				//DriverStation.reportError("Turret Speed at 10% | ", false);
-				}
-				else
-				{
-    				outputDataValues.TurretVelocityCmd = -0.10;
-    				//DriverStation.reportError("Turret Speed at -10% | ", false);
-				}    					
-			}
-			else
-			{
-				//_autoAimAndShootState = Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET;
-				DriverStation.reportError("Switching to coarse adjustmennt", false);
-				outputDataValues.TurretVelocityCmd = 0.0;
-			}
-	    	
-	    	if (_visionClient != null)
-	    	{
-	    		DriverStation.reportError("Desired Turret Turn: " + Double.toString(inputDataValues.DesiredTurretTurnInDegrees), false);
-	    	}
-    	}
-    }
-    
-    public void autonomousCrossDefense3()
-    {
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	VisionData visionData = _visionClient.GetVisionData();
-    	    	
-    	switch (_crossDefenseAutoAimAndShootState)
-    	{
-	    	case ZERO_AXES_AND_DRIVE:
-	    		
-	    		// zero the Slider Axis
-    	    	if(!_isSliderAxisZeroedYet)
-    	    	{
-    	    		ZeroSliderAxisReEntrant(_robotLiveData);
-    	    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
-    	    	}
-    	    	else
-    	    	{
-    	    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-    	    	}
-    	    	
-    	    	// Zero the Turret
-    	    	if (!_isTurretAxisZeroedYet)
-    	    	{
-    	    		ZeroTurretAxisReEntrant(_robotLiveData);
-    	    	}
-    	    	
-    	    	// how long have we been driving
-    	    	long driveFwdElapsedTime = (new Date().getTime() - workingDataValues.AutonDriveFwdStartTime);
-    	    	
-    	    	if (driveFwdElapsedTime  <= _autonTargetDriveTimeMSecs)
-    	    	{
-    	    		// drive forward
-    	    		outputDataValues.ArcadeDriveThrottleAdjCmd = _autonTargetDriveThrottlePercent;
-    	    		outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-    	    	}
-    	    	else
-    	    	{
-    	    		// stop driving
-    	        	outputDataValues.ArcadeDriveThrottleAdjCmd = 0;
-    	        	outputDataValues.ArcadeDriveTurnAdjCmd = 0;
-    	    	}
-    	    	
-    	    	// how far is the slider from the desired location?
-    	    	double sliderPositionError = Math.abs(outputDataValues.SliderTargetPositionCmd - _sliderMtr.getPosition());
-    	    	
-    	    	// check the exit conditions for this state
-    	    	if(_isSliderAxisZeroedYet 
-    	    			&& _isTurretAxisZeroedYet 
-    	    			&& (sliderPositionError < 1.0) 
-    	    			&& (driveFwdElapsedTime  >= _autonTargetDriveTimeMSecs)
-    	    			&& (outputDataValues.SliderTargetPositionCmd == RobotMap.SLIDER_DEFAULT_TARGET_POSITION))
-    	    	{
-    	    		DriverStation.reportError("Changing Auton State To: GROSS_TURRET_TO_TARGET | ", false);
-    	    		_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.GROSS_TURRET_TO_TARGET;
-    	    		
-    	    		//DriverStation.reportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ", false);
-    				//_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
-    	    	}
-    			break;
-    			
-    		case GROSS_TURRET_TO_TARGET:
-    			
-    			/*
-    			     				case ZERO:
-    					_turretAutonPosition = 0.0;
-    					break;
-    					
-    				case TWO:
-    					_turretAutonPosition = 0.18;
-    					break;
-    					
-    				case THREE:
-    					_turretAutonPosition = -0.13;
-    					break;
-    					
-    				case FOUR:
-    					_turretAutonPosition = -0.55;
-    					break;
-    					
-    				case FIVE:
-    					_turretAutonPosition = -1.0;
-    					break;
-    			*/
-    			
-    			// how far is the turrent from the desired location?
-    			double turretPositionErrorInRotations = CalcTurretTargetPosition(_turretAutonPosition) - _turretMtr.getPosition(); 
-    			
-    			if (Math.abs(turretPositionErrorInRotations) > 0.25)
-    			{
-    				if ((inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
-    						&& (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS))
-    				{
-	    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-	    				{
-	    					// switch to % VBUS Mode
-	        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-	        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-	    				}
-	    				
-	    				if (turretPositionErrorInRotations > 0)
-	    				{
-	        				outputDataValues.TurretVelocityCmd = 0.12;
-	        				//DriverStation.reportError("Turret Speed at 10% | ", false);
-	    				}
-	    				else
-	    				{
-	        				outputDataValues.TurretVelocityCmd = -0.12;
-	        				//DriverStation.reportError("Turret Speed at -10% | ", false);
-	    				}  
-    				}
-    				else
-    				{
-    					outputDataValues.TurretVelocityCmd = 0.0;
-    					DriverStation.reportError("Turret soft limit reached in auton", false);
-    				}
-    			}
-    			else
-    			{
-    				DriverStation.reportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ", false);
-    				_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
-    			}
-    			break;
-    			
-    		case COARSE_TURRET_TO_TARGET:
-    			if (visionData != null && visionData.IsValidData == true){
-    				outputDataValues.TurretVelocityCmd = 0.0;
-    				
-	    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_COARSE_ADJUST_DEADBAND) // Originally was 10
-	    			{
-	    				if ((inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
-	    						&& (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS))
-	    				{
-		    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-		    				{
-		    					// switch to % VBUS Mode
-		        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-		        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-		    				}
-		    				
-		    				if (visionData.DesiredTurretTurnInDegrees > 0)
-		    				{
-			    				outputDataValues.TurretVelocityCmd = RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
-			    				//DriverStation.reportError("Turret Speed at 10% | ", false);
-		    				}
-		    				else
-		    				{
-			    				outputDataValues.TurretVelocityCmd = -1.0 * RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
-			    				//DriverStation.reportError("Turret Speed at -10% | ", false);
-		    				} 
-	    				}
-	    				else
-	    				{
-	    					outputDataValues.TurretVelocityCmd = 0.0;
-	    					DriverStation.reportError("Turret soft limit reached in auton", false);
-	    				}
-	    			}
-	    			else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 0.0)
-	    			{
-	    				_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET;
-	    				_currentTurretVBusCmdBias = 0;
-	    				//outputDataValues.TurretVelocityCmd = 0.0;
-						DriverStation.reportError("Changing Auton State To: FINE_TURRET_TO_TARGET | ", false);
-	    			}
-	    			else
-	    			{
-	    				DriverStation.reportError("Coarse Vision Data looks invalid" , false);
-	    			}
-    			}
-    			else
-    			{
-    				DriverStation.reportError("Vision Data looks invalid", false);
-    			}
-    			//_turretMtr.set(outputDataValues.TurretVelocityCmd);
-    			//DriverStation.reportError("Turret Velocity Cmd: " + Double.toString(outputDataValues.TurretVelocityCmd) + "| ", false);
-    			break;
-    			
-    		case FINE_TURRET_TO_TARGET:
-    			
-    			DriverStation.reportError("TopVisionCmd= " + visionData.DesiredTurretTurnInDegrees + " | ", false);
-    			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0; // in case we looped back from shoot mode
-    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_FINE_ADJUST_DEADBAND) // Originally was 1.5
-    			{
-    				if ((inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
-    						&& (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS))
-    				{
-	    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-	    				{
-	    					// switch to % VBUS Mode
-	        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-	        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-	    				}
-	    				
-	    				// calc new bias if we have not moved
-	    				if((_turretEncoderLastScanPosition != 0)
-	    						&& (_turretEncoderLastScanPosition == inputDataValues.TurretEncoderCurrentPosition))
-	    				{
-	    					// if we have not moved since last scan, bump bias
-	    					if (_currentTurretVBusCmdBias < RobotMap.TURRET_VBUS_CMD_MAX_BUMP)
-	    					{
-		    					_currentTurretVBusCmdBias = (_currentTurretVBusCmdBias + RobotMap.TURRET_VBUS_CMD_BUMP);
-		    					DriverStation.reportError("Fine adjustment vbus cmd increased", false);
-	    					}
-	    					else 
-	    					{
-	    						DriverStation.reportError("Fine adjustment vbus cmd maxed out", false);
-	    					}
-	    				}
-	    				else 
-	    				{
-	    					_currentTurretVBusCmdBias = 0.0;
-	    					DriverStation.reportError("V bus cmd bias reset", false);
-	    				}
-	    				
-	    				// decide what direction turn
-	    				if (visionData.DesiredTurretTurnInDegrees > 0)
-	    				{
-		    				outputDataValues.TurretVelocityCmd = (RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED + _currentTurretVBusCmdBias) ;
-		    				//DriverStation.reportError("Turret Speed at 5% | ", false);
-	    				}
-	    				else
-	    				{
-		    				outputDataValues.TurretVelocityCmd = -1.0 * (RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED + _currentTurretVBusCmdBias);
-		    				//DriverStation.reportError("Turret Speed at -5% | ", false);
-	    				}
-	    				
-	    				_turretEncoderLastScanPosition = inputDataValues.TurretEncoderCurrentPosition;
-    				}
-    				else
-    				{
-    					outputDataValues.TurretVelocityCmd = 0.0;
-    					DriverStation.reportError("Turret soft limit reached in auton", false);
-    				}
-    			}
-    			else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 0.0)
-    			{
-    	    		// switch to PID Position Mode
-    	    		
-    	    		// stop driving the axis
-    	    		outputDataValues.TurretVelocityCmd = 0;
-    		    	//_turretMtr.set(outputDataValues.TurretVelocityCmd);
-    	    		
-    		    	// now switch to position loop mode
-    		    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-    		    	outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
-    		    	DriverStation.reportError("Turret changing to Position mode | ", false);
-    		    	
-    		    	try {
-    		    		 //sleep a little to let the zero occur
-    					Thread.sleep(1);
-    				} catch (InterruptedException e) {
-    					 //TODO Auto-generated catch block
-    					e.printStackTrace();
-    				}
-    				
-    		    	_crossDefenseAutoAimAndShootState = Cross_Defense_Auto_Aim_And_Shoot_State.SHOOT;
-					DriverStation.reportError("Changing Auton State To: SHOOT | ", false);
-					DriverStation.reportError("VisionCmd= " + visionData.DesiredTurretTurnInDegrees + " | ", false);
-					DriverStation.reportError("VisionCmd= " + visionData.IsValidData + " | ", false);
-    			}
-    			else
-    			{
-    				DriverStation.reportError("Fine Vision Data looks invalid" , false);
-    			}
-    			DriverStation.reportError("Turret Velocity Cmd: " + Double.toString(outputDataValues.TurretVelocityCmd) + "| ", false);
-    			//_turretMtr.set(outputDataValues.TurretVelocityCmd);
-				break;
-    			
-    		case SHOOT:
-				// wait until we reach 95% of target wheel speed
-    			if (Math.abs(_navXSensor.getRawAccelX()) > 0.0)
-    			{
-    				DriverStation.reportError("AccelX= " + _navXSensor.getRawAccelX() + " | ", false);
-    			}
-    			if (Math.abs(_navXSensor.getRawAccelY()) > 0.0)
-    			{
-    				DriverStation.reportError("AccelY= " + _navXSensor.getRawAccelY() + " | ", false);
-    			}
-    			
-				if (inputDataValues.ShooterActualSpeed > (RobotMap.SHOOTER_TARGET_MOTOR_RPM * 0.95))
-				{
-					// start the infeed to drive the ball up into the shooter
-					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-				}
-				// drive both sets of wheels
-    			outputDataValues.ShooterMtrCurrentVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
-				outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
-    			break;
-    			
-    		case TIMEOUT:
-    			DriverStation.reportError("Error... Auto Aim and Shoot sequence timed out | ", false);
-    			break;
-    	}
+    	// =============================
+    	// 6.0 Flight Recorder
+    	// =============================
+    	recordFlightData();
     }
     /*
      *****************************************************************************************************
@@ -1777,27 +769,15 @@ public class Robot extends IterativeRobot
      */
     public void teleopInit()
     {
-    	//server.startAutomaticCapture(_currentCameraName);
+    	//server.startAutomaticCapture(_controlLogic.GetCurrentCameraName());
     	
     	_robotLiveData = new RobotData();
     	//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
     	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	VisionData visionData = _visionClient.GetVisionData();
-    	
-    	// set motors to 0 position/velocity command 
-    	outputDataValues.ArcadeDriveThrottleAdjCmd = 0.0;
-    	outputDataValues.ArcadeDriveTurnAdjCmd = 0.0;
-    	outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
-    	outputDataValues.InfeedTiltMtrVelocityCmd = 0.0;
-    	outputDataValues.CupidServoPositionCmd = 0.0;
-    	    	
-    	outputDataValues.KickerMtrVelocityCmd = 0.0;
-    	outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
-    	outputDataValues.ShooterMtrTargetVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
-    	outputDataValues.SliderVelocityCmd = 0.0;
-    	    	
+    	
+    	// set the initial telop values (motor cmds, solenoid defaults, toggles & elevator state)
+    	_controlLogic.TeleopInit(_robotLiveData);
+    	
     	// initialize axis (Encoder) positions (for any talon where we care about position but do not have a home position
     	_leftDriveMasterMtr.setPosition(0);
     	_rightDriveMasterMtr.setPosition(0);
@@ -1810,65 +790,14 @@ public class Robot extends IterativeRobot
     	_kickerMtr.set(outputDataValues.KickerMtrVelocityCmd);
     	//_sliderMtr.set(outputDataValues.SliderVelocityCmd);
     	_cupidServo.set(outputDataValues.CupidServoPositionCmd);
-    	  	    	
-    	// init the drive speed scaling factor to 70%
-    	workingDataValues.DriveSpeedScalingFactor = 0.7;
-
-    	// set our desired default state for the puma solenoids
-    	outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
-    	outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    	outputDataValues.PerimeterSolenoidPosition = RobotMap.PERIMETER_EXPANSION_OUT;
-    	
-    	// set initial state of "pressed last scan" working values to be false
-    	workingDataValues.IsPumaFrontToggleBtnPressedLastScan = false;
-    	workingDataValues.IsPumaBackToggleBtnPressedLastScan = false;
     	
     	// send the initial states to the solenoids
     	_pumaFrontSolenoid.set(outputDataValues.PumaFrontSolenoidPosition);
     	_pumaBackSolenoid.set(outputDataValues.PumaBackSolenoidPosition);
     	_perimeterExpansionSolenoid.set(outputDataValues.PerimeterSolenoidPosition);
     	
-    	inputDataValues.IsInfeedAcquireBtnPressed = false;
-    	inputDataValues.IsInfeedReleaseBtnPressed = false;
-    	workingDataValues.IsTurretEncoderDegreesTargetYet = false;
-    	workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
-    	DriverStation.reportError("Elevator switching to HONOR_INFEED_TRIGGERS state", false);
-    	
-    	_isInfeedPeriodZeroMode = false;
-    	
-    	_and1ServoDirState = And1_Servo_Dir_State.UNDEFINED;
-    	
-    	workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2800;
-    	outputDataValues.ShooterMtrAltTargetVelocityCmd = 2800;
-    	
-    	workingDataValues.IsShooterAltModeEnabledLastScan = false;
-    	
-    	if (!_isTurretAxisZeroedYet)
-    	{
-    		ZeroTurretAxis(_robotLiveData);
-    	}
-    	else
-    	{
-    		outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
-    	}
-    	
-    	if (!_isInfeedTiltAxisZeroedYet)
-    	{
-    		ZeroInfeedTiltAxis(_robotLiveData);
-    	}
-    	else 
-    	{
-    		outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
-    	}
-    	
-    	if (!_isSliderAxisZeroedYet)
-    	{
-    		ZeroSliderAxis(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
-    	}
-    	else
-    	{
-    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-    	}
+    	// zero the absolute position axes (if they have not been zeroed yet)
+    	_controlLogic.TeleopZeroAxes();
     	
     	// optionally shut down vision processing
     	/*
@@ -1880,13 +809,14 @@ public class Robot extends IterativeRobot
     	*/
     	
     	// start the camera
-    	//server.startAutomaticCapture(_currentCameraName);
+    	//server.startAutomaticCapture(_controlLogic.GetCurrentCameraName());
     	
     	// ===================
     	// optionally setup logging to USB Stick (if it is plugged into one of the RoboRio Host USB ports)
     	// ===================
     	setupLogging("telop");
-    	
+    	startFlightRecorder("telop");
+    	startHighRateSampler("telop");
     }
     	
     /*
@@ -1912,877 +842,47 @@ public class Robot extends IterativeRobot
     	InputData inputDataValues = _robotLiveData.InputDataValues;
     	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
     	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	VisionData visionData = _visionClient.GetVisionData();
         	
     	// =====================================
     	// Step 1: Get Inputs  and Update Working Values
     	// =====================================
     	UpdateInputAndCalcWorkingDataValues(inputDataValues, workingDataValues);
-    	outputDataValues.DriversStationMsg = "";    
     	
     	// =====================================
-    	// === Step 2.1: Calc New Drive Motor Speeds ===
+    	// Step 2: Calc the new output values (drive, infeed, turret, slider, shooter, camera, climb, cupid, and1 & pumas)
+    	// =====================================
+    	_controlLogic.TeleopPeriodic();
+    	_controlLogic.RecordStateChanges();
+    	
+    	// =====================================
+    	// Step 3: Push the target Outputs out to the physical devices
     	// =====================================
-    	// set the drive speed scale factor (currently we support 0.7 & 1.0)
-    	// 	notes: 	this is a toggle,  the previous value is retained between scans
-    	//			need to de-bounce key press since the scan rate is so fast 
-    	if(inputDataValues.IsScaleDriveSpeedUpBtnPressed 
-    			&& inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	
+    	// set solenoids state
+    	_pumaFrontSolenoid.set(outputDataValues.PumaFrontSolenoidPosition);
+    	_pumaBackSolenoid.set(outputDataValues.PumaBackSolenoidPosition);
+    	
+    	// set motor commmands
+    	_robotDrive.arcadeDrive((-1.0 * outputDataValues.ArcadeDriveThrottleAdjCmd), (-1.0 * outputDataValues.ArcadeDriveTurnAdjCmd), false);
+    	
+    	_infeedAcqMtr.set(outputDataValues.InfeedAcqMtrVelocityCmd);
+    	
+    	if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.Position)
     	{
-    		// Don't change scale factor if both buttons are pressed
+    		_infeedTiltMtr.set(outputDataValues.InfeedTiltTargetPositionInRotationsCmd);
     	}
-    	else if(inputDataValues.IsScaleDriveSpeedUpBtnPressed 
-    			&& !inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	else if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
     	{
-    		// scale up
-    		workingDataValues.DriveSpeedScalingFactor = 1;
+    		_infeedTiltMtr.set(outputDataValues.InfeedTiltMtrVelocityCmd);
     	}
-    	else if(!inputDataValues.IsScaleDriveSpeedUpBtnPressed
-    			&& inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	 
+    	if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.Position)
     	{
-    		// scale down
-    		workingDataValues.DriveSpeedScalingFactor = 0.65;
+    		_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
     	}
-    	else if(!inputDataValues.IsScaleDriveSpeedUpBtnPressed 
-    			&& !inputDataValues.IsScaleDriveSpeedDownBtnPressed)
+    	else if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
     	{
-    		// if neither button is pressed do nothing
-    	}
-    	
-    	// =====================================
-    	// This code block implements a Robot Chassis "tilt safety" feature
-    	//		if the chassis tilt angle as measured by the NavX sensor exceeds a threshhold, override the operator input to prevent tipping 
-    	// =====================================
-    	double tiltSafetyScalingFactor = 1.0;
-    	double kissCamSpeedReductionFactor = 1.0;
-    	
-    	if (_currentCameraName == RobotMap.CUPID_CAMERA_NAME)
-    	{
-    		kissCamSpeedReductionFactor = 0.5;
-    	}
-    	else
-    	{
-    		kissCamSpeedReductionFactor = 1.0;
-    	}
-    	
-    	if(inputDataValues.NavxIsConnected)
-    	{
-    		// based on direction
-    		if (inputDataValues.ArcadeDriveThrottleRawCmd < 0.0)
-    		{
-    			// "fwd" direction is towards the flyer 
-    			if (inputDataValues.NavxRoll >= RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_CUTOFF)
-    			{
-    				tiltSafetyScalingFactor = -0.4;
-    				DriverStation.reportError("Fwd Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
-    											+ " Exceeds Cutoff: " + String.format("%.1f", RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_CUTOFF) 
-    											+ " Safety Engaged|", false);
-    				workingDataValues.IsFwdDriveTiltSafetyEngagedLastScan = true;
-    			}
-    			else if (inputDataValues.NavxRoll >= RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_REENABLE && workingDataValues.IsFwdDriveTiltSafetyEngagedLastScan)
-    			{
-    				tiltSafetyScalingFactor = 0.0;
-    				DriverStation.reportError("Fwd Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
-												+ " Exceeds Reenable: " + String.format("%.1f", RobotMap.ROBOT_FWD_DRIVE_MAX_TILT_REENABLE) 
-												+ " Safety Still Engaged|", false);
-    			}
-    			else
-    			{
-    				workingDataValues.IsFwdDriveTiltSafetyEngagedLastScan = false;
-    			}
-    		}
-    		else if (inputDataValues.ArcadeDriveThrottleRawCmd > 0.0)
-    		{
-    			// "rev" direction is opposite the flyer 
-    			if (inputDataValues.NavxRoll <= RobotMap.ROBOT_REV_DRIVE_MAX_TILT_CUTOFF)
-    			{
-    				tiltSafetyScalingFactor = -0.4;
-    				DriverStation.reportError("Rev Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
-    											+ " Exceeds Cutoff: " + String.format("%.1f", RobotMap.ROBOT_REV_DRIVE_MAX_TILT_CUTOFF) 
-    											+ " Safety Engaged|", false);
-    				
-    				workingDataValues.IsRevDriveTiltSafetyEngagedLastScan = true;
-    			}
-    			else if (inputDataValues.NavxRoll <= RobotMap.ROBOT_REV_DRIVE_MAX_TILT_REENABLE && workingDataValues.IsRevDriveTiltSafetyEngagedLastScan)
-    			{
-    				tiltSafetyScalingFactor = 0.0;
-    				DriverStation.reportError("Rev Tilt Angle " + String.format("%.1f", inputDataValues.NavxRoll) 
-												+ " Exceeds Reenable: " + String.format("%.1f", RobotMap.ROBOT_REV_DRIVE_MAX_TILT_REENABLE) 
-												+ " Safety Still Engaged|", false);
-    			}
-    			else
-    			{
-    				workingDataValues.IsRevDriveTiltSafetyEngagedLastScan = false;
-    			}
-    		}
-    	}
-    	
-    	outputDataValues.ArcadeDriveThrottleAdjCmd 
-    			= inputDataValues.ArcadeDriveThrottleRawCmd * workingDataValues.DriveSpeedScalingFactor
-    				* tiltSafetyScalingFactor * kissCamSpeedReductionFactor; 
-    	if (!_isClimbEnabled){
-	    	outputDataValues.ArcadeDriveTurnAdjCmd 
-	    			= inputDataValues.ArcadeDriveTurnRawCmd * workingDataValues.DriveSpeedScalingFactor * tiltSafetyScalingFactor * 0.6;
-    	}
-
-    	// =====================================
-    	// Step 2.2:  Infeed Tilt (Tilt the infeed up and down)
-    	// =====================================    	
-    	if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.Position)
-    	{
-    		if (_isInfeedPeriodZeroMode && !_isInfeedTiltAxisZeroedYet)
-    		{
-    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
-    		}
-    		else if (_isInfeedPeriodZeroMode && _isInfeedTiltAxisZeroedYet)
-    		{
-    			_infeedTiltMtr.set(RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS);
-    			_isInfeedPeriodZeroMode = false;
-    			DriverStation.reportError("Infeed Tilt encoder rezeroed", false);
-    		}
-    		else if (inputDataValues.IsInfeedTiltDeployBtnPressed && !inputDataValues.IsInfeedTiltStoreBtnPressed)
-    		{
-    			// rotate down;
-    			outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_DEPLOYED_POSITION_CMD;
-    		}
-    		else if (!inputDataValues.IsInfeedTiltDeployBtnPressed && inputDataValues.IsInfeedTiltStoreBtnPressed && !workingDataValues.IsInfeedTiltStoreBtnPressedLastScan)
-    		{
-    			// rotate up
-    			//outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
-    			
-    			// special zero mode in periodic
-    			_isInfeedPeriodZeroMode = true;
-    			_isInfeedTiltAxisZeroedYet = false;
-    			_infeedTiltZeroState = Infeed_Tilt_Zero_State.TILT_TO_HOME;
-    			_infeedTiltZeroStartTime = System.currentTimeMillis();
-    			
-    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
-    			//outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS;
-    		}
-    		else if (inputDataValues.IsInfeedTiltFixedBtnPressed && !workingDataValues.IsInfeedTiltFixedBtnPressedLastScan)
-    		{
-    			//outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_FIXED_POSITION_CMD;
-    			// No longer required with smaller infeed (originally used as a counterweight)
-    		}
-    		else if (!inputDataValues.IsInfeedTiltDeployBtnPressed && !inputDataValues.IsInfeedTiltStoreBtnPressed)
-    		{
-    			if ((inputDataValues.InfeedTiltUpCmd > 0.1) && (inputDataValues.InfeedTiltDownCmd < 0.1))		// remember, "up" on the joystick is a - value, (we use .1 as joystick deadband)
-    			{
-    				outputDataValues.InfeedTiltTargetPositionInRotationsCmd = outputDataValues.InfeedTiltTargetPositionInRotationsCmd + 0.01;
-    				
-    				// If the position is greater than 90 degrees = 0.25 rotations, prevent infeed from continuing to drive up
-    				if (outputDataValues.InfeedTiltTargetPositionInRotationsCmd > RobotMap.INFEED_TILT_STORED_POSITION_CMD)
-    				{
-    					DriverStation.reportError("Upper Soft Limit Reached", false);
-    					outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
-    				}
-    			}
-    			else if ((inputDataValues.InfeedTiltUpCmd < 0.1) && (inputDataValues.InfeedTiltDownCmd > 0.1))	// remember, "down" on the joystick is a + value, (we use .1 as joystick deadband)
-    			{
-    				outputDataValues.InfeedTiltTargetPositionInRotationsCmd = outputDataValues.InfeedTiltTargetPositionInRotationsCmd - 0.01;
-    				
-    				// If the position is less than 0 degrees = -0.13 rotations, prevent infeed from continuing to drive down
-    				if (outputDataValues.InfeedTiltTargetPositionInRotationsCmd < RobotMap.INFEED_TILT_LOWER_LIMIT_PUMA_UP)
-    				{
-    					DriverStation.reportError("Lower Soft Limit Reached", false);
-    					outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_LOWER_LIMIT_PUMA_UP;
-    				}
-    			}
-    			else
-    			{
-    				// else we are within the joystick deadband, so do nothing
-    			}
-    		}
-    	}
-    	else if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
-    	{
-    		if (_isInfeedPeriodZeroMode && !_isInfeedTiltAxisZeroTimedOut)
-    		{
-    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
-    		}
-    		else if (_isInfeedPeriodZeroMode && _isInfeedTiltAxisZeroTimedOut && inputDataValues.IsInfeedTiltStoreBtnPressed)
-    		{
-    			// if infeed fails to zero (ex. if ball was in the elevator) restart the zero function 
-    			
-    			// special zero mode in periodic
-    			_isInfeedPeriodZeroMode = true;
-    			_isInfeedTiltAxisZeroedYet = false;
-    			_isInfeedTiltAxisZeroTimedOut = false;
-    			_infeedTiltZeroState = Infeed_Tilt_Zero_State.TILT_TO_HOME;
-    			_infeedTiltZeroStartTime = System.currentTimeMillis();
-    			
-    			ZeroInfeedTiltAxisReEntrant(_robotLiveData);
-    			
-    		}
-    		else
-    		{
-    			// we determined that 9% will roughly hold the axis at its current position when the axis is near flat
-        		outputDataValues.InfeedTiltMtrVelocityCmd = 0.09;
-    		}
-    	}
-    	
-    	// =====================================
-    	// Step 2.3 Infeed Acquisition 
-    	// =====================================
-    	// Run infeed motors based on command from acquire and release buttons
-    	if(inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
-    	{
-    		// do nothing if both buttons are pressed
-    	}
-    	
-    	// implement state machine for the the elevator controls
-    	switch (workingDataValues.TeleopElevatorState)
-    	{    			
-    		case HONOR_INFEED_TRIGGERS:
-    			
-    			if (inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-    				if(inputDataValues.IsBallInPosition)
-    				{
-    					// stop infeed
-	        			outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
-	        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.ON_BALL_IN_POSITION_SWITCH;
-	        			DriverStation.reportError("Elevator switching to ON_BALL_IN_POSITION_SWITCH state", false);
-    				}
-    				else
-    				{
-	    				// drive infeed at full speed fwd
-	        			outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-    				}
-    			}
-    			else if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-    				// drive infeed at full speed reverse
-        			outputDataValues.InfeedAcqMtrVelocityCmd = -1.0;
-    			}
-    			else
-    			{
-    				// stop infeed
-    				outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
-    			}
-    			break;
-    			
-    		case ON_BALL_IN_POSITION_SWITCH:
-    			workingDataValues.InfeedPauseOnBallInPositionSwitchStartTime = new Date().getTime();
-    			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.IN_DELAY_PERIOD;
-    			DriverStation.reportError("Elevator switching to IN_DELAY_PERIOD state", false);
-    			break;
-    				
-    		case IN_DELAY_PERIOD:
-    			if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-    				// drive infeed at full speed reverse
-        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
-        			DriverStation.reportError("Elevator switching to INFEED_TRIGGER_PRESSED state", false);
-    			}
-    			else
-    			{
-    				// see how long we have been paused
-    				long elapsedTime = (new Date().getTime() - workingDataValues.InfeedPauseOnBallInPositionSwitchStartTime);
-    				
-    				if(elapsedTime > 1000)	// we always want to pause the infeed for 1 sec
-    				{
-    					workingDataValues.TeleopElevatorState = Teleop_Elevator_State.POST_DELAY_TRIGGER_RELEASED;
-    	    			DriverStation.reportError("Elevator switching to POST_DELAY_TRIGGER_RELEASED state", false);
-    				}
-    				else if (inputDataValues.IsElevatorTimerOverrideBtnPressed)
-    				{
-    					workingDataValues.TeleopElevatorState = Teleop_Elevator_State.POST_DELAY_TRIGGER_RELEASED;
-    	    			DriverStation.reportError("Elevator switching to POST_DELAY_TRIGGER_RELEASED state", false);
-    				}
-    			}
-    			break;
-    			
-    		case POST_DELAY_TRIGGER_RELEASED:
-    			if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
-        			DriverStation.reportError("Elevator switching to HONOR_INFEED_TRIGGERS state", false);
-    			}
-    			else if (!inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-    				workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS_AFTER_SWITCH;
-        			DriverStation.reportError("Elevator switching to HONOR_INFEED_TRIGGERS_AFTER_SWITCH state", false);
-    			}
-    			break;
-    			
-    		case HONOR_INFEED_TRIGGERS_AFTER_SWITCH:
-    			if (!inputDataValues.IsInfeedAcquireBtnPressed && inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-        			workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
-        			DriverStation.reportError("Elevator switching to HONOR_INFEED_TRIGGERS state", false);
-    			}
-    			else if (inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-    				if(!inputDataValues.IsBallInPosition)
-    				{
-    					workingDataValues.TeleopElevatorState = Teleop_Elevator_State.HONOR_INFEED_TRIGGERS;
-            			DriverStation.reportError("Elevator switching to HONOR_INFEED_TRIGGERS state", false);
-    				}
-    				else
-    				{
-    					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-    				}
-    			}
-    			else if (!inputDataValues.IsInfeedAcquireBtnPressed && !inputDataValues.IsInfeedReleaseBtnPressed)
-    			{
-    				outputDataValues.InfeedAcqMtrVelocityCmd = 0.0;
-    			}
-    			break;
-    	}
-    	    	
-    	// =====================================
-    	// Step 2.4: Turret 
-    	// =====================================
-    	
-    	// Determine what mode we shoudl be in %VBus or PID Position
-    	if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.Position
-    			&& ((inputDataValues.TurretCCWRawVelocityCmd > 0.1) || (inputDataValues.TurretCWRawVelocityCmd > 0.1)))
-    	{
-    		// switch to % VBUS Mode
-    		_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-    		DriverStation.reportError("Turret changing to PercentVBus mode", false);
-    	}
-    	else if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus 
-    			&& ((inputDataValues.TurretCCWRawVelocityCmd < 0.1) && (inputDataValues.TurretCWRawVelocityCmd < 0.1)))
-    	{
-    		// switch to PID Position Mode
-    		
-    		// stop driving the axis
-    		outputDataValues.TurretVelocityCmd = 0;
-	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
-    		
-	    	// now switch to position loop mode
-	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-	    	outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
-	    	DriverStation.reportError("Turret changing to Position mode", false);
-	    	
-	    	try {
-	    		// sleep a little to let the zero occur
-				Thread.sleep(1);
-			} catch (InterruptedException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-	    	
-    	}
-    	
-    	if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
-    	{	
-    		// we are using a 5% deadband on the joysticks
-    		if ((inputDataValues.TurretCCWRawVelocityCmd > 0.05) && (inputDataValues.TurretCWRawVelocityCmd < 0.05))
-    		{
-    			//outputDataValues.TurretVelocityCmd = -(Math.pow(inputDataValues.TurretCCWRawVelocityCmd, 3) * RobotMap.TURRET_PERCENTVBUS_SCALING_FACTOR);
-    			if (inputDataValues.TurretCCWRawVelocityCmd <= 0.45)
-    			{
-    				outputDataValues.TurretVelocityCmd = -0.05;
-    				DriverStation.reportError("Turret Speed at -5%", false);
-    			}
-    			else if (inputDataValues.TurretCCWRawVelocityCmd <= 0.90)
-    			{
-    				outputDataValues.TurretVelocityCmd = -0.10;
-    				DriverStation.reportError("Turret Speed at -10%", false);
-    			}
-    			else
-    			{
-    				outputDataValues.TurretVelocityCmd = -0.20;
-    				DriverStation.reportError("Turret Speed at -20%", false);
-    			}
-    			
-    			// enforce (-) soft limit
-    			if (inputDataValues.TurretEncoderCurrentPosition < RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS){
-    				outputDataValues.TurretVelocityCmd = 0.0;
-    			}
-    		}
-    		else if ((inputDataValues.TurretCCWRawVelocityCmd < 0.05) && (inputDataValues.TurretCWRawVelocityCmd > 0.05))
-    		{
-    			//outputDataValues.TurretVelocityCmd = (Math.pow(inputDataValues.TurretCWRawVelocityCmd, 3) * RobotMap.TURRET_PERCENTVBUS_SCALING_FACTOR);
-    			if (inputDataValues.TurretCWRawVelocityCmd <= 0.45)
-    			{
-    				outputDataValues.TurretVelocityCmd = 0.05;
-    				DriverStation.reportError("Turret Speed at 5%", false);
-    			}
-    			else if (inputDataValues.TurretCWRawVelocityCmd <= 0.90)
-    			{
-    				outputDataValues.TurretVelocityCmd = 0.10;
-    				DriverStation.reportError("Turret Speed at 10%", false);
-    			}
-    			else
-    			{
-    				outputDataValues.TurretVelocityCmd = 0.20;
-    				DriverStation.reportError("Turret Speed at 20%", false);
-    			}
-    			
-    			// enforce (+) soft limit
-    			if (inputDataValues.TurretEncoderCurrentPosition > RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS){
-    				outputDataValues.TurretVelocityCmd = 0.0;
-    			}
-    		}
-    	}
-    	else if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.Position)
-    	{
-    		/*
-			if (inputDataValues.IsShooterSpeedUpBtnPressed 
-					&& !workingDataValues.IsTurretCWButtonPressedLastScan
-					&& !inputDataValues.IsShooterSpeedDownBtnPressed)		
-			{
-				double NewTurretTargetPositionCmd = outputDataValues.TurretTargetPositionCmd + 0.06;
-				outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(NewTurretTargetPositionCmd);
-			}
-			else if (!inputDataValues.IsShooterSpeedUpBtnPressed 
-					&& !workingDataValues.IsTurretCCWButtonPressedLastScan
-					&& inputDataValues.IsShooterSpeedDownBtnPressed)	
-			{
-				double NewTurretTargetPositionCmd = outputDataValues.TurretTargetPositionCmd - 0.06;
-				outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(NewTurretTargetPositionCmd);
-			}
-			*/
-    	}	
-    	
-    	// ============================
-    	// 2.4.1 Turret Aiming
-    	// ============================
-    	/*
-    	if (inputDataValues.IsAutoAimBtnPressed)
-    	{
-    		if (visionData.IsValidData){
-				outputDataValues.TurretVelocityCmd = 0.0;
-				
-				if  (Math.abs(visionData.DesiredTurretTurnInDegrees) > 12.5)
-				{
-					if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-    				{
-    					// switch to % VBUS Mode
-        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-    				}
-    				
-    				if (visionData.DesiredTurretTurnInDegrees > 0)
-    				{
-	    				outputDataValues.TurretVelocityCmd = 0.33;
-	    				//DriverStation.reportError("Turret Speed at 10% | ", false);
-    				}
-    				else
-    				{
-	    				outputDataValues.TurretVelocityCmd = -0.33;
-	    				//DriverStation.reportError("Turret Speed at -10% | ", false);
-    				}  
-				}
-				else if  (Math.abs(visionData.DesiredTurretTurnInDegrees) > 4.0)
-				{
-					if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-    				{
-    					// switch to % VBUS Mode
-        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-    				}
-    				
-    				if (visionData.DesiredTurretTurnInDegrees > 0)
-    				{
-	    				outputDataValues.TurretVelocityCmd = 0.15;
-	    				//DriverStation.reportError("Turret Speed at 10% | ", false);
-    				}
-    				else
-    				{
-	    				outputDataValues.TurretVelocityCmd = -0.15;
-	    				//DriverStation.reportError("Turret Speed at -10% | ", false);
-    				}  
-				}
-				else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 1.75)
-    			{
-    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-    				{
-    					// switch to % VBUS Mode
-        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-    				}
-    				
-    				if (visionData.DesiredTurretTurnInDegrees > 0)
-    				{
-	    				outputDataValues.TurretVelocityCmd = 0.095;
-	    				//DriverStation.reportError("Turret Speed at 10% | ", false);
-    				}
-    				else
-    				{
-	    				outputDataValues.TurretVelocityCmd = -0.095;
-	    				//DriverStation.reportError("Turret Speed at -10% | ", false);
-    				}    					
-    			}
-				else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 1)
-    			{
-    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-    				{
-    					// switch to % VBUS Mode
-        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-    				}
-    				
-    				if (visionData.DesiredTurretTurnInDegrees > 0)
-    				{
-	    				outputDataValues.TurretVelocityCmd = 0.08;
-	    				//DriverStation.reportError("Turret Speed at 10% | ", false);
-    				}
-    				else
-    				{
-	    				outputDataValues.TurretVelocityCmd = -0.08;
-	    				//DriverStation.reportError("Turret Speed at -10% | ", false);
-    				}    					
-    			}
-    			else
-    			{
-    				DriverStation.reportError("Turret has auto aimed" , false);
-    			}
-			}
-			else
-			{
-				DriverStation.reportError("Vision Data looks invalid", false);
-			}
-    	}
-    	/*
-    	if (visionData.DesiredTurretTurnInDegrees > 0.5)
-    	{
-    		outputDataValues.TurretVelocityCmd = 0.07 + (visionData.DesiredTurretTurnInDegrees/120.0);
-    	}
-    	else if (visionData.DesiredTurretTurnInDegrees < -0.5)
-    	{
-    		outputDataValues.TurretVelocityCmd = -0.07 + (visionData.DesiredTurretTurnInDegrees/120.0);	
-    	}
-    	else
-    	{
-    		DriverStation.reportError("Turret has auto aimed", false);
-    	}
-    	*/
-    	    	
-    	// ============================
-    	// Step 2.5: Slider
-    	// ============================
-    	if (inputDataValues.IsShooterAltModeEnableBtnPressed && !workingDataValues.IsShooterAltModeEnableBtnPressedLastScan)
-    	{
-    		if (_isShooterinAltMode)
-    		{
-    			_isShooterinAltMode = false;
-    			DriverStation.reportError("Shooter in stock mode", false);
-    		}
-    		else if (!_isShooterinAltMode)
-    		{
-    			_isShooterinAltMode = true;
-    			DriverStation.reportError("Shooter in alt mode", false);
-    		}
-    	}
-    	
-    	if (_sliderMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
-    	{
-    		if ((inputDataValues.IsSliderFwdBtnPressed == true) && (!inputDataValues.IsSliderRevBtnPressed == false))
-    		{
-    			outputDataValues.SliderVelocityCmd = 0.1;
-    		}
-    		else if ((!inputDataValues.IsSliderFwdBtnPressed == false) && (inputDataValues.IsSliderRevBtnPressed == true))
-    		{
-    			outputDataValues.SliderVelocityCmd = -0.1;
-    		}
-    		else
-    		{
-    			outputDataValues.SliderVelocityCmd = 0.0;
-    		}
-    	}
-    	else if (_sliderMtr.getControlMode() == CANTalon.TalonControlMode.Position)
-    	{
-    		if (!_isShooterinAltMode)
-    		{
-	    		if ((inputDataValues.IsSliderFwdBtnPressed == true) && (inputDataValues.IsSliderRevBtnPressed == false))
-	    		{
-	    			if (!workingDataValues.IsSliderFwdBtnPressedLastScan)	// debounce keypress
-	    			{
-	    				double newSliderTargetPosition = inputDataValues.SliderCurrentPosition + 2.0;
-	    				outputDataValues.SliderTargetPositionCmd = CalcSliderTargetPositionCmd(newSliderTargetPosition);
-	    				DriverStation.reportError(String.format("..Info: New Forward Target Slider Position: {0}", newSliderTargetPosition), false);
-	    			}
-	    		}
-	    		else if ((inputDataValues.IsSliderFwdBtnPressed == false) && (inputDataValues.IsSliderRevBtnPressed == true))
-	    		{
-	    			if (!workingDataValues.IsSliderRevBtnPressedLastScan)	// debounce keypress
-	    			{
-	    				double newSliderTargetPosition = inputDataValues.SliderCurrentPosition - 2.0;
-	    				outputDataValues.SliderTargetPositionCmd = CalcSliderTargetPositionCmd(newSliderTargetPosition);
-	    				DriverStation.reportError(String.format("..Info: New Reverse Target Slider Position: {0}", newSliderTargetPosition), false);
-	    			}
-	    		}
-	    		else if (workingDataValues.IsShooterAltModeEnabledLastScan)
-	    		{
-	    			workingDataValues.IsShooterAltModeEnabledLastScan = false;
-	    			outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-	    		}
-    		}
-    		else
-    		{
-    			outputDataValues.SliderTargetPositionCmd = 0.0;
-    			workingDataValues.IsShooterAltModeEnabledLastScan = true;
-    		}
-    			
-    	}
-    	    	
-    	// ============================
-    	//  Step 2.6: Shooter 
-    	// ============================
-    	
-    	if (inputDataValues.IsShooterTargetSpeedToggleBtnPressed && !workingDataValues.IsShooterTargetSpeedToggleBtnPressedLastScan)
-    	{
-    		switch (workingDataValues.ShooterTargetSpeed)
-    		{
-    			case UNDEFINED:
-    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2800;
-    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2800;
-    				break;
-    				
-    			case _2700:
-    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2800;
-    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2800;
-    				break;
-    				
-    			case _2800:
-    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2900;
-    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2900;
-    				break;
-    				
-    			case _2900:
-    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._3000;
-    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 3000;
-    				break;
-    				
-    			case _3000:
-    				workingDataValues.ShooterTargetSpeed = Shooter_Target_Speed._2700;
-    				outputDataValues.ShooterMtrAltTargetVelocityCmd = 2700;
-    				break;
-    		}
-    	}
-    	
-    	
-    	if (inputDataValues.ShooterRawVelocityCmd < -0.1)
-    	{    	
-    		if (_shooterMasterMtr.getControlMode() == CANTalon.TalonControlMode.Speed)
-    		{
-    			if (!_isShooterinAltMode)
-    			{
-    				
-    				outputDataValues.ShooterMtrTargetVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
-    				outputDataValues.ShooterMtrCurrentVelocityCmd = outputDataValues.ShooterMtrTargetVelocityCmd;
-    			}
-    			else
-    			{
-    				outputDataValues.ShooterMtrCurrentVelocityCmd = outputDataValues.ShooterMtrAltTargetVelocityCmd;
-    			}
-    		}
-    		else if (_shooterMasterMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
-    		{
-    			outputDataValues.ShooterMtrCurrentVelocityCmd = workingDataValues.DriveSpeedScalingFactor;
-    		}
-    	}
-    	else
-    	{
-    		outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
-    	}
-    	
-    	// ============================
-    	// Step 2.7: Kicker
-    	// ============================
-    	if (outputDataValues.ShooterMtrCurrentVelocityCmd > 0.1)
-    	{
-    		outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
-    	}
-    	else if (inputDataValues.ShooterRawVelocityCmd > 0.1)
-    	{
-    		outputDataValues.KickerMtrVelocityCmd = -1.0;
-    	}
-    	else 
-    	{
-    		outputDataValues.KickerMtrVelocityCmd = 0.0;
-    	}
-    	
-    	// ===========================
-    	// Step 2.8: Camera
-    	// ===========================
-    	if (inputDataValues.IsCameraSwitchBtnPressed 
-    			&& !workingDataValues.IsCameraSwitchBtnPressedLastScan)
-    	{
-    		if (_currentCameraName == RobotMap.SHOOTER_CAMERA_NAME)
-			{
-    			_currentCameraName = RobotMap.INFEED_CAMERA_NAME;
-    			DriverStation.reportError("..Switching to Infeed Camera", false);
-			}
-    		else if (_currentCameraName == RobotMap.INFEED_CAMERA_NAME)
-    		{
-    			_currentCameraName = RobotMap.SHOOTER_CAMERA_NAME;
-    			DriverStation.reportError("..Switching to Shooter Camera", false);
-    		}
-    		else
-    		{
-    			_currentCameraName = RobotMap.SHOOTER_CAMERA_NAME;
-    			DriverStation.reportError("..Switching to Shooter Camera", false);
-    		}
-    		
-    		server.switchAutomaticCapture(_currentCameraName);
-    		
-    		_leftDriveMasterMtr.enableBrakeMode(false);
-    		_leftDriveSlaveMtr.enableBrakeMode(false);
-    		_leftDriveSlave2Mtr.enableBrakeMode(false);
-    		_rightDriveMasterMtr.enableBrakeMode(false);
-    		_rightDriveSlaveMtr.enableBrakeMode(false);
-    		_rightDriveSlave2Mtr.enableBrakeMode(false);
-    	}
-    	else if (inputDataValues.IsCupidCameraBtnPressed
-    			&& !workingDataValues.IsCupidSwitchBtnPressedLastScan)
-    	{
-    		_currentCameraName = RobotMap.CUPID_CAMERA_NAME;
-    		DriverStation.reportError("..Switching to Cupid Camera", false);
-    		
-    		server.switchAutomaticCapture(_currentCameraName);
-    		
-    		DriverStation.reportError("..Switching to Break Mode", false);
-    		_leftDriveMasterMtr.enableBrakeMode(true);
-    		_leftDriveSlaveMtr.enableBrakeMode(true);
-    		_leftDriveSlave2Mtr.enableBrakeMode(true);
-    		_rightDriveMasterMtr.enableBrakeMode(true);
-    		_rightDriveSlaveMtr.enableBrakeMode(true);
-    		_rightDriveSlave2Mtr.enableBrakeMode(true);
-    	}
-    	  
-    	
-    	
-    	// ===========================
-    	// Step 2.9. Climbing
-    	// ===========================
-    	if (inputDataValues.IsClimbEnabledBtnPressed)
-    	{
-    		_isClimbEnabled = true;
-    	}
-    	else
-    	{
-    		_isClimbEnabled = false;
-    	}
-    	
-    	if (_isClimbEnabled)
-    	{
-	    	if (inputDataValues.WinchRawCmd > 0.1)
-	    	{
-	    		outputDataValues.WinchVelocityCmd = -1.0 * inputDataValues.WinchRawCmd;
-	    	}
-	    	else if (inputDataValues.WinchRawCmd < -0.1)
-	    	{
-	    		outputDataValues.WinchVelocityCmd = -1.0 * inputDataValues.WinchRawCmd;
-	    	}
-	    	else
-	    	{
-	    		outputDataValues.WinchVelocityCmd = 0.0;
-	    	}
-    	}
-    	else
-    	{
-    		outputDataValues.WinchVelocityCmd = 0.0;
-    	}
-    	
-    	// ===========================
-    	// Step 2.10. Cupid
-    	// ===========================
-    	if (inputDataValues.IsCupidToggleBtnPressed && !workingDataValues.IsCupidToggleBtnPressedLastScan)
-    	{
-    		if (outputDataValues.CupidServoPositionCmd == 1.0)
-    		{
-    			outputDataValues.CupidServoPositionCmd = 0.0;
-    		}
-    		else if (outputDataValues.CupidServoPositionCmd == 0.0)
-    		{
-    			outputDataValues.CupidServoPositionCmd = 1.0;
-    		}
-    	}
-    	
-    	// ===========================
-    	// Step 2.11 And1 (Defensive Shield)
-    	// ===========================
-    	//DriverStation.reportError("And1 position: " + outputDataValues.And1ServoPositionCmd, false);
-    	if (inputDataValues.And1RawCmd > 0.1)
-    	{
-    		outputDataValues.And1ServoPositionCmd = 1.0;
-    	}
-    	else if (inputDataValues.And1RawCmd < -0.1)
-    	{
-    		outputDataValues.And1ServoPositionCmd = 0.0;
-    	}
-    	else
-    	{
-    	}
-    	
-    	// =====================================
-    	// Step 3: Push the target Outputs out to the physical devices
-    	// =====================================
-    	
-    	// ==========================
-    	// 3.1 Handle Puma Front and Back Solenoids
-    	//		Solenoids work like a toggle, the current value is retained until it is changed
-    	// ==========================
-    	if (!workingDataValues.IsPumaBothToggleBtnPressedLastScan && inputDataValues.IsPumaBothToggleBtnPressed)
-    	{
-    		if ((outputDataValues.PumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION) 
-    				|| (outputDataValues.PumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_UP_POSITION))
-    		{
-    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION;
-    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
-    		}
-    		else
-    		{
-    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
-    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    		}
-    	}
-    	
-    	if (!workingDataValues.IsPumaFrontToggleBtnPressedLastScan && inputDataValues.IsPumaFrontToggleBtnPressed)
-    	{
-    		if (outputDataValues.PumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION)
-    		{
-    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION;
-    		}
-    		else
-    		{
-    			outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
-    		}
-    	}
-    	
-    	if (!workingDataValues.IsPumaBackToggleBtnPressedLastScan && inputDataValues.IsPumaBackToggleBtnPressed)
-    	{
-    		if (outputDataValues.PumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_UP_POSITION)
-    		{
-    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION;
-    		}
-    		else
-    		{
-    			outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    		}
-    	}
-    	
-    	// set solenoids state
-    	_pumaFrontSolenoid.set(outputDataValues.PumaFrontSolenoidPosition);
-    	_pumaBackSolenoid.set(outputDataValues.PumaBackSolenoidPosition);
-    	
-    	// set motor commmands
-    	_robotDrive.arcadeDrive((-1.0 * outputDataValues.ArcadeDriveThrottleAdjCmd), (-1.0 * outputDataValues.ArcadeDriveTurnAdjCmd), false);
-    	
-    	_infeedAcqMtr.set(outputDataValues.InfeedAcqMtrVelocityCmd);
-    	
-    	if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.Position)
-    	{
-    		_infeedTiltMtr.set(outputDataValues.InfeedTiltTargetPositionInRotationsCmd);
-    	}
-    	else if (_infeedTiltMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
-    	{
-    		_infeedTiltMtr.set(outputDataValues.InfeedTiltMtrVelocityCmd);
-    	}
-    	 
-    	if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.Position)
-    	{
-    		_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
-    	}
-    	else if (_turretMtr.getControlMode() == CANTalon.TalonControlMode.PercentVbus)
-    	{
-    		_turretMtr.set(outputDataValues.TurretVelocityCmd);
+    		_turretMtr.set(outputDataValues.TurretVelocityCmd);
     	}
     	
     	_kickerMtr.set(outputDataValues.KickerMtrVelocityCmd);
@@ -2808,7 +908,7 @@ public class Robot extends IterativeRobot
     	// ==========================
     	UpdateDashboard(_robotLiveData);
     	
-    	workingDataValues.LastScanDT = new Date();  	
+    	workingDataValues.LastScanMicroSecs = MonotonicClock.GetMicroSecs();  	
     	
     	// optionally send message to drivers station
     	if(outputDataValues.DriversStationMsg != null 
@@ -2824,645 +924,49 @@ public class Robot extends IterativeRobot
     	{
     		_dataLogger.WriteData(_robotLiveData);
     	}
-    	// set last scan DT
-
+    	
     	// ==========================
-    	// 7.0 Stuff we want to do at the very end (because they operate as toggles)
+    	// 6.0 Flight Recorder
     	// ==========================
-    	workingDataValues.IsPumaFrontToggleBtnPressedLastScan = inputDataValues.IsPumaFrontToggleBtnPressed;
-    	workingDataValues.IsPumaBackToggleBtnPressedLastScan = inputDataValues.IsPumaBackToggleBtnPressed;
-    	workingDataValues.IsPumaBothToggleBtnPressedLastScan = inputDataValues.IsPumaBothToggleBtnPressed;
-    	workingDataValues.IsSliderFwdBtnPressedLastScan = inputDataValues.IsSliderFwdBtnPressed;
-    	workingDataValues.IsSliderRevBtnPressedLastScan = inputDataValues.IsSliderRevBtnPressed;
-    	workingDataValues.IsInfeedTiltStoreBtnPressedLastScan = inputDataValues.IsInfeedTiltStoreBtnPressed;
-    	workingDataValues.IsInfeedTiltFixedBtnPressedLastScan = inputDataValues.IsInfeedTiltFixedBtnPressed;
-    	workingDataValues.IsInfeedAcquireBtnPressedLastScan = inputDataValues.IsInfeedAcquireBtnPressed;
-    	workingDataValues.IsCameraSwitchBtnPressedLastScan =  inputDataValues.IsCameraSwitchBtnPressed;
-    	workingDataValues.IsCupidSwitchBtnPressedLastScan = inputDataValues.IsCupidCameraBtnPressed;
-    	workingDataValues.IsBallInPositionLastScan = inputDataValues.IsBallInPosition;
-    	workingDataValues.IsShooterTargetSpeedToggleBtnPressedLastScan = inputDataValues.IsShooterTargetSpeedToggleBtnPressed;
-    	workingDataValues.IsCupidToggleBtnPressedLastScan = inputDataValues.IsCupidToggleBtnPressed;
-    	workingDataValues.IsShooterAltModeEnableBtnPressedLastScan = inputDataValues.IsShooterAltModeEnableBtnPressed;
-    }
-    
-    public void disabledPeriodic()
-    {
-    	if(_dataLogger != null)
-    	{
-    		_dataLogger.close();
-    		_dataLogger = null;
-    	}
-    }
-    
-    // ==========  Absolute Axis Homing Logic ==============================================
-    
-    // caluclate the appropriate # of leadscrew rotations
-    private double CalcSliderTargetPositionCmd(double targetPositionFromHomeInRotations)
-    {
-    	// Notes:
-    	//	The encoder is directly coupled to the leadscrew
-    	//		leadscrew pitch : 16 rev / inch
-    	//		quad encoder	: 1024 pulses / rev x 4 = 4096 counts / rev
-    	//	We setup the TALON is use API Unit Scaling by using the ConfigEncoderCodesPerRev in the axis home method
-    	
-    	// protect the axis by enforcing guard rails on what can be requested
-    	if(targetPositionFromHomeInRotations > RobotMap.SLIDER_FWD_MAX_TRAVEL_IN_ROTATIONS)
-    	{
-    		targetPositionFromHomeInRotations = RobotMap.SLIDER_FWD_MAX_TRAVEL_IN_ROTATIONS;
-    		DriverStation.reportError("Slider already at forward limit", false);
-    	}
-    	else if (targetPositionFromHomeInRotations < RobotMap.SLIDER_REV_MAX_TRAVEL_IN_ROTATIONS)
-    	{
-    		targetPositionFromHomeInRotations = RobotMap.SLIDER_REV_MAX_TRAVEL_IN_ROTATIONS;
-    		DriverStation.reportError("Slider already at reverse limit", false);
-    	}
-    	
-    	double sliderTargetPositionCmd = targetPositionFromHomeInRotations;
-    	    	
-    	return sliderTargetPositionCmd;
-    }
-    
-    private double CalcTurretTargetPosition(double TurretAngleInRotations)
-    {
-    	//double TurretPositionInEncoderCounts = (TurretAngleInRotations * 360)/ RobotMap.TURRET_TRAVEL_DEGREES_PER_COUNT;
-    	//return TurretPositionInEncoderCounts;
-    	if (TurretAngleInRotations > RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS)
-    	{
-    		TurretAngleInRotations = RobotMap.TURRET_MAX_TRAVEL_IN_ROTATIONS;
-    		DriverStation.reportError("Turret already at forward limit", false);
-    	}
-    	else if (TurretAngleInRotations < RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS)
-    	{
-    		TurretAngleInRotations = RobotMap.TURRET_MIN_TRAVEL_IN_ROTATIONS;
-    		DriverStation.reportError("Turret already at reverse limit", false);
-    	}
-    	
-    	double turretSetPositionInRotations = TurretAngleInRotations;
-    	
-    	return turretSetPositionInRotations;
-    }
-    
-    // This method Zeros (ie Homes) the Infeed Tilt Axis
-	private void ZeroInfeedTiltAxis(RobotData p_robotLiveData) 
-	{
-		//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	boolean isTimeout = false; //control whether we want this method to run at startup
-    	boolean isOnHomeSwitch = !_infeedTiltMtr.isFwdLimitSwitchClosed();	// switch is normally closed
-    	
-    	// zero the current encoder reading
-    	_infeedTiltMtr.setPosition(0);	
-    	
-    	// if we are not already on the up limit switch
-    	if(!isOnHomeSwitch)
-    	{
-	    	// start out in %VBUS mode
-	    	_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-	    	
-	    	// drive the axis up at 19%
-	    	outputDataValues.InfeedTiltMtrVelocityCmd = 0.35;
-	    	_infeedTiltMtr.set(outputDataValues.InfeedTiltMtrVelocityCmd);
-	    	
-	    	long startTime = System.currentTimeMillis();
-	    	long elapsedTime = 0L;
-	    	long maxTimeInMSec = 10000; // 10 secs
-	    	
-	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
-	    	while(!isOnHomeSwitch && !isTimeout)
-	    	{	
-	        	elapsedTime = (new Date().getTime() - startTime);
-	    		
-	    		if (elapsedTime  >= maxTimeInMSec)
-	    		{
-	    			isTimeout = true;
-	    			_isInfeedTiltAxisZeroTimedOut = true;
-	    		}
-	    		isOnHomeSwitch = !_infeedTiltMtr.isFwdLimitSwitchClosed();	// switch is normally closed
-	    	}
-    	}
-    	
-    	// we are on the UP Limit Switch (and we did not timeout)
-    	if(!isTimeout)
-    	{
-	    	_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-	    	_isInfeedTiltAxisZeroTimedOut = false;
-	    	// once we hit the home switch, reset the encoder	- this is at approx 106deg
-	    	
-	    	_infeedTiltMtr.setPosition(RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS);	
-	    	//_infeedTiltMtr.setEncPosition(newPosition);
-	    	try {
-	    		// sleep a little to let the zero occur
-				Thread.sleep(100);
-			} catch (InterruptedException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-	    
-	    	// setup the PID Loop
-	    	_infeedTiltMtr.setPID(RobotMap.INFEED_TILT_KP, RobotMap.INFEED_TILT_KI, RobotMap.INFEED_TILT_KD, RobotMap.INFEED_TILT_KF, RobotMap.INFEED_TILT_IZONE, RobotMap.INFEED_TILT_RAMPRATE, RobotMap.INFEED_TILT_PROFILE);
-	    	_infeedTiltMtr.setProfile(RobotMap.INFEED_TILT_PROFILE);
-	    	_infeedTiltMtr.setCloseLoopRampRate(RobotMap.INFEED_TILT_RAMPRATE);
-	    	_infeedTiltMtr.setVoltageRampRate(5);
-	    	
-	    	// write to the operator's console log window
-	    	DriverStation.reportError("..Infeed Tilt Axis Zeroed, Chging to Position Ctrl Mode.", false);
-	    	
-	    	outputDataValues.InfeedTiltTargetPositionInRotationsCmd = RobotMap.INFEED_TILT_STORED_POSITION_CMD;
-	    	
-	    	// finally mark the axis as zeroed
-	    	_isInfeedTiltAxisZeroedYet = true;
-    	}
-    	else
-    	{
-    		// write to the operator's console log window
-	    	DriverStation.reportError("..ERROR: Timeout in Infeed Tilt Axis Zero procedure.", false);
-    	}
-	}
-	
-	private void ZeroInfeedTiltAxisReEntrant(RobotData p_robotLiveData) 
-	{
-		//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	boolean isTimeout = false; //control whether we want this method to run at startup
-    	boolean isOnHomeSwitch = !_infeedTiltMtr.isFwdLimitSwitchClosed();	// switch is normally closed
-    	
-    	// zero the current encoder reading
-    	//_infeedTiltMtr.setPosition(0);	
+    	recordFlightData();
     	
-    	switch (_infeedTiltZeroState)
-    	{
-    		case TILT_TO_HOME:
-    			if(!isOnHomeSwitch)
-    	    	{
-    		    	long elapsedTime = (new Date().getTime() - _infeedTiltZeroStartTime);
-    		    	long maxTimeInMSec = 8000; // 10 secs
-    		    	
-    		    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
-    		    	if (elapsedTime  >= maxTimeInMSec)	   
-    		    	{
-			    		_infeedTiltZeroState = Infeed_Tilt_Zero_State.TIMEOUT;
-    		    	}
-    		    	else
-    		    	{
-    		    		// start out in %VBUS mode
-    		    		if (_infeedTiltMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus)
-    		    		{
-    		    			_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-    		    		}
-    		    		// drive the axis up at 19%
-        		    	outputDataValues.InfeedTiltMtrVelocityCmd = 0.6;
-    		    	}
-    	    	}
-    			else 
-    			{
-    				_infeedTiltZeroState = Infeed_Tilt_Zero_State.ON_HOME;
-    			}
-    			break;
-    		
-    		case ON_HOME:
-    			_isInfeedTiltAxisZeroTimedOut = false;
-    			outputDataValues.InfeedTiltMtrVelocityCmd = 0.0;
-    			_infeedTiltMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-    	    	
-    	    	// once we hit the home switch, reset the encoder	- this is at approx 106deg
-    	    	_infeedTiltMtr.setPosition(RobotMap.INFEED_TILT_HOME_POSITION_IN_ROTATIONS);	
-    	    	//_infeedTiltMtr.setEncPosition(newPosition);
-    	    	try {
-    	    		// sleep a little to let the zero occur
-    				Thread.sleep(1);
-    			} catch (InterruptedException e) {
-    				// TODO Auto-generated catch block
-    				e.printStackTrace();
-    			}
-    	    
-    	    	// setup the PID Loop
-    	    	_infeedTiltMtr.setPID(RobotMap.INFEED_TILT_KP, RobotMap.INFEED_TILT_KI, RobotMap.INFEED_TILT_KD, RobotMap.INFEED_TILT_KF, RobotMap.INFEED_TILT_IZONE, RobotMap.INFEED_TILT_RAMPRATE, RobotMap.INFEED_TILT_PROFILE);
-    	    	_infeedTiltMtr.setProfile(RobotMap.INFEED_TILT_PROFILE);
-    	    	_infeedTiltMtr.setCloseLoopRampRate(RobotMap.INFEED_TILT_RAMPRATE);
-    	    	_infeedTiltMtr.setVoltageRampRate(5);
-    	    	
-    	    	// write to the operator's console log window
-    	    	DriverStation.reportError("..Infeed Tilt Axis Zeroed, Chging to Position Ctrl Mode.", false);
-    	    	
-    	    	_infeedTiltZeroState = Infeed_Tilt_Zero_State.GO_TO_REQUESTED_POSITION;
-    			break;
-    			
-    		case GO_TO_REQUESTED_POSITION:
-    			outputDataValues.InfeedTiltTargetPositionInRotationsCmd = (RobotMap.INFEED_TILT_STORED_POSITION_CMD);
-    	    	// finally mark the axis as zeroed
-    	    	_isInfeedTiltAxisZeroedYet = true;
-    			break;
-    			
-    		case TIMEOUT:
-    			_isInfeedTiltAxisZeroTimedOut = true;
-    			DriverStation.reportError("Infeed Tilt Zero procedure timed out", false);
-    			outputDataValues.InfeedTiltMtrVelocityCmd = 0.0;
-    			break;	
-    	}
-	}
-
-    // This method Zeros (ie Homes) the Slider Axis
-    private void ZeroSliderAxis(RobotData p_robotLiveData, double DesiredSliderPositionAfterZero) 
-    {
-    	//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	boolean isTimeout = false; //control whether we want this method to run at startup
-    	boolean isOnHomeSwitch = !_sliderMtr.isRevLimitSwitchClosed();	// switch is normally closed
-    	
-    	// zero the current encoder reading
-    	//_sliderMtr.setPosition(0);	
-    	
-    	// if we are not already on the up limit switch
-    	if(!isOnHomeSwitch)
-    	{
-	    	// start out in %VBUS mode
-	    	_sliderMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-	    	
-	    	// drive the axis down at 5%
-	    	outputDataValues.SliderVelocityCmd = -0.60;
-	    	_sliderMtr.set(outputDataValues.SliderVelocityCmd);
-	    	
-	    	long startTime = System.currentTimeMillis();
-	    	long elapsedTime = 0L;
-	    	long maxTimeInMSec = 10000; // 10 secs
-	    	
-	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
-	    	while(!isOnHomeSwitch && !isTimeout)
-	    	{	
-	        	elapsedTime = (new Date().getTime() - startTime);
-	    		
-	    		if (elapsedTime  >= maxTimeInMSec)
-	    		{
-	    			isTimeout = true;
-	    		}
-	    		
-	    		isOnHomeSwitch = !_sliderMtr.isRevLimitSwitchClosed();	// switch is normally closed
-	    	}
-    	}
-    	
-    	if(!isTimeout)
-    	{
-    		
-	    	_sliderMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-	    	
-	    	// once we hit it reset the encoder	- this is at approx 90deg
-	    	double SliderHomePosition = 0;
-	    	
-	    	_sliderMtr.setPosition(SliderHomePosition);	
-	    	//_infeedTiltMtr.setEncPosition(newPosition);
-	    	try {
-	    		// sleep a little to let the zero occur
-				Thread.sleep(100);
-			} catch (InterruptedException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-	    	
-	    	// setup the PID Loop
-	    	_sliderMtr.setPID(RobotMap.SLIDER_KP, RobotMap.SLIDER_KI, RobotMap.SLIDER_KD, RobotMap.SLIDER_KF, RobotMap.SLIDER_IZONE, RobotMap.SLIDER_RAMPRATE, RobotMap.SLIDER_PROFILE);
-	    	_sliderMtr.setProfile(RobotMap.SLIDER_PROFILE);
-	    	// write to the operator's console log window
-	    	DriverStation.reportError("..Slider Axis Zeroed, Chging to Position Ctrl Mode.", false);
-	    		    	
-	    	outputDataValues.SliderTargetPositionCmd = DesiredSliderPositionAfterZero;
-	    	_sliderMtr.set(outputDataValues.SliderTargetPositionCmd);
-	    	// finally mark the axis as zeroed
-	    	_isSliderAxisZeroedYet = true;
-    	}
-    	else
-    	{
-    		// write to the operator's console log window
-	    	DriverStation.reportError("..ERROR: Timeout in Slider Axis Zero procedure.", false);
-    	}
-    	
-	}
-	
- // This method Zeros (ie Homes) the Slider Axis
-    private void ZeroSliderAxisReEntrant(RobotData p_robotLiveData) 
-    {
-    	//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	boolean isOnHomeSwitch = !_sliderMtr.isRevLimitSwitchClosed();	// switch is normally closed
-    	
-    	// zero the current encoder reading
-    	//_sliderMtr.setPosition(0);	
-    	
-    	// if we are not already on the up limit switch
-    	switch (_sliderZeroState)
-    	{
-    		case DRIVE_TO_HOME:
-    			if(!isOnHomeSwitch)
-    	    	{
-    		    	// start out in %VBUS mode
-    		    	
-    		    	long elapsedTime = (new Date().getTime() - _sliderZeroStartTime);
-    		    	long maxTimeInMSec = 10000; // 10 secs
-    		    	
-    		    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max	
-    		    	if (elapsedTime  >= maxTimeInMSec)
-    		    	{
-    		    		_sliderZeroState = Slider_Zero_State.TIMEOUT;
-    		    	}
-    		    	else 
-    		    	{
-    		    		if (_sliderMtr.getControlMode() != TalonControlMode.PercentVbus)
-    		    		{
-    		    			_sliderMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-    		    		}
-    		    		// drive the axis down at 60%
-        		    	outputDataValues.SliderVelocityCmd = -0.60;
-    		    	}
-    	    	}
-    			else 
-    			{
-    				_sliderZeroState = Slider_Zero_State.ON_HOME;
-    			}
-    			break;
-    		
-    		case ON_HOME:
-    			outputDataValues.SliderVelocityCmd = 0.0;
-    			_sliderMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-    	    	
-    	    	// once we hit it reset the encoder	- this is at approx 90deg
-    	    	double SliderHomePosition = 0;
-    	    	
-    	    	_sliderMtr.setPosition(SliderHomePosition);	
-    	    	//_infeedTiltMtr.setEncPosition(newPosition);
-    	    	try {
-    	    		// sleep a little to let the zero occur
-    				Thread.sleep(1);
-    			} catch (InterruptedException e) {
-    				// TODO Auto-generated catch block
-    				e.printStackTrace();
-    			}
-    	    	
-    	    	// setup the PID Loop
-    	    	_sliderMtr.setPID(RobotMap.SLIDER_KP, RobotMap.SLIDER_KI, RobotMap.SLIDER_KD, RobotMap.SLIDER_KF, RobotMap.SLIDER_IZONE, RobotMap.SLIDER_RAMPRATE, RobotMap.SLIDER_PROFILE);
-    	    	_sliderMtr.setProfile(RobotMap.SLIDER_PROFILE);
-    	    	// write to the operator's console log window
-    	    	
-    	    	_isSliderAxisZeroedYet = true;
-    	    	
-    	    	DriverStation.reportError("..Slider Axis Zeroed, Chging to Position Ctrl Mode.", false);
-    			break;
-    			
-    		case TIMEOUT:
-    			_isSliderAxisZeroTimedOut = true;
-    			DriverStation.reportError("Slider Axis Zero procedure timed out", false);
-    			outputDataValues.SliderVelocityCmd = 0.0;
-    			break;	
-    			
-    	
-    	}
-	}
-    
-	// This method Zeros (ie Homes) the Turret Axis
-	private void ZeroTurretAxis(RobotData p_robotLiveData) 
-	{
-		//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	boolean isTimeout = false; //control whether we want this method to run at startup
-    	boolean isOnApproachingHomeSwitch = _turretApproachingHomeLimitSwitch.get();
-    	
-    	// zero the current encoder reading
-    	//_turretMtr.setPosition(0);	
-    	
-    	// if we are not already on the up limit switch
-    	if(!isOnApproachingHomeSwitch)
+    	// ==========================
+    	// 7.0 Stuff we want to do at the very end (because they operate as toggles)
+    	// ==========================
+    	_controlLogic.SaveLastScanValues();
+    }
+    
+    public void disabledPeriodic()
+    {
+    	if(_dataLogger != null)
     	{
-	    	// start out in %VBUS mode
-    		DriverStation.reportError("..Turret Chg to %VBus Mode.", false);
-	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-	    	
-	    	// drive the axis up at 15%
-	    	outputDataValues.TurretVelocityCmd = 0.15;
-	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
-	    	
-	    	long startTime = System.currentTimeMillis();
-	    	long elapsedTime = 0L;
-	    	long maxTimeInMSec = 9000; // 9 secs
-	    	
-	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
-	    	while(!isOnApproachingHomeSwitch && !isTimeout)
-	    	{	
-	        	elapsedTime = (new Date().getTime() - startTime);
-	    		
-	    		if (elapsedTime  >= maxTimeInMSec)
-	    		{
-	    			isTimeout = true;
-	    		}
-	    		isOnApproachingHomeSwitch = _turretApproachingHomeLimitSwitch.get();	// switch is normally closed
-	    	}
+    		_dataLogger.close();
+    		_dataLogger = null;
+    		
+    		// how the vision link held up during the mode that just ended
+    		DriverStation.reportError(_visionClient.BuildHealthSummary() + " | ", false);
     	}
     	
-    	boolean isOnHomeSwitch = _turretHomeLimitSwitch.get();	// switches are normally closed
-    	
-    	if(!isTimeout)
+    	// move the staged logs to the USB stick while nothing else is writing to it
+    	if (_logStagingArea != null)
     	{
-    		long startTime = System.currentTimeMillis();
-	    	long elapsedTime = 0L;
-	    	long maxTimeInMSec = 5000; // 5 secs
-	    	
-	    	// if we are not on the limit switch, drive up until we hit it but only wait for 10 secs max
-	    	while(!isOnHomeSwitch && !isTimeout)
-	    	{	
-	        	elapsedTime = (new Date().getTime() - startTime);
-	    		
-	    		if (elapsedTime  >= maxTimeInMSec)
-	    		{
-	    			isTimeout = true;
-	    		}
-	    		isOnHomeSwitch = _turretHomeLimitSwitch.get();	// switch is normally closed
-	    	}
+    		_logStagingArea.StartFlush();
     	}
     	
-    	// we are on the ZERO Limit Switch (and we did not timeout)
-    	if(!isTimeout)
-    	{
-    		// stop driving the axis
-    		outputDataValues.TurretVelocityCmd = 0;
-	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
-    		
-	    	// now switch to position loop mode
-	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-	    	
-	    	// once we hit it reset the encoder
-	    	double homePosition = 0;
-	    	_turretMtr.setPosition(homePosition);	
-
-	    	try {
-	    		// sleep a little to let the zero occur
-				Thread.sleep(100);
-			} catch (InterruptedException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-	    	
-	    	// setup the PID Loop
-	    	_turretMtr.setPID(RobotMap.TURRET_SLOW_KP, RobotMap.TURRET_SLOW_KI, RobotMap.TURRET_SLOW_KD, RobotMap.TURRET_SLOW_KF, RobotMap.TURRET_SLOW_IZONE, RobotMap.TURRET_SLOW_RAMPRATE, RobotMap.TURRET_SLOW_PROFILE);
-	    	_turretMtr.setProfile(RobotMap.TURRET_SLOW_PROFILE);
-	    	
-	    	// write to the operator's console log window
-	    	DriverStation.reportError("..Turret Axis Zeroed, Chg to Positon Ctrl Mode.", false);
-	    	
-	    	// drive to default position
-	    	outputDataValues.TurretTargetPositionCmd = CalcTurretTargetPosition(RobotMap.TURRET_DEFAULT_POSITION_IN_ROTATIONS);
-	    	_turretMtr.set(outputDataValues.TurretTargetPositionCmd);
-	    	
-	    	long startTime = System.currentTimeMillis();
-	    	long elapsedTime = 0L;
-	    	long maxTimeInMSec = 5000; // 5 secs
-	    	
-	    	// wait until we get close to the target
-	    	while((Math.abs(_turretMtr.getClosedLoopError()) > 400) && !isTimeout)
-	    	{	
-	        	elapsedTime = (new Date().getTime() - startTime);
-	    		
-	    		if (elapsedTime  >= maxTimeInMSec)
-	    		{
-	    			isTimeout = true;
-	    		}
-	    	}
-	    	
-	    	// now move to regular gains after the big move
-	    	_turretMtr.setPID(RobotMap.TURRET_FAST_KP, RobotMap.TURRET_FAST_KI, RobotMap.TURRET_FAST_KD, RobotMap.TURRET_FAST_KF, RobotMap.TURRET_FAST_IZONE, RobotMap.TURRET_FAST_RAMPRATE, RobotMap.TURRET_FAST_PROFILE);
-	    	_turretMtr.setProfile(RobotMap.TURRET_FAST_PROFILE);
-	    	
-	    	// finally mark the axis as zeroed
-	    	_isTurretAxisZeroedYet = true;
-    	}
-    	else
+    	// open the next log now so starting a mode does not wait on a file open
+    	if (_isStandbyLoggerNeeded)
     	{
-    		// write to the operator's console log window
-	    	DriverStation.reportError("..ERROR: Timeout in Turret Axis Zero procedure.", false);
+    		_isStandbyLoggerNeeded = false;
+    		prepareStandbyLogger();
     	}
-	}
-	
-	private void ZeroTurretAxisReEntrant(RobotData p_robotLiveData)
-	{
-		//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	boolean isTimeout = false; //control whether we want this method to run at startup
-    	boolean isOnApproachingHomeSwitch = _turretApproachingHomeLimitSwitch.get();
-    	boolean isOnHomeSwitch = _turretHomeLimitSwitch.get();	// switches are normally closed
     	
-    	switch (_turretZeroState)
+    	// a shot cut short by disabling ends here
+    	if (_highRateSampler != null)
     	{
-    		case BEFORE_APPROACHING_SWITCH:
-    	    	// start out in %VBUS mode
-	    		DriverStation.reportError("..Turret Chg to %VBus Mode.", false);
-		    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-		    	
-		    	// drive the axis up at 15%
-		    	outputDataValues.TurretVelocityCmd = 0.15;
-		    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
-    			
-    			if(!isOnApproachingHomeSwitch)
-    	    	{	    	
-    		    	long elapsedTime = 0L;
-    		    	long maxTimeInMSec = 8000; // 8 secs
-    		    	
-    		    	// if we are not on the limit switch, drive up until we hit it but only wait for 5 secs max
-		        	elapsedTime = (new Date().getTime() - _turretZeroStartTime);
-		    		
-		    		if (elapsedTime  >= maxTimeInMSec)
-		    		{
-		    			_turretZeroState = Turret_Zero_State.TIMEOUT;
-		    		}
-    	    	}
-    			else
-    			{
-    				_turretZeroState = Turret_Zero_State.ON_APPROACHING_SWITCH;
-    				DriverStation.reportError("Turret Zero State: ON_APPROACHING_SWITCH", false);
-    			}
-    			break;
-    		
-    		case ON_APPROACHING_SWITCH:
-    			_turretZeroStartTime = System.currentTimeMillis();
-    			_turretZeroState = Turret_Zero_State.BEFORE_HOME_SWITCH;
-    			DriverStation.reportError("Turret Approaching Switch hit", false);
-    			break;
-    			
-    		case BEFORE_HOME_SWITCH:
-    	    	long elapsedTime = 0L;
-    	    	long maxTimeInMSec = 5000; // 5 secs
-    	    	
-    	    	// if we are not on the limit switch, drive up until we hit it but only wait for 5 secs max
-    	    	if(!isOnHomeSwitch)
-    	    	{
-    	        	elapsedTime = (new Date().getTime() - _turretZeroStartTime);
-    	    		if (elapsedTime  >= maxTimeInMSec)
-    	    		{
-    	    			_turretZeroState = Turret_Zero_State.TIMEOUT;
-    	    		}
-
-    	    	}
-    	    	else
-    	    	{
-    	    		_turretZeroState = Turret_Zero_State.ON_HOME_SWITCH;
-    	    		DriverStation.reportError("Turret Zero State: ON_HOME_SWITCH", false);
-    	    	}
-    			break;
-    			
-    		case ON_HOME_SWITCH:
-    			// stop driving the axis
-        		outputDataValues.TurretVelocityCmd = 0;
-    	    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
-        		
-    	    	// now switch to position loop mode
-    	    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-    	    	
-    	    	// once we hit it reset the encoder
-    	    	double homePosition = 0;
-    	    	_turretMtr.setPosition(homePosition);	
-
-    	    	try {
-    	    		// sleep a little to let the zero occur
-    				Thread.sleep(1);
-    			} catch (InterruptedException e) {
-    				// TODO Auto-generated catch block
-    				e.printStackTrace();
-    			}
-    	    	
-    	    	// setup the PID Loop
-    	    	_turretMtr.setPID(RobotMap.TURRET_SLOW_KP, RobotMap.TURRET_SLOW_KI, RobotMap.TURRET_SLOW_KD, RobotMap.TURRET_SLOW_KF, RobotMap.TURRET_SLOW_IZONE, RobotMap.TURRET_SLOW_RAMPRATE, RobotMap.TURRET_SLOW_PROFILE);
-    	    	_turretMtr.setProfile(RobotMap.TURRET_SLOW_PROFILE);
-    	    	DriverStation.reportError("Turret set to Slow Profile", false);
-    	    	
-    	    	// write to the operator's console log window
-    	    	DriverStation.reportError("..Turret Axis Zeroed, Chg to Positon Ctrl Mode.", false);
-    	    	
-    	    	// finally mark the axis as zeroed
-    	    	_isTurretAxisZeroedYet = true;
-    			break;
-    			
-    		case TIMEOUT:
-    			DriverStation.reportError("Turret Axis Zero timed out", false);
-    			outputDataValues.TurretVelocityCmd = 0.0;
-		    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
-    			break;
+    		_highRateSampler.StopSampling();
     	}
-    	
-	}
-		
+    }
+    
 	// For PID velocity control we need to convert Target RPM into encoder counts per 100mSec
     private double CalcShooterVelociytInNativeUnitsPer100mSec(int targetWheelRPM)
     {
@@ -3491,7 +995,7 @@ public class Robot extends IterativeRobot
     	// ==========================
     	// 1.1 get high resolution timer
     	// ==========================
-    	inputDataValues.FPGATimeMicroSecs = Utility.getFPGATime();
+    	inputDataValues.FPGATimeMicroSecs = MonotonicClock.GetMicroSecs();
     	
     	// ==========================
     	// 1.2 get values from the gamepads
@@ -3540,6 +1044,7 @@ public class Robot extends IterativeRobot
     	//inputDataValues.RightDriveEncoderCurrentCount = _rightDriveMasterMtr.getPosition();	
     	inputDataValues.InfeedTiltEncoderCurrentCount = _infeedTiltMtr.getPosition();
     	inputDataValues.IsInfeedTiltAxisOnUpLimitSwitch = !_infeedTiltMtr.isFwdLimitSwitchClosed();
+    	inputDataValues.IsSliderAxisOnHomeLimitSwitch = !_sliderMtr.isRevLimitSwitchClosed();	// switch is normally closed
     	inputDataValues.TurretEncoderCurrentPosition = _turretMtr.getPosition();
     	inputDataValues.SliderEncoderCurrentCount = _sliderMtr.getPosition();
     	inputDataValues.SliderCurrentPosition = _sliderMtr.getPosition();
@@ -3572,14 +1077,37 @@ public class Robot extends IterativeRobot
     	// ==========================
     	// 1.6 get values from the last available scan on the Vision PC
     	// ==========================
-    	VisionData visionData = _visionClient.GetVisionData();
+    	VisionSnapshot visionData = _visionClient.GetVisionData();
+    	//	(all of the values are logged so the auto aim decisions can be replayed from the log)
     	if(visionData != null)
     	{
+    		inputDataValues.IsValidData = visionData.IsValidData;
+    		inputDataValues.DistanceToTarget = visionData.DistanceToTarget;
+    		inputDataValues.EffectiveTargetWidth = visionData.EffectiveTargetWidth;
+    		inputDataValues.DesiredSliderPosition = visionData.DesiredSliderPosition;
     		inputDataValues.DesiredTurretTurnInDegrees = visionData.DesiredTurretTurnInDegrees;
+    		inputDataValues.IsValidShot = visionData.IsValidShot;
+    		// the logged Date is set (not replaced) when a new frame arrives, so reading vision data does not allocate
+    		if (inputDataValues.LastVisionDataRecievedDT == null)
+    		{
+    			inputDataValues.LastVisionDataRecievedDT = new Date(visionData.ReceivedWallTimeMSecs);
+    		}
+    		else if (inputDataValues.LastVisionDataRecievedDT.getTime() != visionData.ReceivedWallTimeMSecs)
+    		{
+    			inputDataValues.LastVisionDataRecievedDT.setTime(visionData.ReceivedWallTimeMSecs);
+    		}
+    		inputDataValues.VisionDataAgeMSecs = MonotonicClock.GetElapsedMicroSecs(visionData.ReceivedMicroSecs) / 1000.0;
     	}
     	else
     	{
+    		inputDataValues.IsValidData = false;
+    		inputDataValues.DistanceToTarget = 0;
+    		inputDataValues.EffectiveTargetWidth = 0;
+    		inputDataValues.DesiredSliderPosition = 0;
     		inputDataValues.DesiredTurretTurnInDegrees = 0;
+    		inputDataValues.IsValidShot = false;
+    		inputDataValues.LastVisionDataRecievedDT = null;
+    		inputDataValues.VisionDataAgeMSecs = Double.NaN;
     	}
     	
     	// =========================
@@ -3617,7 +1145,7 @@ public class Robot extends IterativeRobot
     	InputData inputDataValues = robotDataValues.InputDataValues;
     	WorkingData workingDataValues = robotDataValues.WorkingDataValues;
     	OutputData outputDataValues = robotDataValues.OutputDataValues;
-    	VisionData visionData = _visionClient.GetVisionData();
+    	VisionSnapshot visionData = _visionClient.GetVisionData();
     	    	
 		// Drive Motors
 		//SmartDashboard.putNumber("Drive.Btn:SpeedScaleFactor", workingDataValues.DriveSpeedScalingFactor);
@@ -3677,17 +1205,17 @@ public class Robot extends IterativeRobot
 		SmartDashboard.putNumber("Slider.TargetPosition", outputDataValues.SliderTargetPositionCmd);
 		
 		// Axis Home Routines
-		SmartDashboard.putBoolean("Is Infeed Zeroed", _isInfeedTiltAxisZeroedYet);
-		SmartDashboard.putBoolean("Is Slider Zeroed", _isSliderAxisZeroedYet);
-		SmartDashboard.putBoolean("Is Turret Zeroed", _isTurretAxisZeroedYet);
+		SmartDashboard.putBoolean("Is Infeed Zeroed", _controlLogic.IsInfeedTiltAxisZeroedYet());
+		SmartDashboard.putBoolean("Is Slider Zeroed", _controlLogic.IsSliderAxisZeroedYet());
+		SmartDashboard.putBoolean("Is Turret Zeroed", _controlLogic.IsTurretAxisZeroedYet());
 		
 		// Shooter Alt Mode
-		if (_isShooterinAltMode)
+		if (_controlLogic.IsShooterInAltMode())
 		{
 			SmartDashboard.putString("Shooter in: ", "ALT");
 			SmartDashboard.putNumber("Shooter.TargetSpeed", outputDataValues.ShooterMtrAltTargetVelocityCmd);
 		}
-		else if (!_isShooterinAltMode)
+		else if (!_controlLogic.IsShooterInAltMode())
 		{
 			SmartDashboard.putString("Shooter in: ", "STOCK");
 			SmartDashboard.putNumber("Shooter.TargetSpeed", RobotMap.SHOOTER_TARGET_MOTOR_RPM);
@@ -3733,23 +1261,48 @@ public class Robot extends IterativeRobot
 	**/
 	private void setupLogging(String mode) 
 	{
+		_isStandbyLoggerNeeded = true;
+		
+		// a warm standby log is already open, hand it over
+		if (_standbyDataLogger != null)
+		{
+			_dataLogger = _standbyDataLogger;
+			_standbyDataLogger = null;
+			_dataLogger.Start(mode);
+			if (_logStagingArea != null)
+			{
+				_logStagingArea.StopFlush();
+			}
+			
+			// the standby file is renamed after the mode when it is closed, log the name it will have
+			_robotLiveData.WorkingDataValues.LogFilePathName = _dataLogger.GetFinalLogFilePathName();
+    		_robotLiveData.WorkingDataValues.IsLoggingEnabled = true;
+    		_robotLiveData.WorkingDataValues.LoggingStartedMicroSecs = _dataLogger.LoggingStartedMicroSecs;
+    		_robotLiveData.WorkingDataValues.LastScanMicroSecs = MonotonicClock.GetMicroSecs();
+    		return;
+		}
+		
 		// see if the USB stick is plugged into to RoboRIO
 		Path path = Paths.get(RobotMap.LOG_FILE_PATH);
     	if (Files.exists(path)) 
     	{
     		try 
     		{
-				_dataLogger = new DataLogger(RobotMap.LOG_FILE_PATH, mode);
-				_dataLogger.WriteData(_robotLiveData.BuildTSVHeader());
+    			if (_logStagingArea != null)
+    			{
+    				_logStagingArea.StopFlush();
+    			}
+    			_dataLogger = createDataLogger(mode);
+				_dataLogger.WriteHeader(_robotLiveData);
 				
 				_robotLiveData.WorkingDataValues.LogFilePathName = _dataLogger.LogFilePathName;
 	    		_robotLiveData.WorkingDataValues.IsLoggingEnabled = true;
-	    		_robotLiveData.WorkingDataValues.LoggingStartedDT = new Date();
-	    		_robotLiveData.WorkingDataValues.LastScanDT = new Date();
+	    		_robotLiveData.WorkingDataValues.LoggingStartedMicroSecs = _dataLogger.LoggingStartedMicroSecs;
+	    		_robotLiveData.WorkingDataValues.LastScanMicroSecs = MonotonicClock.GetMicroSecs();
 			} 
     		catch (IOException e) 
     		{
-				e.printStackTrace();
+				DriverStation.reportError("Error opening log: " + e.getMessage() + " | ", false);
 				
 	    		_dataLogger = null;
 				_robotLiveData.WorkingDataValues.LogFilePathName = "";
@@ -3764,6 +1317,120 @@ public class Robot extends IterativeRobot
     	}
 	}
 	
+    /**
+    / This method opens a new log file (staged on the RAM disk if there is room for it, else on the USB stick)
+	**/
+	private DataLogger createDataLogger(String fileSuffix) throws IOException
+	{
+		LogStagingArea stagingArea = null;
+		if (_logStagingArea != null && _logStagingArea.HasRoomForSession())
+		{
+			stagingArea = _logStagingArea;
+		}
+		
+		if (RobotMap.IS_ASYNC_LOGGING_ENABLED)
+		{
+			LogRecordEncoder encoder;
+			if (RobotMap.IS_BINARY_LOG_FORMAT_ENABLED && RobotMap.IS_DELTA_LOG_ENCODING_ENABLED)
+			{
+				encoder = new BinaryLogEncoder(RobotMap.LOG_DELTA_KEYFRAME_INTERVAL);
+			}
+			else if (RobotMap.IS_BINARY_LOG_FORMAT_ENABLED)
+			{
+				encoder = new BinaryLogEncoder();
+			}
+			else
+			{
+				encoder = new TsvLogEncoder();
+			}
+			AsyncDataLogger asyncDataLogger = new AsyncDataLogger(RobotMap.LOG_FILE_PATH, fileSuffix, encoder, stagingArea);
+			if (RobotMap.IS_LOG_TELEMETRY_ENABLED)
+			{
+				// live display only wants the latest scans, a bad link must not hold up the log file
+				asyncDataLogger.AddSink(new UdpTelemetrySink(RobotMap.LOG_TELEMETRY_HOST_ADDRESS, 
+																RobotMap.LOG_TELEMETRY_PORT, 
+																LogSink.Backpressure_Policy.DROP_OLDEST));
+			}
+			return asyncDataLogger;
+		}
+		return new DataLogger(RobotMap.LOG_FILE_PATH, fileSuffix, stagingArea);
+	}
+	
+    /**
+    / This method opens the log for the next mode while disabled (if warm standby logging is enabled)
+    /	the file is opened & its header written here, setupLogging only hands it over
+    /	(not used with mapped log segments, a segmented log is a set of files that is not renamed)
+	**/
+	private void prepareStandbyLogger()
+	{
+		if (!RobotMap.IS_LOG_WARM_STANDBY_ENABLED || !Files.exists(Paths.get(RobotMap.LOG_FILE_PATH)))
+		{
+			return;
+		}
+		if (RobotMap.IS_ASYNC_LOGGING_ENABLED && RobotMap.IS_MAPPED_LOG_SEGMENTS_ENABLED 
+				&& (_logStagingArea == null || !_logStagingArea.HasRoomForSession()))
+		{
+			return;
+		}
+		
+		try
+		{
+			// the columns do not depend on the values (_robotLiveData is null until the 1st mode starts)
+			_standbyDataLogger = createDataLogger(DataLogger.STANDBY_FILE_SUFFIX);
+			_standbyDataLogger.WriteHeader(new RobotData());
+		}
+		catch (IOException e)
+		{
+			DriverStation.reportError("Error opening standby log: " + e.getMessage() + " | ", false);
+			_standbyDataLogger = null;
+		}
+	}
+	
+	
+    /**
+    / This method starts the flight recorder for a new mode (if it is enabled)
+	**/
+	private void startFlightRecorder(String mode)
+	{
+		if (_flightRecorder == null)
+		{
+			return;
+		}
+		
+		// without a log file the recorded scans are timed from here
+		WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
+		if (!workingDataValues.IsLoggingEnabled)
+		{
+			workingDataValues.LoggingStartedMicroSecs = MonotonicClock.GetMicroSecs();
+			workingDataValues.LastScanMicroSecs = workingDataValues.LoggingStartedMicroSecs;
+		}
+		_flightRecorder.Start(mode);
+	}
+	
+    /**
+    / This method starts the high rate sampler for a new mode (if it is enabled)
+	**/
+	private void startHighRateSampler(String mode)
+	{
+		if (_highRateSampler != null)
+		{
+			_highRateSampler.Start(mode);
+		}
+	}
+	
+    /**
+    / This method copies this scan into the flight recorder, with the state it can not read from RobotData
+	**/
+	private void recordFlightData()
+	{
+		if (_flightRecorder == null)
+		{
+			return;
+		}
+		
+		_flightRecorder.SetVisionConnected(_visionClient.IsConnected());
+		_flightRecorder.Record(_robotLiveData);
+	}
 	
 	/*****************************************************************************************************
      * This function is called 1 time at the start of Test Mode
@@ -3773,40 +1440,13 @@ public class Robot extends IterativeRobot
 		// create a new instance of the RobotData object
     	_robotLiveData = new RobotData();
     	
-    	//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	
-    	// set defaults for initial motor speeds
-    	outputDataValues.KickerMtrVelocityCmd = 0.0;
-    	outputDataValues.ShooterMtrCurrentVelocityCmd = 0.0;
-    	outputDataValues.SliderVelocityCmd = 0.0;
-    	
-    	// Set desired initial (default) solenoid positions
-    	// puma up to cross defenses
-		outputDataValues.PumaFrontSolenoidPosition = RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION;
-		outputDataValues.PumaBackSolenoidPosition = RobotMap.PUMA_BACK_SOLENOID_UP_POSITION;
-    	
-    	// zero turret
-    	if (!_isTurretAxisZeroedYet)
-    	{
-    		ZeroTurretAxis(_robotLiveData);
-    	}
-    	
-    	// zero slider
-    	if (!_isSliderAxisZeroedYet)
-    	{
-    		_sliderZeroStartTime = System.currentTimeMillis();
-    		_sliderZeroState = Slider_Zero_State.DRIVE_TO_HOME;
-    		//ZeroSliderAxisReEntrant(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
-    		ZeroSliderAxis(_robotLiveData, RobotMap.SLIDER_DEFAULT_TARGET_POSITION);
-    	}
-    	
-    	_autoAimAndShootState = RobotData.Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
-    	DriverStation.reportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ", false);
+    	// set the initial test mode values & zero the turret and slider
+    	_controlLogic.TestInit(_robotLiveData);
     	
     	_visionClient.startPolling();
+    	
+    	startFlightRecorder("test");
+    	startHighRateSampler("test");
 	}
 	
     /*****************************************************************************************************
@@ -3829,7 +1469,8 @@ public class Robot extends IterativeRobot
     	// ===============================
     	// Step 2: Do all the real work
     	// ===============================
-    	AimAndShoot();
+    	_controlLogic.AimAndShoot();
+    	_controlLogic.RecordStateChanges();
     	
     	// ===================================
     	// Step 3: Below we drive the outputs
@@ -3869,7 +1510,7 @@ public class Robot extends IterativeRobot
     	// ==========================
     	UpdateDashboard(_robotLiveData);
     	
-    	workingDataValues.LastScanDT = new Date();  	
+    	workingDataValues.LastScanMicroSecs = MonotonicClock.GetMicroSecs();  	
     	
     	// optionally send message to drivers station
     	if(outputDataValues.DriversStationMsg != null 
@@ -3885,158 +1526,243 @@ public class Robot extends IterativeRobot
     	{
     		_dataLogger.WriteData(_robotLiveData);
     	}
+    	
+    	// ==========================
+    	// Step 6. Flight Recorder
+    	// ==========================
+    	recordFlightData();
     } 
     
-    // this is the heart of this function
-    //	this method implements a state machine
-    private void AimAndShoot()
+    // ========================================================================
+    // Connects the ControlLogic to the real devices
+    // ========================================================================
+    private class RobotHardware implements ControlHardware
     {
-    	//get local references to make variable references shorter
-    	InputData inputDataValues = _robotLiveData.InputDataValues;
-    	WorkingData workingDataValues = _robotLiveData.WorkingDataValues;
-    	OutputData outputDataValues = _robotLiveData.OutputDataValues;
-    	VisionData visionData = _visionClient.GetVisionData();
-    	    
-    	if (visionData == null || !visionData.IsValidData)
-    	{
-    		DriverStation.reportError("Error... No valid vision data to use. | ", false); 
-    		return;
-    	}
+    	private final TalonAxis _infeedTiltAxis = new CANTalonAxis(_infeedTiltMtr);
+    	private final TalonAxis _turretAxis = new CANTalonAxis(_turretMtr);
+    	private final TalonAxis _sliderAxis = new CANTalonAxis(_sliderMtr);
+    	private final TalonAxis _shooterMasterAxis = new CANTalonAxis(_shooterMasterMtr);
     	
-    	//	coarse	5 => soft limit		%VBus	.1%
-    	//	fine	0 => 5				%VBus	.05%
-    	//	shoot						PID Position
+		@Override
+		public TalonAxis GetInfeedTiltMtr()
+		{
+			return _infeedTiltAxis;
+		}
+
+		@Override
+		public TalonAxis GetTurretMtr()
+		{
+			return _turretAxis;
+		}
+
+		@Override
+		public TalonAxis GetSliderMtr()
+		{
+			return _sliderAxis;
+		}
+
+		@Override
+		public TalonAxis GetShooterMasterMtr()
+		{
+			return _shooterMasterAxis;
+		}
+
+		@Override
+		public boolean IsTurretHomeLimitSwitchClosed()
+		{
+			return _turretHomeLimitSwitch.get();
+		}
+
+		@Override
+		public boolean IsTurretApproachingHomeLimitSwitchClosed()
+		{
+			return _turretApproachingHomeLimitSwitch.get();
+		}
+
+		@Override
+		public double GetRawAccelX()
+		{
+			return _navXSensor.getRawAccelX();
+		}
+
+		@Override
+		public double GetRawAccelY()
+		{
+			return _navXSensor.getRawAccelY();
+		}
+
+		@Override
+		public VisionSnapshot GetVisionData()
+		{
+			return _visionClient.GetVisionData();
+		}
+
+		@Override
+		public void SetPumaBackSolenoid(Value position)
+		{
+			_pumaBackSolenoid.set(position);
+		}
+
+		@Override
+		public void SwitchCamera(String cameraName)
+		{
+			server.switchAutomaticCapture(cameraName);
+		}
+
+		@Override
+		public void EnableDriveBrakeMode(boolean isEnabled)
+		{
+			_leftDriveMasterMtr.enableBrakeMode(isEnabled);
+			_leftDriveSlaveMtr.enableBrakeMode(isEnabled);
+			_leftDriveSlave2Mtr.enableBrakeMode(isEnabled);
+			_rightDriveMasterMtr.enableBrakeMode(isEnabled);
+			_rightDriveSlaveMtr.enableBrakeMode(isEnabled);
+			_rightDriveSlave2Mtr.enableBrakeMode(isEnabled);
+		}
+
+		@Override
+		public long GetTimeMSecs()
+		{
+			return MonotonicClock.GetMicroSecs() / 1000;
+		}
+
+		@Override
+		public void Sleep(long msecs) throws InterruptedException
+		{
+			Thread.sleep(msecs);
+		}
+
+		@Override
+		public void ReportError(String message)
+		{
+			DriverStation.reportError(message, false);
+			RecordEvent(LogEventCatalog.DRIVER_STATION_MSG, 0, message);
+		}
+
+		@Override
+		public void RecordEvent(int eventId, double value, String text)
+		{
+			if (_dataLogger != null)
+			{
+				_dataLogger.RecordEvent(eventId, value, text);
+			}
+			if (_flightRecorder != null)
+			{
+				_flightRecorder.OnEvent(eventId);
+			}
+			if (_highRateSampler != null)
+			{
+				_highRateSampler.OnEvent(eventId);
+			}
+		}
+    }
+    
+    // ========================================================================
+    // A TalonAxis backed by a real Talon SRX
+    // ========================================================================
+    private static class CANTalonAxis implements TalonAxis
+    {
+    	private final CANTalon _talon;
     	
-    	switch (_autoAimAndShootState)
+    	CANTalonAxis(CANTalon talon)
     	{
-    		case ZERO_AXES:
-    	    	if(!_isSliderAxisZeroedYet)
-    	    	{
-    	    		ZeroSliderAxisReEntrant(_robotLiveData);
-    	    		//ZeroSliderAxis(_robotLiveData, _sliderAutonPosition);
-    	    	}
-    	    	else
-    	    	{
-    	    		outputDataValues.SliderTargetPositionCmd = RobotMap.SLIDER_DEFAULT_TARGET_POSITION;
-    	    	}
-    	    	
-    	    	if (!_isTurretAxisZeroedYet)
-    	    	{
-    	    		ZeroTurretAxisReEntrant(_robotLiveData);
-    	    	}
-    	    	
-    	    	double sliderPositionError = Math.abs(outputDataValues.SliderTargetPositionCmd - _sliderMtr.getPosition());
-    	    	if (_isSliderAxisZeroedYet && _isTurretAxisZeroedYet && (sliderPositionError < 1.0) && (outputDataValues.SliderTargetPositionCmd == RobotMap.SLIDER_DEFAULT_TARGET_POSITION))
-    	    	{
-    	    		DriverStation.reportError("Changing Auton State To: COARSE_TURRET_TO_TARGET | ", false);
-    	    		_autoAimAndShootState = Auto_Aim_And_Shoot_State.COARSE_TURRET_TO_TARGET;
-    	    	}
-    			break;
-    			
-    		case COARSE_TURRET_TO_TARGET:
+    		_talon = talon;
+    	}
 
-    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_COARSE_ADJUST_DEADBAND)
-    			{
-    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-    				{
-    					// switch to % VBUS Mode
-        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-    				}
-    				
-    				if (visionData.DesiredTurretTurnInDegrees > 0)
-    				{
-	    				outputDataValues.TurretVelocityCmd = RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
-	    				//DriverStation.reportError("Turret Speed at 10% | ", false);
-    				}
-    				else
-    				{
-	    				outputDataValues.TurretVelocityCmd = -1.0 * RobotMap.AUTO_AIM_COARSE_ADJUST_TURN_SPEED;
-	    				//DriverStation.reportError("Turret Speed at -10% | ", false);
-    				}    					
-    			}
-    			else if (Math.abs(visionData.DesiredTurretTurnInDegrees) > 0)
-    			{
-    				_autoAimAndShootState = Auto_Aim_And_Shoot_State.FINE_TURRET_TO_TARGET;
-					DriverStation.reportError("Changing Auton State To: FINE_TURRET_TO_TARGET | ", false);
-    			}
-    			else
-    			{
-    				DriverStation.reportError("Coarse Vision Data looks invalid" , false);
-    			}
-    			break;
-    			
-    		case FINE_TURRET_TO_TARGET:
+		@Override
+		public TalonControlMode getControlMode()
+		{
+			return _talon.getControlMode();
+		}
 
-    			DriverStation.reportError("Vision: " + visionData.DesiredTurretTurnInDegrees + " | ", false);
-    			if (Math.abs(visionData.DesiredTurretTurnInDegrees) > RobotMap.AUTO_AIM_FINE_ADJUST_DEADBAND)
-    			{
-    				if(_turretMtr.getControlMode() != CANTalon.TalonControlMode.PercentVbus )
-    				{
-    					// switch to % VBUS Mode
-        				_turretMtr.changeControlMode(CANTalon.TalonControlMode.PercentVbus);
-        				DriverStation.reportError("Turret changing to PercentVBus mode", false);
-    				}
-    				
-    				if (visionData.DesiredTurretTurnInDegrees > 0)
-    				{
-	    				outputDataValues.TurretVelocityCmd = RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED;
-	    				DriverStation.reportError("Turret Speed at 10% | ", false);
-    				}
-    				else
-    				{
-	    				outputDataValues.TurretVelocityCmd = -1.0 * RobotMap.AUTO_AIM_FINE_ADJUST_TURN_SPEED;
-	    				DriverStation.reportError("Turret Speed at -10% | ", false);
-    				}    					
-    			}
-    			else if(Math.abs(visionData.DesiredTurretTurnInDegrees) > 0)
-    			{
-    	    		// switch to PID Position Mode
-    	    		
-    	    		// stop driving the axis
-    	    		outputDataValues.TurretVelocityCmd = 0;
-    		    	_turretMtr.set(outputDataValues.TurretVelocityCmd);
-    	    		
-    		    	// now switch to position loop mode
-    		    	_turretMtr.changeControlMode(CANTalon.TalonControlMode.Position);
-    		    	outputDataValues.TurretTargetPositionCmd = _turretMtr.getPosition();
-    		    	DriverStation.reportError("Turret changing to Position mode | ", false);
-    		    	
-    		    	try {
-    		    		// sleep a little to let the zero occur
-    					Thread.sleep(1);
-    				} catch (InterruptedException e) {
-    					// TODO Auto-generated catch block
-    					e.printStackTrace();
-    				}
-    				
-    				_autoAimAndShootState = Auto_Aim_And_Shoot_State.SHOOT;
-					DriverStation.reportError("Changing Auton State To: SHOOT | ", false);
-    			}
-    			else
-    			{
-    				DriverStation.reportError("Fine Vision Data looks invalid" , false);
-    			}
-    			
-				break;
-    			
-    		case SHOOT:
-				// wait until we reach 95% of target wheel speed
-				if (inputDataValues.ShooterActualSpeed > (RobotMap.SHOOTER_TARGET_MOTOR_RPM * 0.95))
-				{
-					// start the infeed to drive the ball up into the shooter
-					outputDataValues.InfeedAcqMtrVelocityCmd = 1.0;
-					//DriverStation.reportError("Ready to Shoot | ", false);
-				}
-				
-				// drive both sets of wheels
-    			outputDataValues.ShooterMtrCurrentVelocityCmd = RobotMap.SHOOTER_TARGET_MOTOR_RPM;
-				outputDataValues.KickerMtrVelocityCmd = RobotMap.KICKER_TARGET_PERCENT_VBUS_CMD;
-    			break;
-    			
-    		case TIMEOUT:
-    			DriverStation.reportError("Error... Auto Aim and Shoot sequence timed out | ", false);
-    			break;
-    	}
+		@Override
+		public void changeControlMode(TalonControlMode controlMode)
+		{
+			_talon.changeControlMode(controlMode);
+		}
+
+		@Override
+		public void set(double outputValue)
+		{
+			_talon.set(outputValue);
+		}
+
+		@Override
+		public double getPosition()
+		{
+			return _talon.getPosition();
+		}
+
+		@Override
+		public void setPosition(double position)
+		{
+			_talon.setPosition(position);
+		}
+
+		@Override
+		public int getClosedLoopError()
+		{
+			return _talon.getClosedLoopError();
+		}
+
+		@Override
+		public void setPID(double p, double i, double d, double f, int izone, double closeLoopRampRate, int profile)
+		{
+			_talon.setPID(p, i, d, f, izone, closeLoopRampRate, profile);
+		}
+
+		@Override
+		public void setProfile(int profile)
+		{
+			_talon.setProfile(profile);
+		}
+
+		@Override
+		public void setCloseLoopRampRate(double rampRate)
+		{
+			_talon.setCloseLoopRampRate(rampRate);
+		}
+
+		@Override
+		public void setVoltageRampRate(double rampRate)
+		{
+			_talon.setVoltageRampRate(rampRate);
+		}
+
+		@Override
+		public boolean isFwdLimitSwitchClosed()
+		{
+			return _talon.isFwdLimitSwitchClosed();
+		}
+
+		@Override
+		public boolean isRevLimitSwitchClosed()
+		{
+			return _talon.isRevLimitSwitchClosed();
+		}
+    }
+    
+    // ========================================================================
+    // The shooter, turret & slider values read by the high rate sampler
+    //	(read on the sampler thread, the Talons return their last CAN status frame)
+    // ========================================================================
+    private class ShooterSampleSource implements HighRateSampleSource
+    {
+    	private final String[] _channelNames = { "ShooterActualSpeed", "ShooterClosedLoopError", "TurretPosition", "SliderPosition" };
+    	
+		@Override
+		public String[] GetChannelNames()
+		{
+			return _channelNames;
+		}
+
+		@Override
+		public void ReadSample(double[] values, int offset)
+		{
+			values[offset] = _shooterMasterMtr.getSpeed();
+			values[offset + 1] = _shooterMasterMtr.getClosedLoopError();
+			values[offset + 2] = _turretMtr.getPosition();
+			values[offset + 3] = _sliderMtr.getPosition();
+		}
     }
-}
\ No newline at end of file
+}
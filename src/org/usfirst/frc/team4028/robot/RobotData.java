@@ -236,28 +236,135 @@ public class RobotData
 	public WorkingData WorkingDataValues;
 	public OutputData OutputDataValues;
 	
-	// build a TSV (Tab Separated Value) string for the header
-	public String BuildTSVHeader()
+	// add all of the logged columns to a log schema
+	public void DescribeLogColumns(LogSchema schema)
 	{
-		StringBuilder sb = new StringBuilder();
-		
-		sb.append(InputDataValues.BuildTSVHeader() + "\t");
-		sb.append(WorkingDataValues.BuildTSVHeader() + "\t");	
-		sb.append(OutputDataValues.BuildTSVHeader() + "\n");
-		
-		return sb.toString();
+		InputDataValues.DescribeLogColumns(schema);
+		WorkingDataValues.DescribeLogColumns(schema);
+		OutputDataValues.DescribeLogColumns(schema);
+	}
+	
+	// copy all of the logged values into a (preallocated) log record
+	public void CaptureLogRecord(LogRecord record)
+	{
+		InputDataValues.CaptureLogRecord(record);
+		WorkingDataValues.CaptureLogRecord(record);
+		OutputDataValues.CaptureLogRecord(record);
+	}
+	
+	// declare how often each logged column is sampled, anything not listed here is logged every scan
+	//	(only values the control code never reads are decimated, so a log can still be replayed exactly)
+	public void DescribeLogSampling(LogSamplingPolicy policy)
+	{
+		// choosers, config & state only change a few times a match
+		policy.OnChange("InputData:Auton*");
+		policy.OnChange("InputData:CameraSelected");
+		policy.OnChange("InputData:NavxIsConnected");
+		policy.OnChange("InputData:NavxIsCalibrating");
+		policy.OnChange("InputData:LastVisionDataRecievedDT");
+		policy.OnChange("WorkingData:*EncoderInitialCount");
+		policy.OnChange("WorkingData:AutonShootBallState");
+		policy.OnChange("WorkingData:TeleopElevatorState");
+		policy.OnChange("WorkingData:ShooterTargetSpeed");
+		policy.OnChange("WorkingData:*StartTime");
+		policy.OnChange("WorkingData:LogFilePathName");
+		policy.OnChange("OutputData:*SolenoidPosition");
+		policy.OnChange("OutputData:DriversStationMsg");
+		
+		// diagnostics, a few samples per second is plenty
+		policy.Periodic("InputData:InfeedTiltCurrentOutputVoltage", RobotMap.LOG_SLOW_SAMPLE_PERIOD_MSECS);
+		policy.Periodic("InputData:ShooterCurrentBusVoltage", RobotMap.LOG_SLOW_SAMPLE_PERIOD_MSECS);
+		policy.Periodic("InputData:ShooterActualVToBusVRatio", RobotMap.LOG_SLOW_SAMPLE_PERIOD_MSECS);
+		policy.Periodic("InputData:NavxCompassHeading", RobotMap.LOG_SLOW_SAMPLE_PERIOD_MSECS);
+		policy.Periodic("InputData:NavxFusedHeading", RobotMap.LOG_SLOW_SAMPLE_PERIOD_MSECS);
+		policy.Periodic("InputData:NavxAccel*", RobotMap.LOG_SLOW_SAMPLE_PERIOD_MSECS);
 	}
 
-	// build a TSV for the data values
-	public String BuildTSVData()
+	// =====================================
+	// read logged values back (used to replay a log, called by the generated RobotDataLogCodec)
+	// =====================================
+
+	// an ENUM column holds the enum constant (live record) or its name (record read back from a file)
+	//	names that no longer exist in the enum are returned as null
+	static <E extends Enum<E>> E LoadEnum(Class<E> enumClass, LogRecord record, int columnIndex)
 	{
-		StringBuilder sb = new StringBuilder();
-		
-		sb.append(InputDataValues.BuildTSVData() + "\t");
-		sb.append(WorkingDataValues.BuildTSVData() + "\t");	
-		sb.append(OutputDataValues.BuildTSVData() + "\n");
-		
-		return sb.toString();
+		Object ref = record.GetRef(columnIndex);
+		if (ref == null || enumClass.isInstance(ref))
+		{
+			return enumClass.cast(ref);
+		}
+
+		try
+		{
+			return Enum.valueOf(enumClass, ref.toString());
+		}
+		catch (IllegalArgumentException e)
+		{
+			return null;
+		}
+	}
+
+	static Date LoadDate(LogRecord record, int columnIndex)
+	{
+		long value = record.GetLong(columnIndex);
+		return (value != LogRecord.NULL_DATE) ? new Date(value) : null;
+	}
+
+	static String LoadText(LogRecord record, int columnIndex)
+	{
+		Object ref = record.GetRef(columnIndex);
+		return (ref != null) ? ref.toString() : null;
+	}
+
+	// =====================================
+	// map the physical solenoid positions to a logical description (used for logging, see @LogColumn(describedBy = ...))
+	// =====================================
+	static String GetPumaFrontSolenoidPositionDesc(Value pumaFrontSolenoidPosition)
+	{
+		if (pumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION)
+		{
+			return "PUMA_FRONT_SOLENOID_OPEN";
+		}
+		else if (pumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION)
+		{
+			return "PUMA_FRONT_SOLENOID_CLOSED";
+		}
+		else
+		{
+			return "UNKNOWN";
+		}
+	}
+	
+	static String GetPumaBackSolenoidPositionDesc(Value pumaBackSolenoidPosition)
+	{
+		if (pumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_UP_POSITION)
+		{
+			return "PUMA_BACK_SOLENOID_OPEN";
+		}
+		else if (pumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION)
+		{
+			return "PUMA_BACK_SOLENOID_CLOSED";
+		}
+		else
+		{
+			return "UNKNOWN";
+		}
+	}
+	
+	static String GetPerimeterSolenoidPositionDesc(Value perimeterSolenoidPosition)
+	{
+		if (perimeterSolenoidPosition == RobotMap.PERIMETER_EXPANSION_IN)
+		{
+			return "PERIMITER_EXPANSION_IN";
+		}
+		else if (perimeterSolenoidPosition == RobotMap.PERIMETER_EXPANSION_OUT)
+		{
+			return "PERIMITER_EXPANSION_OUT";
+		}
+		else
+		{
+			return "UNKNOWN";
+		}
 	}
 	
 	// internal class representing all of the Input data (sensors, driver station) used to control the robot
@@ -289,6 +396,7 @@ public class RobotData
 		public boolean IsInfeedTiltDeployBtnPressed;
 		public boolean IsInfeedTiltFixedBtnPressed;
 		public boolean IsInfeedTiltAxisOnUpLimitSwitch;
+		public boolean IsSliderAxisOnHomeLimitSwitch;
 		public boolean IsPrintDataBtnPressed;
 		public boolean IsElevatorTimerOverrideBtnPressed;
 				
@@ -338,6 +446,7 @@ public class RobotData
 		public boolean IsValidShot;
 		
 		public Date LastVisionDataRecievedDT;
+		public double VisionDataAgeMSecs;	// how old the last vision data is (NaN when there is none)
 		
 		AutonMode AutonModeRequested;
 		Auton_Puma_Back_Position AutonPumaBackPositionRequested;
@@ -365,196 +474,37 @@ public class RobotData
 		public boolean NavxIsMoving;
 		public boolean NavxIsRotating;
 		
-		// build a TSV for the header
-		public String BuildTSVHeader()
+		// add the logged columns for this class to a log schema (1 per field, generated, see RobotDataCodecGenerator)
+		public void DescribeLogColumns(LogSchema schema)
 		{
-			StringBuilder sb = new StringBuilder();
-			
-			sb.append("InputData:FPGATimeMicroSecs" + "\t");
-			sb.append("InputData:IsScaleDriveSpeedUpBtnPressed" + "\t");
-			sb.append("InputData:IsScaleDriveSpeedDownBtnPressed" + "\t");
-			sb.append("InputData:IsPumaFrontToggleBtnPressed" + "\t");
-			sb.append("InputData:IsPumaBackToggleBtnPressed" + "\t");
-			sb.append("InputData:IsPumaBothToggleBtnPressed" + "\t");
-			sb.append("InputData:IsInfeedAcquireBtnPressed" + "\t");
-			sb.append("InputData:IsInfeedReleaseBtnPressed" + "\t");
-			sb.append("InputData:IsCameraSwitchBtnPressed" + "\t");
-			sb.append("InputData:IsCupidToggleBtnPressed" + "\t");
-			sb.append("InputData:IsClimbEnabledBtnPressed" + "\t");
-			sb.append("InputData:IsCupidCameraBtnPressed" + "\t");
-			sb.append("InputData:IsShooterTargetSpeedToggleBtnPressed" + "\t");
-			sb.append("InputData:IsShooterAltModeEnableBtnPressed" + "\t");
-			sb.append("InputData:IsAutoAimBtnPressed" + "\t");
-			//sb.append("InputData:IsShooterSpeedUpBtnPressed" + "\t");
-			//sb.append("InputData:IsShooterSpeedDownBtnPressed" + "\t");
-			sb.append("InputData:IsKickerBtnPressed" + "\t");
-			sb.append("InputData:IsShooterBtnPressed" + "\t");
-			sb.append("InputData:IsSliderFwdBtnPressed" +"\t");
-			sb.append("InputData:IsSliderRevBtnPressed" +"\t");
-			sb.append("InputData:IsInfeedTiltStoreBtnPressed" + "\t");
-			sb.append("InputData:IsInfeedTiltDeployBtnPressed" + "\t");
-			sb.append("InputData:IsInfeedTiltFixedBtnPressed" + "\t");
-			sb.append("InputData:IsPrintDataBtnPressed" + "\t");
-			sb.append("InputData:IsElevatorTimerOverrideBtnPressed" + "\t");
-			sb.append("InputData:TurretCCWRawVelocityCmd" + "\t");
-			sb.append("InputData:TurretCWRawVelocityCmd" + "\t");
-			sb.append("InputData:ArcadeDriveThrottleRawCmd" + "\t");
-			sb.append("InputData:ArcadeDriveTurnRawCmd" + "\t");
-			sb.append("InputData:InfeedRawTiltCmd" + "\t");
-			sb.append("InputData:InfeedTiltUpCmd" + "\t");
-			sb.append("InputData:InfeedTiltDownCmd" + "\t");
-			sb.append("InputData:WinchRawCmd" + "\t");
-			sb.append("InputData:SliderRawVelocityCmd" +"\t");
-			sb.append("InputData:SliderCurrentPosition" +"\t");
-			sb.append("InputData:And1RawCmd" + "\t");
-			sb.append("InputData:LeftDriveEncoderCurrentCount" + "\t");
-			sb.append("InputData:RightDriveEncoderCurrentCount" + "\t");
-			sb.append("InputData:InfeedTiltEncoderCurrentCount" + "\t");
-			sb.append("InputData:TurretEncoderCurrentCount" + "\t");
-			sb.append("InputData:SliderEncoderCurrentCount" + "\t");
-			sb.append("InputData:IsInfeedTiltAxisOnUpLimitSwitch" + "\t");
-			sb.append("InputData:InfeedTiltCurrentOutputVoltage" + "\t");
-			sb.append("InputData:ShooterEncoderCurrentCP100MS" + "\t");
-			sb.append("InputData:ShooterClosedLoopError" + "\t");
-			sb.append("InputData:ShooterCurrentBusVoltage" + "\t");  
-			sb.append("InputData:ShooterActualSpeed" + "\t");
-			sb.append("InputData:ShooterActualVToBusVRatio" + "\t");
-			sb.append("InputData:IsTurretHomeLimitSwitchClosed" + "\t");
-			sb.append("InputData:IsTurretApproachingHomeLimitSwitchClosed" + "\t");
-			sb.append("InputData:IsBallInPosition" + "\t");
-			sb.append("InputData:IsValidData" + "\t");
-			sb.append("InputData:DistanceToTarget" + "\t");
-			sb.append("InputData:EffectiveTargetWidth" + "\t");
-			sb.append("InputData:DesiredSliderPosition" + "\t");
-			sb.append("InputData:DesiredTurretTurnInDegrees" + "\t");
-			sb.append("InputData:IsValidShot" + "\t");
-			sb.append("InputData:LastVisionDataRecievedDT" + "\t");
-			sb.append("InputData:AutonModeRequested" + "\t");
-			sb.append("InputData:AutonPumaBackPositionRequested" + "\t");
-			sb.append("InputData:AutonSliderPositionRequested" + "\t");
-			sb.append("InputData:AutonShooterWheelRPMRequested" + "\t");
-			sb.append("InputData:AutonDriveTimeInSecsRequested" + "\t");
-			sb.append("InputData:AutonDriveThrottlePercentRequested" + "\t");
-			sb.append("InputData:AutonCrossDefenseTypeRequested" + "\t");
-			sb.append("InputData:AutonCrossDefensePosition" + "\t");
-			sb.append("InputData:CameraSelected" + "\t");
-			sb.append("InputData:NavxIsConnected" + "\t");
-			sb.append("InputData:NavxIsCalibrated" + "\t");
-			sb.append("InputData:NavxYaw" + "\t");
-			sb.append("InputData:NavxPitch" + "\t");
-			sb.append("InputData:NavxRoll" + "\t");
-			sb.append("InputData:NavxCompassHeading" + "\t");
-			sb.append("InputData:NavxFusedHeading" + "\t");
-			sb.append("InputData:NavxTotalYaw" + "\t");
-			sb.append("InputData:NavxYawRateDPS" + "\t");
-			sb.append("InputData:NavxAccelX" + "\t");
-			sb.append("InputData:NavxAccelY" + "\t");
-			sb.append("InputData:NavxIsMoving" + "\t");
-			sb.append("InputData:NavxIsRotating");
-
-					
-			return sb.toString();
+			RobotDataLogCodec.DescribeInputDataColumns(schema);
 		}
 		
-		// build a TSV for the data
-		public String BuildTSVData()
+		// copy the logged values into a (preallocated) log record, in the same order as DescribeLogColumns
+		public void CaptureLogRecord(LogRecord record)
 		{
-			StringBuilder sb = new StringBuilder();
-			
-			sb.append(FPGATimeMicroSecs + "\t");
-			sb.append(IsScaleDriveSpeedUpBtnPressed + "\t");
-			sb.append(IsScaleDriveSpeedDownBtnPressed + "\t");
-			sb.append(IsPumaFrontToggleBtnPressed + "\t");
-			sb.append(IsPumaBackToggleBtnPressed + "\t");
-			sb.append(IsPumaBothToggleBtnPressed + "\t");
-			sb.append(IsInfeedAcquireBtnPressed + "\t");
-			sb.append(IsInfeedReleaseBtnPressed + "\t");
-			sb.append(IsCameraSwitchBtnPressed + "\t"); 
-			sb.append(IsCupidToggleBtnPressed + "\t");
-			sb.append(IsClimbEnabledBtnPressed + "\t");
-			sb.append(IsCupidCameraBtnPressed + "\t");
-			sb.append(IsShooterTargetSpeedToggleBtnPressed + "\t");
-			sb.append(IsShooterAltModeEnableBtnPressed + "\t");
-			sb.append(IsAutoAimBtnPressed + "\t");
-			//sb.append(IsShooterSpeedUpBtnPressed + "\t");
-			//sb.append(IsShooterSpeedDownBtnPressed + "\t");
-			sb.append(IsSliderFwdBtnPressed + "\t");
-			sb.append(IsSliderRevBtnPressed + "\t");
-			sb.append(IsInfeedTiltStoreBtnPressed + "\t");
-			sb.append(IsInfeedTiltDeployBtnPressed + "\t");
-			sb.append(IsInfeedTiltFixedBtnPressed + "\t");
-			sb.append(IsPrintDataBtnPressed + "\t");
-			sb.append(IsElevatorTimerOverrideBtnPressed + "\t");
-			sb.append(TurretCCWRawVelocityCmd + "\t");
-			sb.append(TurretCWRawVelocityCmd + "\t");
-			sb.append(KickerRawVelocityCmd + "\t");
-			sb.append(ShooterRawVelocityCmd + "\t");
-			sb.append(ArcadeDriveThrottleRawCmd + "\t");
-			sb.append(ArcadeDriveTurnRawCmd + "\t");
-			sb.append(InfeedRawTiltCmd + "\t");
-			sb.append(InfeedTiltUpCmd + "\t");
-			sb.append(InfeedTiltDownCmd + "\t");
-			sb.append(WinchRawCmd + "\t");
-			sb.append(SliderRawVelocityCmd + "\t");
-			sb.append(SliderCurrentPosition +"\t");
-			sb.append(LeftDriveEncoderCurrentCount + "\t");
-			sb.append(RightDriveEncoderCurrentCount + "\t");
-			sb.append(InfeedTiltEncoderCurrentCount + "\t");
-			sb.append(TurretEncoderCurrentPosition + "\t");
-			sb.append(SliderEncoderCurrentCount + "\t");
-			sb.append(And1RawCmd + "\t");
-			sb.append(IsInfeedTiltAxisOnUpLimitSwitch + "\t");
-			sb.append(InfeedTiltCurrentOutputVoltage + "\t");
-			sb.append(ShooterEncoderCurrentCP100MS + "\t");
-			sb.append(ShooterClosedLoopError + "\t");
-			sb.append(ShooterCurrentBusVoltage + "\t");
-			sb.append(ShooterActualSpeed + "\t");
-			sb.append(ShooterActualVToBusVRatio  + "\t");
-			sb.append(IsTurretHomeLimitSwitchClosed + "\t");
-			sb.append(IsTurretApproachingHomeLimitSwitchClosed + "\t");
-			sb.append(IsBallInPosition + "\t");
-			sb.append(IsValidData + "\t");
-			sb.append(DistanceToTarget + "\t");
-			sb.append(EffectiveTargetWidth + "\t");
-			sb.append(DesiredSliderPosition + "\t");
-			sb.append(DesiredTurretTurnInDegrees + "\t");
-			sb.append(IsValidShot + "\t");
-			sb.append(LastVisionDataRecievedDT + "\t");
-			sb.append(AutonModeRequested + "\t");
-			sb.append(AutonPumaBackPositionRequested + "\t");
-			sb.append(AutonSliderPositionRequested + "\t");
-			sb.append(AutonShooterWheelRPMRequested + "\t");
-			sb.append(AutonDriveTimeInSecsRequested + "\t");
-			sb.append(AutonDriveThrottlePercentRequested + "\t");
-			sb.append(AutonCrossDefenseTypeRequested + "\t");
-			sb.append(AutonCrossDefensePosition + "\t");
-			sb.append(CameraSelected + "\t");
-			sb.append(NavxIsConnected + "\t");
-			sb.append(NavxIsCalibrating + "\t");
-			sb.append(NavxYaw + "\t");
-			sb.append(NavxPitch + "\t");
-			sb.append(NavxRoll + "\t");
-			sb.append(NavxCompassHeading + "\t");
-			sb.append(NavxFusedHeading + "\t");
-			sb.append(NavxTotalYaw + "\t");
-			sb.append(NavxYawRateDPS + "\t");
-			sb.append(NavxAccelX + "\t");
-			sb.append(NavxAccelY + "\t");
-			sb.append(NavxIsMoving + "\t");
-			sb.append(NavxIsRotating);
-
-			return sb.toString();
+			RobotDataLogCodec.CaptureInputData(this, record);
+		}
+		
+		// copy the values of a log record (in the same order as DescribeLogColumns) back into this object, used to replay a log
+		//	the columns for this class start at firstColumnIndex
+		public void LoadLogRecord(LogRecord record, int firstColumnIndex)
+		{
+			RobotDataLogCodec.LoadInputData(this, record, firstColumnIndex);
 		}
 	}
 	
 	// internal class representing all of the working data
 	public class WorkingData
 	{
+		@LogColumn(isLogged = false)
 		public boolean IsLoggingEnabled;
 		public String LogFilePathName;
-		public Date LoggingStartedDT;
+		@LogColumn(isLogged = false)
+		public long LoggingStartedMicroSecs;		// MonotonicClock time
 		
-		public Date LastScanDT;
+		@LogColumn(isLogged = false)
+		public long LastScanMicroSecs;				// MonotonicClock time
 		
 		public boolean IsDriveSpeedScalingButtonPressedLastScan;
 		public double DriveSpeedScalingFactor;			// min = 0.0, max = 1.0, 1.0 = 100%, 
@@ -613,131 +563,16 @@ public class RobotData
     	public long AutonDriveFwdStartTime;
     	public long InfeedPauseOnBallInPositionSwitchStartTime;
     	
-		// build a TSV for the header
-		public String BuildTSVHeader()
+		// add the logged columns for this class to a log schema (1 per field, generated, see RobotDataCodecGenerator)
+		public void DescribeLogColumns(LogSchema schema)
 		{
-			StringBuilder sb = new StringBuilder();
-			
-			sb.append("WorkingData:IsDriveSpeedScalingButtonPressedLastScan" + "\t");
-			sb.append("WorkingData:DriveSpeedScalingFactor" + "\t");
-			
-			sb.append("WorkingData:IsPumaFrontToggleBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsPumaBackToggleBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsPumaBothToggleBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsSliderFwdBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsSliderRevBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsPrintDataBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsTurretCWButtonPressedLastScan" + "\t");
-			sb.append("WorkingData:IsTurretCCWButtonPressedLastScan" + "\t");
-			sb.append("WorkingData:IsInfeedTiltStoreBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsInfeedTiltFixedBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsInfeedAcquireBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsCameraSwitchBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsCupidSwitchBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsBallInPositionLastScan" + "\t");
-			sb.append("WorkingData:IsFwdDriveTiltSafetyEngagedLastScan" + "\t");
-			sb.append("WorkingData:IsRevDriveTiltSafetyEngagedLastScan" + "\t");
-			sb.append("WorkingData:IsShooterSpeedUpBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsShooterSpeedDownBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsShooterTargetSpeedToggleBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsCupidToggleBtnPressedLastScan" + "\t");
-			sb.append("WorkingData:IsShooterAltModeEnableBtnPressedLastScan" + "\t");
-			
-			sb.append("WorkingData:IsTurretEncoderDegreesZeroYet" + "\t");
-			sb.append("WorkingData:IsTurretEncoderDegreesTargetYet" + "\t");
-			
-			sb.append("WorkingData:TurretEncoderInitialCount" + "\t");
-			//sb.append("WorkingData:TurretEncoderTotalDeltaCount" + "\t");
-			sb.append("WorkingData:TurretEncoderDegreesCount" + "\t");
-			sb.append("WorkingData:TurretTargetDegreesCount" + "\t");
-			sb.append("WorkingData:TurretTurnDegreesCmd" + "\t");
-			
-			sb.append("WorkingData:InfeedTiltEncoderInitialCount" + "\t");
-			sb.append("WorkingData:InfeedTiltEncoderTotalDeltaCount" + "\t");
-			sb.append("WorkingData:InfeedTiltEncoderDegreesCount" + "\t");
-			sb.append("WorkingData:InfeedTiltTargetDegreesCount" + "\t");
-			sb.append("WorkingData:InfeedTiltTurnDegreesCmd" + "\t");
-			
-			sb.append("WorkingData:SliderEncoderInitialCount" + "\t");
-			sb.append("WorkingData:SliderEncoderTotalDeltaCount" + "\t");
-			sb.append("WorkingData:SliderEncoderDegreesCount" + "\t");
-			sb.append("WorkingData:SliderTargetDegreesCount" + "\t");
-			sb.append("WorkingData:SliderTurnRotationsCmd" + "\t");
-			
-			sb.append("WorkingData:ShooterWheelCurrentRPM" + "\t");
-			
-			sb.append("WorkingData:AutonShootBallState" + "\t");
-			sb.append("WorkingData:TeleopElevatorState" + "\t");
-			sb.append("WorkingData:ShooterTargetSpeed" + "\t");
-			sb.append("WorkingData:AutonShooterStartTime" + "\t");
-			sb.append("WorkingData:AutonDriveFwdStartTime" + "\t");
-			sb.append("WorkingData:InfeedPauseOnBallInPositionSwitchStartTime");
-					
-			return sb.toString();
+			RobotDataLogCodec.DescribeWorkingDataColumns(schema);
 		}
 		
-		// build a TSV for the data
-		public String BuildTSVData()
+		// copy the logged values into a (preallocated) log record, in the same order as DescribeLogColumns
+		public void CaptureLogRecord(LogRecord record)
 		{
-			StringBuilder sb = new StringBuilder();
-			
-			sb.append(IsDriveSpeedScalingButtonPressedLastScan + "\t");
-			sb.append(DriveSpeedScalingFactor + "\t");
-			
-			sb.append(IsPumaFrontToggleBtnPressedLastScan + "\t");
-			sb.append(IsPumaBackToggleBtnPressedLastScan + "\t");
-			sb.append(IsPumaBothToggleBtnPressedLastScan + "\t");
-			sb.append(IsSliderFwdBtnPressedLastScan + "\t");
-			sb.append(IsSliderRevBtnPressedLastScan + "\t");
-			sb.append(IsPrintDataBtnPressedLastScan + "\t");
-			sb.append(IsTurretCWButtonPressedLastScan + "\t");
-			sb.append(IsTurretCCWButtonPressedLastScan + "\t");
-			sb.append(IsInfeedTiltStoreBtnPressedLastScan + "\t");
-			sb.append(IsInfeedTiltFixedBtnPressedLastScan + "\t");
-			sb.append(IsInfeedAcquireBtnPressedLastScan + "\t");
-			sb.append(IsCameraSwitchBtnPressedLastScan + "\t");
-			sb.append(IsCupidSwitchBtnPressedLastScan + "\t");
-			sb.append(IsBallInPositionLastScan + "\t");
-			sb.append(IsFwdDriveTiltSafetyEngagedLastScan + "\t");
-			sb.append(IsRevDriveTiltSafetyEngagedLastScan + "\t");
-			sb.append(IsShooterSpeedUpBtnPressedLastScan + "\t");
-			sb.append(IsShooterSpeedDownBtnPressedLastScan + "\t");
-			sb.append(IsShooterTargetSpeedToggleBtnPressedLastScan + "\t");
-			sb.append(IsCupidToggleBtnPressedLastScan + "\t");
-			sb.append(IsShooterAltModeEnableBtnPressedLastScan + "\t");
-		
-			sb.append(IsTurretEncoderDegreesZeroYet + "\t");
-			sb.append(IsTurretEncoderDegreesTargetYet + "\t");
-			
-			sb.append(TurretEncoderInitialCount + "\t");
-			//sb.append(TurretEncoderTotalDeltaCount + "\t");
-			sb.append(TurretEncoderDegreesCount + "\t");
-			sb.append(TurretTargetDegreesCount + "\t");
-			sb.append(TurretTurnRotationsCmd + "\t");
-			
-			sb.append(InfeedTiltEncoderInitialCount + "\t");
-			sb.append(InfeedTiltEncoderTotalDeltaCount + "\t");
-			sb.append(InfeedTiltEncoderDegreesCount + "\t");
-			sb.append(InfeedTiltTargetDegreesCount + "\t");
-			sb.append(InfeedTiltTurnDegreesCmd + "\t");
-			
-			sb.append(SliderEncoderInitialCount + "\t");
-			sb.append(SliderEncoderTotalDeltaCount + "\t");
-			sb.append(SliderEncoderDegreesCount + "\t");
-			sb.append(SliderTargetDegreesCount + "\t");
-			sb.append(SliderTurnDegreesCmd + "\t");
-			
-			sb.append(ShooterWheelCurrentRPM + "\t");
-			
-			sb.append(AutonShootBallState + "\t");
-			sb.append(TeleopElevatorState + "\t");
-			sb.append(ShooterTargetSpeed + "\t");
-			
-			sb.append(AutonShooterStartTime + "\t");
-			sb.append(AutonDriveFwdStartTime + "\t");
-			sb.append(InfeedPauseOnBallInPositionSwitchStartTime);
-					
-			return sb.toString();
+			RobotDataLogCodec.CaptureWorkingData(this, record);
 		}
 	}
 	
@@ -768,111 +603,25 @@ public class RobotData
 		public double And1ServoPositionCmd;
 		public int And1ServoPWMCmd;
 		
+		@LogColumn(describedBy = "GetPumaFrontSolenoidPositionDesc")
 		public Value PumaFrontSolenoidPosition;
+		@LogColumn(describedBy = "GetPumaBackSolenoidPositionDesc")
 		public Value PumaBackSolenoidPosition;
+		@LogColumn(describedBy = "GetPerimeterSolenoidPositionDesc")
 		public Value PerimeterSolenoidPosition;
 
 		public String DriversStationMsg;
 		
-		// build a TSV for the header
-		public String BuildTSVHeader()
+		// add the logged columns for this class to a log schema (1 per field, generated, see RobotDataCodecGenerator)
+		public void DescribeLogColumns(LogSchema schema)
 		{
-			StringBuilder sb = new StringBuilder();
-			
-			sb.append("OutputData:ArcadeDriveAdjThrottleCmd" + "\t");
-			sb.append("OutputData:ArcadeDriveAdjTurnCmd" + "\t");
-			sb.append("OutputData:TurretTargetPositionCmd" + "\t");
-			sb.append("OutputData:TurretVelocityCmd" + "\t");
-			sb.append("OutputData:InfeedAcqMtrVelocityCmd" + "\t");
-			sb.append("OutputData:InfeedTiltMtrVelocityCmd" + "\t");
-			sb.append("OutputData:InfeedTiltTargetPositionCmd" + "\t");
-			sb.append("OutputData:SliderTargetPositionCmd" + "\t");
-			sb.append("OutputData:KickerMtrVelocityCmd"+ "\t");
-			sb.append("OutputData:ShooterCurrentMtrVelocityCmd" + "\t");
-			sb.append("OutputData:ShooterTargetMtrVelocityCmd" + "\t");
-			sb.append("OutputData:ShooterMtrAltTargetVelocityCmd" + "\t");
-			sb.append("OutputData:SliderVelocityCmd" + "\t");
-			sb.append("OutputData:WinchVelocityCmd" + "\t");
-			sb.append("OutputData:CupidServoPositionCmd" + "\t");
-			sb.append("OutputData:PumaFrontSolenloidPosition" + "\t");
-			sb.append("OutputData:PumaBackSolenoidPosition" + "\t");
-			sb.append("OutputData:PerimeterSolenoidPosition" + "\t");
-			sb.append("OutputData:DriversStationMsg");
-			
-					
-			return sb.toString();
+			RobotDataLogCodec.DescribeOutputDataColumns(schema);
 		}
 		
-		// build a TSV for the data
-		public String BuildTSVData()
+		// copy the logged values into a (preallocated) log record, in the same order as DescribeLogColumns
+		public void CaptureLogRecord(LogRecord record)
 		{
-			StringBuilder sb = new StringBuilder();
-			
-			sb.append(ArcadeDriveThrottleAdjCmd + "\t");
-			sb.append(ArcadeDriveTurnAdjCmd + "\t");
-			sb.append(TurretTargetPositionCmd + "\t");
-			sb.append(TurretVelocityCmd + "\t");
-			sb.append(InfeedAcqMtrVelocityCmd + "\t");
-			sb.append(InfeedTiltMtrVelocityCmd + "\t");
-			sb.append(InfeedTiltTargetPositionInRotationsCmd + "\t");
-			sb.append(SliderTargetPositionCmd + "\t");
-			sb.append(KickerMtrVelocityCmd + "\t");
-			sb.append(ShooterMtrCurrentVelocityCmd + "\t");
-			sb.append(ShooterMtrTargetVelocityCmd + "\t");
-			sb.append(ShooterMtrAltTargetVelocityCmd + "\t");
-			sb.append(SliderVelocityCmd + "\t");
-			sb.append(WinchVelocityCmd + "\t");
-			sb.append(CupidServoPositionCmd + "\t");
-			
-			String PumaFrontSolenoidPositionDesc = "";
-			if (PumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_UP_POSITION)
-			{
-				PumaFrontSolenoidPositionDesc = "PUMA_FRONT_SOLENOID_OPEN";
-			}
-			else if (PumaFrontSolenoidPosition == RobotMap.PUMA_FRONT_SOLENOID_DOWN_POSITION)
-			{
-				PumaFrontSolenoidPositionDesc = "PUMA_FRONT_SOLENOID_CLOSED";
-			}
-			else
-			{
-				PumaFrontSolenoidPositionDesc = "UNKNOWN";
-			}
-			
-			String PumaBackSolenoidPositionDesc = "";
-			if (PumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_UP_POSITION)
-			{
-				PumaBackSolenoidPositionDesc = "PUMA_BACK_SOLENOID_OPEN";
-			}
-			else if (PumaBackSolenoidPosition == RobotMap.PUMA_BACK_SOLENOID_DOWN_POSITION)
-			{
-				PumaBackSolenoidPositionDesc = "PUMA_BACK_SOLENOID_CLOSED";
-			}
-			else
-			{
-				PumaBackSolenoidPositionDesc = "UNKNOWN";
-			}
-			
-			
-			String perimeterExpansionSolenoidPositionDesc = "";
-			if (PerimeterSolenoidPosition == RobotMap.PERIMETER_EXPANSION_IN)
-			{
-				perimeterExpansionSolenoidPositionDesc = "PERIMITER_EXPANSION_IN";
-			}
-			else if (PerimeterSolenoidPosition == RobotMap.PERIMETER_EXPANSION_OUT)
-			{
-				perimeterExpansionSolenoidPositionDesc = "PERIMITER_EXPANSION_OUT";
-			}
-			else
-			{
-				perimeterExpansionSolenoidPositionDesc = "UNKNOWN";
-			}
-			
-			sb.append(PumaFrontSolenoidPositionDesc + "\t");
-			sb.append(PumaBackSolenoidPositionDesc + "\t");
-			sb.append(perimeterExpansionSolenoidPositionDesc + "\t");
-			sb.append(DriversStationMsg);
-					
-			return sb.toString();
+			RobotDataLogCodec.CaptureOutputData(this, record);
 		}
 	}
 }
@@ -0,0 +1,451 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This is a build tool (run on a laptop) that generates RobotDataLogCodec.java from the field declarations in RobotData.java
+ *
+ * 	usage:	java -cp <classes> org.usfirst.frc.team4028.robot.RobotDataCodecGenerator [--check] [sourceDirectory]
+ * 			or: ant generate-log-codec / ant check-log-codec
+ *
+ * 	For each logged class (InputData, WorkingData, OutputData) it writes straight-line code, 1 line per field:
+ * 		Describe<Class>Columns		adds the log columns to the schema (the header of every log format)
+ * 		Capture<Class>				copies the fields into a LogRecord (what the TSV & binary encoders write)
+ * 		Load<Class>					copies a LogRecord back into the fields (InputData only, used to replay a log)
+ * 	so the header & the data cannot drift apart, and logging a new field is 1 line in RobotData + running this tool.
+ *
+ * 	Every field is logged, in declaration order, see LogColumn for the exceptions. Supported types are
+ * 	boolean, int, long, float, double, String, Date & the enums declared in RobotData, any other type needs
+ * 	@LogColumn(describedBy = ...) or @LogColumn(isLogged = false) or the generation fails.
+ *
+ * 	--check does not write anything, it exits with 1 if RobotDataLogCodec.java is out of date.
+ *
+ * 	It only uses the JDK so it can be compiled & run by itself, before the robot code is compiled.
+ */
+public class RobotDataCodecGenerator
+{
+	public static final String DEFAULT_SOURCE_DIRECTORY = "src/org/usfirst/frc/team4028/robot";
+	public static final String INPUT_FILE_NAME = "RobotData.java";
+	public static final String OUTPUT_FILE_NAME = "RobotDataLogCodec.java";
+
+	// logged classes, in the order their columns are logged (see RobotData.DescribeLogColumns)
+	private static final String[] LOGGED_CLASS_NAMES = { "InputData", "WorkingData", "OutputData" };
+
+	// logged classes that are also loaded back from a log
+	private static final List<String> LOADED_CLASS_NAMES = Arrays.asList("InputData");
+
+	private static final Pattern ENUM_PATTERN = Pattern.compile("\\benum\\s+(\\w+)");
+	private static final Pattern ANNOTATION_PATTERN = Pattern.compile("@(\\w+)\\s*(?:\\(([^)]*)\\))?");
+	private static final Pattern NOT_LOGGED_PATTERN = Pattern.compile("\\bisLogged\\s*=\\s*false\\b");
+	private static final Pattern DESCRIBED_BY_PATTERN = Pattern.compile("\\bdescribedBy\\s*=\\s*\"(\\w*)\"");
+
+	private static final Set<String> MODIFIERS = new HashSet<String>(Arrays.asList(
+			"public", "protected", "private", "final", "transient", "volatile"));
+
+	// 1 logged field
+	private static class LoggedField
+	{
+		final String Name;
+		final String Type;
+		final String DescribedBy;	// empty if the field is logged as is
+
+		LoggedField(String name, String type, String describedBy)
+		{
+			Name = name;
+			Type = type;
+			DescribedBy = describedBy;
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		boolean isCheckOnly = false;
+		String sourceDirectory = DEFAULT_SOURCE_DIRECTORY;
+		for (String arg : args)
+		{
+			if (arg.equals("--check"))
+			{
+				isCheckOnly = true;
+			}
+			else if (arg.startsWith("--"))
+			{
+				System.err.println("usage: RobotDataCodecGenerator [--check] [sourceDirectory]");
+				System.exit(1);
+			}
+			else
+			{
+				sourceDirectory = arg;
+			}
+		}
+
+		Path inputPath = Paths.get(sourceDirectory, INPUT_FILE_NAME);
+		Path outputPath = Paths.get(sourceDirectory, OUTPUT_FILE_NAME);
+
+		String generatedCode;
+		try
+		{
+			generatedCode = GenerateCodec(new String(Files.readAllBytes(inputPath), StandardCharsets.UTF_8));
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.err.println(inputPath + ": " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		String existingCode = Files.exists(outputPath) ? new String(Files.readAllBytes(outputPath), StandardCharsets.UTF_8) : null;
+		if (generatedCode.equals(existingCode))
+		{
+			System.out.println(outputPath + " is up to date");
+			return;
+		}
+
+		if (isCheckOnly)
+		{
+			System.err.println(outputPath + " is out of date, run RobotDataCodecGenerator (ant generate-log-codec)");
+			System.exit(1);
+		}
+
+		Files.write(outputPath, generatedCode.getBytes(StandardCharsets.UTF_8));
+		System.out.println("Generated " + outputPath);
+	}
+
+	// build the source of RobotDataLogCodec from the source of RobotData
+	public static String GenerateCodec(String robotDataSource)
+	{
+		String source = removeComments(robotDataSource);
+
+		Set<String> enumNames = new HashSet<String>();
+		Matcher enumMatcher = ENUM_PATTERN.matcher(source);
+		while (enumMatcher.find())
+		{
+			enumNames.add(enumMatcher.group(1));
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("package org.usfirst.frc.team4028.robot;\n");
+		sb.append("\n");
+		sb.append("// GENERATED by RobotDataCodecGenerator from the fields of RobotData, DO NOT EDIT\n");
+		sb.append("//	after changing a field of RobotData.InputData / WorkingData / OutputData run: ant generate-log-codec\n");
+		sb.append("\n");
+		sb.append("/**\n");
+		sb.append(" * This class holds the straight-line log serializers of RobotData (see RobotDataCodecGenerator)\n");
+		sb.append(" */\n");
+		sb.append("public final class RobotDataLogCodec\n");
+		sb.append("{\n");
+		sb.append("\tprivate RobotDataLogCodec()\n");
+		sb.append("\t{\n");
+		sb.append("\t}\n");
+
+		for (String className : LOGGED_CLASS_NAMES)
+		{
+			List<LoggedField> fields = parseLoggedFields(className, findClassBody(source, className));
+			appendClassCodec(sb, className, fields, enumNames);
+		}
+
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	// =====================================
+	// Code generation
+	// =====================================
+	private static void appendClassCodec(StringBuilder sb, String className, List<LoggedField> fields, Set<String> enumNames)
+	{
+		String dataType = "RobotData." + className;
+
+		sb.append("\n");
+		sb.append("\t// =====================================\n");
+		sb.append("\t// " + className + " (" + fields.size() + " columns)\n");
+		sb.append("\t// =====================================\n");
+
+		sb.append("\tpublic static void Describe" + className + "Columns(LogSchema schema)\n");
+		sb.append("\t{\n");
+		for (LoggedField field : fields)
+		{
+			sb.append("\t\tschema.AddColumn(\"" + className + ":" + field.Name + "\", LogSchema.Column_Type."
+						+ getColumnType(className, field, enumNames) + ");\n");
+		}
+		sb.append("\t}\n");
+
+		sb.append("\n");
+		sb.append("\tpublic static void Capture" + className + "(" + dataType + " data, LogRecord record)\n");
+		sb.append("\t{\n");
+		for (LoggedField field : fields)
+		{
+			sb.append("\t\trecord." + getPutMethodName(className, field, enumNames) + "(" + getCapturedValue(field) + ");\n");
+		}
+		sb.append("\t}\n");
+
+		if (!LOADED_CLASS_NAMES.contains(className))
+		{
+			return;
+		}
+
+		sb.append("\n");
+		sb.append("\tpublic static void Load" + className + "(" + dataType + " data, LogRecord record, int firstColumnIndex)\n");
+		sb.append("\t{\n");
+		sb.append("\t\tint columnIndex = firstColumnIndex;\n");
+		for (LoggedField field : fields)
+		{
+			if (!field.DescribedBy.isEmpty())
+			{
+				// only the description is logged, it cannot be loaded back
+				sb.append("\t\tcolumnIndex++;\t\t// " + field.Name + "\n");
+			}
+			else
+			{
+				sb.append("\t\tdata." + field.Name + " = " + getLoadedValue(className, field, enumNames) + ";\n");
+			}
+		}
+		sb.append("\t}\n");
+	}
+
+	private static String getColumnType(String className, LoggedField field, Set<String> enumNames)
+	{
+		if (!field.DescribedBy.isEmpty())
+		{
+			return "TEXT";
+		}
+
+		switch (field.Type)
+		{
+			case "boolean":	return "BOOLEAN";
+			case "int":		return "INT";
+			case "long":	return "LONG";
+			case "float":	return "FLOAT";
+			case "double":	return "DOUBLE";
+			case "String":	return "TEXT";
+			case "Date":	return "DATE";
+			default:
+				if (enumNames.contains(field.Type))
+				{
+					return "ENUM";
+				}
+				throw new IllegalArgumentException(className + "." + field.Name + ": a " + field.Type
+						+ " cannot be logged, add @LogColumn(describedBy = ...) or @LogColumn(isLogged = false)");
+		}
+	}
+
+	// ex: BOOLEAN -> PutBoolean
+	private static String getPutMethodName(String className, LoggedField field, Set<String> enumNames)
+	{
+		String columnType = getColumnType(className, field, enumNames);
+		return "Put" + columnType.charAt(0) + columnType.substring(1).toLowerCase();
+	}
+
+	private static String getCapturedValue(LoggedField field)
+	{
+		if (!field.DescribedBy.isEmpty())
+		{
+			return "RobotData." + field.DescribedBy + "(data." + field.Name + ")";
+		}
+		return "data." + field.Name;
+	}
+
+	private static String getLoadedValue(String className, LoggedField field, Set<String> enumNames)
+	{
+		switch (getColumnType(className, field, enumNames))
+		{
+			case "BOOLEAN":	return "record.GetBoolean(columnIndex++)";
+			case "INT":		return "record.GetInt(columnIndex++)";
+			case "LONG":	return "record.GetLong(columnIndex++)";
+			case "FLOAT":	return "record.GetFloat(columnIndex++)";
+			case "DOUBLE":	return "record.GetDouble(columnIndex++)";
+			case "TEXT":	return "RobotData.LoadText(record, columnIndex++)";
+			case "DATE":	return "RobotData.LoadDate(record, columnIndex++)";
+			default:		return "RobotData.LoadEnum(RobotData." + field.Type + ".class, record, columnIndex++)";
+		}
+	}
+
+	// =====================================
+	// Source parsing
+	// =====================================
+
+	// the logged fields of 1 class, in declaration order
+	private static List<LoggedField> parseLoggedFields(String className, String classBody)
+	{
+		List<LoggedField> fields = new ArrayList<LoggedField>();
+
+		// split the class body into its top level statements, skipping method / nested class bodies
+		StringBuilder statement = new StringBuilder();
+		int depth = 0;
+		for (int index = 0; index < classBody.length(); index++)
+		{
+			char c = classBody.charAt(index);
+			if (c == '"' || c == '\'')
+			{
+				int literalEnd = skipLiteral(classBody, index);
+				if (depth == 0)
+				{
+					statement.append(classBody, index, literalEnd);
+				}
+				index = literalEnd - 1;
+			}
+			else if (c == '{')
+			{
+				if (depth == 0)
+				{
+					if (statement.indexOf("=") >= 0 && statement.indexOf("(") < 0)
+					{
+						throw new IllegalArgumentException(className + ": array fields cannot be logged (" + statement.toString().trim() + ")");
+					}
+					statement.setLength(0);
+				}
+				depth++;
+			}
+			else if (c == '}')
+			{
+				depth--;
+				statement.setLength(0);
+			}
+			else if (c == ';' && depth == 0)
+			{
+				parseFieldStatement(className, statement.toString(), fields);
+				statement.setLength(0);
+			}
+			else if (depth == 0)
+			{
+				statement.append(c);
+			}
+		}
+		return fields;
+	}
+
+	// ex: "@LogColumn(isLogged = false) public long A, B = 0"
+	private static void parseFieldStatement(String className, String statement, List<LoggedField> fields)
+	{
+		boolean isLogged = true;
+		String describedBy = "";
+
+		Matcher annotationMatcher = ANNOTATION_PATTERN.matcher(statement);
+		while (annotationMatcher.find())
+		{
+			String arguments = annotationMatcher.group(2);
+			if (annotationMatcher.group(1).equals("LogColumn") && arguments != null)
+			{
+				isLogged = !NOT_LOGGED_PATTERN.matcher(arguments).find();
+				Matcher describedByMatcher = DESCRIBED_BY_PATTERN.matcher(arguments);
+				if (describedByMatcher.find())
+				{
+					describedBy = describedByMatcher.group(1);
+				}
+			}
+		}
+
+		String declaration = annotationMatcher.replaceAll(" ").trim();
+		if (declaration.isEmpty() || !isLogged)
+		{
+			return;
+		}
+
+		// type & names, without the modifiers & initializers (constants are never logged)
+		List<String> tokens = new ArrayList<String>();
+		for (String token : declaration.replaceAll("=[^,]*", " ").trim().split("[\\s,]+"))
+		{
+			if (token.equals("static"))
+			{
+				return;
+			}
+			if (!MODIFIERS.contains(token))
+			{
+				tokens.add(token);
+			}
+		}
+
+		for (int tokenIndex = 1; tokenIndex < tokens.size(); tokenIndex++)
+		{
+			fields.add(new LoggedField(tokens.get(tokenIndex), tokens.get(0), describedBy));
+		}
+		if (tokens.size() < 2 || !tokens.get(0).matches("\\w+"))
+		{
+			throw new IllegalArgumentException(className + ": cannot read the field declaration \"" + declaration + "\"");
+		}
+	}
+
+	// the text between the braces of a class
+	private static String findClassBody(String source, String className)
+	{
+		Matcher classMatcher = Pattern.compile("\\bclass\\s+" + className + "\\b").matcher(source);
+		if (!classMatcher.find())
+		{
+			throw new IllegalArgumentException("class " + className + " not found");
+		}
+
+		int bodyStart = source.indexOf('{', classMatcher.end()) + 1;
+		int depth = 1;
+		for (int index = bodyStart; index < source.length(); index++)
+		{
+			char c = source.charAt(index);
+			if (c == '"' || c == '\'')
+			{
+				index = skipLiteral(source, index) - 1;
+			}
+			else if (c == '{')
+			{
+				depth++;
+			}
+			else if (c == '}' && --depth == 0)
+			{
+				return source.substring(bodyStart, index);
+			}
+		}
+		throw new IllegalArgumentException("class " + className + " has no closing brace");
+	}
+
+	// the source with its comments replaced by spaces (string & char literals are kept)
+	private static String removeComments(String source)
+	{
+		StringBuilder sb = new StringBuilder(source.length());
+		for (int index = 0; index < source.length(); index++)
+		{
+			char c = source.charAt(index);
+			if (c == '"' || c == '\'')
+			{
+				int literalEnd = skipLiteral(source, index);
+				sb.append(source, index, literalEnd);
+				index = literalEnd - 1;
+			}
+			else if (source.startsWith("//", index))
+			{
+				int lineEnd = source.indexOf('\n', index);
+				index = ((lineEnd >= 0) ? lineEnd : source.length()) - 1;
+				sb.append(' ');
+			}
+			else if (source.startsWith("/*", index))
+			{
+				int commentEnd = source.indexOf("*/", index + 2);
+				index = ((commentEnd >= 0) ? commentEnd + 2 : source.length()) - 1;
+				sb.append(' ');
+			}
+			else
+			{
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	// index just after the string or char literal that starts at literalStart
+	private static int skipLiteral(String source, int literalStart)
+	{
+		char quote = source.charAt(literalStart);
+		int index = literalStart + 1;
+		while (index < source.length() && source.charAt(index) != quote)
+		{
+			index += (source.charAt(index) == '\\') ? 2 : 1;
+		}
+		return Math.min(index + 1, source.length());
+	}
+}
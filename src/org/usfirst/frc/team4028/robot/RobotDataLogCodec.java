@@ -0,0 +1,433 @@
+package org.usfirst.frc.team4028.robot;
+
+// GENERATED by RobotDataCodecGenerator from the fields of RobotData, DO NOT EDIT
+//	after changing a field of RobotData.InputData / WorkingData / OutputData run: ant generate-log-codec
+
+/**
+ * This class holds the straight-line log serializers of RobotData (see RobotDataCodecGenerator)
+ */
+public final class RobotDataLogCodec
+{
+	private RobotDataLogCodec()
+	{
+	}
+
+	// =====================================
+	// InputData (81 columns)
+	// =====================================
+	public static void DescribeInputDataColumns(LogSchema schema)
+	{
+		schema.AddColumn("InputData:FPGATimeMicroSecs", LogSchema.Column_Type.LONG);
+		schema.AddColumn("InputData:IsScaleDriveSpeedUpBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsScaleDriveSpeedDownBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsPumaFrontToggleBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsPumaBackToggleBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsPumaBothToggleBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsInfeedAcquireBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsInfeedReleaseBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsCameraSwitchBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsCupidToggleBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsClimbEnabledBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsCupidCameraBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsShooterTargetSpeedToggleBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsShooterAltModeEnableBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsAutoAimBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsSliderFwdBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsSliderRevBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsInfeedTiltStoreBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsInfeedTiltDeployBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsInfeedTiltFixedBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsInfeedTiltAxisOnUpLimitSwitch", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsSliderAxisOnHomeLimitSwitch", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsPrintDataBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsElevatorTimerOverrideBtnPressed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:TurretCCWRawVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:TurretCWRawVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ArcadeDriveThrottleRawCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ArcadeDriveTurnRawCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:LeftDriveEncoderCurrentCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:RightDriveEncoderCurrentCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:InfeedTiltEncoderCurrentCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:InfeedTiltCurrentOutputVoltage", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:InfeedRawTiltCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:InfeedTiltUpCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:InfeedTiltDownCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:WinchRawCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:TurretEncoderCurrentPosition", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:KickerRawVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ShooterRawVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ShooterClosedLoopError", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ShooterEncoderCurrentCP100MS", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ShooterCurrentBusVoltage", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ShooterActualSpeed", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:ShooterActualVToBusVRatio", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:SliderCurrentPosition", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:SliderEncoderCurrentCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:SliderRawVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:And1RawCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:IsTurretHomeLimitSwitchClosed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsTurretApproachingHomeLimitSwitchClosed", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsBallInPosition", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:IsValidData", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:DistanceToTarget", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:EffectiveTargetWidth", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:DesiredSliderPosition", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:DesiredTurretTurnInDegrees", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:IsValidShot", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:LastVisionDataRecievedDT", LogSchema.Column_Type.DATE);
+		schema.AddColumn("InputData:VisionDataAgeMSecs", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:AutonModeRequested", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:AutonPumaBackPositionRequested", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:AutonSliderPositionRequested", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:AutonShooterWheelRPMRequested", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:AutonDriveTimeInSecsRequested", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:AutonDriveThrottlePercentRequested", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:AutonCrossDefenseTypeRequested", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:AutonCrossDefensePosition", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:CameraSelected", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("InputData:NavxIsConnected", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:NavxIsCalibrating", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:NavxYaw", LogSchema.Column_Type.FLOAT);
+		schema.AddColumn("InputData:NavxPitch", LogSchema.Column_Type.FLOAT);
+		schema.AddColumn("InputData:NavxRoll", LogSchema.Column_Type.FLOAT);
+		schema.AddColumn("InputData:NavxCompassHeading", LogSchema.Column_Type.FLOAT);
+		schema.AddColumn("InputData:NavxFusedHeading", LogSchema.Column_Type.FLOAT);
+		schema.AddColumn("InputData:NavxTotalYaw", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:NavxYawRateDPS", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:NavxAccelX", LogSchema.Column_Type.FLOAT);
+		schema.AddColumn("InputData:NavxAccelY", LogSchema.Column_Type.FLOAT);
+		schema.AddColumn("InputData:NavxIsMoving", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("InputData:NavxIsRotating", LogSchema.Column_Type.BOOLEAN);
+	}
+
+	public static void CaptureInputData(RobotData.InputData data, LogRecord record)
+	{
+		record.PutLong(data.FPGATimeMicroSecs);
+		record.PutBoolean(data.IsScaleDriveSpeedUpBtnPressed);
+		record.PutBoolean(data.IsScaleDriveSpeedDownBtnPressed);
+		record.PutBoolean(data.IsPumaFrontToggleBtnPressed);
+		record.PutBoolean(data.IsPumaBackToggleBtnPressed);
+		record.PutBoolean(data.IsPumaBothToggleBtnPressed);
+		record.PutBoolean(data.IsInfeedAcquireBtnPressed);
+		record.PutBoolean(data.IsInfeedReleaseBtnPressed);
+		record.PutBoolean(data.IsCameraSwitchBtnPressed);
+		record.PutBoolean(data.IsCupidToggleBtnPressed);
+		record.PutBoolean(data.IsClimbEnabledBtnPressed);
+		record.PutBoolean(data.IsCupidCameraBtnPressed);
+		record.PutBoolean(data.IsShooterTargetSpeedToggleBtnPressed);
+		record.PutBoolean(data.IsShooterAltModeEnableBtnPressed);
+		record.PutBoolean(data.IsAutoAimBtnPressed);
+		record.PutBoolean(data.IsSliderFwdBtnPressed);
+		record.PutBoolean(data.IsSliderRevBtnPressed);
+		record.PutBoolean(data.IsInfeedTiltStoreBtnPressed);
+		record.PutBoolean(data.IsInfeedTiltDeployBtnPressed);
+		record.PutBoolean(data.IsInfeedTiltFixedBtnPressed);
+		record.PutBoolean(data.IsInfeedTiltAxisOnUpLimitSwitch);
+		record.PutBoolean(data.IsSliderAxisOnHomeLimitSwitch);
+		record.PutBoolean(data.IsPrintDataBtnPressed);
+		record.PutBoolean(data.IsElevatorTimerOverrideBtnPressed);
+		record.PutDouble(data.TurretCCWRawVelocityCmd);
+		record.PutDouble(data.TurretCWRawVelocityCmd);
+		record.PutDouble(data.ArcadeDriveThrottleRawCmd);
+		record.PutDouble(data.ArcadeDriveTurnRawCmd);
+		record.PutDouble(data.LeftDriveEncoderCurrentCount);
+		record.PutDouble(data.RightDriveEncoderCurrentCount);
+		record.PutDouble(data.InfeedTiltEncoderCurrentCount);
+		record.PutDouble(data.InfeedTiltCurrentOutputVoltage);
+		record.PutDouble(data.InfeedRawTiltCmd);
+		record.PutDouble(data.InfeedTiltUpCmd);
+		record.PutDouble(data.InfeedTiltDownCmd);
+		record.PutDouble(data.WinchRawCmd);
+		record.PutDouble(data.TurretEncoderCurrentPosition);
+		record.PutDouble(data.KickerRawVelocityCmd);
+		record.PutDouble(data.ShooterRawVelocityCmd);
+		record.PutDouble(data.ShooterClosedLoopError);
+		record.PutDouble(data.ShooterEncoderCurrentCP100MS);
+		record.PutDouble(data.ShooterCurrentBusVoltage);
+		record.PutDouble(data.ShooterActualSpeed);
+		record.PutDouble(data.ShooterActualVToBusVRatio);
+		record.PutDouble(data.SliderCurrentPosition);
+		record.PutDouble(data.SliderEncoderCurrentCount);
+		record.PutDouble(data.SliderRawVelocityCmd);
+		record.PutDouble(data.And1RawCmd);
+		record.PutBoolean(data.IsTurretHomeLimitSwitchClosed);
+		record.PutBoolean(data.IsTurretApproachingHomeLimitSwitchClosed);
+		record.PutBoolean(data.IsBallInPosition);
+		record.PutBoolean(data.IsValidData);
+		record.PutDouble(data.DistanceToTarget);
+		record.PutDouble(data.EffectiveTargetWidth);
+		record.PutDouble(data.DesiredSliderPosition);
+		record.PutDouble(data.DesiredTurretTurnInDegrees);
+		record.PutBoolean(data.IsValidShot);
+		record.PutDate(data.LastVisionDataRecievedDT);
+		record.PutDouble(data.VisionDataAgeMSecs);
+		record.PutEnum(data.AutonModeRequested);
+		record.PutEnum(data.AutonPumaBackPositionRequested);
+		record.PutEnum(data.AutonSliderPositionRequested);
+		record.PutEnum(data.AutonShooterWheelRPMRequested);
+		record.PutEnum(data.AutonDriveTimeInSecsRequested);
+		record.PutEnum(data.AutonDriveThrottlePercentRequested);
+		record.PutEnum(data.AutonCrossDefenseTypeRequested);
+		record.PutEnum(data.AutonCrossDefensePosition);
+		record.PutEnum(data.CameraSelected);
+		record.PutBoolean(data.NavxIsConnected);
+		record.PutBoolean(data.NavxIsCalibrating);
+		record.PutFloat(data.NavxYaw);
+		record.PutFloat(data.NavxPitch);
+		record.PutFloat(data.NavxRoll);
+		record.PutFloat(data.NavxCompassHeading);
+		record.PutFloat(data.NavxFusedHeading);
+		record.PutDouble(data.NavxTotalYaw);
+		record.PutDouble(data.NavxYawRateDPS);
+		record.PutFloat(data.NavxAccelX);
+		record.PutFloat(data.NavxAccelY);
+		record.PutBoolean(data.NavxIsMoving);
+		record.PutBoolean(data.NavxIsRotating);
+	}
+
+	public static void LoadInputData(RobotData.InputData data, LogRecord record, int firstColumnIndex)
+	{
+		int columnIndex = firstColumnIndex;
+		data.FPGATimeMicroSecs = record.GetLong(columnIndex++);
+		data.IsScaleDriveSpeedUpBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsScaleDriveSpeedDownBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsPumaFrontToggleBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsPumaBackToggleBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsPumaBothToggleBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsInfeedAcquireBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsInfeedReleaseBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsCameraSwitchBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsCupidToggleBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsClimbEnabledBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsCupidCameraBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsShooterTargetSpeedToggleBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsShooterAltModeEnableBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsAutoAimBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsSliderFwdBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsSliderRevBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsInfeedTiltStoreBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsInfeedTiltDeployBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsInfeedTiltFixedBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsInfeedTiltAxisOnUpLimitSwitch = record.GetBoolean(columnIndex++);
+		data.IsSliderAxisOnHomeLimitSwitch = record.GetBoolean(columnIndex++);
+		data.IsPrintDataBtnPressed = record.GetBoolean(columnIndex++);
+		data.IsElevatorTimerOverrideBtnPressed = record.GetBoolean(columnIndex++);
+		data.TurretCCWRawVelocityCmd = record.GetDouble(columnIndex++);
+		data.TurretCWRawVelocityCmd = record.GetDouble(columnIndex++);
+		data.ArcadeDriveThrottleRawCmd = record.GetDouble(columnIndex++);
+		data.ArcadeDriveTurnRawCmd = record.GetDouble(columnIndex++);
+		data.LeftDriveEncoderCurrentCount = record.GetDouble(columnIndex++);
+		data.RightDriveEncoderCurrentCount = record.GetDouble(columnIndex++);
+		data.InfeedTiltEncoderCurrentCount = record.GetDouble(columnIndex++);
+		data.InfeedTiltCurrentOutputVoltage = record.GetDouble(columnIndex++);
+		data.InfeedRawTiltCmd = record.GetDouble(columnIndex++);
+		data.InfeedTiltUpCmd = record.GetDouble(columnIndex++);
+		data.InfeedTiltDownCmd = record.GetDouble(columnIndex++);
+		data.WinchRawCmd = record.GetDouble(columnIndex++);
+		data.TurretEncoderCurrentPosition = record.GetDouble(columnIndex++);
+		data.KickerRawVelocityCmd = record.GetDouble(columnIndex++);
+		data.ShooterRawVelocityCmd = record.GetDouble(columnIndex++);
+		data.ShooterClosedLoopError = record.GetDouble(columnIndex++);
+		data.ShooterEncoderCurrentCP100MS = record.GetDouble(columnIndex++);
+		data.ShooterCurrentBusVoltage = record.GetDouble(columnIndex++);
+		data.ShooterActualSpeed = record.GetDouble(columnIndex++);
+		data.ShooterActualVToBusVRatio = record.GetDouble(columnIndex++);
+		data.SliderCurrentPosition = record.GetDouble(columnIndex++);
+		data.SliderEncoderCurrentCount = record.GetDouble(columnIndex++);
+		data.SliderRawVelocityCmd = record.GetDouble(columnIndex++);
+		data.And1RawCmd = record.GetDouble(columnIndex++);
+		data.IsTurretHomeLimitSwitchClosed = record.GetBoolean(columnIndex++);
+		data.IsTurretApproachingHomeLimitSwitchClosed = record.GetBoolean(columnIndex++);
+		data.IsBallInPosition = record.GetBoolean(columnIndex++);
+		data.IsValidData = record.GetBoolean(columnIndex++);
+		data.DistanceToTarget = record.GetDouble(columnIndex++);
+		data.EffectiveTargetWidth = record.GetDouble(columnIndex++);
+		data.DesiredSliderPosition = record.GetDouble(columnIndex++);
+		data.DesiredTurretTurnInDegrees = record.GetDouble(columnIndex++);
+		data.IsValidShot = record.GetBoolean(columnIndex++);
+		data.LastVisionDataRecievedDT = RobotData.LoadDate(record, columnIndex++);
+		data.VisionDataAgeMSecs = record.GetDouble(columnIndex++);
+		data.AutonModeRequested = RobotData.LoadEnum(RobotData.AutonMode.class, record, columnIndex++);
+		data.AutonPumaBackPositionRequested = RobotData.LoadEnum(RobotData.Auton_Puma_Back_Position.class, record, columnIndex++);
+		data.AutonSliderPositionRequested = RobotData.LoadEnum(RobotData.Auton_Slider_Position.class, record, columnIndex++);
+		data.AutonShooterWheelRPMRequested = RobotData.LoadEnum(RobotData.Auton_Shooter_Wheel_RPM.class, record, columnIndex++);
+		data.AutonDriveTimeInSecsRequested = RobotData.LoadEnum(RobotData.Auton_Drive_Time_In_Secs.class, record, columnIndex++);
+		data.AutonDriveThrottlePercentRequested = RobotData.LoadEnum(RobotData.Auton_Drive_Throttle_Percent.class, record, columnIndex++);
+		data.AutonCrossDefenseTypeRequested = RobotData.LoadEnum(RobotData.Auton_Cross_Defense_Type.class, record, columnIndex++);
+		data.AutonCrossDefensePosition = RobotData.LoadEnum(RobotData.Auton_Cross_Defense_Position.class, record, columnIndex++);
+		data.CameraSelected = RobotData.LoadEnum(RobotData.Camera_Selected.class, record, columnIndex++);
+		data.NavxIsConnected = record.GetBoolean(columnIndex++);
+		data.NavxIsCalibrating = record.GetBoolean(columnIndex++);
+		data.NavxYaw = record.GetFloat(columnIndex++);
+		data.NavxPitch = record.GetFloat(columnIndex++);
+		data.NavxRoll = record.GetFloat(columnIndex++);
+		data.NavxCompassHeading = record.GetFloat(columnIndex++);
+		data.NavxFusedHeading = record.GetFloat(columnIndex++);
+		data.NavxTotalYaw = record.GetDouble(columnIndex++);
+		data.NavxYawRateDPS = record.GetDouble(columnIndex++);
+		data.NavxAccelX = record.GetFloat(columnIndex++);
+		data.NavxAccelY = record.GetFloat(columnIndex++);
+		data.NavxIsMoving = record.GetBoolean(columnIndex++);
+		data.NavxIsRotating = record.GetBoolean(columnIndex++);
+	}
+
+	// =====================================
+	// WorkingData (48 columns)
+	// =====================================
+	public static void DescribeWorkingDataColumns(LogSchema schema)
+	{
+		schema.AddColumn("WorkingData:LogFilePathName", LogSchema.Column_Type.TEXT);
+		schema.AddColumn("WorkingData:IsDriveSpeedScalingButtonPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:DriveSpeedScalingFactor", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:IsPumaFrontToggleBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsPumaBackToggleBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsPumaBothToggleBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsSliderFwdBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsSliderRevBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsPrintDataBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsTurretCWButtonPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsTurretCCWButtonPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsInfeedTiltStoreBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsInfeedTiltFixedBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsInfeedAcquireBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsCameraSwitchBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsCupidSwitchBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsBallInPositionLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsFwdDriveTiltSafetyEngagedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsRevDriveTiltSafetyEngagedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsShooterSpeedUpBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsShooterSpeedDownBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsShooterTargetSpeedToggleBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsCupidToggleBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsShooterAltModeEnableBtnPressedLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsShooterAltModeEnabledLastScan", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsTurretEncoderDegreesZeroYet", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:IsTurretEncoderDegreesTargetYet", LogSchema.Column_Type.BOOLEAN);
+		schema.AddColumn("WorkingData:TurretEncoderInitialCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:TurretEncoderDegreesCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:TurretTargetDegreesCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:TurretTurnRotationsCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:InfeedTiltEncoderInitialCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:InfeedTiltEncoderTotalDeltaCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:InfeedTiltEncoderDegreesCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:InfeedTiltTargetDegreesCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:InfeedTiltTurnDegreesCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:SliderEncoderInitialCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:SliderEncoderTotalDeltaCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:SliderEncoderDegreesCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:SliderTargetDegreesCount", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:SliderTurnDegreesCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:ShooterWheelCurrentRPM", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("WorkingData:AutonShootBallState", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("WorkingData:TeleopElevatorState", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("WorkingData:ShooterTargetSpeed", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("WorkingData:AutonShooterStartTime", LogSchema.Column_Type.LONG);
+		schema.AddColumn("WorkingData:AutonDriveFwdStartTime", LogSchema.Column_Type.LONG);
+		schema.AddColumn("WorkingData:InfeedPauseOnBallInPositionSwitchStartTime", LogSchema.Column_Type.LONG);
+	}
+
+	public static void CaptureWorkingData(RobotData.WorkingData data, LogRecord record)
+	{
+		record.PutText(data.LogFilePathName);
+		record.PutBoolean(data.IsDriveSpeedScalingButtonPressedLastScan);
+		record.PutDouble(data.DriveSpeedScalingFactor);
+		record.PutBoolean(data.IsPumaFrontToggleBtnPressedLastScan);
+		record.PutBoolean(data.IsPumaBackToggleBtnPressedLastScan);
+		record.PutBoolean(data.IsPumaBothToggleBtnPressedLastScan);
+		record.PutBoolean(data.IsSliderFwdBtnPressedLastScan);
+		record.PutBoolean(data.IsSliderRevBtnPressedLastScan);
+		record.PutBoolean(data.IsPrintDataBtnPressedLastScan);
+		record.PutBoolean(data.IsTurretCWButtonPressedLastScan);
+		record.PutBoolean(data.IsTurretCCWButtonPressedLastScan);
+		record.PutBoolean(data.IsInfeedTiltStoreBtnPressedLastScan);
+		record.PutBoolean(data.IsInfeedTiltFixedBtnPressedLastScan);
+		record.PutBoolean(data.IsInfeedAcquireBtnPressedLastScan);
+		record.PutBoolean(data.IsCameraSwitchBtnPressedLastScan);
+		record.PutBoolean(data.IsCupidSwitchBtnPressedLastScan);
+		record.PutBoolean(data.IsBallInPositionLastScan);
+		record.PutBoolean(data.IsFwdDriveTiltSafetyEngagedLastScan);
+		record.PutBoolean(data.IsRevDriveTiltSafetyEngagedLastScan);
+		record.PutBoolean(data.IsShooterSpeedUpBtnPressedLastScan);
+		record.PutBoolean(data.IsShooterSpeedDownBtnPressedLastScan);
+		record.PutBoolean(data.IsShooterTargetSpeedToggleBtnPressedLastScan);
+		record.PutBoolean(data.IsCupidToggleBtnPressedLastScan);
+		record.PutBoolean(data.IsShooterAltModeEnableBtnPressedLastScan);
+		record.PutBoolean(data.IsShooterAltModeEnabledLastScan);
+		record.PutBoolean(data.IsTurretEncoderDegreesZeroYet);
+		record.PutBoolean(data.IsTurretEncoderDegreesTargetYet);
+		record.PutDouble(data.TurretEncoderInitialCount);
+		record.PutDouble(data.TurretEncoderDegreesCount);
+		record.PutDouble(data.TurretTargetDegreesCount);
+		record.PutDouble(data.TurretTurnRotationsCmd);
+		record.PutDouble(data.InfeedTiltEncoderInitialCount);
+		record.PutDouble(data.InfeedTiltEncoderTotalDeltaCount);
+		record.PutDouble(data.InfeedTiltEncoderDegreesCount);
+		record.PutDouble(data.InfeedTiltTargetDegreesCount);
+		record.PutDouble(data.InfeedTiltTurnDegreesCmd);
+		record.PutDouble(data.SliderEncoderInitialCount);
+		record.PutDouble(data.SliderEncoderTotalDeltaCount);
+		record.PutDouble(data.SliderEncoderDegreesCount);
+		record.PutDouble(data.SliderTargetDegreesCount);
+		record.PutDouble(data.SliderTurnDegreesCmd);
+		record.PutDouble(data.ShooterWheelCurrentRPM);
+		record.PutEnum(data.AutonShootBallState);
+		record.PutEnum(data.TeleopElevatorState);
+		record.PutEnum(data.ShooterTargetSpeed);
+		record.PutLong(data.AutonShooterStartTime);
+		record.PutLong(data.AutonDriveFwdStartTime);
+		record.PutLong(data.InfeedPauseOnBallInPositionSwitchStartTime);
+	}
+
+	// =====================================
+	// OutputData (21 columns)
+	// =====================================
+	public static void DescribeOutputDataColumns(LogSchema schema)
+	{
+		schema.AddColumn("OutputData:ArcadeDriveThrottleAdjCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:ArcadeDriveTurnAdjCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:TurretTargetPositionCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:TurretVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:InfeedAcqMtrVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:InfeedTiltMtrVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:InfeedTiltTargetPositionInRotationsCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:SliderTargetPositionCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:KickerMtrVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:ShooterMtrCurrentVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:ShooterMtrTargetVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:ShooterMtrAltTargetVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:SliderVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:WinchVelocityCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:CupidServoPositionCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:And1ServoPositionCmd", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:And1ServoPWMCmd", LogSchema.Column_Type.INT);
+		schema.AddColumn("OutputData:PumaFrontSolenoidPosition", LogSchema.Column_Type.TEXT);
+		schema.AddColumn("OutputData:PumaBackSolenoidPosition", LogSchema.Column_Type.TEXT);
+		schema.AddColumn("OutputData:PerimeterSolenoidPosition", LogSchema.Column_Type.TEXT);
+		schema.AddColumn("OutputData:DriversStationMsg", LogSchema.Column_Type.TEXT);
+	}
+
+	public static void CaptureOutputData(RobotData.OutputData data, LogRecord record)
+	{
+		record.PutDouble(data.ArcadeDriveThrottleAdjCmd);
+		record.PutDouble(data.ArcadeDriveTurnAdjCmd);
+		record.PutDouble(data.TurretTargetPositionCmd);
+		record.PutDouble(data.TurretVelocityCmd);
+		record.PutDouble(data.InfeedAcqMtrVelocityCmd);
+		record.PutDouble(data.InfeedTiltMtrVelocityCmd);
+		record.PutDouble(data.InfeedTiltTargetPositionInRotationsCmd);
+		record.PutDouble(data.SliderTargetPositionCmd);
+		record.PutDouble(data.KickerMtrVelocityCmd);
+		record.PutDouble(data.ShooterMtrCurrentVelocityCmd);
+		record.PutDouble(data.ShooterMtrTargetVelocityCmd);
+		record.PutDouble(data.ShooterMtrAltTargetVelocityCmd);
+		record.PutDouble(data.SliderVelocityCmd);
+		record.PutDouble(data.WinchVelocityCmd);
+		record.PutDouble(data.CupidServoPositionCmd);
+		record.PutDouble(data.And1ServoPositionCmd);
+		record.PutInt(data.And1ServoPWMCmd);
+		record.PutText(RobotData.GetPumaFrontSolenoidPositionDesc(data.PumaFrontSolenoidPosition));
+		record.PutText(RobotData.GetPumaBackSolenoidPositionDesc(data.PumaBackSolenoidPosition));
+		record.PutText(RobotData.GetPerimeterSolenoidPositionDesc(data.PerimeterSolenoidPosition));
+		record.PutText(data.DriversStationMsg);
+	}
+}
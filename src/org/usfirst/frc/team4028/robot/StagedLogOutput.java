@@ -0,0 +1,120 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * This class writes encoded log bytes to a file on the RAM disk (see LogStagingArea) instead of the USB stick
+ *
+ * 	The file may only grow to maxStagedBytes (the room the staging area had when the log was opened).
+ * 	If the next write would go over that, or the RAM disk reports it is full, the log spills over to the USB stick:
+ * 	the bytes staged so far are copied to the target file, the RAM file is deleted & every later write is
+ * 	appended to the target file directly. The log is the same byte stream either way (framing & compression
+ * 	are applied above this output), only the device changes.
+ *
+ * 	The spill happens on the log writer thread, the main robot thread is never blocked by it
+ * 	(the ring buffer of the async logger covers the copy, see AsyncDataLogger).
+ */
+public class StagedLogOutput implements LogOutput
+{
+	private final String _stagedFilePathName;
+	private final String _targetFilePathName;
+	private final long _maxStagedBytes;
+	private FileLogOutput _output;
+	private boolean _isSpilled;
+	private long _bytesWritten;
+
+	// constructor, opens the staged file (targetFilePathName is where the log ends up on the USB stick)
+	public StagedLogOutput(String stagedFilePathName, String targetFilePathName, long maxStagedBytes) throws IOException
+	{
+		_stagedFilePathName = stagedFilePathName;
+		_targetFilePathName = targetFilePathName;
+		_maxStagedBytes = maxStagedBytes;
+		_output = new FileLogOutput(stagedFilePathName, false);
+	}
+
+	@Override
+	public void Write(ByteBuffer source) throws IOException
+	{
+		if (!_isSpilled && _output.GetBytesWritten() + source.remaining() > _maxStagedBytes)
+		{
+			spill();
+		}
+
+		int length = source.remaining();
+		try
+		{
+			getOutput().Write(source);
+		}
+		catch (IOException e)
+		{
+			if (_isSpilled)
+			{
+				throw e;
+			}
+
+			// RAM disk full, whatever part of the buffer was written is in the staged file & is copied with it
+			spill();
+			getOutput().Write(source);
+		}
+		_bytesWritten += length;
+	}
+
+	@Override
+	public void Flush() throws IOException
+	{
+		getOutput().Flush();
+	}
+
+	@Override
+	public void Close() throws IOException
+	{
+		if (_output != null)
+		{
+			_output.Close();
+			_output = null;
+		}
+	}
+
+	@Override
+	public long GetBytesWritten()
+	{
+		return _bytesWritten;
+	}
+
+	// true once the log is written to the USB stick
+	public boolean IsSpilled()
+	{
+		return _isSpilled;
+	}
+
+	// move the staged bytes to the target file & keep writing there
+	private void spill() throws IOException
+	{
+		_isSpilled = true;
+		_output.Close();
+		_output = null;
+
+		Files.copy(Paths.get(_stagedFilePathName), Paths.get(_targetFilePathName), StandardCopyOption.REPLACE_EXISTING);
+		new File(_stagedFilePathName).delete();
+		_output = new FileLogOutput(_targetFilePathName, true);
+
+		DriverStation.reportError("Log staging full, log continues on " + _targetFilePathName + " | ", false);
+	}
+
+	// the current device, if the spill failed there is none left to write to
+	private FileLogOutput getOutput() throws IOException
+	{
+		if (_output == null)
+		{
+			throw new IOException("Log staging full and " + _targetFilePathName + " could not be written");
+		}
+		return _output;
+	}
+}
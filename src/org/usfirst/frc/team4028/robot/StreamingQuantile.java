@@ -0,0 +1,154 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.util.Arrays;
+
+/**
+ * This class estimates 1 quantile (ex: the 99th percentile) of a stream of values without keeping the values
+ *
+ * 	It uses the P-Square algorithm (Jain & Chlamtac, 1985): 5 markers (min, q/2, q, (1+q)/2, max) are kept &
+ * 	moved towards their ideal positions as values arrive, the middle marker's height is the estimate.
+ * 	Memory & time per value are fixed (5 heights & 5 positions), nothing is allocated after the constructor.
+ *
+ * 	The estimate is exact for the 1st 5 values and usually within a few % of the true quantile after that
+ * 	(less exact for quantiles very close to 0 or 1 with few values).
+ */
+public class StreamingQuantile
+{
+	private final double _quantile;
+	private final double[] _heights = new double[5];
+	private final int[] _positions = new int[5];
+	private final double[] _desiredPositions = new double[5];
+	private final double[] _desiredPositionIncrements = new double[5];
+	private long _count;
+
+	// constructor, quantile is 0 .. 1 (ex: 0.99)
+	public StreamingQuantile(double quantile)
+	{
+		_quantile = quantile;
+
+		_desiredPositionIncrements[0] = 0;
+		_desiredPositionIncrements[1] = quantile / 2;
+		_desiredPositionIncrements[2] = quantile;
+		_desiredPositionIncrements[3] = (1 + quantile) / 2;
+		_desiredPositionIncrements[4] = 1;
+	}
+
+	public double GetQuantile()
+	{
+		return _quantile;
+	}
+
+	public long GetCount()
+	{
+		return _count;
+	}
+
+	public void Add(double value)
+	{
+		// the 1st 5 values are the markers
+		if (_count < 5)
+		{
+			_heights[(int)_count] = value;
+			_count++;
+			if (_count == 5)
+			{
+				Arrays.sort(_heights);
+				for (int markerIndex = 0; markerIndex < 5; markerIndex++)
+				{
+					_positions[markerIndex] = markerIndex + 1;
+					_desiredPositions[markerIndex] = 1 + 4 * _desiredPositionIncrements[markerIndex];
+				}
+			}
+			return;
+		}
+
+		// find the cell the value falls in (extending min / max if needed)
+		int cellIndex;
+		if (value < _heights[0])
+		{
+			_heights[0] = value;
+			cellIndex = 0;
+		}
+		else if (value >= _heights[4])
+		{
+			_heights[4] = value;
+			cellIndex = 3;
+		}
+		else
+		{
+			cellIndex = 0;
+			while (value >= _heights[cellIndex + 1])
+			{
+				cellIndex++;
+			}
+		}
+		_count++;
+
+		for (int markerIndex = cellIndex + 1; markerIndex < 5; markerIndex++)
+		{
+			_positions[markerIndex]++;
+		}
+		for (int markerIndex = 0; markerIndex < 5; markerIndex++)
+		{
+			_desiredPositions[markerIndex] += _desiredPositionIncrements[markerIndex];
+		}
+
+		// move the middle markers 1 position towards where they should be
+		for (int markerIndex = 1; markerIndex <= 3; markerIndex++)
+		{
+			double offset = _desiredPositions[markerIndex] - _positions[markerIndex];
+			if ((offset >= 1 && _positions[markerIndex + 1] - _positions[markerIndex] > 1)
+					|| (offset <= -1 && _positions[markerIndex - 1] - _positions[markerIndex] < -1))
+			{
+				int direction = (offset > 0) ? 1 : -1;
+				double height = calcParabolicHeight(markerIndex, direction);
+				if (_heights[markerIndex - 1] < height && height < _heights[markerIndex + 1])
+				{
+					_heights[markerIndex] = height;
+				}
+				else
+				{
+					_heights[markerIndex] = calcLinearHeight(markerIndex, direction);
+				}
+				_positions[markerIndex] += direction;
+			}
+		}
+	}
+
+	// the estimated quantile, NaN if no values were added
+	public double GetValue()
+	{
+		if (_count == 0)
+		{
+			return Double.NaN;
+		}
+		if (_count < 5)
+		{
+			double[] values = Arrays.copyOf(_heights, (int)_count);
+			Arrays.sort(values);
+			return values[(int)Math.round(_quantile * (_count - 1))];
+		}
+		return _heights[2];
+	}
+
+	// piecewise parabolic prediction of a marker's height when it moves 1 position
+	private double calcParabolicHeight(int markerIndex, int direction)
+	{
+		double positionBelow = _positions[markerIndex - 1];
+		double position = _positions[markerIndex];
+		double positionAbove = _positions[markerIndex + 1];
+
+		return _heights[markerIndex]
+				+ direction / (positionAbove - positionBelow)
+					* ((position - positionBelow + direction) * (_heights[markerIndex + 1] - _heights[markerIndex]) / (positionAbove - position)
+						+ (positionAbove - position - direction) * (_heights[markerIndex] - _heights[markerIndex - 1]) / (position - positionBelow));
+	}
+
+	// linear prediction, used when the parabolic one would pass a neighbour marker
+	private double calcLinearHeight(int markerIndex, int direction)
+	{
+		return _heights[markerIndex]
+				+ direction * (_heights[markerIndex + direction] - _heights[markerIndex])
+					/ (_positions[markerIndex + direction] - _positions[markerIndex]);
+	}
+}
@@ -0,0 +1,37 @@
+package org.usfirst.frc.team4028.robot;
+
+import edu.wpi.first.wpilibj.CANTalon.TalonControlMode;
+
+/**
+ * This interface is the part of a Talon SRX (CANTalon) motor controller used by the ControlLogic
+ *
+ * 	The method names match CANTalon so the control code reads the same as when it talked to the CANTalon directly.
+ * 	On the robot each axis wraps a real CANTalon (see Robot), during a log replay each axis is simulated (see LogReplayEngine).
+ */
+public interface TalonAxis
+{
+	TalonControlMode getControlMode();
+
+	void changeControlMode(TalonControlMode controlMode);
+
+	// the meaning of the value depends on the control mode (ex: %VBus or target position)
+	void set(double outputValue);
+
+	double getPosition();
+
+	void setPosition(double position);
+
+	int getClosedLoopError();
+
+	void setPID(double p, double i, double d, double f, int izone, double closeLoopRampRate, int profile);
+
+	void setProfile(int profile);
+
+	void setCloseLoopRampRate(double rampRate);
+
+	void setVoltageRampRate(double rampRate);
+
+	boolean isFwdLimitSwitchClosed();
+
+	boolean isRevLimitSwitchClosed();
+}
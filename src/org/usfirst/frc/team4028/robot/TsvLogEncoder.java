@@ -0,0 +1,400 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class encodes log records as TSV (Tab Separated Value) text lines
+ *
+ * 	One header line then one line per scan.
+ *
+ * Records are formatted straight into the target buffer without creating any objects
+ * 	(no String concatenation, no StringBuilder, no Double.toString), so it is safe to use on the main robot thread.
+ *
+ * Number formatting:
+ * 	booleans	true / false
+ * 	integers	all digits
+ * 	decimals	up to 6 digits after the decimal point, trailing zeros removed (ex: 0.25, 3500.0, -0.000125)
+ * 				very large or very small values use scientific notation (ex: 1.5E13, 2.5E-7)
+ * 	dates		UTC "yyyy-MM-dd HH:mm:ss.SSS"
+ * 	text		non-ASCII chars are written as '?', tabs & line breaks as ' '
+ *
+ * When a LogSampler is set, columns that are not sampled on a scan are left empty (the last value written still holds)
+ * 	and an empty text value is written as ' ' so it is not mistaken for a column that was not sampled.
+ */
+public class TsvLogEncoder implements LogRecordEncoder
+{
+	private static final int MAX_FRACTION_DIGITS = 6;
+	private static final long FRACTION_SCALE = 1000000L;					// 10 ^ MAX_FRACTION_DIGITS
+	private static final double MAX_FIXED_NOTATION_VALUE = 1.0E12;
+	private static final double MIN_FIXED_NOTATION_VALUE = 1.0E-4;
+
+	// worst case # of chars used by one formatted value of each fixed size type
+	private static final int MAX_NUMBER_WIDTH = 32;
+	private static final int DATE_WIDTH = 23;
+
+	private static final byte[] TRUE_BYTES = { 't', 'r', 'u', 'e' };
+	private static final byte[] FALSE_BYTES = { 'f', 'a', 'l', 's', 'e' };
+	private static final byte[] NULL_BYTES = { 'n', 'u', 'l', 'l' };
+	private static final byte[] NAN_BYTES = { 'N', 'a', 'N' };
+	private static final byte[] INFINITY_BYTES = { 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y' };
+
+	private LogSchema.Column_Type[] _columnTypes;
+	private LogSampler _sampler;
+
+	// scratch space used to build digits right to left
+	private final byte[] _digits = new byte[20];
+
+	public static final String FILE_EXTENSION = ".tsv";
+	public static final String FRAMED_FILE_EXTENSION = ".tsvf";		// a framed TSV log is not plain text (see DataLogger.AddFramingExtension)
+
+	@Override
+	public String GetFileExtension()
+	{
+		return FILE_EXTENSION;
+	}
+
+	@Override
+	public boolean EncodeHeader(LogSchema schema, ByteBuffer buffer)
+	{
+		String header = schema.BuildTSVHeader();
+		if (buffer.remaining() < header.length())
+		{
+			return false;
+		}
+
+		_columnTypes = new LogSchema.Column_Type[schema.GetColumnCount()];
+		for (int columnIndex = 0; columnIndex < _columnTypes.length; columnIndex++)
+		{
+			_columnTypes[columnIndex] = schema.GetColumnType(columnIndex);
+		}
+
+		putAscii(header, false, buffer);
+		return true;
+	}
+
+	@Override
+	public boolean EncodeRecord(LogRecord record, ByteBuffer buffer)
+	{
+		if (buffer.remaining() < calcMaxRecordLength(record))
+		{
+			return false;
+		}
+
+		int columnCount = _columnTypes.length;
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			if (columnIndex > 0)
+			{
+				buffer.put((byte)'\t');
+			}
+
+			if (_sampler != null && !_sampler.IsColumnSampled(columnIndex))
+			{
+				continue;
+			}
+
+			switch (_columnTypes[columnIndex])
+			{
+				case BOOLEAN:
+					buffer.put(record.GetBoolean(columnIndex) ? TRUE_BYTES : FALSE_BYTES);
+					break;
+
+				case INT:
+					PutLong(record.GetInt(columnIndex), buffer);
+					break;
+
+				case LONG:
+					PutLong(record.GetLong(columnIndex), buffer);
+					break;
+
+				case FLOAT:
+					PutDouble(record.GetFloat(columnIndex), buffer);
+					break;
+
+				case DOUBLE:
+					PutDouble(record.GetDouble(columnIndex), buffer);
+					break;
+
+				case DATE:
+					PutDate(record.GetLong(columnIndex), buffer);
+					break;
+
+				case ENUM:
+				case TEXT:
+				default:
+					Object ref = record.GetRef(columnIndex);
+					if (ref != null)
+					{
+						String text = ref.toString();
+						if (text.isEmpty() && _sampler != null)
+						{
+							buffer.put((byte)' ');
+						}
+						PutText(text, buffer);
+					}
+					else
+					{
+						buffer.put(NULL_BYTES);
+					}
+					break;
+			}
+		}
+		buffer.put((byte)'\n');
+
+		return true;
+	}
+
+	@Override
+	public boolean IsNextRecordSeekable()
+	{
+		// every line stands on its own unless some of its values are left out
+		return _sampler == null || _sampler.IsNextRecordFull();
+	}
+
+	@Override
+	public void SetSampler(LogSampler sampler)
+	{
+		_sampler = sampler;
+	}
+
+	// =====================================
+	// Formatting methods
+	// =====================================
+
+	// write a whole number
+	public void PutLong(long value, ByteBuffer buffer)
+	{
+		if (value < 0)
+		{
+			buffer.put((byte)'-');
+			if (value == Long.MIN_VALUE)
+			{
+				// cannot be negated, write the last digit separately
+				putDigits(-(value / 10), buffer);
+				buffer.put((byte)('0' + (int)-(value % 10)));
+				return;
+			}
+			value = -value;
+		}
+		putDigits(value, buffer);
+	}
+
+	// write a decimal number
+	public void PutDouble(double value, ByteBuffer buffer)
+	{
+		if (Double.isNaN(value))
+		{
+			buffer.put(NAN_BYTES);
+			return;
+		}
+
+		if (value < 0 || (value == 0 && 1 / value < 0))
+		{
+			buffer.put((byte)'-');
+			value = -value;
+		}
+
+		if (Double.isInfinite(value))
+		{
+			buffer.put(INFINITY_BYTES);
+		}
+		else if (value == 0 || (value >= MIN_FIXED_NOTATION_VALUE && value < MAX_FIXED_NOTATION_VALUE))
+		{
+			putFixed(value, buffer);
+		}
+		else
+		{
+			putScientific(value, buffer);
+		}
+	}
+
+	// write epoch millisecs as a UTC date time
+	public void PutDate(long epochMillis, ByteBuffer buffer)
+	{
+		if (epochMillis == LogRecord.NULL_DATE)
+		{
+			buffer.put(NULL_BYTES);
+			return;
+		}
+
+		long epochDays = Math.floorDiv(epochMillis, 86400000L);
+		int millisOfDay = (int)Math.floorMod(epochMillis, 86400000L);
+
+		// convert days since 1970-01-01 to a civil date (proleptic Gregorian calendar)
+		long z = epochDays + 719468;
+		long era = Math.floorDiv(z, 146097);
+		long dayOfEra = z - era * 146097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long shiftedMonth = (5 * dayOfYear + 2) / 153;
+		int day = (int)(dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+		int month = (int)(shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+		long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+		putPadded(year, 4, buffer);
+		buffer.put((byte)'-');
+		putPadded(month, 2, buffer);
+		buffer.put((byte)'-');
+		putPadded(day, 2, buffer);
+		buffer.put((byte)' ');
+		putPadded(millisOfDay / 3600000, 2, buffer);
+		buffer.put((byte)':');
+		putPadded((millisOfDay / 60000) % 60, 2, buffer);
+		buffer.put((byte)':');
+		putPadded((millisOfDay / 1000) % 60, 2, buffer);
+		buffer.put((byte)'.');
+		putPadded(millisOfDay % 1000, 3, buffer);
+	}
+
+	// write a text value as single byte chars
+	public void PutText(String text, ByteBuffer buffer)
+	{
+		putAscii(text, true, buffer);
+	}
+
+	// =====================================
+	// Private helpers
+	// =====================================
+
+	// write text as single byte chars, data values also get tabs & line breaks replaced (the header line is written as is)
+	private void putAscii(String text, boolean isDataValue, ByteBuffer buffer)
+	{
+		int length = text.length();
+		for (int charIndex = 0; charIndex < length; charIndex++)
+		{
+			char c = text.charAt(charIndex);
+			if (c >= 0x80)
+			{
+				buffer.put((byte)'?');
+			}
+			else if (isDataValue && (c == '\t' || c == '\r' || c == '\n'))
+			{
+				buffer.put((byte)' ');
+			}
+			else
+			{
+				buffer.put((byte)c);
+			}
+		}
+	}
+
+	// worst case # of bytes one record can use
+	private int calcMaxRecordLength(LogRecord record)
+	{
+		int maxLength = 0;
+
+		int columnCount = _columnTypes.length;
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++)
+		{
+			switch (_columnTypes[columnIndex])
+			{
+				case ENUM:
+				case TEXT:
+					Object ref = record.GetRef(columnIndex);
+					maxLength += (ref != null) ? Math.max(ref.toString().length(), 1) : NULL_BYTES.length;
+					break;
+
+				case DATE:
+					maxLength += DATE_WIDTH;
+					break;
+
+				default:
+					maxLength += MAX_NUMBER_WIDTH;
+					break;
+			}
+			maxLength++;		// tab or line feed
+		}
+
+		return maxLength;
+	}
+
+	// value is >= 0 and < MAX_FIXED_NOTATION_VALUE
+	private void putFixed(double value, ByteBuffer buffer)
+	{
+		long scaledValue = Math.round(value * FRACTION_SCALE);
+
+		putDigits(scaledValue / FRACTION_SCALE, buffer);
+		buffer.put((byte)'.');
+		putFraction(scaledValue % FRACTION_SCALE, buffer);
+	}
+
+	// value is > 0
+	private void putScientific(double value, ByteBuffer buffer)
+	{
+		int exponent = (int)Math.floor(Math.log10(value));
+		long scaledMantissa = calcScaledMantissa(value, exponent);
+
+		// rounding (or log10 precision) can leave the mantissa outside of 1.0 to 9.999999
+		if (scaledMantissa >= 10 * FRACTION_SCALE)
+		{
+			exponent++;
+			scaledMantissa = calcScaledMantissa(value, exponent);
+		}
+		else if (scaledMantissa < FRACTION_SCALE)
+		{
+			exponent--;
+			scaledMantissa = calcScaledMantissa(value, exponent);
+		}
+
+		putDigits(scaledMantissa / FRACTION_SCALE, buffer);
+		buffer.put((byte)'.');
+		putFraction(scaledMantissa % FRACTION_SCALE, buffer);
+		buffer.put((byte)'E');
+		PutLong(exponent, buffer);
+	}
+
+	// value / 10^exponent with MAX_FRACTION_DIGITS digits moved in front of the decimal point
+	private long calcScaledMantissa(double value, int exponent)
+	{
+		if (exponent < -300)
+		{
+			// 10^exponent is denormal (or 0) this close to Double.MIN_VALUE, scale up in 2 steps
+			return Math.round(value * 1.0E100 / Math.pow(10, exponent + 100) * FRACTION_SCALE);
+		}
+		return Math.round(value / Math.pow(10, exponent) * FRACTION_SCALE);
+	}
+
+	// write the fraction digits without trailing zeros (but always at least 1 digit)
+	private void putFraction(long fraction, ByteBuffer buffer)
+	{
+		int digitCount = MAX_FRACTION_DIGITS;
+		while (digitCount > 1 && fraction % 10 == 0)
+		{
+			fraction /= 10;
+			digitCount--;
+		}
+		putPadded(fraction, digitCount, buffer);
+	}
+
+	// write a value >= 0
+	private void putDigits(long value, ByteBuffer buffer)
+	{
+		int digitIndex = _digits.length;
+		do
+		{
+			_digits[--digitIndex] = (byte)('0' + (int)(value % 10));
+			value /= 10;
+		}
+		while (value > 0);
+
+		buffer.put(_digits, digitIndex, _digits.length - digitIndex);
+	}
+
+	// write a value >= 0 with leading zeros
+	private void putPadded(long value, int width, ByteBuffer buffer)
+	{
+		int digitIndex = _digits.length;
+		do
+		{
+			_digits[--digitIndex] = (byte)('0' + (int)(value % 10));
+			value /= 10;
+		}
+		while (value > 0);
+
+		for (int padCount = width - (_digits.length - digitIndex); padCount > 0; padCount--)
+		{
+			buffer.put((byte)'0');
+		}
+		buffer.put(_digits, digitIndex, _digits.length - digitIndex);
+	}
+}
@@ -0,0 +1,160 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+/**
+ * This class reads a log file written by TsvLogEncoder
+ *
+ * 	A TSV header only has column names, so the type of each column is looked up by name in a reference schema
+ * 	(normally the current DataLogger schema), columns that are not in the reference schema are read as TEXT.
+ *
+ * 	ENUM & TEXT columns are returned as Strings in LogRecord.Refs ("null" is returned as null, " " as an empty String)
+ * 	An empty value (a column that was not sampled on that scan, see LogSampler) returns the last value read for the column
+ * 	A partially written last line (ex: power lost while writing) is treated as the end of the file
+ *
+ * 	Note: decimals are only written with 6 digits after the decimal point, so they can differ slightly from the live values
+ */
+public class TsvLogReader
+{
+	private static final String NULL_VALUE = "null";
+	private static final String EMPTY_TEXT_VALUE = " ";		// how a sampled log writes an empty text value
+
+	private final BufferedReader _reader;
+	private final LogSchema _schema;
+	private final SimpleDateFormat _dateFormat;
+	private long _recordCount;
+
+	// last value read for each column
+	private final long[] _heldValues;
+	private final Object[] _heldRefs;
+
+	// constructor, reads the header line from the stream
+	public TsvLogReader(InputStream inputStream, LogSchema referenceSchema) throws IOException
+	{
+		_reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.US_ASCII), 64 * 1024);
+
+		String header = _reader.readLine();
+		if (header == null)
+		{
+			throw new IOException("Empty TSV log file (no header line)");
+		}
+
+		_schema = new LogSchema();
+		for (String columnName : header.split("\t"))
+		{
+			int referenceColumnIndex = referenceSchema.GetColumnIndex(columnName);
+			_schema.AddColumn(columnName, (referenceColumnIndex >= 0) ? referenceSchema.GetColumnType(referenceColumnIndex) : LogSchema.Column_Type.TEXT);
+		}
+
+		_heldValues = new long[_schema.GetColumnCount()];
+		_heldRefs = new Object[_schema.GetColumnCount()];
+
+		_dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+		_dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+	}
+
+	// the columns in the file (in file order)
+	public LogSchema GetSchema()
+	{
+		return _schema;
+	}
+
+	public long GetRecordCount()
+	{
+		return _recordCount;
+	}
+
+	// read the next record, returns false at the end of the file
+	public boolean ReadRecord(LogRecord record) throws IOException
+	{
+		String line = _reader.readLine();
+		if (line == null || line.isEmpty())
+		{
+			return false;
+		}
+
+		String[] fields = line.split("\t", -1);
+		if (fields.length != _schema.GetColumnCount())
+		{
+			// partially written last line
+			return false;
+		}
+
+		try
+		{
+			for (int columnIndex = 0; columnIndex < fields.length; columnIndex++)
+			{
+				decodeField(fields[columnIndex], columnIndex, record);
+			}
+		}
+		catch (NumberFormatException e)
+		{
+			throw new IOException("Bad value in TSV log after record " + _recordCount + ", " + e.getMessage());
+		}
+		catch (ParseException e)
+		{
+			throw new IOException("Bad date in TSV log after record " + _recordCount + ", " + e.getMessage());
+		}
+
+		_recordCount++;
+		return true;
+	}
+
+	public void Close() throws IOException
+	{
+		_reader.close();
+	}
+
+	// convert 1 field back to the raw value stored in a LogRecord
+	private void decodeField(String field, int columnIndex, LogRecord record) throws ParseException
+	{
+		if (field.isEmpty())
+		{
+			record.Values[columnIndex] = _heldValues[columnIndex];
+			record.Refs[columnIndex] = _heldRefs[columnIndex];
+			return;
+		}
+
+		record.Refs[columnIndex] = null;
+
+		switch (_schema.GetColumnType(columnIndex))
+		{
+			case BOOLEAN:
+				record.Values[columnIndex] = Boolean.parseBoolean(field) ? 1L : 0L;
+				break;
+
+			case INT:
+			case LONG:
+				record.Values[columnIndex] = Long.parseLong(field);
+				break;
+
+			case FLOAT:
+				record.Values[columnIndex] = Float.floatToRawIntBits(Float.parseFloat(field));
+				break;
+
+			case DOUBLE:
+				record.Values[columnIndex] = Double.doubleToRawLongBits(Double.parseDouble(field));
+				break;
+
+			case DATE:
+				record.Values[columnIndex] = NULL_VALUE.equals(field) ? LogRecord.NULL_DATE : _dateFormat.parse(field).getTime();
+				break;
+
+			case ENUM:
+			case TEXT:
+			default:
+				record.Refs[columnIndex] = NULL_VALUE.equals(field) ? null : (EMPTY_TEXT_VALUE.equals(field) ? "" : field);
+				break;
+		}
+
+		_heldValues[columnIndex] = record.Values[columnIndex];
+		_heldRefs[columnIndex] = record.Refs[columnIndex];
+	}
+}
@@ -0,0 +1,154 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This class is a LogSink that streams the logged scans to a listener on the network as UDP datagrams
+ *
+ * 	Each datagram holds whole TSV lines (same format as a .tsv log, see TsvLogEncoder), a record never spans 2 datagrams.
+ * 	The header line is sent first & again every RobotMap.LOG_TELEMETRY_HEADER_INTERVAL records, always at the start of
+ * 	a datagram, so a listener that starts late (or loses a datagram) can decode from the next header on.
+ *
+ * 	The socket never blocks: a datagram the OS cannot take right now, or that nobody is listening for, is dropped & counted.
+ */
+public class UdpTelemetrySink implements LogSink
+{
+	private final String _hostAddress;
+	private final int _port;
+	private final LogSink.Backpressure_Policy _policy;
+
+	private final TsvLogEncoder _encoder = new TsvLogEncoder();
+	private DatagramChannel _channel;
+	private ByteBuffer _datagram;
+	private LogSchema _schema;
+	private int _recordsSinceHeader;
+
+	// counters
+	private volatile long _sentDatagramCount;
+	private volatile long _droppedDatagramCount;
+
+	// constructor
+	public UdpTelemetrySink(String hostAddress, int port, LogSink.Backpressure_Policy policy)
+	{
+		_hostAddress = hostAddress;
+		_port = port;
+		_policy = policy;
+	}
+
+	@Override
+	public String GetName()
+	{
+		return "telemetry";
+	}
+
+	@Override
+	public LogSink.Backpressure_Policy GetBackpressurePolicy()
+	{
+		return _policy;
+	}
+
+	@Override
+	public void Open(LogSchema schema) throws IOException
+	{
+		_schema = schema;
+		_datagram = ByteBuffer.allocateDirect(RobotMap.LOG_TELEMETRY_DATAGRAM_SIZE);
+
+		_channel = DatagramChannel.open();
+		_channel.configureBlocking(false);
+		_channel.connect(new InetSocketAddress(_hostAddress, _port));
+
+		writeHeader();
+	}
+
+	@Override
+	public void Write(LogRecord record) throws IOException
+	{
+		if (_recordsSinceHeader >= RobotMap.LOG_TELEMETRY_HEADER_INTERVAL)
+		{
+			writeHeader();
+		}
+
+		while (!_encoder.EncodeRecord(record, _datagram))
+		{
+			if (_datagram.position() == 0)
+			{
+				throw new IOException("record does not fit in a " + _datagram.capacity() + " byte datagram");
+			}
+			sendDatagram();
+		}
+		_recordsSinceHeader++;
+	}
+
+	@Override
+	public void Flush() throws IOException
+	{
+		sendDatagram();
+	}
+
+	@Override
+	public void Close() throws IOException
+	{
+		if (_channel != null)
+		{
+			sendDatagram();
+			_channel.close();
+			_channel = null;
+		}
+	}
+
+	public long GetSentDatagramCount()
+	{
+		return _sentDatagramCount;
+	}
+
+	public long GetDroppedDatagramCount()
+	{
+		return _droppedDatagramCount;
+	}
+
+	// start a new datagram with the header line
+	private void writeHeader() throws IOException
+	{
+		sendDatagram();
+		if (!_encoder.EncodeHeader(_schema, _datagram))
+		{
+			throw new IOException("log header does not fit in a " + _datagram.capacity() + " byte datagram");
+		}
+		_recordsSinceHeader = 0;
+	}
+
+	// send what is in the datagram buffer (if anything)
+	private void sendDatagram() throws IOException
+	{
+		_datagram.flip();
+		try
+		{
+			if (_datagram.hasRemaining())
+			{
+				if (_channel.write(_datagram) > 0)
+				{
+					_sentDatagramCount++;
+				}
+				else
+				{
+					_droppedDatagramCount++;
+				}
+			}
+		}
+		catch (PortUnreachableException e)
+		{
+			// nobody is listening (yet)
+			_droppedDatagramCount++;
+		}
+		finally
+		{
+			_datagram.clear();
+		}
+	}
+}
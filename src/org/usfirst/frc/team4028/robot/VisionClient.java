@@ -1,84 +1,106 @@
 package org.usfirst.frc.team4028.robot;
 
-import java.io.BufferedReader;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.UnknownHostException;
+import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
-import java.nio.channels.AsynchronousSocketChannel;
-import java.util.ArrayDeque;
-import java.util.Date;
-import java.util.Deque;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
 
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.vision.USBCamera;
 
 import org.usfirst.frc.team4028.robot.Constants.RobotMap;
 
+/**
+ * This class polls the vision PC for target data on a background thread
+ *
+ * 	The socket is a non-blocking SocketChannel read through a Selector into 1 direct ByteBuffer that is reused
+ * 	for the life of the client. Lines are framed in the buffer as the bytes arrive, a line split over several
+ * 	reads is parsed once its '\n' arrives & bytes read past it are kept for the next line.
+ * 	Lines are parsed in place by a VisionFrameParser.
+ *
+ * 	Right after connecting the client says hello (see VisionProtocol): a server that speaks version 2 then sends
+ * 	fixed size binary frames (numbered & time stamped by the vision PC), any other server keeps the text lines.
+ *
+ * 	The polling thread owns the connection & keeps it up (ex: the vision PC reboots mid match):
+ * 		DISCONNECTED	not polling (before startPolling, after stopPolling)
+ * 		CONNECTING		connecting (non-blocking, up to RobotMap.VISION_CONNECT_TIMEOUT_MSECS) & saying hello
+ * 		STREAMING		requesting & reading frames, RobotMap.VISION_MAX_CONSECUTIVE_READ_TIMEOUTS with no answer
+ * 						drops the connection (a server that hangs or a half open socket)
+ * 		BACKOFF			waiting to connect again, the wait doubles with each failed attempt
+ * 						(RobotMap.VISION_MIN_BACKOFF_MSECS up to VISION_MAX_BACKOFF_MSECS) & is jittered
+ * 	Every wait is a Selector.select with a timeout, the thread never spins.
+ * 	Leaving STREAMING publishes a snapshot that is not valid, so nothing keeps aiming on the last frame of a lost connection.
+ */
 public class VisionClient 
 {
+	// states of the connection to the vision server
+	public enum Connection_State
+	{
+		DISCONNECTED,
+		CONNECTING,
+		STREAMING,
+		BACKOFF
+	}
+
 	// define some local working variables
 	private static VisionClient _visionClient;
 	private Thread pollingThread;
-	private VisionData _visionData;
-	private Socket _visionServer;	
-	private DataInputStream _inFromServer;
-	private DataOutputStream _outToServer;
+	private volatile VisionSnapshot _visionData;
+	private final InetSocketAddress _visionServerAddress;
+	private SocketChannel _visionServer;	
+	private Selector _selector;
+	private SelectionKey _selectionKey;
+	private volatile Connection_State _connectionState = Connection_State.DISCONNECTED;
+	private final Random _backoffJitter = new Random();
+	
+	// request written to ask for 1 frame: the char 0x013 as written by DataOutputStream.writeChar (2 bytes, high byte 1st)
+	private final ByteBuffer _requestBuffer = ByteBuffer.allocateDirect(VisionProtocol.REQUEST_SIZE).putChar(VisionProtocol.FRAME_REQUEST);
+	private final ByteBuffer _helloBuffer = ByteBuffer.allocateDirect(VisionProtocol.REQUEST_SIZE);
+	private volatile int _protocolVersion = VisionProtocol.TEXT_VERSION;
+	private boolean _isHelloAnswerPending;
+	
+	// everything read from the server, the bytes of a partial line stay at the front between reads
+	private final ByteBuffer _receiveBuffer = ByteBuffer.allocateDirect(RobotMap.VISION_RECEIVE_BUFFER_SIZE);
+	private int _lineScanPosition;
+	
+	// each line is parsed in place into the same VisionData
+	private final VisionFrameParser _frameParser = new VisionFrameParser();
+	private final VisionData _parsedVisionData = new VisionData();
+	private final VisionData _noTargetVisionData = new VisionData();	// IsValidData false
+	private long _lastSequenceNumber;
+	
+	// counters
+	private volatile long _missedFrameCount;
+	private volatile long _skippedByteCount;
 	private boolean _isVisionServerPollingStarted;
-	private boolean _isVisionServerPollingStopRequested = false;
-	  
-	private final ReentrantReadWriteLock _readWriteLock = new ReentrantReadWriteLock();
-	private final Lock _readLock = _readWriteLock.readLock();
-	private final Lock _writeLock = _readWriteLock.writeLock();
+	private volatile boolean _isVisionServerPollingStopRequested = false;
+	private volatile boolean _isConnected;
+
+	// connection health counters
+	private volatile long _connectAttemptCount;
+	private volatile long _connectFailureCount;
+	private volatile long _connectionCount;
+	private volatile long _connectionLostCount;
+	private volatile long _readTimeoutCount;
+	private volatile long _lastRecoveryMSecs;
+	private volatile long _maxRecoveryMSecs;
 	  
-	// private constructor used in a singleton pattern
+	// private constructor used in a singleton pattern, the polling thread makes the connection
 	private VisionClient() 
+	{
+		this(new InetSocketAddress(RobotMap.VISION_PC_IP_ADDRESS, RobotMap.VISION_PC_PORT));
+	}
+	
+	// constructor for a client of another server (package private so the tests can use a VisionStandInServer on the laptop)
+	VisionClient(InetSocketAddress visionServerAddress) 
 	{
 		IsVisionServerAvailable = false;
 		_visionData = null;
-
-		// open the connection to the remote vision server
-		try
-		{
-			_visionServer = new Socket(RobotMap.VISION_PC_IP_ADDRESS, RobotMap.VISION_PC_PORT);
-			  
-			if(_visionServer != null)
-			{
-				DriverStation.reportError("Connection to Vision server successful | ", false);
-				IsVisionServerAvailable = true; 
-			}
-			else
-			{
-				DriverStation.reportError("Connection to Vision server failed | ", false);
-			}
-		 } 
-		catch (UnknownHostException e) 
-		{
-			DriverStation.reportError("Connection to Vision server has failed! | ", false);
-			e.printStackTrace();
-		}
-		catch (IOException e)
-		{
-			DriverStation.reportError("Connection to Vision server has failed!! | ", false);
-			e.printStackTrace();
-		}
-		catch (Exception e)
-		{
-			DriverStation.reportError("Connection to Vision server has failed!!! | ", false);
-			e.printStackTrace();
-		}
+		_visionServerAddress = visionServerAddress;
 	}
 	
 	// implement singleton
@@ -92,38 +114,108 @@ public class VisionClient
 		return _visionClient;
 	}
 	  
-	// Public Property
-	public static boolean IsVisionServerAvailable;
+	// Public Property, true while the polling thread is connected to the vision server
+	public static volatile boolean IsVisionServerAvailable;
+	
+	// Public Thread Safe Property Getter, true while STREAMING: a few late answers do not clear it,
+	//	only a lost connection (incl. RobotMap.VISION_MAX_CONSECUTIVE_READ_TIMEOUTS in a row) does
+	public boolean IsConnected()
+	{
+		return _isConnected;
+	}
 
 	// Public Thread Safe Property Getter
-	public synchronized VisionData GetVisionData() 
+	public Connection_State GetConnectionState()
 	{
-		_readLock.lock();
-		try
-		{
-			return _visionData;
-		}
-		finally
-		{
-			_readLock.unlock();
-		}  
+		return _connectionState;
+	}
+
+	// Public Thread Safe Property Getter, the protocol picked by the handshake (see VisionProtocol)
+	public int GetProtocolVersion()
+	{
+		return _protocolVersion;
+	}
+	
+	// Public Thread Safe Property Getter, binary frames the server sent that never arrived (from gaps in the sequence #s)
+	public long GetMissedFrameCount()
+	{
+		return _missedFrameCount;
+	}
+	
+	// Public Thread Safe Property Getter, bytes thrown away to find the start of the next binary frame
+	public long GetSkippedByteCount()
+	{
+		return _skippedByteCount;
+	}
+
+	// =====================================
+	// Connection health counters
+	// =====================================
+	public long GetConnectAttemptCount()
+	{
+		return _connectAttemptCount;
+	}
+
+	public long GetConnectFailureCount()
+	{
+		return _connectFailureCount;
+	}
+
+	// connections made (the 1st one & every reconnect)
+	public long GetConnectionCount()
+	{
+		return _connectionCount;
+	}
+
+	// connections that closed, failed or timed out while streaming
+	public long GetConnectionLostCount()
+	{
+		return _connectionLostCount;
+	}
+
+	// requests the server did not answer in RobotMap.VISION_READ_TIMEOUT_MSECS
+	public long GetReadTimeoutCount()
+	{
+		return _readTimeoutCount;
+	}
+
+	// msecs from the last lost connection to streaming again
+	public long GetLastRecoveryMSecs()
+	{
+		return _lastRecoveryMSecs;
+	}
+
+	public long GetMaxRecoveryMSecs()
+	{
+		return _maxRecoveryMSecs;
+	}
+
+	// one line summary for the driver station
+	public String BuildHealthSummary()
+	{
+		return "Vision " + _connectionState + " (v" + _protocolVersion + "): Connects= " + _connectionCount + "/" + _connectAttemptCount
+				+ " Lost= " + _connectionLostCount
+				+ " ReadTimeouts= " + _readTimeoutCount
+				+ " RecoveryMSecs= " + _lastRecoveryMSecs + " (max " + _maxRecoveryMSecs + ")"
+				+ " MissedFrames= " + _missedFrameCount;
+	}
+	
+	// Public Thread Safe Property Getter, the latest snapshot (null until the 1st valid frame, not valid once the connection is lost)
+	//	wait-free: 1 volatile read, the snapshot is frozen (final fields) so the caller can use it
+	//	for as long as it likes without a lock
+	public VisionSnapshot GetVisionData() 
+	{
+		return _visionData;
 	}
 	  
-	// Private Thread Safe Property Setter
-	private synchronized void SetVisionData(VisionData visionData) 
+	// Private Property Setter, only the polling thread publishes (the volatile write makes every field
+	//	set before it visible to a thread that reads the new reference)
+	private void SetVisionData(VisionSnapshot visionData) 
 	{
-		_writeLock.lock();
-		try
-		{
-			_visionData = visionData;
-		}
-		finally
-		{
-			_writeLock.unlock();
-		}
+		_visionData = visionData;
 	}
 	  
-	  // this method starts a thread continuously polling the vision server
+	  // this method starts a thread that connects to the vision server (& reconnects when needed) & continuously polls it
 	  public synchronized void startPolling() 
 	  {
 		  // make sure we are not already polling.
@@ -132,42 +224,26 @@ public class VisionClient
 			  return;
 		  }
 		  
-		 // make sure the remote server is available
-		  if (!IsVisionServerAvailable)
-		  {
-			  DriverStation.reportError("Vision server is NOT available | ", false);
-			  return;
-		  }
-		  		  
 		  // reset this variable that help us exit the polling loop
 		  _isVisionServerPollingStopRequested = false;
 		  
-		  // open the connection to the remote vision server
 		  try
 		  {
+			  // the selector lives as long as the thread, each connection registers its socket with it
+			  _selector = Selector.open();
+
 			  // create a new background thread to read data from a remote socket
 			  pollingThread = new Thread(new Runnable() 
 									  {    
 										  public void run() 
 										  {
-											  try 
-											  {
-												  pollVisionServer();
-												  //pollVisionServerAsync();
-											  } 
-											  catch (IOException e) 
-											  {
-												  // do stuff here
-											  } 
-											  catch (InterruptedException e) 
-											  {
-												  DriverStation.reportError("Vision server polling thread interrupted | ", false);
-											  }
+											  runConnection();
 									      }
 									    });
 				  
 			  // start the polling thread
 			  pollingThread.setName("Poll Remote Socket Thread");
+			  pollingThread.setDaemon(true);
 			  pollingThread.start();
 			  
 			  // set this status flag
@@ -175,15 +251,14 @@ public class VisionClient
 			  
 			  DriverStation.reportError("Vision Server Polling Thread started | ", false);
 		  } 
-		  catch (Exception e)
+		  catch (IOException e)
 		  {
-			  // TODO Auto-generated catch block
 			  DriverStation.reportError("Vision Server Pollng Thread CANNOT BE started | ", false);
 			  e.printStackTrace();
 		  }
 	  }
 	
-	  // this method stops the vision polling thread
+	  // this method stops the vision polling thread (it closes the connection)
 	  public synchronized void stopPolling()
 	  {
 		  if (!_isVisionServerPollingStarted)
@@ -191,227 +266,546 @@ public class VisionClient
 		  
 		  _isVisionServerPollingStopRequested = true;
 		  		  
+		  // end the wait the thread is in (if any)
+		  _selector.wakeup();
+
 		  DriverStation.reportError("Vision Server Polling Thread stopped | ", false);
 	  }
 	  
 	  // =====================================================================================================
-	  // synchronous version
-	  // this method is the heart of the functionality, it continuously polls the vision server
+	  // this method runs the polling thread: connect, stream until the connection is lost, back off, connect again...
 	  // =====================================================================================================
-	  protected void pollVisionServer() throws IOException, InterruptedException 
-	  {	    
-		  String rawVisionData;
-		  VisionData _visionLiveData;
-		  long loopCounter = 0;
-		  
-			_outToServer = new DataOutputStream(_visionServer.getOutputStream());
-			  
-			if(_outToServer != null)
-			{
-				DriverStation.reportError("Creation of output stream to Vision Server successful | ", false); 
-			}
-			  
-			_inFromServer = new DataInputStream( _visionServer.getInputStream());
-			if(_inFromServer != null)
-			{
-				DriverStation.reportError("Creation of input stream from Vision Server successful | ", false); 
-			}
-		  
-		  while (IsVisionServerAvailable  && !_isVisionServerPollingStopRequested) 
+	  private void runConnection()
+	  {
+		  int failedAttemptCount = 0;
+		  long connectionLostMSecs = 0;
+
+		  try
 		  {
-			  try 
+			  while (!_isVisionServerPollingStopRequested)
 			  {
-				  if ((_visionServer != null) && (_outToServer != null) && (_inFromServer != null))
+				  _connectionState = Connection_State.CONNECTING;
+				  if (connect(failedAttemptCount))
 				  {
-					  
-					  loopCounter++;
-					  
-					  // ask the server for data
-					  char cr = 0x013;
-					  _outToServer.writeChar(cr);
-						
-					  // call returns a delimited string
-					  rawVisionData = "";
-						
-					  // ==========================
-					  // get values from Vision PC
-					  // ==========================
-					  BufferedReader in = new BufferedReader(new InputStreamReader(_visionServer.getInputStream()));
-					  rawVisionData = in.readLine();
-				
-					  // parse the delimited string
-					  String delims = "[|]+";
-					  String[] splitRawVisionData = rawVisionData.split(delims);
-		    			
-					  // init object to hold vision data
-					  _visionLiveData = new VisionData();
-	    				
-					  // see if got valid data, if so parse the delimited string into its individual data elements
-					  if (splitRawVisionData.length == 7)
-					  {		    				
-						  _visionLiveData.IsValidData = Boolean.parseBoolean(splitRawVisionData[RobotMap.IS_VALID_DATA_ARRAY_POSITION]);
-						  if (_visionLiveData.IsValidData)
-						  {
-							  _visionLiveData.DistanceToTarget = Double.parseDouble(splitRawVisionData[RobotMap.DISTANCE_TO_TARGET_ARRAY_POSITION]);
-							  _visionLiveData.EffectiveTargetWidth = Double.parseDouble(splitRawVisionData[RobotMap.EFFECTIVE_TARGET_WIDTH_ARRAY_POSITION]);
-							  _visionLiveData.DesiredSliderPosition = Double.parseDouble(splitRawVisionData[RobotMap.DESIRED_SLIDER_POSITION_ARRAY_POSITION]);
-							  _visionLiveData.BatteryChargeLevel = Integer.parseInt(splitRawVisionData[RobotMap.BATTERY_CHARGE_LEVEL]);
-							  _visionLiveData.DesiredTurretTurnInDegrees = Double.parseDouble(splitRawVisionData[RobotMap.DESIRED_TURRET_TURN_IN_DEGREES_ARRAY_POSITION]);
-							  _visionLiveData.IsValidShot = Boolean.parseBoolean(splitRawVisionData[RobotMap.IS_VALID_SHOT_ARRAY_POSITION]);
-			    				
-							  _visionLiveData.LastVisionDataRecievedDT = new Date();
-			    				
-							  SetVisionData(_visionLiveData);
-						  }
-						  
-						  if (loopCounter % 100 == 0)
+					  failedAttemptCount = 0;
+					  try
+					  {
+						  // the handshake is redone on each connection (the server may have been updated while it was down)
+						  pollVisionServer(connectionLostMSecs);
+					  }
+					  catch (IOException ex)
+					  {
+						  if (!_isVisionServerPollingStopRequested)
 						  {
-							  DriverStation.reportError("Vision Data= " + rawVisionData + " | ", false);
+							  DriverStation.reportError("Vision server connection lost: " + ex.getMessage() + " | ", false);
 						  }
 					  }
-					  else 
+					  finally
 					  {
-						  _visionLiveData.StatusMsg = "Did not receive correct vision data: " + rawVisionData;
-						  if (loopCounter % 50 == 0)
+						  closeConnection();
+						  if (_connectionState == Connection_State.STREAMING)
 						  {
-							  DriverStation.reportError("Did not not get correct Vision Data= " + rawVisionData + " | ", false);
+							  // the last frame is not current any more
+							  publishVisionData(_noTargetVisionData);
 						  }
 					  }
+
+					  if (_isVisionServerPollingStopRequested)
+					  {
+						  break;
+					  }
+					  _connectionLostCount++;
+					  connectionLostMSecs = System.currentTimeMillis();
 				  }
 				  else
 				  {
-					  DriverStation.reportError("Error.. Unexpected Null object in Vision Polling | ", false);
+					  failedAttemptCount++;
 				  }
+
+				  _connectionState = Connection_State.BACKOFF;
+				  waitBeforeReconnect(failedAttemptCount);
 			  }
-			  catch (IOException ex) 
+		  }
+		  finally
+		  {
+			  closeConnection();
+			  try
 			  {
-				  DriverStation.reportError(ex.getMessage(), true);
-				  continue;
+				  _selector.close();
 			  }
-			  
-			  //Thread.sleep(100);
-		  	}
-		
-		  _isVisionServerPollingStarted = false;
+			  catch (IOException e)
+			  {
+				  // nothing left to release
+			  }
+
+			  _connectionState = Connection_State.DISCONNECTED;
+			  synchronized (this)
+			  {
+				  _isVisionServerPollingStarted = false;
+			  }
+		  }
 	  }
-	
-	  // =====================================================================================================
-	  // async version
-	  // this method is the heart of the functionality, it continuously polls the vision server
-	  // =====================================================================================================
-	  private void pollVisionServerAsync() throws IOException, InterruptedException 
+
+	  // open a connection (non-blocking, waits up to the connect timeout), returns false if it failed
+	  private boolean connect(int failedAttemptCount)
 	  {
-		  try 
-		  {
-			  AsynchronousSocketChannel asyncChannel = AsynchronousSocketChannel.open();
-			  InetSocketAddress remoteIP = new InetSocketAddress(RobotMap.VISION_PC_IP_ADDRESS, RobotMap.VISION_PC_PORT);
-				
-			  // async connection, wait for 5 secs
-			  Future<Void> future = asyncChannel.connect(remoteIP);
-			  future.wait(5000);
-			  DriverStation.reportError("Socket Opened Successfully | ", false);
-				
-			  // setup to write async to remote server is waiting for a <cr>
-			  char carriageReturn = 0x013;
-			  ByteBuffer writeBuffer = ByteBuffer.allocateDirect(2);
-			  Future<Integer> writeFuture;
-			  long bytesWritten;
-			  
-			  // setup to read async from remote server
-			  ByteBuffer readBuffer = ByteBuffer.allocateDirect(1000);
-			  Future<Integer> readFuture;
-			  long bytesRead;
-			  String delims = "[|]+";
-			  String[] splitRawVisionData;
-			  String rawVisionData;
-			  VisionData visionLiveData;
-			  long loopCounter = 0;
-				    
-			  while(true)
+		  _connectAttemptCount++;
+		  SocketChannel visionServer = null;
+		  try
+		  {
+			  visionServer = SocketChannel.open();
+			  visionServer.configureBlocking(false);
+			  visionServer.socket().setTcpNoDelay(true);
+			  SelectionKey selectionKey = visionServer.register(_selector, SelectionKey.OP_CONNECT);
+
+			  if (!visionServer.connect(_visionServerAddress))
 			  {
-				  loopCounter++;
-					  	
-				  // async write, wait for 5 secs
-				  writeBuffer.putChar(carriageReturn);
-					
-				  writeFuture = asyncChannel.write(writeBuffer);
-				  bytesWritten = writeFuture.get(5, TimeUnit.SECONDS);
-					
-				  // async read, wait for 5 secs
-				  readFuture = asyncChannel.read(readBuffer);
-				  bytesRead = readFuture.get(5, TimeUnit.SECONDS);
-				  rawVisionData = new String(readBuffer.array());
-					
-				  // split the delimited data
-				  splitRawVisionData = rawVisionData.split(delims);
-					
-				  // make a new empty object
-				  visionLiveData = new VisionData();
-					
-				  // see if got valid data, if so parse the delimited string into its individual data elements
-				  if (splitRawVisionData.length == 6)
-				  {		    	
-					  visionLiveData.IsValidData = Boolean.parseBoolean(splitRawVisionData[RobotMap.IS_VALID_DATA_ARRAY_POSITION]);
-					  visionLiveData.DistanceToTarget = Double.parseDouble(splitRawVisionData[RobotMap.DISTANCE_TO_TARGET_ARRAY_POSITION]);
-					  visionLiveData.EffectiveTargetWidth = Double.parseDouble(splitRawVisionData[RobotMap.EFFECTIVE_TARGET_WIDTH_ARRAY_POSITION]);
-					  visionLiveData.DesiredSliderPosition = Double.parseDouble(splitRawVisionData[RobotMap.DESIRED_SLIDER_POSITION_ARRAY_POSITION]);
-					  visionLiveData.DesiredTurretTurnInDegrees = Double.parseDouble(splitRawVisionData[RobotMap.DESIRED_TURRET_TURN_IN_DEGREES_ARRAY_POSITION]);
-					  visionLiveData.IsValidShot = Boolean.parseBoolean(splitRawVisionData[RobotMap.IS_VALID_SHOT_ARRAY_POSITION]);
-		    				
-					  visionLiveData.LastVisionDataRecievedDT = new Date();
-		    				  
-					  //try
-					  //{
-						//  double CheckValue = Math.abs(visionLiveData.DesiredTurretTurnInDegrees);
-						  //visionLiveData.IsValidData = true;
-					  //}
-					  //catch(Exception ex)
-					  //{
-					//	  visionLiveData.IsValidData = false;
-					  //}
-					  
-					  SetVisionData(visionLiveData);
-						  
-					  if (loopCounter % 100 == 0)
+				  long deadlineMSecs = System.currentTimeMillis() + RobotMap.VISION_CONNECT_TIMEOUT_MSECS;
+				  while (!visionServer.finishConnect())
+				  {
+					  long remainingMSecs = deadlineMSecs - System.currentTimeMillis();
+					  if (_isVisionServerPollingStopRequested)
 					  {
-						  DriverStation.reportError("Vision Data= " + rawVisionData + " | ", false);
+						  throw new IOException("polling stopped");
 					  }
+					  if (remainingMSecs <= 0)
+					  {
+						  throw new SocketTimeoutException("connect timed out after " + RobotMap.VISION_CONNECT_TIMEOUT_MSECS + " msecs");
+					  }
+					  _selector.select(remainingMSecs);
+					  _selector.selectedKeys().clear();
 				  }
-				  else 
+			  }
+
+			  selectionKey.interestOps(SelectionKey.OP_READ);
+			  _visionServer = visionServer;
+			  _selectionKey = selectionKey;
+			  return true;
+		  }
+		  catch (IOException e)
+		  {
+			  _connectFailureCount++;
+			  if (visionServer != null)
+			  {
+				  try
 				  {
-					  visionLiveData.StatusMsg = "Did not receive correct vision data: " + rawVisionData + " | ";
-						
-					  //if (loopCounter % 100 == 0)
-					  //{
-						  DriverStation.reportError("Did not not receive correct Vision Data= " + rawVisionData + " | ", false);
-					  //}
+					  visionServer.close();
+				  }
+				  catch (IOException closeException)
+				  {
+					  // already failed
 				  }
 			  }
 
-		  } 
-		  catch (IOException e) 
+			  // only report the 1st failure in a row so a vision PC that is off does not flood the driver station
+			  if (failedAttemptCount == 0 && !_isVisionServerPollingStopRequested)
+			  {
+				  DriverStation.reportError("Connection to Vision server failed: " + e.getMessage() + ", retrying | ", false);
+			  }
+			  return false;
+		  }
+	  }
+
+	  private void closeConnection()
+	  {
+		  IsVisionServerAvailable = false;
+		  _isConnected = false;
+		  if (_visionServer == null)
 		  {
-			  // TODO Auto-generated catch block
-			  e.printStackTrace();
-			  DriverStation.reportError("IOException" + " | ", true);
-		  } 
-		  catch (InterruptedException e) 
+			  return;
+		  }
+
+		  try
 		  {
-			  // TODO Auto-generated catch block
-			  e.printStackTrace();
-				DriverStation.reportError("InterruptedException" + " | ", true);
-		  } 
-		  catch (ExecutionException e) 
+			  // also cancels its selection key
+			  _visionServer.close();
+		  }
+		  catch (IOException e)
 		  {
-			  // TODO Auto-generated catch block
-			  e.printStackTrace();
-			  DriverStation.reportError("ExecutionException" + " | ", true);
-		  } 
-		  catch (TimeoutException e) 
+			  // it is gone either way
+		  }
+		  _visionServer = null;
+		  _selectionKey = null;
+	  }
+
+	  // wait before the next connect: min backoff doubled per failed attempt (up to the max backoff),
+	  //	a random half of it is taken off so robots & retries do not line up
+	  private void waitBeforeReconnect(int failedAttemptCount)
+	  {
+		  long backoffMSecs = RobotMap.VISION_MIN_BACKOFF_MSECS;
+		  for (int attempt = 1; attempt < failedAttemptCount && backoffMSecs < RobotMap.VISION_MAX_BACKOFF_MSECS; attempt++)
 		  {
-			  // TODO Auto-generated catch block
-			  e.printStackTrace();
-			  DriverStation.reportError("TimeoutException" + " | ", true);
+			  backoffMSecs *= 2;
+		  }
+		  backoffMSecs = Math.min(backoffMSecs, RobotMap.VISION_MAX_BACKOFF_MSECS);
+		  backoffMSecs -= _backoffJitter.nextInt((int)(backoffMSecs / 2) + 1);
+
+		  // the selector has no socket registered, select is a sleep that stopPolling can wake up
+		  long deadlineMSecs = System.currentTimeMillis() + backoffMSecs;
+		  long remainingMSecs = backoffMSecs;
+		  try
+		  {
+			  while (remainingMSecs > 0 && !_isVisionServerPollingStopRequested)
+			  {
+				  _selector.select(remainingMSecs);
+				  _selector.selectedKeys().clear();
+				  remainingMSecs = deadlineMSecs - System.currentTimeMillis();
+			  }
 		  }
+		  catch (IOException e)
+		  {
+			  // the selector failed, try to connect now
+		  }
+	  }
+
+	  // =====================================================================================================
+	  // this method is the heart of the functionality, it continuously polls the vision server on 1 connection
+	  //	after the handshake (see VisionProtocol) each loop writes 1 request, then waits (Selector, no busy wait)
+	  //	until at least 1 whole frame (text line or binary frame) is in the receive buffer.
+	  //	Bytes past the end of a frame stay in the buffer for the next one.
+	  //	Nothing is allocated by the socket I/O & framing.
+	  //	It returns (throws) when the connection is lost.
+	  // =====================================================================================================
+	  protected void pollVisionServer(long connectionLostMSecs) throws IOException
+	  {
+		  long loopCounter = 0;
+		  int consecutiveReadTimeoutCount = 0;
+		  
+		  _receiveBuffer.clear();
+		  _lineScanPosition = 0;
+		  _lastSequenceNumber = 0;
+		  
+		  negotiateProtocol();
+
+		  _connectionCount++;
+		  _connectionState = Connection_State.STREAMING;
+		  IsVisionServerAvailable = true;
+		  _isConnected = true;
+		  if (connectionLostMSecs == 0)
+		  {
+			  DriverStation.reportError("Connection to Vision server successful | ", false);
+		  }
+		  else
+		  {
+			  _lastRecoveryMSecs = System.currentTimeMillis() - connectionLostMSecs;
+			  _maxRecoveryMSecs = Math.max(_maxRecoveryMSecs, _lastRecoveryMSecs);
+			  DriverStation.reportError("Reconnected to Vision server after " + _lastRecoveryMSecs + " msecs | ", false);
+		  }
+			  
+		  while (!_isVisionServerPollingStopRequested)
+		  {
+			  loopCounter++;
+
+			  // ask the server for data
+			  writeRequest(_requestBuffer);
+
+			  // ==========================
+			  // get values from Vision PC
+			  // ==========================
+			  int frameCount = readFrames(loopCounter);
+
+			  if (frameCount > 0)
+			  {
+				  consecutiveReadTimeoutCount = 0;
+			  }
+			  else if (!_isVisionServerPollingStopRequested && ++consecutiveReadTimeoutCount >= RobotMap.VISION_MAX_CONSECUTIVE_READ_TIMEOUTS)
+			  {
+				  throw new SocketTimeoutException("no answer in " + (consecutiveReadTimeoutCount * RobotMap.VISION_READ_TIMEOUT_MSECS) + " msecs");
+			  }
+		  }
+	  }
+	  
+	  // say hello & pick the protocol version from the answer, a server that does not know the hello gets the text protocol
+	  private void negotiateProtocol() throws IOException
+	  {
+		  _protocolVersion = VisionProtocol.TEXT_VERSION;
+		  _isHelloAnswerPending = false;
+		  if (!RobotMap.IS_VISION_BINARY_PROTOCOL_ENABLED)
+		  {
+			  return;
+		  }
+		  
+		  _helloBuffer.clear();
+		  VisionProtocol.PutHelloRequest(_helloBuffer, VisionProtocol.MAX_VERSION);
+		  _helloBuffer.flip();
+		  writeRequest(_helloBuffer);
+		  
+		  long deadlineMSecs = System.currentTimeMillis() + RobotMap.VISION_HANDSHAKE_TIMEOUT_MSECS;
+		  while (true)
+		  {
+			  int byteCount = _receiveBuffer.position();
+			  if (byteCount >= 4 && VisionProtocol.IsFrameStart(_receiveBuffer, 0))
+			  {
+				  // binary answer, wait for all of it
+				  if (byteCount >= VisionProtocol.FRAME_SIZE)
+				  {
+					  _protocolVersion = Math.min(VisionProtocol.GetFrameVersion(_receiveBuffer, 0), VisionProtocol.MAX_VERSION);
+					  consumeReceivedBytes(VisionProtocol.FRAME_SIZE);
+					  break;
+				  }
+			  }
+			  else if (byteCount >= 4 || containsLineEnd())
+			  {
+				  // text answer, the server took the hello as a request for a frame (the line is parsed as one)
+				  break;
+			  }
+			  
+			  long remainingMSecs = deadlineMSecs - System.currentTimeMillis();
+			  if (remainingMSecs <= 0)
+			  {
+				  // a binary answer that comes later still switches to binary (see extractFrames)
+				  _isHelloAnswerPending = true;
+				  break;
+			  }
+			  if (_selector.select(remainingMSecs) > 0)
+			  {
+				  _selector.selectedKeys().clear();
+				  if (_visionServer.read(_receiveBuffer) < 0)
+				  {
+					  throw new EOFException("closed by the vision server");
+				  }
+			  }
+		  }
+		  
+		  DriverStation.reportError("Vision server protocol: v" + _protocolVersion 
+				  					+ ((_protocolVersion == VisionProtocol.BINARY_VERSION) ? " (binary) | " : " (text) | "), false);
+	  }
+	  
+	  // write 1 request (waits for room in the socket's send buffer if it is full, up to the read timeout)
+	  private void writeRequest(ByteBuffer requestBuffer) throws IOException
+	  {
+		  requestBuffer.rewind();
+		  while (requestBuffer.hasRemaining())
+		  {
+			  if (_visionServer.write(requestBuffer) == 0)
+			  {
+				  _selectionKey.interestOps(SelectionKey.OP_WRITE);
+				  int readyCount = _selector.select(RobotMap.VISION_READ_TIMEOUT_MSECS);
+				  _selector.selectedKeys().clear();
+				  _selectionKey.interestOps(SelectionKey.OP_READ);
+				  if (readyCount == 0)
+				  {
+					  throw new SocketTimeoutException("request not taken in " + RobotMap.VISION_READ_TIMEOUT_MSECS + " msecs");
+				  }
+			  }
+		  }
+	  }
+	  
+	  // read until at least 1 whole frame has arrived (or the read timeout), parse every whole frame, returns the # of frames
+	  private int readFrames(long loopCounter) throws IOException
+	  {
+		  // frames left over from the last read (ex: the text answer to the hello)
+		  int frameCount = extractFrames(loopCounter);
+		  
+		  while (frameCount == 0)
+		  {
+			  if (_selector.select(RobotMap.VISION_READ_TIMEOUT_MSECS) == 0)
+			  {
+				  if (_isVisionServerPollingStopRequested)
+				  {
+					  return 0;
+				  }
+				  
+				  // no answer in time, ask again (a late answer is still framed & parsed)
+				  _readTimeoutCount++;
+				  if (loopCounter % 50 == 0)
+				  {
+					  DriverStation.reportError("Vision server did not answer in " + RobotMap.VISION_READ_TIMEOUT_MSECS + " msecs | ", false);
+				  }
+				  return 0;
+			  }
+			  _selector.selectedKeys().clear();
+			  
+			  if (_visionServer.read(_receiveBuffer) < 0)
+			  {
+				  throw new EOFException("closed by the vision server");
+			  }
+			  
+			  frameCount = extractFrames(loopCounter);
+		  }
+		  return frameCount;
+	  }
+	  
+	  // add bytes to the receive buffer as if they had just been read from the socket & parse every whole frame,
+	  //	returns the # of frames (package private so the tests can feed the framing without a vision server)
+	  int receiveBytes(ByteBuffer bytes, long loopCounter)
+	  {
+		  _receiveBuffer.put(bytes);
+		  return extractFrames(loopCounter);
+	  }
+	  
+	  // parse every whole frame in the receive buffer & move what is left to the front, returns the # of frames
+	  private int extractFrames(long loopCounter)
+	  {
+		  if (_isHelloAnswerPending && !acceptLateHelloAnswer())
+		  {
+			  return 0;
+		  }
+		  
+		  int frameCount = (_protocolVersion == VisionProtocol.BINARY_VERSION) ? extractBinaryFrames(loopCounter) : extractTextFrames(loopCounter);
+		  
+		  // a frame longer than the buffer is not vision data, throw it away
+		  if (!_receiveBuffer.hasRemaining())
+		  {
+			  DriverStation.reportError("Vision data longer than " + _receiveBuffer.capacity() + " bytes discarded | ", false);
+			  _receiveBuffer.clear();
+			  _lineScanPosition = 0;
+		  }
+		  return frameCount;
+	  }
+	  
+	  // v1: parse every whole line
+	  private int extractTextFrames(long loopCounter)
+	  {
+		  int frameCount = 0;
+		  int lineStart = 0;
+		  for (int position = _lineScanPosition; position < _receiveBuffer.position(); position++)
+		  {
+			  if (_receiveBuffer.get(position) == '\n')
+			  {
+				  parseVisionFrame(lineStart, position, loopCounter);
+				  frameCount++;
+				  lineStart = position + 1;
+			  }
+		  }
+		  
+		  // keep the start of the next line (if any)
+		  consumeReceivedBytes(lineStart);
+		  _lineScanPosition = _receiveBuffer.position();
+		  return frameCount;
+	  }
+	  
+	  // v2: decode every whole binary frame
+	  private int extractBinaryFrames(long loopCounter)
+	  {
+		  int frameCount = 0;
+		  int frameStart = 0;
+		  while (_receiveBuffer.position() - frameStart >= VisionProtocol.FRAME_SIZE)
+		  {
+			  if (!VisionProtocol.IsFrameStart(_receiveBuffer, frameStart))
+			  {
+				  // out of step with the server, look for the next magic
+				  frameStart++;
+				  _skippedByteCount++;
+				  continue;
+			  }
+			  
+			  if ((VisionProtocol.GetFrameFlags(_receiveBuffer, frameStart) & VisionProtocol.FLAG_HELLO) == 0)
+			  {
+				  VisionProtocol.GetFrame(_receiveBuffer, frameStart, _parsedVisionData);
+				  
+				  // the server numbers its frames, a gap is frames it sent that were lost
+				  if (_lastSequenceNumber > 0 && _parsedVisionData.SequenceNumber > _lastSequenceNumber + 1)
+				  {
+					  _missedFrameCount += _parsedVisionData.SequenceNumber - _lastSequenceNumber - 1;
+				  }
+				  _lastSequenceNumber = _parsedVisionData.SequenceNumber;
+				  
+				  if (_parsedVisionData.IsValidData)
+				  {
+					  publishVisionData(_parsedVisionData);
+				  }
+				  frameCount++;
+				  
+				  if (loopCounter % 100 == 0)
+				  {
+					  DriverStation.reportError("Vision Data= #" + _parsedVisionData.SequenceNumber 
+							  					+ " " + _parsedVisionData.IsValidData
+							  					+ "|" + _parsedVisionData.DistanceToTarget
+							  					+ "|" + _parsedVisionData.EffectiveTargetWidth
+							  					+ "|" + _parsedVisionData.DesiredSliderPosition
+							  					+ "|" + _parsedVisionData.BatteryChargeLevel
+							  					+ "|" + _parsedVisionData.DesiredTurretTurnInDegrees
+							  					+ "|" + _parsedVisionData.IsValidShot + " | ", false);
+				  }
+			  }
+			  frameStart += VisionProtocol.FRAME_SIZE;
+		  }
+		  
+		  consumeReceivedBytes(frameStart);
+		  return frameCount;
+	  }
+	  
+	  // the hello timed out, switch to binary if the server's 1st answer is a binary frame after all
+	  //	returns false while the start of a binary answer is waiting for the rest of it
+	  private boolean acceptLateHelloAnswer()
+	  {
+		  int byteCount = _receiveBuffer.position();
+		  if (byteCount < 4 && !containsLineEnd())
+		  {
+			  // too short to tell yet
+			  return byteCount == 0;
+		  }
+		  
+		  if (byteCount >= 4 && VisionProtocol.IsFrameStart(_receiveBuffer, 0))
+		  {
+			  if (byteCount < VisionProtocol.FRAME_SIZE)
+			  {
+				  return false;
+			  }
+			  _protocolVersion = Math.min(VisionProtocol.GetFrameVersion(_receiveBuffer, 0), VisionProtocol.MAX_VERSION);
+			  consumeReceivedBytes(VisionProtocol.FRAME_SIZE);
+			  _lineScanPosition = 0;
+			  DriverStation.reportError("Vision server protocol: v" + _protocolVersion + " (late answer to the hello) | ", false);
+		  }
+		  _isHelloAnswerPending = false;
+		  return true;
+	  }
+	  
+	  // drop the 1st byteCount bytes of the receive buffer, the rest moves to the front
+	  private void consumeReceivedBytes(int byteCount)
+	  {
+		  if (byteCount > 0)
+		  {
+			  _receiveBuffer.flip();
+			  _receiveBuffer.position(byteCount);
+			  _receiveBuffer.compact();
+		  }
+	  }
+	  
+	  private boolean containsLineEnd()
+	  {
+		  for (int position = 0; position < _receiveBuffer.position(); position++)
+		  {
+			  if (_receiveBuffer.get(position) == '\n')
+			  {
+				  return true;
+			  }
+		  }
+		  return false;
+	  }
+	  
+	  // parse 1 line (from lineStart up to the '\n' at lineEnd) of the receive buffer, in place
+	  private void parseVisionFrame(int lineStart, int lineEnd, long loopCounter)
+	  {
+		  // drop a '\r' before the '\n'
+		  if (lineEnd > lineStart && _receiveBuffer.get(lineEnd - 1) == '\r')
+		  {
+			  lineEnd--;
+		  }
+		  
+		  boolean isWellFormed = _frameParser.Parse(_receiveBuffer, lineStart, lineEnd, _parsedVisionData);
+		  if (isWellFormed && _parsedVisionData.IsValidData)
+		  {
+			  publishVisionData(_parsedVisionData);
+		  }
+		  
+		  if (isWellFormed && loopCounter % 100 == 0)
+		  {
+			  DriverStation.reportError("Vision Data= " + VisionFrameParser.ToString(_receiveBuffer, lineStart, lineEnd) + " | ", false);
+		  }
+		  else if (!isWellFormed && loopCounter % 50 == 0)
+		  {
+			  DriverStation.reportError("Did not not get correct Vision Data= " + VisionFrameParser.ToString(_receiveBuffer, lineStart, lineEnd) + " | ", false);
+		  }
+	  }
+	  
+	  // publish the frame just parsed as a new snapshot (the parsed VisionData is reused for the next frame)
+	  //	1 small object per valid frame is the only allocation of the polling thread, it is what lets readers
+	  //	keep a frame without a lock or a copy
+	  //	(package private so the tests can publish frames without a vision server)
+	  void publishVisionData(VisionData frame)
+	  {
+		  SetVisionData(new VisionSnapshot(frame, MonotonicClock.GetMicroSecs(), System.currentTimeMillis()));
 	  }
-}	
\ No newline at end of file
+}
\ No newline at end of file
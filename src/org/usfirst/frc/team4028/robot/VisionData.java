@@ -1,9 +1,12 @@
 package org.usfirst.frc.team4028.robot;
 
-import java.util.Date;
-
 import org.usfirst.frc.team4028.robot.Constants.RobotMap;
 
+/**
+ * This class holds 1 frame of target data from the vision PC while it is parsed (or replayed)
+ *
+ * 	It is reused from frame to frame, what VisionClient publishes is a VisionSnapshot made from it.
+ */
 public class VisionData 
 {
 	public boolean IsValidData;
@@ -13,6 +16,7 @@ public class VisionData
 	public double DesiredTurretTurnInDegrees;
 	public int BatteryChargeLevel;
 	public boolean IsValidShot;
-	public Date LastVisionDataRecievedDT;
+	public long SequenceNumber;				// numbered by the vision PC (binary protocol only, 0 for text)
+	public long CaptureTimeMicroSecs;		// when the vision PC took the image, on its own clock (binary protocol only, 0 for text)
 	public String StatusMsg;
 }
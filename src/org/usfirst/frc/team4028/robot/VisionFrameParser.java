@@ -0,0 +1,307 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This class parses 1 line of vision data (ex: true|123.5|42.25|-3.5|87|2.125|true) straight out of the receive buffer
+ *
+ * 	The fields are found & decoded in place into the primitive fields of a VisionData the caller reuses,
+ * 	no String, array or boxed value is created. It gives the same result as the old
+ * 	split("[|]+") + Boolean.parseBoolean / Double.parseDouble / Integer.parseInt code:
+ * 		- a run of '|' is 1 delimiter, a leading '|' makes an empty 1st field, trailing '|'s are ignored
+ * 		- there must be exactly 7 fields, at the RobotMap.*_ARRAY_POSITION indexes
+ * 		- booleans are "true" in any case, anything else is false
+ * 		- decimals are [sign]digits[.digits][e[sign]digits], decoded exactly (up to 15 digits & 10^22),
+ * 		  any other form Double.parseDouble accepts (ex: NaN, hex, " 1.5") falls back to it (allocates, rare)
+ *
+ * 	Only used by the vision polling thread.
+ */
+public class VisionFrameParser
+{
+	public static final int FIELD_COUNT = 7;
+
+	// the largest mantissa & powers of 10 a double holds exactly, mantissa * or / 10^n is then 1 correctly rounded operation
+	private static final int MAX_EXACT_MANTISSA_DIGITS = 15;
+	private static final double[] EXACT_POWERS_OF_10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+															1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final int[] _fieldStarts = new int[FIELD_COUNT];
+	private final int[] _fieldEnds = new int[FIELD_COUNT];
+
+	// result of the last number decoded (a field that is not a number leaves _isNumberValid false)
+	private boolean _isNumberValid;
+
+	// counters
+	private long _parsedFrameCount;
+	private long _malformedFrameCount;
+	private long _slowPathNumberCount;
+
+	// parse the line from lineStart up to (not including) lineEnd, returns false (target partly written) if it is malformed
+	public boolean Parse(ByteBuffer buffer, int lineStart, int lineEnd, VisionData target)
+	{
+		if (!findFields(buffer, lineStart, lineEnd))
+		{
+			_malformedFrameCount++;
+			return false;
+		}
+
+		target.IsValidData = parseBoolean(buffer, RobotMap.IS_VALID_DATA_ARRAY_POSITION);
+		target.DistanceToTarget = parseDouble(buffer, RobotMap.DISTANCE_TO_TARGET_ARRAY_POSITION);
+		target.EffectiveTargetWidth = parseDouble(buffer, RobotMap.EFFECTIVE_TARGET_WIDTH_ARRAY_POSITION);
+		target.DesiredSliderPosition = parseDouble(buffer, RobotMap.DESIRED_SLIDER_POSITION_ARRAY_POSITION);
+		target.BatteryChargeLevel = parseInt(buffer, RobotMap.BATTERY_CHARGE_LEVEL);
+		target.DesiredTurretTurnInDegrees = parseDouble(buffer, RobotMap.DESIRED_TURRET_TURN_IN_DEGREES_ARRAY_POSITION);
+		target.IsValidShot = parseBoolean(buffer, RobotMap.IS_VALID_SHOT_ARRAY_POSITION);
+		if (!_isNumberValid)
+		{
+			_malformedFrameCount++;
+			return false;
+		}
+
+		_parsedFrameCount++;
+		return true;
+	}
+
+	// the line as text, only for driver station messages (allocates)
+	public static String ToString(ByteBuffer buffer, int lineStart, int lineEnd)
+	{
+		byte[] bytes = new byte[lineEnd - lineStart];
+		for (int index = 0; index < bytes.length; index++)
+		{
+			bytes[index] = buffer.get(lineStart + index);
+		}
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	public long GetParsedFrameCount()
+	{
+		return _parsedFrameCount;
+	}
+
+	public long GetMalformedFrameCount()
+	{
+		return _malformedFrameCount;
+	}
+
+	// numbers that needed Double.parseDouble
+	public long GetSlowPathNumberCount()
+	{
+		return _slowPathNumberCount;
+	}
+
+	// =====================================
+	// Fields
+	// =====================================
+
+	// find the start & end of each field, returns false unless there are exactly FIELD_COUNT fields
+	private boolean findFields(ByteBuffer buffer, int lineStart, int lineEnd)
+	{
+		int fieldCount = 0;
+		int position = lineStart;
+		while (position < lineEnd)
+		{
+			if (fieldCount == FIELD_COUNT)
+			{
+				return false;
+			}
+
+			_fieldStarts[fieldCount] = position;
+			while (position < lineEnd && buffer.get(position) != '|')
+			{
+				position++;
+			}
+			_fieldEnds[fieldCount] = position;
+			fieldCount++;
+
+			while (position < lineEnd && buffer.get(position) == '|')
+			{
+				position++;
+			}
+		}
+		_isNumberValid = true;
+		return fieldCount == FIELD_COUNT;
+	}
+
+	// "true" in any case
+	private boolean parseBoolean(ByteBuffer buffer, int fieldIndex)
+	{
+		int start = _fieldStarts[fieldIndex];
+		if (_fieldEnds[fieldIndex] - start != 4)
+		{
+			return false;
+		}
+		return (buffer.get(start) | 0x20) == 't' && (buffer.get(start + 1) | 0x20) == 'r'
+				&& (buffer.get(start + 2) | 0x20) == 'u' && (buffer.get(start + 3) | 0x20) == 'e';
+	}
+
+	// [sign]digits, in the int range (same as Integer.parseInt)
+	private int parseInt(ByteBuffer buffer, int fieldIndex)
+	{
+		int position = _fieldStarts[fieldIndex];
+		int end = _fieldEnds[fieldIndex];
+
+		boolean isNegative = false;
+		if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+		{
+			isNegative = (buffer.get(position) == '-');
+			position++;
+		}
+		if (position == end)
+		{
+			_isNumberValid = false;
+			return 0;
+		}
+
+		long value = 0;
+		long limit = isNegative ? -(long)Integer.MIN_VALUE : Integer.MAX_VALUE;
+		for (; position < end; position++)
+		{
+			int digit = buffer.get(position) - '0';
+			if (digit < 0 || digit > 9)
+			{
+				_isNumberValid = false;
+				return 0;
+			}
+			value = value * 10 + digit;
+			if (value > limit)
+			{
+				_isNumberValid = false;
+				return 0;
+			}
+		}
+		return (int)(isNegative ? -value : value);
+	}
+
+	// [sign]digits[.digits][e[sign]digits] decoded exactly, anything else goes to Double.parseDouble
+	private double parseDouble(ByteBuffer buffer, int fieldIndex)
+	{
+		int position = _fieldStarts[fieldIndex];
+		int end = _fieldEnds[fieldIndex];
+
+		boolean isNegative = false;
+		if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+		{
+			isNegative = (buffer.get(position) == '-');
+			position++;
+		}
+
+		long mantissa = 0;
+		int mantissaDigitCount = 0;
+		int digitCount = 0;
+		int exponent = 0;
+		boolean isPastPoint = false;
+		for (; position < end; position++)
+		{
+			byte character = buffer.get(position);
+			if (character >= '0' && character <= '9')
+			{
+				digitCount++;
+				if (mantissa == 0 && character == '0')
+				{
+					// leading zeros do not count against the exact digits
+					if (isPastPoint)
+					{
+						exponent--;
+					}
+					continue;
+				}
+				if (mantissaDigitCount == MAX_EXACT_MANTISSA_DIGITS)
+				{
+					return parseDoubleSlowPath(buffer, fieldIndex);
+				}
+				mantissa = mantissa * 10 + (character - '0');
+				mantissaDigitCount++;
+				if (isPastPoint)
+				{
+					exponent--;
+				}
+			}
+			else if (character == '.' && !isPastPoint)
+			{
+				isPastPoint = true;
+			}
+			else
+			{
+				break;
+			}
+		}
+		if (digitCount == 0)
+		{
+			return parseDoubleSlowPath(buffer, fieldIndex);
+		}
+
+		// optional exponent
+		if (position < end)
+		{
+			byte character = buffer.get(position);
+			if (character != 'e' && character != 'E')
+			{
+				return parseDoubleSlowPath(buffer, fieldIndex);
+			}
+			position++;
+
+			boolean isExponentNegative = false;
+			if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+			{
+				isExponentNegative = (buffer.get(position) == '-');
+				position++;
+			}
+			if (position == end)
+			{
+				return parseDoubleSlowPath(buffer, fieldIndex);
+			}
+
+			int exponentValue = 0;
+			for (; position < end; position++)
+			{
+				int digit = buffer.get(position) - '0';
+				if (digit < 0 || digit > 9 || exponentValue > 1000)
+				{
+					return parseDoubleSlowPath(buffer, fieldIndex);
+				}
+				exponentValue = exponentValue * 10 + digit;
+			}
+			exponent += isExponentNegative ? -exponentValue : exponentValue;
+		}
+
+		double value;
+		if (mantissa == 0)
+		{
+			value = 0.0;
+		}
+		else if (exponent >= 0 && exponent < EXACT_POWERS_OF_10.length)
+		{
+			value = mantissa * EXACT_POWERS_OF_10[exponent];
+		}
+		else if (exponent < 0 && -exponent < EXACT_POWERS_OF_10.length)
+		{
+			value = mantissa / EXACT_POWERS_OF_10[-exponent];
+		}
+		else
+		{
+			return parseDoubleSlowPath(buffer, fieldIndex);
+		}
+		return isNegative ? -value : value;
+	}
+
+	// everything else Double.parseDouble accepts (ex: NaN, Infinity, hex, surrounding spaces, more than 15 digits)
+	private double parseDoubleSlowPath(ByteBuffer buffer, int fieldIndex)
+	{
+		_slowPathNumberCount++;
+		try
+		{
+			return Double.parseDouble(ToString(buffer, _fieldStarts[fieldIndex], _fieldEnds[fieldIndex]));
+		}
+		catch (NumberFormatException e)
+		{
+			_isNumberValid = false;
+			return 0;
+		}
+	}
+}
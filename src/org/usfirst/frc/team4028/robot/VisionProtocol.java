@@ -0,0 +1,119 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class defines the messages between VisionClient & the vision PC (see VisionStandInServer for a server)
+ *
+ * 	Requests (robot => vision PC), 2 bytes each (a Java char written high byte 1st, as DataOutputStream.writeChar does)
+ * 		0x0013			send the next frame (the only request a v1 server knows)
+ * 		'V' version		hello, sent 1 time right after connecting with the highest version the robot speaks
+ *
+ * 	Version 1 (text): each frame is 1 line, 7 '|' delimited fields (see VisionFrameParser)
+ * 		ex: true|123.5|42.25|-3.5|87|2.125|true\n
+ *
+ * 	Version 2 (binary): each frame is FRAME_SIZE bytes, big endian, fixed layout
+ * 		0	int		MAGIC ("VIS2")
+ * 		4	short	version
+ * 		6	short	flags (FLAG_*)
+ * 		8	long	sequence # (+1 per frame, 0 in the hello answer)
+ * 		16	long	capture time on the vision PC (microsecs, its own clock)
+ * 		24	double	distance to target
+ * 		32	double	effective target width
+ * 		40	double	desired slider position
+ * 		48	double	desired turret turn (degrees)
+ * 		56	int		battery charge level
+ * 		60	int		reserved (0)
+ *
+ * 	Handshake: a v2 server answers the hello with 1 frame that has FLAG_HELLO set & the version it picked
+ * 	(the lower of the 2), both sides then use that version. A v1 server either answers the hello with a text line
+ * 	(it takes any 2 bytes as a request) or does not answer at all, the robot then stays on version 1.
+ */
+public class VisionProtocol
+{
+	public static final int TEXT_VERSION = 1;
+	public static final int BINARY_VERSION = 2;
+	public static final int MAX_VERSION = BINARY_VERSION;
+
+	public static final char FRAME_REQUEST = 0x013;
+	public static final int REQUEST_SIZE = 2;
+	public static final byte HELLO_REQUEST_TAG = 'V';
+
+	public static final int MAGIC = 0x56495332;		// "VIS2"
+	public static final int FRAME_SIZE = 64;
+
+	public static final int FLAG_IS_VALID_DATA = 0x0001;
+	public static final int FLAG_IS_VALID_SHOT = 0x0002;
+	public static final int FLAG_HELLO = 0x8000;
+
+	// write a hello request
+	public static void PutHelloRequest(ByteBuffer buffer, int maxVersion)
+	{
+		buffer.put(HELLO_REQUEST_TAG);
+		buffer.put((byte)maxVersion);
+	}
+
+	// true if the 2 bytes at position are a hello request, its version is the 2nd byte
+	public static boolean IsHelloRequest(ByteBuffer buffer, int position)
+	{
+		return buffer.get(position) == HELLO_REQUEST_TAG;
+	}
+
+	// true if a binary frame starts at position (the caller checks that FRAME_SIZE bytes are there)
+	public static boolean IsFrameStart(ByteBuffer buffer, int position)
+	{
+		return buffer.getInt(position) == MAGIC;
+	}
+
+	// write 1 binary frame
+	public static void PutFrame(ByteBuffer buffer, int version, int flags, long sequenceNumber, long captureTimeMicroSecs, VisionData visionData)
+	{
+		if (visionData.IsValidData)
+		{
+			flags |= FLAG_IS_VALID_DATA;
+		}
+		if (visionData.IsValidShot)
+		{
+			flags |= FLAG_IS_VALID_SHOT;
+		}
+
+		buffer.putInt(MAGIC);
+		buffer.putShort((short)version);
+		buffer.putShort((short)flags);
+		buffer.putLong(sequenceNumber);
+		buffer.putLong(captureTimeMicroSecs);
+		buffer.putDouble(visionData.DistanceToTarget);
+		buffer.putDouble(visionData.EffectiveTargetWidth);
+		buffer.putDouble(visionData.DesiredSliderPosition);
+		buffer.putDouble(visionData.DesiredTurretTurnInDegrees);
+		buffer.putInt(visionData.BatteryChargeLevel);
+		buffer.putInt(0);
+	}
+
+	// the version of the binary frame at position
+	public static int GetFrameVersion(ByteBuffer buffer, int position)
+	{
+		return buffer.getShort(position + 4);
+	}
+
+	// the flags of the binary frame at position
+	public static int GetFrameFlags(ByteBuffer buffer, int position)
+	{
+		return buffer.getShort(position + 6) & 0xFFFF;
+	}
+
+	// decode the binary frame at position into visionData (absolute reads, the buffer's position is not moved)
+	public static void GetFrame(ByteBuffer buffer, int position, VisionData visionData)
+	{
+		int flags = GetFrameFlags(buffer, position);
+		visionData.IsValidData = (flags & FLAG_IS_VALID_DATA) != 0;
+		visionData.IsValidShot = (flags & FLAG_IS_VALID_SHOT) != 0;
+		visionData.SequenceNumber = buffer.getLong(position + 8);
+		visionData.CaptureTimeMicroSecs = buffer.getLong(position + 16);
+		visionData.DistanceToTarget = buffer.getDouble(position + 24);
+		visionData.EffectiveTargetWidth = buffer.getDouble(position + 32);
+		visionData.DesiredSliderPosition = buffer.getDouble(position + 40);
+		visionData.DesiredTurretTurnInDegrees = buffer.getDouble(position + 48);
+		visionData.BatteryChargeLevel = buffer.getInt(position + 56);
+	}
+}
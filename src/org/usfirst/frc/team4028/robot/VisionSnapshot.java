@@ -0,0 +1,39 @@
+package org.usfirst.frc.team4028.robot;
+
+/**
+ * This class is 1 frame of target data from the vision PC as published by VisionClient (see GetVisionData)
+ *
+ * 	Every field is final & set by the constructor, so a snapshot can be shared by any # of threads & kept
+ * 	for as long as needed without a lock. A new one is made for each frame (VisionData is the reusable
+ * 	object the frame is parsed into).
+ */
+public final class VisionSnapshot
+{
+	public final boolean IsValidData;
+	public final double DistanceToTarget;
+	public final double EffectiveTargetWidth;
+	public final double DesiredSliderPosition;
+	public final double DesiredTurretTurnInDegrees;
+	public final int BatteryChargeLevel;
+	public final boolean IsValidShot;
+	public final long SequenceNumber;				// numbered by the vision PC (binary protocol only, 0 for text)
+	public final long CaptureTimeMicroSecs;			// when the vision PC took the image, on its own clock (binary protocol only, 0 for text)
+	public final long ReceivedMicroSecs;			// MonotonicClock when the robot got it (ages are measured from this)
+	public final long ReceivedWallTimeMSecs;		// wall clock when the robot got it (only logged, it jumps when the clock is set)
+
+	// constructor, copies the frame (which the caller is free to reuse)
+	public VisionSnapshot(VisionData frame, long receivedMicroSecs, long receivedWallTimeMSecs)
+	{
+		IsValidData = frame.IsValidData;
+		DistanceToTarget = frame.DistanceToTarget;
+		EffectiveTargetWidth = frame.EffectiveTargetWidth;
+		DesiredSliderPosition = frame.DesiredSliderPosition;
+		DesiredTurretTurnInDegrees = frame.DesiredTurretTurnInDegrees;
+		BatteryChargeLevel = frame.BatteryChargeLevel;
+		IsValidShot = frame.IsValidShot;
+		SequenceNumber = frame.SequenceNumber;
+		CaptureTimeMicroSecs = frame.CaptureTimeMicroSecs;
+		ReceivedMicroSecs = receivedMicroSecs;
+		ReceivedWallTimeMSecs = receivedWallTimeMSecs;
+	}
+}
@@ -0,0 +1,276 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This is a command line tool (run on a laptop) that stands in for the vision PC, so VisionClient can be tried
+ * 	without the real one. It speaks both protocol versions (see VisionProtocol) & sends a made up target
+ * 	that slowly moves (distance & turret error sweep back & forth).
+ *
+ * 	usage:	java -cp FRCUserProgram.jar org.usfirst.frc.team4028.robot.VisionStandInServer [options]
+ *
+ * 	options:
+ * 		--port <port>					port to listen on (default RobotMap.VISION_PC_PORT)
+ * 		--version <1 | 2>				highest version it speaks (default 2), 1 = like the old vision PC
+ * 		--silent-hello					(version 1) do not answer the hello at all, instead of answering it with a text line
+ * 		--hello-delay <msecs>			wait before answering the hello (ex: longer than the robot's handshake timeout)
+ * 		--frame-delay <msecs>			wait before answering each request (ex: a slow image pipeline)
+ * 		--close-after <frames>			drop the connection after this many frames (ex: a vision PC that reboots)
+ * 		--junk-every <frames>			(version 2) write a few bytes that are not a frame before every Nth frame
+ * 										(ex: a server out of step, the robot has to find the next magic)
+ *
+ * 	ex:		VisionStandInServer --version 1 --port 5806
+ *
+ * 	It serves 1 robot at a time & waits for the next one when a connection closes.
+ */
+public class VisionStandInServer
+{
+	// bytes written in front of a frame by --junk-every (no magic in them)
+	public static final byte[] JUNK_BYTES = { 'j', 'u', 'n', 'k', '\n' };
+
+	private final int _maxVersion;
+	private final boolean _isHelloSilent;
+	private final long _helloDelayMSecs;
+	private final long _frameDelayMSecs;
+	private final long _closeAfterFrameCount;
+	private final long _junkEveryFrameCount;
+
+	private final ByteBuffer _frameBuffer = ByteBuffer.allocate(VisionProtocol.FRAME_SIZE);
+	private final VisionData _visionData = new VisionData();
+	private final long _startNanos = System.nanoTime();
+	private long _sequenceNumber;
+
+	// constructor
+	public VisionStandInServer(int maxVersion, boolean isHelloSilent, long helloDelayMSecs, long frameDelayMSecs, long closeAfterFrameCount)
+	{
+		this(maxVersion, isHelloSilent, helloDelayMSecs, frameDelayMSecs, closeAfterFrameCount, 0);
+	}
+
+	// constructor
+	public VisionStandInServer(int maxVersion, boolean isHelloSilent, long helloDelayMSecs, long frameDelayMSecs, long closeAfterFrameCount,
+								long junkEveryFrameCount)
+	{
+		_maxVersion = maxVersion;
+		_isHelloSilent = isHelloSilent;
+		_helloDelayMSecs = helloDelayMSecs;
+		_frameDelayMSecs = frameDelayMSecs;
+		_closeAfterFrameCount = closeAfterFrameCount;
+		_junkEveryFrameCount = junkEveryFrameCount;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		int port = RobotMap.VISION_PC_PORT;
+		int maxVersion = VisionProtocol.MAX_VERSION;
+		boolean isHelloSilent = false;
+		long helloDelayMSecs = 0;
+		long frameDelayMSecs = 0;
+		long closeAfterFrameCount = 0;
+		long junkEveryFrameCount = 0;
+
+		for (int argIndex = 0; argIndex < args.length; argIndex++)
+		{
+			String arg = args[argIndex];
+			if (arg.equals("--silent-hello"))
+			{
+				isHelloSilent = true;
+				continue;
+			}
+			if (argIndex + 1 >= args.length)
+			{
+				printUsage();
+				return;
+			}
+
+			String value = args[++argIndex];
+			if (arg.equals("--port"))
+			{
+				port = Integer.parseInt(value);
+			}
+			else if (arg.equals("--version"))
+			{
+				maxVersion = Integer.parseInt(value);
+			}
+			else if (arg.equals("--hello-delay"))
+			{
+				helloDelayMSecs = Long.parseLong(value);
+			}
+			else if (arg.equals("--frame-delay"))
+			{
+				frameDelayMSecs = Long.parseLong(value);
+			}
+			else if (arg.equals("--close-after"))
+			{
+				closeAfterFrameCount = Long.parseLong(value);
+			}
+			else if (arg.equals("--junk-every"))
+			{
+				junkEveryFrameCount = Long.parseLong(value);
+			}
+			else
+			{
+				printUsage();
+				return;
+			}
+		}
+
+		VisionStandInServer server = new VisionStandInServer(maxVersion, isHelloSilent, helloDelayMSecs, frameDelayMSecs, closeAfterFrameCount,
+																	junkEveryFrameCount);
+		ServerSocket serverSocket = new ServerSocket(port);
+		System.out.println("Vision stand-in server (v" + maxVersion + ") listening on port " + port);
+		try
+		{
+			while (true)
+			{
+				Socket socket = serverSocket.accept();
+				System.out.println("Robot connected from " + socket.getRemoteSocketAddress());
+				server.Serve(socket);
+				System.out.println("Robot disconnected, " + server._sequenceNumber + " frames sent so far");
+			}
+		}
+		finally
+		{
+			serverSocket.close();
+		}
+	}
+
+	private static void printUsage()
+	{
+		System.out.println("usage: VisionStandInServer [--port <port>] [--version <1 | 2>] [--silent-hello] [--hello-delay <msecs>] "
+							+ "[--frame-delay <msecs>] [--close-after <frames>] [--junk-every <frames>]");
+	}
+
+	// answer the requests of 1 connection until it closes (or --close-after)
+	public void Serve(Socket socket) throws IOException
+	{
+		int version = VisionProtocol.TEXT_VERSION;
+		long frameCount = 0;
+		try
+		{
+			socket.setTcpNoDelay(true);
+			DataInputStream input = new DataInputStream(socket.getInputStream());
+			OutputStream output = socket.getOutputStream();
+			byte[] request = new byte[VisionProtocol.REQUEST_SIZE];
+
+			while (_closeAfterFrameCount == 0 || frameCount < _closeAfterFrameCount)
+			{
+				input.readFully(request);
+
+				if (request[0] == VisionProtocol.HELLO_REQUEST_TAG)
+				{
+					int robotVersion = request[1];
+					if (_maxVersion >= VisionProtocol.BINARY_VERSION && robotVersion >= VisionProtocol.BINARY_VERSION)
+					{
+						sleep(_helloDelayMSecs);
+						version = Math.min(robotVersion, _maxVersion);
+						writeBinaryFrame(output, version, VisionProtocol.FLAG_HELLO, 0);
+						System.out.println("Hello from a v" + robotVersion + " robot, using v" + version);
+						continue;
+					}
+					if (_isHelloSilent)
+					{
+						continue;
+					}
+					// like the old vision PC, any request gets a text line
+				}
+
+				sleep(_frameDelayMSecs);
+				_sequenceNumber++;
+				frameCount++;
+				updateTarget();
+				if (version == VisionProtocol.BINARY_VERSION)
+				{
+					if (_junkEveryFrameCount > 0 && (frameCount % _junkEveryFrameCount) == 0)
+					{
+						output.write(JUNK_BYTES);
+					}
+					writeBinaryFrame(output, version, 0, _sequenceNumber);
+				}
+				else
+				{
+					writeTextFrame(output);
+				}
+			}
+		}
+		catch (EOFException e)
+		{
+			// the robot closed the connection
+		}
+		finally
+		{
+			socket.close();
+		}
+	}
+
+	// made up target: the robot drives closer & further, the target drifts across the image
+	private void updateTarget()
+	{
+		double seconds = (System.nanoTime() - _startNanos) / 1.0e9;
+		_visionData.IsValidData = true;
+		_visionData.DistanceToTarget = Math.round((120.0 + 60.0 * Math.sin(seconds / 4.0)) * 100.0) / 100.0;
+		_visionData.EffectiveTargetWidth = Math.round((4000.0 / _visionData.DistanceToTarget) * 100.0) / 100.0;
+		_visionData.DesiredSliderPosition = Math.round((_visionData.DistanceToTarget / 10.0 - 12.0) * 10.0) / 10.0;
+		_visionData.BatteryChargeLevel = 100 - (int)((seconds / 60.0) % 100);
+		_visionData.DesiredTurretTurnInDegrees = Math.round(15.0 * Math.sin(seconds / 1.5) * 1000.0) / 1000.0;
+		_visionData.IsValidShot = Math.abs(_visionData.DesiredTurretTurnInDegrees) < 1.0;
+	}
+
+	private void writeBinaryFrame(OutputStream output, int version, int flags, long sequenceNumber) throws IOException
+	{
+		_frameBuffer.clear();
+		VisionProtocol.PutFrame(_frameBuffer, version, flags, sequenceNumber, (System.nanoTime() - _startNanos) / 1000, _visionData);
+		output.write(_frameBuffer.array(), 0, _frameBuffer.position());
+		output.flush();
+	}
+
+	// same line the old vision PC sends (fields in RobotMap.*_ARRAY_POSITION order)
+	private void writeTextFrame(OutputStream output) throws IOException
+	{
+		String[] fields = new String[VisionFrameParser.FIELD_COUNT];
+		fields[RobotMap.IS_VALID_DATA_ARRAY_POSITION] = Boolean.toString(_visionData.IsValidData);
+		fields[RobotMap.DISTANCE_TO_TARGET_ARRAY_POSITION] = Double.toString(_visionData.DistanceToTarget);
+		fields[RobotMap.EFFECTIVE_TARGET_WIDTH_ARRAY_POSITION] = Double.toString(_visionData.EffectiveTargetWidth);
+		fields[RobotMap.DESIRED_SLIDER_POSITION_ARRAY_POSITION] = Double.toString(_visionData.DesiredSliderPosition);
+		fields[RobotMap.BATTERY_CHARGE_LEVEL] = Integer.toString(_visionData.BatteryChargeLevel);
+		fields[RobotMap.DESIRED_TURRET_TURN_IN_DEGREES_ARRAY_POSITION] = Double.toString(_visionData.DesiredTurretTurnInDegrees);
+		fields[RobotMap.IS_VALID_SHOT_ARRAY_POSITION] = Boolean.toString(_visionData.IsValidShot);
+
+		StringBuilder line = new StringBuilder();
+		for (int fieldIndex = 0; fieldIndex < fields.length; fieldIndex++)
+		{
+			if (fieldIndex > 0)
+			{
+				line.append('|');
+			}
+			line.append(fields[fieldIndex]);
+		}
+		line.append('\n');
+		output.write(line.toString().getBytes(StandardCharsets.US_ASCII));
+		output.flush();
+	}
+
+	private static void sleep(long msecs)
+	{
+		if (msecs <= 0)
+		{
+			return;
+		}
+		try
+		{
+			Thread.sleep(msecs);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package edu.wpi.first.wpilibj;
+
+/**
+ * This class stands in for the WPILib DriverStation when the unit tests run on the laptop
+ * 	(the real one needs the roboRIO's native libraries)
+ *
+ * 	The robot code only calls reportError, the messages go to the console.
+ */
+public class DriverStation
+{
+	public static void reportError(String error, boolean printTrace)
+	{
+		System.out.println("DS: " + error);
+	}
+}
@@ -0,0 +1,281 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * This class tests that a framed log (see FramedLogOutput) damaged by a torn write is read up to the damage & no further
+ *
+ * 	A small TSV log is written with 1 frame per batch, then copies of it are cut at every byte of its last frame,
+ * 	have a payload byte flipped or get unwritten (zero) space added at the end, like a brown out or a pulled USB stick
+ * 	would leave them. FramedLogInputStream must return exactly the log bytes of the good frames & LogRecoveryTool
+ * 	must recover exactly their records.
+ */
+public class FramedLogRecoveryTest
+{
+	private static final int BATCH_COUNT = 10;
+	private static final int RECORDS_PER_BATCH = 5;
+	private static final int MAX_PAYLOAD_SIZE = 4 * 1024;
+	private static final int UNWRITTEN_SPACE_SIZE = 4096;
+
+	@Rule
+	public final TemporaryFolder _folder = new TemporaryFolder();
+
+	private byte[] _framedLog;
+	private byte[] _plainLog;
+	private long[] _frameEndOffsets;		// [0] = the header frame, [n] = the frame of batch n
+
+	@Before
+	public void WriteFramedLog() throws IOException
+	{
+		LogSchema schema = new LogSchema();
+		schema.AddColumn("Scan", LogSchema.Column_Type.LONG);
+		schema.AddColumn("Value", LogSchema.Column_Type.DOUBLE);
+		LogRecord record = new LogRecord(schema.GetColumnCount());
+
+		File file = _folder.newFile("log" + TsvLogEncoder.FRAMED_FILE_EXTENSION);
+		FileLogOutput fileOutput = new FileLogOutput(file.getPath());
+		LogBatchWriter batchWriter = new LogBatchWriter(new TsvLogEncoder(), new FramedLogOutput(fileOutput, MAX_PAYLOAD_SIZE), 64 * 1024);
+		ByteArrayOutputStream plainLog = new ByteArrayOutputStream();
+		LogBatchWriter plainBatchWriter = new LogBatchWriter(new TsvLogEncoder(), new StreamLogOutput(plainLog), 64 * 1024);
+
+		_frameEndOffsets = new long[BATCH_COUNT + 1];
+		batchWriter.WriteHeader(schema);
+		batchWriter.Flush();
+		plainBatchWriter.WriteHeader(schema);
+		_frameEndOffsets[0] = fileOutput.GetBytesWritten();
+
+		for (int batchIndex = 0; batchIndex < BATCH_COUNT; batchIndex++)
+		{
+			for (int recordIndex = 0; recordIndex < RECORDS_PER_BATCH; recordIndex++)
+			{
+				long scan = batchIndex * RECORDS_PER_BATCH + recordIndex;
+				record.Reset();
+				record.PutLong(scan);
+				record.PutDouble(scan * 0.25);
+				batchWriter.WriteRecord(record);
+				plainBatchWriter.WriteRecord(record);
+			}
+			batchWriter.Flush();
+			_frameEndOffsets[batchIndex + 1] = fileOutput.GetBytesWritten();
+		}
+		batchWriter.Close();
+		plainBatchWriter.Close();
+
+		_framedLog = Files.readAllBytes(file.toPath());
+		_plainLog = plainLog.toByteArray();
+		assertEquals(_frameEndOffsets[BATCH_COUNT], _framedLog.length);
+	}
+
+	// =====================================
+	// Whole log
+	// =====================================
+	@Test
+	public void AnUndamagedLogIsReadWhole() throws IOException
+	{
+		FramedLogInputStream inputStream = open(_framedLog);
+		assertArrayEquals(_plainLog, readAll(inputStream));
+		assertFalse(inputStream.IsTorn());
+		assertEquals(BATCH_COUNT + 1, inputStream.GetFrameCount());
+
+		LogRecoveryTool.RecoveryReport report = recover(_framedLog);
+		assertNull(report.StopReason);
+		assertEquals(BATCH_COUNT * RECORDS_PER_BATCH, report.RecoveredRecordCount);
+	}
+
+	// =====================================
+	// Torn last frame
+	// =====================================
+	@Test
+	public void ALastFrameCutAtAnyByteIsLeftOut() throws IOException
+	{
+		int lastFrameStart = (int)_frameEndOffsets[BATCH_COUNT - 1];
+		byte[] expectedLog = plainLogUpToBatch(BATCH_COUNT - 1);
+
+		for (int length = lastFrameStart; length < _framedLog.length; length++)
+		{
+			byte[] tornLog = Arrays.copyOf(_framedLog, length);
+
+			FramedLogInputStream inputStream = open(tornLog);
+			assertArrayEquals("cut at " + length, expectedLog, readAll(inputStream));
+			assertEquals("cut at " + length, BATCH_COUNT, inputStream.GetFrameCount());
+
+			LogRecoveryTool.RecoveryReport report = recover(tornLog);
+			assertEquals("cut at " + length, (BATCH_COUNT - 1) * RECORDS_PER_BATCH, report.RecoveredRecordCount);
+			assertEquals("cut at " + length, BATCH_COUNT, report.GoodFrameCount);
+			if (length == lastFrameStart)
+			{
+				// cut between 2 frames: nothing is damaged, the last batch was just never written
+				assertNull("cut at " + length, report.StopReason);
+			}
+			else
+			{
+				assertNotNull("cut at " + length, report.StopReason);
+				assertEquals("cut at " + length, lastFrameStart, report.StopFileOffset);
+				assertTrue("cut at " + length, report.IsDamaged());
+			}
+		}
+	}
+
+	// =====================================
+	// Corrupt payload
+	// =====================================
+	@Test
+	public void AFlippedPayloadByteStopsInFrontOfItsFrame() throws IOException
+	{
+		int damagedBatchIndex = BATCH_COUNT / 2;
+		int frameStart = (int)_frameEndOffsets[damagedBatchIndex];
+		byte[] damagedLog = _framedLog.clone();
+		damagedLog[frameStart + FramedLogOutput.FRAME_HEADER_SIZE + 3] ^= 0x01;
+
+		FramedLogInputStream inputStream = open(damagedLog);
+		assertArrayEquals(plainLogUpToBatch(damagedBatchIndex), readAll(inputStream));
+		assertTrue(inputStream.IsTorn());
+		assertEquals("bad frame CRC", inputStream.GetStopReason());
+		assertEquals(frameStart, inputStream.GetStopFileOffset());
+
+		LogRecoveryTool.RecoveryReport report = recover(damagedLog);
+		assertEquals(damagedBatchIndex * RECORDS_PER_BATCH, report.RecoveredRecordCount);
+		assertTrue(report.IsDamaged());
+		assertTrue("the good frames after it are counted as lost", report.NonZeroBytesAfterStop > 0);
+	}
+
+	// =====================================
+	// Unwritten space
+	// =====================================
+	@Test
+	public void UnwrittenSpaceAfterTheLastFrameIsNotDamage() throws IOException
+	{
+		byte[] zeroFilledLog = Arrays.copyOf(_framedLog, _framedLog.length + UNWRITTEN_SPACE_SIZE);
+
+		FramedLogInputStream inputStream = open(zeroFilledLog);
+		assertArrayEquals(_plainLog, readAll(inputStream));
+		assertTrue(inputStream.IsAtUnwrittenSpace());
+		assertEquals(_framedLog.length, inputStream.GetStopFileOffset());
+
+		LogRecoveryTool.RecoveryReport report = recover(zeroFilledLog);
+		assertEquals(BATCH_COUNT * RECORDS_PER_BATCH, report.RecoveredRecordCount);
+		assertTrue(report.IsAtUnwrittenSpace);
+		assertEquals(0, report.NonZeroBytesAfterStop);
+		assertFalse(report.IsDamaged());
+	}
+
+	@Test
+	public void ATornLastFrameFollowedByUnwrittenSpaceIsDamage() throws IOException
+	{
+		// ex: a mapped segment, the frame header made it to the file but only part of the payload did
+		int lastFrameStart = (int)_frameEndOffsets[BATCH_COUNT - 1];
+		byte[] tornLog = Arrays.copyOf(_framedLog, _framedLog.length + UNWRITTEN_SPACE_SIZE);
+		Arrays.fill(tornLog, lastFrameStart + FramedLogOutput.FRAME_HEADER_SIZE + 5, tornLog.length, (byte)0);
+
+		assertArrayEquals(plainLogUpToBatch(BATCH_COUNT - 1), readAll(open(tornLog)));
+
+		LogRecoveryTool.RecoveryReport report = recover(tornLog);
+		assertEquals((BATCH_COUNT - 1) * RECORDS_PER_BATCH, report.RecoveredRecordCount);
+		assertFalse(report.IsAtUnwrittenSpace);
+		assertTrue(report.IsDamaged());
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+	private static FramedLogInputStream open(byte[] framedLog) throws IOException
+	{
+		return new FramedLogInputStream(new ByteArrayInputStream(framedLog));
+	}
+
+	private static byte[] readAll(InputStream inputStream) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] chunk = new byte[1000];
+		int bytesRead;
+		while ((bytesRead = inputStream.read(chunk, 0, chunk.length)) >= 0)
+		{
+			bytes.write(chunk, 0, bytesRead);
+		}
+		return bytes.toByteArray();
+	}
+
+	// the plain log with the header & the records of the 1st batchCount batches
+	private byte[] plainLogUpToBatch(int batchCount)
+	{
+		int lineCount = 1 + batchCount * RECORDS_PER_BATCH;
+		int length = 0;
+		for (int lineIndex = 0; lineIndex < lineCount; lineIndex++)
+		{
+			while (_plainLog[length] != '\n')
+			{
+				length++;
+			}
+			length++;
+		}
+		return Arrays.copyOf(_plainLog, length);
+	}
+
+	// run the recovery tool on a copy of the log in the temp folder
+	private LogRecoveryTool.RecoveryReport recover(byte[] framedLog) throws IOException
+	{
+		File inputFile = _folder.newFile();
+		Files.write(inputFile.toPath(), framedLog);
+		File outputFile = new File(inputFile.getPath() + "_recovered" + TsvLogEncoder.FILE_EXTENSION);
+		LogRecoveryTool.RecoveryReport report = LogRecoveryTool.Recover(inputFile.getPath(), outputFile.getPath());
+		assertTrue(report.IsFramed);
+		return report;
+	}
+
+	// collects the plain log bytes in memory
+	private static class StreamLogOutput implements LogOutput
+	{
+		private final ByteArrayOutputStream _outputStream;
+		private long _bytesWritten;
+
+		StreamLogOutput(ByteArrayOutputStream outputStream)
+		{
+			_outputStream = outputStream;
+		}
+
+		@Override
+		public void Write(ByteBuffer source) throws IOException
+		{
+			_bytesWritten += source.remaining();
+			while (source.hasRemaining())
+			{
+				_outputStream.write(source.get());
+			}
+		}
+
+		@Override
+		public void Flush() throws IOException
+		{
+		}
+
+		@Override
+		public void Close() throws IOException
+		{
+		}
+
+		@Override
+		public long GetBytesWritten()
+		{
+			return _bytesWritten;
+		}
+	}
+}
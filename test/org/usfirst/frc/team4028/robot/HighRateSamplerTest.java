@@ -0,0 +1,165 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.usfirst.frc.team4028.robot.RobotData.Auto_Aim_And_Shoot_State;
+
+/**
+ * This class tests how HighRateSampler bounds its overhead: a stretched period when reads are slow & missed samples
+ * 	counted (not caught up) after a late read
+ *
+ * 	A fake HighRateSampleSource spins for a set time in each read & notes when each read started,
+ * 	the sampler runs on its own thread like on the robot & writes its sequence to a temp folder.
+ * 	Each sequence ends when the buffer is full, so no timing is needed to stop it.
+ */
+public class HighRateSamplerTest
+{
+	private static final long WAIT_TIMEOUT_MSECS = 5000;
+
+	@Rule
+	public final TemporaryFolder _folder = new TemporaryFolder();
+
+	// =====================================
+	// Duty cycle
+	// =====================================
+	@Test
+	public void SlowReadsStretchThePeriodUnderTheDutyCycle() throws InterruptedException
+	{
+		// 200 uSec reads every 100 uSec would be a duty cycle of 200%, 10% stretches the period to 2 msecs
+		int capacity = 50;
+		long readNanoSecs = 200 * 1000L;
+		double maxDutyCycle = 0.10;
+		FakeSampleSource source = new FakeSampleSource(capacity, readNanoSecs, -1, 0);
+		HighRateSampler sampler = sampleOneSequence(source, capacity, 100, maxDutyCycle);
+
+		assertEquals(capacity, source.GetReadCount());
+		assertEquals("every sample", capacity, sampler.GetStretchedSampleCount());
+
+		long minPeriodNanoSecs = (long)(readNanoSecs / maxDutyCycle);
+		long averagePeriodNanoSecs = (source.GetReadStartNanoSecs(capacity - 1) - source.GetReadStartNanoSecs(0)) / (capacity - 1);
+		assertTrue("average period " + averagePeriodNanoSecs + " nSecs", averagePeriodNanoSecs >= minPeriodNanoSecs * 9 / 10);
+	}
+
+	@Test
+	public void FastReadsKeepThePeriod() throws InterruptedException
+	{
+		int capacity = 20;
+		FakeSampleSource source = new FakeSampleSource(capacity, 0, -1, 0);
+		HighRateSampler sampler = sampleOneSequence(source, capacity, 5000, 0.50);
+
+		assertEquals(capacity, source.GetReadCount());
+		assertEquals(0, sampler.GetStretchedSampleCount());
+	}
+
+	// =====================================
+	// Missed samples
+	// =====================================
+	@Test
+	public void ALateReadCountsTheSamplesItMissedWithoutCatchingUp() throws InterruptedException
+	{
+		// 1 read takes 23 msecs of a 5 msec period: the 4 periods it overran (at least) are missed
+		int capacity = 20;
+		int periodMicroSecs = 5000;
+		int lateReadIndex = 5;
+		long lateReadNanoSecs = 23 * 1000 * 1000L;
+		FakeSampleSource source = new FakeSampleSource(capacity, 0, lateReadIndex, lateReadNanoSecs);
+		HighRateSampler sampler = sampleOneSequence(source, capacity, periodMicroSecs, 1.0);
+
+		assertEquals(capacity, source.GetReadCount());
+		long missedSampleCount = sampler.GetMissedSampleCount();
+		assertTrue("missed " + missedSampleCount, missedSampleCount >= lateReadNanoSecs / (periodMicroSecs * 1000L));
+		assertEquals("the late read is under the duty cycle on average", 0, sampler.GetStretchedSampleCount());
+
+		// the next samples stay on the period, they are not read back to back
+		long periodNanoSecs = periodMicroSecs * 1000L;
+		for (int readIndex = lateReadIndex + 2; readIndex < capacity; readIndex++)
+		{
+			long intervalNanoSecs = source.GetReadStartNanoSecs(readIndex) - source.GetReadStartNanoSecs(readIndex - 1);
+			assertTrue("read " + readIndex + " after " + intervalNanoSecs + " nSecs", intervalNanoSecs >= periodNanoSecs / 2);
+		}
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+
+	// sample while a selected state is active, until the buffer is full
+	private HighRateSampler sampleOneSequence(FakeSampleSource source, int capacity, int periodMicroSecs, double maxDutyCycle)
+			throws InterruptedException
+	{
+		HighRateSampler sampler = new HighRateSampler(source, capacity, periodMicroSecs, maxDutyCycle,
+														new String[] { _folder.getRoot().getPath() });
+		sampler.SelectState(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.SHOOT);
+		sampler.Start("test");
+		sampler.OnEvent(LogEventCatalog.GetStateEventId(LogEventCatalog.AUTO_AIM_AND_SHOOT_STATE, Auto_Aim_And_Shoot_State.SHOOT));
+
+		long deadlineMSecs = System.currentTimeMillis() + WAIT_TIMEOUT_MSECS;
+		while (sampler.GetWrittenSequenceCount() == 0 && System.currentTimeMillis() < deadlineMSecs)
+		{
+			Thread.sleep(1);
+		}
+		sampler.StopSampling();
+
+		assertEquals("sequences written", 1, sampler.GetWrittenSequenceCount());
+		File[] files = _folder.getRoot().listFiles();
+		assertEquals(1, files.length);
+		assertTrue(files[0].getName(), files[0].getName().contains("test" + HighRateSampler.FILE_SUFFIX));
+		return sampler;
+	}
+
+	// spins for readNanoSecs in each read (lateReadNanoSecs in read # lateReadIndex) & notes when each read started
+	private static class FakeSampleSource implements HighRateSampleSource
+	{
+		private final long[] _readStartNanoSecs;
+		private final long _readNanoSecs;
+		private final int _lateReadIndex;
+		private final long _lateReadNanoSecs;
+		private int _readCount;
+
+		FakeSampleSource(int capacity, long readNanoSecs, int lateReadIndex, long lateReadNanoSecs)
+		{
+			_readStartNanoSecs = new long[capacity];
+			_readNanoSecs = readNanoSecs;
+			_lateReadIndex = lateReadIndex;
+			_lateReadNanoSecs = lateReadNanoSecs;
+		}
+
+		@Override
+		public String[] GetChannelNames()
+		{
+			return new String[] { "ReadIndex", "Spin" };
+		}
+
+		@Override
+		public void ReadSample(double[] values, int offset)
+		{
+			long startNanoSecs = System.nanoTime();
+			_readStartNanoSecs[_readCount] = startNanoSecs;
+			long spinNanoSecs = (_readCount == _lateReadIndex) ? _lateReadNanoSecs : _readNanoSecs;
+			while (System.nanoTime() - startNanoSecs < spinNanoSecs)
+			{
+			}
+			values[offset] = _readCount;
+			values[offset + 1] = spinNanoSecs;
+			_readCount++;
+		}
+
+		// only read once the sequence was written (the sampler thread is done with the source)
+		int GetReadCount()
+		{
+			return _readCount;
+		}
+
+		long GetReadStartNanoSecs(int readIndex)
+		{
+			return _readStartNanoSecs[readIndex];
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class tests a LogRingBuffer that drops its oldest record when it is full (ClaimOverwritingOldest / TryTake)
+ *
+ * 	Each record holds its sequence # in every column, so a copy taken while the producer was writing the slot
+ * 	would show 2 different values. Under a producer / consumer stress run every record must be either taken
+ * 	(whole & in order) or counted as dropped, exactly 1 time.
+ */
+public class LogRingBufferTest
+{
+	private static final int COLUMN_COUNT = 8;
+	private static final long WAIT_TIMEOUT_MSECS = 10000;
+
+	// =====================================
+	// 1 thread
+	// =====================================
+	@Test
+	public void AFullBufferDropsItsOldestRecords()
+	{
+		int capacity = 8;
+		LogRingBuffer ringBuffer = new LogRingBuffer(capacity, COLUMN_COUNT);
+		int extraCount = 3;
+		for (long sequenceNumber = 0; sequenceNumber < capacity + extraCount; sequenceNumber++)
+		{
+			publish(ringBuffer, sequenceNumber);
+		}
+		assertEquals(extraCount, ringBuffer.GetDroppedRecordCount());
+		assertEquals(capacity, ringBuffer.GetAvailableCount());
+
+		// the newest capacity records are left, oldest 1st
+		LogRecord record = new LogRecord(COLUMN_COUNT);
+		for (long sequenceNumber = extraCount; sequenceNumber < capacity + extraCount; sequenceNumber++)
+		{
+			assertTrue(ringBuffer.TryTake(record));
+			assertNull(checkRecord(record, sequenceNumber));
+		}
+		assertFalse("empty", ringBuffer.TryTake(record));
+		assertEquals(0, ringBuffer.GetAvailableCount());
+	}
+
+	@Test
+	public void ABufferWithRoomDropsNothing()
+	{
+		LogRingBuffer ringBuffer = new LogRingBuffer(8, COLUMN_COUNT);
+		LogRecord record = new LogRecord(COLUMN_COUNT);
+		for (long sequenceNumber = 0; sequenceNumber < 100; sequenceNumber++)
+		{
+			publish(ringBuffer, sequenceNumber);
+			assertTrue(ringBuffer.TryTake(record));
+			assertNull(checkRecord(record, sequenceNumber));
+		}
+		assertEquals(0, ringBuffer.GetDroppedRecordCount());
+	}
+
+	// =====================================
+	// Producer / consumer stress
+	// =====================================
+	@Test
+	public void EveryRecordIsTakenWholeOrCountedAsDropped() throws InterruptedException
+	{
+		// a small buffer so the producer takes slots back from under the consumer all the time
+		final int capacity = 16;
+		final long recordCount = 2000000;
+		final LogRingBuffer ringBuffer = new LogRingBuffer(capacity, COLUMN_COUNT);
+		final Consumer consumer = new Consumer(ringBuffer);
+
+		Thread consumerThread = new Thread(consumer);
+		consumerThread.setName("Ring Buffer Consumer Thread");
+		consumerThread.setDaemon(true);
+		consumerThread.start();
+
+		for (long sequenceNumber = 0; sequenceNumber < recordCount; sequenceNumber++)
+		{
+			publish(ringBuffer, sequenceNumber);
+		}
+		consumer._isProducerDone = true;
+		consumerThread.join(WAIT_TIMEOUT_MSECS);
+
+		assertFalse("consumer still running", consumerThread.isAlive());
+		assertNull(consumer._error);
+		assertEquals("last record", recordCount - 1, consumer._lastSequenceNumber);
+		assertEquals("taken + dropped", recordCount, consumer._takenCount + ringBuffer.GetDroppedRecordCount());
+		assertEquals("dropped = the gaps in the sequence", consumer._skippedCount, ringBuffer.GetDroppedRecordCount());
+		assertTrue("nothing was dropped, the stress run did not stress", ringBuffer.GetDroppedRecordCount() > 0);
+		assertTrue(ringBuffer.GetHighWaterMark() <= capacity);
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+	private static void publish(LogRingBuffer ringBuffer, long sequenceNumber)
+	{
+		LogRecord record = ringBuffer.ClaimOverwritingOldest();
+		for (int columnIndex = 0; columnIndex < COLUMN_COUNT; columnIndex++)
+		{
+			record.PutLong(sequenceNumber);
+		}
+		ringBuffer.Publish();
+	}
+
+	// returns null if every column holds the sequence #, else what is wrong
+	private static String checkRecord(LogRecord record, long sequenceNumber)
+	{
+		if (record.GetColumnCount() != COLUMN_COUNT)
+		{
+			return "record " + sequenceNumber + " has " + record.GetColumnCount() + " columns";
+		}
+		for (int columnIndex = 0; columnIndex < COLUMN_COUNT; columnIndex++)
+		{
+			if (record.GetLong(columnIndex) != sequenceNumber)
+			{
+				return "record " + sequenceNumber + " column " + columnIndex + " holds " + record.GetLong(columnIndex);
+			}
+		}
+		return null;
+	}
+
+	// takes records until the producer is done & the buffer is empty, notes the 1st error (a failed assert would not fail the test)
+	private static class Consumer implements Runnable
+	{
+		private final LogRingBuffer _ringBuffer;
+		private final LogRecord _record = new LogRecord(COLUMN_COUNT);
+
+		volatile boolean _isProducerDone;
+		volatile String _error;
+		long _lastSequenceNumber = -1;
+		long _takenCount;
+		long _skippedCount;
+
+		Consumer(LogRingBuffer ringBuffer)
+		{
+			_ringBuffer = ringBuffer;
+		}
+
+		public void run()
+		{
+			while (_error == null)
+			{
+				// the done flag is read 1st, so a last TryTake that finds nothing has seen every record
+				boolean isProducerDone = _isProducerDone;
+				if (!_ringBuffer.TryTake(_record))
+				{
+					if (isProducerDone)
+					{
+						return;
+					}
+					continue;
+				}
+
+				long sequenceNumber = _record.GetLong(0);
+				if (sequenceNumber <= _lastSequenceNumber)
+				{
+					_error = "record " + sequenceNumber + " after record " + _lastSequenceNumber;
+					return;
+				}
+				_error = checkRecord(_record, sequenceNumber);
+				_skippedCount += sequenceNumber - _lastSequenceNumber - 1;
+				_lastSequenceNumber = sequenceNumber;
+				_takenCount++;
+			}
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class tests which columns LogSampler picks for each record
+ *
+ * 	Records are built by hand with the FPGA time of each scan, so the periodic streams see exact times
+ * 	(no robot or clock is needed). The columns are:
+ * 	- the timestamp, always sampled
+ * 	- 2 periodic columns in 1 stream ("InputData:Slow*" every 100 msecs)
+ * 	- an INT & an ENUM sampled on change
+ * 	- a column with no rule, sampled every scan
+ */
+public class LogSamplerTest
+{
+	private static final int PERIOD_MSECS = 100;
+	private static final long PERIOD_MICROSECS = PERIOD_MSECS * 1000L;
+	private static final long SCAN_MICROSECS = 20 * 1000L;
+	private static final long START_MICROSECS = 5000000L;
+
+	private static final int TIMESTAMP = 0;
+	private static final int SLOW_VOLTAGE = 1;
+	private static final int SLOW_CURRENT = 2;
+	private static final int SHOT_COUNT = 3;
+	private static final int SHOT_STATE = 4;
+	private static final int FAST = 5;
+
+	private final LogSchema _schema = buildSchema();
+	private final LogRecord _record = new LogRecord(_schema.GetColumnCount());
+
+	// =====================================
+	// Full records
+	// =====================================
+	@Test
+	public void TheFirstRecordIsFull()
+	{
+		LogSampler sampler = new LogSampler(_schema, buildPolicy(), 0);
+		assertTrue(sampler.IsNextRecordFull());
+
+		sample(sampler, START_MICROSECS, 0, null);
+		assertTrue(sampler.IsFullRecord());
+		assertSampled(sampler, "1st record", true, true, true, true, true, true);
+		assertFalse("no full record interval", sampler.IsNextRecordFull());
+	}
+
+	@Test
+	public void EveryFullRecordIntervalRecordsEveryColumnIsWritten()
+	{
+		int fullRecordInterval = 4;
+		LogSampler sampler = new LogSampler(_schema, buildPolicy(), fullRecordInterval);
+
+		for (int recordIndex = 0; recordIndex < 3 * fullRecordInterval; recordIndex++)
+		{
+			boolean isFullRecord = (recordIndex % fullRecordInterval == 0);
+			assertEquals("record " + recordIndex, isFullRecord, sampler.IsNextRecordFull());
+
+			// nothing changes & the period never passes, only a full record writes them
+			sample(sampler, START_MICROSECS + recordIndex, 7, Shot_State.IDLE);
+			assertEquals("record " + recordIndex, isFullRecord, sampler.IsFullRecord());
+			assertSampled(sampler, "record " + recordIndex, true, isFullRecord, isFullRecord, isFullRecord, isFullRecord, true);
+		}
+	}
+
+	@Test
+	public void AFullRecordRestartsThePeriod()
+	{
+		LogSampler sampler = new LogSampler(_schema, buildPolicy(), 2);
+
+		sample(sampler, START_MICROSECS, 0, null);
+		sample(sampler, START_MICROSECS + PERIOD_MICROSECS / 2, 0, null);
+		assertFalse(sampler.IsColumnSampled(SLOW_VOLTAGE));
+
+		// full, half a period after the start
+		sample(sampler, START_MICROSECS + PERIOD_MICROSECS / 2, 0, null);
+		assertTrue(sampler.IsFullRecord());
+
+		// 1 period after the start is no longer due, the period now runs from the full record
+		sample(sampler, START_MICROSECS + PERIOD_MICROSECS, 0, null);
+		assertFalse(sampler.IsFullRecord());
+		assertFalse(sampler.IsColumnSampled(SLOW_VOLTAGE));
+	}
+
+	// =====================================
+	// On change
+	// =====================================
+	@Test
+	public void OnChangeColumnsAreWrittenOnlyWhenTheyChange()
+	{
+		LogSampler sampler = new LogSampler(_schema, buildPolicy(), 0);
+		long fpgaTimeMicroSecs = START_MICROSECS;
+
+		sample(sampler, fpgaTimeMicroSecs, 1, Shot_State.IDLE);
+		assertOnChangeSampled(sampler, "1st record", true, true);
+
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 1, Shot_State.IDLE);
+		assertOnChangeSampled(sampler, "unchanged", false, false);
+
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 2, Shot_State.IDLE);
+		assertOnChangeSampled(sampler, "count changed", true, false);
+
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 2, Shot_State.SHOOTING);
+		assertOnChangeSampled(sampler, "state changed", false, true);
+
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 2, null);
+		assertOnChangeSampled(sampler, "state to null", false, true);
+
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 2, null);
+		assertOnChangeSampled(sampler, "still null", false, false);
+
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 2, Shot_State.SHOOTING);
+		assertOnChangeSampled(sampler, "null to state", false, true);
+
+		// compared with the last value written, not the last value seen
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 1, Shot_State.SHOOTING);
+		assertOnChangeSampled(sampler, "count back", true, false);
+		sample(sampler, fpgaTimeMicroSecs += SCAN_MICROSECS, 1, Shot_State.SHOOTING);
+		assertOnChangeSampled(sampler, "count same", false, false);
+	}
+
+	// =====================================
+	// Periodic
+	// =====================================
+	@Test
+	public void PeriodicColumnsAreWrittenOncePerPeriod()
+	{
+		LogSampler sampler = new LogSampler(_schema, buildPolicy(), 0);
+
+		// 1 scan every 20 msecs, the stream is due every 5th scan
+		for (int scanIndex = 0; scanIndex < 26; scanIndex++)
+		{
+			sample(sampler, START_MICROSECS + scanIndex * SCAN_MICROSECS, 0, null);
+			boolean isDue = (scanIndex % (PERIOD_MICROSECS / SCAN_MICROSECS) == 0);
+			assertEquals("scan " + scanIndex, isDue, sampler.IsColumnSampled(SLOW_VOLTAGE));
+			assertEquals("same stream, scan " + scanIndex, isDue, sampler.IsColumnSampled(SLOW_CURRENT));
+			assertTrue(sampler.IsColumnSampled(TIMESTAMP));
+			assertTrue(sampler.IsColumnSampled(FAST));
+		}
+	}
+
+	@Test
+	public void ThePeriodIsCountedFromTheLastSample()
+	{
+		LogSampler sampler = new LogSampler(_schema, buildPolicy(), 0);
+
+		sample(sampler, START_MICROSECS, 0, null);
+		sample(sampler, START_MICROSECS + PERIOD_MICROSECS - 1, 0, null);
+		assertFalse("1 usec early", sampler.IsColumnSampled(SLOW_VOLTAGE));
+
+		// a late scan (ex: a long GC pause) is sampled, the next period starts from it
+		long lateMicroSecs = START_MICROSECS + PERIOD_MICROSECS + 30000;
+		sample(sampler, lateMicroSecs, 0, null);
+		assertTrue("late", sampler.IsColumnSampled(SLOW_VOLTAGE));
+
+		sample(sampler, START_MICROSECS + 2 * PERIOD_MICROSECS, 0, null);
+		assertFalse("on the old grid", sampler.IsColumnSampled(SLOW_VOLTAGE));
+		sample(sampler, lateMicroSecs + PERIOD_MICROSECS, 0, null);
+		assertTrue("1 period after the late scan", sampler.IsColumnSampled(SLOW_VOLTAGE));
+	}
+
+	@Test
+	public void PeriodicWithoutATimestampColumnIsEveryScan()
+	{
+		LogSchema schema = new LogSchema();
+		schema.AddColumn("InputData:SlowVoltage", LogSchema.Column_Type.DOUBLE);
+		LogRecord record = new LogRecord(schema.GetColumnCount());
+		LogSampler sampler = new LogSampler(schema, buildPolicy(), 0);
+
+		for (int scanIndex = 0; scanIndex < 5; scanIndex++)
+		{
+			record.Reset();
+			record.PutDouble(12.5);
+			sampler.SampleRecord(record);
+			assertTrue("scan " + scanIndex, sampler.IsColumnSampled(0));
+		}
+	}
+
+	// =====================================
+	// Counters
+	// =====================================
+	@Test
+	public void SampledValuesAreCounted()
+	{
+		LogSampler sampler = new LogSampler(_schema, buildPolicy(), 0);
+
+		// every column, then only the timestamp & the every scan column
+		sample(sampler, START_MICROSECS, 0, null);
+		sample(sampler, START_MICROSECS + SCAN_MICROSECS, 0, null);
+		int columnCount = _schema.GetColumnCount();
+		assertEquals(columnCount + 2, sampler.GetSampledValueCount());
+		assertEquals(2 * columnCount, sampler.GetTotalValueCount());
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+	private enum Shot_State
+	{
+		IDLE,
+		SHOOTING
+	}
+
+	private static LogSchema buildSchema()
+	{
+		LogSchema schema = new LogSchema();
+		schema.AddColumn(LogSchema.TIMESTAMP_COLUMN_NAME, LogSchema.Column_Type.LONG);
+		schema.AddColumn("InputData:SlowVoltage", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("InputData:SlowCurrent", LogSchema.Column_Type.DOUBLE);
+		schema.AddColumn("OutputData:ShotCount", LogSchema.Column_Type.INT);
+		schema.AddColumn("OutputData:ShotState", LogSchema.Column_Type.ENUM);
+		schema.AddColumn("OutputData:Fast", LogSchema.Column_Type.DOUBLE);
+		return schema;
+	}
+
+	private static LogSamplingPolicy buildPolicy()
+	{
+		LogSamplingPolicy policy = new LogSamplingPolicy();
+		policy.Periodic("InputData:Slow*", PERIOD_MSECS);
+		policy.OnChange("OutputData:ShotCount");
+		policy.OnChange("OutputData:ShotState");
+		return policy;
+	}
+
+	// the periodic & every scan columns change every record, only the on change columns are set by the test
+	private void sample(LogSampler sampler, long fpgaTimeMicroSecs, int shotCount, Shot_State shotState)
+	{
+		_record.Reset();
+		_record.PutLong(fpgaTimeMicroSecs);
+		_record.PutDouble(fpgaTimeMicroSecs * 0.001);
+		_record.PutDouble(fpgaTimeMicroSecs * 0.002);
+		_record.PutInt(shotCount);
+		_record.PutEnum(shotState);
+		_record.PutDouble(fpgaTimeMicroSecs * 0.003);
+		sampler.SampleRecord(_record);
+	}
+
+	private static void assertSampled(LogSampler sampler, String message, boolean... isColumnSampled)
+	{
+		for (int columnIndex = 0; columnIndex < isColumnSampled.length; columnIndex++)
+		{
+			assertEquals(message + ", column " + columnIndex, isColumnSampled[columnIndex], sampler.IsColumnSampled(columnIndex));
+		}
+	}
+
+	private static void assertOnChangeSampled(LogSampler sampler, String message, boolean isShotCountSampled, boolean isShotStateSampled)
+	{
+		assertEquals(message, isShotCountSampled, sampler.IsColumnSampled(SHOT_COUNT));
+		assertEquals(message, isShotStateSampled, sampler.IsColumnSampled(SHOT_STATE));
+	}
+}
@@ -0,0 +1,110 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This class tests that logging a scan does not allocate once the logger is warmed up
+ *
+ * 	Each scan runs the same steps as the data logger: CaptureLogRecord copies RobotData into a reused record,
+ * 	LogBatchWriter.WriteRecord samples it & TsvLogEncoder.EncodeRecord formats it into the reused buffer, with a Flush
+ * 	every batch. The bytes the test thread allocates are read from the JVM (com.sun.management.ThreadMXBean)
+ * 	around N scans & must be 0, so a garbage collection pause is never caused by the logger.
+ */
+public class LogWriterAllocationTest
+{
+	private static final int WARM_UP_SCAN_COUNT = 200000;
+	private static final int MEASURED_SCAN_COUNT = 50000;
+	private static final int SCANS_PER_BATCH = 25;
+
+	@Test
+	public void SteadyStateScansDoNotAllocate() throws IOException
+	{
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		long threadId = Thread.currentThread().getId();
+
+		RobotData robotData = new RobotData();
+		LogSchema schema = DataLogger.BuildLogSchema(robotData);
+		LogRecord record = new LogRecord(schema.GetColumnCount());
+		DiscardingLogOutput output = new DiscardingLogOutput();
+		LogBatchWriter batchWriter = new LogBatchWriter(new TsvLogEncoder(), output, RobotMap.LOG_WRITER_BUFFER_SIZE);
+		batchWriter.SetSamplingPolicy(DataLogger.BuildSamplingPolicy(robotData), RobotMap.LOG_DELTA_KEYFRAME_INTERVAL);
+		batchWriter.WriteHeader(schema);
+
+		robotData.WorkingDataValues.LoggingStartedMicroSecs = MonotonicClock.GetMicroSecs();
+		runScans(robotData, record, batchWriter, 0, WARM_UP_SCAN_COUNT);
+
+		// reading the counter may allocate by itself, that is measured 1st & taken off
+		long readStartBytes = threadBean.getThreadAllocatedBytes(threadId);
+		long readEndBytes = threadBean.getThreadAllocatedBytes(threadId);
+		long readOverheadBytes = readEndBytes - readStartBytes;
+
+		long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+		runScans(robotData, record, batchWriter, WARM_UP_SCAN_COUNT, MEASURED_SCAN_COUNT);
+		long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes - readOverheadBytes;
+
+		assertTrue("nothing was written", output.GetBytesWritten() > 0);
+		assertEquals("bytes allocated by " + MEASURED_SCAN_COUNT + " scans", 0, allocatedBytes);
+	}
+
+	// like the main loop: some values change every scan, the record is captured, written & flushed every batch
+	private static void runScans(RobotData robotData, LogRecord record, LogBatchWriter batchWriter, int firstScanIndex, int scanCount) throws IOException
+	{
+		for (int scanIndex = firstScanIndex; scanIndex < firstScanIndex + scanCount; scanIndex++)
+		{
+			robotData.WorkingDataValues.LastScanMicroSecs = MonotonicClock.GetMicroSecs();
+			robotData.InputDataValues.FPGATimeMicroSecs = 20000L * scanIndex;
+			robotData.InputDataValues.ArcadeDriveThrottleRawCmd = (scanIndex % 200) / 100.0 - 1.0;
+			robotData.InputDataValues.IsAutoAimBtnPressed = (scanIndex % 50) < 25;
+
+			record.Reset();
+			DataLogger.CaptureLogRecord(robotData, record);
+			batchWriter.WriteRecord(record);
+
+			if ((scanIndex % SCANS_PER_BATCH) == 0)
+			{
+				batchWriter.Flush();
+			}
+		}
+	}
+
+	// stands in for the log file, the bytes are counted & thrown away
+	private static class DiscardingLogOutput implements LogOutput
+	{
+		private long _bytesWritten;
+
+		@Override
+		public void Write(ByteBuffer source) throws IOException
+		{
+			_bytesWritten += source.remaining();
+			source.position(source.limit());
+		}
+
+		@Override
+		public void Flush() throws IOException
+		{
+		}
+
+		@Override
+		public void Close() throws IOException
+		{
+		}
+
+		@Override
+		public long GetBytesWritten()
+		{
+			return _bytesWritten;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package org.usfirst.frc.team4028.robot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * This class runs a VisionStandInServer on an ephemeral loopback port for the vision tests
+ *
+ * 	Connections are served 1 at a time on a daemon thread (like VisionStandInServer.main does), close stops
+ * 	accepting & closes the connection being served.
+ */
+class LoopbackVisionServer implements Closeable
+{
+	private static final long STOP_TIMEOUT_MSECS = 2000;
+
+	private final ServerSocket _serverSocket;
+	private final Thread _acceptThread;
+	private volatile Socket _socket;
+	private volatile int _acceptedCount;
+
+	// constructor, starts listening & serving right away
+	LoopbackVisionServer(final VisionStandInServer standInServer) throws IOException
+	{
+		_serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+		_acceptThread = new Thread(new Runnable()
+									{
+										public void run()
+										{
+											serve(standInServer);
+										}
+									});
+		_acceptThread.setName("Loopback Vision Server Thread");
+		_acceptThread.setDaemon(true);
+		_acceptThread.start();
+	}
+
+	// where a VisionClient connects to
+	InetSocketAddress GetAddress()
+	{
+		return new InetSocketAddress(InetAddress.getLoopbackAddress(), _serverSocket.getLocalPort());
+	}
+
+	// connections accepted so far
+	int GetAcceptedCount()
+	{
+		return _acceptedCount;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		_serverSocket.close();
+		Socket socket = _socket;
+		if (socket != null)
+		{
+			socket.close();
+		}
+		try
+		{
+			_acceptThread.join(STOP_TIMEOUT_MSECS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void serve(VisionStandInServer standInServer)
+	{
+		while (!_serverSocket.isClosed())
+		{
+			try
+			{
+				Socket socket = _serverSocket.accept();
+				_socket = socket;
+				_acceptedCount++;
+				standInServer.Serve(socket);
+			}
+			catch (IOException e)
+			{
+				// the client dropped the connection (wait for the next one) or the server was closed
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * This class tests how MonotonicClock extends the FPGA counter to 64 bits
+ *
+ * 	The raw counter readings are fed straight in (see MonotonicClock.extendFPGAMicroSecs), so a 32 bit
+ * 	wrap (every ~71.6 minutes on the robot) is tested without the FPGA or an hour of waiting.
+ */
+public class MonotonicClockTest
+{
+	private static final long COUNTER_RANGE = 1L << 32;
+	private static final long SCAN_MICROSECS = 20 * 1000L;
+
+	@After
+	public void ForgetWraps()
+	{
+		MonotonicClock.startFPGAWraps(0);
+	}
+
+	// =====================================
+	// No wrap
+	// =====================================
+	@Test
+	public void ReadingsBeforeTheWrapAreUnchanged()
+	{
+		MonotonicClock.startFPGAWraps(1000);
+		assertEquals(1000, MonotonicClock.extendFPGAMicroSecs(1000));
+		assertEquals(1000 + SCAN_MICROSECS, MonotonicClock.extendFPGAMicroSecs(1000 + SCAN_MICROSECS));
+		assertEquals(COUNTER_RANGE - 1, MonotonicClock.extendFPGAMicroSecs(COUNTER_RANGE - 1));
+	}
+
+	// =====================================
+	// 32 bit wraps
+	// =====================================
+	@Test
+	public void AWrapAddsTheCounterRange()
+	{
+		MonotonicClock.startFPGAWraps(COUNTER_RANGE - 100);
+		assertEquals(COUNTER_RANGE - 10, MonotonicClock.extendFPGAMicroSecs(COUNTER_RANGE - 10));
+		assertEquals(COUNTER_RANGE + 5, MonotonicClock.extendFPGAMicroSecs(5));
+		assertEquals("the wrap is kept", COUNTER_RANGE + SCAN_MICROSECS, MonotonicClock.extendFPGAMicroSecs(SCAN_MICROSECS));
+	}
+
+	@Test
+	public void AWrapToExactlyZero()
+	{
+		MonotonicClock.startFPGAWraps(COUNTER_RANGE - 1);
+		assertEquals(COUNTER_RANGE, MonotonicClock.extendFPGAMicroSecs(0));
+		assertEquals(COUNTER_RANGE + 1, MonotonicClock.extendFPGAMicroSecs(1));
+	}
+
+	@Test
+	public void ScansAcrossSeveralWrapsStayMonotonicAndEvenlySpaced()
+	{
+		// start 1 scan before a wrap with a scan time that does not divide the counter range
+		long extendedMicroSecs = COUNTER_RANGE - SCAN_MICROSECS / 2;
+		MonotonicClock.startFPGAWraps(extendedMicroSecs % COUNTER_RANGE);
+
+		long scanCountPerWrap = COUNTER_RANGE / SCAN_MICROSECS;
+		for (long scanIndex = 0; scanIndex < 3 * scanCountPerWrap; scanIndex += scanCountPerWrap / 7)
+		{
+			// a scan on each side of the wrap, then skip ahead (the counter only has to be read 1 time per wrap)
+			for (int scanStep = 0; scanStep < 2; scanStep++)
+			{
+				extendedMicroSecs += SCAN_MICROSECS;
+				assertEquals("scan " + scanIndex, extendedMicroSecs, MonotonicClock.extendFPGAMicroSecs(extendedMicroSecs % COUNTER_RANGE));
+			}
+			extendedMicroSecs += (scanCountPerWrap / 7 - 2) * SCAN_MICROSECS;
+		}
+		assertTrue("3 wraps", extendedMicroSecs > 3 * COUNTER_RANGE);
+	}
+
+	// =====================================
+	// 64 bit counter
+	// =====================================
+	@Test
+	public void ACounterPastTheRangeIsNotA32BitCounter()
+	{
+		// a 64 bit counter never wraps, a step back is not taken as 1
+		MonotonicClock.startFPGAWraps(COUNTER_RANGE + 1000);
+		assertEquals(COUNTER_RANGE + 2000, MonotonicClock.extendFPGAMicroSecs(COUNTER_RANGE + 2000));
+		assertEquals(COUNTER_RANGE + 1500, MonotonicClock.extendFPGAMicroSecs(COUNTER_RANGE + 1500));
+	}
+}
@@ -0,0 +1,131 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * This class tests how VisionClient frames the text lines (protocol v1) in its receive buffer
+ *
+ * 	The socket may hand over a line in pieces or several lines at once, every line must be parsed 1 time
+ * 	once its '\n' is in, with bytes past it kept for the next line. The bytes are fed straight to the
+ * 	receive buffer (see VisionClient.receiveBytes), no vision server is needed.
+ */
+public class VisionClientFramingTest
+{
+	private static final long LOOP_COUNTER = 1;
+
+	// never connected, only its receive buffer is used
+	private final VisionClient _visionClient = new VisionClient(new InetSocketAddress("127.0.0.1", 0));
+
+	// =====================================
+	// A line split over 2 reads
+	// =====================================
+	@Test
+	public void ALineSplitAtAnyByteIsParsedOnceItsEndArrives()
+	{
+		String line = buildLine(123.5);
+		for (int splitOffset = 0; splitOffset <= line.length(); splitOffset++)
+		{
+			VisionSnapshot lastSnapshot = _visionClient.GetVisionData();
+			int frameCount = receive(line.substring(0, splitOffset));
+			if (splitOffset < line.length())
+			{
+				assertEquals("split at " + splitOffset, 0, frameCount);
+				assertSame("split at " + splitOffset, lastSnapshot, _visionClient.GetVisionData());
+				frameCount = receive(line.substring(splitOffset));
+			}
+			assertEquals("split at " + splitOffset, 1, frameCount);
+			assertDistance("split at " + splitOffset, 123.5);
+		}
+	}
+
+	@Test
+	public void TheEndOfALineAndTheStartOfTheNextInTheSameRead()
+	{
+		String lines = buildLine(1.0) + buildLine(2.0) + buildLine(3.0);
+		int secondLineStart = buildLine(1.0).length();
+		int secondLineEnd = secondLineStart + buildLine(2.0).length() - 1;
+		for (int splitOffset = secondLineStart + 1; splitOffset <= secondLineEnd; splitOffset++)
+		{
+			// the 1st read has all of line 1 & part of line 2, the 2nd read the rest
+			int frameCount = receive(lines.substring(0, splitOffset));
+			assertDistance("split at " + splitOffset, 1.0);
+			frameCount += receive(lines.substring(splitOffset));
+			assertEquals("split at " + splitOffset, 3, frameCount);
+			assertDistance("split at " + splitOffset, 3.0);
+		}
+	}
+
+	@Test
+	public void ALineInManyReadsOf1Byte()
+	{
+		String line = buildLine(42.25);
+		int frameCount = 0;
+		for (int offset = 0; offset < line.length(); offset++)
+		{
+			frameCount += receive(line.substring(offset, offset + 1));
+			assertEquals("at " + offset, (offset == line.length() - 1) ? 1 : 0, frameCount);
+		}
+		assertDistance("", 42.25);
+	}
+
+	// =====================================
+	// Several lines in 1 read
+	// =====================================
+	@Test
+	public void SeveralLinesInOneReadAreAllParsed()
+	{
+		StringBuilder lines = new StringBuilder();
+		for (int lineIndex = 1; lineIndex <= 10; lineIndex++)
+		{
+			lines.append(buildLine(lineIndex));
+		}
+		assertEquals(10, receive(lines.toString()));
+		assertDistance("", 10.0);
+
+		// nothing is left over to be parsed again
+		assertEquals(0, receive(""));
+		assertEquals(1, receive(buildLine(11.0)));
+		assertDistance("", 11.0);
+	}
+
+	@Test
+	public void CarriageReturnsAndMalformedLinesDoNotStopTheNextLines()
+	{
+		assertEquals(1, receive("true|5.5|42.25|-3.5|87|2.125|true\r\n"));
+		assertDistance("", 5.5);
+
+		String lines = "not vision data\n" + "\n" + "true|6.5|42.25|-3.5|87|2.125|true\r\n" + buildLine(7.5);
+		assertEquals(4, receive(lines));
+		assertDistance("", 7.5);
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+	private static String buildLine(double distanceToTarget)
+	{
+		return "true|" + distanceToTarget + "|42.25|-3.5|87|2.125|true\n";
+	}
+
+	private int receive(String bytes)
+	{
+		return _visionClient.receiveBytes(ByteBuffer.wrap(bytes.getBytes(StandardCharsets.US_ASCII)), LOOP_COUNTER);
+	}
+
+	private void assertDistance(String message, double distanceToTarget)
+	{
+		VisionSnapshot snapshot = _visionClient.GetVisionData();
+		assertNotNull(message, snapshot);
+		assertEquals(message, distanceToTarget, snapshot.DistanceToTarget, 0.0);
+		assertEquals(message, 42.25, snapshot.EffectiveTargetWidth, 0.0);
+		assertEquals(message, 87, snapshot.BatteryChargeLevel);
+	}
+}
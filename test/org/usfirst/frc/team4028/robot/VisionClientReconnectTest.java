@@ -0,0 +1,162 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This class tests how VisionClient keeps its connection to a VisionStandInServer up & what it publishes when it is lost
+ *
+ * 	The stand-in server runs in the test over a loopback socket on an ephemeral port: it drops the connection after
+ * 	a few frames (like a vision PC that reboots) or answers slower than the read timeout.
+ */
+public class VisionClientReconnectTest
+{
+	private static final long FRAMES_PER_CONNECTION = 20;
+	private static final long RECONNECT_COUNT = 3;
+	private static final long WAIT_TIMEOUT_MSECS = 5000;
+	private static final long STOP_TIMEOUT_MSECS = 2000;
+
+	// longest a reconnect may take: the longest backoff, then a connect & a handshake that both time out
+	private static final long MAX_RECOVERY_MSECS = RobotMap.VISION_MAX_BACKOFF_MSECS + RobotMap.VISION_CONNECT_TIMEOUT_MSECS
+													+ RobotMap.VISION_HANDSHAKE_TIMEOUT_MSECS;
+
+	private LoopbackVisionServer _server;
+	private VisionClient _visionClient;
+
+	@After
+	public void StopClientAndServer() throws IOException, InterruptedException
+	{
+		if (_visionClient != null)
+		{
+			stopClient();
+		}
+		if (_server != null)
+		{
+			_server.close();
+		}
+	}
+
+	// =====================================
+	// Lost connections
+	// =====================================
+	@Test
+	public void ReconnectsEachTimeTheServerDropsTheConnection() throws IOException, InterruptedException
+	{
+		startClient(new VisionStandInServer(2, false, 0, 0, FRAMES_PER_CONNECTION));
+
+		// watch the snapshots while the server drops the connection over & over
+		boolean isInvalidSnapshotSeen = false;
+		long deadlineMSecs = System.currentTimeMillis() + WAIT_TIMEOUT_MSECS;
+		while (_visionClient.GetConnectionCount() <= RECONNECT_COUNT && System.currentTimeMillis() < deadlineMSecs)
+		{
+			VisionSnapshot snapshot = _visionClient.GetVisionData();
+			if (snapshot != null && !snapshot.IsValidData)
+			{
+				isInvalidSnapshotSeen = true;
+			}
+			Thread.sleep(1);
+		}
+
+		String healthSummary = _visionClient.BuildHealthSummary();
+		assertTrue("reconnects: " + healthSummary, _visionClient.GetConnectionCount() > RECONNECT_COUNT);
+		assertTrue("lost connections: " + healthSummary, _visionClient.GetConnectionLostCount() >= RECONNECT_COUNT);
+		assertTrue("recovery: " + healthSummary, _visionClient.GetLastRecoveryMSecs() > 0);
+		assertTrue("recovery: " + healthSummary, _visionClient.GetMaxRecoveryMSecs() <= MAX_RECOVERY_MSECS);
+		assertEquals("failed connects: " + healthSummary, 0, _visionClient.GetConnectFailureCount());
+		assertTrue("no invalid snapshot between 2 connections", isInvalidSnapshotSeen);
+
+		// the frames of the last connection are published again
+		VisionSnapshot snapshot = waitForValidSnapshot();
+		assertTrue(snapshot.SequenceNumber > RECONNECT_COUNT * FRAMES_PER_CONNECTION);
+	}
+
+	@Test
+	public void StoppingPublishesAnInvalidSnapshot() throws IOException, InterruptedException
+	{
+		startClient(new VisionStandInServer(2, false, 0, 0, 0));
+		waitForValidSnapshot();
+		assertTrue(_visionClient.IsConnected());
+
+		stopClient();
+
+		VisionSnapshot snapshot = _visionClient.GetVisionData();
+		assertNotNull(snapshot);
+		assertFalse("a stale frame is still valid", snapshot.IsValidData);
+		assertFalse(snapshot.IsValidShot);
+		assertFalse(_visionClient.IsConnected());
+		assertFalse(VisionClient.IsVisionServerAvailable);
+		assertEquals("a stop is not a lost connection", 0, _visionClient.GetConnectionLostCount());
+	}
+
+	// =====================================
+	// Late answers
+	// =====================================
+	@Test
+	public void ReadTimeoutsAreCountedWithoutDroppingTheConnection() throws IOException, InterruptedException
+	{
+		// every answer comes after the read timeout, but never RobotMap.VISION_MAX_CONSECUTIVE_READ_TIMEOUTS in a row
+		startClient(new VisionStandInServer(2, false, 0, RobotMap.VISION_READ_TIMEOUT_MSECS + 50, 0));
+
+		long deadlineMSecs = System.currentTimeMillis() + WAIT_TIMEOUT_MSECS;
+		while (_visionClient.GetReadTimeoutCount() < 3 && System.currentTimeMillis() < deadlineMSecs)
+		{
+			Thread.sleep(1);
+			if (_visionClient.GetReadTimeoutCount() > 0)
+			{
+				assertTrue("disconnected by a late answer", _visionClient.IsConnected());
+			}
+		}
+
+		String healthSummary = _visionClient.BuildHealthSummary();
+		assertTrue("read timeouts: " + healthSummary, _visionClient.GetReadTimeoutCount() >= 3);
+		assertTrue(_visionClient.IsConnected());
+		assertEquals("lost connections: " + healthSummary, 0, _visionClient.GetConnectionLostCount());
+		assertEquals("connections: " + healthSummary, 1, _visionClient.GetConnectionCount());
+		assertTrue(waitForValidSnapshot().SequenceNumber > 0);
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+	private void startClient(VisionStandInServer standInServer) throws IOException
+	{
+		_server = new LoopbackVisionServer(standInServer);
+		_visionClient = new VisionClient(_server.GetAddress());
+		_visionClient.startPolling();
+	}
+
+	private void stopClient() throws InterruptedException
+	{
+		_visionClient.stopPolling();
+		long deadlineMSecs = System.currentTimeMillis() + STOP_TIMEOUT_MSECS;
+		while (_visionClient.GetConnectionState() != VisionClient.Connection_State.DISCONNECTED && System.currentTimeMillis() < deadlineMSecs)
+		{
+			Thread.sleep(1);
+		}
+		assertEquals(VisionClient.Connection_State.DISCONNECTED, _visionClient.GetConnectionState());
+	}
+
+	private VisionSnapshot waitForValidSnapshot() throws InterruptedException
+	{
+		long deadlineMSecs = System.currentTimeMillis() + WAIT_TIMEOUT_MSECS;
+		while (System.currentTimeMillis() < deadlineMSecs)
+		{
+			VisionSnapshot snapshot = _visionClient.GetVisionData();
+			if (snapshot != null && snapshot.IsValidData)
+			{
+				return snapshot;
+			}
+			Thread.sleep(1);
+		}
+		throw new AssertionError("no valid frame in " + WAIT_TIMEOUT_MSECS + " msecs: " + _visionClient.BuildHealthSummary());
+	}
+}
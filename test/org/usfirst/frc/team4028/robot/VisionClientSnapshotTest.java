@@ -0,0 +1,141 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * This class tests the lock-free publication of VisionSnapshot by VisionClient
+ *
+ * 	1 thread publishes frames (as the polling thread does, from 1 reused VisionData) while reader threads
+ * 	call GetVisionData as fast as they can: every snapshot a reader sees must be whole (all of its fields come
+ * 	from the same frame) & the frames must never go back in time.
+ * 	Frames are published straight to the client, no vision server is needed.
+ */
+public class VisionClientSnapshotTest
+{
+	private static final long FRAME_COUNT = 500000;
+	private static final int READER_COUNT = 3;
+	private static final long JOIN_TIMEOUT_MSECS = 60000;
+
+	private final VisionClient _visionClient = VisionClient.getInstance();
+
+	@Test
+	public void ReadersNeverSeeATornOrOlderSnapshot() throws InterruptedException
+	{
+		final AtomicBoolean isPublishingDone = new AtomicBoolean();
+		final AtomicLong tornSnapshotCount = new AtomicLong();
+		final AtomicLong olderSnapshotCount = new AtomicLong();
+		final AtomicLong readCount = new AtomicLong();
+
+		// start from a known frame
+		VisionData frame = new VisionData();
+		fillFrame(frame, 1);
+		_visionClient.publishVisionData(frame);
+
+		Thread[] readers = new Thread[READER_COUNT];
+		for (int readerIndex = 0; readerIndex < readers.length; readerIndex++)
+		{
+			readers[readerIndex] = new Thread(new Runnable()
+											{
+												public void run()
+												{
+													long lastSequenceNumber = 0;
+													long lastReceivedMicroSecs = 0;
+													long reads = 0;
+													while (!isPublishingDone.get())
+													{
+														VisionSnapshot snapshot = _visionClient.GetVisionData();
+														reads++;
+														if (!isWholeFrame(snapshot))
+														{
+															tornSnapshotCount.incrementAndGet();
+														}
+														if (snapshot.SequenceNumber < lastSequenceNumber || snapshot.ReceivedMicroSecs < lastReceivedMicroSecs)
+														{
+															olderSnapshotCount.incrementAndGet();
+														}
+														lastSequenceNumber = snapshot.SequenceNumber;
+														lastReceivedMicroSecs = snapshot.ReceivedMicroSecs;
+													}
+													readCount.addAndGet(reads);
+												}
+											});
+			readers[readerIndex].setName("Vision Snapshot Reader " + readerIndex);
+			readers[readerIndex].start();
+		}
+
+		// like the polling thread: 1 VisionData is refilled for every frame
+		for (long sequenceNumber = 2; sequenceNumber <= FRAME_COUNT; sequenceNumber++)
+		{
+			fillFrame(frame, sequenceNumber);
+			_visionClient.publishVisionData(frame);
+		}
+		isPublishingDone.set(true);
+
+		for (Thread reader : readers)
+		{
+			reader.join(JOIN_TIMEOUT_MSECS);
+			assertFalse(reader.getName() + " did not stop", reader.isAlive());
+		}
+
+		assertEquals("torn snapshots", 0, tornSnapshotCount.get());
+		assertEquals("snapshots older than one read before", 0, olderSnapshotCount.get());
+		assertTrue("no reads", readCount.get() > 0);
+		assertEquals(FRAME_COUNT, _visionClient.GetVisionData().SequenceNumber);
+	}
+
+	@Test
+	public void ASnapshotIsNotChangedByLaterFrames()
+	{
+		VisionData frame = new VisionData();
+		fillFrame(frame, 7);
+		_visionClient.publishVisionData(frame);
+		VisionSnapshot snapshot = _visionClient.GetVisionData();
+		assertSame(snapshot, _visionClient.GetVisionData());
+
+		// the reused frame & the next publications do not reach the snapshot already handed out
+		fillFrame(frame, 8);
+		assertTrue(isWholeFrame(snapshot));
+		assertEquals(7, snapshot.SequenceNumber);
+
+		_visionClient.publishVisionData(frame);
+		assertTrue(isWholeFrame(snapshot));
+		assertEquals(7, snapshot.SequenceNumber);
+		assertEquals(8, _visionClient.GetVisionData().SequenceNumber);
+	}
+
+	// every field is derived from the sequence #, so a mix of 2 frames shows
+	private static void fillFrame(VisionData frame, long sequenceNumber)
+	{
+		frame.SequenceNumber = sequenceNumber;
+		frame.IsValidData = true;
+		frame.DistanceToTarget = sequenceNumber;
+		frame.EffectiveTargetWidth = 2.0 * sequenceNumber;
+		frame.DesiredSliderPosition = sequenceNumber + 0.5;
+		frame.DesiredTurretTurnInDegrees = -sequenceNumber;
+		frame.BatteryChargeLevel = (int)(sequenceNumber % 101);
+		frame.IsValidShot = (sequenceNumber % 2) == 0;
+		frame.CaptureTimeMicroSecs = 3 * sequenceNumber;
+	}
+
+	private static boolean isWholeFrame(VisionSnapshot snapshot)
+	{
+		long sequenceNumber = snapshot.SequenceNumber;
+		return snapshot.IsValidData
+				&& snapshot.DistanceToTarget == sequenceNumber
+				&& snapshot.EffectiveTargetWidth == 2.0 * sequenceNumber
+				&& snapshot.DesiredSliderPosition == sequenceNumber + 0.5
+				&& snapshot.DesiredTurretTurnInDegrees == -sequenceNumber
+				&& snapshot.BatteryChargeLevel == (int)(sequenceNumber % 101)
+				&& snapshot.IsValidShot == ((sequenceNumber % 2) == 0)
+				&& snapshot.CaptureTimeMicroSecs == 3 * sequenceNumber
+				&& snapshot.ReceivedWallTimeMSecs > 0;
+	}
+}
@@ -0,0 +1,292 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This class tests VisionFrameParser against the split("[|]+") + parseXxx code it replaced
+ *
+ * 	The lines come from the network, so besides the edge cases it is fuzzed with random & mutated lines:
+ * 	both must agree on whether a line is well formed & on every decoded value.
+ */
+public class VisionFrameParserTest
+{
+	private static final int FUZZ_LINE_COUNT = 100000;
+	private static final String FUZZ_CHARACTERS = "0123456789012345678901234567890123456789.-+eE||||||trueTRUEfalsNaIfity xXp\r\t";
+
+	private final VisionFrameParser _parser = new VisionFrameParser();
+	private final ByteBuffer _buffer = ByteBuffer.allocateDirect(RobotMap.VISION_RECEIVE_BUFFER_SIZE);
+
+	// =====================================
+	// Well formed lines
+	// =====================================
+	@Test
+	public void ParsesAWellFormedLine()
+	{
+		VisionData visionData = parse("true|123.5|42.25|-3.5|87|2.125|true");
+
+		assertTrue(visionData.IsValidData);
+		assertEquals(123.5, visionData.DistanceToTarget, 0.0);
+		assertEquals(42.25, visionData.EffectiveTargetWidth, 0.0);
+		assertEquals(-3.5, visionData.DesiredSliderPosition, 0.0);
+		assertEquals(87, visionData.BatteryChargeLevel);
+		assertEquals(2.125, visionData.DesiredTurretTurnInDegrees, 0.0);
+		assertTrue(visionData.IsValidShot);
+		assertEquals(1, _parser.GetParsedFrameCount());
+	}
+
+	@Test
+	public void BooleansAreTrueInAnyCaseElseFalse()
+	{
+		assertSameAsReference("TrUe|1|1|1|1|1|yes");
+		assertSameAsReference("truee|1|1|1|1|1|tru");
+	}
+
+	@Test
+	public void ExponentsAndSignsAreDecoded()
+	{
+		assertSameAsReference("true|1.5e2|-2E-3|+4.0e+1|-0|0.000001|false");
+		assertSameAsReference("true|-0.0|.5|5.|1e22|1e-22|false");
+	}
+
+	// =====================================
+	// Truncated fields & missing delimiters
+	// =====================================
+	@Test
+	public void TruncatedLinesAreMalformed()
+	{
+		String line = "true|123.5|42.25|-3.5|87|2.125|true";
+		for (int length = 0; length < line.length(); length++)
+		{
+			assertSameAsReference(line.substring(0, length));
+		}
+	}
+
+	@Test
+	public void MissingDelimitersAreMalformed()
+	{
+		assertMalformed("true123.5|42.25|-3.5|87|2.125|true");
+		assertMalformed("true|123.5|42.25|-3.5|872.125|true");
+		assertMalformed("true 123.5 42.25 -3.5 87 2.125 true");
+		assertMalformed("");
+	}
+
+	@Test
+	public void ExtraFieldsAreMalformed()
+	{
+		assertMalformed("true|123.5|42.25|-3.5|87|2.125|true|1");
+	}
+
+	// =====================================
+	// Empty fields
+	// =====================================
+	@Test
+	public void EmptyFieldsFollowTheSplitRules()
+	{
+		// a leading '|' makes an empty 1st field (a boolean, so false)
+		assertSameAsReference("|123.5|42.25|-3.5|87|2.125|true");
+		// a run of '|' is 1 delimiter, so an empty field in the middle means 1 field is missing
+		assertSameAsReference("true||42.25|-3.5|87|2.125|true");
+		assertSameAsReference("true|123.5||42.25|-3.5|87|2.125|true");
+		// trailing '|'s are ignored
+		assertSameAsReference("true|123.5|42.25|-3.5|87|2.125|true|||");
+		assertSameAsReference("||||||");
+	}
+
+	// =====================================
+	// Overlong numbers
+	// =====================================
+	@Test
+	public void OverlongNumbersMatchDoubleParseDouble()
+	{
+		assertSameAsReference("true|3.14159265358979323846|1234567890123456789012345|0.1000000000000000055511151231257827|87|1e400|true");
+		assertSameAsReference("true|1e-400|000000000000000000000001.5|1.5e0000000000000000000000002|87|1|true");
+		assertTrue(_parser.GetSlowPathNumberCount() > 0);
+	}
+
+	@Test
+	public void OverlongIntegersAreMalformed()
+	{
+		assertSameAsReference("true|1|1|1|2147483647|1|true");
+		assertSameAsReference("true|1|1|1|-2147483648|1|true");
+		assertMalformed("true|1|1|1|2147483648|1|true");
+		assertMalformed("true|1|1|1|99999999999999999999|1|true");
+		assertMalformed("true|1|1|1|87.5|1|true");
+	}
+
+	// =====================================
+	// NaN & Infinity
+	// =====================================
+	@Test
+	public void NaNAndInfinityMatchDoubleParseDouble()
+	{
+		VisionData visionData = parse("true|NaN|Infinity|-Infinity|87|+NaN|true");
+		assertTrue(Double.isNaN(visionData.DistanceToTarget));
+		assertEquals(Double.POSITIVE_INFINITY, visionData.EffectiveTargetWidth, 0.0);
+		assertEquals(Double.NEGATIVE_INFINITY, visionData.DesiredSliderPosition, 0.0);
+		assertTrue(Double.isNaN(visionData.DesiredTurretTurnInDegrees));
+
+		assertMalformed("true|nan|1|1|87|1|true");
+		assertMalformed("true|Inf|1|1|87|1|true");
+		assertMalformed("true|1|1|1|NaN|1|true");
+	}
+
+	@Test
+	public void OtherNumberFormsMatchDoubleParseDouble()
+	{
+		assertSameAsReference("true| 1.5 |0x1p3|1.5d|87|2f|true");
+		assertSameAsReference("true|1.2.3|--1|1e|87|e5|true");
+		assertSameAsReference("true|.|-|+|87|1e+|true");
+	}
+
+	// =====================================
+	// Fuzz
+	// =====================================
+	@Test
+	public void RandomLinesMatchTheReference()
+	{
+		Random random = new Random(4028);
+		for (int lineIndex = 0; lineIndex < FUZZ_LINE_COUNT; lineIndex++)
+		{
+			StringBuilder line = new StringBuilder();
+			int length = random.nextInt(60);
+			for (int index = 0; index < length; index++)
+			{
+				line.append(FUZZ_CHARACTERS.charAt(random.nextInt(FUZZ_CHARACTERS.length())));
+			}
+			assertSameAsReference(line.toString());
+		}
+	}
+
+	@Test
+	public void MutatedLinesMatchTheReference()
+	{
+		Random random = new Random(254);
+		for (int lineIndex = 0; lineIndex < FUZZ_LINE_COUNT; lineIndex++)
+		{
+			StringBuilder line = new StringBuilder(buildRandomLine(random));
+			int mutationCount = random.nextInt(4);
+			for (int mutation = 0; mutation < mutationCount && line.length() > 0; mutation++)
+			{
+				int position = random.nextInt(line.length());
+				char character = FUZZ_CHARACTERS.charAt(random.nextInt(FUZZ_CHARACTERS.length()));
+				switch (random.nextInt(3))
+				{
+					case 0:
+						line.setCharAt(position, character);
+						break;
+					case 1:
+						line.insert(position, character);
+						break;
+					default:
+						line.deleteCharAt(position);
+						break;
+				}
+			}
+			assertSameAsReference(line.toString());
+		}
+	}
+
+	// a well formed line with random values (ex: what the vision PC sends)
+	private static String buildRandomLine(Random random)
+	{
+		return random.nextBoolean()
+				+ "|" + (random.nextInt(50000) / 100.0)
+				+ "|" + (random.nextDouble() * Math.pow(10, random.nextInt(30) - 10))
+				+ "|" + (random.nextInt(2000) - 1000) / 10.0
+				+ "|" + random.nextInt(101)
+				+ "|" + (random.nextGaussian() * 20.0)
+				+ "|" + random.nextBoolean();
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+
+	// parse the line (placed at an offset in the buffer, like a line that is not the 1st one read), it must be well formed
+	private VisionData parse(String line)
+	{
+		VisionData visionData = new VisionData();
+		assertTrue("malformed: " + line, parseInto(line, visionData));
+		return visionData;
+	}
+
+	private boolean parseInto(String line, VisionData visionData)
+	{
+		byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+		int lineStart = 3;
+		_buffer.clear();
+		_buffer.put((byte)'x').put((byte)'|').put((byte)'\n');
+		_buffer.put(bytes);
+		_buffer.put((byte)'|').put((byte)'9');
+		return _parser.Parse(_buffer, lineStart, lineStart + bytes.length, visionData);
+	}
+
+	private void assertMalformed(String line)
+	{
+		assertFalse("well formed: " + line, parseInto(line, new VisionData()));
+		assertSameAsReference(line);
+	}
+
+	// the parser & the reference agree on whether the line is well formed & on every value
+	private void assertSameAsReference(String line)
+	{
+		VisionData expected = new VisionData();
+		VisionData actual = new VisionData();
+		boolean isExpectedWellFormed = parseWithReference(line, expected);
+		boolean isActualWellFormed = parseInto(line, actual);
+
+		assertEquals("well formed: " + line, isExpectedWellFormed, isActualWellFormed);
+		if (!isExpectedWellFormed)
+		{
+			return;
+		}
+		assertEquals(line, expected.IsValidData, actual.IsValidData);
+		assertSameDouble(line, expected.DistanceToTarget, actual.DistanceToTarget);
+		assertSameDouble(line, expected.EffectiveTargetWidth, actual.EffectiveTargetWidth);
+		assertSameDouble(line, expected.DesiredSliderPosition, actual.DesiredSliderPosition);
+		assertEquals(line, expected.BatteryChargeLevel, actual.BatteryChargeLevel);
+		assertSameDouble(line, expected.DesiredTurretTurnInDegrees, actual.DesiredTurretTurnInDegrees);
+		assertEquals(line, expected.IsValidShot, actual.IsValidShot);
+	}
+
+	// bit for bit (NaN equals NaN, -0.0 is not 0.0)
+	private static void assertSameDouble(String line, double expected, double actual)
+	{
+		assertEquals(line, Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+	}
+
+	// the code VisionFrameParser replaced
+	private static boolean parseWithReference(String line, VisionData target)
+	{
+		String[] fields = line.split("[|]+");
+		if (fields.length != VisionFrameParser.FIELD_COUNT)
+		{
+			return false;
+		}
+		try
+		{
+			target.IsValidData = Boolean.parseBoolean(fields[RobotMap.IS_VALID_DATA_ARRAY_POSITION]);
+			target.DistanceToTarget = Double.parseDouble(fields[RobotMap.DISTANCE_TO_TARGET_ARRAY_POSITION]);
+			target.EffectiveTargetWidth = Double.parseDouble(fields[RobotMap.EFFECTIVE_TARGET_WIDTH_ARRAY_POSITION]);
+			target.DesiredSliderPosition = Double.parseDouble(fields[RobotMap.DESIRED_SLIDER_POSITION_ARRAY_POSITION]);
+			target.BatteryChargeLevel = Integer.parseInt(fields[RobotMap.BATTERY_CHARGE_LEVEL]);
+			target.DesiredTurretTurnInDegrees = Double.parseDouble(fields[RobotMap.DESIRED_TURRET_TURN_IN_DEGREES_ARRAY_POSITION]);
+			target.IsValidShot = Boolean.parseBoolean(fields[RobotMap.IS_VALID_SHOT_ARRAY_POSITION]);
+		}
+		catch (NumberFormatException e)
+		{
+			return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,187 @@
+package org.usfirst.frc.team4028.robot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.usfirst.frc.team4028.robot.Constants.RobotMap;
+
+/**
+ * This class tests the handshake (see VisionProtocol) & the frames between VisionClient & a VisionStandInServer
+ *
+ * 	Both run in the test over a loopback socket on an ephemeral port, the stand-in server plays a v2 vision PC,
+ * 	an old v1 vision PC (hello answered as a text line or not answered at all), a slow hello & a server out of step.
+ */
+public class VisionStandInServerTest
+{
+	private static final long WAIT_TIMEOUT_MSECS = 5000;
+	private static final long STOP_TIMEOUT_MSECS = 2000;
+
+	private LoopbackVisionServer _server;
+	private VisionClient _visionClient;
+
+	@After
+	public void StopClientAndServer() throws IOException, InterruptedException
+	{
+		if (_visionClient != null)
+		{
+			_visionClient.stopPolling();
+			long deadlineMSecs = System.currentTimeMillis() + STOP_TIMEOUT_MSECS;
+			while (_visionClient.GetConnectionState() != VisionClient.Connection_State.DISCONNECTED && System.currentTimeMillis() < deadlineMSecs)
+			{
+				Thread.sleep(1);
+			}
+		}
+		if (_server != null)
+		{
+			_server.close();
+		}
+	}
+
+	// =====================================
+	// Version 2
+	// =====================================
+	@Test
+	public void AV2ServerIsSpokenToInBinary() throws IOException, InterruptedException
+	{
+		startClient(new VisionStandInServer(2, false, 0, 0, 0));
+
+		VisionSnapshot snapshot = waitForSequenceNumber(20);
+		assertEquals(VisionProtocol.BINARY_VERSION, _visionClient.GetProtocolVersion());
+		assertMadeUpTarget(snapshot);
+		assertTrue("capture time", snapshot.CaptureTimeMicroSecs > 0);
+		assertEquals("missed frames", 0, _visionClient.GetMissedFrameCount());
+		assertEquals("skipped bytes", 0, _visionClient.GetSkippedByteCount());
+		assertEquals("connections", 1, _server.GetAcceptedCount());
+	}
+
+	@Test
+	public void ALateHelloAnswerStillSwitchesToBinary() throws IOException, InterruptedException
+	{
+		// the hello is answered after the robot gave up on it & started asking for text lines
+		long helloDelayMSecs = RobotMap.VISION_HANDSHAKE_TIMEOUT_MSECS + RobotMap.VISION_READ_TIMEOUT_MSECS;
+		startClient(new VisionStandInServer(2, false, helloDelayMSecs, 0, 0));
+
+		VisionSnapshot snapshot = waitForSequenceNumber(20);
+		assertEquals(VisionProtocol.BINARY_VERSION, _visionClient.GetProtocolVersion());
+		assertMadeUpTarget(snapshot);
+		assertEquals("skipped bytes", 0, _visionClient.GetSkippedByteCount());
+		assertEquals("connections", 1, _server.GetAcceptedCount());
+	}
+
+	@Test
+	public void BytesThatAreNotAFrameAreSkippedUpToTheNextMagic() throws IOException, InterruptedException
+	{
+		startClient(new VisionStandInServer(2, false, 0, 0, 0, 3));
+
+		VisionSnapshot snapshot = waitForSequenceNumber(30);
+		assertEquals(VisionProtocol.BINARY_VERSION, _visionClient.GetProtocolVersion());
+		assertMadeUpTarget(snapshot);
+
+		// every frame after the junk is found again, none is lost
+		//	(the polling thread keeps going, it may be part way through the junk in front of a later frame)
+		long skippedByteCount = _visionClient.GetSkippedByteCount();
+		long lastSequenceNumber = _visionClient.GetVisionData().SequenceNumber;
+		assertTrue("skipped bytes " + skippedByteCount, skippedByteCount >= (30 / 3) * VisionStandInServer.JUNK_BYTES.length);
+		assertTrue("skipped bytes " + skippedByteCount, skippedByteCount <= (lastSequenceNumber / 3 + 2) * VisionStandInServer.JUNK_BYTES.length);
+		assertEquals("missed frames", 0, _visionClient.GetMissedFrameCount());
+		assertEquals("connections", 1, _server.GetAcceptedCount());
+	}
+
+	// =====================================
+	// Version 1 fallback
+	// =====================================
+	@Test
+	public void AV1ServerThatAnswersTheHelloWithALineIsSpokenToInText() throws IOException, InterruptedException
+	{
+		startClient(new VisionStandInServer(1, false, 0, 0, 0));
+
+		VisionSnapshot snapshot = waitForSnapshotCount(20);
+		assertEquals(VisionProtocol.TEXT_VERSION, _visionClient.GetProtocolVersion());
+		assertMadeUpTarget(snapshot);
+		assertEquals("text frames are not numbered", 0, snapshot.SequenceNumber);
+		assertEquals("connections", 1, _server.GetAcceptedCount());
+	}
+
+	@Test
+	public void AV1ServerThatDoesNotAnswerTheHelloIsSpokenToInText() throws IOException, InterruptedException
+	{
+		long startMSecs = System.currentTimeMillis();
+		startClient(new VisionStandInServer(1, true, 0, 0, 0));
+
+		VisionSnapshot snapshot = waitForSnapshotCount(1);
+		assertTrue("1st frame before the handshake timeout", System.currentTimeMillis() - startMSecs >= RobotMap.VISION_HANDSHAKE_TIMEOUT_MSECS);
+
+		snapshot = waitForSnapshotCount(20);
+		assertEquals(VisionProtocol.TEXT_VERSION, _visionClient.GetProtocolVersion());
+		assertMadeUpTarget(snapshot);
+		assertEquals("connections", 1, _server.GetAcceptedCount());
+	}
+
+	// =====================================
+	// Helpers
+	// =====================================
+	private void startClient(VisionStandInServer standInServer) throws IOException
+	{
+		_server = new LoopbackVisionServer(standInServer);
+		_visionClient = new VisionClient(_server.GetAddress());
+		_visionClient.startPolling();
+	}
+
+	// wait for a binary frame numbered at least sequenceNumber
+	private VisionSnapshot waitForSequenceNumber(long sequenceNumber) throws InterruptedException
+	{
+		long deadlineMSecs = System.currentTimeMillis() + WAIT_TIMEOUT_MSECS;
+		while (System.currentTimeMillis() < deadlineMSecs)
+		{
+			VisionSnapshot snapshot = _visionClient.GetVisionData();
+			if (snapshot != null && snapshot.SequenceNumber >= sequenceNumber)
+			{
+				return snapshot;
+			}
+			Thread.sleep(1);
+		}
+		throw new AssertionError("no frame #" + sequenceNumber + " in " + WAIT_TIMEOUT_MSECS + " msecs: " + _visionClient.BuildHealthSummary());
+	}
+
+	// wait until snapshotCount different snapshots were seen (text frames are not numbered)
+	private VisionSnapshot waitForSnapshotCount(int snapshotCount) throws InterruptedException
+	{
+		VisionSnapshot lastSnapshot = null;
+		int seenCount = 0;
+		long deadlineMSecs = System.currentTimeMillis() + WAIT_TIMEOUT_MSECS;
+		while (System.currentTimeMillis() < deadlineMSecs)
+		{
+			VisionSnapshot snapshot = _visionClient.GetVisionData();
+			if (snapshot != null && snapshot != lastSnapshot)
+			{
+				lastSnapshot = snapshot;
+				if (++seenCount >= snapshotCount)
+				{
+					return snapshot;
+				}
+			}
+			Thread.sleep(1);
+		}
+		throw new AssertionError(seenCount + " of " + snapshotCount + " frames in " + WAIT_TIMEOUT_MSECS + " msecs: " + _visionClient.BuildHealthSummary());
+	}
+
+	// the values VisionStandInServer makes up (see updateTarget), decoded the same in both versions
+	private static void assertMadeUpTarget(VisionSnapshot snapshot)
+	{
+		assertNotNull(snapshot);
+		assertTrue(snapshot.IsValidData);
+		assertTrue("distance " + snapshot.DistanceToTarget, snapshot.DistanceToTarget >= 60.0 && snapshot.DistanceToTarget <= 180.0);
+		assertEquals(Math.round((4000.0 / snapshot.DistanceToTarget) * 100.0) / 100.0, snapshot.EffectiveTargetWidth, 0.0);
+		assertEquals(Math.round((snapshot.DistanceToTarget / 10.0 - 12.0) * 10.0) / 10.0, snapshot.DesiredSliderPosition, 0.0);
+		assertTrue("turret " + snapshot.DesiredTurretTurnInDegrees, Math.abs(snapshot.DesiredTurretTurnInDegrees) <= 15.0);
+		assertEquals(Math.abs(snapshot.DesiredTurretTurnInDegrees) < 1.0, snapshot.IsValidShot);
+		assertTrue("battery " + snapshot.BatteryChargeLevel, snapshot.BatteryChargeLevel > 0 && snapshot.BatteryChargeLevel <= 100);
+		assertTrue(snapshot.ReceivedMicroSecs != 0);
+	}
+}